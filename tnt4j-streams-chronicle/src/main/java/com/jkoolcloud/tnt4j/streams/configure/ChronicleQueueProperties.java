@@ -27,4 +27,19 @@ public interface ChronicleQueueProperties extends StreamProperties {
 	 * Constant for name of built-in stream {@value} property.
 	 */
 	String PROP_MARSHALL_CLASS = "MarshallClass"; // NON-NLS
+
+	/**
+	 * Constant for name of built-in stream {@value} property.
+	 */
+	String PROP_TAILER_NAME = "TailerName"; // NON-NLS
+
+	/**
+	 * Constant for name of built-in stream {@value} property.
+	 */
+	String PROP_READ_BATCH_SIZE = "ReadBatchSize"; // NON-NLS
+
+	/**
+	 * Constant for name of built-in stream {@value} property.
+	 */
+	String PROP_REUSE_OBJECTS = "ReuseObjects"; // NON-NLS
 }
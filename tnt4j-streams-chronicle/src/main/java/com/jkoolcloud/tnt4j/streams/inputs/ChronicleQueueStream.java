@@ -17,8 +17,11 @@
 package com.jkoolcloud.tnt4j.streams.inputs;
 
 import java.io.File;
-import java.util.HashMap;
-import java.util.Map;
+import java.lang.reflect.Constructor;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 import org.apache.commons.lang3.StringUtils;
 
@@ -28,7 +31,6 @@ import com.jkoolcloud.tnt4j.streams.configure.ChronicleQueueProperties;
 import com.jkoolcloud.tnt4j.streams.configure.StreamProperties;
 import com.jkoolcloud.tnt4j.streams.utils.*;
 
-import net.openhft.chronicle.bytes.Bytes;
 import net.openhft.chronicle.queue.ChronicleQueue;
 import net.openhft.chronicle.queue.ExcerptTailer;
 import net.openhft.chronicle.threads.Pauser;
@@ -41,6 +43,12 @@ import net.openhft.chronicle.wire.Wires;
  * Implements a Chronicle queue transported activity stream, where each Chronicle queue entry marshaled document payload
  * data is assumed to represent a single activity entity which should be recorded.
  * <p>
+ * When {@code TailerName} is defined, stream maintains named Chronicle queue tailer, which index is persisted by
+ * Chronicle queue itself. Named tailer is moved forward only after delivered item gets processed by stream, so after
+ * stream restart tailing resumes from first not yet processed queue document. When items are processed by executor
+ * service, named tailer is moved forward in queue order, so it never gets past document still being processed, even if
+ * later documents get processed earlier.
+ * <p>
  * This activity stream requires parsers that can support {@link java.lang.Object} data.
  * <p>
  * This activity stream supports the following configuration properties (in addition to those supported by
@@ -48,24 +56,50 @@ import net.openhft.chronicle.wire.Wires;
  * <ul>
  * <li>FileName - path of Chronicle queue serialization folder. (Required)</li>
  * <li>MarshallClass - class name of marshaled Chronicle queue entries. (Required)</li>
+ * <li>StartFromLatest - flag indicating to start tailing from the end of queue, when there is no checkpoint of named
+ * tailer stored. Default value - {@code true}. (Optional)</li>
+ * <li>TailerName - name of Chronicle queue tailer used to store processed documents index checkpoint. Default value -
+ * {@code null}. (Optional)</li>
+ * <li>ReadBatchSize - maximal number of queue documents to read ahead in single read call. Default value - {@code 1}.
+ * (Optional)</li>
+ * <li>ReuseObjects - flag indicating whether to reuse marshaled entries instances, once they get processed by stream.
+ * Instance fields are reset to default values before reuse.
+ * Applicable only when stream items are processed without executor service. Default value - {@code false}.
+ * (Optional)</li>
  * </ul>
  *
- * @version $Revision: 2 $
+ * @version $Revision: 4 $
  *
  * @see com.jkoolcloud.tnt4j.streams.parsers.ActivityParser#isDataClassSupported(Object)
  */
 public class ChronicleQueueStream extends TNTParseableInputStream<Object> {
 	private static final EventSink LOGGER = LoggerUtils.getLoggerSink(ChronicleQueueStream.class);
 
+	private static final Object SKIPPED = new Object();
+
 	private File queuePath;
 	private final Map<String, Class<?>> classNameMap = new HashMap<>();
+	private final Map<Class<?>, Constructor<?>> constructors = new HashMap<>();
+	private final Map<Class<?>, String[]> dataTags = new ConcurrentHashMap<>();
 	private String handlingClasses;
+	private boolean startFromLatest = true;
+	private String tailerName;
+	private int readBatchSize = 1;
+	private boolean reuseObjects = false;
 
 	private ChronicleQueue queue;
-	private ExcerptTailer tailer;
+	private ExcerptTailer reader;
+	private ExcerptTailer checkpoint;
 	private Pauser pauser;
-	private boolean startFromLatest = true;
-	private Object lastRead;
+
+	private final Deque<Object> readItems = new ArrayDeque<>();
+	private final Map<Class<?>, Deque<Object>> freeObjects = new HashMap<>();
+	private final StringBuilder eventName = new StringBuilder();
+	private String lastEventName;
+	private Class<?> lastEventClass;
+	private final Deque<Object> deliveredItems = new ArrayDeque<>();
+	private final Queue<Object> completedItems = new ConcurrentLinkedQueue<>();
+	private final Set<Object> processedItems = Collections.newSetFromMap(new IdentityHashMap<>());
 
 	/**
 	 * Constructs a new ChronicleQueueStream. Requires configuration settings to set input stream source.
@@ -93,6 +127,12 @@ public class ChronicleQueueStream extends TNTParseableInputStream<Object> {
 
 		} else if (ChronicleQueueProperties.PROP_START_FROM_LATEST.equalsIgnoreCase(name)) {
 			startFromLatest = Utils.toBoolean(value);
+		} else if (ChronicleQueueProperties.PROP_TAILER_NAME.equalsIgnoreCase(name)) {
+			tailerName = value;
+		} else if (ChronicleQueueProperties.PROP_READ_BATCH_SIZE.equalsIgnoreCase(name)) {
+			readBatchSize = Integer.parseInt(value);
+		} else if (ChronicleQueueProperties.PROP_REUSE_OBJECTS.equalsIgnoreCase(name)) {
+			reuseObjects = Utils.toBoolean(value);
 		}
 	}
 
@@ -104,6 +144,18 @@ public class ChronicleQueueStream extends TNTParseableInputStream<Object> {
 		if (ChronicleQueueProperties.PROP_MARSHALL_CLASS.equalsIgnoreCase(name)) {
 			return classNameMap;
 		}
+		if (ChronicleQueueProperties.PROP_START_FROM_LATEST.equalsIgnoreCase(name)) {
+			return startFromLatest;
+		}
+		if (ChronicleQueueProperties.PROP_TAILER_NAME.equalsIgnoreCase(name)) {
+			return tailerName;
+		}
+		if (ChronicleQueueProperties.PROP_READ_BATCH_SIZE.equalsIgnoreCase(name)) {
+			return readBatchSize;
+		}
+		if (ChronicleQueueProperties.PROP_REUSE_OBJECTS.equalsIgnoreCase(name)) {
+			return reuseObjects;
+		}
 
 		return super.getProperty(name);
 	}
@@ -122,9 +174,22 @@ public class ChronicleQueueStream extends TNTParseableInputStream<Object> {
 					"TNTInputStream.property.undefined", ChronicleQueueProperties.PROP_MARSHALL_CLASS));
 		}
 
+		if (readBatchSize < 1) {
+			throw new IllegalArgumentException(StreamsResources.getStringFormatted(
+					StreamsResources.RESOURCE_BUNDLE_NAME, "TNTInputStream.property.illegal",
+					ChronicleQueueProperties.PROP_READ_BATCH_SIZE, readBatchSize));
+		}
+
 		for (String className : StreamsConstants.getMultiProperties(handlingClasses)) {
 			Class<?> aClass = Class.forName(className);
 			classNameMap.put(aClass.getSimpleName().toUpperCase(), aClass);
+			constructors.put(aClass, aClass.getDeclaredConstructor());
+		}
+
+		if (reuseObjects && Utils.toBoolean(String.valueOf(getProperty(StreamProperties.PROP_USE_EXECUTOR_SERVICE)))) {
+			logger().log(OpLevel.WARNING, StreamsResources.getString(ChronicleStreamConstants.RESOURCE_BUNDLE_NAME,
+					"ChronicleQueueStream.reuse.disabled"));
+			reuseObjects = false;
 		}
 	}
 
@@ -133,81 +198,194 @@ public class ChronicleQueueStream extends TNTParseableInputStream<Object> {
 		super.initialize();
 
 		queue = ChronicleQueue.singleBuilder(queuePath).build();
-		tailer = queue.createTailer();
+		reader = queue.createTailer();
+
+		long checkpointIndex = 0;
+		if (StringUtils.isNotEmpty(tailerName)) {
+			checkpoint = queue.createTailer(tailerName);
+			checkpointIndex = checkpoint.index();
+		}
 
-		if (startFromLatest) {
-			readOne0(tailer); // dummy read, seems that going to end without reading fails
-			ExcerptTailer excerptTailer = tailer.toEnd();
+		if (checkpointIndex != 0) {
+			logger().log(OpLevel.INFO, StreamsResources.getString(ChronicleStreamConstants.RESOURCE_BUNDLE_NAME,
+					"ChronicleQueueStream.resuming"), tailerName, checkpointIndex);
+			if (!reader.moveToIndex(checkpointIndex)) {
+				// checkpoint points to the next, not yet written, queue document
+				reader.toEnd();
+			}
+		} else if (startFromLatest) {
+			toEnd(reader);
+			if (checkpoint != null) {
+				toEnd(checkpoint);
+			}
 		}
 
 		pauser = Pauser.balanced();
 	}
 
+	private static void toEnd(ExcerptTailer tailer) {
+		try (DocumentContext context = tailer.readingDocument()) {
+			// dummy read, seems that going to end without reading fails
+		}
+		tailer.toEnd();
+	}
+
 	@Override
 	public String[] getDataTags(Object data) {
-		return new String[] { data.getClass().getSimpleName().toUpperCase() };
+		return dataTags.computeIfAbsent(data.getClass(), c -> new String[] { c.getSimpleName().toUpperCase() });
 	}
 
+	/**
+	 * {@inheritDoc}
+	 * <p>
+	 * Prior reading next item, named tailer checkpoint gets moved past delivered items already processed by stream and,
+	 * if objects reuse is enabled, processed item instances are returned to the pool for reuse.
+	 */
 	@Override
 	public Object getNextItem() throws Exception {
-		while (true) {
-			if (readOne0(tailer)) {
-				return lastRead;
+		commitProcessed();
+
+		while (!isHalted()) {
+			Object item = readItems.poll();
+			if (item == null) {
+				if (readBatch() > 0) {
+					pauser.reset();
+				} else {
+					commitProcessed();
+					pauser.pause();
+				}
 			} else {
-				pauser.pause();
+				deliveredItems.add(item);
+				if (item != SKIPPED) {
+					return item;
+				}
 			}
 		}
+
+		return null;
 	}
 
-	private boolean readOne0(ExcerptTailer in) throws Exception {
-		try (DocumentContext context = in.readingDocument()) {
-			if (!context.isPresent()) {
-				return false;
+	/**
+	 * {@inheritDoc}
+	 * <p>
+	 * Marks item as processed, so named tailer checkpoint could be moved past it. Checkpoint itself is moved by stream
+	 * thread, since Chronicle queue tailers are not thread safe.
+	 */
+	@Override
+	protected void processActivityItem(Object item, AtomicBoolean failureFlag) throws Exception {
+		try {
+			super.processActivityItem(item, failureFlag);
+		} finally {
+			completedItems.add(item);
+		}
+	}
+
+	private int readBatch() throws Exception {
+		int count = 0;
+		while (count < readBatchSize) {
+			try (DocumentContext context = reader.readingDocument()) {
+				if (!context.isPresent()) {
+					break;
+				}
+
+				if (context.isData()) {
+					readItems.add(accept(context.wire()));
+					count++;
+				}
 			}
+		}
 
-			if (context.isMetaData()) {
-				readOneMetaData(context);
+		return count;
+	}
 
-				return true;
-			}
+	private Object accept(Wire wire) throws Exception {
+		eventName.setLength(0);
+		ValueIn valueIn = wire.readEventName(eventName);
+		Class<?> aClass = resolveClass(eventName);
+
+		if (aClass == null) {
+			logger().log(OpLevel.ERROR, StreamsResources.getString(ChronicleStreamConstants.RESOURCE_BUNDLE_NAME,
+					"ChronicleQueueStream.unsupported.class"), eventName.toString());
+			return SKIPPED;
+		}
+
+		Object entry = acquireObject(aClass);
+		Object item = Wires.object0(valueIn, entry, aClass);
+		return item == null ? SKIPPED : item;
+	}
+
+	private Class<?> resolveClass(CharSequence name) {
+		if (lastEventClass != null && StringUtils.equals(name, lastEventName)) {
+			return lastEventClass;
+		}
+
+		Class<?> aClass = classNameMap.get(name.toString().toUpperCase());
+		if (aClass != null) {
+			lastEventName = name.toString();
+			lastEventClass = aClass;
+		}
 
-			if (context.isData()) {
-				accept(context.wire());
+		return aClass;
+	}
+
+	private Object acquireObject(Class<?> aClass) throws Exception {
+		if (reuseObjects) {
+			Deque<Object> free = freeObjects.get(aClass);
+			Object entry = free == null ? null : free.poll();
+			if (entry != null) {
+				return entry;
 			}
 		}
 
-		return lastRead != null;
+		return constructors.get(aClass).newInstance();
 	}
 
-	private void accept(Wire wire) throws Exception {
-		StringBuilder sb = new StringBuilder();
-		ValueIn valueIn = wire.readEventName(sb);
-		Class<?> aClass = classNameMap.get(sb.toString().toUpperCase());
+	private void commitProcessed() {
+		Object item;
+		while ((item = completedItems.poll()) != null) {
+			processedItems.add(item);
+		}
 
-		if (aClass == null) {
-			logger().log(OpLevel.ERROR, StreamsResources.getString(ChronicleStreamConstants.RESOURCE_BUNDLE_NAME,
-					"ChronicleQueueStream.unsupported.class"), sb.toString());
-			lastRead = null;
-		} else {
-			Object entry = aClass.getDeclaredConstructor().newInstance();
-			lastRead = Wires.object0(valueIn, entry, aClass);
+		while ((item = deliveredItems.peek()) != null) {
+			if (item == SKIPPED) {
+				commit(null);
+			} else if (processedItems.remove(item)) {
+				commit(item);
+			} else {
+				break;
+			}
+			deliveredItems.poll();
 		}
 	}
 
-	private static boolean readOneMetaData(DocumentContext context) {
-		StringBuilder sb = Wires.acquireStringBuilder();
-		Wire wire = context.wire();
-		Bytes<?> bytes = wire.bytes();
-		long r = bytes.readPosition();
-		wire.readEventName(sb);
-		// roll back position to where it was before we read the SB
-		bytes.readPosition(r);
+	private void commit(Object item) {
+		if (checkpoint != null) {
+			try (DocumentContext context = checkpoint.readingDocument()) {
+				// skipping document moves named tailer index past processed document
+			}
+		}
 
-		return true;
+		if (reuseObjects && item != null) {
+			Deque<Object> free = freeObjects.computeIfAbsent(item.getClass(), c -> new ArrayDeque<>());
+			if (free.size() <= readBatchSize) {
+				// clear fields left from previous document, since absent fields are not overwritten by unmarshaling
+				Wires.reset(item);
+				free.push(item);
+			}
+		}
 	}
 
 	@Override
 	protected void cleanup() {
+		if (queue != null && !queue.isClosed()) {
+			commitProcessed();
+		}
+		readItems.clear();
+		deliveredItems.clear();
+		completedItems.clear();
+		processedItems.clear();
+		freeObjects.clear();
+
 		Utils.close(queue);
 
 		super.cleanup();
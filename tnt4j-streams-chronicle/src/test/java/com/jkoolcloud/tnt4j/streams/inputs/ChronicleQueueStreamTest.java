@@ -1,12 +1,12 @@
 package com.jkoolcloud.tnt4j.streams.inputs;
 
-import static org.junit.Assert.assertEquals;
-import static org.junit.Assert.fail;
+import static org.junit.Assert.*;
 
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.Objects;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 import org.junit.Test;
 
@@ -105,6 +105,116 @@ public class ChronicleQueueStreamTest {
 		}
 	}
 
+	@Test
+	public void testTailerCheckpointResume() throws Exception {
+		Path testQueue = Files.createTempDirectory("testQueue");
+		try (ChronicleQueue queue = ChronicleQueue.single(testQueue.toFile().getAbsolutePath())) {
+			ExcerptAppender appender = queue.acquireAppender();
+			for (String name : new String[] { "A", "B", "C", "D", "E" }) {
+				EntryDefinition entry = new EntryDefinition();
+				entry.setName(name);
+				appender.writeDocument(entry);
+			}
+		}
+
+		ChronicleQueueStream stream = makeResumableStream(testQueue, "3", "false");
+		stream.startStream();
+		assertEquals("A", processNextItem(stream).getName());
+		assertEquals("B", processNextItem(stream).getName());
+		assertEquals("C", ((EntryDefinition) stream.getNextItem()).getName()); // delivered, but not processed
+		stream.cleanup();
+
+		stream = makeResumableStream(testQueue, "1", "false");
+		stream.startStream();
+		assertEquals("C", processNextItem(stream).getName());
+		assertEquals("D", processNextItem(stream).getName());
+		stream.cleanup();
+
+		stream = makeResumableStream(testQueue, "1", "true");
+		stream.startStream();
+		assertEquals("E", processNextItem(stream).getName());
+		stream.cleanup();
+	}
+
+	@Test
+	public void testTailerCheckpointOutOfOrderProcessing() throws Exception {
+		Path testQueue = Files.createTempDirectory("testQueue");
+		try (ChronicleQueue queue = ChronicleQueue.single(testQueue.toFile().getAbsolutePath())) {
+			ExcerptAppender appender = queue.acquireAppender();
+			for (String name : new String[] { "A", "B", "C", "D" }) {
+				EntryDefinition entry = new EntryDefinition();
+				entry.setName(name);
+				appender.writeDocument(entry);
+			}
+		}
+
+		// items processed by executor service may complete in any order
+		ChronicleQueueStream stream = makeResumableStream(testQueue, "4", "false");
+		stream.startStream();
+		Object a = stream.getNextItem();
+		Object b = stream.getNextItem();
+		Object c = stream.getNextItem();
+		stream.processActivityItem(c, new AtomicBoolean());
+		stream.processActivityItem(b, new AtomicBoolean());
+		stream.cleanup();
+
+		stream = makeResumableStream(testQueue, "4", "false");
+		stream.startStream();
+		a = stream.getNextItem();
+		assertEquals("A", ((EntryDefinition) a).getName());
+		b = stream.getNextItem();
+		c = stream.getNextItem();
+		stream.processActivityItem(b, new AtomicBoolean());
+		stream.processActivityItem(a, new AtomicBoolean());
+		stream.cleanup();
+
+		stream = makeResumableStream(testQueue, "1", "false");
+		stream.startStream();
+		assertEquals("C", processNextItem(stream).getName());
+		stream.cleanup();
+	}
+
+	@Test
+	public void testReuseObjects() throws Exception {
+		Path testQueue = Files.createTempDirectory("testQueue");
+		try (ChronicleQueue queue = ChronicleQueue.single(testQueue.toFile().getAbsolutePath())) {
+			ExcerptAppender appender = queue.acquireAppender();
+			for (String name : new String[] { "A", "B" }) {
+				EntryDefinition entry = new EntryDefinition();
+				entry.setName(name);
+				appender.writeDocument(entry);
+			}
+		}
+
+		ChronicleQueueStream stream = makeResumableStream(testQueue, "1", "false");
+		stream.setProperty(ChronicleQueueProperties.PROP_REUSE_OBJECTS, "true");
+		stream.startStream();
+		EntryDefinition first = processNextItem(stream);
+		assertEquals("A", first.getName());
+		EntryDefinition second = processNextItem(stream);
+		assertSame(first, second);
+		assertEquals("B", second.getName());
+		stream.cleanup();
+		assertNull(second.getName()); // processed instance is reset before getting back to the pool
+	}
+
+	private static EntryDefinition processNextItem(ChronicleQueueStream stream) throws Exception {
+		EntryDefinition item = (EntryDefinition) stream.getNextItem();
+		stream.processActivityItem(item, new AtomicBoolean());
+		return item;
+	}
+
+	private static ChronicleQueueStream makeResumableStream(Path testQueue, String batchSize, String startFromLatest) {
+		ChronicleQueueStream stream = new ChronicleQueueStream();
+		stream.setProperty(StreamProperties.PROP_FILENAME, testQueue.toFile().getAbsolutePath());
+		stream.setProperty(ChronicleQueueProperties.PROP_MARSHALL_CLASS,
+				"com.jkoolcloud.tnt4j.streams.inputs.ChronicleQueueStreamTest$EntryDefinition");
+		stream.setProperty(ChronicleQueueProperties.PROP_START_FROM_LATEST, startFromLatest);
+		stream.setProperty(ChronicleQueueProperties.PROP_TAILER_NAME, "testTailer");
+		stream.setProperty(ChronicleQueueProperties.PROP_READ_BATCH_SIZE, batchSize);
+		return stream;
+	}
+
 	public static class EntryDefinition extends BytesInBinaryMarshallable {
 		String name;
 
@@ -16,12 +16,11 @@
 
 package com.jkoolcloud.tnt4j.streams.preparsers;
 
-import java.io.ByteArrayInputStream;
-import java.io.IOException;
-import java.io.InputStream;
+import java.io.*;
 import java.nio.charset.Charset;
 import java.nio.charset.IllegalCharsetNameException;
 import java.nio.charset.UnsupportedCharsetException;
+import java.util.Arrays;
 
 import org.apache.commons.compress.compressors.CompressorException;
 import org.apache.commons.compress.compressors.CompressorInputStream;
@@ -29,9 +28,10 @@ import org.apache.commons.compress.compressors.CompressorStreamFactory;
 import org.apache.commons.io.IOUtils;
 import org.apache.commons.lang3.StringUtils;
 
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 import com.jkoolcloud.tnt4j.sink.EventSink;
-import com.jkoolcloud.tnt4j.streams.utils.LoggerUtils;
-import com.jkoolcloud.tnt4j.streams.utils.Utils;
+import com.jkoolcloud.tnt4j.streams.utils.*;
 
 /**
  * RAW activity data pre-parser capable to decompress provided binary or {@link java.io.InputStream} fed compressed
@@ -42,12 +42,40 @@ import com.jkoolcloud.tnt4j.streams.utils.Utils;
  * Default {@link java.nio.charset.Charset} used to convert between binary and string data is
  * {@link java.nio.charset.Charset#defaultCharset()}. Custom charset can be defined using constructor parameter
  * {@code charsetName}.
+ * <p>
+ * Decompressed data types {@link com.jkoolcloud.tnt4j.streams.preparsers.UncompressedType#STREAM} and
+ * {@link com.jkoolcloud.tnt4j.streams.preparsers.UncompressedType#READER} do not inflate whole payload on heap, but
+ * provide decompressing {@link java.io.InputStream} or {@link java.io.BufferedReader} to next pre-parser or parser.
+ * Decompressing stream or reader is bound to source {@link java.io.InputStream} instance (compared by identity): when
+ * same source is provided repeatedly (e.g. by feed stream), same stream or reader instance is returned, so parser reads
+ * activity entries (e.g. lines) one by one as data gets inflated. Binding is dropped when end of decompressed data is
+ * reached or stream is closed. {@code byte[]} data is an already complete activity data package, thus for
+ * {@link com.jkoolcloud.tnt4j.streams.preparsers.UncompressedType#READER} type it is decompressed to string, same as
+ * for {@link com.jkoolcloud.tnt4j.streams.preparsers.UncompressedType#STRING} type.
+ * <p>
+ * GZIP, ZLIB ({@code "deflate"}) and raw DEFLATE ({@code "deflate-raw"}) data is decompressed using
+ * {@link com.jkoolcloud.tnt4j.streams.utils.InflaterPool} pooled inflaters. Other formats are decompressed by
+ * {@link org.apache.commons.compress.compressors.CompressorStreamFactory} provided streams. Compression format
+ * {@value #AUTO_FORMAT} detects format from compressed data magic bytes.
  *
- * @version $Revision: 1 $
+ * @version $Revision: 4 $
  */
 public class CompressedBinaryPreParser extends AbstractPreParser<Object, Object> {
 	private static final EventSink LOGGER = LoggerUtils.getLoggerSink(CompressedBinaryPreParser.class);
 
+	/**
+	 * Constant for compression format name to detect format from compressed data magic bytes.
+	 */
+	public static final String AUTO_FORMAT = "auto"; // NON-NLS
+
+	/**
+	 * Constant for raw DEFLATE (no ZLIB header and checksum) compression format name.
+	 */
+	public static final String DEFLATE_RAW_FORMAT = "deflate-raw"; // NON-NLS
+
+	private static final int MAGIC_BYTES_COUNT = 2;
+	private static final int MAX_BOUND_SOURCES = 1024;
+
 	/**
 	 * Decompressed data type.
 	 */
@@ -60,6 +88,9 @@ public class CompressedBinaryPreParser extends AbstractPreParser<Object, Object>
 
 	protected String compressFormat;
 
+	private final Cache<InputStream, Object> boundSources = CacheBuilder.newBuilder().weakKeys()
+			.maximumSize(MAX_BOUND_SOURCES).build();
+
 	/**
 	 * Constructs a new CompressedBinaryPreParser.
 	 * 
@@ -103,6 +134,35 @@ public class CompressedBinaryPreParser extends AbstractPreParser<Object, Object>
 		}
 	}
 
+	/**
+	 * Constructs a new CompressedBinaryPreParser.
+	 *
+	 * @param compressFormat
+	 *            compression format to use
+	 * @param uncompressedTypeName
+	 *            decompressed data type name, one of {@link com.jkoolcloud.tnt4j.streams.preparsers.UncompressedType}
+	 *            values
+	 * @param charsetName
+	 *            charset name used to convert binary data to string
+	 */
+	public CompressedBinaryPreParser(String compressFormat, String uncompressedTypeName, String charsetName) {
+		this(compressFormat, toUncompressedType(uncompressedTypeName));
+
+		if (StringUtils.isNotEmpty(charsetName)) {
+			this.charset = Charset.forName(charsetName);
+		}
+	}
+
+	private static UncompressedType toUncompressedType(String typeName) {
+		try {
+			return UncompressedType.valueOf(typeName.toUpperCase());
+		} catch (RuntimeException exc) {
+			throw new IllegalArgumentException(StreamsResources.getStringFormatted(
+					CompressConstants.RESOURCE_BUNDLE_NAME, "CompressedBinaryPreParser.invalid.uncompressed.type",
+					typeName, Arrays.toString(UncompressedType.values())));
+		}
+	}
+
 	/**
 	 * {@inheritDoc}
 	 * <p>
@@ -119,6 +179,10 @@ public class CompressedBinaryPreParser extends AbstractPreParser<Object, Object>
 
 	@Override
 	public Object preParse(Object data) throws Exception {
+		if (uncompressedType == UncompressedType.STREAM || uncompressedType == UncompressedType.READER) {
+			return preParseStreamed(data);
+		}
+
 		InputStream din;
 
 		if (data instanceof InputStream) {
@@ -128,7 +192,7 @@ public class CompressedBinaryPreParser extends AbstractPreParser<Object, Object>
 		}
 
 		byte[] uncompressed;
-		try (InputStream in = getCompressorInputStream(compressFormat, din)) {
+		try (InputStream in = openDecompressingStream(compressFormat, din)) {
 			uncompressed = IOUtils.toByteArray(in);
 		} catch (IOException exc) {
 			if ("Premature end of stream reading size".equals(exc.getMessage())) { // NON-NLS
@@ -148,6 +212,114 @@ public class CompressedBinaryPreParser extends AbstractPreParser<Object, Object>
 		}
 	}
 
+	private Object preParseStreamed(Object data) throws IOException {
+		if (data instanceof byte[]) {
+			InputStream in = openDecompressingStream(compressFormat, new ByteArrayInputStream((byte[]) data));
+			if (uncompressedType == UncompressedType.READER) {
+				try (InputStream din = in) {
+					return Utils.getString(IOUtils.toByteArray(din), charset);
+				}
+			}
+			return in;
+		}
+
+		InputStream source = (InputStream) data;
+		Object streamed = boundSources.getIfPresent(source);
+		if (streamed == null) {
+			InputStream in = new SourceBoundInputStream(openDecompressingStream(compressFormat, source), source);
+			if (uncompressedType == UncompressedType.READER) {
+				streamed = new BufferedReader(
+						new InputStreamReader(in, charset == null ? Charset.defaultCharset() : charset));
+			} else {
+				streamed = in;
+			}
+			boundSources.put(source, streamed);
+		}
+		return streamed;
+	}
+
+	/**
+	 * Creates decompressing input stream for compressed data input stream. GZIP, ZLIB and raw DEFLATE formats are
+	 * decompressed using pooled inflaters, other formats - using
+	 * {@link org.apache.commons.compress.compressors.CompressorStreamFactory} provided streams.
+	 *
+	 * @param compressFormat
+	 *            compression format name, or {@value #AUTO_FORMAT} to detect format from data magic bytes
+	 * @param din
+	 *            RAW compressed data input stream
+	 * @return decompressing input stream instance
+	 *
+	 * @throws IOException
+	 *             if compression format is not known or can't be detected, or compressed data header is invalid
+	 *
+	 * @see #detectFormat(java.io.InputStream)
+	 */
+	protected static InputStream openDecompressingStream(String compressFormat, InputStream din) throws IOException {
+		if (din instanceof CompressorInputStream || din instanceof PooledInflaterInputStream
+				|| din instanceof SourceBoundInputStream) {
+			return din;
+		}
+		if (StringUtils.equalsIgnoreCase(compressFormat, AUTO_FORMAT)) {
+			if (!din.markSupported()) {
+				din = new BufferedInputStream(din, InflaterPool.DEFAULT_BUFFER_SIZE);
+			}
+			compressFormat = detectFormat(din);
+		}
+
+		if (StringUtils.equalsAnyIgnoreCase(compressFormat, "gzip", "gz")) { // NON-NLS
+			return new PooledInflaterInputStream(din, InflaterPool.getDefault(),
+					PooledInflaterInputStream.Format.GZIP);
+		} else if (StringUtils.equalsIgnoreCase(compressFormat, CompressorStreamFactory.DEFLATE)) {
+			return new PooledInflaterInputStream(din, InflaterPool.getDefault(),
+					PooledInflaterInputStream.Format.ZLIB);
+		} else if (StringUtils.equalsIgnoreCase(compressFormat, DEFLATE_RAW_FORMAT)) {
+			return new PooledInflaterInputStream(din, InflaterPool.getDefault(),
+					PooledInflaterInputStream.Format.DEFLATE);
+		}
+
+		try {
+			return getCompressorInputStream(compressFormat, din);
+		} catch (CompressorException exc) {
+			throw new IOException(exc.getMessage(), exc);
+		}
+	}
+
+	/**
+	 * Detects compression format from compressed data magic bytes. Input stream must support
+	 * {@link java.io.InputStream#mark(int)}, stream position is left unchanged.
+	 *
+	 * @param din
+	 *            RAW compressed data input stream
+	 * @return detected compression format name
+	 *
+	 * @throws IOException
+	 *             if compression format can't be detected, or I/O error occurs reading stream
+	 */
+	protected static String detectFormat(InputStream din) throws IOException {
+		din.mark(MAGIC_BYTES_COUNT);
+		byte[] magic = new byte[MAGIC_BYTES_COUNT];
+		int n = IOUtils.read(din, magic);
+		din.reset();
+
+		if (n == MAGIC_BYTES_COUNT) {
+			int b0 = magic[0] & 0xFF;
+			int b1 = magic[1] & 0xFF;
+			if (b0 == 0x1f && b1 == 0x8b) {
+				return "gz"; // NON-NLS
+			}
+			if (b0 == 0x78 && ((b0 << 8) | b1) % 31 == 0) {
+				return CompressorStreamFactory.DEFLATE;
+			}
+		}
+
+		try {
+			return CompressorStreamFactory.detect(din);
+		} catch (CompressorException exc) {
+			throw new IOException(StreamsResources.getStringFormatted(CompressConstants.RESOURCE_BUNDLE_NAME,
+					"CompressedBinaryPreParser.unknown.format", exc.getMessage()), exc);
+		}
+	}
+
 	/**
 	 * Creates a compressor input stream from a compression format name and an input stream.
 	 * 
@@ -181,10 +353,56 @@ public class CompressedBinaryPreParser extends AbstractPreParser<Object, Object>
 	public String dataTypeReturned() {
 		switch (uncompressedType) {
 		case STRING:
+		case READER:
 			return "TEXT"; // NON-NLS
 		case BINARY:
+		case STREAM:
 		default:
 			return "BINARY"; // NON-NLS
 		}
 	}
+
+	/**
+	 * Decompressing input stream bound to source input stream. Binding is dropped when end of decompressed data is
+	 * reached or stream gets closed.
+	 */
+	private class SourceBoundInputStream extends FilterInputStream {
+		private final InputStream source;
+
+		SourceBoundInputStream(InputStream in, InputStream source) {
+			super(in);
+			this.source = source;
+		}
+
+		@Override
+		public int read() throws IOException {
+			int b = super.read();
+			if (b < 0) {
+				unbind();
+			}
+			return b;
+		}
+
+		@Override
+		public int read(byte[] b, int off, int len) throws IOException {
+			int n = super.read(b, off, len);
+			if (n < 0) {
+				unbind();
+			}
+			return n;
+		}
+
+		@Override
+		public void close() throws IOException {
+			try {
+				super.close();
+			} finally {
+				unbind();
+			}
+		}
+
+		private void unbind() {
+			boundSources.invalidate(source);
+		}
+	}
 }
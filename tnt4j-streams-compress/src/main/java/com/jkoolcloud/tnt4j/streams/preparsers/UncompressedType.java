@@ -30,5 +30,16 @@ public enum UncompressedType {
 	/**
 	 * Uncompress the input data as a String.
 	 */
-	STRING
+	STRING,
+
+	/**
+	 * Provide decompressing {@link java.io.InputStream}, inflating data as it is read.
+	 */
+	STREAM,
+
+	/**
+	 * Provide {@link java.io.BufferedReader} over decompressing stream, to split decompressed text into activity
+	 * entries (e.g. lines) as it is inflated.
+	 */
+	READER
 }
@@ -0,0 +1,136 @@
+/*
+ * Copyright 2014-2023 JKOOL, LLC.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.jkoolcloud.tnt4j.streams.utils;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.zip.Inflater;
+
+/**
+ * Bounded pool of reusable decompression contexts: {@link java.util.zip.Inflater} paired with compressed input read
+ * buffer. Separate pools are maintained for raw DEFLATE ({@code nowrap}) inflaters, used to decompress GZIP data, and
+ * ZLIB wrapped DEFLATE inflaters. Released contexts are pooled while pool is not full, otherwise context inflater gets
+ * ended and context is dropped.
+ *
+ * @version $Revision: 1 $
+ */
+public class InflaterPool {
+	/**
+	 * Default size of decompression context input buffer.
+	 */
+	public static final int DEFAULT_BUFFER_SIZE = 64 * 1024;
+
+	private static final InflaterPool DEFAULT = new InflaterPool(Runtime.getRuntime().availableProcessors() * 2,
+			DEFAULT_BUFFER_SIZE);
+
+	private final BlockingQueue<Context> rawPool;
+	private final BlockingQueue<Context> zlibPool;
+	private final int bufferSize;
+
+	/**
+	 * Constructs a new InflaterPool.
+	 *
+	 * @param maxPooled
+	 *            maximal number of contexts kept in pool, for every inflater kind
+	 * @param bufferSize
+	 *            context input buffer size in bytes
+	 */
+	public InflaterPool(int maxPooled, int bufferSize) {
+		this.rawPool = new ArrayBlockingQueue<>(Math.max(1, maxPooled));
+		this.zlibPool = new ArrayBlockingQueue<>(Math.max(1, maxPooled));
+		this.bufferSize = bufferSize;
+	}
+
+	/**
+	 * Returns JVM wide shared inflater pool instance.
+	 *
+	 * @return default inflater pool instance
+	 */
+	public static InflaterPool getDefault() {
+		return DEFAULT;
+	}
+
+	/**
+	 * Acquires decompression context. Pooled context is reused if available, otherwise new one is created.
+	 *
+	 * @param nowrap
+	 *            if {@code true} then context inflater handles raw DEFLATE data (no ZLIB header and checksum fields)
+	 * @return decompression context instance
+	 */
+	public Context acquire(boolean nowrap) {
+		Context ctx = (nowrap ? rawPool : zlibPool).poll();
+		return ctx == null ? new Context(new Inflater(nowrap), new byte[bufferSize], nowrap) : ctx;
+	}
+
+	/**
+	 * Resets context inflater and returns context back to pool.
+	 *
+	 * @param ctx
+	 *            decompression context to return, {@code null} is ignored
+	 */
+	public void release(Context ctx) {
+		if (ctx == null) {
+			return;
+		}
+		ctx.inflater.reset();
+		if (!(ctx.nowrap ? rawPool : zlibPool).offer(ctx)) {
+			ctx.inflater.end();
+		}
+	}
+
+	/**
+	 * Returns number of currently pooled contexts.
+	 *
+	 * @return number of pooled contexts
+	 */
+	public int size() {
+		return rawPool.size() + zlibPool.size();
+	}
+
+	/**
+	 * Decompression context: inflater and compressed data input buffer.
+	 */
+	public static class Context {
+		private final Inflater inflater;
+		private final byte[] buffer;
+		private final boolean nowrap;
+
+		private Context(Inflater inflater, byte[] buffer, boolean nowrap) {
+			this.inflater = inflater;
+			this.buffer = buffer;
+			this.nowrap = nowrap;
+		}
+
+		/**
+		 * Returns context inflater.
+		 *
+		 * @return context inflater
+		 */
+		public Inflater getInflater() {
+			return inflater;
+		}
+
+		/**
+		 * Returns context compressed data input buffer.
+		 *
+		 * @return context input buffer
+		 */
+		public byte[] getBuffer() {
+			return buffer;
+		}
+	}
+}
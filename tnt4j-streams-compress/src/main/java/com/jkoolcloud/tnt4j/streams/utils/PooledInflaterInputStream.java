@@ -0,0 +1,269 @@
+/*
+ * Copyright 2014-2023 JKOOL, LLC.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.jkoolcloud.tnt4j.streams.utils;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.zip.CRC32;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+
+/**
+ * Decompressing input stream for GZIP, ZLIB and raw DEFLATE formatted data, using {@link InflaterPool} provided
+ * decompression context. Context is returned back to pool when stream reaches end of compressed data or gets closed,
+ * so fully consumed stream does not hold inflater even if it is not closed.
+ * <p>
+ * GZIP data may consist of multiple concatenated members: all of them are decompressed as single stream. Member CRC32
+ * and size trailer fields are verified.
+ *
+ * @version $Revision: 1 $
+ */
+public class PooledInflaterInputStream extends InputStream {
+	/**
+	 * Supported compressed data formats.
+	 */
+	public enum Format {
+		/**
+		 * GZIP (RFC 1952) format.
+		 */
+		GZIP,
+		/**
+		 * ZLIB (RFC 1950) wrapped DEFLATE format.
+		 */
+		ZLIB,
+		/**
+		 * Raw DEFLATE (RFC 1951) format.
+		 */
+		DEFLATE
+	}
+
+	private static final int GZIP_MAGIC_1 = 0x1f;
+	private static final int GZIP_MAGIC_2 = 0x8b;
+	private static final int GZIP_CM_DEFLATE = 8;
+	private static final int FHCRC = 0x02;
+	private static final int FEXTRA = 0x04;
+	private static final int FNAME = 0x08;
+	private static final int FCOMMENT = 0x10;
+
+	private final InputStream in;
+	private final InflaterPool pool;
+	private final Format format;
+	private final CRC32 crc;
+
+	private InflaterPool.Context ctx;
+	private int bufPos;
+	private int bufLen;
+	private long memberSize;
+	private boolean eof;
+	private boolean closed;
+	private final byte[] single = new byte[1];
+
+	/**
+	 * Constructs a new PooledInflaterInputStream. For {@link Format#GZIP} format, first member header is read and
+	 * validated.
+	 *
+	 * @param in
+	 *            compressed data input stream
+	 * @param pool
+	 *            decompression contexts pool
+	 * @param format
+	 *            compressed data format
+	 *
+	 * @throws IOException
+	 *             if GZIP header is invalid or can't be read
+	 */
+	public PooledInflaterInputStream(InputStream in, InflaterPool pool, Format format) throws IOException {
+		this.in = in;
+		this.pool = pool;
+		this.format = format;
+		this.crc = format == Format.GZIP ? new CRC32() : null;
+		this.ctx = pool.acquire(format != Format.ZLIB);
+
+		if (format == Format.GZIP) {
+			try {
+				readGzipHeader(readUByte());
+			} catch (IOException exc) {
+				releaseContext();
+				throw exc;
+			}
+		}
+	}
+
+	@Override
+	public int read() throws IOException {
+		int n = read(single, 0, 1);
+		return n == -1 ? -1 : single[0] & 0xFF;
+	}
+
+	@Override
+	public int read(byte[] b, int off, int len) throws IOException {
+		if (closed) {
+			throw new IOException("Stream closed"); // NON-NLS
+		}
+		if (eof) {
+			return -1;
+		}
+		if (len == 0) {
+			return 0;
+		}
+
+		Inflater inflater = ctx.getInflater();
+		while (true) {
+			if (inflater.finished()) {
+				bufPos = bufLen - inflater.getRemaining();
+				if (format == Format.GZIP) {
+					readGzipTrailer();
+					if (nextGzipMember()) {
+						inflater.reset();
+						continue;
+					}
+				}
+				eof = true;
+				releaseContext();
+				return -1;
+			}
+			if (inflater.needsInput()) {
+				if (bufPos >= bufLen && !fill()) {
+					throw new EOFException(StreamsResources.getString(CompressConstants.RESOURCE_BUNDLE_NAME,
+							"PooledInflaterInputStream.unexpected.end"));
+				}
+				inflater.setInput(ctx.getBuffer(), bufPos, bufLen - bufPos);
+				bufPos = bufLen;
+			}
+
+			int n;
+			try {
+				n = inflater.inflate(b, off, len);
+			} catch (DataFormatException exc) {
+				throw new IOException(exc.getMessage(), exc);
+			}
+			if (n > 0) {
+				if (crc != null) {
+					crc.update(b, off, n);
+					memberSize += n;
+				}
+				return n;
+			}
+
+			if (inflater.needsDictionary()) {
+				throw new IOException(StreamsResources.getString(CompressConstants.RESOURCE_BUNDLE_NAME,
+						"PooledInflaterInputStream.dictionary.required"));
+			}
+		}
+	}
+
+	private boolean fill() throws IOException {
+		byte[] buf = ctx.getBuffer();
+		int n = in.read(buf, 0, buf.length);
+		if (n <= 0) {
+			bufPos = bufLen = 0;
+			return false;
+		}
+		bufPos = 0;
+		bufLen = n;
+		return true;
+	}
+
+	private int readUByte() throws IOException {
+		if (bufPos >= bufLen && !fill()) {
+			throw new EOFException(StreamsResources.getString(CompressConstants.RESOURCE_BUNDLE_NAME,
+					"PooledInflaterInputStream.unexpected.end"));
+		}
+		return ctx.getBuffer()[bufPos++] & 0xFF;
+	}
+
+	private int readUShortLE() throws IOException {
+		return readUByte() | (readUByte() << 8);
+	}
+
+	private long readUIntLE() throws IOException {
+		return (readUShortLE() | ((long) readUShortLE() << 16)) & 0xFFFFFFFFL;
+	}
+
+	private void skipBytes(int n) throws IOException {
+		for (int i = 0; i < n; i++) {
+			readUByte();
+		}
+	}
+
+	private void skipZeroTerminated() throws IOException {
+		while (readUByte() != 0) {
+			// skip string
+		}
+	}
+
+	private void readGzipHeader(int magic1) throws IOException {
+		if (magic1 != GZIP_MAGIC_1 || readUByte() != GZIP_MAGIC_2) {
+			throw new IOException(StreamsResources.getString(CompressConstants.RESOURCE_BUNDLE_NAME,
+					"PooledInflaterInputStream.not.gzip"));
+		}
+		if (readUByte() != GZIP_CM_DEFLATE) {
+			throw new IOException(StreamsResources.getString(CompressConstants.RESOURCE_BUNDLE_NAME,
+					"PooledInflaterInputStream.unsupported.method"));
+		}
+		int flags = readUByte();
+		skipBytes(6); // MTIME, XFL, OS
+		if ((flags & FEXTRA) != 0) {
+			skipBytes(readUShortLE());
+		}
+		if ((flags & FNAME) != 0) {
+			skipZeroTerminated();
+		}
+		if ((flags & FCOMMENT) != 0) {
+			skipZeroTerminated();
+		}
+		if ((flags & FHCRC) != 0) {
+			skipBytes(2);
+		}
+		crc.reset();
+		memberSize = 0;
+	}
+
+	private void readGzipTrailer() throws IOException {
+		long expectedCrc = readUIntLE();
+		long expectedSize = readUIntLE();
+		if (expectedCrc != crc.getValue() || expectedSize != (memberSize & 0xFFFFFFFFL)) {
+			throw new IOException(StreamsResources.getString(CompressConstants.RESOURCE_BUNDLE_NAME,
+					"PooledInflaterInputStream.corrupted.trailer"));
+		}
+	}
+
+	private boolean nextGzipMember() throws IOException {
+		if (bufPos >= bufLen && !fill()) {
+			return false;
+		}
+		readGzipHeader(readUByte());
+		return true;
+	}
+
+	private void releaseContext() {
+		if (ctx != null) {
+			pool.release(ctx);
+			ctx = null;
+		}
+	}
+
+	@Override
+	public void close() throws IOException {
+		if (!closed) {
+			closed = true;
+			releaseContext();
+			in.close();
+		}
+	}
+}
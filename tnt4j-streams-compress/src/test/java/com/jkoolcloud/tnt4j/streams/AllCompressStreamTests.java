@@ -20,12 +20,13 @@ import org.junit.runner.RunWith;
 import org.junit.runners.Suite;
 
 import com.jkoolcloud.tnt4j.streams.configure.sax.ConfigParserHandlerTest;
+import com.jkoolcloud.tnt4j.streams.preparsers.CompressedBinaryPreParserTest;
 
 /**
  * @author akausinis
  * @version 1.0
  */
 @RunWith(Suite.class)
-@Suite.SuiteClasses({ ConfigParserHandlerTest.class })
+@Suite.SuiteClasses({ ConfigParserHandlerTest.class, CompressedBinaryPreParserTest.class })
 public class AllCompressStreamTests {
 }
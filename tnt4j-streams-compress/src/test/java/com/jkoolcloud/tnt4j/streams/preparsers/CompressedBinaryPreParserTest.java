@@ -0,0 +1,249 @@
+/*
+ * Copyright 2014-2023 JKOOL, LLC.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.jkoolcloud.tnt4j.streams.preparsers;
+
+import static org.junit.Assert.*;
+
+import java.io.*;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.GZIPOutputStream;
+
+import org.apache.commons.compress.compressors.bzip2.BZip2CompressorOutputStream;
+import org.junit.Test;
+
+import com.jkoolcloud.tnt4j.streams.TestUtils;
+import com.jkoolcloud.tnt4j.streams.fields.ActivityField;
+import com.jkoolcloud.tnt4j.streams.fields.ActivityFieldLocator;
+import com.jkoolcloud.tnt4j.streams.fields.ActivityFieldLocatorType;
+import com.jkoolcloud.tnt4j.streams.fields.ActivityInfo;
+import com.jkoolcloud.tnt4j.streams.inputs.TNTInputStream;
+import com.jkoolcloud.tnt4j.streams.parsers.ActivityJsonParser;
+import com.jkoolcloud.tnt4j.streams.utils.InflaterPool;
+
+/**
+ * @author akausinis
+ * @version 1.0
+ */
+public class CompressedBinaryPreParserTest {
+	private static final String LINE = "{\"time\":1700000000000,\"host\":\"host-1\",\"level\":\"INFO\",\"msg\":\"Test message %d\"}"; // NON-NLS
+
+	@Test
+	public void testGzipBinaryAndString() throws Exception {
+		String text = makeLines(1000);
+		byte[] gz = gzip(text.getBytes(StandardCharsets.UTF_8));
+
+		CompressedBinaryPreParser binParser = new CompressedBinaryPreParser("gzip"); // NON-NLS
+		assertArrayEquals(text.getBytes(StandardCharsets.UTF_8), (byte[]) binParser.preParse(gz));
+
+		CompressedBinaryPreParser strParser = new CompressedBinaryPreParser("gz", "UTF-8"); // NON-NLS
+		assertEquals(text, strParser.preParse(new ByteArrayInputStream(gz)));
+		assertEquals("TEXT", strParser.dataTypeReturned()); // NON-NLS
+	}
+
+	@Test
+	public void testGzipMultiMember() throws Exception {
+		ByteArrayOutputStream bos = new ByteArrayOutputStream();
+		bos.write(gzip("first,".getBytes(StandardCharsets.UTF_8))); // NON-NLS
+		bos.write(gzip("second".getBytes(StandardCharsets.UTF_8))); // NON-NLS
+
+		CompressedBinaryPreParser parser = new CompressedBinaryPreParser("gzip", "UTF-8"); // NON-NLS
+		assertEquals("first,second", parser.preParse(bos.toByteArray())); // NON-NLS
+	}
+
+	@Test(expected = IOException.class)
+	public void testGzipCorrupted() throws Exception {
+		byte[] gz = gzip(makeLines(10).getBytes(StandardCharsets.UTF_8));
+		gz[gz.length - 5] ^= 0x55; // CRC32 trailer
+
+		new CompressedBinaryPreParser("gzip").preParse(gz); // NON-NLS
+	}
+
+	@Test
+	public void testAutoDetect() throws Exception {
+		byte[] data = makeLines(100).getBytes(StandardCharsets.UTF_8);
+		CompressedBinaryPreParser parser = new CompressedBinaryPreParser(CompressedBinaryPreParser.AUTO_FORMAT);
+
+		assertArrayEquals(data, (byte[]) parser.preParse(gzip(data)));
+		assertArrayEquals(data, (byte[]) parser.preParse(zlib(data)));
+		assertArrayEquals(data, (byte[]) parser.preParse(bzip2(data)));
+		assertArrayEquals(data, (byte[]) parser.preParse(new BufferedInputStream(new ByteArrayInputStream(gzip(data)))));
+	}
+
+	@Test
+	public void testReaderStreaming() throws Exception {
+		int linesCount = 5000;
+		byte[] gz = gzip(makeLines(linesCount).getBytes(StandardCharsets.UTF_8));
+		InputStream source = new ByteArrayInputStream(gz);
+		CompressedBinaryPreParser parser = new CompressedBinaryPreParser(CompressedBinaryPreParser.AUTO_FORMAT,
+				"READER", "UTF-8"); // NON-NLS
+		assertEquals("TEXT", parser.dataTypeReturned()); // NON-NLS
+
+		BufferedReader rdr = (BufferedReader) parser.preParse(source);
+		for (int i = 0; i < linesCount; i++) {
+			assertEquals(String.format(LINE, i), rdr.readLine());
+		}
+		assertNull(rdr.readLine());
+		assertTrue(InflaterPool.getDefault().size() > 0);
+	}
+
+	@Test
+	public void testGzipNdjsonParsing() throws Exception {
+		int linesCount = 5000;
+		byte[] gz = gzip(makeLines(linesCount).getBytes(StandardCharsets.UTF_8));
+		ActivityJsonParser parser = new ActivityJsonParser();
+		parser.addReference(new CompressedBinaryPreParser("gzip", "READER", "UTF-8")); // NON-NLS
+		ActivityField field = new ActivityField("MsgText"); // NON-NLS
+		field.addLocator(new ActivityFieldLocator(ActivityFieldLocatorType.Label, "$.msg")); // NON-NLS
+		parser.addField(field);
+		TNTInputStream<?, ?> stream = new TestUtils.SimpleTestStream();
+
+		// feed streams provide same source input stream for every activity item
+		InputStream source = new ByteArrayInputStream(gz);
+		int parsed = 0;
+		ActivityInfo ai;
+		while ((ai = parser.parse(stream, source)) != null) {
+			assertEquals("Test message " + parsed, ai.getFieldValue("MsgText")); // NON-NLS
+			parsed++;
+		}
+		assertEquals(linesCount, parsed);
+	}
+
+	@Test
+	public void testReaderBinaryItem() throws Exception {
+		String text = makeLines(10);
+		CompressedBinaryPreParser parser = new CompressedBinaryPreParser("gzip", "READER", "UTF-8"); // NON-NLS
+
+		assertEquals(text, parser.preParse(gzip(text.getBytes(StandardCharsets.UTF_8))));
+	}
+
+	@Test
+	public void testStream() throws Exception {
+		byte[] data = makeLines(100).getBytes(StandardCharsets.UTF_8);
+		CompressedBinaryPreParser parser = new CompressedBinaryPreParser("deflate", "STREAM", null); // NON-NLS
+		assertEquals("BINARY", parser.dataTypeReturned()); // NON-NLS
+
+		try (InputStream in = (InputStream) parser.preParse(zlib(data))) {
+			assertArrayEquals(data, in.readAllBytes());
+		}
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testInvalidUncompressedType() {
+		new CompressedBinaryPreParser("gzip", "LINES", null); // NON-NLS
+	}
+
+	@Test
+	public void benchmarkGzipNdjson() throws Exception {
+		TestUtils.assumeBenchmarksEnabled();
+		int sizeMb = Integer.getInteger("tnt4j.streams.compress.benchmark.size.mb", 16); // NON-NLS
+		File gzFile = File.createTempFile("compress-benchmark", ".ndjson.gz"); // NON-NLS
+		try {
+			long rawSize = 0;
+			try (Writer w = new OutputStreamWriter(
+					new GZIPOutputStream(new BufferedOutputStream(new FileOutputStream(gzFile)), 64 * 1024),
+					StandardCharsets.UTF_8)) {
+				for (int i = 0; rawSize < sizeMb * 1024L * 1024L; i++) {
+					String line = String.format(LINE, i) + "\n"; // NON-NLS
+					w.write(line);
+					rawSize += line.length();
+				}
+			}
+
+			CompressedBinaryPreParser readerParser = new CompressedBinaryPreParser("gzip", "READER", "UTF-8"); // NON-NLS
+			resetPeakHeap();
+			long start = System.nanoTime();
+			long lines = 0;
+			try (InputStream fin = Files.newInputStream(gzFile.toPath())) {
+				BufferedReader rdr = (BufferedReader) readerParser.preParse(fin);
+				while (rdr.readLine() != null) {
+					lines++;
+				}
+			}
+			report("READER", rawSize, System.nanoTime() - start, lines); // NON-NLS
+
+			CompressedBinaryPreParser binParser = new CompressedBinaryPreParser("gzip"); // NON-NLS
+			resetPeakHeap();
+			start = System.nanoTime();
+			byte[] uncompressed;
+			try (InputStream fin = Files.newInputStream(gzFile.toPath())) {
+				uncompressed = (byte[]) binParser.preParse(fin);
+			}
+			report("BINARY", rawSize, System.nanoTime() - start, 1); // NON-NLS
+			assertEquals(rawSize, uncompressed.length);
+		} finally {
+			gzFile.delete();
+		}
+	}
+
+	private static void resetPeakHeap() {
+		System.gc();
+		for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+			if (pool.getType() == MemoryType.HEAP) {
+				pool.resetPeakUsage();
+			}
+		}
+	}
+
+	private static void report(String mode, long rawSize, long elapsed, long items) {
+		long peakHeap = 0;
+		for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+			if (pool.getType() == MemoryType.HEAP) {
+				peakHeap += pool.getPeakUsage().getUsed();
+			}
+		}
+		System.out.printf("Gzip NDJSON %s: size=%dMB, items=%d, time=%.3fs, MB/s=%.1f, peak heap=%dMB%n", mode, // NON-NLS
+				rawSize >> 20, items, elapsed / 1_000_000_000.0, (rawSize / 1048576.0) / (elapsed / 1_000_000_000.0),
+				peakHeap >> 20);
+	}
+
+	private static String makeLines(int count) {
+		StringBuilder sb = new StringBuilder();
+		for (int i = 0; i < count; i++) {
+			sb.append(String.format(LINE, i)).append('\n');
+		}
+		return sb.toString();
+	}
+
+	private static byte[] gzip(byte[] data) throws IOException {
+		ByteArrayOutputStream bos = new ByteArrayOutputStream();
+		try (GZIPOutputStream os = new GZIPOutputStream(bos)) {
+			os.write(data);
+		}
+		return bos.toByteArray();
+	}
+
+	private static byte[] zlib(byte[] data) throws IOException {
+		ByteArrayOutputStream bos = new ByteArrayOutputStream();
+		try (DeflaterOutputStream os = new DeflaterOutputStream(bos)) {
+			os.write(data);
+		}
+		return bos.toByteArray();
+	}
+
+	private static byte[] bzip2(byte[] data) throws IOException {
+		ByteArrayOutputStream bos = new ByteArrayOutputStream();
+		try (BZip2CompressorOutputStream os = new BZip2CompressorOutputStream(bos)) {
+			os.write(data);
+		}
+		return bos.toByteArray();
+	}
+}
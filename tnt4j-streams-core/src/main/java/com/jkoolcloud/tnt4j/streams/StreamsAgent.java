@@ -33,10 +33,14 @@ import com.jkoolcloud.tnt4j.sink.EventSink;
 import com.jkoolcloud.tnt4j.streams.configure.OutputProperties;
 import com.jkoolcloud.tnt4j.streams.configure.StreamsConfigLoader;
 import com.jkoolcloud.tnt4j.streams.configure.build.CfgStreamsBuilder;
+import com.jkoolcloud.tnt4j.streams.configure.build.POJOStreamsBuilder;
 import com.jkoolcloud.tnt4j.streams.configure.build.StreamsBuilder;
 import com.jkoolcloud.tnt4j.streams.configure.zookeeper.ZKConfigManager;
 import com.jkoolcloud.tnt4j.streams.inputs.*;
 import com.jkoolcloud.tnt4j.streams.management.MBeansManager;
+import com.jkoolcloud.tnt4j.streams.management.MetricsHttpEndpoint;
+import com.jkoolcloud.tnt4j.streams.outputs.AbstractTNTStreamOutput;
+import com.jkoolcloud.tnt4j.streams.outputs.TNTStreamOutput;
 import com.jkoolcloud.tnt4j.streams.utils.Duration;
 import com.jkoolcloud.tnt4j.streams.utils.LoggerUtils;
 import com.jkoolcloud.tnt4j.streams.utils.StreamsResources;
@@ -45,7 +49,7 @@ import com.jkoolcloud.tnt4j.streams.utils.Utils;
 /**
  * Main class for jKool LLC TNT4J-Streams standalone application.
  *
- * @version $Revision: 3 $
+ * @version $Revision: 5 $
  *
  * @see com.jkoolcloud.tnt4j.streams.configure.build.StreamsBuilder
  */
@@ -241,6 +245,14 @@ public final class StreamsAgent {
 				Runtime.getRuntime().addShutdownHook(
 						new Thread(() -> ZKConfigManager.close(), "ZKConfigManager_ShutdownHookThread"));
 
+				try {
+					ZKConfigManager.startWorkCoordinator(zooProps);
+				} catch (Exception exc) {
+					Utils.logThrowable(LOGGER, OpLevel.ERROR,
+							StreamsResources.getBundle(StreamsResources.RESOURCE_BUNDLE_NAME),
+							"StreamsAgent.zk.coordination.failed", exc);
+				}
+
 				String path = zooProps.getProperty(ZKConfigManager.PROP_CONF_PATH_STREAM);
 				if (StringUtils.isEmpty(path) && StringUtils.isNotEmpty(zookeeperStreamId)) {
 					LOGGER.log(OpLevel.DEBUG, StreamsResources.getBundle(StreamsResources.RESOURCE_BUNDLE_NAME),
@@ -288,7 +300,7 @@ public final class StreamsAgent {
 					ZKConfigManager.handleZKStoredConfiguration(path, new ZKConfigManager.ZKConfigChangeListener() {
 						@Override
 						public void applyConfigurationData(byte[] data) {
-							restartStreams(Utils.bytesReader(data));
+							reloadStreams(Utils.bytesReader(data));
 						}
 					});
 					return true;
@@ -437,6 +449,148 @@ public final class StreamsAgent {
 		}
 	}
 
+	/**
+	 * Reloads all streams within default streams thread group.
+	 *
+	 * @param streamNames
+	 *            set of stream names to reload
+	 *
+	 * @see #reloadStreams(java.io.Reader, String...)
+	 */
+	public static void reloadStreams(String... streamNames) {
+		reloadStreams(null, streamNames);
+	}
+
+	/**
+	 * Reloads set of streams within default streams thread group without restarting them, where possible.
+	 * <p>
+	 * Running stream having same name and type in provided configuration gets its parsers (including fields, filters,
+	 * transformations) replaced atomically, while stream input and buffered activity data items are left untouched.
+	 * Other streams defined in configuration are (re)started. Running streams not defined in configuration anymore are
+	 * stopped. Running stream having changed properties or output configuration is restarted.
+	 * <p>
+	 * If configuration is erroneous, running streams are left intact.
+	 *
+	 * @param reader
+	 *            streams configuration data reader
+	 * @param streamNames
+	 *            set of stream names to reload
+	 */
+	public static void reloadStreams(Reader reader, String... streamNames) {
+		if (!isStreamsRunning()) {
+			restartStreams(reader, streamNames);
+			return;
+		}
+
+		StreamsConfigLoader cfg;
+		try {
+			cfg = reader == null ? new StreamsConfigLoader() : new StreamsConfigLoader(reader);
+			if (cfg.isErroneous()) {
+				throw new IllegalStateException(StreamsResources.getString(StreamsResources.RESOURCE_BUNDLE_NAME,
+						"StreamsAgent.erroneous.configuration"));
+			}
+		} catch (Throwable exc) {
+			Utils.logThrowable(LOGGER, OpLevel.ERROR,
+					StreamsResources.getBundle(StreamsResources.RESOURCE_BUNDLE_NAME), "StreamsAgent.reload.failed",
+					exc);
+			return;
+		}
+
+		LOGGER.log(OpLevel.INFO, StreamsResources.getBundle(StreamsResources.RESOURCE_BUNDLE_NAME),
+				"StreamsAgent.streams.reload.start", Arrays.toString(streamNames));
+		Duration rd = Duration.arm();
+
+		Map<String, TNTInputStream<?, ?>> runningStreams = getRunningStreams(streamNames);
+		Collection<TNTInputStream<?, ?>> startStreams = new ArrayList<>();
+		Set<String> stopNames = new HashSet<>();
+		int reloaded = 0;
+
+		for (TNTInputStream<?, ?> cfgStream : cfg.getStreams()) {
+			if (ArrayUtils.isNotEmpty(streamNames) && !ArrayUtils.contains(streamNames, cfgStream.getName())) {
+				continue;
+			}
+
+			TNTInputStream<?, ?> runningStream = runningStreams.remove(cfgStream.getName());
+			if (runningStream instanceof TNTParseableInputStream && runningStream.getClass() == cfgStream.getClass()
+					&& !isStreamConfigChanged(runningStream, cfgStream)) {
+				((TNTParseableInputStream<?>) runningStream)
+						.replaceParsers(((TNTParseableInputStream<?>) cfgStream).getParserReferences());
+				reloaded++;
+			} else {
+				if (runningStream != null) {
+					stopNames.add(runningStream.getName());
+				}
+				startStreams.add(cfgStream);
+			}
+		}
+		stopNames.addAll(runningStreams.keySet());
+
+		if (!stopNames.isEmpty()) {
+			restarting = false;
+			stopStreams(stopNames.toArray(new String[0]));
+			restarting = true;
+		}
+
+		if (!startStreams.isEmpty()) {
+			POJOStreamsBuilder builder = new POJOStreamsBuilder().addStreams(startStreams);
+			builder.addDataSourceProperties(cfg.getDataSourceProperties());
+			run(builder);
+		}
+
+		LOGGER.log(OpLevel.INFO, StreamsResources.getBundle(StreamsResources.RESOURCE_BUNDLE_NAME),
+				"StreamsAgent.streams.reload.complete", reloaded, startStreams.size(), stopNames.size(),
+				rd.duration());
+	}
+
+	/**
+	 * Checks if provided configuration stream properties or output configuration differs from running stream ones.
+	 *
+	 * @param runningStream
+	 *            running stream instance
+	 * @param cfgStream
+	 *            stream instance loaded from configuration
+	 * @return {@code true} if stream configuration has changed, {@code false} - otherwise
+	 */
+	static boolean isStreamConfigChanged(TNTInputStream<?, ?> runningStream, TNTInputStream<?, ?> cfgStream) {
+		if (!runningStream.getConfiguredProperties().equals(cfgStream.getConfiguredProperties())) {
+			return true;
+		}
+
+		TNTStreamOutput<?> runningOut = runningStream.output();
+		TNTStreamOutput<?> cfgOut = cfgStream.output();
+		if (runningOut.getClass() != cfgOut.getClass()
+				|| !StringUtils.equals(runningOut.getName(), cfgOut.getName())) {
+			return true;
+		}
+
+		if (runningOut instanceof AbstractTNTStreamOutput) {
+			return !((AbstractTNTStreamOutput<?>) runningOut).getConfiguredProperties()
+					.equals(((AbstractTNTStreamOutput<?>) cfgOut).getConfiguredProperties());
+		}
+
+		return false;
+	}
+
+	private static Map<String, TNTInputStream<?, ?>> getRunningStreams(String... streamNames) {
+		Map<String, TNTInputStream<?, ?>> runningStreams = new LinkedHashMap<>();
+
+		if (streamThreads != null) {
+			Thread[] atl = new Thread[streamThreads.activeCount()];
+			streamThreads.enumerate(atl, false);
+
+			for (Thread t : atl) {
+				if (t instanceof StreamThread) {
+					TNTInputStream<?, ?> stream = ((StreamThread) t).getTarget();
+					if (ArrayUtils.isEmpty(streamNames) || ArrayUtils.contains(streamNames, stream.getName())) {
+						runningStreams.put(stream.getName(), stream);
+					}
+				}
+			}
+		}
+
+		return runningStreams;
+	}
+
 	/**
 	 * Notifies stream threads group it can wake up from wait.
 	 */
@@ -487,6 +641,7 @@ public final class StreamsAgent {
 		statsReporter.report(LOGGER);
 		statsReporter.close();
 
+		MetricsHttpEndpoint.stopEndpoint();
 		TNTInputStreamStatistics.clear();
 		DefaultEventSinkFactory.shutdownAll();
 		MBeansManager.unregisterMBeans();
@@ -525,6 +680,7 @@ public final class StreamsAgent {
 		}
 
 		MBeansManager.registerMBeans();
+		MetricsHttpEndpoint.startEndpoint();
 
 		InputStreamListener streamListener = builder.getStreamListener();
 		StreamTasksListener streamTasksListener = builder.getTasksListener();
@@ -37,6 +37,26 @@ public interface OutputProperties {
 	 */
 	String PROP_RESOLVE_SERVER = "ResolveServerFromDNS"; // NON-NLS
 
+	/**
+	 * Constant for name of built-in {@value} property.
+	 */
+	String PROP_RESOLVE_SERVER_TIMEOUT = "ResolveServerTimeout"; // NON-NLS
+
+	/**
+	 * Constant for name of built-in {@value} property.
+	 */
+	String PROP_RESOLVE_SERVER_CACHE_SIZE = "ResolveServerCacheSize"; // NON-NLS
+
+	/**
+	 * Constant for name of built-in {@value} property.
+	 */
+	String PROP_RESOLVE_SERVER_CACHE_TTL = "ResolveServerCacheTTL"; // NON-NLS
+
+	/**
+	 * Constant for name of built-in {@value} property.
+	 */
+	String PROP_RESOLVE_SERVER_NEGATIVE_CACHE_TTL = "ResolveServerNegativeCacheTTL"; // NON-NLS
+
 	/**
 	 * Constant for name of built-in {@value} property.
 	 *
@@ -173,6 +173,26 @@ public interface StreamProperties extends OutputProperties {
 	 */
 	String PROP_FULL_BUFFER_ADD_POLICY = "FullBufferAddPolicy"; // NON-NLS
 
+	/**
+	 * Constant for name of built-in {@value} property.
+	 */
+	String PROP_SPILL_DIR = "SpillDir"; // NON-NLS
+
+	/**
+	 * Constant for name of built-in {@value} property.
+	 */
+	String PROP_SPILL_MAX_SIZE = "SpillMaxSize"; // NON-NLS
+
+	/**
+	 * Constant for name of built-in {@value} property.
+	 */
+	String PROP_BUFFER_QUEUE_TYPE = "BufferQueueType"; // NON-NLS
+
+	/**
+	 * Constant for name of built-in {@value} property.
+	 */
+	String PROP_BUFFER_DRAIN_SIZE = "BufferDrainSize"; // NON-NLS
+
 	/**
 	 * Constant for name of built-in {@value} property.
 	 */
@@ -237,4 +257,19 @@ public interface StreamProperties extends OutputProperties {
 	 * Constant for name of built-in {@value} property.
 	 */
 	String PROP_CHARSET = "Charset"; // NON-NLS
+
+	/**
+	 * Constant for name of built-in {@value} property.
+	 */
+	String PROP_PARALLEL_FILES = "ParallelFiles"; // NON-NLS
+
+	/**
+	 * Constant for name of built-in {@value} property.
+	 */
+	String PROP_PARALLEL_FILES_ORDER = "ParallelFilesOrder"; // NON-NLS
+
+	/**
+	 * Constant for name of built-in {@value} property.
+	 */
+	String PROP_FILE_WATCH_MODE = "FileWatchMode"; // NON-NLS
 }
@@ -31,6 +31,7 @@ import org.apache.commons.io.input.ReaderInputStream;
 import org.apache.commons.lang3.StringUtils;
 import org.xml.sax.SAXException;
 
+import com.codahale.metrics.Timer;
 import com.jayway.jsonpath.Configuration;
 import com.jayway.jsonpath.Option;
 import com.jayway.jsonpath.spi.json.JacksonJsonProvider;
@@ -210,6 +211,9 @@ public class StreamsConfigLoader {
 	 * <p>
 	 * Default configuration defined transformations, filters and matchers script expressions validation can be turned
 	 * off by setting system property {@code "com.jkoolcloud.tnt4j.streams.validate.config.exp"} to {@code false}.
+	 * <p>
+	 * When system property {@value StreamsConfigSnapshot#SNAPSHOT_DIR_PROP} is set, XML-XSD validation results are
+	 * stored in that directory and unchanged configuration is not validated again.
 	 *
 	 * @param config
 	 *            input stream to get configuration data from
@@ -219,7 +223,7 @@ public class StreamsConfigLoader {
 	 *             if there is an inconsistency in the configuration
 	 * @throws IOException
 	 *             if there is an error reading the configuration data
-	 * @see StreamsConfigSAXParser#parse(java.io.InputStream, boolean, boolean)
+	 * @see StreamsConfigSAXParser#parse(java.io.InputStream, boolean, boolean, StreamsConfigSnapshot)
 	 */
 	protected void load(InputStream config) throws SAXException, ParserConfigurationException, IOException {
 		String pValue = System.getProperty("com.jkoolcloud.tnt4j.streams.validate.config.xsd"); // NON-NLS
@@ -230,8 +234,9 @@ public class StreamsConfigLoader {
 		boolean validateXSD = Boolean.parseBoolean(pValue);
 		boolean validateExp = Utils.getBoolean("com.jkoolcloud.tnt4j.streams.validate.config.exp", // NON-NLS
 				System.getProperties(), true);
-		try {
-			streamsCfgData = StreamsConfigSAXParser.parse(config, validateXSD, validateExp);
+		try (Timer.Context lTime = StreamsConfigMetrics.time(StreamsConfigMetrics.Phase.LOAD)) {
+			streamsCfgData = StreamsConfigSAXParser.parse(config, validateXSD, validateExp,
+					StreamsConfigSnapshot.fromSystemProperties());
 			erroneous = streamsCfgData == null;
 		} finally {
 			Utils.close(config);
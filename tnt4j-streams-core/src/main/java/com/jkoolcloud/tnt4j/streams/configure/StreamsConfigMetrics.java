@@ -0,0 +1,103 @@
+/*
+ * Copyright 2014-2023 JKOOL, LLC.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.jkoolcloud.tnt4j.streams.configure;
+
+import com.codahale.metrics.Counter;
+import com.codahale.metrics.Gauge;
+import com.codahale.metrics.MetricRegistry;
+import com.codahale.metrics.Timer;
+import com.jkoolcloud.tnt4j.streams.utils.StreamsScriptingUtils;
+
+/**
+ * Streams configuration loading (startup) time metrics.
+ *
+ * @version $Revision: 1 $
+ */
+public final class StreamsConfigMetrics {
+	private static final MetricRegistry METRICS = new MetricRegistry();
+
+	private static final Timer[] PHASE_TIMERS = new Timer[Phase.values().length];
+	static {
+		for (Phase phase : Phase.values()) {
+			PHASE_TIMERS[phase.ordinal()] = METRICS.timer(phase.metricName + " time"); // NON-NLS
+		}
+	}
+	private static final Counter VALIDATION_SKIPS = METRICS.counter("xsd validation skipped"); // NON-NLS
+
+	static {
+		METRICS.register("scripts compiled", (Gauge<Long>) StreamsScriptingUtils::getCompiledScriptsCount); // NON-NLS
+		METRICS.register("scripts reused", (Gauge<Long>) StreamsScriptingUtils::getReusedScriptsCount); // NON-NLS
+	}
+
+	private StreamsConfigMetrics() {
+	}
+
+	/**
+	 * Starts timing of provided configuration loading phase.
+	 *
+	 * @param phase
+	 *            configuration loading phase
+	 * @return timer context to be closed when phase completes
+	 */
+	public static Timer.Context time(Phase phase) {
+		return PHASE_TIMERS[phase.ordinal()].time();
+	}
+
+	/**
+	 * Marks configuration XML-XSD validation as skipped, because same configuration was already validated.
+	 */
+	public static void validationSkipped() {
+		VALIDATION_SKIPS.inc();
+	}
+
+	/**
+	 * Returns configuration loading metrics registry.
+	 *
+	 * @return configuration loading metrics registry
+	 */
+	public static MetricRegistry getMetrics() {
+		return METRICS;
+	}
+
+	/**
+	 * Configuration loading phases.
+	 */
+	public enum Phase {
+		/**
+		 * Whole configuration loading.
+		 */
+		LOAD("load"), // NON-NLS
+		/**
+		 * Configuration XML validation against XSD schema.
+		 */
+		XSD_VALIDATION("xsd validation"), // NON-NLS
+		/**
+		 * Configuration XML parsing and configuration entities creation.
+		 */
+		PARSE("parse"), // NON-NLS
+		/**
+		 * Waiting for configuration defined scripts compilation to complete after configuration XML is parsed.
+		 */
+		SCRIPTS_COMPILE("scripts compile wait"); // NON-NLS
+
+		private final String metricName;
+
+		Phase(String metricName) {
+			this.metricName = metricName;
+		}
+	}
+}
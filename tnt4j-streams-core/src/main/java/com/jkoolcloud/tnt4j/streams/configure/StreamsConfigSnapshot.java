@@ -0,0 +1,129 @@
+/*
+ * Copyright 2014-2023 JKOOL, LLC.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.jkoolcloud.tnt4j.streams.configure;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+import org.apache.commons.codec.binary.Hex;
+import org.apache.commons.lang3.StringUtils;
+
+import com.jkoolcloud.tnt4j.core.OpLevel;
+import com.jkoolcloud.tnt4j.sink.EventSink;
+import com.jkoolcloud.tnt4j.streams.utils.LoggerUtils;
+import com.jkoolcloud.tnt4j.streams.utils.StreamsResources;
+import com.jkoolcloud.tnt4j.streams.utils.Utils;
+
+/**
+ * Persisted snapshot of streams configuration XML-XSD validation results.
+ * <p>
+ * Snapshot entries are keyed by SHA-256 digest of configuration content and TNT4J-Streams version, so unchanged
+ * configuration validated once is not validated again on subsequent application runs. Every successfully validated
+ * configuration is marked by empty {@code "<digest>.valid"} file in snapshot directory defined by system property
+ * {@value #SNAPSHOT_DIR_PROP}.
+ *
+ * @version $Revision: 1 $
+ */
+public class StreamsConfigSnapshot {
+	private static final EventSink LOGGER = LoggerUtils.getLoggerSink(StreamsConfigSnapshot.class);
+
+	/**
+	 * System property name defining configuration snapshot directory path ({@value}).
+	 */
+	public static final String SNAPSHOT_DIR_PROP = "com.jkoolcloud.tnt4j.streams.config.snapshot.dir"; // NON-NLS
+
+	private static final String VALID_MARKER_EXT = ".valid"; // NON-NLS
+
+	private final Path dir;
+
+	/**
+	 * Constructs a new StreamsConfigSnapshot.
+	 *
+	 * @param dir
+	 *            snapshot directory path
+	 */
+	public StreamsConfigSnapshot(Path dir) {
+		this.dir = dir;
+	}
+
+	/**
+	 * Creates configuration snapshot for directory defined by system property {@value #SNAPSHOT_DIR_PROP}.
+	 *
+	 * @return configuration snapshot instance, or {@code null} if system property is not defined
+	 */
+	public static StreamsConfigSnapshot fromSystemProperties() {
+		String dirPath = System.getProperty(SNAPSHOT_DIR_PROP);
+
+		return StringUtils.isEmpty(dirPath) ? null : new StreamsConfigSnapshot(Paths.get(dirPath));
+	}
+
+	/**
+	 * Calculates configuration snapshot key: SHA-256 digest of configuration content and TNT4J-Streams version.
+	 *
+	 * @param cfgData
+	 *            configuration content bytes
+	 * @return configuration digest hex string
+	 */
+	public static String digest(byte[] cfgData) {
+		try {
+			MessageDigest md = MessageDigest.getInstance("SHA-256"); // NON-NLS
+			String version = StreamsConfigSnapshot.class.getPackage().getImplementationVersion();
+			if (version != null) {
+				md.update(version.getBytes(StandardCharsets.UTF_8));
+			}
+			return Hex.encodeHexString(md.digest(cfgData));
+		} catch (NoSuchAlgorithmException exc) {
+			throw new IllegalStateException(exc);
+		}
+	}
+
+	/**
+	 * Checks if configuration having provided digest was already successfully validated.
+	 *
+	 * @param digest
+	 *            configuration digest
+	 * @return {@code true} if configuration was already validated, {@code false} - otherwise
+	 */
+	public boolean isValidated(String digest) {
+		return Files.exists(dir.resolve(digest + VALID_MARKER_EXT));
+	}
+
+	/**
+	 * Marks configuration having provided digest as successfully validated.
+	 *
+	 * @param digest
+	 *            configuration digest
+	 */
+	public void markValidated(String digest) {
+		Path marker = dir.resolve(digest + VALID_MARKER_EXT);
+		try {
+			Files.createDirectories(dir);
+			if (!Files.exists(marker)) {
+				Files.createFile(marker);
+			}
+		} catch (IOException exc) {
+			Utils.logThrowable(LOGGER, OpLevel.WARNING,
+					StreamsResources.getBundle(StreamsResources.RESOURCE_BUNDLE_NAME),
+					"StreamsConfigSnapshot.write.failed", marker, exc);
+		}
+	}
+}
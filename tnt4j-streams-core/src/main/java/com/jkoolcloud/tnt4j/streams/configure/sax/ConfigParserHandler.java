@@ -22,6 +22,7 @@ import java.net.URL;
 import java.nio.file.Files;
 import java.nio.file.Paths;
 import java.util.*;
+import java.util.function.Supplier;
 import java.util.regex.Pattern;
 
 import javax.xml.parsers.SAXParser;
@@ -34,6 +35,7 @@ import org.xml.sax.*;
 import org.xml.sax.helpers.AttributesImpl;
 import org.xml.sax.helpers.DefaultHandler;
 
+import com.codahale.metrics.Timer;
 import com.jkoolcloud.tnt4j.config.Configurable;
 import com.jkoolcloud.tnt4j.config.DefaultConfigFactory;
 import com.jkoolcloud.tnt4j.config.TrackerConfig;
@@ -43,6 +45,7 @@ import com.jkoolcloud.tnt4j.streams.configure.NamedObject;
 import com.jkoolcloud.tnt4j.streams.configure.OutputProperties;
 import com.jkoolcloud.tnt4j.streams.configure.ParserProperties;
 import com.jkoolcloud.tnt4j.streams.configure.StreamsConfigData;
+import com.jkoolcloud.tnt4j.streams.configure.StreamsConfigMetrics;
 import com.jkoolcloud.tnt4j.streams.configure.jaxb.ResourceReferenceType;
 import com.jkoolcloud.tnt4j.streams.fields.ActivityField;
 import com.jkoolcloud.tnt4j.streams.fields.ActivityFieldDataType;
@@ -50,6 +53,7 @@ import com.jkoolcloud.tnt4j.streams.fields.ActivityFieldLocator;
 import com.jkoolcloud.tnt4j.streams.fields.ActivityFieldMappingType;
 import com.jkoolcloud.tnt4j.streams.filters.AbstractExpressionFilter;
 import com.jkoolcloud.tnt4j.streams.filters.DefaultValueFilter;
+import com.jkoolcloud.tnt4j.streams.filters.ScriptExpressionFilter;
 import com.jkoolcloud.tnt4j.streams.filters.StreamFiltersGroup;
 import com.jkoolcloud.tnt4j.streams.inputs.TNTInputStream;
 import com.jkoolcloud.tnt4j.streams.outputs.TNTStreamOutput;
@@ -57,6 +61,7 @@ import com.jkoolcloud.tnt4j.streams.parsers.ActivityParser;
 import com.jkoolcloud.tnt4j.streams.parsers.GenericActivityParser;
 import com.jkoolcloud.tnt4j.streams.reference.MatchingParserReference;
 import com.jkoolcloud.tnt4j.streams.transform.AbstractScriptTransformation;
+import com.jkoolcloud.tnt4j.streams.transform.ScriptTransformation;
 import com.jkoolcloud.tnt4j.streams.transform.ValueTransformation;
 import com.jkoolcloud.tnt4j.streams.utils.*;
 
@@ -377,6 +382,8 @@ public class ConfigParserHandler extends DefaultHandler {
 
 	private boolean validateScriptExpressions = true;
 
+	private List<PendingScript> pendingScripts;
+
 	/**
 	 * Constructs a new ConfigurationParserHandler.
 	 */
@@ -424,6 +431,7 @@ public class ConfigParserHandler extends DefaultHandler {
 
 		path = new Stack<>();
 		elementDataStack = new Stack<>();
+		pendingScripts = new ArrayList<>();
 	}
 
 	@Override
@@ -432,12 +440,35 @@ public class ConfigParserHandler extends DefaultHandler {
 			return;
 		}
 
+		awaitPendingScripts();
+
 		javaObjectsMap.clear();
 		if (resourcesMap != null) {
 			resourcesMap.clear();
 		}
 	}
 
+	/**
+	 * Waits for all configuration defined scripts, compiled in parallel while configuration is being parsed, to
+	 * complete compilation.
+	 *
+	 * @throws SAXException
+	 *             if any of configuration defined scripts fails to compile
+	 */
+	private void awaitPendingScripts() throws SAXException {
+		try (Timer.Context cTime = StreamsConfigMetrics.time(StreamsConfigMetrics.Phase.SCRIPTS_COMPILE)) {
+			for (PendingScript ps : pendingScripts) {
+				try {
+					ps.script.get();
+				} catch (IllegalArgumentException exc) {
+					throw new SAXException(exc.getLocalizedMessage() + ps.location, exc);
+				}
+			}
+		} finally {
+			pendingScripts.clear();
+		}
+	}
+
 	@Override
 	public void startElement(String uri, String localName, String qName, Attributes attributes) throws SAXException {
 		path.push(qName);
@@ -2416,6 +2447,9 @@ public class ConfigParserHandler extends DefaultHandler {
 		} else {
 			transform = AbstractScriptTransformation.createScriptTransformation(currTransformData.name,
 					currTransformData.scriptLang, currTransformData.scriptCode, currTransformData.phase);
+			if (transform instanceof ScriptTransformation) {
+				pendingScripts.add(new PendingScript(((ScriptTransformation) transform)::getScript, getLocationInfo()));
+			}
 		}
 
 		if (transform.getPhase() == null) {
@@ -2508,8 +2542,13 @@ public class ConfigParserHandler extends DefaultHandler {
 			feData.expression = eDataVal;
 		}
 
-		currFilter.addFilter(
-				AbstractExpressionFilter.createExpressionFilter(feData.handle, feData.lang, feData.expression));
+		AbstractExpressionFilter<Object> filter = AbstractExpressionFilter.createExpressionFilter(feData.handle,
+				feData.lang, feData.expression);
+		if (filter instanceof ScriptExpressionFilter) {
+			pendingScripts.add(new PendingScript(((ScriptExpressionFilter) filter)::getScript, getLocationInfo()));
+		}
+
+		currFilter.addFilter(filter);
 	}
 
 	private void handleCacheEntry(CacheEntryData currCacheEntry) throws SAXException {
@@ -2750,6 +2789,16 @@ public class ConfigParserHandler extends DefaultHandler {
 		String expression;
 	}
 
+	private static class PendingScript {
+		final Supplier<?> script;
+		final String location;
+
+		PendingScript(Supplier<?> script, String location) {
+			this.script = script;
+			this.location = location;
+		}
+	}
+
 	private static class CacheEntryData {
 		String id;
 		String key;
@@ -37,9 +37,12 @@ import org.xml.sax.ErrorHandler;
 import org.xml.sax.SAXException;
 import org.xml.sax.SAXParseException;
 
+import com.codahale.metrics.Timer;
 import com.jkoolcloud.tnt4j.core.OpLevel;
 import com.jkoolcloud.tnt4j.sink.EventSink;
 import com.jkoolcloud.tnt4j.streams.configure.StreamsConfigData;
+import com.jkoolcloud.tnt4j.streams.configure.StreamsConfigMetrics;
+import com.jkoolcloud.tnt4j.streams.configure.StreamsConfigSnapshot;
 import com.jkoolcloud.tnt4j.streams.utils.LoggerUtils;
 import com.jkoolcloud.tnt4j.streams.utils.StreamsResources;
 import com.jkoolcloud.tnt4j.streams.utils.Utils;
@@ -83,23 +86,67 @@ public final class StreamsConfigSAXParser {
 	 */
 	public static StreamsConfigData parse(InputStream config, boolean validateXSD, boolean validateExp)
 			throws ParserConfigurationException, SAXException, IOException {
+		return parse(config, validateXSD, validateExp, null);
+	}
+
+	/**
+	 * Reads the configuration and invokes the (SAX-based) parser to parse the configuration file contents.
+	 * <p>
+	 * If configuration {@code snapshot} is provided, XML-XSD validation is skipped for configuration already
+	 * successfully validated before.
+	 *
+	 * @param config
+	 *            input stream to get configuration data from
+	 * @param validateXSD
+	 *            flag indicating whether to validate configuration XML against XSD schema
+	 * @param validateExp
+	 *            flag indicating whether to validate configuration contained script expressions
+	 * @param snapshot
+	 *            configuration validation results snapshot, or {@code null} if configuration shall be validated every
+	 *            time
+	 * @return streams configuration data or {@code null} if configuration is erroneous (fails XML-XSD validation)
+	 * @throws ParserConfigurationException
+	 *             if there is an inconsistency in the configuration
+	 * @throws SAXException
+	 *             if there was an error parsing the configuration
+	 * @throws IOException
+	 *             if there is an error reading the configuration data
+	 */
+	public static StreamsConfigData parse(InputStream config, boolean validateXSD, boolean validateExp,
+			StreamsConfigSnapshot snapshot) throws ParserConfigurationException, SAXException, IOException {
 		cfgFilePath = Utils.resolveInputFilePath(config);
 
 		if (validateXSD) {
-			config = config.markSupported() ? config : new ByteArrayInputStream(IOUtils.toByteArray(config));
-
-			Map<OpLevel, List<SAXParseException>> validationErrors = validate(config);
+			byte[] cfgData = IOUtils.toByteArray(config);
+			config = new ByteArrayInputStream(cfgData);
+
+			String digest = snapshot == null ? null : StreamsConfigSnapshot.digest(cfgData);
+			if (digest != null && snapshot.isValidated(digest)) {
+				LOGGER.log(OpLevel.DEBUG, StreamsResources.getBundle(StreamsResources.RESOURCE_BUNDLE_NAME),
+						"StreamsConfigSAXParser.xml.validation.skipped", digest);
+				StreamsConfigMetrics.validationSkipped();
+			} else {
+				Map<OpLevel, List<SAXParseException>> validationErrors;
+				try (Timer.Context vTime = StreamsConfigMetrics.time(StreamsConfigMetrics.Phase.XSD_VALIDATION)) {
+					validationErrors = validate(config);
+				}
 
-			if (MapUtils.isNotEmpty(validationErrors)) {
-				for (Map.Entry<OpLevel, List<SAXParseException>> vee : validationErrors.entrySet()) {
-					for (SAXParseException ve : vee.getValue()) {
-						LOGGER.log(OpLevel.WARNING, StreamsResources.getBundle(StreamsResources.RESOURCE_BUNDLE_NAME),
-								"StreamsConfigSAXParser.xml.validation.error", ve.getLineNumber(), ve.getColumnNumber(),
-								vee.getKey(), ve.getLocalizedMessage());
+				if (MapUtils.isNotEmpty(validationErrors)) {
+					for (Map.Entry<OpLevel, List<SAXParseException>> vee : validationErrors.entrySet()) {
+						for (SAXParseException ve : vee.getValue()) {
+							LOGGER.log(OpLevel.WARNING,
+									StreamsResources.getBundle(StreamsResources.RESOURCE_BUNDLE_NAME),
+									"StreamsConfigSAXParser.xml.validation.error", ve.getLineNumber(),
+									ve.getColumnNumber(), vee.getKey(), ve.getLocalizedMessage());
+						}
 					}
+
+					return null;
 				}
 
-				return null;
+				if (digest != null) {
+					snapshot.markValidated(digest);
+				}
 			}
 		}
 
@@ -108,7 +155,9 @@ public final class StreamsConfigSAXParser {
 		ConfigParserHandler hndlr = getConfigHandler();
 		hndlr.setValidateScriptExpressions(validateExp);
 
-		parser.parse(config, hndlr);
+		try (Timer.Context pTime = StreamsConfigMetrics.time(StreamsConfigMetrics.Phase.PARSE)) {
+			parser.parse(config, hndlr);
+		}
 
 		return hndlr.getStreamsConfigData();
 	}
@@ -48,6 +48,19 @@ public interface ZKConfigConstants {
 	 * Constant for name of TNT4J-Streams ZooKeeper configuration property {@value}.
 	 */
 	static final String PROP_ZK_STREAMS_PATH = "zk.streams.path"; // NON-NLS
+	/**
+	 * Constant for name of TNT4J-Streams ZooKeeper configuration property {@value}.
+	 */
+	static final String PROP_ZK_COORDINATION_PATH = "zk.coordination.path"; // NON-NLS
+	/**
+	 * Constant for name of TNT4J-Streams ZooKeeper configuration property {@value}.
+	 */
+	static final String PROP_ZK_AGENT_ID = "zk.agent.id"; // NON-NLS
+
+	/**
+	 * Constant for default ZooKeeper path of streams agents work coordination root node - {@value}.
+	 */
+	static final String DEFAULT_COORDINATION_PATH = "/coordination"; // NON-NLS
 
 	/**
 	 * Constant for name of TNT4J-Streams ZooKeeper configuration property suffix {@value}.
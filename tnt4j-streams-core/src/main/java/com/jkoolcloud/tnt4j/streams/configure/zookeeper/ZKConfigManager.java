@@ -34,7 +34,7 @@ import com.jkoolcloud.tnt4j.streams.utils.Utils;
 /**
  * Helper class to manage ZooKeeper stored streams configuration.
  *
- * @version $Revision: 1 $
+ * @version $Revision: 2 $
  */
 public class ZKConfigManager implements ZKConfigConstants {
 	private static final EventSink LOGGER = LoggerUtils.getLoggerSink(StreamsAgent.class);
@@ -44,6 +44,8 @@ public class ZKConfigManager implements ZKConfigConstants {
 
 	private static Properties zkConfigProperties;
 
+	private static ZKWorkCoordinator workCoordinator;
+
 	/**
 	 * Creates node in ZK ensemble.
 	 * 
@@ -563,9 +565,53 @@ public class ZKConfigManager implements ZKConfigConstants {
 	}
 
 	/**
-	 * Closes ZK ensemble connection.
+	 * Joins streams agents work coordination group, if coordination path property
+	 * {@value com.jkoolcloud.tnt4j.streams.configure.zookeeper.ZKConfigConstants#PROP_ZK_COORDINATION_PATH} is defined
+	 * in configuration properties. Uses ZK connection opened by {@link #openConnection(java.util.Properties)}.
+	 *
+	 * @param zkConfProps
+	 *            streams ZooKeeper configuration properties
+	 * @return started work coordinator instance, or {@code null} if work coordination is not configured
+	 * @throws IOException
+	 *             if I/O exception occurs while initializing ZooKeeper connection
+	 * @throws KeeperException
+	 *             if the server signals an error
+	 * @throws InterruptedException
+	 *             if the current thread is interrupted while waiting
+	 *
+	 * @see #getWorkCoordinator()
+	 */
+	public static synchronized ZKWorkCoordinator startWorkCoordinator(Properties zkConfProps)
+			throws IOException, KeeperException, InterruptedException {
+		if (zkConfProps == null || StringUtils.isEmpty(zkConfProps.getProperty(PROP_ZK_COORDINATION_PATH))) {
+			return null;
+		}
+		if (workCoordinator == null) {
+			zk();
+			workCoordinator = new ZKWorkCoordinator(conn, zkConfProps);
+			workCoordinator.start();
+		}
+
+		return workCoordinator;
+	}
+
+	/**
+	 * Returns streams agents work coordinator started by {@link #startWorkCoordinator(java.util.Properties)}.
+	 *
+	 * @return work coordinator instance, or {@code null} if work coordination is not started
+	 */
+	public static synchronized ZKWorkCoordinator getWorkCoordinator() {
+		return workCoordinator;
+	}
+
+	/**
+	 * Leaves streams agents work coordination group, if it was joined, and closes ZK ensemble connection.
 	 */
 	public static void close() {
+		synchronized (ZKConfigManager.class) {
+			Utils.close(workCoordinator);
+			workCoordinator = null;
+		}
 		Utils.close(conn);
 	}
 
@@ -24,15 +24,19 @@ import org.apache.zookeeper.WatchedEvent;
 import org.apache.zookeeper.Watcher;
 import org.apache.zookeeper.ZooKeeper;
 
+import com.jkoolcloud.tnt4j.streams.utils.StreamsResources;
+
 /**
  * ZooKeeper connection wrapper-helper class.
  * 
- * @version $Revision: 1 $
+ * @version $Revision: 2 $
  */
 public class ZKConnection implements Closeable {
 
 	// ZooKeeper instance to access ZooKeeper ensemble
-	private ZooKeeper zk;
+	private volatile ZooKeeper zk;
+	private String connStr;
+	private int timeout;
 
 	/**
 	 * Connects to ZooKeeper ensemble. Waits until connection establishment is confirmed over watcher.
@@ -67,6 +71,8 @@ public class ZKConnection implements Closeable {
 	 *             if the current thread is interrupted while waiting
 	 */
 	public ZooKeeper connect(String connStr, int timeout) throws IOException, InterruptedException {
+		this.connStr = connStr;
+		this.timeout = timeout;
 		CountDownLatch connectedSignal = new CountDownLatch(1);
 		zk = new ZooKeeper(connStr, timeout, new Watcher() {
 			@Override
@@ -81,6 +87,30 @@ public class ZKConnection implements Closeable {
 		return zk;
 	}
 
+	/**
+	 * Reconnects to ZooKeeper ensemble using last connection definition. Current ZooKeeper instance gets closed, so new
+	 * session is established, e.g. when current session has expired.
+	 *
+	 * @return new zookeeper instance
+	 *
+	 * @throws IOException
+	 *             if I/O exception occurs while initializing ZooKeeper connection
+	 * @throws InterruptedException
+	 *             if the current thread is interrupted while waiting
+	 * @throws IllegalStateException
+	 *             if connection was not established before
+	 *
+	 * @see #connect(String, int)
+	 */
+	public synchronized ZooKeeper reconnect() throws IOException, InterruptedException {
+		if (connStr == null) {
+			throw new IllegalStateException(
+					StreamsResources.getString(StreamsResources.RESOURCE_BUNDLE_NAME, "ZKConnection.not.connected"));
+		}
+		close();
+		return connect(connStr, timeout);
+	}
+
 	/**
 	 * Checks if connection to {@link org.apache.zookeeper.ZooKeeper} ensemble was performed.
 	 *
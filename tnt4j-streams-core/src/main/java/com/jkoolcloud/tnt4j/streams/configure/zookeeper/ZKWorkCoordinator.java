@@ -0,0 +1,717 @@
+/*
+ * Copyright 2014-2023 JKOOL, LLC.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.jkoolcloud.tnt4j.streams.configure.zookeeper;
+
+import java.io.*;
+import java.net.URLDecoder;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.concurrent.*;
+
+import org.apache.commons.lang3.StringUtils;
+import org.apache.zookeeper.*;
+
+import com.jkoolcloud.tnt4j.core.OpLevel;
+import com.jkoolcloud.tnt4j.sink.EventSink;
+import com.jkoolcloud.tnt4j.streams.utils.LoggerUtils;
+import com.jkoolcloud.tnt4j.streams.utils.StreamsResources;
+import com.jkoolcloud.tnt4j.streams.utils.Utils;
+
+/**
+ * Coordinates work distribution between multiple TNT4J-Streams agents sharing same ZooKeeper ensemble.
+ * <p>
+ * Work to be shared is split into named work units (e.g., file patterns, topics, queues or table partitions). Every
+ * agent registers itself as ephemeral sequential member node and registers work units it knows about as persistent
+ * nodes. Member having lowest sequence number is the leader: it watches members and work units nodes and, when any of
+ * them changes, rebalances work units between live members and stores assignment into ZK node. All members watch
+ * assignment node and notify {@link WorkAssignmentListener} about work units assigned to or revoked from them.
+ * <p>
+ * Rebalancing is sticky: work unit stays with its current owner as long as owner is alive and owns no more than its
+ * fair share of units. So when agent joins or leaves, only minimal set of work units changes owners.
+ * <p>
+ * Work unit owner can store processing checkpoint into ZK using {@link #saveCheckpoint(String, byte[])}, so new owner
+ * can resume where old one stopped using {@link #loadCheckpoint(String)}. Since there is no handoff handshake between
+ * old and new owners, listener should stop processing revoked work units as fast as possible and save checkpoint
+ * before returning from {@link WorkAssignmentListener#unitsRevoked(java.util.Set)}.
+ * <p>
+ * ZK nodes layout under coordination path:
+ * <ul>
+ * <li>{@code members} - live agents ephemeral sequential nodes</li>
+ * <li>{@code units} - registered work units nodes</li>
+ * <li>{@code assignments} - node containing work units to members assignment</li>
+ * <li>{@code checkpoints} - work units checkpoint data nodes</li>
+ * </ul>
+ * Work unit names are URL encoded to make valid ZK node names.
+ * <p>
+ * When ZK session expires, all owned work units are revoked, new ZK session is established and agent rejoins group as
+ * new member, so leader election and work units assignment get run again.
+ *
+ * @version $Revision: 2 $
+ */
+public class ZKWorkCoordinator implements Closeable, ZKConfigConstants {
+	private static final EventSink LOGGER = LoggerUtils.getLoggerSink(ZKWorkCoordinator.class);
+
+	private static final String MEMBERS_NODE = "members"; // NON-NLS
+	private static final String UNITS_NODE = "units"; // NON-NLS
+	private static final String ASSIGNMENTS_NODE = "assignments"; // NON-NLS
+	private static final String CHECKPOINTS_NODE = "checkpoints"; // NON-NLS
+	private static final String MEMBER_PREFIX = "member-"; // NON-NLS
+
+	private static final long RETRY_DELAY = TimeUnit.SECONDS.toMillis(1);
+
+	private final ZKConnection conn;
+	private volatile ZooKeeper zk;
+	private final String agentId;
+	private final String membersPath;
+	private final String unitsPath;
+	private final String assignmentsPath;
+	private final String checkpointsPath;
+
+	private String memberName;
+	private volatile boolean leader = false;
+	private volatile boolean closed = false;
+	private boolean rejoining = false;
+
+	private final Set<String> ownedUnits = new LinkedHashSet<>();
+	private final List<WorkAssignmentListener> listeners = new CopyOnWriteArrayList<>();
+	private final ScheduledExecutorService eventExecutor;
+
+	private final Watcher membersWatcher = new Watcher() {
+		@Override
+		public void process(WatchedEvent event) {
+			if (!handleSessionEvent(event)) {
+				submit(ZKWorkCoordinator.this::checkMembers);
+			}
+		}
+	};
+
+	private final Watcher unitsWatcher = new Watcher() {
+		@Override
+		public void process(WatchedEvent event) {
+			if (!handleSessionEvent(event) && leader) {
+				submit(ZKWorkCoordinator.this::rebalance);
+			}
+		}
+	};
+
+	private final Watcher assignmentsWatcher = new Watcher() {
+		@Override
+		public void process(WatchedEvent event) {
+			if (!handleSessionEvent(event)) {
+				submit(ZKWorkCoordinator.this::readAssignments);
+			}
+		}
+	};
+
+	/**
+	 * Constructs a new ZKWorkCoordinator.
+	 *
+	 * @param conn
+	 *            ZooKeeper connection, used to establish new session when current one expires
+	 * @param coordinationPath
+	 *            ZK path of work coordination root node
+	 * @param agentId
+	 *            identifier of this agent, used for logging and stored as member node data
+	 */
+	public ZKWorkCoordinator(ZKConnection conn, String coordinationPath, String agentId) {
+		this.conn = conn;
+		this.zk = conn.zk();
+		this.agentId = StringUtils.isEmpty(agentId) ? UUID.randomUUID().toString() : agentId;
+
+		String rootPath = StringUtils.isEmpty(coordinationPath) ? DEFAULT_COORDINATION_PATH
+				: StringUtils.removeEnd(coordinationPath, PATH_DELIM);
+		this.membersPath = rootPath + PATH_DELIM + MEMBERS_NODE;
+		this.unitsPath = rootPath + PATH_DELIM + UNITS_NODE;
+		this.assignmentsPath = rootPath + PATH_DELIM + ASSIGNMENTS_NODE;
+		this.checkpointsPath = rootPath + PATH_DELIM + CHECKPOINTS_NODE;
+
+		this.eventExecutor = Executors.newSingleThreadScheduledExecutor(r -> {
+			Thread t = new Thread(r, "ZKWorkCoordinator_" + this.agentId); // NON-NLS
+			t.setDaemon(true);
+			return t;
+		});
+	}
+
+	/**
+	 * Constructs a new ZKWorkCoordinator using streams ZooKeeper configuration properties defined coordination path
+	 * and agent identifier.
+	 *
+	 * @param conn
+	 *            ZooKeeper connection, used to establish new session when current one expires
+	 * @param zkConfProps
+	 *            streams ZooKeeper configuration properties
+	 *
+	 * @see #PROP_ZK_COORDINATION_PATH
+	 * @see #PROP_ZK_AGENT_ID
+	 */
+	public ZKWorkCoordinator(ZKConnection conn, Properties zkConfProps) {
+		this(conn, zkConfProps == null ? null : zkConfProps.getProperty(PROP_ZK_COORDINATION_PATH),
+				zkConfProps == null ? null : zkConfProps.getProperty(PROP_ZK_AGENT_ID));
+	}
+
+	/**
+	 * Joins agents group: creates missing coordination nodes, registers this agent as group member and initiates
+	 * leader election and work units assignment monitoring.
+	 *
+	 * @throws KeeperException
+	 *             if the server signals an error
+	 * @throws InterruptedException
+	 *             if the server transaction is interrupted
+	 */
+	public void start() throws KeeperException, InterruptedException {
+		join();
+	}
+
+	private void join() throws KeeperException, InterruptedException {
+		ensureNodeExists(membersPath);
+		ensureNodeExists(unitsPath);
+		ensureNodeExists(assignmentsPath);
+		ensureNodeExists(checkpointsPath);
+
+		createMemberNode();
+
+		LOGGER.log(OpLevel.INFO, StreamsResources.getBundle(StreamsResources.RESOURCE_BUNDLE_NAME),
+				"ZKWorkCoordinator.joined", agentId, memberName);
+
+		submit(this::checkMembers);
+		submit(this::readAssignments);
+	}
+
+	/**
+	 * Leaves agents group: removes this agent member node, revokes all owned work units and stops coordination
+	 * events processing. ZooKeeper connection is left open.
+	 */
+	@Override
+	public void close() {
+		if (closed) {
+			return;
+		}
+		closed = true;
+
+		if (memberName != null) {
+			try {
+				zk.delete(membersPath + PATH_DELIM + memberName, -1);
+			} catch (KeeperException.NoNodeException exc) {
+			} catch (Exception exc) {
+				Utils.logThrowable(LOGGER, OpLevel.WARNING,
+						StreamsResources.getBundle(StreamsResources.RESOURCE_BUNDLE_NAME),
+						"ZKWorkCoordinator.op.failed", "close", exc); // NON-NLS
+			}
+		}
+
+		eventExecutor.shutdown();
+		try {
+			eventExecutor.awaitTermination(RETRY_DELAY, TimeUnit.MILLISECONDS);
+		} catch (InterruptedException exc) {
+			Thread.currentThread().interrupt();
+		}
+		revokeAll();
+	}
+
+	/**
+	 * Adds work assignment listener.
+	 *
+	 * @param l
+	 *            work assignment listener to add
+	 */
+	public void addWorkAssignmentListener(WorkAssignmentListener l) {
+		if (l != null) {
+			listeners.add(l);
+		}
+	}
+
+	/**
+	 * Removes work assignment listener.
+	 *
+	 * @param l
+	 *            work assignment listener to remove
+	 */
+	public void removeWorkAssignmentListener(WorkAssignmentListener l) {
+		listeners.remove(l);
+	}
+
+	/**
+	 * Registers work unit to be shared between agents group members. Registering already registered work unit does
+	 * nothing.
+	 *
+	 * @param unit
+	 *            work unit name
+	 * @throws KeeperException
+	 *             if the server signals an error
+	 * @throws InterruptedException
+	 *             if the server transaction is interrupted
+	 */
+	public void registerWorkUnit(String unit) throws KeeperException, InterruptedException {
+		try {
+			zk.create(unitsPath + PATH_DELIM + encode(unit), null, ZooDefs.Ids.OPEN_ACL_UNSAFE, CreateMode.PERSISTENT);
+		} catch (KeeperException.NodeExistsException exc) {
+		}
+	}
+
+	/**
+	 * Unregisters work unit and removes its checkpoint. Use it when work unit is completed or is no longer available.
+	 *
+	 * @param unit
+	 *            work unit name
+	 * @throws KeeperException
+	 *             if the server signals an error
+	 * @throws InterruptedException
+	 *             if the server transaction is interrupted
+	 */
+	public void unregisterWorkUnit(String unit) throws KeeperException, InterruptedException {
+		deleteIfExists(unitsPath + PATH_DELIM + encode(unit));
+		deleteIfExists(checkpointsPath + PATH_DELIM + encode(unit));
+	}
+
+	/**
+	 * Stores work unit processing checkpoint data into ZK.
+	 *
+	 * @param unit
+	 *            work unit name
+	 * @param data
+	 *            checkpoint data
+	 * @throws KeeperException
+	 *             if the server signals an error
+	 * @throws InterruptedException
+	 *             if the server transaction is interrupted
+	 */
+	public void saveCheckpoint(String unit, byte[] data) throws KeeperException, InterruptedException {
+		String path = checkpointsPath + PATH_DELIM + encode(unit);
+		try {
+			zk.setData(path, data, -1);
+		} catch (KeeperException.NoNodeException exc) {
+			try {
+				zk.create(path, data, ZooDefs.Ids.OPEN_ACL_UNSAFE, CreateMode.PERSISTENT);
+			} catch (KeeperException.NodeExistsException nee) {
+				zk.setData(path, data, -1);
+			}
+		}
+	}
+
+	/**
+	 * Loads work unit processing checkpoint data from ZK.
+	 *
+	 * @param unit
+	 *            work unit name
+	 * @return checkpoint data, or {@code null} if there is no checkpoint stored for work unit
+	 * @throws KeeperException
+	 *             if the server signals an error
+	 * @throws InterruptedException
+	 *             if the server transaction is interrupted
+	 */
+	public byte[] loadCheckpoint(String unit) throws KeeperException, InterruptedException {
+		try {
+			return zk.getData(checkpointsPath + PATH_DELIM + encode(unit), false, null);
+		} catch (KeeperException.NoNodeException exc) {
+			return null;
+		}
+	}
+
+	/**
+	 * Checks whether this agent is agents group leader.
+	 *
+	 * @return {@code true} if this agent is leader, {@code false} - otherwise
+	 */
+	public boolean isLeader() {
+		return leader;
+	}
+
+	/**
+	 * Checks whether work unit is assigned to this agent.
+	 *
+	 * @param unit
+	 *            work unit name
+	 * @return {@code true} if work unit is assigned to this agent, {@code false} - otherwise
+	 */
+	public boolean isOwned(String unit) {
+		synchronized (ownedUnits) {
+			return ownedUnits.contains(unit);
+		}
+	}
+
+	/**
+	 * Returns set of work units assigned to this agent.
+	 *
+	 * @return set of work units assigned to this agent
+	 */
+	public Set<String> getOwnedUnits() {
+		synchronized (ownedUnits) {
+			return new LinkedHashSet<>(ownedUnits);
+		}
+	}
+
+	/**
+	 * Returns this agent identifier.
+	 *
+	 * @return agent identifier
+	 */
+	public String getAgentId() {
+		return agentId;
+	}
+
+	private void submit(ZKTask task) {
+		if (closed) {
+			return;
+		}
+		try {
+			eventExecutor.execute(() -> runTask(task));
+		} catch (RejectedExecutionException exc) {
+		}
+	}
+
+	private void runTask(ZKTask task) {
+		if (closed) {
+			return;
+		}
+		try {
+			task.run();
+		} catch (KeeperException.SessionExpiredException exc) {
+			handleSessionExpired();
+		} catch (KeeperException exc) {
+			// watch is not re-registered when operation fails, so retry later
+			Utils.logThrowable(LOGGER, OpLevel.WARNING,
+					StreamsResources.getBundle(StreamsResources.RESOURCE_BUNDLE_NAME), "ZKWorkCoordinator.op.failed",
+					exc.getPath(), exc);
+			try {
+				eventExecutor.schedule(() -> runTask(task), RETRY_DELAY, TimeUnit.MILLISECONDS);
+			} catch (RejectedExecutionException ree) {
+			}
+		} catch (InterruptedException exc) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	private boolean handleSessionEvent(WatchedEvent event) {
+		if (event.getType() != Watcher.Event.EventType.None) {
+			return false;
+		}
+		if (event.getState() == Watcher.Event.KeeperState.Expired) {
+			submit(this::handleSessionExpired);
+		}
+		return true;
+	}
+
+	/**
+	 * Handles ZK session expiration: revokes all owned work units, since other members reassign them once member node
+	 * of expired session gets removed, establishes new ZK session and rejoins group as new member. Session expiration
+	 * may be reported by many watchers, so rejoin is performed only while current ZK session is not alive.
+	 */
+	private void handleSessionExpired() {
+		if (closed) {
+			return;
+		}
+		if (!rejoining) {
+			if (zk.getState().isAlive()) {
+				return;
+			}
+			LOGGER.log(OpLevel.WARNING, StreamsResources.getBundle(StreamsResources.RESOURCE_BUNDLE_NAME),
+					"ZKWorkCoordinator.session.expired", agentId);
+			leader = false;
+			memberName = null;
+			revokeAll();
+			rejoining = true;
+		}
+
+		try {
+			if (!zk.getState().isAlive()) {
+				zk = conn.reconnect();
+			}
+			join();
+			rejoining = false;
+		} catch (InterruptedException exc) {
+			Thread.currentThread().interrupt();
+		} catch (Exception exc) {
+			Utils.logThrowable(LOGGER, OpLevel.ERROR,
+					StreamsResources.getBundle(StreamsResources.RESOURCE_BUNDLE_NAME),
+					"ZKWorkCoordinator.rejoin.failed", agentId, exc);
+			try {
+				eventExecutor.schedule(this::handleSessionExpired, RETRY_DELAY, TimeUnit.MILLISECONDS);
+			} catch (RejectedExecutionException ree) {
+			}
+		}
+	}
+
+	/**
+	 * Elects group leader: member having lowest sequence number. Every member watches members node children, so it
+	 * gets notified when it becomes leader.
+	 */
+	private void checkMembers() throws KeeperException, InterruptedException {
+		List<String> members = getMembers(membersWatcher);
+		boolean wasLeader = leader;
+		leader = !members.isEmpty() && members.get(0).equals(memberName);
+
+		if (leader) {
+			if (!wasLeader) {
+				LOGGER.log(OpLevel.INFO, StreamsResources.getBundle(StreamsResources.RESOURCE_BUNDLE_NAME),
+						"ZKWorkCoordinator.elected.leader", agentId, members.size());
+			}
+			rebalance(members);
+		} else if (!members.contains(memberName)) {
+			// member node has gone (e.g., removed by someone else) - re-join group
+			createMemberNode();
+			checkMembers();
+		}
+	}
+
+	private void createMemberNode() throws KeeperException, InterruptedException {
+		String memberPath = zk.create(membersPath + PATH_DELIM + MEMBER_PREFIX,
+				agentId.getBytes(StandardCharsets.UTF_8), ZooDefs.Ids.OPEN_ACL_UNSAFE, CreateMode.EPHEMERAL_SEQUENTIAL);
+		memberName = memberPath.substring(memberPath.lastIndexOf(PATH_DELIM) + 1);
+	}
+
+	private List<String> getMembers(Watcher watcher) throws KeeperException, InterruptedException {
+		List<String> members = new ArrayList<>(zk.getChildren(membersPath, watcher));
+		// sequence suffix has fixed length, so lexicographic order matches creation order
+		Collections.sort(members);
+		return members;
+	}
+
+	private void rebalance() throws KeeperException, InterruptedException {
+		if (leader) {
+			rebalance(getMembers(null));
+		}
+	}
+
+	private void rebalance(List<String> members) throws KeeperException, InterruptedException {
+		List<String> units = zk.getChildren(unitsPath, unitsWatcher);
+		Map<String, String> current = parseAssignments(zk.getData(assignmentsPath, false, null));
+
+		Map<String, String> assignment = computeAssignment(units, members, current);
+		if (!assignment.equals(current)) {
+			LOGGER.log(OpLevel.DEBUG, StreamsResources.getBundle(StreamsResources.RESOURCE_BUNDLE_NAME),
+					"ZKWorkCoordinator.rebalancing", units.size(), members.size());
+			zk.setData(assignmentsPath, formatAssignments(assignment), -1);
+		}
+	}
+
+	private void readAssignments() throws KeeperException, InterruptedException {
+		Map<String, String> assignment = parseAssignments(zk.getData(assignmentsPath, assignmentsWatcher, null));
+
+		Set<String> assigned = new LinkedHashSet<>();
+		for (Map.Entry<String, String> ae : assignment.entrySet()) {
+			if (ae.getValue().equals(memberName)) {
+				assigned.add(decode(ae.getKey()));
+			}
+		}
+
+		Set<String> added;
+		Set<String> revoked;
+		synchronized (ownedUnits) {
+			revoked = new LinkedHashSet<>(ownedUnits);
+			revoked.removeAll(assigned);
+			added = new LinkedHashSet<>(assigned);
+			added.removeAll(ownedUnits);
+
+			ownedUnits.removeAll(revoked);
+			ownedUnits.addAll(added);
+		}
+
+		notifyRevoked(revoked);
+		notifyAssigned(added);
+	}
+
+	private void revokeAll() {
+		Set<String> revoked;
+		synchronized (ownedUnits) {
+			revoked = new LinkedHashSet<>(ownedUnits);
+			ownedUnits.clear();
+		}
+		notifyRevoked(revoked);
+	}
+
+	private void notifyAssigned(Set<String> units) {
+		if (units.isEmpty()) {
+			return;
+		}
+		LOGGER.log(OpLevel.INFO, StreamsResources.getBundle(StreamsResources.RESOURCE_BUNDLE_NAME),
+				"ZKWorkCoordinator.units.assigned", agentId, units);
+		for (WorkAssignmentListener l : listeners) {
+			l.unitsAssigned(Collections.unmodifiableSet(units));
+		}
+	}
+
+	private void notifyRevoked(Set<String> units) {
+		if (units.isEmpty()) {
+			return;
+		}
+		LOGGER.log(OpLevel.INFO, StreamsResources.getBundle(StreamsResources.RESOURCE_BUNDLE_NAME),
+				"ZKWorkCoordinator.units.revoked", agentId, units);
+		for (WorkAssignmentListener l : listeners) {
+			l.unitsRevoked(Collections.unmodifiableSet(units));
+		}
+	}
+
+	/**
+	 * Computes balanced work units assignment to members, keeping as much of current assignment as possible. Every
+	 * member gets {@code units / members} or {@code units / members + 1} work units.
+	 *
+	 * @param units
+	 *            work units to assign
+	 * @param members
+	 *            live group members
+	 * @param current
+	 *            current work unit to member assignment
+	 * @return work unit to member assignment map
+	 */
+	static Map<String, String> computeAssignment(Collection<String> units, List<String> members,
+			Map<String, String> current) {
+		Map<String, String> assignment = new TreeMap<>();
+		if (members.isEmpty() || units.isEmpty()) {
+			return assignment;
+		}
+
+		List<String> sortedUnits = new ArrayList<>(units);
+		Collections.sort(sortedUnits);
+		int floor = sortedUnits.size() / members.size();
+		int ceilSlots = sortedUnits.size() % members.size();
+
+		Map<String, Integer> counts = new LinkedHashMap<>();
+		for (String member : members) {
+			counts.put(member, 0);
+		}
+
+		// keep current owners up to their fair share
+		List<String> pending = new ArrayList<>();
+		for (String unit : sortedUnits) {
+			String owner = current.get(unit);
+			Integer count = owner == null ? null : counts.get(owner);
+			if (count != null && count < floor) {
+				assignment.put(unit, owner);
+				counts.put(owner, count + 1);
+			} else {
+				pending.add(unit);
+			}
+		}
+		// let some current owners keep one extra unit
+		for (Iterator<String> it = pending.iterator(); it.hasNext() && ceilSlots > 0;) {
+			String unit = it.next();
+			String owner = current.get(unit);
+			Integer count = owner == null ? null : counts.get(owner);
+			if (count != null && count == floor) {
+				assignment.put(unit, owner);
+				counts.put(owner, count + 1);
+				ceilSlots--;
+				it.remove();
+			}
+		}
+		// assign rest to least loaded members
+		for (String unit : pending) {
+			String target = null;
+			int minCount = Integer.MAX_VALUE;
+			for (Map.Entry<String, Integer> ce : counts.entrySet()) {
+				if (ce.getValue() < minCount) {
+					target = ce.getKey();
+					minCount = ce.getValue();
+				}
+			}
+			assignment.put(unit, target);
+			counts.put(target, minCount + 1);
+		}
+
+		return assignment;
+	}
+
+	static Map<String, String> parseAssignments(byte[] data) {
+		Map<String, String> assignment = new TreeMap<>();
+		if (data == null || data.length == 0) {
+			return assignment;
+		}
+
+		Properties props = new Properties();
+		try {
+			props.load(new ByteArrayInputStream(data));
+		} catch (IOException exc) {
+			Utils.logThrowable(LOGGER, OpLevel.WARNING,
+					StreamsResources.getBundle(StreamsResources.RESOURCE_BUNDLE_NAME), "ZKWorkCoordinator.op.failed",
+					"parse", exc); // NON-NLS
+		}
+		for (String unit : props.stringPropertyNames()) {
+			assignment.put(unit, props.getProperty(unit));
+		}
+		return assignment;
+	}
+
+	static byte[] formatAssignments(Map<String, String> assignment) {
+		StringBuilder sb = new StringBuilder();
+		for (Map.Entry<String, String> ae : assignment.entrySet()) {
+			// work unit names are URL encoded and member names are generated, so no properties escaping is needed
+			sb.append(ae.getKey()).append('=').append(ae.getValue()).append('\n');
+		}
+		return sb.toString().getBytes(StandardCharsets.UTF_8);
+	}
+
+	private void ensureNodeExists(String path) throws KeeperException, InterruptedException {
+		if (zk.exists(path, false) == null) {
+			try {
+				ZKConfigManager.createAllNodes(zk, path, null);
+			} catch (KeeperException.NodeExistsException exc) {
+				// created by other agent concurrently
+			}
+		}
+	}
+
+	private void deleteIfExists(String path) throws KeeperException, InterruptedException {
+		try {
+			zk.delete(path, -1);
+		} catch (KeeperException.NoNodeException exc) {
+		}
+	}
+
+	private static String encode(String unit) {
+		try {
+			return URLEncoder.encode(unit, StandardCharsets.UTF_8.name());
+		} catch (UnsupportedEncodingException exc) {
+			throw new IllegalStateException(exc);
+		}
+	}
+
+	private static String decode(String nodeName) {
+		try {
+			return URLDecoder.decode(nodeName, StandardCharsets.UTF_8.name());
+		} catch (UnsupportedEncodingException exc) {
+			throw new IllegalStateException(exc);
+		}
+	}
+
+	@FunctionalInterface
+	private interface ZKTask {
+		void run() throws KeeperException, InterruptedException;
+	}
+
+	/**
+	 * Listener interface to be notified about work units assignment changes.
+	 */
+	public interface WorkAssignmentListener {
+		/**
+		 * Invoked when work units get assigned to this agent.
+		 *
+		 * @param units
+		 *            set of newly assigned work units
+		 */
+		void unitsAssigned(Set<String> units);
+
+		/**
+		 * Invoked when work units get revoked from this agent. Processing of revoked work units shall be stopped and
+		 * checkpoints saved before returning from this method.
+		 *
+		 * @param units
+		 *            set of revoked work units
+		 */
+		void unitsRevoked(Set<String> units);
+	}
+}
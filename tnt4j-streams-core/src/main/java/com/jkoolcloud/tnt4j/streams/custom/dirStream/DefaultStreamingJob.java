@@ -16,10 +16,14 @@
 
 package com.jkoolcloud.tnt4j.streams.custom.dirStream;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.File;
+import java.io.IOException;
 import java.lang.ref.WeakReference;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Properties;
 import java.util.UUID;
 import java.util.concurrent.CountDownLatch;
 
@@ -44,7 +48,7 @@ import com.jkoolcloud.tnt4j.streams.utils.Utils;
  * This class implements a default directory files streaming job. In general, it defines stream configuration attributes
  * and initiates new stream thread when job gets invoked by executor service.
  *
- * @version $Revision: 1 $
+ * @version $Revision: 2 $
  */
 public class DefaultStreamingJob implements StreamingJob {
 	private static final EventSink LOGGER = LoggerUtils.getLoggerSink(DefaultStreamingJob.class);
@@ -60,6 +64,8 @@ public class DefaultStreamingJob implements StreamingJob {
 	private Collection<StreamingJobListener> jobListeners;
 	private WeakReference<DirStreamingManager> managerRef;
 
+	private Properties checkpoint = new Properties();
+
 	private boolean completed = false;
 
 	/**
@@ -93,6 +99,49 @@ public class DefaultStreamingJob implements StreamingJob {
 		this.tnt4jCfgFilePath = tnt4jCfgFilePath;
 	}
 
+	/**
+	 * Sets streaming job checkpoint to resume streaming from. Checkpoint defines number of already processed activity
+	 * items for every job stream, so streams skip those items when started.
+	 *
+	 * @param data
+	 *            checkpoint data, produced by {@link #getCheckpoint()}
+	 * @throws IOException
+	 *             if checkpoint data can't be read
+	 */
+	public void setCheckpoint(byte[] data) throws IOException {
+		checkpoint = new Properties();
+		if (data != null) {
+			checkpoint.load(new ByteArrayInputStream(data));
+		}
+	}
+
+	/**
+	 * Returns streaming job checkpoint: number of processed activity items for every job stream, including ones
+	 * processed before job was resumed from checkpoint.
+	 *
+	 * @return checkpoint data, or {@code null} if job streams are not initialized
+	 * @throws IOException
+	 *             if checkpoint data can't be written
+	 */
+	public byte[] getCheckpoint() throws IOException {
+		if (streams == null) {
+			return null;
+		}
+
+		Properties props = new Properties();
+		for (TNTInputStream<?, ?> stream : streams) {
+			props.setProperty(stream.getName(),
+					String.valueOf(getCheckpointPosition(stream.getName()) + stream.getCurrentActivity()));
+		}
+		ByteArrayOutputStream bos = new ByteArrayOutputStream();
+		props.store(bos, null);
+		return bos.toByteArray();
+	}
+
+	private int getCheckpointPosition(String streamName) {
+		return Integer.parseInt(checkpoint.getProperty(streamName, "0")); // NON-NLS
+	}
+
 	/**
 	 * Initializes and starts configuration defined {@link TNTInputStream}s when job gets invoked by executor service.
 	 */
@@ -124,6 +173,7 @@ public class DefaultStreamingJob implements StreamingJob {
 
 			for (TNTInputStream<?, ?> stream : streams) {
 				stream.addStreamListener(serl);
+				stream.setSkipItemsCount(getCheckpointPosition(stream.getName()));
 
 				stream.output().setProperty(OutputProperties.PROP_TNT4J_CONFIG_FILE, tnt4jCfgFilePath);
 				stream.output().addOutputListener(serl);
@@ -20,7 +20,10 @@ import java.io.File;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.RejectedExecutionHandler;
 import java.util.concurrent.ThreadPoolExecutor;
@@ -32,6 +35,8 @@ import org.apache.commons.lang3.StringUtils;
 
 import com.jkoolcloud.tnt4j.core.OpLevel;
 import com.jkoolcloud.tnt4j.sink.EventSink;
+import com.jkoolcloud.tnt4j.streams.configure.zookeeper.ZKConfigManager;
+import com.jkoolcloud.tnt4j.streams.configure.zookeeper.ZKWorkCoordinator;
 import com.jkoolcloud.tnt4j.streams.inputs.TNTInputStream;
 import com.jkoolcloud.tnt4j.streams.management.MBeansManager;
 import com.jkoolcloud.tnt4j.streams.utils.LoggerUtils;
@@ -59,6 +64,13 @@ import com.jkoolcloud.tnt4j.streams.utils.Utils;
  * <li>Change - creates new streaming job if such job is not available in executor queue.</li>
  * <li>Delete - removes streaming job from executor queue.</li>
  * </ul>
+ * <p>
+ * When multiple agents monitor same (shared) directory, streaming jobs can be distributed between them using
+ * {@link #setWorkCoordinator(com.jkoolcloud.tnt4j.streams.configure.zookeeper.ZKWorkCoordinator)}. Then every job
+ * identifier is registered as coordinator work unit and job is processed only by agent it is assigned to. If no
+ * coordinator is set, manager uses one started by streams agent (see {@link ZKConfigManager#getWorkCoordinator()}).
+ * Job streams progress is stored as coordinator checkpoint when job gets revoked, completes or manager stops, and is
+ * loaded when job gets assigned, so new job owner resumes streaming where previous one stopped.
  *
  * <p>
  * Sample:
@@ -88,7 +100,7 @@ import com.jkoolcloud.tnt4j.streams.utils.Utils;
  * }
  * </pre>
  *
- * @version $Revision: 1 $
+ * @version $Revision: 2 $
  *
  * @see ThreadPoolExecutor
  * @see DirWatchdog
@@ -118,6 +130,10 @@ public class DirStreamingManager {
 	private List<StreamingJobListener> streamingJobListeners;
 	private List<JobFilesListener> jobFileListeners;
 
+	private ZKWorkCoordinator workCoordinator;
+	private final Map<String, File> coordinatedJobs = new ConcurrentHashMap<>();
+	private final Set<String> startedCoordinatedJobs = ConcurrentHashMap.newKeySet();
+
 	/**
 	 * Constructs an empty DirStreamingManager.
 	 */
@@ -200,6 +216,10 @@ public class DirStreamingManager {
 	 * Starts directory files streaming manager.
 	 */
 	public void start() {
+		if (workCoordinator == null && ZKConfigManager.getWorkCoordinator() != null) {
+			setWorkCoordinator(ZKConfigManager.getWorkCoordinator());
+		}
+
 		try {
 			dirWatchdog.start();
 		} catch (Exception exc) {
@@ -210,12 +230,28 @@ public class DirStreamingManager {
 	}
 
 	/**
-	 * Stops directory streaming manager.
+	 * Stops directory streaming manager. When work coordinator is used, running jobs are canceled and their
+	 * checkpoints are saved, so other agents can resume them.
 	 */
 	public void stop() {
+		if (workCoordinator != null) {
+			suspendCoordinatedJobs();
+		}
 		cleanup();
 	}
 
+	private void suspendCoordinatedJobs() {
+		List<Runnable> jobs;
+		synchronized (runningJobs) {
+			jobs = new ArrayList<>(runningJobs);
+		}
+		for (Runnable r : jobs) {
+			DefaultStreamingJob sJob = (DefaultStreamingJob) r;
+			sJob.cancel();
+			saveJobCheckpoint(sJob);
+		}
+	}
+
 	private synchronized void shutdownExecutors() {
 		if (executorService == null || executorService.isShutdown()) {
 			return;
@@ -274,9 +310,22 @@ public class DirStreamingManager {
 
 		notifyJobFileAdded(jobCfgFile, jobId.toString(), JobFileState.ADDED);
 
+		if (workCoordinator != null && !acquireCoordinatedJob(jobId.toString(), jobCfgFile)) {
+			return;
+		}
+
+		submitJob(jobId, jobCfgFile);
+	}
+
+	private void submitJob(UUID jobId, File jobCfgFile) {
 		DefaultStreamingJob sJob = new DefaultStreamingJob(jobId, jobCfgFile, this);
 		sJob.setTnt4jCfgFilePath(tnt4jCfgFilePath);
 
+		if (workCoordinator != null && !loadJobCheckpoint(sJob)) {
+			startedCoordinatedJobs.remove(jobId.toString());
+			return;
+		}
+
 		if (CollectionUtils.isNotEmpty(streamingJobListeners)) {
 			for (StreamingJobListener sjl : streamingJobListeners) {
 				sJob.addStreamingJobListener(sjl);
@@ -336,6 +385,10 @@ public class DirStreamingManager {
 
 		notifyJobFileAdded(jobCfgFile, jobId.toString(), JobFileState.REMOVED);
 
+		if (workCoordinator != null) {
+			releaseCoordinatedJob(jobId.toString());
+		}
+
 		// TODO: maybe use cancel?
 		synchronized (executorService) {
 			for (Runnable r : executorService.getQueue()) {
@@ -372,6 +425,10 @@ public class DirStreamingManager {
 		LOGGER.log(OpLevel.DEBUG, StreamsResources.getBundle(StreamsResources.RESOURCE_BUNDLE_NAME),
 				"DirStreamingManager.job.remove.running", job.getJobId());
 		runningJobs.remove(job);
+		if (workCoordinator != null) {
+			saveJobCheckpoint(job);
+		}
+		startedCoordinatedJobs.remove(job.getJobId().toString());
 	}
 
 	/**
@@ -434,6 +491,141 @@ public class DirStreamingManager {
 				"DirStreamingManager.job.not.found", jobId);
 	}
 
+	/**
+	 * Sets ZooKeeper work coordinator used to distribute streaming jobs between multiple agents monitoring same
+	 * directory. Coordinator shall be started by caller. Running job streams progress is saved as coordinator
+	 * checkpoint when job gets revoked from this agent.
+	 *
+	 * @param workCoordinator
+	 *            ZooKeeper work coordinator instance
+	 */
+	public void setWorkCoordinator(ZKWorkCoordinator workCoordinator) {
+		this.workCoordinator = workCoordinator;
+
+		workCoordinator.addWorkAssignmentListener(new ZKWorkCoordinator.WorkAssignmentListener() {
+			@Override
+			public void unitsAssigned(Set<String> units) {
+				for (String unit : units) {
+					File jobCfgFile = coordinatedJobs.get(unit);
+					if (jobCfgFile != null && jobCfgFile.exists() && startedCoordinatedJobs.add(unit)) {
+						submitJob(UUID.fromString(unit), jobCfgFile);
+					}
+				}
+			}
+
+			@Override
+			public void unitsRevoked(Set<String> units) {
+				for (String unit : units) {
+					startedCoordinatedJobs.remove(unit);
+					DefaultStreamingJob sJob = findRunningJob(unit);
+					cancelJob(unit);
+					if (sJob != null) {
+						saveJobCheckpoint(sJob);
+					}
+				}
+			}
+		});
+	}
+
+	/**
+	 * Registers streaming job as coordinator work unit and checks whether job is assigned to this agent. If
+	 * registration fails, job is not processed by this agent, since it may be processed by other agent as well. Such
+	 * job gets registered again when its configuration file changes.
+	 *
+	 * @param jobId
+	 *            unique job identifier
+	 * @param jobCfgFile
+	 *            streaming job configuration file
+	 * @return {@code true} if job shall be processed by this agent, {@code false} - otherwise
+	 */
+	private boolean acquireCoordinatedJob(String jobId, File jobCfgFile) {
+		coordinatedJobs.put(jobId, jobCfgFile);
+		try {
+			workCoordinator.registerWorkUnit(jobId);
+		} catch (Exception exc) {
+			Utils.logThrowable(LOGGER, OpLevel.WARNING,
+					StreamsResources.getBundle(StreamsResources.RESOURCE_BUNDLE_NAME),
+					"DirStreamingManager.job.coordination.failed", jobId, exc);
+			return false;
+		}
+
+		if (workCoordinator.isOwned(jobId)) {
+			// job may be already submitted by assignment listener
+			return startedCoordinatedJobs.add(jobId);
+		}
+
+		LOGGER.log(OpLevel.DEBUG, StreamsResources.getBundle(StreamsResources.RESOURCE_BUNDLE_NAME),
+				"DirStreamingManager.job.not.owned", jobId);
+		return false;
+	}
+
+	private DefaultStreamingJob findRunningJob(String jobId) {
+		synchronized (runningJobs) {
+			for (Runnable r : runningJobs) {
+				if (r.equals(jobId)) {
+					return (DefaultStreamingJob) r;
+				}
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * Loads streaming job checkpoint stored by previous job owner.
+	 *
+	 * @param job
+	 *            streaming job to load checkpoint for
+	 * @return {@code true} if checkpoint was loaded or job has no checkpoint, {@code false} - if checkpoint loading
+	 *         failed and job shall not be started
+	 */
+	private boolean loadJobCheckpoint(DefaultStreamingJob job) {
+		String jobId = job.getJobId().toString();
+		try {
+			byte[] checkpoint = workCoordinator.loadCheckpoint(jobId);
+			job.setCheckpoint(checkpoint);
+			if (checkpoint != null) {
+				LOGGER.log(OpLevel.DEBUG, StreamsResources.getBundle(StreamsResources.RESOURCE_BUNDLE_NAME),
+						"DirStreamingManager.job.resumed", jobId);
+			}
+			return true;
+		} catch (Exception exc) {
+			Utils.logThrowable(LOGGER, OpLevel.ERROR,
+					StreamsResources.getBundle(StreamsResources.RESOURCE_BUNDLE_NAME),
+					"DirStreamingManager.job.checkpoint.failed", jobId, exc);
+			return false;
+		}
+	}
+
+	private void saveJobCheckpoint(DefaultStreamingJob job) {
+		String jobId = job.getJobId().toString();
+		if (!coordinatedJobs.containsKey(jobId)) {
+			// job configuration removed and work unit unregistered
+			return;
+		}
+		try {
+			byte[] checkpoint = job.getCheckpoint();
+			if (checkpoint != null) {
+				workCoordinator.saveCheckpoint(jobId, checkpoint);
+			}
+		} catch (Exception exc) {
+			Utils.logThrowable(LOGGER, OpLevel.ERROR,
+					StreamsResources.getBundle(StreamsResources.RESOURCE_BUNDLE_NAME),
+					"DirStreamingManager.job.checkpoint.failed", jobId, exc);
+		}
+	}
+
+	private void releaseCoordinatedJob(String jobId) {
+		coordinatedJobs.remove(jobId);
+		startedCoordinatedJobs.remove(jobId);
+		try {
+			workCoordinator.unregisterWorkUnit(jobId);
+		} catch (Exception exc) {
+			Utils.logThrowable(LOGGER, OpLevel.WARNING,
+					StreamsResources.getBundle(StreamsResources.RESOURCE_BUNDLE_NAME),
+					"DirStreamingManager.job.coordination.failed", jobId, exc);
+		}
+	}
+
 	/**
 	 * Sets TNT4J configuration file (tnt4j.properties) path.
 	 *
@@ -19,6 +19,7 @@ package com.jkoolcloud.tnt4j.streams.custom.dirStream;
 import java.io.File;
 import java.io.FileFilter;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 import org.apache.commons.io.IOCase;
 import org.apache.commons.io.filefilter.FileFilterUtils;
@@ -26,11 +27,17 @@ import org.apache.commons.io.filefilter.HiddenFileFilter;
 import org.apache.commons.io.filefilter.IOFileFilter;
 import org.apache.commons.io.filefilter.WildcardFileFilter;
 import org.apache.commons.io.monitor.FileAlterationListener;
-import org.apache.commons.io.monitor.FileAlterationMonitor;
+import org.apache.commons.io.monitor.FileAlterationListenerAdaptor;
 import org.apache.commons.io.monitor.FileAlterationObserver;
 import org.apache.commons.lang3.StringUtils;
 
+import com.jkoolcloud.tnt4j.core.OpLevel;
+import com.jkoolcloud.tnt4j.sink.EventSink;
+import com.jkoolcloud.tnt4j.streams.inputs.TNTInputStream;
+import com.jkoolcloud.tnt4j.streams.utils.FileChangeSource;
+import com.jkoolcloud.tnt4j.streams.utils.LoggerUtils;
 import com.jkoolcloud.tnt4j.streams.utils.StreamsResources;
+import com.jkoolcloud.tnt4j.streams.utils.Utils;
 
 /**
  * This class implements directory watchdog.
@@ -38,21 +45,32 @@ import com.jkoolcloud.tnt4j.streams.utils.StreamsResources;
  * Monitoring is performed with defined refresh interval. Default refresh interval value is 5sec, but can be overridden
  * defining new value in milliseconds scale.
  * <p>
+ * If file system supports native file change notifications, directory state is checked only when notification is
+ * received. To pick up changes not reported by file system (e.g. made on remote host of network file system), directory
+ * state is also checked every {@value #SAFETY_CHECK_INTERVALS} refresh intervals. Otherwise directory is polled
+ * adaptively: every {@code 1sec.} while files change, backing off up to refresh interval while directory is idle.
+ * <p>
  * Monitored files can be filtered defining file filter.
  * <p>
  * Notifications about file or file state changes are published over added file alteration listeners.
  *
- * @version $Revision: 1 $
+ * @version $Revision: 3 $
  */
 public class DirWatchdog {
+	private static final EventSink LOGGER = LoggerUtils.getLoggerSink(DirWatchdog.class);
 	private static final long DEFAULT_WATCH_REFRESH_INTERVAL = TimeUnit.SECONDS.toMillis(5);
+	private static final int SAFETY_CHECK_INTERVALS = 12;
 
 	private String dirPath;
 	private long interval;
 	private FileFilter filter = null;
 
 	private FileAlterationObserver observer = null;
-	private FileAlterationMonitor monitor = null;
+	private final AtomicBoolean changesFound = new AtomicBoolean();
+
+	private volatile Thread watchThread = null;
+	private volatile FileChangeSource changeSource = null;
+	private volatile boolean running = false;
 
 	/**
 	 * Constructs a new DirWatchdog. Monitoring is performed on all files without filtering with refresh interval every
@@ -114,9 +132,22 @@ public class DirWatchdog {
 
 	private void initialize() {
 		observer = new FileAlterationObserver(new File(dirPath), filter);
+		observer.addListener(new FileAlterationListenerAdaptor() {
+			@Override
+			public void onFileCreate(File file) {
+				changesFound.set(true);
+			}
 
-		monitor = new FileAlterationMonitor(interval);
-		monitor.addObserver(observer);
+			@Override
+			public void onFileChange(File file) {
+				changesFound.set(true);
+			}
+
+			@Override
+			public void onFileDelete(File file) {
+				changesFound.set(true);
+			}
+		});
 	}
 
 	/**
@@ -137,9 +168,55 @@ public class DirWatchdog {
 	 * @throws Exception
 	 *             if exception occurs while starting monitor
 	 */
-	public void start() throws Exception {
-		if (monitor != null) {
-			monitor.start();
+	public synchronized void start() throws Exception {
+		if (running) {
+			throw new IllegalStateException(StreamsResources.getStringFormatted(
+					StreamsResources.RESOURCE_BUNDLE_NAME, "DirWatchdog.already.running", dirPath));
+		}
+
+		observer.initialize();
+		changeSource = new FileChangeSource(new File(dirPath).toPath(), null, true, interval);
+		running = true;
+
+		watchThread = new TNTInputStream.StreamsThreadFactory("DirWatchdogThread-").newThread(this::watch); // NON-NLS
+		watchThread.start();
+	}
+
+	private void watch() {
+		LOGGER.log(OpLevel.DEBUG, StreamsResources.getBundle(StreamsResources.RESOURCE_BUNDLE_NAME),
+				"DirWatchdog.started", dirPath, changeSource.isNative());
+
+		boolean changes = false;
+		long lastCheckTime = System.currentTimeMillis();
+		while (running) {
+			boolean notified;
+			try {
+				changeSource.nextDelay(changes);
+				notified = changeSource.awaitChanges();
+			} catch (InterruptedException exc) {
+				break;
+			}
+
+			if (!running) {
+				break;
+			}
+
+			long now = System.currentTimeMillis();
+			if (!notified && changeSource.isNative() && now - lastCheckTime < interval * SAFETY_CHECK_INTERVALS) {
+				changes = false;
+				continue;
+			}
+
+			lastCheckTime = now;
+			changesFound.set(false);
+			try {
+				observer.checkAndNotify();
+			} catch (RuntimeException exc) {
+				Utils.logThrowable(LOGGER, OpLevel.ERROR,
+						StreamsResources.getBundle(StreamsResources.RESOURCE_BUNDLE_NAME), "DirWatchdog.check.failed",
+						dirPath, exc);
+			}
+			changes = changesFound.get();
 		}
 	}
 
@@ -149,10 +226,21 @@ public class DirWatchdog {
 	 * @throws Exception
 	 *             if exception occurs while stopping monitor
 	 */
-	public void stop() throws Exception {
-		if (monitor != null) {
-			monitor.stop();
+	public synchronized void stop() throws Exception {
+		if (!running) {
+			return;
 		}
+
+		running = false;
+		Utils.close(changeSource);
+		Thread wt = watchThread;
+		if (wt != null) {
+			wt.interrupt();
+			wt.join(interval);
+		}
+		watchThread = null;
+
+		observer.destroy();
 	}
 
 	/**
@@ -22,13 +22,14 @@ import java.util.HashMap;
 import java.util.Iterator;
 import java.util.Map;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
 
 import org.apache.commons.lang3.StringUtils;
-import org.apache.commons.lang3.math.NumberUtils;
 
 import com.jkoolcloud.tnt4j.core.OpLevel;
 import com.jkoolcloud.tnt4j.core.UsecTimestamp;
 import com.jkoolcloud.tnt4j.sink.EventSink;
+import com.jkoolcloud.tnt4j.streams.fields.GenericValueClassifier.Prediction;
 import com.jkoolcloud.tnt4j.streams.utils.*;
 
 /**
@@ -36,11 +37,17 @@ import com.jkoolcloud.tnt4j.streams.utils.*;
  * activity data item field for its corresponding activity item value, as well any transformations and filters that are
  * necessary.
  *
- * @version $Revision: 2 $
+ * @version $Revision: 3 $
  */
 public class ActivityFieldLocator extends AbstractFieldEntity implements Cloneable {
 	private static final EventSink LOGGER = LoggerUtils.getLoggerSink(ActivityFieldLocator.class);
 
+	private static final Object UNPREDICTED = new Object();
+	private static final ActivityFieldDataType[] FORMATTED_TYPES = { ActivityFieldDataType.Number,
+			ActivityFieldDataType.DateTime };
+	private static final AtomicReferenceFieldUpdater<ActivityFieldLocator, Prediction> PREDICTION_UPDATER = AtomicReferenceFieldUpdater
+			.newUpdater(ActivityFieldLocator.class, Prediction.class, "typePrediction"); // NON-NLS
+
 	private String type = null;
 	private String locator = null;
 	private ActivityFieldDataType dataType = ActivityFieldDataType.String;
@@ -59,8 +66,10 @@ public class ActivityFieldLocator extends AbstractFieldEntity implements Cloneab
 	private Map<Object, Object> valueMap = null;
 	private Object mapCatchAll = null;
 	private boolean dynamicLocator = false;
+	private volatile FieldRef fieldRef;
 
 	private ActivityField field;
+	private volatile Prediction typePrediction = Prediction.NONE;
 
 	/**
 	 * Constructs a new activity field locator for either a built-in type or a custom type.
@@ -247,6 +256,19 @@ public class ActivityFieldLocator extends AbstractFieldEntity implements Cloneab
 		return locator;
 	}
 
+	/**
+	 * Gets activity entity field reference handle compiled from locator value. Actual for
+	 * {@link com.jkoolcloud.tnt4j.streams.fields.ActivityFieldLocatorType#Activity} type locators.
+	 *
+	 * @return field reference handle, or {@code null} if locator value is empty
+	 */
+	public FieldRef getFieldRef() {
+		if (fieldRef == null && StringUtils.isNotEmpty(locator)) {
+			fieldRef = FieldRef.of(locator);
+		}
+		return fieldRef;
+	}
+
 	/**
 	 * Checks if fields {@code locator key} and {@code constant value} are empty.
 	 *
@@ -306,6 +328,7 @@ public class ActivityFieldLocator extends AbstractFieldEntity implements Cloneab
 		} else {
 			this.dataType = dataType;
 		}
+		typePrediction = Prediction.NONE;
 	}
 
 	/**
@@ -428,6 +451,7 @@ public class ActivityFieldLocator extends AbstractFieldEntity implements Cloneab
 	public void setFormat(String format, String locale) {
 		this.format = format;
 		this.locale = locale;
+		typePrediction = Prediction.NONE;
 
 		try {
 			builtInFormat = format == null ? null : ActivityFieldFormatType.valueOf(format);
@@ -641,58 +665,145 @@ public class ActivityFieldLocator extends AbstractFieldEntity implements Cloneab
 		return value;
 	}
 
+	/**
+	 * Predicts {@link ActivityFieldDataType#Generic} data type value type and formats value accordingly. Value type is
+	 * classified without parsing attempts on mismatching values (see {@link GenericValueClassifier}). When
+	 * {@value GenericValueClassifier#LEARN_SAMPLES} consecutive values gets classified as same type, locator learns
+	 * that type and formats further values as learned type, falling back to classification only when value can't be
+	 * formatted as learned type.
+	 *
+	 * @param value
+	 *            value to format
+	 * @return value formatted using predicted data type
+	 */
 	private Object getPredictedValue(Object value) {
 		// nothing to predict of
 		if (value == null) {
 			return null;
 		}
 
-		// is it a number
-		String prevPattern = format;
-		try {
-			if (StringUtils.isEmpty(format)) {
-				setFormat(NumericFormatter.FormatterContext.ANY, locale);
+		Prediction prediction = typePrediction;
+		if (prediction.isLearned() && isLearnedTypeApplicable(prediction.getDataType(), value)) {
+			Object pValue = formatPredictedValue(value, prediction.getDataType());
+			if (pValue != UNPREDICTED) {
+				return pValue;
 			}
-			Object pValue = formatNumericValue(value);
-			dataType = ActivityFieldDataType.Number;
-			return pValue;
-		} catch (ParseException exc) {
-			setFormat(prevPattern, locale);
 		}
 
-		// is it a datetime/timestamp
-		try {
-			Object pValue = formatDateValue(value);
-			dataType = value instanceof Number || NumberUtils.isDigits(Utils.toString(value))
-					? ActivityFieldDataType.Timestamp : ActivityFieldDataType.DateTime;
-			return pValue;
-		} catch (ParseException exc) {
+		ActivityFieldDataType vType = GenericValueClassifier.classify(value);
+		if (vType == null) {
+			return null;
 		}
-
-		// is it a duration
-		try {
-			Object pValue = formatDurationValue(value);
-			dataType = ActivityFieldDataType.Duration;
-			return pValue;
-		} catch (ParseException exc) {
+		Object pValue = vType == ActivityFieldDataType.String && StringUtils.isNotEmpty(format) ? UNPREDICTED
+				: formatPredictedValue(value, vType);
+		if (pValue == UNPREDICTED && StringUtils.isNotEmpty(format)) {
+			// locator defined format may denote number or date/time value not having default shape
+			for (ActivityFieldDataType fType : FORMATTED_TYPES) {
+				if (fType != vType) {
+					pValue = formatPredictedValue(value, fType);
+					if (pValue != UNPREDICTED) {
+						vType = fType;
+						break;
+					}
+				}
+			}
+		}
+		if (pValue == UNPREDICTED) {
+			if (value instanceof CharSequence) {
+				vType = ActivityFieldDataType.String;
+				pValue = formatStringValue(value);
+			} else {
+				vType = ActivityFieldDataType.AsInput;
+				pValue = value;
+			}
 		}
 
-		// is it a binary
-		if (value instanceof byte[]) {
-			dataType = ActivityFieldDataType.Binary;
-			return value;
+		Prediction nextPrediction = prediction.next(vType);
+		if (nextPrediction != prediction) {
+			PREDICTION_UPDATER.compareAndSet(this, prediction, nextPrediction);
 		}
 
-		// is it a string
-		if (value instanceof CharSequence) {
-			String pValue = formatStringValue(value);
-			dataType = ActivityFieldDataType.String;
-			return pValue;
+		return pValue;
+	}
+
+	/**
+	 * Checks whether learned data type can be applied to provided value. Since numeric value is resolved by
+	 * {@value com.jkoolcloud.tnt4j.streams.utils.NumericFormatter.FormatterContext#ANY} formatter out of any string
+	 * starting with number, string value has to be shaped as number to apply learned numeric data type.
+	 */
+	private boolean isLearnedTypeApplicable(ActivityFieldDataType learnedType, Object value) {
+		return learnedType != ActivityFieldDataType.Number || !(value instanceof CharSequence)
+				|| StringUtils.isNotEmpty(format) || GenericValueClassifier.classify(value) == learnedType;
+	}
+
+	/**
+	 * Formats value as provided data type value without changing this locator state.
+	 *
+	 * @param value
+	 *            value to format
+	 * @param vType
+	 *            value data type
+	 * @return formatted value, or {@link #UNPREDICTED} if value can't be formatted as provided data type value
+	 */
+	private Object formatPredictedValue(Object value, ActivityFieldDataType vType) {
+		switch (vType) {
+		case Number:
+			if (value instanceof Number || value instanceof CharSequence) {
+				try {
+					return formatNumericValue(value,
+							StringUtils.isEmpty(format) ? NumericFormatter.FormatterContext.ANY : format);
+				} catch (ParseException exc) {
+				}
+			}
+			break;
+		case DateTime:
+		case Timestamp:
+			UsecTimestamp timestamp = TimestampFormatter.getTimestamp(value);
+			if (timestamp != null) {
+				return timestamp;
+			}
+			if (value instanceof CharSequence) {
+				if (StringUtils.isEmpty(format)) {
+					timestamp = GenericValueClassifier.parseDateTime(value.toString(), timeZone);
+					if (timestamp != null) {
+						return timestamp;
+					}
+				} else {
+					try {
+						return TimestampFormatter.getInstance(format, timeZone, locale).parse(value.toString());
+					} catch (ParseException exc) {
+					}
+				}
+			}
+			break;
+		case Duration:
+			if (value instanceof java.time.Duration || (value instanceof CharSequence && (StringUtils.isNotEmpty(format)
+					|| GenericValueClassifier.classify(value) == ActivityFieldDataType.Duration))) {
+				try {
+					return formatDurationValue(value);
+				} catch (ParseException exc) {
+				}
+			}
+			break;
+		case Binary:
+			if (value instanceof byte[]) {
+				return value;
+			}
+			break;
+		case String:
+			if (value instanceof CharSequence) {
+				return formatStringValue(value);
+			}
+			break;
+		case AsInput:
+		default:
+			if (!(value instanceof CharSequence)) {
+				return value;
+			}
+			break;
 		}
 
-		// leave it as is eventually
-		dataType = ActivityFieldDataType.AsInput;
-		return value;
+		return UNPREDICTED;
 	}
 
 	/**
@@ -812,6 +923,10 @@ public class ActivityFieldLocator extends AbstractFieldEntity implements Cloneab
 	 *             format, etc.)
 	 */
 	protected Number formatNumericValue(Object value) throws ParseException {
+		return formatNumericValue(value, format);
+	}
+
+	private Number formatNumericValue(Object value, String format) throws ParseException {
 		NumericFormatter numberParser = NumericFormatter.getInstance(format, locale);
 
 		Object val = value;
@@ -21,7 +21,6 @@ import java.text.MessageFormat;
 import java.text.ParseException;
 import java.time.Duration;
 import java.util.*;
-import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.TimeUnit;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
@@ -52,13 +51,10 @@ public class ActivityInfo {
 
 	private static final TimeTracker ACTIVITY_TIME_TRACKER = TimeTracker.newTracker(1000, TimeUnit.HOURS.toMillis(8));
 
-	private static final Pattern CHILD_FIELD_PATTERN = Pattern.compile("child\\[(?<child>\\S+)\\]\\.(?<field>\\S+)"); // NON-NLS
 	private static final String KV_DELIM = "\\="; // NON-NLS
-	private static final String PATH_DELIM = "\\."; // NON-NLS
 
-	private static final Map<String, String> HOST_CACHE = new ConcurrentHashMap<>();
-	private static final String LOCAL_SERVER_NAME_KEY = "LOCAL_SERVER_NAME_KEY"; // NON-NLS
-	private static final String LOCAL_SERVER_IP_KEY = "LOCAL_SERVER_IP_KEY"; // NON-NLS
+	private static volatile String localServerName;
+	private static volatile String localServerIp;
 
 	private String serverName = null;
 	private String serverIp = null;
@@ -101,6 +97,7 @@ public class ActivityInfo {
 	private boolean filteredOut = false;
 	private boolean complete = false;
 
+	private KeySchema<String> propertiesSchema;
 	private Map<String, Property> activityProperties;
 	private Map<String, List<ActivityInfo>> children;
 	private ActivityInfo parent;
@@ -112,6 +109,21 @@ public class ActivityInfo {
 	public ActivityInfo() {
 	}
 
+	/**
+	 * Constructs a new ActivityInfo object.
+	 * <p>
+	 * Properties named by {@code propertiesSchema} are stored in slots of compact properties map, thus avoiding hash
+	 * table entries allocation for every property.
+	 *
+	 * @param propertiesSchema
+	 *            schema of activity entity properties names known in advance (e.g. parser defined fields)
+	 *
+	 * @see com.jkoolcloud.tnt4j.streams.utils.CompactMap
+	 */
+	public ActivityInfo(KeySchema<String> propertiesSchema) {
+		this.propertiesSchema = propertiesSchema;
+	}
+
 	/**
 	 * Constructs a new ActivityInfo object.
 	 * 
@@ -399,25 +411,24 @@ public class ActivityInfo {
 	}
 
 	private static Object getPredictedValue(Object fieldValue, ActivityField field) {
-		// is it a number
-		try {
-			return getNumberValue(fieldValue, field);
-		} catch (Exception e) {
-		}
-
-		// is it a boolean
-		try {
-			Boolean b = Utils.getBoolean(fieldValue);
-			if (b != null) {
-				return b;
+		ActivityFieldDataType vType = GenericValueClassifier.classify(fieldValue);
+		if (vType != null) {
+			try {
+				switch (vType) {
+				case Number:
+					return getNumberValue(fieldValue, field);
+				case DateTime:
+					return getTimestampValue(fieldValue, field);
+				case Duration:
+					return getDurationValue(fieldValue, field);
+				case AsInput:
+					Boolean b = GenericValueClassifier.getBoolean(fieldValue);
+					return b == null ? fieldValue : b;
+				default:
+					break;
+				}
+			} catch (ParseException exc) {
 			}
-		} catch (Exception exc) {
-		}
-
-		// is it a timestamp
-		try {
-			return getTimestampValue(fieldValue, field);
-		} catch (ParseException e1) {
 		}
 
 		// make a string eventually
@@ -656,7 +667,7 @@ public class ActivityInfo {
 	 */
 	public Object addActivityProperty(Property property) {
 		if (activityProperties == null) {
-			activityProperties = new ListMap<>();
+			activityProperties = new CompactMap<>(propertiesSchema);
 		}
 
 		String propName = property.getKey();
@@ -1478,53 +1489,44 @@ public class ActivityInfo {
 	 *
 	 * @param resolveOverDNS
 	 *            flag indicating whether to use DNS to resolve server names and IP addresses
+	 *
+	 * @see #resolveServer(boolean, long)
 	 */
 	public void resolveServer(boolean resolveOverDNS) {
-		if (StringUtils.isEmpty(serverName) && StringUtils.isEmpty(serverIp)) {
-			serverName = HOST_CACHE.get(LOCAL_SERVER_NAME_KEY);
-			serverIp = HOST_CACHE.get(LOCAL_SERVER_IP_KEY);
+		resolveServer(resolveOverDNS, HostResolver.DEFAULT_LOOKUP_TIMEOUT);
+	}
 
-			if (serverName == null) {
-				serverName = Utils.getLocalHostName();
-				HOST_CACHE.put(LOCAL_SERVER_NAME_KEY, serverName);
+	/**
+	 * Resolves server name and/or IP Address based on values specified.
+	 * <p>
+	 * DNS lookups are performed asynchronously by {@link com.jkoolcloud.tnt4j.streams.utils.HostResolver}. If server
+	 * name can't be resolved within defined timeout, server IP address is used as server name.
+	 *
+	 * @param resolveOverDNS
+	 *            flag indicating whether to use DNS to resolve server names and IP addresses
+	 * @param timeout
+	 *            time in milliseconds to wait for DNS lookup to complete
+	 */
+	public void resolveServer(boolean resolveOverDNS, long timeout) {
+		if (StringUtils.isEmpty(serverName) && StringUtils.isEmpty(serverIp)) {
+			if (localServerName == null) {
+				localServerName = Utils.getLocalHostName();
 			}
-			if (serverIp == null) {
-				serverIp = Utils.getLocalHostAddress();
-				HOST_CACHE.put(LOCAL_SERVER_IP_KEY, serverIp);
+			if (localServerIp == null) {
+				localServerIp = Utils.getLocalHostAddress();
 			}
+			serverName = localServerName;
+			serverIp = localServerIp;
 		} else if (StringUtils.isEmpty(serverName)) {
 			if (resolveOverDNS) {
-				try {
-					serverName = HOST_CACHE.get(serverIp);
-					if (StringUtils.isEmpty(serverName)) {
-						serverName = Utils.resolveAddressToHostName(serverIp);
-						if (StringUtils.isEmpty(serverName)) {
-							// Add entry so we don't repeatedly attempt to look up unresolvable IP Address
-							HOST_CACHE.put(serverIp, "");
-						} else {
-							HOST_CACHE.put(serverIp, serverName);
-							HOST_CACHE.put(serverName, serverIp);
-						}
-					}
-				} catch (Exception e) {
-					serverName = serverIp;
-				}
-			} else {
+				serverName = HostResolver.resolveAddressToHostName(serverIp, timeout);
+			}
+			if (StringUtils.isEmpty(serverName)) {
 				serverName = serverIp;
 			}
 		} else if (StringUtils.isEmpty(serverIp)) {
 			if (resolveOverDNS) {
-				serverIp = HOST_CACHE.get(serverName);
-				if (StringUtils.isEmpty(serverIp)) {
-					serverIp = Utils.resolveHostNameToAddress(serverName);
-					if (StringUtils.isEmpty(serverIp)) {
-						// Add entry so we don't repeatedly attempt to look up unresolvable host name
-						HOST_CACHE.put(serverName, "");
-					} else {
-						HOST_CACHE.put(serverIp, serverName);
-						HOST_CACHE.put(serverName, serverIp);
-					}
-				}
+				serverIp = HostResolver.resolveHostNameToAddress(serverName, timeout);
 			}
 		}
 
@@ -1710,10 +1712,12 @@ public class ActivityInfo {
 
 		if (otherAi.activityProperties != null) {
 			if (activityProperties == null) {
-				activityProperties = new ListMap<>();
+				activityProperties = new CompactMap<>(propertiesSchema);
 			}
 
-			activityProperties.putAll(otherAi.activityProperties);
+			for (Map.Entry<String, Property> ope : otherAi.activityProperties.entrySet()) {
+				activityProperties.putIfAbsent(ope.getKey(), ope.getValue());
+			}
 		}
 	}
 
@@ -2486,9 +2490,8 @@ public class ActivityInfo {
 	 * @throws java.lang.IllegalArgumentException
 	 *             if field name does not match expected pattern
 	 * 
-	 * @see #getParentFieldValue(String, String, ActivityInfo...)
-	 * @see #getChildFieldValue(java.util.regex.Matcher, String, String, ActivityInfo...)
-	 * @see #getWildcardFieldValue(String, ActivityInfo)
+	 * @see #getFieldValue(FieldRef, String, ActivityInfo...)
+	 * @see FieldRef#of(String)
 	 */
 	public static Object getFieldValue(String fieldName, String groupName, ActivityInfo... ais)
 			throws IllegalArgumentException {
@@ -2496,103 +2499,149 @@ public class ActivityInfo {
 			return null;
 		}
 
-		if (fieldName.startsWith(Utils.VAR_EXP_START_TOKEN)) {
-			fieldName = Utils.getVarName(fieldName);
-		}
-
-		if (StreamsConstants.isParentEntityRef(fieldName)) {
-			return getParentFieldValue(fieldName, groupName, ais);
-		}
-
-		Matcher fnMatcher = CHILD_FIELD_PATTERN.matcher(fieldName);
-		if (fnMatcher.matches()) {
-			return getChildFieldValue(fnMatcher, fieldName, groupName, ais);
-		}
+		return getFieldValue(FieldRef.of(fieldName), groupName, ais);
+	}
 
-		ActivityInfo ai = ais[0];
+	/**
+	 * Returns this activity field value.
+	 *
+	 * @param fieldRef
+	 *            field reference handle
+	 * @return field contained value, or {@code null} if field is not found
+	 *
+	 * @see #getFieldValue(FieldRef, String, ActivityInfo...)
+	 */
+	public Object getFieldValue(FieldRef fieldRef) {
+		return getFieldValue(fieldRef, null, this);
+	}
 
-		if (StreamsConstants.CHILD_ORDINAL_INDEX.equals(fieldName)) {
-			return ai.ordinalIdx;
-		}
+	/**
+	 * Returns activity field value referenced by precompiled field reference handle.
+	 *
+	 * @param fieldRef
+	 *            field reference handle
+	 * @param groupName
+	 *            children group name, actual only then resolving child entity field value
+	 * @param ais
+	 *            set of referred (child-parent) activity entities
+	 * @return field contained value, or {@code null} if field is not found
+	 * @throws java.lang.IllegalArgumentException
+	 *             if child field reference does not match expected pattern
+	 */
+	public static Object getFieldValue(FieldRef fieldRef, String groupName, ActivityInfo... ais)
+			throws IllegalArgumentException {
+		return fieldRef.getValue(groupName, ais);
+	}
 
-		if (Utils.isWildcardString(fieldName)) {
-			return getWildcardFieldValue(fieldName, ai);
-		}
+	/**
+	 * Returns this activity entity built-in field value.
+	 *
+	 * @param sft
+	 *            built-in field type
+	 * @param fieldName
+	 *            field name to get custom property value, when field type is not bound to built-in field
+	 * @return field contained value
+	 */
+	Object getBuiltInFieldValue(StreamFieldType sft, String fieldName) {
+		switch (sft) {
+		case ApplName:
+			return applName;
+		case Category:
+			return category;
+		case CompCode:
+			return compCode;
+		case Correlator:
+			return correlator;
+		case ElapsedTime:
+			return elapsedTime;
+		case EndTime:
+			return endTime;
+		case EventName:
+			return eventName;
+		case EventStatus:
+			return eventStatus;
+		case EventType:
+			return eventType;
+		case Exception:
+			return exception;
+		case Location:
+			return location;
+		case Message:
+			return message;
+		case MsgCharSet:
+			return msgCharSet;
+		case MsgEncoding:
+			return msgEncoding;
+		case MsgLength:
+			return msgLength;
+		case MsgMimeType:
+			return msgMimeType;
+		case LogType:
+			return logType;
+		case MessageAge:
+			return msgAge;
+		case TTL:
+			return ttl;
+		case ParentId:
+			return parentId;
+		case ProcessId:
+			return processId;
+		case ReasonCode:
+			return reasonCode;
+		case ResourceName:
+			return resourceName;
+		case ServerIp:
+			return serverIp;
+		case ServerName:
+			return serverName;
+		case Severity:
+			return severity;
+		case StartTime:
+			return startTime;
+		case Tag:
+			return tag;
+		case ThreadId:
+			return threadId;
+		case TrackingId:
+			return determineTrackingId();
+		case UserName:
+			return userName;
+		case Guid:
+			return guid;
+		default:
+			return getPropertyValue(fieldName);
+		}
+	}
+
+	/**
+	 * Returns this activity entity custom property value.
+	 *
+	 * @param propName
+	 *            property name
+	 * @return property value, or {@code null} if property is not found
+	 */
+	Object getPropertyValue(String propName) {
+		Property p = activityProperties == null ? null : activityProperties.get(propName);
 
-		StreamFieldType sft = StreamFieldType._valueOfIgnoreCase(fieldName);
-		if (sft != null) {
-			switch (sft) {
-			case ApplName:
-				return ai.applName;
-			case Category:
-				return ai.category;
-			case CompCode:
-				return ai.compCode;
-			case Correlator:
-				return ai.correlator;
-			case ElapsedTime:
-				return ai.elapsedTime;
-			case EndTime:
-				return ai.endTime;
-			case EventName:
-				return ai.eventName;
-			case EventStatus:
-				return ai.eventStatus;
-			case EventType:
-				return ai.eventType;
-			case Exception:
-				return ai.exception;
-			case Location:
-				return ai.location;
-			case Message:
-				return ai.message;
-			case MsgCharSet:
-				return ai.msgCharSet;
-			case MsgEncoding:
-				return ai.msgEncoding;
-			case MsgLength:
-				return ai.msgLength;
-			case MsgMimeType:
-				return ai.msgMimeType;
-			case LogType:
-				return ai.logType;
-			case MessageAge:
-				return ai.msgAge;
-			case TTL:
-				return ai.ttl;
-			case ParentId:
-				return ai.parentId;
-			case ProcessId:
-				return ai.processId;
-			case ReasonCode:
-				return ai.reasonCode;
-			case ResourceName:
-				return ai.resourceName;
-			case ServerIp:
-				return ai.serverIp;
-			case ServerName:
-				return ai.serverName;
-			case Severity:
-				return ai.severity;
-			case StartTime:
-				return ai.startTime;
-			case Tag:
-				return ai.tag;
-			case ThreadId:
-				return ai.threadId;
-			case TrackingId:
-				return ai.determineTrackingId();
-			case UserName:
-				return ai.userName;
-			case Guid:
-				return ai.guid;
-			default:
-			}
-		}
+		return p == null ? null : p.getValue();
+	}
 
-		Property p = ai.activityProperties == null ? null : ai.activityProperties.get(fieldName);
+	/**
+	 * Returns parent activity entity instance.
+	 *
+	 * @return parent activity entity instance, or {@code null} if this entity has no parent
+	 */
+	ActivityInfo getParent() {
+		return parent;
+	}
 
-		return p == null ? null : p.getValue();
+	/**
+	 * Returns ordinal index of this data entity within parent entity children entities collection.
+	 *
+	 * @return ordinal index of this data entity
+	 */
+	int getOrdinal() {
+		return ordinalIdx;
 	}
 
 	/**
@@ -2609,32 +2658,7 @@ public class ActivityInfo {
 	 * @return field contained value, or {@code null} if field is not found
 	 */
 	public static Object getParentFieldValue(String fieldName, String groupName, ActivityInfo... ais) {
-		// no activity entities to refer
-		if (ArrayUtils.isEmpty(ais)) {
-			return null;
-		}
-
-		if (ais.length == 1) {
-			// no parent entity to refer
-			ActivityInfo pActivity = ais[0].parent;
-			if (pActivity == null) {
-				return null;
-			}
-
-			ais = ArrayUtils.add(ais, pActivity);
-		}
-
-		ActivityInfo[] pais = Utils.endArray(ais, 1);
-		String pFieldName = StreamsConstants.getParentFieldName(fieldName);
-
-		Matcher cFnMatcher = CHILD_FIELD_PATTERN.matcher(pFieldName);
-		Object value = getFieldValue(pFieldName, groupName, cFnMatcher.matches() ? ais : pais);
-
-		if (value == null) {
-			return getParentFieldValue(fieldName, groupName, pais);
-		}
-
-		return value;
+		return getFieldValue(FieldRef.of(fieldName), groupName, ais);
 	}
 
 	/**
@@ -2670,85 +2694,7 @@ public class ActivityInfo {
 	 */
 	protected static Object getChildFieldValue(Matcher fnMatcher, String fieldName, String defaultGroupName,
 			ActivityInfo... ais) throws IllegalArgumentException {
-		String fName = null;
-		String groupName = null;
-		int chIndex = -1;
-		int chtLength = 0;
-		String matchExpression = null;
-
-		try {
-			String chLocator = fnMatcher.group("child"); // NON-NLS
-			fName = fnMatcher.group("field"); // NON-NLS
-			String[] chTokens = chLocator == null ? null : chLocator.split(PATH_DELIM);
-			chtLength = ArrayUtils.getLength(chTokens);
-			if (chtLength == 1) {
-				if (StringUtils.isNumeric(chTokens[0])) {
-					groupName = defaultGroupName;
-					chIndex = Integer.parseInt(chTokens[0]);
-				} else {
-					if (chTokens[0].contains("=")) { // NON-NLS
-						matchExpression = chTokens[0];
-					} else {
-						groupName = chTokens[0];
-						chIndex = ais[0].ordinalIdx > 0 ? ais[0].ordinalIdx - 1 : -1;
-					}
-				}
-			} else if (chtLength > 1) {
-				groupName = chTokens[0];
-				try {
-					chIndex = Integer.parseInt(chTokens[1]);
-				} catch (NumberFormatException e) {
-					matchExpression = chTokens[1];
-				}
-			}
-		} catch (Exception exc) {
-		}
-
-		if (StringUtils.isEmpty(fName) || StringUtils.isEmpty(groupName)
-				|| (chIndex < 0 && StringUtils.isEmpty(matchExpression))) {
-			throw new IllegalArgumentException(StreamsResources.getStringFormatted(
-					StreamsResources.RESOURCE_BUNDLE_NAME, "ActivityInfo.invalid.child.field.locator",
-					chtLength == 1 ? "child[childIndex].fieldName or child[groupName].fieldName" // NON-NLS
-							: "child[groupName.childIndex].fieldName or child[groupName.matchExpression].fieldName", // NON-NLS
-					fieldName));
-		}
-
-		ActivityInfo ai = ais.length > 1 ? ais[1] : null;
-
-		if (ai == null) {
-			LOGGER.log(OpLevel.TRACE, StreamsResources.getString(StreamsResources.RESOURCE_BUNDLE_NAME,
-					"ActivityInfo.child.field.locator.parent.not.found"), fieldName);
-		}
-
-		Map<String, List<ActivityInfo>> childMap = ai == null ? null : ai.children;
-		List<ActivityInfo> children = childMap == null ? null : childMap.get(groupName);
-		ActivityInfo child = null;
-
-		if (chIndex >= 0) {
-			if (children == null || chIndex >= children.size()) {
-				LOGGER.log(OpLevel.TRACE,
-						StreamsResources.getString(StreamsResources.RESOURCE_BUNDLE_NAME,
-								"ActivityInfo.child.field.locator.children.bounds"),
-						groupName, chIndex, fieldName, children == null ? null : children.size());
-			} else {
-				child = children.get(chIndex);
-			}
-		} else {
-			if (children != null && StringUtils.isNotEmpty(matchExpression)) {
-				String[] varTokens = matchExpression.split(KV_DELIM);
-				if (varTokens.length > 1) {
-					for (ActivityInfo c : children) {
-						Object cfv = c.getFieldValue(varTokens[0]);
-						if (varTokens[1].equals(Utils.toString(cfv))) {
-							child = c;
-							break;
-						}
-					}
-				}
-			}
-		}
-
-		return child == null ? null : child.getFieldValue(fName);
+		return FieldRef.compileChildRef(fnMatcher, fieldName).getValue(defaultGroupName, ais);
 	}
 
 	/**
@@ -2762,8 +2708,20 @@ public class ActivityInfo {
 	 * @return fields values map
 	 */
 	protected static Map<String, Object> getWildcardFieldValue(String fieldName, ActivityInfo ai) {
+		return getWildcardFieldValue(Pattern.compile(Utils.wildcardToRegex(fieldName)), ai);
+	}
+
+	/**
+	 * Returns activity entity field(s) value(s) map. Field names are matched against provided {@code mp} pattern.
+	 * 
+	 * @param mp
+	 *            field name match pattern
+	 * @param ai
+	 *            activity entity to collect fields values from
+	 * @return fields values map
+	 */
+	static Map<String, Object> getWildcardFieldValue(Pattern mp, ActivityInfo ai) {
 		Map<String, Object> valuesMap = new HashMap<>();
-		Pattern mp = Pattern.compile(Utils.wildcardToRegex(fieldName));
 
 		if (mp.matcher(StreamFieldType.ApplName.name()).matches()) {
 			valuesMap.put(StreamFieldType.ApplName.name(), ai.applName);
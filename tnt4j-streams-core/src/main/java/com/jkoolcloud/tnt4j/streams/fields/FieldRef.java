@@ -0,0 +1,354 @@
+/*
+ * Copyright 2014-2023 JKOOL, LLC.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.jkoolcloud.tnt4j.streams.fields;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.apache.commons.lang3.ArrayUtils;
+import org.apache.commons.lang3.StringUtils;
+
+import com.jkoolcloud.tnt4j.core.OpLevel;
+import com.jkoolcloud.tnt4j.sink.EventSink;
+import com.jkoolcloud.tnt4j.streams.utils.LoggerUtils;
+import com.jkoolcloud.tnt4j.streams.utils.StreamsConstants;
+import com.jkoolcloud.tnt4j.streams.utils.StreamsResources;
+import com.jkoolcloud.tnt4j.streams.utils.Utils;
+
+/**
+ * Precompiled activity entity field reference. Field reference string is classified (built-in field, custom property,
+ * parent entity field, child entity field, wildcard mask) once, when reference handle gets compiled, so resolving field
+ * value does not require to parse field reference string again.
+ * <p>
+ * Field reference can be defined using these patterns:
+ * <ul>
+ * <li>{@code 'fieldName'} - built-in field or custom property name</li>
+ * <li>{@code '${fieldName}'} - expression variable referring field</li>
+ * <li>{@code '^.fieldName'} - parent entity field, having {@value StreamsConstants#PARENT_REFERENCE_PREFIX} prefix
+ * for every parent entity level</li>
+ * <li>{@code 'child[...].fieldName'} - child entity field, see
+ * {@link ActivityInfo#getChildFieldValue(java.util.regex.Matcher, String, String, ActivityInfo...)} for child locator
+ * patterns</li>
+ * <li>{@value StreamsConstants#CHILD_ORDINAL_INDEX} - child entity ordinal index within parent entity</li>
+ * <li>{@code 'field*Name?'} - wildcard mask matching built-in fields and custom properties names</li>
+ * </ul>
+ *
+ * @version $Revision: 1 $
+ *
+ * @see ActivityInfo#getFieldValue(FieldRef, String, ActivityInfo...)
+ */
+public final class FieldRef {
+	private static final EventSink LOGGER = LoggerUtils.getLoggerSink(FieldRef.class);
+
+	static final Pattern CHILD_FIELD_PATTERN = Pattern.compile("child\\[(?<child>\\S+)\\]\\.(?<field>\\S+)"); // NON-NLS
+	private static final String KV_DELIM = "\\="; // NON-NLS
+	private static final String PATH_DELIM = "\\."; // NON-NLS
+
+	private static final int MAX_CACHED_REFS = 10000;
+	private static final Map<String, FieldRef> REFS_CACHE = new ConcurrentHashMap<>();
+
+	private enum Kind {
+		BUILT_IN, PROPERTY, PARENT, CHILD, ORDINAL, WILDCARD
+	}
+
+	private final String fieldName;
+	private final Kind kind;
+
+	private StreamFieldType fieldType;
+	private FieldRef parentFieldRef;
+	private Pattern wildcardPattern;
+
+	private FieldRef childFieldRef;
+	private String childGroupName;
+	private boolean childGroupDefault;
+	private boolean childOrdinalIndex;
+	private int childIndex = -1;
+	private int childTokensLength;
+	private String childMatchExpression;
+	private FieldRef childMatchFieldRef;
+	private String childMatchValue;
+
+	private FieldRef(String fieldName, Kind kind) {
+		this.fieldName = fieldName;
+		this.kind = kind;
+	}
+
+	/**
+	 * Returns field reference handle for provided field reference string. Compiled handles are cached, so same handle
+	 * instance is returned for same field reference string.
+	 *
+	 * @param fieldRef
+	 *            field reference string
+	 * @return field reference handle
+	 *
+	 * @see #compile(String)
+	 */
+	public static FieldRef of(String fieldRef) {
+		FieldRef ref = REFS_CACHE.get(fieldRef);
+		if (ref == null) {
+			ref = compile(fieldRef);
+			if (REFS_CACHE.size() < MAX_CACHED_REFS) {
+				REFS_CACHE.putIfAbsent(fieldRef, ref);
+			}
+		}
+		return ref;
+	}
+
+	/**
+	 * Compiles field reference string into field reference handle.
+	 *
+	 * @param fieldRef
+	 *            field reference string
+	 * @return field reference handle
+	 */
+	public static FieldRef compile(String fieldRef) {
+		String fName = fieldRef;
+		if (fName.startsWith(Utils.VAR_EXP_START_TOKEN)) {
+			fName = Utils.getVarName(fName);
+		}
+
+		if (StreamsConstants.isParentEntityRef(fName)) {
+			FieldRef ref = new FieldRef(fName, Kind.PARENT);
+			ref.parentFieldRef = of(StreamsConstants.getParentFieldName(fName));
+			return ref;
+		}
+
+		Matcher fnMatcher = CHILD_FIELD_PATTERN.matcher(fName);
+		if (fnMatcher.matches()) {
+			return compileChildRef(fnMatcher, fName);
+		}
+
+		if (StreamsConstants.CHILD_ORDINAL_INDEX.equals(fName)) {
+			return new FieldRef(fName, Kind.ORDINAL);
+		}
+
+		if (Utils.isWildcardString(fName)) {
+			FieldRef ref = new FieldRef(fName, Kind.WILDCARD);
+			ref.wildcardPattern = Pattern.compile(Utils.wildcardToRegex(fName));
+			return ref;
+		}
+
+		StreamFieldType sft = StreamFieldType._valueOfIgnoreCase(fName);
+		if (sft != null) {
+			FieldRef ref = new FieldRef(fName, Kind.BUILT_IN);
+			ref.fieldType = sft;
+			return ref;
+		}
+
+		return new FieldRef(fName, Kind.PROPERTY);
+	}
+
+	static FieldRef compileChildRef(Matcher fnMatcher, String fName) {
+		FieldRef ref = new FieldRef(fName, Kind.CHILD);
+
+		try {
+			String chLocator = fnMatcher.group("child"); // NON-NLS
+			String chfName = fnMatcher.group("field"); // NON-NLS
+			ref.childFieldRef = StringUtils.isEmpty(chfName) ? null : of(chfName);
+			String[] chTokens = chLocator == null ? null : chLocator.split(PATH_DELIM);
+			ref.childTokensLength = ArrayUtils.getLength(chTokens);
+			if (ref.childTokensLength == 1) {
+				if (StringUtils.isNumeric(chTokens[0])) {
+					ref.childGroupDefault = true;
+					ref.childIndex = Integer.parseInt(chTokens[0]);
+				} else {
+					if (chTokens[0].contains("=")) { // NON-NLS
+						ref.setChildMatchExpression(chTokens[0]);
+					} else {
+						ref.childGroupName = chTokens[0];
+						ref.childOrdinalIndex = true;
+					}
+				}
+			} else if (ref.childTokensLength > 1) {
+				ref.childGroupName = chTokens[0];
+				try {
+					ref.childIndex = Integer.parseInt(chTokens[1]);
+				} catch (NumberFormatException e) {
+					ref.setChildMatchExpression(chTokens[1]);
+				}
+			}
+		} catch (Exception exc) {
+		}
+
+		return ref;
+	}
+
+	private void setChildMatchExpression(String matchExpression) {
+		childMatchExpression = matchExpression;
+		String[] varTokens = matchExpression.split(KV_DELIM);
+		if (varTokens.length > 1) {
+			childMatchFieldRef = of(varTokens[0]);
+			childMatchValue = varTokens[1];
+		}
+	}
+
+	/**
+	 * Returns referenced field name, stripped of expression variable tokens.
+	 *
+	 * @return referenced field name
+	 */
+	public String getFieldName() {
+		return fieldName;
+	}
+
+	/**
+	 * Checks whether this reference refers parent activity entity field.
+	 *
+	 * @return {@code true} if this reference refers parent entity field, {@code false} - otherwise
+	 */
+	public boolean isParentRef() {
+		return kind == Kind.PARENT;
+	}
+
+	/**
+	 * Checks whether this reference refers child activity entity field.
+	 *
+	 * @return {@code true} if this reference refers child entity field, {@code false} - otherwise
+	 */
+	public boolean isChildRef() {
+		return kind == Kind.CHILD;
+	}
+
+	/**
+	 * Checks whether this reference is wildcard mask matching multiple fields.
+	 *
+	 * @return {@code true} if this reference is wildcard mask, {@code false} - otherwise
+	 */
+	public boolean isWildcard() {
+		return kind == Kind.WILDCARD;
+	}
+
+	/**
+	 * Returns built-in field type referenced by this reference.
+	 *
+	 * @return built-in field type, or {@code null} if this reference does not refer built-in field
+	 */
+	public StreamFieldType getFieldType() {
+		return fieldType;
+	}
+
+	/**
+	 * Resolves referenced field value.
+	 *
+	 * @param groupName
+	 *            children group name, actual only then resolving child entity field value
+	 * @param ais
+	 *            set of referred (child-parent) activity entities
+	 * @return field contained value, or {@code null} if field is not found
+	 * @throws java.lang.IllegalArgumentException
+	 *             if child field reference does not match expected pattern
+	 */
+	Object getValue(String groupName, ActivityInfo... ais) throws IllegalArgumentException {
+		if (ArrayUtils.isEmpty(ais)) {
+			return null;
+		}
+
+		switch (kind) {
+		case BUILT_IN:
+			return ais[0].getBuiltInFieldValue(fieldType, fieldName);
+		case PROPERTY:
+			return ais[0].getPropertyValue(fieldName);
+		case PARENT:
+			return getParentValue(groupName, ais);
+		case CHILD:
+			return getChildValue(groupName, ais);
+		case ORDINAL:
+			return ais[0].getOrdinal();
+		case WILDCARD:
+			return ActivityInfo.getWildcardFieldValue(wildcardPattern, ais[0]);
+		default:
+			return null;
+		}
+	}
+
+	private Object getParentValue(String groupName, ActivityInfo... ais) {
+		while (ArrayUtils.isNotEmpty(ais)) {
+			if (ais.length == 1) {
+				// no parent entity to refer
+				ActivityInfo pActivity = ais[0].getParent();
+				if (pActivity == null) {
+					return null;
+				}
+
+				ais = ArrayUtils.add(ais, pActivity);
+			}
+
+			ActivityInfo[] pais = Utils.endArray(ais, 1);
+			Object value = parentFieldRef.getValue(groupName, parentFieldRef.isChildRef() ? ais : pais);
+			if (value != null) {
+				return value;
+			}
+
+			ais = pais;
+		}
+
+		return null;
+	}
+
+	private Object getChildValue(String defaultGroupName, ActivityInfo... ais) throws IllegalArgumentException {
+		String groupName = childGroupDefault ? defaultGroupName : childGroupName;
+		int chIndex = childOrdinalIndex ? (ais[0].getOrdinal() > 0 ? ais[0].getOrdinal() - 1 : -1) : childIndex;
+
+		if (childFieldRef == null || StringUtils.isEmpty(groupName)
+				|| (chIndex < 0 && StringUtils.isEmpty(childMatchExpression))) {
+			throw new IllegalArgumentException(StreamsResources.getStringFormatted(
+					StreamsResources.RESOURCE_BUNDLE_NAME, "ActivityInfo.invalid.child.field.locator",
+					childTokensLength == 1 ? "child[childIndex].fieldName or child[groupName].fieldName" // NON-NLS
+							: "child[groupName.childIndex].fieldName or child[groupName.matchExpression].fieldName", // NON-NLS
+					fieldName));
+		}
+
+		ActivityInfo ai = ais.length > 1 ? ais[1] : null;
+
+		if (ai == null) {
+			LOGGER.log(OpLevel.TRACE, StreamsResources.getString(StreamsResources.RESOURCE_BUNDLE_NAME,
+					"ActivityInfo.child.field.locator.parent.not.found"), fieldName);
+		}
+
+		List<ActivityInfo> children = ai == null ? null : ai.getChildren(groupName);
+		ActivityInfo child = null;
+
+		if (chIndex >= 0) {
+			if (children == null || chIndex >= children.size()) {
+				LOGGER.log(OpLevel.TRACE,
+						StreamsResources.getString(StreamsResources.RESOURCE_BUNDLE_NAME,
+								"ActivityInfo.child.field.locator.children.bounds"),
+						groupName, chIndex, fieldName, children == null ? null : children.size());
+			} else {
+				child = children.get(chIndex);
+			}
+		} else if (children != null && childMatchFieldRef != null) {
+			for (ActivityInfo c : children) {
+				Object cfv = childMatchFieldRef.getValue(null, c);
+				if (childMatchValue.equals(Utils.toString(cfv))) {
+					child = c;
+					break;
+				}
+			}
+		}
+
+		return child == null ? null : childFieldRef.getValue(null, child);
+	}
+
+	@Override
+	public String toString() {
+		return "FieldRef{" + kind + "::" + fieldName + '}'; // NON-NLS
+	}
+}
@@ -0,0 +1,474 @@
+/*
+ * Copyright 2014-2023 JKOOL, LLC.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.jkoolcloud.tnt4j.streams.fields;
+
+import java.time.*;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.Temporal;
+import java.util.Calendar;
+import java.util.Date;
+
+import org.apache.commons.lang3.StringUtils;
+
+import com.jkoolcloud.tnt4j.core.UsecTimestamp;
+
+/**
+ * Classifies {@link com.jkoolcloud.tnt4j.streams.fields.ActivityFieldDataType#Generic} field values into data types
+ * without parsing attempts (and thrown exceptions) on mismatching values. String values are scanned once to determine
+ * their shape: number (sign, digits, grouping/decimal separators, exponent, type suffix, hex prefix), ISO-8601 like
+ * date/time, {@code HH:mm:ss} like duration, boolean or plain text. Since there is no dedicated boolean data type,
+ * boolean values ({@link Boolean} instances and {@code "true"}/{@code "false"} strings) are classified as
+ * {@link com.jkoolcloud.tnt4j.streams.fields.ActivityFieldDataType#AsInput}, and {@link #getBoolean(Object)} shall be
+ * used to get boolean value out of it.
+ * <p>
+ * Classification outcomes are accumulated by immutable {@link Prediction} instances, which lets field locator learn
+ * stable data type after {@value #LEARN_SAMPLES} consecutive values of same type.
+ *
+ * @version $Revision: 2 $
+ */
+final class GenericValueClassifier {
+	/**
+	 * Number of consecutive same data type values required to learn field locator data type.
+	 */
+	static final int LEARN_SAMPLES = 16;
+
+	private GenericValueClassifier() {
+	}
+
+	/**
+	 * Predicts data type of provided value.
+	 *
+	 * @param value
+	 *            value to classify
+	 * @return predicted value data type, or {@code null} if value is {@code null} or empty string
+	 */
+	static ActivityFieldDataType classify(Object value) {
+		if (value == null) {
+			return null;
+		}
+		if (value instanceof CharSequence) {
+			return classify((CharSequence) value);
+		}
+		if (value instanceof Number) {
+			return ActivityFieldDataType.Number;
+		}
+		if (value instanceof UsecTimestamp || value instanceof Date || value instanceof Calendar
+				|| value instanceof Temporal) {
+			return ActivityFieldDataType.DateTime;
+		}
+		if (value instanceof java.time.Duration) {
+			return ActivityFieldDataType.Duration;
+		}
+		if (value instanceof byte[]) {
+			return ActivityFieldDataType.Binary;
+		}
+		return ActivityFieldDataType.AsInput;
+	}
+
+	/**
+	 * Predicts data type of provided string value by scanning its characters once.
+	 *
+	 * @param str
+	 *            string value to classify
+	 * @return predicted value data type, or {@code null} if string is empty
+	 */
+	static ActivityFieldDataType classify(CharSequence str) {
+		int start = 0;
+		int end = str.length();
+		while (start < end && Character.isWhitespace(str.charAt(start))) {
+			start++;
+		}
+		while (end > start && Character.isWhitespace(str.charAt(end - 1))) {
+			end--;
+		}
+		if (start == end) {
+			return null;
+		}
+
+		if (isNumberShape(str, start, end)) {
+			return ActivityFieldDataType.Number;
+		}
+		if (isDateTimeShape(str, start, end)) {
+			return ActivityFieldDataType.DateTime;
+		}
+		if (isDurationShape(str, start, end)) {
+			return ActivityFieldDataType.Duration;
+		}
+		if (isBooleanShape(str, start, end)) {
+			return ActivityFieldDataType.AsInput;
+		}
+		return ActivityFieldDataType.String;
+	}
+
+	/**
+	 * Checks whether string region is case insensitive {@code "true"} or {@code "false"}.
+	 */
+	static boolean isBooleanShape(CharSequence str, int start, int end) {
+		return regionMatches(str, start, end, "true") || regionMatches(str, start, end, "false"); // NON-NLS
+	}
+
+	private static boolean regionMatches(CharSequence str, int start, int end, String word) {
+		if (end - start != word.length()) {
+			return false;
+		}
+		for (int i = 0; i < word.length(); i++) {
+			if (Character.toLowerCase(str.charAt(start + i)) != word.charAt(i)) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Converts provided value to boolean, if value is {@link Boolean} or string shaped as boolean (see
+	 * {@link #isBooleanShape(CharSequence, int, int)}).
+	 *
+	 * @param value
+	 *            value to convert
+	 * @return boolean value, or {@code null} if value is not boolean
+	 */
+	static Boolean getBoolean(Object value) {
+		if (value instanceof Boolean) {
+			return (Boolean) value;
+		}
+		if (value instanceof CharSequence) {
+			String str = value.toString().trim();
+			if (isBooleanShape(str, 0, str.length())) {
+				return Boolean.valueOf(str);
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * Checks whether string region is shaped as number: optional sign, digits optionally grouped by grouping separators
+	 * into groups of 3 digits, optional decimal separator, optional exponent and optional Java number type suffix.
+	 * Hexadecimal {@code 0x} prefixed numbers are also accepted.
+	 */
+	static boolean isNumberShape(CharSequence str, int start, int end) {
+		int i = start;
+		char ch = str.charAt(i);
+		if (ch == '+' || ch == '-' || ch == '\u2212') {
+			i++;
+		}
+		if (i + 1 < end && str.charAt(i) == '0' && (str.charAt(i + 1) == 'x' || str.charAt(i + 1) == 'X')) {
+			return isHexDigits(str, i + 2, end);
+		}
+
+		int digits = 0;
+		int groupDigits = 0;
+		int firstGroupDigits = 0;
+		int separators = 0;
+		char lastSeparator = 0;
+		boolean decimal = false;
+		for (; i < end; i++) {
+			ch = str.charAt(i);
+			if (ch >= '0' && ch <= '9') {
+				digits++;
+				groupDigits++;
+			} else if (isNumberSeparator(ch)) {
+				if (decimal) {
+					return false;
+				}
+				if (separators == 0) {
+					firstGroupDigits = groupDigits;
+					decimal = groupDigits == 0;
+				} else if (groupDigits != 3) {
+					return false;
+				} else {
+					decimal = ch != lastSeparator;
+				}
+				if (decimal && !isDecimalSeparator(ch)) {
+					return false;
+				}
+				separators++;
+				lastSeparator = ch;
+				groupDigits = 0;
+			} else {
+				break;
+			}
+		}
+		if (digits == 0 || (separators > 0 && groupDigits == 0)) {
+			return false;
+		}
+		if (separators > 1 && firstGroupDigits > 3) {
+			return false;
+		}
+		if (separators > 0 && !decimal && groupDigits != 3 && (separators > 1 || !isDecimalSeparator(lastSeparator))) {
+			return false;
+		}
+		if (i == end) {
+			return true;
+		}
+
+		ch = str.charAt(i);
+		if (ch == 'e' || ch == 'E') {
+			i++;
+			if (i < end && (str.charAt(i) == '+' || str.charAt(i) == '-')) {
+				i++;
+			}
+			int expDigits = 0;
+			while (i < end && str.charAt(i) >= '0' && str.charAt(i) <= '9') {
+				i++;
+				expDigits++;
+			}
+			if (expDigits == 0) {
+				return false;
+			}
+			if (i == end) {
+				return true;
+			}
+			ch = str.charAt(i);
+		}
+
+		return i == end - 1 && "lLfFdD".indexOf(ch) >= 0; // NON-NLS
+	}
+
+	private static boolean isNumberSeparator(char ch) {
+		return ch == '.' || ch == ',' || ch == ' ' || ch == '\'' || ch == '\u00A0' || ch == '\u202F';
+	}
+
+	private static boolean isDecimalSeparator(char ch) {
+		return ch == '.' || ch == ',';
+	}
+
+	private static boolean isHexDigits(CharSequence str, int start, int end) {
+		if (start >= end) {
+			return false;
+		}
+		for (int i = start; i < end; i++) {
+			if (Character.digit(str.charAt(i), 16) < 0) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Checks whether string region is shaped as ISO-8601 like date/time: {@code yyyy-MM-dd}, optionally followed by
+	 * {@code 'T'} or space delimited {@code HH:mm[:ss[.S...]]} time and {@code Z}, {@code +HH}, {@code +HHmm} or
+	 * {@code +HH:mm} offset.
+	 */
+	static boolean isDateTimeShape(CharSequence str, int start, int end) {
+		int i = digits(str, start, end, 4, 4);
+		if (i < 0 || !charAt(str, i, end, '-')) {
+			return false;
+		}
+		i = digits(str, i + 1, end, 2, 2);
+		if (i < 0 || !charAt(str, i, end, '-')) {
+			return false;
+		}
+		i = digits(str, i + 1, end, 2, 2);
+		if (i < 0) {
+			return false;
+		}
+		if (i == end) {
+			return true;
+		}
+		if (!charAt(str, i, end, 'T') && !charAt(str, i, end, 't') && !charAt(str, i, end, ' ')) {
+			return false;
+		}
+		i = timeEnd(str, i + 1, end);
+		if (i < 0) {
+			return false;
+		}
+		if (i == end) {
+			return true;
+		}
+		if (charAt(str, i, end, 'Z') || charAt(str, i, end, 'z')) {
+			return i + 1 == end;
+		}
+		if (!charAt(str, i, end, '+') && !charAt(str, i, end, '-')) {
+			return false;
+		}
+		i = digits(str, i + 1, end, 2, 2);
+		if (i < 0) {
+			return false;
+		}
+		if (i == end) {
+			return true;
+		}
+		if (charAt(str, i, end, ':')) {
+			i++;
+		}
+		return digits(str, i, end, 2, 2) == end;
+	}
+
+	/**
+	 * Checks whether string region is shaped as {@code H...:mm:ss[.S...]} duration.
+	 */
+	static boolean isDurationShape(CharSequence str, int start, int end) {
+		int i = digits(str, start, end, 1, Integer.MAX_VALUE);
+		if (i < 0 || !charAt(str, i, end, ':')) {
+			return false;
+		}
+		i = digits(str, i + 1, end, 2, 2);
+		if (i < 0 || !charAt(str, i, end, ':')) {
+			return false;
+		}
+		i = digits(str, i + 1, end, 2, 2);
+		if (i < 0) {
+			return false;
+		}
+		if (i == end) {
+			return true;
+		}
+		return charAt(str, i, end, '.') && digits(str, i + 1, end, 1, Integer.MAX_VALUE) == end;
+	}
+
+	private static int timeEnd(CharSequence str, int start, int end) {
+		int i = digits(str, start, end, 2, 2);
+		if (i < 0 || !charAt(str, i, end, ':')) {
+			return -1;
+		}
+		i = digits(str, i + 1, end, 2, 2);
+		if (i < 0 || !charAt(str, i, end, ':')) {
+			return i;
+		}
+		i = digits(str, i + 1, end, 2, 2);
+		if (i < 0 || !(charAt(str, i, end, '.') || charAt(str, i, end, ','))) {
+			return i;
+		}
+		return digits(str, i + 1, end, 1, 9);
+	}
+
+	private static int digits(CharSequence str, int start, int end, int min, int max) {
+		int i = start;
+		while (i < end && i - start < max && str.charAt(i) >= '0' && str.charAt(i) <= '9') {
+			i++;
+		}
+		return i - start < min ? -1 : i;
+	}
+
+	private static boolean charAt(CharSequence str, int idx, int end, char ch) {
+		return idx < end && str.charAt(idx) == ch;
+	}
+
+	/**
+	 * Parses ISO-8601 like date/time string, shaped as defined by {@link #isDateTimeShape(CharSequence, int, int)}.
+	 * Date/time values having no offset defined are treated to be in {@code timeZone} time zone.
+	 *
+	 * @param str
+	 *            date/time string to parse
+	 * @param timeZone
+	 *            time zone ID, or {@code null} to use the default time zone
+	 * @return timestamp parsed from provided string, or {@code null} if string does not define valid date/time
+	 */
+	static UsecTimestamp parseDateTime(String str, String timeZone) {
+		String dtStr = str.trim();
+		if (!isDateTimeShape(dtStr, 0, dtStr.length())) {
+			return null;
+		}
+		try {
+			ZoneId zone = StringUtils.isEmpty(timeZone) ? ZoneId.systemDefault() : ZoneId.of(timeZone);
+			Instant instant;
+			if (dtStr.length() == 10) {
+				instant = LocalDate.parse(dtStr).atStartOfDay(zone).toInstant();
+			} else {
+				String isoStr = normalizeDateTime(dtStr);
+				char last = isoStr.charAt(isoStr.length() - 1);
+				if (last == 'Z' || isoStr.indexOf('+', 10) > 0 || isoStr.indexOf('-', 10) > 0) {
+					instant = OffsetDateTime.parse(isoStr, DateTimeFormatter.ISO_OFFSET_DATE_TIME).toInstant();
+				} else {
+					instant = LocalDateTime.parse(isoStr, DateTimeFormatter.ISO_LOCAL_DATE_TIME).atZone(zone)
+							.toInstant();
+				}
+			}
+			return new UsecTimestamp(instant, 0);
+		} catch (DateTimeException exc) {
+			return null;
+		}
+	}
+
+	private static String normalizeDateTime(String dtStr) {
+		StringBuilder sb = new StringBuilder(dtStr.length() + 3);
+		sb.append(dtStr, 0, 10).append('T');
+		int offsetIdx = -1;
+		for (int i = 11; i < dtStr.length(); i++) {
+			char ch = dtStr.charAt(i);
+			if (ch == '+' || ch == '-') {
+				offsetIdx = sb.length();
+				sb.append(ch);
+			} else if (ch == 'z') {
+				sb.append('Z');
+			} else if (ch == ',') {
+				sb.append('.');
+			} else {
+				sb.append(ch);
+			}
+		}
+		if (offsetIdx > 0) {
+			int offsetLength = sb.length() - offsetIdx;
+			if (offsetLength == 3) {
+				sb.append(":00"); // NON-NLS
+			} else if (offsetLength == 5) {
+				sb.insert(offsetIdx + 3, ':');
+			}
+		}
+		return sb.toString();
+	}
+
+	/**
+	 * Immutable field locator value data type prediction state.
+	 */
+	static final class Prediction {
+		/**
+		 * Initial prediction state, having no values classified.
+		 */
+		static final Prediction NONE = new Prediction(null, 0);
+
+		private final ActivityFieldDataType dataType;
+		private final int hits;
+
+		private Prediction(ActivityFieldDataType dataType, int hits) {
+			this.dataType = dataType;
+			this.hits = hits;
+		}
+
+		/**
+		 * Returns predicted data type.
+		 *
+		 * @return predicted data type, or {@code null} if no values classified yet
+		 */
+		ActivityFieldDataType getDataType() {
+			return dataType;
+		}
+
+		/**
+		 * Checks whether data type is learned: {@value #LEARN_SAMPLES} consecutive values were of same data type.
+		 *
+		 * @return {@code true} if data type is learned, {@code false} - otherwise
+		 */
+		boolean isLearned() {
+			return hits >= LEARN_SAMPLES;
+		}
+
+		/**
+		 * Makes next prediction state accounting provided value data type.
+		 *
+		 * @param observedType
+		 *            classified value data type
+		 * @return next prediction state, or this instance if state does not change
+		 */
+		Prediction next(ActivityFieldDataType observedType) {
+			if (isLearned() || observedType == null) {
+				return this;
+			}
+			return new Prediction(observedType, observedType == dataType ? hits + 1 : 1);
+		}
+	}
+}
@@ -28,6 +28,7 @@ import com.jkoolcloud.tnt4j.core.OpLevel;
 import com.jkoolcloud.tnt4j.core.Property;
 import com.jkoolcloud.tnt4j.sink.EventSink;
 import com.jkoolcloud.tnt4j.streams.fields.ActivityInfo;
+import com.jkoolcloud.tnt4j.streams.fields.FieldRef;
 import com.jkoolcloud.tnt4j.streams.utils.LoggerUtils;
 import com.jkoolcloud.tnt4j.streams.utils.StreamsResources;
 import com.jkoolcloud.tnt4j.streams.utils.StreamsScriptingUtils;
@@ -39,7 +40,7 @@ import com.jkoolcloud.tnt4j.streams.utils.Utils;
  * @param <T>
  *            the type of filtered data value
  *
- * @version $Revision: 2 $
+ * @version $Revision: 3 $
  *
  * @see com.jkoolcloud.tnt4j.streams.filters.ScriptExpressionFilter
  * @see com.jkoolcloud.tnt4j.streams.filters.XPathExpressionFilter
@@ -64,6 +65,10 @@ public abstract class AbstractExpressionFilter<T> extends AbstractEntityFilter<T
 	 * Map for variable placeholders of filter expression contained activity fields.
 	 */
 	protected Map<String, String> placeHoldersMap;
+	/**
+	 * Map for compiled field references of filter expression contained activity fields.
+	 */
+	protected Map<String, FieldRef> fieldRefsMap;
 
 	/**
 	 * Constructs a new AbstractExpressionFilter. Handle type is set to
@@ -128,6 +133,7 @@ public abstract class AbstractExpressionFilter<T> extends AbstractEntityFilter<T
 	protected void initFilter() {
 		exprVars = new HashSet<>();
 		placeHoldersMap = new HashMap<>();
+		fieldRefsMap = new HashMap<>();
 		Utils.resolveExpressionVariables(exprVars, filterExpression);
 
 		String expString = filterExpression;
@@ -138,6 +144,7 @@ public abstract class AbstractExpressionFilter<T> extends AbstractEntityFilter<T
 				varPlh = "$TNT4J_ST_FLTR_PLH" + (idx++); // NON-NLS
 				expString = expString.replace(eVar, varPlh);
 				placeHoldersMap.put(eVar, varPlh);
+				fieldRefsMap.put(eVar, FieldRef.of(eVar));
 			}
 		}
 
@@ -203,7 +210,8 @@ public abstract class AbstractExpressionFilter<T> extends AbstractEntityFilter<T
 	 * @return resolved activity entity field value
 	 */
 	protected Property resolveFieldKeyAndValue(String eVar, ActivityInfo activityInfo) {
-		Object fValue = activityInfo.getFieldValue(eVar);
+		FieldRef fieldRef = fieldRefsMap == null ? null : fieldRefsMap.get(eVar);
+		Object fValue = fieldRef == null ? activityInfo.getFieldValue(eVar) : activityInfo.getFieldValue(fieldRef);
 		String fieldName = placeHoldersMap.get(eVar);
 
 		return new Property(StringUtils.isEmpty(fieldName) ? eVar : fieldName, fValue);
@@ -17,6 +17,7 @@
 package com.jkoolcloud.tnt4j.streams.filters;
 
 import java.util.Map;
+import java.util.concurrent.Future;
 
 import javax.script.Bindings;
 import javax.script.CompiledScript;
@@ -51,7 +52,8 @@ public class ScriptExpressionFilter extends AbstractExpressionFilter<Object> {
 	private static final EventSink LOGGER = LoggerUtils.getLoggerSink(ScriptExpressionFilter.class);
 
 	private final String lang;
-	private CompiledScript script;
+	private Future<CompiledScript> scriptFuture;
+	private volatile CompiledScript script;
 
 	/**
 	 * Constructs a new ScriptExpressionFilter. Handle type is set to
@@ -100,14 +102,28 @@ public class ScriptExpressionFilter extends AbstractExpressionFilter<Object> {
 	protected void initFilter() {
 		super.initFilter();
 
-		try {
-			script = StreamsScriptingUtils.compileScript(lang, null, getExpression());
-		} catch (ScriptException exc) {
-			throw new IllegalArgumentException(
-					StreamsResources.getStringFormatted(StreamsResources.RESOURCE_BUNDLE_NAME,
-							"ExpressionFilter.invalid.script", lang, filterExpression),
-					exc);
+		scriptFuture = StreamsScriptingUtils.compileScriptAsync(lang, null, getExpression());
+	}
+
+	/**
+	 * Returns compiled filter script. Waits for script compilation to complete if it is still in progress.
+	 *
+	 * @return compiled filter script
+	 * @throws IllegalArgumentException
+	 *             if script compilation fails
+	 */
+	public CompiledScript getScript() throws IllegalArgumentException {
+		if (script == null) {
+			try {
+				script = StreamsScriptingUtils.awaitCompiled(scriptFuture);
+			} catch (ScriptException exc) {
+				throw new IllegalArgumentException(
+						StreamsResources.getStringFormatted(StreamsResources.RESOURCE_BUNDLE_NAME,
+								"ExpressionFilter.invalid.script", lang, filterExpression),
+						exc);
+			}
 		}
+		return script;
 	}
 
 	@Override
@@ -143,7 +159,7 @@ public class ScriptExpressionFilter extends AbstractExpressionFilter<Object> {
 
 	private boolean evaluate(Bindings bindings) throws FilterException {
 		try {
-			boolean match = (boolean) script.eval(bindings);
+			boolean match = (boolean) getScript().eval(bindings);
 
 			logEvaluationResult(bindings, match);
 
@@ -16,18 +16,30 @@
 
 package com.jkoolcloud.tnt4j.streams.inputs;
 
+import java.io.IOException;
+import java.io.Serializable;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Queue;
 import java.util.concurrent.ArrayBlockingQueue;
 import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.TimeUnit;
 
+import org.apache.commons.lang3.SerializationException;
+import org.apache.commons.lang3.SerializationUtils;
+import org.apache.commons.lang3.StringUtils;
+
 import com.codahale.metrics.Gauge;
 import com.codahale.metrics.Meter;
 import com.codahale.metrics.MetricRegistry;
 import com.codahale.metrics.Timer;
 import com.jkoolcloud.tnt4j.core.OpLevel;
 import com.jkoolcloud.tnt4j.streams.configure.StreamProperties;
+import com.jkoolcloud.tnt4j.streams.utils.RingBufferBlockingQueue;
+import com.jkoolcloud.tnt4j.streams.utils.SpillJournal;
 import com.jkoolcloud.tnt4j.streams.utils.StreamsResources;
 import com.jkoolcloud.tnt4j.streams.utils.StreamsThread;
 import com.jkoolcloud.tnt4j.streams.utils.Utils;
@@ -40,28 +52,60 @@ import com.jkoolcloud.tnt4j.streams.utils.Utils;
  * {@link TNTParseableInputStream}):
  * <ul>
  * <li>BufferSize - maximal buffer queue capacity. Default value - {@code 1024}. (Optional)</li>
+ * <li>BufferQueueType - buffer queue implementation: {@code 'FAIR'} - {@link java.util.concurrent.ArrayBlockingQueue}
+ * with fair access policy, {@code 'UNFAIR'} - {@link java.util.concurrent.ArrayBlockingQueue} without fair access
+ * policy, {@code 'RING'} - lock-free {@link com.jkoolcloud.tnt4j.streams.utils.RingBufferBlockingQueue}. Default value
+ * - {@code 'FAIR'}. (Optional)</li>
+ * <li>BufferDrainSize - maximal number of items taken from buffer queue at once, when stream thread wakes up for
+ * available input. Default value - {@code 1}. (Optional)</li>
  * <li>FullBufferAddPolicy - defines policy how to perform adding new RAW activity data entry, when buffer queue is
- * full: {@code 'WAIT'} or {@code 'DROP'}. Default value - {@code 'WAIT'}. (Optional)</li>
+ * full: {@code 'WAIT'}, {@code 'DROP'} or {@code 'SPILL'}. Default value - {@code 'WAIT'}. (Optional)</li>
+ * <li>SpillDir - directory of spill journal files, used when {@code 'FullBufferAddPolicy'} is {@code 'SPILL'}.
+ * Default value - {@code "${java.io.tmpdir}/tnt4j-streams-spill/<stream name>"}. (Optional)</li>
+ * <li>SpillMaxSize - maximal spill journal files size in bytes. Default value - {@code 1073741824} (1GB).
+ * (Optional)</li>
  * </ul>
+ * <p>
+ * When {@code 'FullBufferAddPolicy'} is {@code 'SPILL'}, RAW activity data entries not fitting into full buffer queue
+ * are serialized into memory-mapped disk journal ({@link com.jkoolcloud.tnt4j.streams.utils.SpillJournal}) and moved
+ * back into buffer queue in FIFO order as it gets free space. While journal has entries, new entries are appended to
+ * journal too, to preserve entries order. Journal survives stream restarts: entries left in journal get processed on
+ * next stream start. Entries not implementing {@link java.io.Serializable}, or not fitting into journal having reached
+ * {@code 'SpillMaxSize'} are handled as with {@code 'WAIT'} policy.
  *
  * @param <T>
  *            the type of handled RAW activity data
  *
- * @version $Revision: 3 $
+ * @version $Revision: 5 $
  *
  * @see ArrayBlockingQueue
+ * @see RingBufferBlockingQueue
  */
 public abstract class AbstractBufferedStream<T> extends TNTParseableInputStream<T> {
 	private static final int DEFAULT_INPUT_BUFFER_SIZE = 1024;
 	private static final Object DIE_MARKER = new Object();
+	private static final long DEFAULT_SPILL_MAX_SIZE = 1024L * 1024 * 1024;
+	private static final int MAX_SPILL_SEGMENT_SIZE = 64 * 1024 * 1024;
 
 	private int bufferSize;
+	private BufferQueueType bufferQueueType = BufferQueueType.FAIR;
+	private int bufferDrainSize = 1;
 	private FullBufferAddPolicy fullBufferAddPolicy = FullBufferAddPolicy.WAIT;
+	private String spillDir;
+	private long spillMaxSize = DEFAULT_SPILL_MAX_SIZE;
+
+	private SpillJournal spillJournal;
+	private boolean dieMarkerDeferred = false;
 
 	/**
 	 * RAW activity data items buffer queue. Items in this queue are processed asynchronously by consumer thread(s).
 	 */
 	protected BlockingQueue<Object> inputBuffer;
+	/**
+	 * Items already taken from input buffer queue by {@code 'BufferDrainSize'} bulk drain, but not yet picked for
+	 * processing. Written by stream thread, but also checked and cleared by other threads.
+	 */
+	private final Queue<Object> drainedItems = new ConcurrentLinkedQueue<>();
 	private ThreadLocal<T> currentItem = new ThreadLocal<>();
 
 	private Gauge<String> loadGauge;
@@ -71,6 +115,8 @@ public abstract class AbstractBufferedStream<T> extends TNTParseableInputStream<
 	private Meter writeMeter;
 	private Timer readWaitTimer;
 	private Timer writeWaitTimer;
+	private Meter spillMeter;
+	private Meter drainMeter;
 
 	private Long lastReadTime;
 	private Long lastWriteTime;
@@ -98,8 +144,16 @@ public abstract class AbstractBufferedStream<T> extends TNTParseableInputStream<
 
 		if (StreamProperties.PROP_BUFFER_SIZE.equalsIgnoreCase(name)) {
 			bufferSize = Integer.parseInt(value);
+		} else if (StreamProperties.PROP_BUFFER_QUEUE_TYPE.equalsIgnoreCase(name)) {
+			bufferQueueType = BufferQueueType.valueOf(value.toUpperCase());
+		} else if (StreamProperties.PROP_BUFFER_DRAIN_SIZE.equalsIgnoreCase(name)) {
+			bufferDrainSize = Math.max(1, Integer.parseInt(value));
 		} else if (StreamProperties.PROP_FULL_BUFFER_ADD_POLICY.equalsIgnoreCase(name)) {
 			fullBufferAddPolicy = FullBufferAddPolicy.valueOf(value.toUpperCase());
+		} else if (StreamProperties.PROP_SPILL_DIR.equalsIgnoreCase(name)) {
+			spillDir = value;
+		} else if (StreamProperties.PROP_SPILL_MAX_SIZE.equalsIgnoreCase(name)) {
+			spillMaxSize = Long.parseLong(value);
 		}
 	}
 
@@ -108,15 +162,27 @@ public abstract class AbstractBufferedStream<T> extends TNTParseableInputStream<
 		if (StreamProperties.PROP_BUFFER_SIZE.equalsIgnoreCase(name)) {
 			return bufferSize;
 		}
+		if (StreamProperties.PROP_BUFFER_QUEUE_TYPE.equalsIgnoreCase(name)) {
+			return bufferQueueType;
+		}
+		if (StreamProperties.PROP_BUFFER_DRAIN_SIZE.equalsIgnoreCase(name)) {
+			return bufferDrainSize;
+		}
 		if (StreamProperties.PROP_FULL_BUFFER_ADD_POLICY.equalsIgnoreCase(name)) {
 			return fullBufferAddPolicy;
 		}
+		if (StreamProperties.PROP_SPILL_DIR.equalsIgnoreCase(name)) {
+			return spillDir;
+		}
+		if (StreamProperties.PROP_SPILL_MAX_SIZE.equalsIgnoreCase(name)) {
+			return spillMaxSize;
+		}
 		return super.getProperty(name);
 	}
 
 	@Override
 	protected void initialize() throws Exception {
-		inputBuffer = new ArrayBlockingQueue<>(bufferSize, true);
+		inputBuffer = createInputBuffer(bufferQueueType, bufferSize);
 
 		MetricRegistry streamMetrics = TNTInputStreamStatistics.getMetrics(this);
 
@@ -126,12 +192,53 @@ public abstract class AbstractBufferedStream<T> extends TNTParseableInputStream<
 		writeWaitTimer = streamMetrics.timer(getName() + ":buffer:write wait timer");
 
 		loadGauge = streamMetrics.register(getName() + ":buffer:load", () -> inputBuffer.size() + "/" + bufferSize);
+		streamMetrics.register(getName() + ":buffer:size", (Gauge<Integer>) () -> inputBuffer.size());
+		streamMetrics.register(getName() + ":buffer:capacity", (Gauge<Integer>) () -> bufferSize);
 		lastReadTimeGauge = streamMetrics.register(getName() + ":buffer:read last time", () -> lastReadTime);
 		lastWriteTimeGauge = streamMetrics.register(getName() + ":buffer:write last time", () -> lastWriteTime);
 
+		if (fullBufferAddPolicy == FullBufferAddPolicy.SPILL) {
+			Path journalDir = StringUtils.isEmpty(spillDir)
+					? Paths.get(System.getProperty("java.io.tmpdir"), "tnt4j-streams-spill", // NON-NLS
+							getName().replaceAll("[^\\w.-]", "_")) // NON-NLS
+					: Paths.get(spillDir);
+			int segmentSize = (int) Math.min(MAX_SPILL_SEGMENT_SIZE, spillMaxSize / 4);
+			spillJournal = new SpillJournal(journalDir, spillMaxSize, segmentSize);
+			if (!spillJournal.isEmpty()) {
+				logger().log(OpLevel.INFO, StreamsResources.getBundle(StreamsResources.RESOURCE_BUNDLE_NAME),
+						"AbstractBufferedStream.spill.recovered", spillJournal.size(), journalDir);
+			}
+
+			spillMeter = streamMetrics.meter(getName() + ":buffer:spill meter");
+			drainMeter = streamMetrics.meter(getName() + ":buffer:spill drain meter");
+			streamMetrics.register(getName() + ":buffer:spill size", () -> spillJournal.size());
+			streamMetrics.register(getName() + ":buffer:spill disk size", () -> spillJournal.diskSize());
+		}
+
 		super.initialize();
 	}
 
+	/**
+	 * Creates input buffer queue instance.
+	 *
+	 * @param type
+	 *            buffer queue type
+	 * @param capacity
+	 *            buffer queue capacity
+	 * @return input buffer queue instance
+	 */
+	private static BlockingQueue<Object> createInputBuffer(BufferQueueType type, int capacity) {
+		switch (type) {
+		case RING:
+			return new RingBufferBlockingQueue<>(capacity);
+		case UNFAIR:
+			return new ArrayBlockingQueue<>(capacity, false);
+		case FAIR:
+		default:
+			return new ArrayBlockingQueue<>(capacity, true);
+		}
+	}
+
 	/**
 	 * Adds terminator object to input buffer.
 	 */
@@ -202,10 +309,10 @@ public abstract class AbstractBufferedStream<T> extends TNTParseableInputStream<
 
 		while (true) {
 			// Buffer is empty and producer input is ended. No more items going to be available.
-			if (inputBuffer.isEmpty()) {
+			if (isBufferEmpty()) {
 				boolean end = canStop();
 				// in case something appeared in buffer while checking.
-				if (end && inputBuffer.isEmpty()) {
+				if (end && isBufferEmpty()) {
 					return null;
 				}
 			}
@@ -219,6 +326,11 @@ public abstract class AbstractBufferedStream<T> extends TNTParseableInputStream<
 				// Producer input was slower than consumer, but was able to put "DIE" marker object
 				// to queue. No more items going to be available.
 				if (DIE_MARKER.equals(qe)) {
+					if (spillJournal != null && !spillJournal.isEmpty() && !isHalted()) {
+						// spilled items must be processed before stream ends
+						dieMarkerDeferred = true;
+						continue;
+					}
 					return null;
 				}
 
@@ -269,17 +381,165 @@ public abstract class AbstractBufferedStream<T> extends TNTParseableInputStream<
 
 	/**
 	 * Picks activity data item from buffer to be processed by parsers.
+	 * <p>
+	 * If stream property {@code 'BufferDrainSize'} is greater than {@code 1}, then up to that number of items are taken
+	 * from buffer queue at once, and following calls return those items without accessing buffer queue.
 	 * 
 	 * @return activity data item from buffer to be processed
 	 * @throws InterruptedException
 	 *             if interrupted while waiting for activity item data to get available in the buffer
 	 */
 	protected Object getItemFromBuffer() throws InterruptedException {
+		if (!drainedItems.isEmpty()) {
+			if (!isHalted()) {
+				return drainedItems.poll();
+			}
+			cleanupDrainedItems();
+		}
+		if (spillJournal != null) {
+			drainSpilledItems();
+		}
+		Object item;
 		try (Timer.Context ctx = readWaitTimer.time()) {
-			return inputBuffer.poll(20, TimeUnit.SECONDS);
+			item = inputBuffer.poll(20, TimeUnit.SECONDS);
+		}
+		if (item != null && bufferDrainSize > 1) {
+			inputBuffer.drainTo(drainedItems, bufferDrainSize - 1);
+		}
+		return item;
+	}
+
+	/**
+	 * Returns items already taken from input buffer queue by {@code 'BufferDrainSize'} bulk drain, but not yet picked
+	 * for processing. These items are processed before any other item of input buffer queue.
+	 *
+	 * @return drained input buffer items queue
+	 */
+	protected Queue<Object> getDrainedItems() {
+		return drainedItems;
+	}
+
+	@SuppressWarnings("unchecked")
+	private void cleanupDrainedItems() {
+		Object item;
+		while ((item = drainedItems.poll()) != null) {
+			if (!DIE_MARKER.equals(item)) {
+				cleanupItem((T) item);
+			}
+		}
+	}
+
+	/**
+	 * Checks whether input buffer, including already drained items and spill journal, has no items.
+	 *
+	 * @return {@code true} if input buffer, drained items and spill journal are empty, {@code false} - otherwise
+	 */
+	protected boolean isBufferEmpty() {
+		return inputBuffer.isEmpty() && drainedItems.isEmpty() && (spillJournal == null || spillJournal.isEmpty());
+	}
+
+	/**
+	 * Moves spilled items from spill journal into input buffer, while buffer has free space.
+	 */
+	private void drainSpilledItems() {
+		if (spillJournal.isEmpty() && !dieMarkerDeferred) {
+			return;
+		}
+
+		synchronized (spillJournal) {
+			try {
+				byte[] record;
+				while (inputBuffer.remainingCapacity() > 0 && (record = spillJournal.peek()) != null) {
+					Object item;
+					try {
+						item = SerializationUtils.deserialize(record);
+					} catch (SerializationException exc) {
+						Utils.logThrowable(logger(), OpLevel.ERROR,
+								StreamsResources.getBundle(StreamsResources.RESOURCE_BUNDLE_NAME),
+								"AbstractBufferedStream.spill.drain.failed", exc);
+						spillJournal.advance();
+						incrementLostActivitiesCount();
+						continue;
+					}
+					if (!inputBuffer.offer(item)) {
+						break;
+					}
+					spillJournal.advance();
+					drainMeter.mark();
+				}
+			} catch (IOException exc) {
+				Utils.logThrowable(logger(), OpLevel.ERROR,
+						StreamsResources.getBundle(StreamsResources.RESOURCE_BUNDLE_NAME),
+						"AbstractBufferedStream.spill.drain.failed", exc);
+			}
+
+			if (dieMarkerDeferred && spillJournal.isEmpty() && inputBuffer.offer(DIE_MARKER)) {
+				dieMarkerDeferred = false;
+			}
+			spillJournal.notifyAll();
 		}
 	}
 
+	/**
+	 * Adds input data to input buffer, or appends it to spill journal if input buffer is full or spill journal has
+	 * items not yet moved back to input buffer. Waits for spill journal to get free space, if it has reached max size.
+	 *
+	 * @param inputData
+	 *            input data to add
+	 * @return {@code true} if input data is added to input buffer or spill journal, {@code false} if stream got halted
+	 *         or thread interrupted while waiting for spill journal free space, {@code null} if input data can't be
+	 *         spilled
+	 */
+	private Boolean addInputToSpill(T inputData) {
+		synchronized (spillJournal) {
+			if (spillJournal.isEmpty() && inputBuffer.offer(inputData)) {
+				return true;
+			}
+		}
+		if (!(inputData instanceof Serializable)) {
+			return null;
+		}
+
+		byte[] record;
+		try {
+			record = SerializationUtils.serialize((Serializable) inputData);
+		} catch (SerializationException exc) {
+			Utils.logThrowable(logger(), OpLevel.WARNING,
+					StreamsResources.getBundle(StreamsResources.RESOURCE_BUNDLE_NAME),
+					"AbstractBufferedStream.spill.failed", exc);
+			return null;
+		}
+
+		synchronized (spillJournal) {
+			try {
+				while (!isHalted()) {
+					if (spillJournal.isEmpty() && inputBuffer.offer(inputData)) {
+						return true;
+					}
+					if (spillJournal.append(record)) {
+						spillMeter.mark();
+						itemSpilled(inputData);
+						return true;
+					}
+					// journal is full, wait for consumer to drain it
+					spillJournal.wait(TimeUnit.SECONDS.toMillis(1));
+				}
+			} catch (IOException exc) {
+				Utils.logThrowable(logger(), OpLevel.WARNING,
+						StreamsResources.getBundle(StreamsResources.RESOURCE_BUNDLE_NAME),
+						"AbstractBufferedStream.spill.failed", exc);
+				return null;
+			} catch (InterruptedException exc) {
+				Thread.currentThread().interrupt();
+			}
+		}
+
+		logger().log(OpLevel.WARNING, StreamsResources.getBundle(StreamsResources.RESOURCE_BUNDLE_NAME),
+				"AbstractBufferedStream.put.interrupted", inputData);
+		incrementLostActivitiesCount();
+		return false;
+	}
+
 	/**
 	 * Return currently processed activity item data.
 	 * 
@@ -331,6 +591,10 @@ public abstract class AbstractBufferedStream<T> extends TNTParseableInputStream<
 				}
 			}
 		}
+		cleanupDrainedItems();
+		if (spillJournal != null) {
+			spillJournal.close();
+		}
 		super.cleanup();
 	}
 
@@ -348,6 +612,19 @@ public abstract class AbstractBufferedStream<T> extends TNTParseableInputStream<
 	protected void cleanupItem(T item) {
 	}
 
+	/**
+	 * Notifies that activity data item has been serialized into spill journal. Spilled item instance itself is not used
+	 * by the stream anymore - deserialized copy of it gets processed later.
+	 * <p>
+	 * By default, it does nothing, but stream may release or acknowledge resources bound to item instance, since
+	 * journal has taken over item delivery.
+	 *
+	 * @param item
+	 *            activity data item spilled into journal
+	 */
+	protected void itemSpilled(T item) {
+	}
+
 	/**
 	 * Adds input data to buffer for asynchronous processing. Input data may not be added, if buffer size limit is
 	 * exceeded and stream configuration parameter {@code 'FullBufferAddPolicy'} value is {@code 'DROP'}.
@@ -380,6 +657,16 @@ public abstract class AbstractBufferedStream<T> extends TNTParseableInputStream<
 					incrementLostActivitiesCount();
 				}
 				return added;
+			case SPILL:
+				Boolean spilled = addInputToSpill(inputData);
+				if (spilled != null) {
+					if (spilled) {
+						writeMeter.mark();
+						lastWriteTime = System.currentTimeMillis();
+					}
+					return spilled;
+				}
+				// item can't be spilled, so wait for buffer free space
 			case WAIT:
 			default:
 				try (Timer.Context ctx = writeWaitTimer.time()) {
@@ -537,6 +824,28 @@ public abstract class AbstractBufferedStream<T> extends TNTParseableInputStream<
 		/**
 		 * Drop data package.
 		 */
-		DROP
+		DROP,
+		/**
+		 * Spill data package to disk journal.
+		 */
+		SPILL
+	}
+
+	/**
+	 * This enumeration defines input buffer queue implementation types.
+	 */
+	enum BufferQueueType {
+		/**
+		 * {@link java.util.concurrent.ArrayBlockingQueue} with fair access policy.
+		 */
+		FAIR,
+		/**
+		 * {@link java.util.concurrent.ArrayBlockingQueue} without fair access policy.
+		 */
+		UNFAIR,
+		/**
+		 * Lock-free {@link com.jkoolcloud.tnt4j.streams.utils.RingBufferBlockingQueue}.
+		 */
+		RING
 	}
 }
@@ -33,6 +33,7 @@ import com.jkoolcloud.tnt4j.streams.configure.state.AbstractFileStreamStateHandl
 import com.jkoolcloud.tnt4j.streams.parsers.ActivityParser;
 import com.jkoolcloud.tnt4j.streams.parsers.data.CommonActivityData;
 import com.jkoolcloud.tnt4j.streams.utils.Duration;
+import com.jkoolcloud.tnt4j.streams.utils.FileChangeSource;
 import com.jkoolcloud.tnt4j.streams.utils.IntRange;
 import com.jkoolcloud.tnt4j.streams.utils.StreamsResources;
 import com.jkoolcloud.tnt4j.streams.utils.Utils;
@@ -61,6 +62,12 @@ import com.jkoolcloud.tnt4j.streams.utils.Utils;
  * (Optional)</li>
  * <li>FileReadDelay - delay in seconds between file reading iterations. Actual only if 'FilePolling' property is set to
  * {@code true}. Default value - {@code 15sec}. (Optional)</li>
+ * <li>FileWatchMode - defines how stream waits for file changes between file reading iterations. Value can be:
+ * {@code "NATIVE"} - wake up on OS file change notifications (if file system supports them, otherwise falls back to
+ * {@code "ADAPTIVE"}), still re-checking files at least every 'FileReadDelay' seconds, {@code "ADAPTIVE"} - poll
+ * files every {@code 1sec.} while they change, backing off up to 'FileReadDelay' seconds while they are idle,
+ * {@code "FIXED"} - poll files every 'FileReadDelay' seconds. Actual only if 'FilePolling' property is set to
+ * {@code true}. Default value - '{@code NATIVE}'. (Optional)</li>
  * <li>RestoreState - flag {@code true}/{@code false} indicating whether files read state should be stored and restored
  * on stream restart. Note, if 'StartFromLatest' is set to {@code false} - read state storing stays turned on, but
  * previous stored read state is reset (no need to delete state file manually). Default value - {@code false}.
@@ -84,7 +91,7 @@ import com.jkoolcloud.tnt4j.streams.utils.Utils;
  * returned by {@link java.nio.charset.Charset#defaultCharset()}. (Optional)</li>
  * </ul>
  *
- * @version $Revision: 4 $
+ * @version $Revision: 5 $
  *
  * @see ActivityParser#isDataClassSupported(Object)
  */
@@ -111,6 +118,7 @@ public abstract class AbstractFileLineStream<T> extends AbstractBufferedStream<A
 
 	private FileWatcher fileWatcher;
 	private boolean pollingOn = false;
+	private String fileWatchMode = FileWatchMode.NATIVE.name();
 
 	/**
 	 * File read state storing-restoring manager.
@@ -159,6 +167,8 @@ public abstract class AbstractFileLineStream<T> extends AbstractBufferedStream<A
 			fileWatcherDelay = TimeUnit.SECONDS.toMillis(Long.parseLong(value));
 		} else if (StreamProperties.PROP_FILE_POLLING.equalsIgnoreCase(name)) {
 			pollingOn = Utils.toBoolean(value);
+		} else if (StreamProperties.PROP_FILE_WATCH_MODE.equalsIgnoreCase(name)) {
+			fileWatchMode = value;
 		} else if (StreamProperties.PROP_RESTORE_STATE.equalsIgnoreCase(name)) {
 			storeState = Utils.toBoolean(value);
 		} else if (StreamProperties.PROP_RANGE_TO_STREAM.equalsIgnoreCase(name)) {
@@ -188,6 +198,9 @@ public abstract class AbstractFileLineStream<T> extends AbstractBufferedStream<A
 		if (StreamProperties.PROP_FILE_POLLING.equalsIgnoreCase(name)) {
 			return pollingOn;
 		}
+		if (StreamProperties.PROP_FILE_WATCH_MODE.equalsIgnoreCase(name)) {
+			return fileWatchMode;
+		}
 		if (StreamProperties.PROP_RESTORE_STATE.equalsIgnoreCase(name)) {
 			return storeState;
 		}
@@ -379,6 +392,8 @@ public abstract class AbstractFileLineStream<T> extends AbstractBufferedStream<A
 		 */
 		protected int totalLinesCount = 0;
 
+		private FileChangeSource changeSource;
+
 		/**
 		 * Constructs a new FileWatcher.
 		 *
@@ -413,25 +428,82 @@ public abstract class AbstractFileLineStream<T> extends AbstractBufferedStream<A
 
 		/**
 		 * Performs continuous file monitoring until stream thread is halted or monitoring is interrupted. File
-		 * monitoring is performed with {@link #fileWatcherDelay} defined delays between iterations.
+		 * monitoring is performed with {@link #fileWatcherDelay} defined delays between iterations, or as soon as
+		 * file changes source notifies about file changes.
+		 *
+		 * @see #waitForChanges(boolean)
 		 */
 		@Override
 		public void run() {
 			while (!isStopping()) {
+				long prevReadTime = lastReadTime;
 				readFileChanges();
 
 				if (isReadingLatestFile() && !isStopping()) {
 					if (!pollingOn) {
 						shutdown();
 					} else {
-						logger().log(OpLevel.INFO, StreamsResources.getBundle(StreamsResources.RESOURCE_BUNDLE_NAME),
-								"FileLineStream.waiting", TimeUnit.MILLISECONDS.toSeconds(fileWatcherDelay));
-						StreamThread.sleep(fileWatcherDelay);
+						waitForChanges(lastReadTime != prevReadTime);
 					}
 				}
 			}
 		}
 
+		/**
+		 * Waits for file changes before next file reading iteration, using 'FileWatchMode' defined file changes
+		 * source.
+		 *
+		 * @param changesRead
+		 *            flag indicating whether last file reading iteration has read new file lines
+		 */
+		protected void waitForChanges(boolean changesRead) {
+			if (changeSource == null && !FileWatchMode.FIXED.name().equalsIgnoreCase(fileWatchMode)) {
+				changeSource = FileWatchMode.NATIVE.name().equalsIgnoreCase(fileWatchMode) ? createChangeSource()
+						: new FileChangeSource(fileWatcherDelay);
+			}
+
+			if (changeSource == null) {
+				logger().log(OpLevel.INFO, StreamsResources.getBundle(StreamsResources.RESOURCE_BUNDLE_NAME),
+						"FileLineStream.waiting", TimeUnit.MILLISECONDS.toSeconds(fileWatcherDelay));
+				StreamThread.sleep(fileWatcherDelay);
+				return;
+			}
+
+			long delay = changeSource.nextDelay(changesRead);
+			logger().log(OpLevel.INFO, StreamsResources.getBundle(StreamsResources.RESOURCE_BUNDLE_NAME),
+					changeSource.isNative() ? "FileLineStream.waiting.changes" : "FileLineStream.waiting",
+					TimeUnit.MILLISECONDS.toSeconds(delay));
+			try {
+				boolean notified = changeSource.awaitChanges();
+				if (notified) {
+					logger().log(OpLevel.DEBUG, StreamsResources.getBundle(StreamsResources.RESOURCE_BUNDLE_NAME),
+							"FileLineStream.changes.notified", fileName);
+				}
+			} catch (InterruptedException exc) {
+				logger().log(OpLevel.DEBUG, StreamsResources.getBundle(StreamsResources.RESOURCE_BUNDLE_NAME),
+						"FileLineStream.waiting.interrupted", fileName);
+			}
+		}
+
+		/**
+		 * Creates file changes source used to wait for native file system notifications about streamed file(s)
+		 * changes. Default implementation returns polling only source.
+		 *
+		 * @return file changes source instance
+		 */
+		protected FileChangeSource createChangeSource() {
+			return new FileChangeSource(fileWatcherDelay);
+		}
+
+		/**
+		 * Returns maximal delay in milliseconds between file reading iterations.
+		 *
+		 * @return maximal delay between file reading iterations
+		 */
+		protected long getFileWatcherDelay() {
+			return fileWatcherDelay;
+		}
+
 		private boolean isReadingLatestFile() {
 			return fileToRead == null || ArrayUtils.isEmpty(availableFiles) ? true
 					: fileToRead.equals(Utils.lastOf(availableFiles));
@@ -457,7 +529,7 @@ public abstract class AbstractFileLineStream<T> extends AbstractBufferedStream<A
 				lastReadTime = System.currentTimeMillis();
 				lineNumber = lnr.getLineNumber();
 				if (StringUtils.isNotEmpty(line) && IntRange.inRange(lineRange, lineNumber)) {
-					addActivityDataLine(line, sb, lineNumber);
+					addActivityDataLine(line, sb, lineNumber, fileToRead);
 				} else {
 					skipFilteredActivities();
 				}
@@ -468,14 +540,47 @@ public abstract class AbstractFileLineStream<T> extends AbstractBufferedStream<A
 			}
 		}
 
-		private void addActivityDataLine(String line, StringBuilder sb, int lineNumber) {
+		/**
+		 * Reads all lines of provided file reader and adds them to changed lines buffer. Unlike
+		 * {@link #readNewFileLines(java.io.LineNumberReader)}, this method does not change file watcher read state, so
+		 * it can be invoked concurrently to read different files.
+		 *
+		 * @param lnr
+		 *            line number reader
+		 * @param file
+		 *            file being read
+		 * @return number of last read file line
+		 * @throws IOException
+		 *             if exception occurs when reading file line
+		 */
+		protected int readFileLines(LineNumberReader lnr, T file) throws IOException {
+			String line;
+			int lineNum = lnr.getLineNumber();
+			StringBuilder sb = new StringBuilder(256);
+			while ((line = lnr.readLine()) != null && !isInputEnded()) {
+				lineNum = lnr.getLineNumber();
+				if (StringUtils.isNotEmpty(line) && IntRange.inRange(lineRange, lineNum)) {
+					addActivityDataLine(line, sb, lineNum, file);
+				} else {
+					skipFilteredActivities();
+				}
+			}
+
+			if (sb.length() > 0) {
+				addLineToBuffer(sb, lineNum, file);
+			}
+
+			return lineNum;
+		}
+
+		private void addActivityDataLine(String line, StringBuilder sb, int lineNumber, T file) {
 			sb.append(line);
 			if (keepLineSeparators) {
 				sb.append('\n');
 			}
 
 			if (lineHasActivityDelim(line)) {
-				addLineToBuffer(sb, lineNumber, fileToRead);
+				addLineToBuffer(sb, lineNumber, file);
 			}
 		}
 
@@ -598,6 +703,8 @@ public abstract class AbstractFileLineStream<T> extends AbstractBufferedStream<A
 		 */
 		@Override
 		void closeInternals() throws Exception {
+			Utils.close(changeSource);
+
 			if (stateHandler != null && fileToRead != null) {
 				stateHandler.writeState(fileToRead instanceof File ? ((File) fileToRead).getParentFile() : null,
 						AbstractFileLineStream.this.getName());
@@ -702,4 +809,25 @@ public abstract class AbstractFileLineStream<T> extends AbstractBufferedStream<A
 		 */
 		CONTINUE_FROM_LAST,
 	}
+
+	/**
+	 * Lists built-in modes of waiting for file changes between file reading iterations.
+	 */
+	protected enum FileWatchMode {
+		/**
+		 * Stream shall wake up on native file system notifications about file changes, if supported. Falls back to
+		 * {@link #ADAPTIVE} otherwise.
+		 */
+		NATIVE,
+
+		/**
+		 * Stream shall poll files with delay shortened while files change and extended while files are idle.
+		 */
+		ADAPTIVE,
+
+		/**
+		 * Stream shall poll files with fixed delay.
+		 */
+		FIXED,
+	}
 }
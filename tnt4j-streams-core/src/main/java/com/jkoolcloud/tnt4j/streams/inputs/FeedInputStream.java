@@ -24,11 +24,9 @@ import java.nio.file.FileSystems;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.text.ParseException;
-import java.util.Arrays;
-import java.util.HashMap;
-import java.util.Iterator;
-import java.util.Map;
+import java.util.*;
 
+import org.apache.commons.collections4.CollectionUtils;
 import org.apache.commons.lang3.StringUtils;
 
 import com.jkoolcloud.tnt4j.core.OpLevel;
@@ -82,7 +80,7 @@ import com.jkoolcloud.tnt4j.streams.utils.Utils;
  * @param <T>
  *            type of activity data feed input
  *
- * @version $Revision: 2 $
+ * @version $Revision: 3 $
  *
  * @see BytesInputStream
  * @see CharacterStream
@@ -160,7 +158,7 @@ public abstract class FeedInputStream<R extends Closeable, T> extends TNTParseab
 
 	@Override
 	public void addParser(ParserReference parserRef) throws IllegalStateException {
-		if (!parsersSet.isEmpty()) {
+		if (!getParserReferences().isEmpty()) {
 			throw new IllegalStateException(StreamsResources.getString(StreamsResources.RESOURCE_BUNDLE_NAME,
 					"FeedInputStream.cannot.have.multiple.parsers"));
 		}
@@ -170,13 +168,13 @@ public abstract class FeedInputStream<R extends Closeable, T> extends TNTParseab
 
 	@Override
 	public void addParsers(Iterable<ActivityParser> parsers) throws IllegalArgumentException {
-		if (!parsersSet.isEmpty()) {
+		if (!getParserReferences().isEmpty()) {
 			throw new IllegalStateException(StreamsResources.getString(StreamsResources.RESOURCE_BUNDLE_NAME,
 					"FeedInputStream.cannot.have.multiple.parsers"));
 		}
 
 		Iterator<ActivityParser> pi = parsers.iterator();
-		while (parsersSet.isEmpty()) {
+		while (getParserReferences().isEmpty()) {
 			addParser(pi.next());
 		}
 
@@ -186,6 +184,17 @@ public abstract class FeedInputStream<R extends Closeable, T> extends TNTParseab
 		}
 	}
 
+	@Override
+	public void replaceParsers(Collection<ParserReference> parserRefs) throws IllegalArgumentException {
+		if (CollectionUtils.size(parserRefs) > 1) {
+			logger().log(OpLevel.INFO, StreamsResources.getBundle(StreamsResources.RESOURCE_BUNDLE_NAME),
+					"FeedInputStream.skipping.remaining.parsers");
+			parserRefs = Collections.singleton(parserRefs.iterator().next());
+		}
+
+		super.replaceParsers(parserRefs);
+	}
+
 	@Override
 	public Object getProperty(String name) {
 		if (StreamProperties.PROP_FILENAME.equalsIgnoreCase(name)) {
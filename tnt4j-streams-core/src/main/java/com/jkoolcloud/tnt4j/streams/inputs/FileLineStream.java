@@ -24,13 +24,17 @@ import java.net.URI;
 import java.net.URISyntaxException;
 import java.net.URL;
 import java.nio.file.*;
-import java.util.Collections;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.*;
+import java.util.concurrent.*;
 
 import org.apache.commons.lang3.ArrayUtils;
 
 import com.jkoolcloud.tnt4j.core.OpLevel;
 import com.jkoolcloud.tnt4j.sink.EventSink;
+import com.jkoolcloud.tnt4j.streams.configure.StreamProperties;
 import com.jkoolcloud.tnt4j.streams.configure.state.FileStreamStateHandler;
+import com.jkoolcloud.tnt4j.streams.utils.FileChangeSource;
 import com.jkoolcloud.tnt4j.streams.utils.LoggerUtils;
 import com.jkoolcloud.tnt4j.streams.utils.StreamsResources;
 import com.jkoolcloud.tnt4j.streams.utils.Utils;
@@ -42,16 +46,27 @@ import com.jkoolcloud.tnt4j.streams.utils.Utils;
  * <p>
  * This activity stream requires parsers that can support {@link String} data.
  * <p>
- * This activity stream supports configuration properties from {@link AbstractFileLineStream} (and higher hierarchy
- * streams).
+ * This activity stream supports the following configuration properties (in addition to those supported by
+ * {@link AbstractFileLineStream}):
+ * <ul>
+ * <li>ParallelFiles - number of files matching wildcard file name pattern to read concurrently. Every file is read by
+ * single reader, so lines order within file is preserved. Actual only if 'FilePolling' and 'RestoreState' properties
+ * are set to {@code false}. Default value - {@code 1}. (Optional)</li>
+ * <li>ParallelFilesOrder - defines order of files reading when 'ParallelFiles' is greater than {@code 1}. Value can be:
+ * {@code "LATEST"} - most recently modified files first, {@code "SMALLEST"} - smallest files first. Default value -
+ * '{@code LATEST}'. (Optional)</li>
+ * </ul>
  *
- * @version $Revision: 2 $
+ * @version $Revision: 3 $
  *
  * @see com.jkoolcloud.tnt4j.streams.parsers.ActivityParser#isDataClassSupported(Object)
  */
 public class FileLineStream extends AbstractFileLineStream<Path> {
 	private static final EventSink LOGGER = LoggerUtils.getLoggerSink(FileLineStream.class);
 
+	private int parallelFiles = 1;
+	private String parallelFilesOrder = FilesOrder.LATEST.name();
+
 	/**
 	 * Constructs a new FileLineStream.
 	 */
@@ -64,16 +79,55 @@ public class FileLineStream extends AbstractFileLineStream<Path> {
 		return LOGGER;
 	}
 
+	@Override
+	public void setProperty(String name, String value) {
+		super.setProperty(name, value);
+
+		if (StreamProperties.PROP_PARALLEL_FILES.equalsIgnoreCase(name)) {
+			parallelFiles = Integer.parseInt(value);
+		} else if (StreamProperties.PROP_PARALLEL_FILES_ORDER.equalsIgnoreCase(name)) {
+			parallelFilesOrder = value;
+		}
+	}
+
+	@Override
+	public Object getProperty(String name) {
+		if (StreamProperties.PROP_PARALLEL_FILES.equalsIgnoreCase(name)) {
+			return parallelFiles;
+		}
+		if (StreamProperties.PROP_PARALLEL_FILES_ORDER.equalsIgnoreCase(name)) {
+			return parallelFilesOrder;
+		}
+
+		return super.getProperty(name);
+	}
+
 	@Override
 	protected FileWatcher createFileWatcher() throws Exception {
+		boolean parallel = isParallelRead();
 		try {
 			URL url = new URL(fileName);
-			return new CommonFileWatcher(url.toURI());
+			return parallel ? new ParallelFileWatcher(url.toURI()) : new CommonFileWatcher(url.toURI());
 		} catch (MalformedURLException | URISyntaxException exc) {
-			return new CommonFileWatcher();
+			return parallel ? new ParallelFileWatcher() : new CommonFileWatcher();
 		}
 	}
 
+	private boolean isParallelRead() {
+		if (parallelFiles <= 1) {
+			return false;
+		}
+
+		if (!Utils.isWildcardString(fileName) || (boolean) getProperty(StreamProperties.PROP_FILE_POLLING)
+				|| storeState) {
+			logger().log(OpLevel.WARNING, StreamsResources.getBundle(StreamsResources.RESOURCE_BUNDLE_NAME),
+					"FileLineStream.parallel.files.unsupported", getName(), parallelFiles);
+			return false;
+		}
+
+		return true;
+	}
+
 	private static int[] getFilesTotals(Path[] activityFiles) throws IOException {
 		int tbc = 0;
 		int tlc = 0;
@@ -90,11 +144,6 @@ public class FileLineStream extends AbstractFileLineStream<Path> {
 		return new int[] { tbc, tlc };
 	}
 
-	@Override
-	public Object getProperty(String name) {
-		return super.getProperty(name);
-	}
-
 	/**
 	 * Files changes watcher thread. It reads changes from defined files using last modification timestamp of file.
 	 */
@@ -105,6 +154,9 @@ public class FileLineStream extends AbstractFileLineStream<Path> {
 		 */
 		protected FileSystem fs;
 
+		private Object fileKey;
+		private long fileSize = -1;
+
 		/**
 		 * Constructs a new CommonFileWatcher for default OS file system.
 		 */
@@ -139,10 +191,19 @@ public class FileLineStream extends AbstractFileLineStream<Path> {
 			super.setFileToRead(file);
 
 			if (file != null) {
-				lastModifTime = Files.getLastModifiedTime(file, LinkOption.NOFOLLOW_LINKS).toMillis();
+				BasicFileAttributes attrs = Files.readAttributes(file, BasicFileAttributes.class,
+						LinkOption.NOFOLLOW_LINKS);
+				lastModifTime = attrs.lastModifiedTime().toMillis();
+				fileKey = attrs.fileKey();
+				fileSize = attrs.size();
 			}
 		}
 
+		@Override
+		protected FileChangeSource createChangeSource() {
+			return FileChangeSource.forFiles(fileName, fs, getFileWatcherDelay());
+		}
+
 		/**
 		 * Initializes files watcher thread. Picks file matching user defined file name to monitor. If user defined to
 		 * start streaming from latest file line, then count of lines in file is calculated to mark latest activity
@@ -212,7 +273,12 @@ public class FileLineStream extends AbstractFileLineStream<Path> {
 		 * If defined file is readable, then monitor checks modification timestamp. If it is newer than
 		 * {@link #lastModifTime} value, file gets opened for reading. If not, monitor tries to swap to next available
 		 * file. If swap can'e be done (no newer readable file) then file reading is skipped until next monitor
-		 * invocation.
+		 * invocation. File is also considered changed if its size has changed, since modification timestamp resolution
+		 * of some file systems is too coarse to notice changes made right after last read.
+		 * <p>
+		 * If file got rotated (file key, e.g. inode, has changed - file was renamed and new one created in its place),
+		 * new file is read from beginning. If file got truncated (size has decreased) and 'TruncatedFilePolicy' is
+		 * {@code "START_FROM_BEGINNING"}, file is read from beginning too.
 		 * <p>
 		 * When file gets opened for reading reader is rolled to file marked by {@link #lineNumber} attribute. If turns
 		 * out that file got smaller in lines count, then monitor tries to swap to previous file. If no previous
@@ -246,17 +312,23 @@ public class FileLineStream extends AbstractFileLineStream<Path> {
 			} else {
 				if (lastReadTime >= 0) {
 					long flm = 0;
+					long fSize = fileSize;
 					try {
-						flm = Files.getLastModifiedTime(fileToRead, LinkOption.NOFOLLOW_LINKS).toMillis();
+						BasicFileAttributes attrs = Files.readAttributes(fileToRead, BasicFileAttributes.class,
+								LinkOption.NOFOLLOW_LINKS);
+						flm = attrs.lastModifiedTime().toMillis();
+						fSize = attrs.size();
+						checkFileRotation(attrs);
 					} catch (IOException e) {
 					}
 
-					if (flm > lastModifTime) {
+					if (flm > lastModifTime || fSize != fileSize) {
 						logger().log(OpLevel.INFO, StreamsResources.getBundle(StreamsResources.RESOURCE_BUNDLE_NAME),
 								"FileLineStream.file.updated", getPeriodInSeconds(flm),
 								getPeriodInSeconds(lastReadTime));
 
 						lastModifTime = flm;
+						fileSize = fSize;
 					} else {
 						logger().log(OpLevel.INFO, StreamsResources.getBundle(StreamsResources.RESOURCE_BUNDLE_NAME),
 								"FileLineStream.file.not.changed");
@@ -301,14 +373,34 @@ public class FileLineStream extends AbstractFileLineStream<Path> {
 					lineNumber - prevLineNumber);
 		}
 
+		/**
+		 * Checks whether file got rotated or truncated since last read iteration, and resets reader to first file line
+		 * if so.
+		 *
+		 * @param attrs
+		 *            current file attributes
+		 */
+		void checkFileRotation(BasicFileAttributes attrs) {
+			Object fKey = attrs.fileKey();
+			if (fileKey != null && fKey != null && !fileKey.equals(fKey)) {
+				logger().log(OpLevel.INFO, StreamsResources.getBundle(StreamsResources.RESOURCE_BUNDLE_NAME),
+						"FileLineStream.file.rotated", fileToRead.toAbsolutePath());
+
+				lineNumber = 0;
+				fileKey = fKey;
+			} else if (attrs.size() < fileSize
+					&& truncatedFilePolicy.equalsIgnoreCase(FileAccessPolicy.START_FROM_BEGINNING.name())) {
+				logger().log(OpLevel.INFO, StreamsResources.getBundle(StreamsResources.RESOURCE_BUNDLE_NAME),
+						"FileLineStream.file.truncated", fileToRead.toAbsolutePath(), fileSize, attrs.size());
+
+				lineNumber = 0;
+			}
+		}
+
 		private LineNumberReader rollToCurrentLine() throws IOException {
 			LineNumberReader lnr;
 			try {
-				if (fileCharset == null) {
-					lnr = Utils.getFileReader(fileToRead.toFile());
-				} else {
-					lnr = new LineNumberReader(Files.newBufferedReader(fileToRead, fileCharset));
-				}
+				lnr = openFileReader(fileToRead);
 			} catch (Exception exc) {
 				logger().log(OpLevel.ERROR, StreamsResources.getBundle(StreamsResources.RESOURCE_BUNDLE_NAME),
 						"FileLineStream.reader.error");
@@ -320,6 +412,23 @@ public class FileLineStream extends AbstractFileLineStream<Path> {
 			return skipOldLines(lnr);
 		}
 
+		/**
+		 * Opens line number reader for provided file, using stream defined file charset.
+		 *
+		 * @param file
+		 *            file to open reader for
+		 * @return line number reader instance
+		 * @throws IOException
+		 *             if file can't be opened for reading
+		 */
+		LineNumberReader openFileReader(Path file) throws IOException {
+			if (fileCharset == null) {
+				return Utils.getFileReader(file.toFile());
+			} else {
+				return new LineNumberReader(Files.newBufferedReader(file, fileCharset));
+			}
+		}
+
 		LineNumberReader skipOldLines(LineNumberReader lnr) throws IOException {
 			boolean skipFail = false;
 			for (int i = 0; i < lineNumber; i++) {
@@ -438,4 +547,123 @@ public class FileLineStream extends AbstractFileLineStream<Path> {
 			totalLinesCount = totals[1];
 		}
 	}
-}
\ No newline at end of file
+
+	/**
+	 * Files reader thread reading multiple files matching wildcard file name pattern concurrently, using up to
+	 * 'ParallelFiles' reader threads. Every file is read by single reader task, so lines order within file is
+	 * preserved, while lines of different files get interleaved in stream bounded buffer. Files are read one single
+	 * time, in 'ParallelFilesOrder' defined order.
+	 */
+	protected class ParallelFileWatcher extends CommonFileWatcher {
+
+		/**
+		 * Constructs a new ParallelFileWatcher for default OS file system.
+		 */
+		ParallelFileWatcher() {
+			super();
+		}
+
+		/**
+		 * Constructs a new ParallelFileWatcher.
+		 *
+		 * @param fUri
+		 *            file URI.
+		 */
+		ParallelFileWatcher(URI fUri) throws IOException {
+			super(fUri);
+		}
+
+		/**
+		 * Reads all available files using files reader threads pool and shuts down when all files are read.
+		 */
+		@Override
+		public void run() {
+			Path[] files = orderFiles(availableFiles);
+			logger().log(OpLevel.INFO, StreamsResources.getBundle(StreamsResources.RESOURCE_BUNDLE_NAME),
+					"FileLineStream.parallel.files.start", files.length, Math.min(parallelFiles, files.length),
+					parallelFilesOrder);
+
+			if (files.length > 0) {
+				ExecutorService readers = Executors.newFixedThreadPool(Math.min(parallelFiles, files.length),
+						new StreamsThreadFactory("FileLineStreamReaderThread-")); // NON-NLS
+				try {
+					List<Future<?>> reads = new ArrayList<>(files.length);
+					for (Path file : files) {
+						reads.add(readers.submit(() -> readFile(file)));
+					}
+					for (Future<?> read : reads) {
+						read.get();
+					}
+				} catch (InterruptedException exc) {
+					Thread.currentThread().interrupt();
+				} catch (ExecutionException exc) {
+					Utils.logThrowable(logger(), OpLevel.ERROR,
+							StreamsResources.getBundle(StreamsResources.RESOURCE_BUNDLE_NAME),
+							"FileLineStream.error.reading", exc.getCause());
+				} finally {
+					readers.shutdownNow();
+				}
+			}
+
+			shutdown();
+		}
+
+		private void readFile(Path file) {
+			if (isStopping() || isInputEnded()) {
+				return;
+			}
+
+			logger().log(OpLevel.DEBUG, StreamsResources.getBundle(StreamsResources.RESOURCE_BUNDLE_NAME),
+					"FileLineStream.reading.changes", file.toAbsolutePath(), 0);
+
+			try (LineNumberReader lnr = openFileReader(file)) {
+				int lastLine = readFileLines(lnr, file);
+
+				logger().log(OpLevel.INFO, StreamsResources.getBundle(StreamsResources.RESOURCE_BUNDLE_NAME),
+						"FileLineStream.changes.read.end", file.toAbsolutePath(), lastLine, lastLine);
+			} catch (IOException exc) {
+				Utils.logThrowable(logger(), OpLevel.ERROR,
+						StreamsResources.getBundle(StreamsResources.RESOURCE_BUNDLE_NAME),
+						"FileLineStream.error.reading", exc);
+			}
+		}
+
+		private Path[] orderFiles(Path[] files) {
+			if (ArrayUtils.isEmpty(files)) {
+				return new Path[0];
+			}
+
+			boolean smallestFirst = FilesOrder.SMALLEST.name().equalsIgnoreCase(parallelFilesOrder);
+			Map<Path, Long> sortKeys = new HashMap<>(files.length);
+			for (Path file : files) {
+				long key = 0;
+				try {
+					BasicFileAttributes attrs = Files.readAttributes(file, BasicFileAttributes.class);
+					key = smallestFirst ? attrs.size() : -attrs.lastModifiedTime().toMillis();
+				} catch (IOException exc) {
+				}
+				sortKeys.put(file, key);
+			}
+
+			Path[] orderedFiles = files.clone();
+			Arrays.sort(orderedFiles, Comparator.comparingLong(sortKeys::get));
+
+			return orderedFiles;
+		}
+	}
+
+	/**
+	 * Lists files reading orders used when files are read concurrently.
+	 */
+	protected enum FilesOrder {
+		/**
+		 * Most recently modified files are read first.
+		 */
+		LATEST,
+
+		/**
+		 * Smallest files are read first.
+		 */
+		SMALLEST,
+	}
+}
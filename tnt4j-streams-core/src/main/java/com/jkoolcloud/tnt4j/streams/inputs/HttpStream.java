@@ -82,7 +82,7 @@ import com.jkoolcloud.tnt4j.streams.utils.Utils;
  * <li>KeyPass - key password. (Optional)</li>
  * </ul>
  *
- * @version $Revision: 1 $
+ * @version $Revision: 2 $
  *
  * @see com.jkoolcloud.tnt4j.streams.parsers.ActivityParser#isDataClassSupported(Object)
  * @see ActivityMapParser
@@ -193,6 +193,16 @@ public class HttpStream extends AbstractBufferedStream<Map<String, ?>> {
 		super.cleanup();
 	}
 
+	/**
+	 * Returns port number HTTP server is listening on. Useful when stream property {@code 'Port'} is set to {@code 0}
+	 * and server binds to any free port.
+	 *
+	 * @return HTTP server listening port number, or {@code -1} if server is not running
+	 */
+	public int getLocalPort() {
+		return requestHandler == null ? -1 : requestHandler.getLocalPort();
+	}
+
 	@Override
 	protected boolean isInputEnded() {
 		return requestHandler.isInputEnded();
@@ -248,7 +258,7 @@ public class HttpStream extends AbstractBufferedStream<Map<String, ?>> {
 		/**
 		 * Instantiates a new Http stream request handler.
 		 */
-		HttpStreamRequestHandler() {
+		protected HttpStreamRequestHandler() {
 			super("HttpStream.HttpStreamRequestHandler"); // NON-NLS
 		}
 
@@ -308,6 +318,16 @@ public class HttpStream extends AbstractBufferedStream<Map<String, ?>> {
 			}
 		}
 
+		/**
+		 * Returns port number HTTP server is listening on.
+		 *
+		 * @return HTTP server listening port number, or {@code -1} if server is not running
+		 */
+		int getLocalPort() {
+			HttpServer srv = server;
+			return srv == null ? -1 : srv.getLocalPort();
+		}
+
 		/**
 		 * Closes running HTTP server.
 		 *
@@ -415,13 +435,30 @@ public class HttpStream extends AbstractBufferedStream<Map<String, ?>> {
 			}
 		}
 
-		private StringEntity createHtmlStringEntity(String msg) {
+		/**
+		 * Creates HTML response entity containing provided message.
+		 *
+		 * @param msg
+		 *            response message
+		 * @return HTML response entity
+		 */
+		protected StringEntity createHtmlStringEntity(String msg) {
 			StringEntity entity = new StringEntity(Utils.format(HTML_MSG_PATTERN, msg), ContentType.TEXT_HTML);
 
 			return entity;
 		}
 
-		private void collectRequestMetadata(HttpRequest request, HttpEntity reqEntity, Map<String, Object> reqMap) {
+		/**
+		 * Puts request headers, request line and entity metadata maps into provided request data map.
+		 *
+		 * @param request
+		 *            HTTP request
+		 * @param reqEntity
+		 *            HTTP request entity
+		 * @param reqMap
+		 *            request data map to fill
+		 */
+		protected void collectRequestMetadata(HttpRequest request, HttpEntity reqEntity, Map<String, Object> reqMap) {
 			Map<String, Object> headersMap = new HashMap<>();
 			Iterator<Header> hIterator = request.headerIterator();
 			if (hIterator != null) {
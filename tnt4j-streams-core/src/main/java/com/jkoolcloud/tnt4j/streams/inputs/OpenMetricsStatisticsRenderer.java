@@ -0,0 +1,255 @@
+/*
+ * Copyright 2014-2023 JKOOL, LLC.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.jkoolcloud.tnt4j.streams.inputs;
+
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+
+import com.codahale.metrics.*;
+
+/**
+ * Renders streams statistics metrics registries in
+ * <a href="https://github.com/OpenObservability/OpenMetrics/blob/main/specification/OpenMetrics.md">OpenMetrics</a>
+ * text exposition format.
+ * <p>
+ * Statistics metric names are expected to be in {@code <stream>:<name>} or {@code <stream>:<scope>:<name>} form.
+ * Stream name is rendered as {@code stream} label value, while rest of metric name makes metric family name prefixed
+ * with {@value #FAMILY_PREFIX}. Metric names of {@code stage}, {@code parser matched} and {@code parser failed} scopes
+ * are rendered as {@code stage} and {@code parser} labels of single metric family.
+ * <p>
+ * Metrics are rendered this way:
+ * <ul>
+ * <li>{@link com.codahale.metrics.Counter} and {@link com.codahale.metrics.Meter} - as {@code counter}</li>
+ * <li>{@link com.codahale.metrics.Gauge} having numeric or boolean value - as {@code gauge}. Gauges having other
+ * values are not rendered</li>
+ * <li>{@link com.codahale.metrics.Histogram} - as {@code summary}</li>
+ * <li>{@link com.codahale.metrics.Timer} - as {@code summary} in seconds</li>
+ * </ul>
+ *
+ * @version $Revision: 1 $
+ */
+public class OpenMetricsStatisticsRenderer {
+	/**
+	 * Constant defining rendered metric family names prefix.
+	 */
+	public static final String FAMILY_PREFIX = "tnt4j_streams_"; // NON-NLS
+
+	private static final String STREAM_LABEL = "stream"; // NON-NLS
+	private static final double[] QUANTILES = { 0.5, 0.75, 0.95, 0.98, 0.99, 0.999 };
+	private static final double NANOS_IN_SECOND = TimeUnit.SECONDS.toNanos(1);
+
+	private static final Map<String, String> LABELED_SCOPES = new HashMap<>(3);
+	static {
+		LABELED_SCOPES.put("stage", "stage"); // NON-NLS
+		LABELED_SCOPES.put("parser matched", "parser"); // NON-NLS
+		LABELED_SCOPES.put("parser failed", "parser"); // NON-NLS
+	}
+
+	private OpenMetricsStatisticsRenderer() {
+	}
+
+	/**
+	 * Renders all streams statistics metrics in OpenMetrics text format.
+	 *
+	 * @return OpenMetrics text format rendered streams statistics
+	 *
+	 * @see com.jkoolcloud.tnt4j.streams.inputs.TNTInputStreamStatistics#getAllMetrics()
+	 */
+	public static String render() {
+		return render(TNTInputStreamStatistics.getAllMetrics());
+	}
+
+	/**
+	 * Renders provided metrics registries metrics in OpenMetrics text format.
+	 *
+	 * @param registries
+	 *            metrics registries to render
+	 * @return OpenMetrics text format rendered metrics
+	 */
+	public static String render(Collection<MetricRegistry> registries) {
+		Map<String, Family> families = new TreeMap<>();
+		for (MetricRegistry registry : registries) {
+			for (Map.Entry<String, Metric> me : registry.getMetrics().entrySet()) {
+				collect(families, me.getKey(), me.getValue());
+			}
+		}
+
+		StringBuilder sb = new StringBuilder(families.size() * 128);
+		for (Family family : families.values()) {
+			if (family.samples.length() > 0) {
+				sb.append("# TYPE ").append(family.name).append(' ').append(family.type).append('\n'); // NON-NLS
+				sb.append(family.samples);
+			}
+		}
+		sb.append("# EOF\n"); // NON-NLS
+
+		return sb.toString();
+	}
+
+	private static void collect(Map<String, Family> families, String metricName, Metric metric) {
+		String[] nameTokens = metricName.split(":", 3); // NON-NLS
+		String labels;
+		String familyName;
+		if (nameTokens.length == 1) {
+			labels = "";
+			familyName = nameTokens[0];
+		} else {
+			labels = label(STREAM_LABEL, nameTokens[0]);
+			if (nameTokens.length == 2) {
+				familyName = nameTokens[1];
+			} else {
+				String scopeLabel = LABELED_SCOPES.get(nameTokens[1]);
+				if (scopeLabel == null) {
+					familyName = nameTokens[1] + '_' + nameTokens[2];
+				} else {
+					familyName = nameTokens[1];
+					labels += ',' + label(scopeLabel, nameTokens[2]);
+				}
+			}
+		}
+		familyName = FAMILY_PREFIX + sanitize(familyName);
+
+		if (metric instanceof Counter) {
+			long count = ((Counter) metric).getCount();
+			if (metricName.endsWith(TNTInputStreamStatistics.START_TIME_KEY)) {
+				family(families, familyName, "gauge").addSample("", labels, count); // NON-NLS
+			} else {
+				family(families, familyName, "counter").addSample("_total", labels, count); // NON-NLS
+			}
+		} else if (metric instanceof Meter) {
+			family(families, familyName, "counter").addSample("_total", labels, ((Meter) metric).getCount()); // NON-NLS
+		} else if (metric instanceof Gauge) {
+			Object value = ((Gauge<?>) metric).getValue();
+			if (value instanceof Boolean) {
+				value = (Boolean) value ? 1 : 0;
+			}
+			if (value instanceof Number) {
+				family(families, familyName, "gauge").addSample("", labels, (Number) value); // NON-NLS
+			}
+		} else if (metric instanceof Timer) {
+			Timer timer = (Timer) metric;
+			addSummary(family(families, familyName + "_seconds", "summary"), labels, timer.getSnapshot(), // NON-NLS
+					NANOS_IN_SECOND, timer.getCount());
+		} else if (metric instanceof Histogram) {
+			Histogram histogram = (Histogram) metric;
+			addSummary(family(families, familyName, "summary"), labels, histogram.getSnapshot(), 1.0, // NON-NLS
+					histogram.getCount());
+		}
+	}
+
+	private static void addSummary(Family family, String labels, Snapshot snapshot, double divider, long count) {
+		String qPrefix = labels.isEmpty() ? "" : labels + ',';
+		for (double q : QUANTILES) {
+			String qLabels = qPrefix + label("quantile", String.valueOf(q)); // NON-NLS
+			family.addSample("", qLabels, snapshot.getValue(q) / divider); // NON-NLS
+		}
+		family.addSample("_count", labels, count); // NON-NLS
+	}
+
+	/**
+	 * Returns metric family for provided name. If family with same name but of different type is already collected,
+	 * type name gets appended to family name.
+	 */
+	private static Family family(Map<String, Family> families, String name, String type) {
+		Family family = families.computeIfAbsent(name, n -> new Family(n, type));
+		if (!family.type.equals(type)) {
+			String typedName = name + '_' + type;
+			family = families.computeIfAbsent(typedName, n -> new Family(n, type));
+		}
+		return family;
+	}
+
+	/**
+	 * Makes valid OpenMetrics metric name from provided statistics metric name: all characters not allowed in metric
+	 * name are replaced by {@code '_'}.
+	 *
+	 * @param name
+	 *            statistics metric name
+	 * @return OpenMetrics metric name
+	 */
+	static String sanitize(String name) {
+		StringBuilder sb = new StringBuilder(name.length());
+		boolean lastUnderscore = false;
+		for (int i = 0; i < name.length(); i++) {
+			char ch = Character.toLowerCase(name.charAt(i));
+			boolean valid = (ch >= 'a' && ch <= 'z') || (ch >= '0' && ch <= '9');
+			if (valid) {
+				sb.append(ch);
+				lastUnderscore = false;
+			} else if (!lastUnderscore) {
+				sb.append('_');
+				lastUnderscore = true;
+			}
+		}
+		return sb.toString();
+	}
+
+	private static String label(String name, String value) {
+		StringBuilder sb = new StringBuilder(name.length() + value.length() + 3);
+		sb.append(name).append("=\""); // NON-NLS
+		for (int i = 0; i < value.length(); i++) {
+			char ch = value.charAt(i);
+			switch (ch) {
+			case '\\':
+				sb.append("\\\\"); // NON-NLS
+				break;
+			case '"':
+				sb.append("\\\""); // NON-NLS
+				break;
+			case '\n':
+				sb.append("\\n"); // NON-NLS
+				break;
+			default:
+				sb.append(ch);
+			}
+		}
+		return sb.append('"').toString();
+	}
+
+	private static String formatValue(Number value) {
+		if (value instanceof Double || value instanceof Float) {
+			double dv = value.doubleValue();
+			if (Double.isNaN(dv)) {
+				return "NaN"; // NON-NLS
+			}
+			if (Double.isInfinite(dv)) {
+				return dv > 0 ? "+Inf" : "-Inf"; // NON-NLS
+			}
+			return String.valueOf(dv);
+		}
+		return String.valueOf(value.longValue());
+	}
+
+	private static class Family {
+		private final String name;
+		private final String type;
+		private final StringBuilder samples = new StringBuilder();
+
+		private Family(String name, String type) {
+			this.name = name;
+			this.type = type;
+		}
+
+		private void addSample(String suffix, String labels, Number value) {
+			samples.append(name).append(suffix);
+			if (!labels.isEmpty()) {
+				samples.append('{').append(labels).append('}');
+			}
+			samples.append(' ').append(formatValue(value)).append('\n');
+		}
+	}
+}
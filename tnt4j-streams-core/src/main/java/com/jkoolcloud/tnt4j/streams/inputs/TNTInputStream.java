@@ -22,8 +22,9 @@ import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
 
 import org.apache.commons.collections4.CollectionUtils;
-import org.apache.commons.collections4.MapUtils;
 
+import com.codahale.metrics.Gauge;
+import com.codahale.metrics.MetricRegistry;
 import com.codahale.metrics.Timer;
 import com.jkoolcloud.tnt4j.core.OpLevel;
 import com.jkoolcloud.tnt4j.sink.EventSink;
@@ -73,7 +74,7 @@ import com.jkoolcloud.tnt4j.utils.SecurityUtils;
  * @param <O>
  *            the type of handled output data
  *
- * @version $Revision: 3 $
+ * @version $Revision: 6 $
  *
  * @see java.util.concurrent.ExecutorService
  * @see com.jkoolcloud.tnt4j.streams.outputs.TNTStreamOutput
@@ -103,7 +104,9 @@ public abstract class TNTInputStream<T, O> implements Runnable, NamedObject {
 
 	private final List<InputStreamListener> streamListeners = new ArrayList<>(3);
 	private final List<StreamTasksListener> streamTasksListeners = new ArrayList<>(3);
-	private final Map<StreamItemProcessingListener<Timer.Context>, StreamItemProcessingListener.Context<Timer.Context>> streamItemProcessingListeners = new HashMap<>();
+	private final List<StreamItemProcessingListener<Timer.Context>> streamItemProcessingListeners = new CopyOnWriteArrayList<>();
+	private final ThreadLocal<ItemProcessingContexts> nextItemContexts = new ThreadLocal<>();
+	private final ThreadLocal<ItemProcessingContexts> processItemContexts = new ThreadLocal<>();
 	private final List<StreamItemAccountingListener> streamItemAccountingListeners = new ArrayList<>(3);
 
 	private boolean useExecutorService = false;
@@ -121,6 +124,8 @@ public abstract class TNTInputStream<T, O> implements Runnable, NamedObject {
 	private int pingLogActivitiesDelay = -1;
 
 	private CustomProperties<String> customProperties = new CustomProperties<>(5);
+	private final Map<String, String> cfgProperties = new LinkedHashMap<>();
+	private int skipItemsCount = 0;
 
 	private Thread sh;
 
@@ -216,11 +221,21 @@ public abstract class TNTInputStream<T, O> implements Runnable, NamedObject {
 	public void setProperties(Collection<Map.Entry<String, String>> props) {
 		if (CollectionUtils.isNotEmpty(props)) {
 			for (Map.Entry<String, String> prop : props) {
+				cfgProperties.put(prop.getKey(), prop.getValue());
 				setProperty(prop.getKey(), prop.getValue());
 			}
 		}
 	}
 
+	/**
+	 * Returns configuration properties set for this stream using {@link #setProperties(java.util.Collection)}.
+	 *
+	 * @return unmodifiable map of stream configuration properties
+	 */
+	public Map<String, String> getConfiguredProperties() {
+		return Collections.unmodifiableMap(cfgProperties);
+	}
+
 	/**
 	 * Sets configuration property for this activity stream.
 	 *
@@ -354,6 +369,13 @@ public abstract class TNTInputStream<T, O> implements Runnable, NamedObject {
 			streamExecutorService = boundedExecutorModel ? getBoundedExecutorService(executorThreadsQty,
 					executorQueueDepth == -1 ? executorThreadsQty * 2 : executorQueueDepth,
 					executorRejectedTaskOfferTimeout) : getDefaultExecutorService(executorThreadsQty);
+
+			ThreadPoolExecutor tpe = (ThreadPoolExecutor) streamExecutorService;
+			MetricRegistry streamMetrics = TNTInputStreamStatistics.getMetrics(this);
+			Gauge<Integer> queueSizeGauge = () -> tpe.getQueue().size();
+			Gauge<Integer> activeThreadsGauge = tpe::getActiveCount;
+			streamMetrics.register(getName() + ":executor:queue size", queueSizeGauge); // NON-NLS
+			streamMetrics.register(getName() + ":executor:active threads", activeThreadsGauge); // NON-NLS
 		} else {
 			out.handleConsumerThread(isOwned() ? ownerThread : Thread.currentThread());
 		}
@@ -527,6 +549,17 @@ public abstract class TNTInputStream<T, O> implements Runnable, NamedObject {
 		return statistics.getCurrentActivity();
 	}
 
+	/**
+	 * Sets number of activity items to be skipped when stream starts. Skipped items are retrieved from stream input,
+	 * but not processed. It is used to resume streaming from checkpoint stored by other streams agent.
+	 *
+	 * @param skipItemsCount
+	 *            number of activity items to skip
+	 */
+	public void setSkipItemsCount(int skipItemsCount) {
+		this.skipItemsCount = skipItemsCount;
+	}
+
 	/**
 	 * Increments index of currently processed activity item.
 	 *
@@ -750,11 +783,7 @@ public abstract class TNTInputStream<T, O> implements Runnable, NamedObject {
 			}
 		}
 
-		synchronized (streamItemProcessingListeners) {
-			if (MapUtils.isNotEmpty(streamItemProcessingListeners)) {
-				streamItemProcessingListeners.clear();
-			}
-		}
+		streamItemProcessingListeners.clear();
 	}
 
 	private synchronized void shutdownExecutors() {
@@ -813,6 +842,10 @@ public abstract class TNTInputStream<T, O> implements Runnable, NamedObject {
 						if (!isHalted()) {
 							halt(false); // no more data items to process
 						}
+					} else if (skipItemsCount > 0) {
+						skipItemsCount--;
+						logger().log(OpLevel.TRACE, StreamsResources.getBundle(StreamsResources.RESOURCE_BUNDLE_NAME),
+								"TNTInputStream.item.skipped", name, item);
 					} else {
 						if (isExecutorServiceOff()) {
 							processActivityItem_(item, failureFlag);
@@ -1149,11 +1182,7 @@ public abstract class TNTInputStream<T, O> implements Runnable, NamedObject {
 			return;
 		}
 
-		synchronized (streamItemProcessingListeners) {
-			if (!streamItemProcessingListeners.containsKey(l)) {
-				streamItemProcessingListeners.put(l, null);
-			}
-		}
+		streamItemProcessingListeners.addIfAbsent(l);
 	}
 
 	/**
@@ -1163,58 +1192,80 @@ public abstract class TNTInputStream<T, O> implements Runnable, NamedObject {
 	 *            the {@code StreamItemProcessingListener} to be removed
 	 */
 	public void removeItemProcessingListener(StreamItemProcessingListener<Timer.Context> l) {
-		synchronized (streamItemProcessingListeners) {
-			if (l != null) {
-				streamItemProcessingListeners.remove(l);
-			}
+		if (l != null) {
+			streamItemProcessingListeners.remove(l);
 		}
 	}
 
 	/**
 	 * Notifies stream items processing listeners that stream is going to get next item to process.
+	 * <p>
+	 * Listeners returned processing contexts are bound to calling thread, so concurrently processed items do not share
+	 * them.
 	 */
 	protected void beforeNextItem() {
-		synchronized (streamItemProcessingListeners) {
-			for (Map.Entry<StreamItemProcessingListener<Timer.Context>, StreamItemProcessingListener.Context<Timer.Context>> entry : streamItemProcessingListeners
-					.entrySet()) {
-				entry.setValue(entry.getKey().beforeNextItem());
-			}
-		}
+		nextItemContexts.set(ItemProcessingContexts.beforeNextItem(streamItemProcessingListeners));
 	}
 
 	/**
 	 * Notifies stream items processing listeners that stream has got next item to process.
 	 */
 	protected void afterNextItem() {
-		synchronized (streamItemProcessingListeners) {
-			for (Map.Entry<StreamItemProcessingListener<Timer.Context>, StreamItemProcessingListener.Context<Timer.Context>> entry : streamItemProcessingListeners
-					.entrySet()) {
-				entry.getKey().afterNextItem(entry.getValue());
-			}
+		ItemProcessingContexts contexts = nextItemContexts.get();
+		if (contexts != null) {
+			nextItemContexts.remove();
+			contexts.afterNextItem();
 		}
 	}
 
 	/**
 	 * Notifies stream items processing listeners that stream is starting activity item processing/parsing.
+	 * <p>
+	 * Listeners returned processing contexts are bound to calling thread, so concurrently processed items do not share
+	 * them.
 	 */
 	protected void beforeProcessItem() {
-		synchronized (streamItemProcessingListeners) {
-			for (Map.Entry<StreamItemProcessingListener<Timer.Context>, StreamItemProcessingListener.Context<Timer.Context>> entry : streamItemProcessingListeners
-					.entrySet()) {
-				entry.setValue(entry.getKey().beforeProcessItem());
-			}
-		}
+		processItemContexts.set(ItemProcessingContexts.beforeProcessItem(streamItemProcessingListeners));
 	}
 
 	/**
 	 * Notifies stream items processing listeners that stream has completed activity item processing (parsing).
 	 */
 	protected void afterProcessItem() {
-		synchronized (streamItemProcessingListeners) {
-			for (Map.Entry<StreamItemProcessingListener<Timer.Context>, StreamItemProcessingListener.Context<Timer.Context>> entry : streamItemProcessingListeners
-					.entrySet()) {
-				entry.getKey().afterProcessItem(entry.getValue());
-			}
+		ItemProcessingContexts contexts = processItemContexts.get();
+		if (contexts != null) {
+			processItemContexts.remove();
+			contexts.afterProcessItem();
+		}
+	}
+
+	/**
+	 * Records activity item processing stage duration into stream statistics.
+	 *
+	 * @param stage
+	 *            item processing stage
+	 * @param startNanos
+	 *            stage start time in nanoseconds, as returned by {@link System#nanoTime()}
+	 */
+	public void recordStageTime(TNTInputStreamStatistics.Stage stage, long startNanos) {
+		TNTInputStreamStatistics stats = statistics;
+		if (stats != null) {
+			stats.recordStageTime(stage, System.nanoTime() - startNanos);
+		}
+	}
+
+	/**
+	 * Records activity data parsing outcome of parser named {@code parserName} into stream statistics.
+	 *
+	 * @param parserName
+	 *            parser name
+	 * @param matched
+	 *            flag indicating whether parser has produced activity entity from activity data
+	 */
+	public void recordParserResult(String parserName, boolean matched) {
+		TNTInputStreamStatistics stats = statistics;
+		if (stats != null) {
+			stats.onParserResult(String.valueOf(parserName), matched);
 		}
 	}
 
@@ -1396,6 +1447,50 @@ public abstract class TNTInputStream<T, O> implements Runnable, NamedObject {
 		return passStr;
 	}
 
+	/**
+	 * Stream items processing listeners contexts bound to single activity item processing step. Contexts are kept by
+	 * processing thread, so listeners are not sharing any state between concurrently processed items.
+	 */
+	private static final class ItemProcessingContexts {
+		private final StreamItemProcessingListener<Timer.Context>[] listeners;
+		private final StreamItemProcessingListener.Context<Timer.Context>[] contexts;
+
+		@SuppressWarnings("unchecked")
+		private ItemProcessingContexts(List<StreamItemProcessingListener<Timer.Context>> listeners) {
+			// copy-on-write list array snapshot is consistent even if listeners are added/removed meanwhile
+			this.listeners = listeners.toArray(new StreamItemProcessingListener[0]);
+			this.contexts = new StreamItemProcessingListener.Context[this.listeners.length];
+		}
+
+		static ItemProcessingContexts beforeNextItem(List<StreamItemProcessingListener<Timer.Context>> listeners) {
+			ItemProcessingContexts ipc = new ItemProcessingContexts(listeners);
+			for (int i = 0; i < ipc.listeners.length; i++) {
+				ipc.contexts[i] = ipc.listeners[i].beforeNextItem();
+			}
+			return ipc;
+		}
+
+		void afterNextItem() {
+			for (int i = 0; i < listeners.length; i++) {
+				listeners[i].afterNextItem(contexts[i]);
+			}
+		}
+
+		static ItemProcessingContexts beforeProcessItem(List<StreamItemProcessingListener<Timer.Context>> listeners) {
+			ItemProcessingContexts ipc = new ItemProcessingContexts(listeners);
+			for (int i = 0; i < ipc.listeners.length; i++) {
+				ipc.contexts[i] = ipc.listeners[i].beforeProcessItem();
+			}
+			return ipc;
+		}
+
+		void afterProcessItem() {
+			for (int i = 0; i < listeners.length; i++) {
+				listeners[i].afterProcessItem(contexts[i]);
+			}
+		}
+	}
+
 	private class ActivityItemProcessingTask implements Runnable {
 		private T item;
 		private AtomicBoolean failureFlag;
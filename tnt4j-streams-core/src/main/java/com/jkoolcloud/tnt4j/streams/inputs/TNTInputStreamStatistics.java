@@ -16,10 +16,11 @@
 
 package com.jkoolcloud.tnt4j.streams.inputs;
 
+import java.util.ArrayList;
 import java.util.Collection;
-import java.util.HashMap;
 import java.util.Hashtable;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.TimeUnit;
 
 import javax.management.MalformedObjectNameException;
@@ -35,9 +36,12 @@ import com.codahale.metrics.jvm.JmxAttributeGauge;
 import com.jkoolcloud.tnt4j.core.*;
 import com.jkoolcloud.tnt4j.core.Snapshot;
 import com.jkoolcloud.tnt4j.sink.EventSink;
+import com.jkoolcloud.tnt4j.streams.configure.StreamsConfigMetrics;
 import com.jkoolcloud.tnt4j.streams.fields.ActivityInfo;
 import com.jkoolcloud.tnt4j.streams.outputs.OutputStreamListener;
 import com.jkoolcloud.tnt4j.streams.utils.Duration;
+import com.jkoolcloud.tnt4j.streams.utils.HdrHistogramReservoir;
+import com.jkoolcloud.tnt4j.streams.utils.HostResolver;
 import com.jkoolcloud.tnt4j.streams.utils.LoggerUtils;
 import com.jkoolcloud.tnt4j.streams.utils.StreamsCache;
 import com.jkoolcloud.tnt4j.streams.utils.Utils;
@@ -45,6 +49,11 @@ import com.jkoolcloud.tnt4j.tracker.TrackingEvent;
 
 /**
  * Class accounting running stream(s) statistics covering processing counts/timing and other various metrics.
+ * <p>
+ * Timers are backed by {@link com.jkoolcloud.tnt4j.streams.utils.HdrHistogramReservoir} and counters by
+ * {@link java.util.concurrent.atomic.LongAdder}, so accounting from multiple stream executor threads does not contend.
+ * Item processing is also timed per processing stage (see {@link Stage}), and stage timers percentiles are exposed over
+ * JMX as {@code type=<stream>,scope=stage,value=<stage>} MBeans.
  * 
  * @version $Revision: 1 $
  * 
@@ -60,15 +69,19 @@ public class TNTInputStreamStatistics
 	static final String START_TIME_KEY = ":start time"; // NON-NLS
 
 	private static TNTInputStreamStatistics delegate;
-	private static Map<TNTInputStream<?, ?>, TNTInputStreamStatistics> streamStatistics = new HashMap<>();
+	private static Map<TNTInputStream<?, ?>, TNTInputStreamStatistics> streamStatistics = new ConcurrentHashMap<>();
+
+	private static final MetricRegistry.MetricSupplier<Timer> TIMER_SUPPLIER = () -> new Timer(
+			new HdrHistogramReservoir());
 
 	private final MetricRegistry metrics = new MetricRegistry();
-	private final HashMap<Object, Timer.Context> pendingOutputs = new HashMap<>();
+	private final Map<Object, Timer.Context> pendingOutputs = new ConcurrentHashMap<>();
 	private final JmxReporter jmxReporter = JmxReporter.forRegistry(metrics).inDomain("com.jkoolcloud.tnt4j.streams") // NON-NLS
 			.createsObjectNamesWith(new StreamsStatsObjectNameFactory()).build();
 	private TNTInputStream<?, ?> refStream = null;
+	private final String streamName;
 
-	private Map<String, StreamTotals> streamTotalsMap = new HashMap<>();
+	private Map<String, StreamTotals> streamTotalsMap = new ConcurrentHashMap<>();
 	private Integer reporterCount;
 
 	private Slf4jReporter sfl4jReporter;
@@ -76,6 +89,8 @@ public class TNTInputStreamStatistics
 	private Timer streamsItemsTimer;
 	private Timer processingTimer;
 	private Timer outputTimer;
+	private final Timer[] stageTimers = new Timer[Stage.values().length];
+	private final Map<String, Counter[]> parserCounters = new ConcurrentHashMap<>();
 	private Counter skippedActivitiesCount;
 	private Counter filteredActivitiesCount;
 	private Counter lostActivitiesCount;
@@ -101,6 +116,7 @@ public class TNTInputStreamStatistics
 			streamName = stream.getName();
 			refStream = stream;
 		}
+		this.streamName = streamName;
 
 		if (stream == null) {
 			try {
@@ -124,6 +140,12 @@ public class TNTInputStreamStatistics
 						return StreamsCache.cacheSize() + "/" + StreamsCache.cacheMaxSize(); // NON-NLS
 					}
 				});
+				for (Map.Entry<String, Metric> dnsMetric : HostResolver.getMetrics().getMetrics().entrySet()) {
+					metrics.register(streamName + ":dns:" + dnsMetric.getKey(), dnsMetric.getValue()); // NON-NLS
+				}
+				for (Map.Entry<String, Metric> cfgMetric : StreamsConfigMetrics.getMetrics().getMetrics().entrySet()) {
+					metrics.register(streamName + ":config:" + cfgMetric.getKey(), cfgMetric.getValue()); // NON-NLS
+				}
 			} catch (Exception e) {
 			}
 		} else {
@@ -138,9 +160,14 @@ public class TNTInputStreamStatistics
 		}
 
 		jmxReporter.start();
-		streamsItemsTimer = metrics.timer(streamName + ":input timer"); // NON-NLS
-		processingTimer = metrics.timer(streamName + ":processing timer"); // NON-NLS
-		outputTimer = metrics.timer(streamName + ":output:timer"); // NON-NLS
+		streamsItemsTimer = metrics.timer(streamName + ":input timer", TIMER_SUPPLIER); // NON-NLS
+		processingTimer = metrics.timer(streamName + ":processing timer", TIMER_SUPPLIER); // NON-NLS
+		outputTimer = metrics.timer(streamName + ":output:timer", TIMER_SUPPLIER); // NON-NLS
+		for (Stage stage : Stage.values()) {
+			stageTimers[stage.ordinal()] = stage == Stage.INPUT_WAIT
+					? metrics.register(streamName + ":stage:" + stage.metricName, streamsItemsTimer) // NON-NLS
+					: metrics.timer(streamName + ":stage:" + stage.metricName, TIMER_SUPPLIER); // NON-NLS
+		}
 
 		skippedActivitiesCount = metrics.counter(streamName + ":skipped entities"); // NON-NLS
 		filteredActivitiesCount = metrics.counter(streamName + ":filtered entities"); // NON-NLS
@@ -194,13 +221,7 @@ public class TNTInputStreamStatistics
 	 * @return statistics accounting module instance
 	 */
 	public static TNTInputStreamStatistics getStreamSpecificStatisticsModule(TNTInputStream<?, ?> stream) {
-		TNTInputStreamStatistics tntInputStreamStatistics = streamStatistics.get(stream);
-		if (tntInputStreamStatistics == null) {
-			TNTInputStreamStatistics newStatisticsForStream = new TNTInputStreamStatistics(stream);
-			streamStatistics.put(stream, newStatisticsForStream);
-			return newStatisticsForStream;
-		}
-		return tntInputStreamStatistics;
+		return streamStatistics.computeIfAbsent(stream, TNTInputStreamStatistics::new);
 	}
 
 	/**
@@ -245,6 +266,49 @@ public class TNTInputStreamStatistics
 		onItemProcessed();
 	}
 
+	/**
+	 * Records activity item processing stage duration. For stream specific statistics module, duration is also
+	 * recorded into aggregated statistics module for all running streams.
+	 *
+	 * @param stage
+	 *            item processing stage
+	 * @param durationNanos
+	 *            stage duration in nanoseconds
+	 */
+	public void recordStageTime(Stage stage, long durationNanos) {
+		stageTimers[stage.ordinal()].update(durationNanos, TimeUnit.NANOSECONDS);
+		if (refStream != null) {
+			getMainStatisticsModule().stageTimers[stage.ordinal()].update(durationNanos, TimeUnit.NANOSECONDS);
+		}
+	}
+
+	/**
+	 * Returns timer of activity item processing stage.
+	 *
+	 * @param stage
+	 *            item processing stage
+	 * @return stage timer instance
+	 */
+	public Timer getStageTimer(Stage stage) {
+		return stageTimers[stage.ordinal()];
+	}
+
+	/**
+	 * Accounts activity data parsing outcome of parser named {@code parserName}. Parser outcome counters are named
+	 * {@code <stream>:parser matched:<parser>} and {@code <stream>:parser failed:<parser>}.
+	 *
+	 * @param parserName
+	 *            parser name
+	 * @param matched
+	 *            flag indicating whether parser has produced activity entity from activity data
+	 */
+	public void onParserResult(String parserName, boolean matched) {
+		Counter[] counters = parserCounters.computeIfAbsent(parserName,
+				pn -> new Counter[] { metrics.counter(streamName + ":parser matched:" + pn), // NON-NLS
+						metrics.counter(streamName + ":parser failed:" + pn) }); // NON-NLS
+		counters[matched ? 0 : 1].inc();
+	}
+
 	@Override
 	public void onItemLost() {
 		getMainStatisticsModule().lostActivitiesCount.inc();
@@ -369,11 +433,7 @@ public class TNTInputStreamStatistics
 	}
 
 	private void updateTotalsEntry(TNTInputStream<?, ?> stream, long bytes, int activities) {
-		StreamTotals st = streamTotalsMap.get(stream.getName());
-		if (st == null) {
-			st = new StreamTotals();
-			streamTotalsMap.put(stream.getName(), st);
-		}
+		StreamTotals st = streamTotalsMap.computeIfAbsent(stream.getName(), k -> new StreamTotals());
 
 		st.bytesTotalValue = bytes;
 		st.activitiesTotalValue = activities;
@@ -493,6 +553,20 @@ public class TNTInputStreamStatistics
 		return getStatisticsModule(null).metrics;
 	}
 
+	/**
+	 * Returns metrics registries of aggregated statistics module and all running streams statistics modules.
+	 *
+	 * @return collection of metrics registries
+	 */
+	public static Collection<MetricRegistry> getAllMetrics() {
+		Collection<MetricRegistry> registries = new ArrayList<>(streamStatistics.size() + 1);
+		registries.add(getMetrics());
+		for (TNTInputStreamStatistics ss : streamStatistics.values()) {
+			registries.add(ss.metrics);
+		}
+		return registries;
+	}
+
 	/**
 	 * Unbinds stream instance statistics accounting.
 	 *
@@ -569,7 +643,52 @@ public class TNTInputStreamStatistics
 	}
 
 	private static class StreamTotals {
-		private Long bytesTotalValue = 0L;
-		private Integer activitiesTotalValue = 0;
+		private volatile long bytesTotalValue = 0L;
+		private volatile int activitiesTotalValue = 0;
+	}
+
+	/**
+	 * Activity item processing stages timed by statistics module.
+	 */
+	public enum Stage {
+		/**
+		 * Waiting for next activity item from input.
+		 */
+		INPUT_WAIT("input wait"), // NON-NLS
+		/**
+		 * Activity data pre-parsing.
+		 */
+		PRE_PARSE("pre-parse"), // NON-NLS
+		/**
+		 * Activity data parsing into activity fields.
+		 */
+		PARSE("parse"), // NON-NLS
+		/**
+		 * Parsed activity filtering.
+		 */
+		FILTER("filter"), // NON-NLS
+		/**
+		 * Building trackable entities from parsed activity.
+		 */
+		BUILD_TRACKABLE("build trackable"), // NON-NLS
+		/**
+		 * Writing trackable entities to sink.
+		 */
+		SINK_WRITE("sink write"); // NON-NLS
+
+		private final String metricName;
+
+		private Stage(String metricName) {
+			this.metricName = metricName;
+		}
+
+		/**
+		 * Returns stage timer metric name.
+		 *
+		 * @return stage timer metric name
+		 */
+		public String metricName() {
+			return metricName;
+		}
 	}
 }
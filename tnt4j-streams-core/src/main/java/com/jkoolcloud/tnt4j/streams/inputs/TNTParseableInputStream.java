@@ -17,11 +17,10 @@
 package com.jkoolcloud.tnt4j.streams.inputs;
 
 import java.text.ParseException;
-import java.util.Arrays;
-import java.util.LinkedHashSet;
-import java.util.Set;
+import java.util.*;
 import java.util.concurrent.atomic.AtomicBoolean;
 
+import org.apache.commons.collections4.CollectionUtils;
 import org.apache.commons.lang3.BooleanUtils;
 import org.apache.commons.lang3.StringUtils;
 
@@ -57,14 +56,18 @@ import com.jkoolcloud.tnt4j.streams.utils.Utils;
  * @param <T>
  *            the type of handled RAW activity data
  *
- * @version $Revision: 1 $
+ * @version $Revision: 2 $
  */
 public abstract class TNTParseableInputStream<T> extends TNTInputStream<T, ActivityInfo> {
 
 	/**
-	 * Set of parsers being used by stream.
+	 * Set of parsers being used by stream. Set is immutable: parsers are added or replaced by swapping whole set
+	 * reference, so every activity data item gets parsed using consistent parsers graph. Subclasses shall use
+	 * {@link #getParserReferences()}, {@link #addParser(ParserReference)} and {@link #replaceParsers(Collection)} to
+	 * access it.
 	 */
-	protected final Set<ParserReference> parsersSet = new LinkedHashSet<>();
+	private volatile Set<ParserReference> parsersSet = Collections.emptySet();
+	private final Object parsersLock = new Object();
 
 	private boolean haltIfNoParser = false;
 	private String groupingActivityName = null;
@@ -162,7 +165,46 @@ public abstract class TNTParseableInputStream<T> extends TNTInputStream<T, Activ
 			return;
 		}
 
-		parsersSet.add(parserRef);
+		synchronized (parsersLock) {
+			Set<ParserReference> parsers = new LinkedHashSet<>(parsersSet);
+			parsers.add(parserRef);
+			parsersSet = Collections.unmodifiableSet(parsers);
+		}
+	}
+
+	/**
+	 * Atomically replaces parsers being used by this stream with provided parser references set. Stream input and
+	 * buffered activity data items are left untouched: activity data items already being parsed are completed using
+	 * former parsers, while all subsequent items are parsed using new ones.
+	 *
+	 * @param parserRefs
+	 *            collection of parser references to use
+	 * @throws IllegalArgumentException
+	 *             if parser references collection is {@code null} or empty
+	 */
+	public void replaceParsers(Collection<ParserReference> parserRefs) throws IllegalArgumentException {
+		if (CollectionUtils.isEmpty(parserRefs)) {
+			throw new IllegalArgumentException(StreamsResources.getStringFormatted(
+					StreamsResources.RESOURCE_BUNDLE_NAME, "TNTInputStream.has.no.parsers.bound", getName()));
+		}
+
+		Set<ParserReference> oldParsers;
+		synchronized (parsersLock) {
+			oldParsers = parsersSet;
+			parsersSet = Collections.unmodifiableSet(new LinkedHashSet<>(parserRefs));
+		}
+
+		logger().log(OpLevel.INFO, StreamsResources.getBundle(StreamsResources.RESOURCE_BUNDLE_NAME),
+				"TNTInputStream.parsers.replaced", getName(), oldParsers.size(), parserRefs.size());
+	}
+
+	/**
+	 * Returns set of parser references being used by this stream.
+	 *
+	 * @return unmodifiable set of parser references
+	 */
+	public Set<ParserReference> getParserReferences() {
+		return parsersSet;
 	}
 
 	/**
@@ -244,7 +286,8 @@ public abstract class TNTParseableInputStream<T> extends TNTInputStream<T, Activ
 			pData = new CommonActivityData<>(data);
 		}
 
-		for (ParserReference pRef : parsersSet) {
+		Set<ParserReference> parsers = parsersSet;
+		for (ParserReference pRef : parsers) {
 			boolean dataMatch = pRef.getParser().isDataClassSupported(pData.getData());
 			Boolean tagsMatch = null;
 			Boolean expMatch = null;
@@ -265,7 +308,14 @@ public abstract class TNTParseableInputStream<T> extends TNTInputStream<T, Activ
 					"TNTInputStream.parser.match", getName(), pRef, dataMatch, tagsMatch == null ? "----" : tagsMatch, // NON-NLS
 					expMatch == null ? "----" : expMatch); // NON-NLS
 			if (parserMatch) {
-				ActivityInfo ai = pRef.getParser().parse(this, data);
+				ActivityInfo ai;
+				try {
+					ai = pRef.getParser().parse(this, data);
+				} catch (ParseException | RuntimeException exc) {
+					recordParserResult(pRef.getParser().getName(), false);
+					throw exc;
+				}
+				recordParserResult(pRef.getParser().getName(), ai != null);
 				if (ai != null) {
 					return ai;
 				}
@@ -65,6 +65,21 @@ public interface AgentMBean {
 	 */
 	void restart(String names);
 
+	/**
+	 * Reloads all running streams configuration without restarting streams, where possible.
+	 */
+	void reloadAll();
+
+	/**
+	 * Reloads set of running streams configuration without restarting streams, where possible. Names for multiple
+	 * streams can be provided using delimiter symbol
+	 * {@value com.jkoolcloud.tnt4j.streams.utils.StreamsConstants#DEFAULT_VALUES_DELIM}.
+	 *
+	 * @param names
+	 *            set of stream names to reload
+	 */
+	void reload(String names);
+
 	/**
 	 * Returns array of running stream names.
 	 * 
@@ -0,0 +1,204 @@
+/*
+ * Copyright 2014-2023 JKOOL, LLC.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.jkoolcloud.tnt4j.streams.management;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.commons.lang3.StringUtils;
+import org.apache.hc.core5.http.*;
+import org.apache.hc.core5.http.impl.bootstrap.HttpServer;
+import org.apache.hc.core5.http.impl.bootstrap.ServerBootstrap;
+import org.apache.hc.core5.http.io.HttpRequestHandler;
+import org.apache.hc.core5.http.io.SocketConfig;
+import org.apache.hc.core5.http.io.entity.ByteArrayEntity;
+import org.apache.hc.core5.http.protocol.HttpContext;
+import org.apache.hc.core5.io.CloseMode;
+
+import com.jkoolcloud.tnt4j.core.OpLevel;
+import com.jkoolcloud.tnt4j.sink.EventSink;
+import com.jkoolcloud.tnt4j.streams.inputs.OpenMetricsStatisticsRenderer;
+import com.jkoolcloud.tnt4j.streams.inputs.TNTInputStream;
+import com.jkoolcloud.tnt4j.streams.utils.LoggerUtils;
+import com.jkoolcloud.tnt4j.streams.utils.StreamsResources;
+import com.jkoolcloud.tnt4j.streams.utils.Utils;
+
+/**
+ * Embedded HTTP server exposing streams statistics over {@value #METRICS_PATH} endpoint in OpenMetrics text format,
+ * suitable to be scraped by Prometheus and compatible monitoring systems.
+ * <p>
+ * Endpoint is enabled by setting system property {@value #PROP_PORT} to HTTP server listening port. Scrape response is
+ * served from snapshot rendered periodically by dedicated thread, so scrape requests do not walk metrics registries.
+ * Snapshot rendering period in seconds can be set using system property {@value #PROP_REFRESH_PERIOD}. Default value
+ * - {@value #DEFAULT_REFRESH_PERIOD}.
+ *
+ * @version $Revision: 1 $
+ *
+ * @see com.jkoolcloud.tnt4j.streams.inputs.OpenMetricsStatisticsRenderer
+ */
+public class MetricsHttpEndpoint implements HttpRequestHandler {
+	private static final EventSink LOGGER = LoggerUtils.getLoggerSink(MetricsHttpEndpoint.class);
+
+	/**
+	 * System property name defining metrics endpoint HTTP server listening port.
+	 */
+	public static final String PROP_PORT = "com.jkoolcloud.tnt4j.streams.metrics.port"; // NON-NLS
+	/**
+	 * System property name defining metrics snapshot rendering period in seconds.
+	 */
+	public static final String PROP_REFRESH_PERIOD = "com.jkoolcloud.tnt4j.streams.metrics.refresh.period"; // NON-NLS
+	/**
+	 * Constant defining default metrics snapshot rendering period in seconds.
+	 */
+	public static final long DEFAULT_REFRESH_PERIOD = 5;
+	/**
+	 * Constant defining metrics endpoint request path.
+	 */
+	public static final String METRICS_PATH = "/metrics"; // NON-NLS
+	/**
+	 * Constant defining metrics endpoint response content type.
+	 */
+	public static final String CONTENT_TYPE = "application/openmetrics-text; version=1.0.0; charset=utf-8"; // NON-NLS
+
+	private static MetricsHttpEndpoint endpoint;
+
+	private final int port;
+	private final long refreshPeriod;
+	private HttpServer server;
+	private ScheduledExecutorService refresher;
+	private volatile byte[] snapshot;
+
+	/**
+	 * Constructs a new MetricsHttpEndpoint.
+	 *
+	 * @param port
+	 *            HTTP server listening port, {@code 0} - to use any free port
+	 * @param refreshPeriod
+	 *            metrics snapshot rendering period in seconds
+	 */
+	public MetricsHttpEndpoint(int port, long refreshPeriod) {
+		this.port = port;
+		this.refreshPeriod = refreshPeriod <= 0 ? DEFAULT_REFRESH_PERIOD : refreshPeriod;
+	}
+
+	/**
+	 * Starts metrics endpoint if system property {@value #PROP_PORT} is defined.
+	 */
+	public static synchronized void startEndpoint() {
+		String portStr = System.getProperty(PROP_PORT);
+		if (endpoint != null || StringUtils.isEmpty(portStr)) {
+			return;
+		}
+
+		try {
+			long period = Long
+					.parseLong(System.getProperty(PROP_REFRESH_PERIOD, String.valueOf(DEFAULT_REFRESH_PERIOD)));
+			MetricsHttpEndpoint mhe = new MetricsHttpEndpoint(Integer.parseInt(portStr.trim()), period);
+			mhe.start();
+			endpoint = mhe;
+		} catch (Exception exc) {
+			Utils.logThrowable(LOGGER, OpLevel.WARNING,
+					StreamsResources.getBundle(StreamsResources.RESOURCE_BUNDLE_NAME),
+					"MetricsHttpEndpoint.start.failed", portStr, exc);
+		}
+	}
+
+	/**
+	 * Stops metrics endpoint if it is running.
+	 */
+	public static synchronized void stopEndpoint() {
+		if (endpoint != null) {
+			endpoint.stop();
+			endpoint = null;
+		}
+	}
+
+	/**
+	 * Starts HTTP server and metrics snapshot rendering thread.
+	 *
+	 * @throws IOException
+	 *             if HTTP server fails to start
+	 */
+	public synchronized void start() throws IOException {
+		refresh();
+
+		SocketConfig socketConfig = SocketConfig.custom().setSoTimeout(30, TimeUnit.SECONDS).setTcpNoDelay(true)
+				.build();
+		server = ServerBootstrap.bootstrap().setListenerPort(port).setSocketConfig(socketConfig)
+				.register(METRICS_PATH, this).create();
+		server.start();
+
+		refresher = Executors.newSingleThreadScheduledExecutor(
+				new TNTInputStream.StreamsThreadFactory("MetricsHttpEndpointRefreshThread-")); // NON-NLS
+		refresher.scheduleWithFixedDelay(this::refresh, refreshPeriod, refreshPeriod, TimeUnit.SECONDS);
+
+		LOGGER.log(OpLevel.INFO, StreamsResources.getBundle(StreamsResources.RESOURCE_BUNDLE_NAME),
+				"MetricsHttpEndpoint.started", String.valueOf(getPort()), METRICS_PATH, refreshPeriod);
+	}
+
+	/**
+	 * Stops HTTP server and metrics snapshot rendering thread.
+	 */
+	public synchronized void stop() {
+		if (refresher != null) {
+			refresher.shutdownNow();
+			refresher = null;
+		}
+		if (server != null) {
+			server.close(CloseMode.GRACEFUL);
+			server = null;
+		}
+	}
+
+	/**
+	 * Returns HTTP server listening port.
+	 *
+	 * @return HTTP server listening port
+	 */
+	public int getPort() {
+		return server == null ? port : server.getLocalPort();
+	}
+
+	/**
+	 * Renders streams statistics metrics snapshot served to scrape requests.
+	 */
+	void refresh() {
+		try {
+			snapshot = OpenMetricsStatisticsRenderer.render().getBytes(StandardCharsets.UTF_8);
+		} catch (Throwable exc) {
+			Utils.logThrowable(LOGGER, OpLevel.WARNING,
+					StreamsResources.getBundle(StreamsResources.RESOURCE_BUNDLE_NAME),
+					"MetricsHttpEndpoint.render.failed", exc);
+		}
+	}
+
+	@Override
+	public void handle(ClassicHttpRequest request, ClassicHttpResponse response, HttpContext context)
+			throws HttpException, IOException {
+		if (!Method.GET.isSame(request.getMethod()) && !Method.HEAD.isSame(request.getMethod())) {
+			response.setCode(HttpStatus.SC_METHOD_NOT_ALLOWED);
+			return;
+		}
+
+		response.setCode(HttpStatus.SC_OK);
+		response.setHeader(HttpHeaders.CONTENT_TYPE, CONTENT_TYPE);
+		response.setEntity(new ByteArrayEntity(snapshot, null));
+	}
+}
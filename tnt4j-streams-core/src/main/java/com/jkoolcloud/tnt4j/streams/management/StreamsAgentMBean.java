@@ -103,6 +103,16 @@ public class StreamsAgentMBean extends StandardMBean implements AgentMBean {
 		StreamsAgent.restartStreams(splitNames(names));
 	}
 
+	@Override
+	public void reloadAll() {
+		StreamsAgent.reloadStreams();
+	}
+
+	@Override
+	public void reload(String names) {
+		StreamsAgent.reloadStreams(splitNames(names));
+	}
+
 	@Override
 	public String[] getRunningStreamNames() {
 		Collection<String> x = StreamsAgent.getRunningStreamNames();
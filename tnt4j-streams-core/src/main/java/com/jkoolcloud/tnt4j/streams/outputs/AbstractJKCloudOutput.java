@@ -19,6 +19,7 @@ package com.jkoolcloud.tnt4j.streams.outputs;
 import java.io.IOException;
 import java.io.Reader;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.concurrent.TimeUnit;
 
@@ -43,6 +44,7 @@ import com.jkoolcloud.tnt4j.streams.configure.zookeeper.ZKConfigManager;
 import com.jkoolcloud.tnt4j.streams.inputs.InputStreamEventsAdapter;
 import com.jkoolcloud.tnt4j.streams.inputs.StreamStatus;
 import com.jkoolcloud.tnt4j.streams.inputs.TNTInputStream;
+import com.jkoolcloud.tnt4j.streams.inputs.TNTInputStreamStatistics;
 import com.jkoolcloud.tnt4j.streams.utils.StreamsResources;
 import com.jkoolcloud.tnt4j.streams.utils.StreamsThread;
 import com.jkoolcloud.tnt4j.streams.utils.Utils;
@@ -76,7 +78,7 @@ import com.jkoolcloud.tnt4j.tracker.TrackingEvent;
  * @param <O>
  *            the type of outgoing activity data package to be sent to jKoolCloud
  *
- * @version $Revision: 2 $
+ * @version $Revision: 3 $
  */
 public abstract class AbstractJKCloudOutput<T, O> extends AbstractTNTStreamOutput<T> implements SinkErrorListener {
 
@@ -164,6 +166,20 @@ public abstract class AbstractJKCloudOutput<T, O> extends AbstractTNTStreamOutpu
 		return tnt4jProperties.put(key, value);
 	}
 
+	/**
+	 * {@inheritDoc}
+	 * <p>
+	 * Returned map also contains TNT4J configuration properties added for this output.
+	 */
+	@Override
+	public Map<String, ?> getConfiguredProperties() {
+		Map<String, Object> props = new LinkedHashMap<>(super.getConfiguredProperties());
+		if (tnt4jProperties != null) {
+			props.put(OutputProperties.PROP_TNT4J_PROPERTY, new HashMap<>(tnt4jProperties));
+		}
+		return props;
+	}
+
 	/**
 	 * {@inheritDoc}
 	 *
@@ -522,10 +538,12 @@ public abstract class AbstractJKCloudOutput<T, O> extends AbstractTNTStreamOutpu
 			thread = (StreamsThread) Thread.currentThread();
 		}
 
+		long writeStart = System.nanoTime();
 		int retryAttemptsCount = 0;
 		do {
 			try {
 				sendActivity(tracker, activityData);
+				recordStageTime(TNTInputStreamStatistics.Stage.SINK_WRITE, writeStart);
 
 				if (retryAttemptsCount > 0) {
 					logger().log(OpLevel.INFO, StreamsResources.getBundle(StreamsResources.RESOURCE_BUNDLE_NAME),
@@ -1,14 +1,13 @@
 package com.jkoolcloud.tnt4j.streams.outputs;
 
-import java.util.ArrayList;
-import java.util.Collection;
-import java.util.Map;
+import java.util.*;
 
 import org.apache.commons.collections4.CollectionUtils;
 
 import com.jkoolcloud.tnt4j.core.Trackable;
 import com.jkoolcloud.tnt4j.sink.EventSink;
 import com.jkoolcloud.tnt4j.streams.inputs.TNTInputStream;
+import com.jkoolcloud.tnt4j.streams.inputs.TNTInputStreamStatistics;
 
 public abstract class AbstractTNTStreamOutput<T> implements TNTStreamOutput<T> {
 
@@ -17,6 +16,7 @@ public abstract class AbstractTNTStreamOutput<T> implements TNTStreamOutput<T> {
 
 	private boolean closed = false;
 	private Collection<OutputStreamListener> outputListeners;
+	private final Map<String, Object> cfgProperties = new LinkedHashMap<>();
 
 	protected AbstractTNTStreamOutput() {
 	}
@@ -42,6 +42,20 @@ public abstract class AbstractTNTStreamOutput<T> implements TNTStreamOutput<T> {
 		return stream;
 	}
 
+	/**
+	 * Records activity item processing stage duration into bound stream statistics.
+	 *
+	 * @param stage
+	 *            item processing stage
+	 * @param startNanos
+	 *            stage start time in nanoseconds, as returned by {@link System#nanoTime()}
+	 */
+	protected void recordStageTime(TNTInputStreamStatistics.Stage stage, long startNanos) {
+		if (stream != null) {
+			stream.recordStageTime(stage, startNanos);
+		}
+	}
+
 	/**
 	 * Returns output name value.
 	 *
@@ -67,11 +81,21 @@ public abstract class AbstractTNTStreamOutput<T> implements TNTStreamOutput<T> {
 	public void setProperties(Collection<Map.Entry<String, String>> props) {
 		if (CollectionUtils.isNotEmpty(props)) {
 			for (Map.Entry<String, String> prop : props) {
+				cfgProperties.put(prop.getKey(), prop.getValue());
 				setProperty(prop.getKey(), prop.getValue());
 			}
 		}
 	}
 
+	/**
+	 * Returns configuration properties set for this output using {@link #setProperties(java.util.Collection)}.
+	 *
+	 * @return unmodifiable map of output configuration properties
+	 */
+	public Map<String, ?> getConfiguredProperties() {
+		return Collections.unmodifiableMap(cfgProperties);
+	}
+
 	@Override
 	public boolean isClosed() {
 		return closed;
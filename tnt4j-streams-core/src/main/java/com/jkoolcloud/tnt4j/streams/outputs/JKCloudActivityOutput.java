@@ -33,6 +33,8 @@ import com.jkoolcloud.tnt4j.source.Source;
 import com.jkoolcloud.tnt4j.source.SourceFactory;
 import com.jkoolcloud.tnt4j.streams.configure.OutputProperties;
 import com.jkoolcloud.tnt4j.streams.fields.ActivityInfo;
+import com.jkoolcloud.tnt4j.streams.inputs.TNTInputStreamStatistics;
+import com.jkoolcloud.tnt4j.streams.utils.HostResolver;
 import com.jkoolcloud.tnt4j.streams.utils.LoggerUtils;
 import com.jkoolcloud.tnt4j.streams.utils.StreamsConstants;
 import com.jkoolcloud.tnt4j.streams.utils.Utils;
@@ -50,6 +52,15 @@ import com.jkoolcloud.tnt4j.tracker.TrackingEvent;
  * <li>ResolveServerFromDNS - flag indicating whether to resolve activity entity host name/IP from DNS server. Default
  * value - {@code false}. (Optional, deprecated - use * parser metadata field
  * {@value StreamsConstants#META_FIELD_RESOLVE_SERVER} to set value for individual entities)</li>
+ * <li>ResolveServerTimeout - time in milliseconds to wait for activity entity host name/IP DNS lookup to complete. If
+ * lookup does not complete in time, entity is recorded having host IP as host name, while lookup result gets cached for
+ * later entities. Default value - {@code 100}. (Optional)</li>
+ * <li>ResolveServerCacheSize - max. number of host names/IPs kept in DNS lookup results cache. Cache is shared by all
+ * outputs. Default value - {@code 10000}. (Optional)</li>
+ * <li>ResolveServerCacheTTL - DNS lookup results cache entries TTL in seconds. Default value - {@code 600}.
+ * (Optional)</li>
+ * <li>ResolveServerNegativeCacheTTL - failed DNS lookups cache entries TTL in seconds. Default value - {@code 60}.
+ * (Optional)</li>
  * <li>SplitRelatives - flag indicating whether to send activity entity child entities independently merging data from
  * both parent and child entity fields into produced entity. Default value - {@code false}. (Optional, deprecated - use
  * parser metadata field {@value StreamsConstants#META_FIELD_SPLIT_RELATIVES} to set value for individual entities)</li>
@@ -73,6 +84,7 @@ public class JKCloudActivityOutput extends AbstractJKCloudOutput<ActivityInfo, T
 	private boolean resolveServer = false;
 	@Deprecated
 	private boolean splitRelatives = false;
+	private long resolveServerTimeout = HostResolver.DEFAULT_LOOKUP_TIMEOUT;
 	private boolean buildFQNFromData = true;
 	private String sourceFQN = null;
 
@@ -105,6 +117,14 @@ public class JKCloudActivityOutput extends AbstractJKCloudOutput<ActivityInfo, T
 
 		if (OutputProperties.PROP_RESOLVE_SERVER.equalsIgnoreCase(name)) {
 			resolveServer = Utils.toBoolean((String) value);
+		} else if (OutputProperties.PROP_RESOLVE_SERVER_TIMEOUT.equalsIgnoreCase(name)) {
+			resolveServerTimeout = Long.parseLong((String) value);
+		} else if (OutputProperties.PROP_RESOLVE_SERVER_CACHE_SIZE.equalsIgnoreCase(name)) {
+			HostResolver.setCacheMaxSize(Long.parseLong((String) value));
+		} else if (OutputProperties.PROP_RESOLVE_SERVER_CACHE_TTL.equalsIgnoreCase(name)) {
+			HostResolver.setCacheTTL(Long.parseLong((String) value));
+		} else if (OutputProperties.PROP_RESOLVE_SERVER_NEGATIVE_CACHE_TTL.equalsIgnoreCase(name)) {
+			HostResolver.setNegativeCacheTTL(Long.parseLong((String) value));
 		} else if (StringUtils.equalsAnyIgnoreCase(name, OutputProperties.PROP_SPLIT_RELATIVES,
 				OutputProperties.PROP_TURN_OUT_CHILDREN)) {
 			splitRelatives = Utils.toBoolean((String) value);
@@ -126,15 +146,19 @@ public class JKCloudActivityOutput extends AbstractJKCloudOutput<ActivityInfo, T
 		try {
 			Tracker tracker = getTracker();
 			ai.resolveServer(
-					getBooleanValue(ai.getFieldValue(StreamsConstants.META_FIELD_RESOLVE_SERVER), resolveServer));
+					getBooleanValue(ai.getFieldValue(StreamsConstants.META_FIELD_RESOLVE_SERVER), resolveServer),
+					resolveServerTimeout);
 			String aiFQN = buildFQNFromData ? StringUtils.isEmpty(sourceFQN) ? DEFAULT_SOURCE_FQN : sourceFQN : null;
 
 			Map<Trackable, ActivityInfo> childMap = new LinkedHashMap<>();
+			long buildStart = System.nanoTime();
 			if (getBooleanValue(ai.getFieldValue(StreamsConstants.META_FIELD_SPLIT_RELATIVES), splitRelatives)
 					&& ai.hasChildren()) {
 				ai.buildSplitRelatives(tracker, childMap);
+				recordStageTime(TNTInputStreamStatistics.Stage.BUILD_TRACKABLE, buildStart);
 			} else {
 				Trackable trackable = ai.buildTrackable(tracker, childMap);
+				recordStageTime(TNTInputStreamStatistics.Stage.BUILD_TRACKABLE, buildStart);
 				recordActivity(tracker, trackable, ai, aiFQN);
 			}
 
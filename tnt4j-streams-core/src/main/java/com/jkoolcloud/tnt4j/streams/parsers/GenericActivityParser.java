@@ -36,6 +36,7 @@ import com.jkoolcloud.tnt4j.streams.configure.ParserProperties;
 import com.jkoolcloud.tnt4j.streams.fields.*;
 import com.jkoolcloud.tnt4j.streams.filters.StreamFiltersGroup;
 import com.jkoolcloud.tnt4j.streams.inputs.TNTInputStream;
+import com.jkoolcloud.tnt4j.streams.inputs.TNTInputStreamStatistics;
 import com.jkoolcloud.tnt4j.streams.parsers.data.ActivityData;
 import com.jkoolcloud.tnt4j.streams.preparsers.ActivityDataPreParser;
 import com.jkoolcloud.tnt4j.streams.transform.ValueTransformation;
@@ -131,6 +132,11 @@ public abstract class GenericActivityParser<T> extends ActivityParser {
 	 */
 	protected boolean serializeRAWDataToString = true;
 
+	/**
+	 * Schema of produced activity entities properties names, built from parser fields.
+	 */
+	protected KeySchema<String> propertiesSchema;
+
 	/**
 	 * Property indicating that all attributes are required by default.
 	 */
@@ -386,6 +392,28 @@ public abstract class GenericActivityParser<T> extends ActivityParser {
 		}
 
 		serializeRAWDataToString = doSerializeRAWDataToString();
+		propertiesSchema = buildPropertiesSchema(fieldList);
+	}
+
+	/**
+	 * Builds schema of activity entity properties names produced by this parser. Schema is made of parser fields, not
+	 * bound to built-in activity entity fields and having static (not dynamic) field names.
+	 *
+	 * @param fields
+	 *            parser fields list
+	 * @return activity entity properties schema
+	 *
+	 * @see com.jkoolcloud.tnt4j.streams.fields.ActivityInfo#ActivityInfo(com.jkoolcloud.tnt4j.streams.utils.KeySchema)
+	 */
+	protected static KeySchema<String> buildPropertiesSchema(List<ActivityField> fields) {
+		List<String> propNames = new ArrayList<>(fields.size());
+		for (ActivityField field : fields) {
+			if (field.getFieldType() == null && !field.isDynamic()) {
+				propNames.add(field.getFieldTypeName());
+			}
+		}
+
+		return KeySchema.of(propNames);
 	}
 
 	private boolean doSerializeRAWDataToString() {
@@ -610,7 +638,7 @@ public abstract class GenericActivityParser<T> extends ActivityParser {
 		} else if (data instanceof byte[]) {
 			return Utils.getString((byte[]) data);
 		} else if (data instanceof ByteBuffer) {
-			return Utils.getString(((ByteBuffer) data).array());// Utils.getStringLine(data);
+			return Utils.getString((ByteBuffer) data);
 		}
 		BufferedReader rdr;
 		if (data instanceof BufferedReader) {
@@ -691,7 +719,13 @@ public abstract class GenericActivityParser<T> extends ActivityParser {
 		logger().log(OpLevel.DEBUG, StreamsResources.getBundle(StreamsResources.RESOURCE_BUNDLE_NAME),
 				"ActivityParser.activity.raw.data", getLogString(data.getData()));
 
+		// stages are timed for top level parser only, since child parsers time is included into parent parser time
+		boolean timed = stream != null && pContextData == null;
+		long stageStart = timed ? System.nanoTime() : 0;
 		Object pData = preParse(stream, data.getData());
+		if (timed) {
+			stream.recordStageTime(TNTInputStreamStatistics.Stage.PRE_PARSE, stageStart);
+		}
 
 		logger().log(OpLevel.DEBUG, StreamsResources.getBundle(StreamsResources.RESOURCE_BUNDLE_NAME),
 				"ActivityParser.preparsed.data", getLogString(pData));
@@ -723,8 +757,14 @@ public abstract class GenericActivityParser<T> extends ActivityParser {
 		LoggerUtils.log(logger(), OpLevel.DEBUG, StreamsResources.getBundle(StreamsResources.RESOURCE_BUNDLE_NAME),
 				"ActivityParser.parsing.data", () -> Utils.args(getLogString(getDataAsMessage(cData))));
 
+		if (timed) {
+			stageStart = System.nanoTime();
+		}
 		ActivityInfo ai = parsePreparedItem(cData);
 		fillInMessageData(ai, cData);
+		if (timed) {
+			stream.recordStageTime(TNTInputStreamStatistics.Stage.PARSE, stageStart);
+		}
 		postParse(cData);
 
 		String parentId = (String) StreamsCache
@@ -813,8 +853,14 @@ public abstract class GenericActivityParser<T> extends ActivityParser {
 		ActivityInfo ai = cData.getActivity();
 		ai.setComplete(true);
 
+		// filter stage is timed for top level parser only, same as other parsing stages
+		TNTInputStream<?, ?> stream = cData.getParentContext() == null ? cData.getStream() : null;
+		long filterStart = stream == null ? 0 : System.nanoTime();
 		try {
 			filterActivity(cData);
+			if (stream != null) {
+				stream.recordStageTime(TNTInputStreamStatistics.Stage.FILTER, filterStart);
+			}
 		} catch (Exception exc) {
 			Utils.logThrowable(logger(), OpLevel.WARNING,
 					StreamsResources.getBundle(StreamsResources.RESOURCE_BUNDLE_NAME),
@@ -846,7 +892,7 @@ public abstract class GenericActivityParser<T> extends ActivityParser {
 			return null;
 		}
 
-		ActivityInfo ai = new ActivityInfo();
+		ActivityInfo ai = new ActivityInfo(propertiesSchema);
 		cData.setActivity(ai);
 		if (cData.getParentActivity() != null) {
 			ai.setOrdinal(cData.getParentActivity().getChildCount(getName()) + 1);
@@ -1265,17 +1311,17 @@ public abstract class GenericActivityParser<T> extends ActivityParser {
 	 * @throws java.text.ParseException
 	 *             if there are any errors while aggregating field value
 	 * 
-	 * @see com.jkoolcloud.tnt4j.streams.fields.ActivityInfo#getFieldValue(String, String,
-	 *      com.jkoolcloud.tnt4j.streams.fields.ActivityInfo...)
+	 * @see com.jkoolcloud.tnt4j.streams.fields.ActivityInfo#getFieldValue(com.jkoolcloud.tnt4j.streams.fields.FieldRef,
+	 *      String, com.jkoolcloud.tnt4j.streams.fields.ActivityInfo...)
 	 */
 	protected Object resolveActivityValue(ActivityFieldLocator locator, ActivityContext cData) throws ParseException {
 		Object value = null;
-		String locStr = locator.getLocator();
-		if (StringUtils.isNotEmpty(locStr)) {
-			if (StreamsConstants.isParentEntityRef(locStr)) {
-				value = ActivityInfo.getFieldValue(locStr, getName(), getParentActivities(cData));
+		FieldRef fieldRef = locator.getFieldRef();
+		if (fieldRef != null) {
+			if (fieldRef.isParentRef()) {
+				value = ActivityInfo.getFieldValue(fieldRef, getName(), getParentActivities(cData));
 			} else {
-				value = ActivityInfo.getFieldValue(locStr, getName(), cData.getActivity());
+				value = ActivityInfo.getFieldValue(fieldRef, getName(), cData.getActivity());
 			}
 		}
 
@@ -175,7 +175,14 @@ public class XMLFromBinDataPreParser extends AbstractPreParser<Object, Document>
 			is = new ByteArrayInputStream((byte[]) data);
 			closeWhenDone = true;
 		} else if (data instanceof ByteBuffer) {
-			is = new ByteArrayInputStream(((ByteBuffer) data).array());
+			ByteBuffer bb = (ByteBuffer) data;
+			if (bb.hasArray()) {
+				is = new ByteArrayInputStream(bb.array(), bb.arrayOffset() + bb.position(), bb.remaining());
+			} else {
+				byte[] bytes = new byte[bb.remaining()];
+				bb.duplicate().get(bytes);
+				is = new ByteArrayInputStream(bytes);
+			}
 			closeWhenDone = true;
 		} else if (data instanceof Reader) {
 			try {
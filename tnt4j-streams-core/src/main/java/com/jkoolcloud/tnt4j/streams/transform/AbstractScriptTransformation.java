@@ -28,6 +28,7 @@ import com.jkoolcloud.tnt4j.core.OpLevel;
 import com.jkoolcloud.tnt4j.core.Property;
 import com.jkoolcloud.tnt4j.sink.EventSink;
 import com.jkoolcloud.tnt4j.streams.fields.ActivityInfo;
+import com.jkoolcloud.tnt4j.streams.fields.FieldRef;
 import com.jkoolcloud.tnt4j.streams.utils.LoggerUtils;
 import com.jkoolcloud.tnt4j.streams.utils.StreamsResources;
 import com.jkoolcloud.tnt4j.streams.utils.StreamsScriptingUtils;
@@ -39,7 +40,7 @@ import com.jkoolcloud.tnt4j.streams.utils.Utils;
  * @param <V>
  *            the type of transformed data value
  *
- * @version $Revision: 2 $
+ * @version $Revision: 3 $
  *
  * @see ScriptTransformation
  * @see XPathTransformation
@@ -60,6 +61,10 @@ public abstract class AbstractScriptTransformation<V> extends AbstractValueTrans
 	 * Map for variable placeholders of transformation expression contained activity fields.
 	 */
 	protected Map<String, String> placeHoldersMap;
+	/**
+	 * Map for compiled field references of transformation expression contained activity fields.
+	 */
+	protected Map<String, FieldRef> fieldRefsMap;
 
 	/**
 	 * Constructs a new AbstractScriptTransformation.
@@ -179,6 +184,7 @@ public abstract class AbstractScriptTransformation<V> extends AbstractValueTrans
 	protected void initTransformation() {
 		exprVars = new HashSet<>();
 		placeHoldersMap = new HashMap<>();
+		fieldRefsMap = new HashMap<>();
 		Utils.resolveExpressionVariables(exprVars, scriptCode);
 
 		String expString = scriptCode;
@@ -189,6 +195,7 @@ public abstract class AbstractScriptTransformation<V> extends AbstractValueTrans
 				varPlh = "$TNT4J_ST_TRSF_PLH" + (idx++); // NON-NLS
 				expString = expString.replace(eVar, varPlh);
 				placeHoldersMap.put(eVar, varPlh);
+				fieldRefsMap.put(eVar, FieldRef.of(eVar));
 			}
 		}
 
@@ -225,7 +232,8 @@ public abstract class AbstractScriptTransformation<V> extends AbstractValueTrans
 	 * @return resolved activity entity field value
 	 */
 	protected Property resolveFieldKeyAndValue(String eVar, ActivityInfo activityInfo) {
-		Object fValue = activityInfo.getFieldValue(eVar);
+		FieldRef fieldRef = fieldRefsMap == null ? null : fieldRefsMap.get(eVar);
+		Object fValue = fieldRef == null ? activityInfo.getFieldValue(eVar) : activityInfo.getFieldValue(fieldRef);
 		String fieldName = placeHoldersMap.get(eVar);
 
 		return new Property(StringUtils.isEmpty(fieldName) ? eVar : fieldName, fValue);
@@ -17,6 +17,7 @@
 package com.jkoolcloud.tnt4j.streams.transform;
 
 import java.util.Map;
+import java.util.concurrent.Future;
 
 import javax.script.Bindings;
 import javax.script.CompiledScript;
@@ -50,7 +51,8 @@ public class ScriptTransformation extends AbstractScriptTransformation<Object> {
 	private static final EventSink LOGGER = LoggerUtils.getLoggerSink(ScriptTransformation.class);
 
 	private final String lang;
-	private CompiledScript script;
+	private Future<CompiledScript> scriptFuture;
+	private volatile CompiledScript script;
 
 	/**
 	 * Constructs a new ScriptTransformation.
@@ -102,14 +104,28 @@ public class ScriptTransformation extends AbstractScriptTransformation<Object> {
 	protected void initTransformation() {
 		super.initTransformation();
 
-		try {
-			script = StreamsScriptingUtils.compileScript(lang, getName(), getExpression());
-		} catch (ScriptException exc) {
-			throw new IllegalArgumentException(
-					StreamsResources.getStringFormatted(StreamsResources.RESOURCE_BUNDLE_NAME,
-							"ScriptTransformation.invalid.script", getName(), getScriptCode()),
-					exc);
+		scriptFuture = StreamsScriptingUtils.compileScriptAsync(lang, getName(), getExpression());
+	}
+
+	/**
+	 * Returns compiled transformation script. Waits for script compilation to complete if it is still in progress.
+	 *
+	 * @return compiled transformation script
+	 * @throws IllegalArgumentException
+	 *             if script compilation fails
+	 */
+	public CompiledScript getScript() throws IllegalArgumentException {
+		if (script == null) {
+			try {
+				script = StreamsScriptingUtils.awaitCompiled(scriptFuture);
+			} catch (ScriptException exc) {
+				throw new IllegalArgumentException(
+						StreamsResources.getStringFormatted(StreamsResources.RESOURCE_BUNDLE_NAME,
+								"ScriptTransformation.invalid.script", getName(), getScriptCode()),
+						exc);
+			}
 		}
+		return script;
 	}
 
 	@Override
@@ -126,7 +142,7 @@ public class ScriptTransformation extends AbstractScriptTransformation<Object> {
 		}
 
 		try {
-			Object tValue = script.eval(bindings);
+			Object tValue = getScript().eval(bindings);
 
 			logEvaluationResult(bindings, tValue);
 
@@ -0,0 +1,303 @@
+/*
+ * Copyright 2014-2023 JKOOL, LLC.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.jkoolcloud.tnt4j.streams.utils;
+
+import java.util.*;
+
+/**
+ * Memory compact {@link java.util.Map} implementation. Values of keys defined by bound {@link KeySchema} are stored in
+ * plain array indexed by schema slot. All other entries are stored in open addressing (linear probing) hash table,
+ * keeping keys and values in single array. Map does not create entry objects while storing values, thus having many
+ * small maps costs considerably less heap and allocations than {@link java.util.HashMap}.
+ * <p>
+ * Map does not permit {@code null} keys and values. Entry set iterator does not support element removal.
+ *
+ * @param <K>
+ *            the type of keys maintained by this map
+ * @param <V>
+ *            the type of mapped values
+ *
+ * @version $Revision: 1 $
+ */
+public class CompactMap<K, V> extends AbstractMap<K, V> {
+	private static final int MIN_TABLE_CAPACITY = 4;
+
+	private final KeySchema<K> schema;
+	private Object[] slotValues;
+	private Object[] table;
+	private int tableSize;
+	private int slotsSize;
+
+	/**
+	 * Constructs an empty {@code CompactMap} having no key schema bound.
+	 */
+	public CompactMap() {
+		this(null);
+	}
+
+	/**
+	 * Constructs an empty {@code CompactMap} bound to provided key schema.
+	 *
+	 * @param schema
+	 *            key schema defining slot stored keys, or {@code null} if there is no known keys
+	 */
+	public CompactMap(KeySchema<K> schema) {
+		this.schema = schema == null ? KeySchema.empty() : schema;
+	}
+
+	@Override
+	public int size() {
+		return slotsSize + tableSize;
+	}
+
+	@Override
+	public boolean isEmpty() {
+		return size() == 0;
+	}
+
+	@Override
+	public boolean containsKey(Object key) {
+		return get(key) != null;
+	}
+
+	@Override
+	@SuppressWarnings("unchecked")
+	public V get(Object key) {
+		if (key == null) {
+			return null;
+		}
+		int slot = schema.slotOf(key);
+		if (slot >= 0) {
+			return slotValues == null ? null : (V) slotValues[slot];
+		}
+		if (table == null) {
+			return null;
+		}
+		int idx = indexOf(table, key);
+		return idx < 0 ? null : (V) table[idx + 1];
+	}
+
+	@Override
+	@SuppressWarnings("unchecked")
+	public V put(K key, V value) {
+		Objects.requireNonNull(key);
+		Objects.requireNonNull(value);
+
+		int slot = schema.slotOf(key);
+		if (slot >= 0) {
+			if (slotValues == null) {
+				slotValues = new Object[schema.size()];
+			}
+			V prev = (V) slotValues[slot];
+			slotValues[slot] = value;
+			if (prev == null) {
+				slotsSize++;
+			}
+			return prev;
+		}
+
+		if (table == null) {
+			table = new Object[MIN_TABLE_CAPACITY * 2];
+		}
+		int idx = probe(table, key);
+		if (table[idx] != null) {
+			V prev = (V) table[idx + 1];
+			table[idx + 1] = value;
+			return prev;
+		}
+		table[idx] = key;
+		table[idx + 1] = value;
+		tableSize++;
+		if (tableSize * 3 > capacity() * 2) {
+			resize(capacity() * 2);
+		}
+		return null;
+	}
+
+	@Override
+	@SuppressWarnings("unchecked")
+	public V remove(Object key) {
+		if (key == null) {
+			return null;
+		}
+		int slot = schema.slotOf(key);
+		if (slot >= 0) {
+			if (slotValues == null) {
+				return null;
+			}
+			V prev = (V) slotValues[slot];
+			if (prev != null) {
+				slotValues[slot] = null;
+				slotsSize--;
+			}
+			return prev;
+		}
+		if (table == null) {
+			return null;
+		}
+		int idx = indexOf(table, key);
+		if (idx < 0) {
+			return null;
+		}
+		V prev = (V) table[idx + 1];
+		deleteAt(idx);
+		tableSize--;
+		return prev;
+	}
+
+	@Override
+	public void clear() {
+		if (slotValues != null) {
+			Arrays.fill(slotValues, null);
+		}
+		if (table != null) {
+			Arrays.fill(table, null);
+		}
+		slotsSize = 0;
+		tableSize = 0;
+	}
+
+	private int capacity() {
+		return table.length / 2;
+	}
+
+	private static int hashIndex(Object key, int length) {
+		int h = key.hashCode();
+		h ^= (h >>> 16);
+		return (h & ((length >> 1) - 1)) << 1;
+	}
+
+	private static int probe(Object[] tab, Object key) {
+		int idx = hashIndex(key, tab.length);
+		while (true) {
+			Object k = tab[idx];
+			if (k == null || k == key || k.equals(key)) {
+				return idx;
+			}
+			idx = nextIndex(idx, tab.length);
+		}
+	}
+
+	private static int indexOf(Object[] tab, Object key) {
+		int idx = probe(tab, key);
+		return tab[idx] == null ? -1 : idx;
+	}
+
+	private static int nextIndex(int idx, int length) {
+		return idx + 2 < length ? idx + 2 : 0;
+	}
+
+	private void resize(int newCapacity) {
+		Object[] oldTable = table;
+		Object[] newTable = new Object[newCapacity * 2];
+		for (int i = 0; i < oldTable.length; i += 2) {
+			Object k = oldTable[i];
+			if (k != null) {
+				int idx = probe(newTable, k);
+				newTable[idx] = k;
+				newTable[idx + 1] = oldTable[i + 1];
+			}
+		}
+		table = newTable;
+	}
+
+	// backward shift deletion keeps probe sequences unbroken without tombstones
+	private void deleteAt(int idx) {
+		Object[] tab = table;
+		int len = tab.length;
+		int i = idx;
+		while (true) {
+			tab[i] = null;
+			tab[i + 1] = null;
+			int j = i;
+			while (true) {
+				j = nextIndex(j, len);
+				Object k = tab[j];
+				if (k == null) {
+					return;
+				}
+				int home = hashIndex(k, len);
+				// move entry back if its home slot is not within (i, j] cyclic range
+				if ((j > i && (home <= i || home > j)) || (j < i && (home <= i && home > j))) {
+					tab[i] = k;
+					tab[i + 1] = tab[j + 1];
+					i = j;
+					break;
+				}
+			}
+		}
+	}
+
+	@Override
+	public Set<Entry<K, V>> entrySet() {
+		return new AbstractSet<Entry<K, V>>() {
+			@Override
+			public Iterator<Entry<K, V>> iterator() {
+				return new EntryIterator();
+			}
+
+			@Override
+			public int size() {
+				return CompactMap.this.size();
+			}
+		};
+	}
+
+	private class EntryIterator implements Iterator<Entry<K, V>> {
+		private int slot = -1;
+		private int idx = -2;
+		private Entry<K, V> next;
+
+		EntryIterator() {
+			next = advance();
+		}
+
+		@SuppressWarnings("unchecked")
+		private Entry<K, V> advance() {
+			if (slotValues != null) {
+				while (++slot < slotValues.length) {
+					if (slotValues[slot] != null) {
+						return new SimpleImmutableEntry<>(schema.keyAt(slot), (V) slotValues[slot]);
+					}
+				}
+			}
+			if (table != null) {
+				while ((idx += 2) < table.length) {
+					if (table[idx] != null) {
+						return new SimpleImmutableEntry<>((K) table[idx], (V) table[idx + 1]);
+					}
+				}
+			}
+			return null;
+		}
+
+		@Override
+		public boolean hasNext() {
+			return next != null;
+		}
+
+		@Override
+		public Entry<K, V> next() {
+			if (next == null) {
+				throw new NoSuchElementException();
+			}
+			Entry<K, V> e = next;
+			next = advance();
+			return e;
+		}
+	}
+}
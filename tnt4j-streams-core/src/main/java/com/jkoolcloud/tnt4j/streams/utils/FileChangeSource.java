@@ -0,0 +1,287 @@
+/*
+ * Copyright 2014-2023 JKOOL, LLC.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.jkoolcloud.tnt4j.streams.utils;
+
+import static java.nio.file.StandardWatchEventKinds.*;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.*;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
+
+import org.apache.commons.lang3.StringUtils;
+
+import com.jkoolcloud.tnt4j.core.OpLevel;
+import com.jkoolcloud.tnt4j.sink.EventSink;
+
+/**
+ * Files changes notifications source used by files watchers to wait between files read iterations.
+ * <p>
+ * If file system provider supports {@link java.nio.file.WatchService}, watched directory (and, if recursive, all its
+ * sub-directories) gets registered to it, and waiting is interrupted as soon as create, modify or delete event is
+ * received for a file accepted by defined filter. Wait is still limited by maximal delay, so changes not reported by
+ * provider (e.g. made on remote host of network file system) are picked up as well. To prevent continuously written
+ * files from being re-read on every write, consecutive notifications are delivered not more often than once per
+ * minimal delay period, merging all events received in between.
+ * <p>
+ * If native notifications are not available, source falls back to adaptive polling: wait delay gets reset to minimal
+ * value when last read iteration found changes and is doubled (up to maximal delay) every idle iteration.
+ *
+ * @version $Revision: 1 $
+ */
+public class FileChangeSource implements Closeable {
+	private static final EventSink LOGGER = LoggerUtils.getLoggerSink(FileChangeSource.class);
+
+	/**
+	 * Default minimal delay between files read iterations - {@value} milliseconds.
+	 */
+	public static final long DEFAULT_MIN_DELAY = TimeUnit.SECONDS.toMillis(1);
+
+	private final Path dir;
+	private final Predicate<Path> filter;
+	private final boolean recursive;
+	private final long minDelay;
+	private final long maxDelay;
+
+	private volatile WatchService watchService;
+	private long delay;
+	private long lastNotificationTime = -1;
+
+	/**
+	 * Constructs a new FileChangeSource using adaptive polling only.
+	 *
+	 * @param maxDelay
+	 *            maximal delay in milliseconds between files read iterations
+	 */
+	public FileChangeSource(long maxDelay) {
+		this(null, null, false, maxDelay);
+	}
+
+	/**
+	 * Constructs a new FileChangeSource. Native files changes notifications are used if file system of provided
+	 * directory supports them, adaptive polling - otherwise.
+	 *
+	 * @param dir
+	 *            watched directory, {@code null} to use adaptive polling only
+	 * @param filter
+	 *            filter of changed files paths to be notified about, {@code null} to accept all files
+	 * @param recursive
+	 *            flag indicating whether sub-directories of watched directory shall be watched too
+	 * @param maxDelay
+	 *            maximal delay in milliseconds between files read iterations
+	 */
+	public FileChangeSource(Path dir, Predicate<Path> filter, boolean recursive, long maxDelay) {
+		this.dir = dir == null ? null : dir.toAbsolutePath();
+		this.filter = filter;
+		this.recursive = recursive;
+		this.maxDelay = Math.max(maxDelay, 0);
+		this.minDelay = Math.min(DEFAULT_MIN_DELAY, this.maxDelay);
+		this.delay = this.maxDelay;
+
+		if (this.dir != null) {
+			initWatchService();
+		}
+	}
+
+	/**
+	 * Creates files changes source for provided file name or file name pattern defined using wildcard characters '*'
+	 * and '?'. Watched directory and files filter are resolved the same way as
+	 * {@link Utils#listFilesByName(String, java.nio.file.FileSystem)} does.
+	 *
+	 * @param fileName
+	 *            the system-dependent file name or file name pattern
+	 * @param fs
+	 *            file system to use
+	 * @param maxDelay
+	 *            maximal delay in milliseconds between files read iterations
+	 * @return files changes source instance
+	 */
+	public static FileChangeSource forFiles(String fileName, FileSystem fs, long maxDelay) {
+		if (fs == null) {
+			fs = FileSystems.getDefault();
+		}
+		try {
+			if (Utils.isWildcardString(fileName)) {
+				Map.Entry<Path, String> searchRoot = Utils.resolveSearchRoot(fileName, fs);
+				Path dir = searchRoot.getKey().toAbsolutePath();
+				String glob = searchRoot.getValue();
+				PathMatcher matcher = fs.getPathMatcher("glob:" + glob); // NON-NLS
+				boolean recursive = StringUtils.containsAny(glob, "/", fs.getSeparator()); // NON-NLS
+
+				return new FileChangeSource(dir, p -> matcher.matches(dir.relativize(p)), recursive, maxDelay);
+			} else {
+				Path file = fs.getPath(fileName).toAbsolutePath();
+
+				return new FileChangeSource(file.getParent(), file::equals, false, maxDelay);
+			}
+		} catch (RuntimeException exc) {
+			Utils.logThrowable(LOGGER, OpLevel.DEBUG, StreamsResources.getBundle(StreamsResources.RESOURCE_BUNDLE_NAME),
+					"FileChangeSource.native.unsupported", fileName, exc);
+
+			return new FileChangeSource(maxDelay);
+		}
+	}
+
+	private void initWatchService() {
+		try {
+			watchService = dir.getFileSystem().newWatchService();
+			register(dir);
+
+			LOGGER.log(OpLevel.DEBUG, StreamsResources.getBundle(StreamsResources.RESOURCE_BUNDLE_NAME),
+					"FileChangeSource.native.registered", dir, recursive);
+		} catch (IOException | RuntimeException exc) {
+			Utils.logThrowable(LOGGER, OpLevel.DEBUG, StreamsResources.getBundle(StreamsResources.RESOURCE_BUNDLE_NAME),
+					"FileChangeSource.native.unsupported", dir, exc);
+			close();
+		}
+	}
+
+	private void register(Path start) throws IOException {
+		if (recursive) {
+			Files.walkFileTree(start, new SimpleFileVisitor<Path>() {
+				@Override
+				public FileVisitResult preVisitDirectory(Path d, BasicFileAttributes attrs) throws IOException {
+					d.register(watchService, ENTRY_CREATE, ENTRY_MODIFY, ENTRY_DELETE);
+					return FileVisitResult.CONTINUE;
+				}
+			});
+		} else {
+			start.register(watchService, ENTRY_CREATE, ENTRY_MODIFY, ENTRY_DELETE);
+		}
+	}
+
+	/**
+	 * Checks whether this source uses native files changes notifications.
+	 *
+	 * @return {@code true} if native notifications are used, {@code false} if polling is used
+	 */
+	public boolean isNative() {
+		return watchService != null;
+	}
+
+	/**
+	 * Calculates delay of next wait. When native notifications are used, it is always maximal delay. When polling -
+	 * delay is reset to minimal delay if last read iteration has found changes, or doubled otherwise.
+	 *
+	 * @param changesFound
+	 *            flag indicating whether last read iteration has found changes
+	 * @return delay in milliseconds of next wait
+	 */
+	public long nextDelay(boolean changesFound) {
+		if (isNative()) {
+			delay = maxDelay;
+		} else {
+			delay = changesFound ? minDelay : Math.min(Math.max(delay, minDelay) * 2, maxDelay);
+		}
+
+		return delay;
+	}
+
+	/**
+	 * Waits for files changes over delay calculated by last {@link #nextDelay(boolean)} call.
+	 *
+	 * @return {@code true} if wait has been interrupted by native files changes notification, {@code false} if wait
+	 *         delay has elapsed
+	 * @throws InterruptedException
+	 *             if current thread gets interrupted while waiting
+	 */
+	public boolean awaitChanges() throws InterruptedException {
+		WatchService ws = watchService;
+		if (ws == null) {
+			Thread.sleep(delay);
+			return false;
+		}
+
+		try {
+			long deadline = System.currentTimeMillis() + delay;
+			boolean changed = false;
+			long timeout;
+			while (!changed && (timeout = deadline - System.currentTimeMillis()) > 0) {
+				WatchKey key = ws.poll(timeout, TimeUnit.MILLISECONDS);
+				if (key == null) {
+					break;
+				}
+				changed = processEvents(key);
+			}
+
+			if (changed) {
+				long sinceLast = System.currentTimeMillis() - lastNotificationTime;
+				if (sinceLast < minDelay) {
+					Thread.sleep(minDelay - sinceLast);
+				}
+				WatchKey key;
+				while ((key = ws.poll()) != null) {
+					processEvents(key);
+				}
+				lastNotificationTime = System.currentTimeMillis();
+			}
+
+			return changed;
+		} catch (ClosedWatchServiceException exc) {
+			watchService = null;
+			return false;
+		}
+	}
+
+	private boolean processEvents(WatchKey key) {
+		Path keyDir = (Path) key.watchable();
+		boolean accepted = false;
+		for (WatchEvent<?> event : key.pollEvents()) {
+			if (event.kind() == OVERFLOW) {
+				accepted = true;
+				continue;
+			}
+
+			Path path = keyDir.resolve((Path) event.context());
+			if (recursive && event.kind() == ENTRY_CREATE && Files.isDirectory(path, LinkOption.NOFOLLOW_LINKS)) {
+				try {
+					register(path);
+				} catch (IOException exc) {
+					Utils.logThrowable(LOGGER, OpLevel.WARNING,
+							StreamsResources.getBundle(StreamsResources.RESOURCE_BUNDLE_NAME),
+							"FileChangeSource.register.failed", path, exc);
+				}
+				accepted = true;
+			} else if (filter == null || filter.test(path)) {
+				accepted = true;
+			}
+		}
+
+		if (!key.reset() && keyDir.equals(dir)) {
+			LOGGER.log(OpLevel.WARNING, StreamsResources.getBundle(StreamsResources.RESOURCE_BUNDLE_NAME),
+					"FileChangeSource.dir.unavailable", dir);
+			close();
+			accepted = true;
+		}
+
+		return accepted;
+	}
+
+	/**
+	 * Closes native files changes notifications service, if it was used. Source falls back to adaptive polling after
+	 * close.
+	 */
+	@Override
+	public void close() {
+		WatchService ws = watchService;
+		watchService = null;
+		Utils.close(ws);
+	}
+}
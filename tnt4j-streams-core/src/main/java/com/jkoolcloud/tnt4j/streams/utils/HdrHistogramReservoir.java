@@ -0,0 +1,175 @@
+/*
+ * Copyright 2014-2023 JKOOL, LLC.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.jkoolcloud.tnt4j.streams.utils;
+
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import com.codahale.metrics.Reservoir;
+import com.codahale.metrics.Snapshot;
+
+/**
+ * HdrHistogram backed metrics {@link com.codahale.metrics.Reservoir} implementation. Values are recorded using
+ * wait-free {@link org.HdrHistogram.Recorder}, so recording threads do not contend with each other nor with snapshot
+ * taking threads, like it is with default {@link com.codahale.metrics.ExponentiallyDecayingReservoir}.
+ * <p>
+ * Snapshot covers values recorded within current and previous time windows, so percentiles reflect recent values
+ * (one to two window lengths). Histogram precision is 3 significant decimal digits.
+ *
+ * @version $Revision: 1 $
+ */
+public class HdrHistogramReservoir implements Reservoir {
+	private static final int SIGNIFICANT_DIGITS = 3;
+	private static final long DEFAULT_WINDOW = TimeUnit.MINUTES.toNanos(1);
+	private static final int SNAPSHOT_VALUES_COUNT = 1024;
+
+	private final Recorder recorder = new Recorder(SIGNIFICANT_DIGITS);
+	private final long windowNanos;
+
+	private Histogram intervalHistogram;
+	private Histogram currentWindow = new Histogram(SIGNIFICANT_DIGITS);
+	private Histogram previousWindow = new Histogram(SIGNIFICANT_DIGITS);
+	private long windowStart = System.nanoTime();
+
+	/**
+	 * Constructs a new HdrHistogramReservoir using default one minute time window.
+	 */
+	public HdrHistogramReservoir() {
+		this(DEFAULT_WINDOW, TimeUnit.NANOSECONDS);
+	}
+
+	/**
+	 * Constructs a new HdrHistogramReservoir.
+	 *
+	 * @param window
+	 *            snapshot time window length
+	 * @param unit
+	 *            window length time unit
+	 */
+	public HdrHistogramReservoir(long window, TimeUnit unit) {
+		this.windowNanos = unit.toNanos(window);
+	}
+
+	@Override
+	public int size() {
+		return getSnapshot().size();
+	}
+
+	@Override
+	public void update(long value) {
+		recorder.recordValue(value < 0 ? 0 : value);
+	}
+
+	@Override
+	public Snapshot getSnapshot() {
+		synchronized (recorder) {
+			intervalHistogram = recorder.getIntervalHistogram(intervalHistogram);
+			long now = System.nanoTime();
+			if (now - windowStart >= windowNanos) {
+				Histogram tmp = previousWindow;
+				previousWindow = currentWindow;
+				currentWindow = tmp;
+				currentWindow.reset();
+				if (now - windowStart >= 2 * windowNanos) {
+					// there were no snapshots during whole window - previous values are outdated
+					previousWindow.reset();
+				}
+				windowStart = now;
+			}
+			currentWindow.add(intervalHistogram);
+
+			Histogram copy = previousWindow.copy();
+			copy.add(currentWindow);
+			return new HistogramSnapshot(copy);
+		}
+	}
+
+	/**
+	 * Metrics {@link com.codahale.metrics.Snapshot} backed by {@link org.HdrHistogram.Histogram} copy.
+	 */
+	private static class HistogramSnapshot extends Snapshot {
+		private final Histogram histogram;
+
+		HistogramSnapshot(Histogram histogram) {
+			this.histogram = histogram;
+		}
+
+		@Override
+		public double getValue(double quantile) {
+			return histogram.getValueAtPercentile(quantile * 100.0);
+		}
+
+		/**
+		 * {@inheritDoc}
+		 * <p>
+		 * Histogram does not keep recorded values, so this method returns values at evenly spaced percentiles.
+		 */
+		@Override
+		public long[] getValues() {
+			long count = histogram.getTotalCount();
+			if (count == 0) {
+				return new long[0];
+			}
+			int n = (int) Math.min(count, SNAPSHOT_VALUES_COUNT);
+			long[] values = new long[n];
+			for (int i = 0; i < n; i++) {
+				values[i] = histogram.getValueAtPercentile((i + 1) * 100.0 / n);
+			}
+			return values;
+		}
+
+		@Override
+		public int size() {
+			return (int) Math.min(histogram.getTotalCount(), Integer.MAX_VALUE);
+		}
+
+		@Override
+		public long getMax() {
+			return histogram.getTotalCount() == 0 ? 0 : histogram.getMaxValue();
+		}
+
+		@Override
+		public double getMean() {
+			return histogram.getTotalCount() == 0 ? 0 : histogram.getMean();
+		}
+
+		@Override
+		public long getMin() {
+			return histogram.getTotalCount() == 0 ? 0 : histogram.getMinValue();
+		}
+
+		@Override
+		public double getStdDev() {
+			return histogram.getTotalCount() == 0 ? 0 : histogram.getStdDeviation();
+		}
+
+		@Override
+		public void dump(OutputStream output) {
+			try (PrintWriter out = new PrintWriter(new OutputStreamWriter(output, StandardCharsets.UTF_8))) {
+				for (long value : getValues()) {
+					out.println(value);
+				}
+			}
+		}
+	}
+}
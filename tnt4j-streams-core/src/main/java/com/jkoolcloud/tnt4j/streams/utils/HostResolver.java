@@ -0,0 +1,261 @@
+/*
+ * Copyright 2014-2023 JKOOL, LLC.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.jkoolcloud.tnt4j.streams.utils;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.*;
+
+import org.apache.commons.lang3.StringUtils;
+
+import com.codahale.metrics.*;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.jkoolcloud.tnt4j.core.OpLevel;
+import com.jkoolcloud.tnt4j.sink.EventSink;
+import com.jkoolcloud.tnt4j.streams.inputs.TNTInputStream;
+
+/**
+ * Resolves host names and IP addresses over DNS asynchronously, caching resolution results.
+ * <p>
+ * Lookups are performed by small pool of daemon threads, so slow DNS server does not stall calling (parsing) thread
+ * longer than defined lookup wait timeout. Lookup not completed within that timeout keeps running in the background and
+ * its result gets cached for subsequent calls.
+ * <p>
+ * Resolved values are cached in bounded cache, where entries expire after defined TTL. Failed lookups are cached in
+ * separate bounded cache having own (usually shorter) TTL, so unresolvable addresses are retried after that TTL
+ * expires.
+ *
+ * @version $Revision: 1 $
+ */
+public final class HostResolver {
+	private static final EventSink LOGGER = LoggerUtils.getLoggerSink(HostResolver.class);
+
+	/**
+	 * Default resolved values cache max. size.
+	 */
+	public static final long DEFAULT_CACHE_MAX_SIZE = 10000;
+	/**
+	 * Default resolved values cache entries TTL in seconds.
+	 */
+	public static final long DEFAULT_CACHE_TTL = TimeUnit.MINUTES.toSeconds(10);
+	/**
+	 * Default unresolved values cache entries TTL in seconds.
+	 */
+	public static final long DEFAULT_NEGATIVE_CACHE_TTL = TimeUnit.MINUTES.toSeconds(1);
+	/**
+	 * Default time in milliseconds to wait for lookup to complete.
+	 */
+	public static final long DEFAULT_LOOKUP_TIMEOUT = 100;
+
+	private static final int LOOKUP_THREADS = 4;
+	private static final int MAX_PENDING_LOOKUPS = 1000;
+
+	private static long cacheMaxSize = DEFAULT_CACHE_MAX_SIZE;
+	private static long cacheTTL = DEFAULT_CACHE_TTL;
+	private static long negativeCacheTTL = DEFAULT_NEGATIVE_CACHE_TTL;
+
+	private static volatile Cache<String, String> resolvedCache = buildCache(cacheMaxSize, cacheTTL);
+	private static volatile Cache<String, Boolean> unresolvedCache = buildCache(cacheMaxSize, negativeCacheTTL);
+	private static final ConcurrentMap<String, CompletableFuture<String>> pendingLookups = new ConcurrentHashMap<>();
+	private static ExecutorService lookupExecutor;
+
+	private static final Counter cacheHits = new Counter();
+	private static final Counter negativeCacheHits = new Counter();
+	private static final Counter cacheMisses = new Counter();
+	private static final Counter lookupTimeouts = new Counter();
+	private static final Counter lookupsRejected = new Counter();
+	private static final Timer lookupTimer = new Timer();
+
+	private HostResolver() {
+	}
+
+	private static <V> Cache<String, V> buildCache(long cSize, long ttl) {
+		return CacheBuilder.newBuilder().maximumSize(cSize).expireAfterWrite(ttl, TimeUnit.SECONDS).build();
+	}
+
+	/**
+	 * Sets max. size of resolved and unresolved values caches. Cached values are dropped.
+	 *
+	 * @param maxSize
+	 *            max. number of entries cache can hold
+	 */
+	public static synchronized void setCacheMaxSize(long maxSize) {
+		cacheMaxSize = maxSize;
+		resolvedCache = buildCache(cacheMaxSize, cacheTTL);
+		unresolvedCache = buildCache(cacheMaxSize, negativeCacheTTL);
+	}
+
+	/**
+	 * Sets resolved values cache entries TTL. Cached resolved values are dropped.
+	 *
+	 * @param ttl
+	 *            cache entry TTL in seconds
+	 */
+	public static synchronized void setCacheTTL(long ttl) {
+		cacheTTL = ttl;
+		resolvedCache = buildCache(cacheMaxSize, cacheTTL);
+	}
+
+	/**
+	 * Sets unresolved values cache entries TTL. Cached unresolved values are dropped.
+	 *
+	 * @param ttl
+	 *            cache entry TTL in seconds
+	 */
+	public static synchronized void setNegativeCacheTTL(long ttl) {
+		negativeCacheTTL = ttl;
+		unresolvedCache = buildCache(cacheMaxSize, negativeCacheTTL);
+	}
+
+	/**
+	 * Resolves IP address to host name.
+	 *
+	 * @param address
+	 *            IP address to resolve
+	 * @param timeout
+	 *            time in milliseconds to wait for DNS lookup to complete, {@code 0} - do not wait
+	 * @return resolved host name, or {@code null} if address is unresolvable or resolution has not completed within
+	 *         defined timeout
+	 */
+	public static String resolveAddressToHostName(String address, long timeout) {
+		return resolve(address, true, timeout);
+	}
+
+	/**
+	 * Resolves host name to IP address.
+	 *
+	 * @param hostName
+	 *            host name to resolve
+	 * @param timeout
+	 *            time in milliseconds to wait for DNS lookup to complete, {@code 0} - do not wait
+	 * @return resolved IP address, or {@code null} if host name is unresolvable or resolution has not completed within
+	 *         defined timeout
+	 */
+	public static String resolveHostNameToAddress(String hostName, long timeout) {
+		return resolve(hostName, false, timeout);
+	}
+
+	private static String resolve(String key, boolean toHostName, long timeout) {
+		if (StringUtils.isEmpty(key)) {
+			return null;
+		}
+
+		String value = resolvedCache.getIfPresent(key);
+		if (value != null) {
+			cacheHits.inc();
+			return value;
+		}
+		if (unresolvedCache.getIfPresent(key) != null) {
+			negativeCacheHits.inc();
+			return null;
+		}
+
+		cacheMisses.inc();
+		CompletableFuture<String> lookup = pendingLookups.get(key);
+		if (lookup == null) {
+			CompletableFuture<String> newLookup = new CompletableFuture<>();
+			lookup = pendingLookups.putIfAbsent(key, newLookup);
+			if (lookup == null) {
+				lookup = newLookup;
+				submitLookup(key, toHostName, newLookup);
+			}
+		}
+
+		if (timeout <= 0) {
+			return lookup.getNow(null);
+		}
+
+		try {
+			return lookup.get(timeout, TimeUnit.MILLISECONDS);
+		} catch (TimeoutException exc) {
+			lookupTimeouts.inc();
+		} catch (InterruptedException exc) {
+			Thread.currentThread().interrupt();
+		} catch (ExecutionException exc) {
+		}
+
+		return null;
+	}
+
+	private static void submitLookup(String key, boolean toHostName, CompletableFuture<String> lookup) {
+		try {
+			getLookupExecutor().execute(() -> {
+				String value = null;
+				try (Timer.Context ctx = lookupTimer.time()) {
+					value = toHostName ? Utils.resolveAddressToHostName(key) : Utils.resolveHostNameToAddress(key);
+				} catch (Throwable exc) {
+					LOGGER.log(OpLevel.DEBUG, StreamsResources.getBundle(StreamsResources.RESOURCE_BUNDLE_NAME),
+							"HostResolver.lookup.failed", key, exc);
+				}
+
+				if (StringUtils.isEmpty(value)) {
+					value = null;
+					unresolvedCache.put(key, Boolean.TRUE);
+				} else {
+					resolvedCache.put(key, value);
+					resolvedCache.put(value, key);
+				}
+				pendingLookups.remove(key, lookup);
+				lookup.complete(value);
+			});
+		} catch (RejectedExecutionException exc) {
+			lookupsRejected.inc();
+			pendingLookups.remove(key, lookup);
+			lookup.complete(null);
+		}
+	}
+
+	private static synchronized ExecutorService getLookupExecutor() {
+		if (lookupExecutor == null) {
+			ThreadPoolExecutor tpe = new ThreadPoolExecutor(LOOKUP_THREADS, LOOKUP_THREADS, 60L, TimeUnit.SECONDS,
+					new LinkedBlockingQueue<>(MAX_PENDING_LOOKUPS),
+					new TNTInputStream.StreamsThreadFactory("HostResolverThread-")); // NON-NLS
+			tpe.allowCoreThreadTimeOut(true);
+			lookupExecutor = tpe;
+		}
+		return lookupExecutor;
+	}
+
+	/**
+	 * Returns number of entries in resolved values cache.
+	 *
+	 * @return resolved values cache size
+	 */
+	public static long cacheSize() {
+		return resolvedCache.size();
+	}
+
+	/**
+	 * Returns host resolver metrics: cache hits/misses, lookup timeouts and DNS lookup latency.
+	 *
+	 * @return host resolver metrics set
+	 */
+	public static MetricSet getMetrics() {
+		return () -> {
+			Map<String, Metric> metrics = new LinkedHashMap<>();
+			metrics.put("cache hits", cacheHits); // NON-NLS
+			metrics.put("negative cache hits", negativeCacheHits); // NON-NLS
+			metrics.put("cache misses", cacheMisses); // NON-NLS
+			metrics.put("lookup timeouts", lookupTimeouts); // NON-NLS
+			metrics.put("lookups rejected", lookupsRejected); // NON-NLS
+			metrics.put("lookup timer", lookupTimer); // NON-NLS
+			metrics.put("cache load", (Gauge<String>) () -> cacheSize() + "/" + cacheMaxSize); // NON-NLS
+			return metrics;
+		};
+	}
+}
@@ -0,0 +1,110 @@
+/*
+ * Copyright 2014-2023 JKOOL, LLC.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.jkoolcloud.tnt4j.streams.utils;
+
+import java.util.*;
+
+/**
+ * Immutable set of map keys, known in advance, bound to fixed slot indexes. Used by {@link CompactMap} to store values
+ * of known keys in plain array indexed by slot, instead of hash table entries.
+ *
+ * @param <K>
+ *            the type of keys
+ *
+ * @version $Revision: 1 $
+ *
+ * @see CompactMap
+ */
+public final class KeySchema<K> {
+	private static final KeySchema<?> EMPTY = new KeySchema<>(Collections.emptyList());
+
+	private final Map<K, Integer> slots;
+	private final Object[] keys;
+
+	private KeySchema(Collection<? extends K> keys) {
+		Map<K, Integer> slotsMap = new HashMap<>(keys.size() * 2);
+		for (K key : keys) {
+			if (key != null && !slotsMap.containsKey(key)) {
+				slotsMap.put(key, slotsMap.size());
+			}
+		}
+		this.keys = new Object[slotsMap.size()];
+		for (Map.Entry<K, Integer> se : slotsMap.entrySet()) {
+			this.keys[se.getValue()] = se.getKey();
+		}
+		this.slots = slotsMap;
+	}
+
+	/**
+	 * Builds key schema binding provided keys to slot indexes in keys collection iteration order. Duplicate and
+	 * {@code null} keys are ignored.
+	 *
+	 * @param keys
+	 *            collection of known keys
+	 * @param <K>
+	 *            the type of keys
+	 * @return key schema instance
+	 */
+	public static <K> KeySchema<K> of(Collection<? extends K> keys) {
+		return keys == null || keys.isEmpty() ? empty() : new KeySchema<>(keys);
+	}
+
+	/**
+	 * Returns empty key schema.
+	 *
+	 * @param <K>
+	 *            the type of keys
+	 * @return empty key schema instance
+	 */
+	@SuppressWarnings("unchecked")
+	public static <K> KeySchema<K> empty() {
+		return (KeySchema<K>) EMPTY;
+	}
+
+	/**
+	 * Returns slot index bound to provided key.
+	 *
+	 * @param key
+	 *            key to get slot index
+	 * @return slot index, or {@code -1} if key is not defined in this schema
+	 */
+	public int slotOf(Object key) {
+		Integer slot = slots.isEmpty() ? null : slots.get(key);
+		return slot == null ? -1 : slot;
+	}
+
+	/**
+	 * Returns key bound to provided slot index.
+	 *
+	 * @param slot
+	 *            slot index
+	 * @return key bound to slot
+	 */
+	@SuppressWarnings("unchecked")
+	public K keyAt(int slot) {
+		return (K) keys[slot];
+	}
+
+	/**
+	 * Returns number of keys (slots) defined by this schema.
+	 *
+	 * @return number of schema keys
+	 */
+	public int size() {
+		return keys.length;
+	}
+}
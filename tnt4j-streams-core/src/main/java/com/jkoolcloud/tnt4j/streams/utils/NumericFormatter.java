@@ -23,14 +23,19 @@ import java.text.DecimalFormatSymbols;
 import java.text.NumberFormat;
 import java.text.ParseException;
 import java.util.*;
-import java.util.concurrent.locks.Lock;
-import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Function;
 
 import org.apache.commons.lang3.StringUtils;
 import org.apache.commons.lang3.math.NumberUtils;
 
 /**
  * Provides methods for parsing objects into numeric values and for formatting numeric values as strings.
+ * <p>
+ * Formatter instances are cached and can be shared between threads: {@link DecimalFormat} used by formatter is cloned
+ * for every thread using it. Plain decimal and radix integer strings are parsed without {@link DecimalFormat} and
+ * without exceptions thrown on overflow.
  *
  * @version $Revision: 1 $
  *
@@ -41,8 +46,7 @@ public class NumericFormatter {
 	private final int radix;
 	private final FormatterContext formatter;
 
-	private static final Map<String, NumericFormatter> FORMATTERS_MAP = new HashMap<>();
-	private static final Lock accessLock = new ReentrantLock();
+	private static final ConcurrentMap<String, NumericFormatter> FORMATTERS_MAP = new ConcurrentHashMap<>();
 
 	/**
 	 * Creates a number formatter using the default numeric representation.
@@ -85,12 +89,7 @@ public class NumericFormatter {
 	 * @return number formatter/parser instance
 	 */
 	public static NumericFormatter getInstance() {
-		accessLock.lock();
-		try {
-			return FORMATTERS_MAP.computeIfAbsent(getFormatterKey(null, null, -1), k -> new NumericFormatter());
-		} finally {
-			accessLock.unlock();
-		}
+		return getCached(getFormatterKey(null, null, -1), k -> new NumericFormatter());
 	}
 
 	/**
@@ -102,12 +101,7 @@ public class NumericFormatter {
 	 * @return number formatter/parser instance
 	 */
 	public static NumericFormatter getInstance(int radix) {
-		accessLock.lock();
-		try {
-			return FORMATTERS_MAP.computeIfAbsent(getFormatterKey(null, null, radix), k -> new NumericFormatter(radix));
-		} finally {
-			accessLock.unlock();
-		}
+		return getCached(getFormatterKey(null, null, radix), k -> new NumericFormatter(radix));
 	}
 
 	/**
@@ -120,13 +114,13 @@ public class NumericFormatter {
 	 * @return number formatter/parser instance
 	 */
 	public static NumericFormatter getInstance(String pattern, String locale) {
-		accessLock.lock();
-		try {
-			return FORMATTERS_MAP.computeIfAbsent(getFormatterKey(pattern, locale, -1),
-					k -> new NumericFormatter(pattern, locale));
-		} finally {
-			accessLock.unlock();
-		}
+		return getCached(getFormatterKey(pattern, locale, -1), k -> new NumericFormatter(pattern, locale));
+	}
+
+	private static NumericFormatter getCached(String key, Function<String, NumericFormatter> factory) {
+		// lock-free read for already cached formatter, computeIfAbsent locks map bin on first access only
+		NumericFormatter nf = FORMATTERS_MAP.get(key);
+		return nf == null ? FORMATTERS_MAP.computeIfAbsent(key, factory) : nf;
 	}
 
 	private static String getFormatterKey(String pattern, String locale, int radix) {
@@ -298,7 +292,7 @@ public class NumericFormatter {
 	 * @see #parse(Object, com.jkoolcloud.tnt4j.streams.utils.NumericFormatter.FormatterContext, int, Number)
 	 */
 	public static Number parse(Object value, String pattern, Number scale, String locale) throws ParseException {
-		return parse(value, new FormatterContext(pattern, locale), 10, scale);
+		return parse(value, getInstance(pattern, locale).formatter, 10, scale);
 	}
 
 	/**
@@ -337,14 +331,14 @@ public class NumericFormatter {
 			Exception nfe;
 			if (formatter != null && formatter.isFormatDefined()) {
 				try {
-					numValue = formatter.format.parse(strValue);
+					numValue = formatter.getFormat().parse(strValue);
 					nfe = null;
 				} catch (ParseException exc) {
 					nfe = exc;
 				}
 			} else {
 				try {
-					numValue = strToNumber(strValue, radix, formatter.pattern);
+					numValue = strToNumber(strValue, radix, formatter == null ? null : formatter.pattern);
 					nfe = null;
 				} catch (NumberFormatException exc) {
 					nfe = exc;
@@ -642,20 +636,117 @@ public class NumericFormatter {
 		}
 
 		if (radix != 10) {
-			try {
-				return Integer.valueOf(str, radix);
-			} catch (NumberFormatException ie) {
-				try {
-					return Long.valueOf(str, radix);
-				} catch (NumberFormatException le) {
-					return new BigInteger(str, radix);
-				}
-			}
+			Number num = parseRadixInteger(str, 0, radix);
+			return num == null ? new BigInteger(str, radix) : num;
 		} else {
 			return createNumber(str, typeExpr);
 		}
 	}
 
+	/**
+	 * Parses plain integer string without using {@link java.text.DecimalFormat} and exceptions to handle value
+	 * overflow. String shall contain only optional {@code '-'} or {@code '+'} sign and digits of defined {@code radix}.
+	 *
+	 * @param str
+	 *            string defining numeric value
+	 * @param from
+	 *            index of first string character to parse
+	 * @param radix
+	 *            the radix to be used in interpreting {@code str}
+	 * @return {@link Integer} if value fits into int range, {@link Long} if value fits into long range,
+	 *         {@link BigInteger} otherwise, or {@code null} if {@code str} is not a plain integer string
+	 */
+	static Number parseRadixInteger(String str, int from, int radix) {
+		int len = str.length();
+		int i = from;
+		boolean negative = false;
+		if (i < len && (str.charAt(i) == '-' || str.charAt(i) == '+')) {
+			negative = str.charAt(i) == '-';
+			i++;
+		}
+		if (i >= len) {
+			return null;
+		}
+
+		// accumulating negatively, like Long.parseLong does, to cover Long.MIN_VALUE
+		long limit = negative ? Long.MIN_VALUE : -Long.MAX_VALUE;
+		long multMin = limit / radix;
+		long result = 0;
+		for (; i < len; i++) {
+			int digit = Character.digit(str.charAt(i), radix);
+			if (digit < 0) {
+				return null;
+			}
+			if (result < multMin || result * radix < limit + digit) {
+				return parseBigInteger(str, from, i, radix);
+			}
+			result = result * radix - digit;
+		}
+
+		long value = negative ? result : -result;
+		if (value >= Integer.MIN_VALUE && value <= Integer.MAX_VALUE) {
+			return (int) value;
+		}
+		return value;
+	}
+
+	private static Number parseBigInteger(String str, int from, int overflowIdx, int radix) {
+		for (int i = overflowIdx; i < str.length(); i++) {
+			if (Character.digit(str.charAt(i), radix) < 0) {
+				return null;
+			}
+		}
+		return new BigInteger(from == 0 ? str : str.substring(from), radix);
+	}
+
+	/**
+	 * Parses plain decimal or {@code "0x"}/{@code "0X"}/{@code "#"} prefixed hexadecimal integer string, having same
+	 * result as {@link org.apache.commons.lang3.math.NumberUtils#createNumber(String)} would produce.
+	 *
+	 * @param str
+	 *            string defining numeric value
+	 * @return integer number value, or {@code null} if {@code str} is not a plain integer string
+	 */
+	static Number parsePlainInteger(String str) {
+		int len = str.length();
+		int i = 0;
+		boolean negative = len > 0 && str.charAt(0) == '-';
+		if (negative) {
+			i++;
+		}
+		if (i >= len) {
+			return null;
+		}
+
+		char ch = str.charAt(i);
+		if (ch == '#') {
+			return parseHexInteger(str, negative, i + 1);
+		}
+		if (ch == '0' && i + 1 < len) {
+			char nch = str.charAt(i + 1);
+			// leading zero means octal number for NumberUtils
+			return nch == 'x' || nch == 'X' ? parseHexInteger(str, negative, i + 2) : null;
+		}
+		return parseRadixInteger(str, 0, 10);
+	}
+
+	private static Number parseHexInteger(String str, boolean negative, int from) {
+		if (from >= str.length() || str.charAt(from) == '-' || str.charAt(from) == '+') {
+			return null;
+		}
+		Number num = parseRadixInteger(str, from, 16);
+		if (num == null || !negative) {
+			return num;
+		}
+		if (num instanceof Integer) {
+			return -num.intValue();
+		}
+		if (num instanceof Long) {
+			return -num.longValue();
+		}
+		return ((BigInteger) num).negate();
+	}
+
 	private static Number createNumber(String str, String typeExpr) {
 		String type = null;
 
@@ -670,6 +761,15 @@ public class NumericFormatter {
 		}
 
 		Class<? extends Number> nType = type == null ? null : FormatterContext.getNumberClass(type);
+		if (nType == null || nType == Number.class || nType == Long.class || nType == Integer.class) {
+			Number num = parsePlainInteger(str);
+			if (num instanceof Integer || (num instanceof Long && nType != Integer.class)) {
+				return nType == Long.class ? Long.valueOf(num.longValue()) : num;
+			}
+			if (num instanceof BigInteger && (nType == null || nType == Number.class)) {
+				return num;
+			}
+		}
 		if (nType == null) {
 			return NumberUtils.createNumber(str);
 		} else if (nType.isAssignableFrom(Long.class)) {
@@ -739,9 +839,9 @@ public class NumericFormatter {
 	 * @return number formatted as a string
 	 */
 	public static String toString(String pattern, Object value, String locale) {
-		FormatterContext formatter = new FormatterContext(pattern, locale);
+		FormatterContext formatter = getInstance(pattern, locale).formatter;
 		if (formatter.isFormatDefined()) {
-			return formatter.format.format(value);
+			return formatter.getFormat().format(value);
 		} else {
 			return String.valueOf(value);
 		}
@@ -796,6 +896,8 @@ public class NumericFormatter {
 		private String pattern;
 		private String locale;
 		private NumberFormat format;
+		private ThreadLocal<NumberFormat> threadFormat;
+		private ThreadLocal<NumberFormat> threadGPFormat;
 
 		/**
 		 * Creates a number formatter context using defined format {@code pattern}</> and default locale.
@@ -861,6 +963,22 @@ public class NumericFormatter {
 				format = StringUtils.isEmpty(pattern) ? null : loc == null ? new DecimalFormat(pattern)
 						: new DecimalFormat(pattern, DecimalFormatSymbols.getInstance(loc));
 			}
+
+			if (format != null) {
+				threadFormat = ThreadLocal.withInitial(() -> (NumberFormat) format.clone());
+			}
+			if (ANY.equalsIgnoreCase(pattern)) {
+				threadGPFormat = ThreadLocal.withInitial(() -> getGPFormat(locale));
+			}
+		}
+
+		/**
+		 * Returns number format instance confined to calling thread, since {@link DecimalFormat} is not thread safe.
+		 *
+		 * @return calling thread bound copy of context number format, or {@code null} if number format is not defined
+		 */
+		private NumberFormat getFormat() {
+			return threadFormat == null ? null : threadFormat.get();
 		}
 
 		/**
@@ -873,15 +991,15 @@ public class NumericFormatter {
 		}
 
 		/**
-		 * Builds number format instance to parse number from string using general-purpose number format for default or
-		 * specified {@code locale}.
+		 * Returns calling thread bound number format instance to parse number from string using general-purpose number
+		 * format for default or specified {@code locale}.
 		 *
 		 * @return general-purpose number format
 		 *
 		 * @see #getGPFormat(String)
 		 */
 		private NumberFormat getGPFormat() {
-			return getGPFormat(locale);
+			return threadGPFormat == null ? getGPFormat(locale) : threadGPFormat.get();
 		}
 
 		/**
@@ -0,0 +1,175 @@
+/*
+ * Copyright 2014-2023 JKOOL, LLC.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.jkoolcloud.tnt4j.streams.utils;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Caches {@link MethodHandle} based accessors of object declared fields and non-arg methods, used to resolve POJO
+ * field path values.
+ * <p>
+ * Accessors are cached per class and field/method name. Cache is bound to class identity using {@link ClassValue}, so
+ * accessors of reloaded class are built anew and cached accessors do not prevent class from being unloaded.
+ *
+ * @version $Revision: 1 $
+ *
+ * @see Utils#getFieldValue(String[], Object, int)
+ */
+final class ObjectAccessors {
+	private static final MethodType GETTER_TYPE = MethodType.methodType(Object.class, Object.class);
+
+	private static final ClassValue<ConcurrentMap<String, Accessor>> ACCESSORS = new ClassValue<>() {
+		@Override
+		protected ConcurrentMap<String, Accessor> computeValue(Class<?> type) {
+			return new ConcurrentHashMap<>();
+		}
+	};
+
+	private ObjectAccessors() {
+	}
+
+	/**
+	 * Returns cached or builds accessor of {@code cls} declared field or non-arg method named {@code name}.
+	 *
+	 * @param cls
+	 *            class declaring field or method
+	 * @param name
+	 *            field or method name
+	 * @return accessor of field/method value
+	 * @throws ReflectiveOperationException
+	 *             if field or method can't be made accessible
+	 */
+	static Accessor getAccessor(Class<?> cls, String name) throws ReflectiveOperationException {
+		ConcurrentMap<String, Accessor> clsAccessors = ACCESSORS.get(cls);
+		Accessor accessor = clsAccessors.get(name);
+		if (accessor == null) {
+			// NOTE: not built within computeIfAbsent, since building fails when field/method can't be made accessible
+			accessor = buildAccessor(cls, name);
+			Accessor prev = clsAccessors.putIfAbsent(name, accessor);
+			if (prev != null) {
+				accessor = prev;
+			}
+		}
+		return accessor;
+	}
+
+	private static Accessor buildAccessor(Class<?> cls, String name) throws ReflectiveOperationException {
+		MethodHandles.Lookup lookup = MethodHandles.lookup();
+		MethodHandle fieldGetter = null;
+		MethodHandle methodGetter = null;
+
+		Field field = findDeclaredField(cls, name);
+		if (field != null) {
+			field.setAccessible(true);
+			fieldGetter = toGetterType(lookup.unreflectGetter(field), Modifier.isStatic(field.getModifiers()));
+		}
+		Method method = findDeclaredMethod(cls, name);
+		if (method != null) {
+			method.setAccessible(true);
+			methodGetter = toGetterType(lookup.unreflect(method), Modifier.isStatic(method.getModifiers()));
+		}
+
+		return new Accessor(cls, name, fieldGetter, methodGetter);
+	}
+
+	private static MethodHandle toGetterType(MethodHandle mh, boolean isStatic) {
+		if (isStatic) {
+			mh = MethodHandles.dropArguments(mh, 0, Object.class);
+		}
+		return mh.asType(GETTER_TYPE);
+	}
+
+	private static Field findDeclaredField(Class<?> cls, String name) {
+		for (Field field : cls.getDeclaredFields()) {
+			if (field.getName().equals(name)) {
+				return field;
+			}
+		}
+		return null;
+	}
+
+	private static Method findDeclaredMethod(Class<?> cls, String name) {
+		for (Method method : cls.getDeclaredMethods()) {
+			if (method.getParameterCount() == 0 && method.getName().equals(name) && !method.isBridge()) {
+				return method;
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * Object declared field or non-arg method value accessor.
+	 */
+	static final class Accessor {
+		private final Class<?> cls;
+		private final String name;
+		private final MethodHandle fieldGetter;
+		private final MethodHandle methodGetter;
+
+		private Accessor(Class<?> cls, String name, MethodHandle fieldGetter, MethodHandle methodGetter) {
+			this.cls = cls;
+			this.name = name;
+			this.fieldGetter = fieldGetter;
+			this.methodGetter = methodGetter;
+		}
+
+		/**
+		 * Checks if class declares field or non-arg method accessed by this accessor.
+		 *
+		 * @return {@code true} if class declares field or non-arg method, {@code false} - otherwise
+		 */
+		boolean isResolvable() {
+			return fieldGetter != null || methodGetter != null;
+		}
+
+		/**
+		 * Gets field value of provided object. If field is not declared or its value is {@code null}, non-arg method
+		 * invocation result is returned.
+		 *
+		 * @param obj
+		 *            object to get value from
+		 * @return field or non-arg method value
+		 * @throws IllegalArgumentException
+		 *             if class declares neither field, nor non-arg method accessed by this accessor
+		 * @throws Exception
+		 *             if method invocation fails
+		 */
+		Object get(Object obj) throws Exception {
+			if (!isResolvable()) {
+				throw new IllegalArgumentException("Cannot locate declared field " + cls.getName() + "." + name); // NON-NLS
+			}
+			try {
+				Object fVal = fieldGetter == null ? null : (Object) fieldGetter.invokeExact(obj);
+				if (fVal == null && methodGetter != null) {
+					fVal = (Object) methodGetter.invokeExact(obj);
+				}
+				return fVal;
+			} catch (Exception | Error exc) {
+				throw exc;
+			} catch (Throwable t) {
+				throw new RuntimeException(t);
+			}
+		}
+	}
+}
@@ -0,0 +1,407 @@
+/*
+ * Copyright 2014-2023 JKOOL, LLC.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.jkoolcloud.tnt4j.streams.utils;
+
+import java.util.*;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Bounded lock-free ring buffer based {@link java.util.concurrent.BlockingQueue} implementation. Non-blocking
+ * {@link #offer(Object)} and {@link #poll()} operations are performed using per-slot sequence numbers (D. Vyukov
+ * bounded queue algorithm), so producers and consumers do not contend on single lock, like it is with
+ * {@link java.util.concurrent.ArrayBlockingQueue}.
+ * <p>
+ * Blocking operations spin for a short while and then wait on a condition. Lock guarding that condition is acquired by
+ * non-blocking operations only when there are threads waiting for queue to get non-empty or non-full.
+ * <p>
+ * {@link #remove(Object)} marks matching slot as removed, so it gets skipped by consumers. Removed slots are not
+ * counted into queue size, but still occupy queue capacity until they are reached by consumers, or by producers when
+ * queue is full and removed slot is at queue head. Queue iterator is weakly consistent: it iterates over a snapshot of
+ * queue elements and does not support element removal.
+ *
+ * @param <E>
+ *            the type of elements held in this queue
+ *
+ * @version $Revision: 2 $
+ */
+public class RingBufferBlockingQueue<E> extends AbstractQueue<E> implements BlockingQueue<E> {
+	private static final Object REMOVED = new Object();
+	private static final int SPIN_TRIES = 64;
+
+	private final int capacity;
+	private final AtomicReferenceArray<Object> buffer;
+	private final AtomicLongArray sequences;
+	private final AtomicLong head = new AtomicLong();
+	private final AtomicLong tail = new AtomicLong();
+	private final AtomicInteger removed = new AtomicInteger();
+
+	private final ReentrantLock waitLock = new ReentrantLock();
+	private final Condition notEmpty = waitLock.newCondition();
+	private final Condition notFull = waitLock.newCondition();
+	private final AtomicInteger emptyWaiters = new AtomicInteger();
+	private final AtomicInteger fullWaiters = new AtomicInteger();
+
+	/**
+	 * Constructs a new RingBufferBlockingQueue.
+	 *
+	 * @param capacity
+	 *            queue capacity
+	 */
+	public RingBufferBlockingQueue(int capacity) {
+		if (capacity < 1) {
+			throw new IllegalArgumentException();
+		}
+		this.capacity = capacity;
+		this.buffer = new AtomicReferenceArray<>(capacity);
+		this.sequences = new AtomicLongArray(capacity);
+		for (int i = 0; i < capacity; i++) {
+			sequences.set(i, i);
+		}
+	}
+
+	@Override
+	public boolean offer(E e) {
+		Objects.requireNonNull(e);
+
+		long pos = tail.get();
+		while (true) {
+			int idx = (int) (pos % capacity);
+			long dif = sequences.get(idx) - pos;
+			if (dif == 0) {
+				if (tail.compareAndSet(pos, pos + 1)) {
+					buffer.set(idx, e);
+					sequences.set(idx, pos + 1);
+					if (emptyWaiters.get() > 0) {
+						signal(notEmpty);
+					}
+					return true;
+				}
+				pos = tail.get();
+			} else if (dif < 0) {
+				if (removed.get() > 0 && skipRemovedHead()) {
+					pos = tail.get();
+					continue;
+				}
+				return false; // full
+			} else {
+				pos = tail.get();
+			}
+		}
+	}
+
+	@Override
+	@SuppressWarnings("unchecked")
+	public E poll() {
+		while (true) {
+			Object e = pollSlot();
+			if (e != REMOVED) {
+				return (E) e;
+			}
+			removed.decrementAndGet();
+		}
+	}
+
+	/**
+	 * Releases queue head slot if it is marked as removed.
+	 *
+	 * @return {@code true} if removed head slot has been released, {@code false} - otherwise
+	 */
+	private boolean skipRemovedHead() {
+		long pos = head.get();
+		int idx = (int) (pos % capacity);
+		if (sequences.get(idx) == pos + 1 && buffer.get(idx) == REMOVED && head.compareAndSet(pos, pos + 1)) {
+			buffer.set(idx, null);
+			sequences.set(idx, pos + capacity);
+			removed.decrementAndGet();
+			if (fullWaiters.get() > 0) {
+				signal(notFull);
+			}
+			return true;
+		}
+		return false;
+	}
+
+	private Object pollSlot() {
+		long pos = head.get();
+		while (true) {
+			int idx = (int) (pos % capacity);
+			long dif = sequences.get(idx) - (pos + 1);
+			if (dif == 0) {
+				if (head.compareAndSet(pos, pos + 1)) {
+					Object e = buffer.getAndSet(idx, null);
+					sequences.set(idx, pos + capacity);
+					if (fullWaiters.get() > 0) {
+						signal(notFull);
+					}
+					return e;
+				}
+				pos = head.get();
+			} else if (dif < 0) {
+				return null; // empty
+			} else {
+				pos = head.get();
+			}
+		}
+	}
+
+	@Override
+	@SuppressWarnings("unchecked")
+	public E peek() {
+		long t = tail.get();
+		for (long pos = head.get(); pos < t; pos++) {
+			int idx = (int) (pos % capacity);
+			if (sequences.get(idx) != pos + 1) {
+				return null;
+			}
+			Object e = buffer.get(idx);
+			if (e != null && e != REMOVED) {
+				return (E) e;
+			}
+		}
+		return null;
+	}
+
+	@Override
+	public void put(E e) throws InterruptedException {
+		if (offer(e)) {
+			return;
+		}
+		for (int i = 0; i < SPIN_TRIES; i++) {
+			Thread.onSpinWait();
+			if (offer(e)) {
+				return;
+			}
+		}
+		fullWaiters.incrementAndGet();
+		try {
+			while (!offer(e)) {
+				await(notFull, true, TimeUnit.MILLISECONDS.toNanos(10));
+			}
+		} finally {
+			fullWaiters.decrementAndGet();
+		}
+	}
+
+	@Override
+	public boolean offer(E e, long timeout, TimeUnit unit) throws InterruptedException {
+		if (offer(e)) {
+			return true;
+		}
+		long nanos = unit.toNanos(timeout);
+		long deadline = System.nanoTime() + nanos;
+		fullWaiters.incrementAndGet();
+		try {
+			while (!offer(e)) {
+				nanos = deadline - System.nanoTime();
+				if (nanos <= 0) {
+					return false;
+				}
+				await(notFull, true, nanos);
+			}
+			return true;
+		} finally {
+			fullWaiters.decrementAndGet();
+		}
+	}
+
+	@Override
+	public E take() throws InterruptedException {
+		E e;
+		while ((e = poll(Long.MAX_VALUE, TimeUnit.NANOSECONDS)) == null) {
+			// wait more
+		}
+		return e;
+	}
+
+	@Override
+	public E poll(long timeout, TimeUnit unit) throws InterruptedException {
+		E e = poll();
+		if (e != null) {
+			return e;
+		}
+		for (int i = 0; i < SPIN_TRIES; i++) {
+			Thread.onSpinWait();
+			if ((e = poll()) != null) {
+				return e;
+			}
+		}
+		long nanos = unit.toNanos(timeout);
+		long deadline = System.nanoTime() + nanos;
+		emptyWaiters.incrementAndGet();
+		try {
+			while ((e = poll()) == null) {
+				nanos = deadline - System.nanoTime();
+				if (nanos <= 0) {
+					return null;
+				}
+				await(notEmpty, false, nanos);
+			}
+			return e;
+		} finally {
+			emptyWaiters.decrementAndGet();
+		}
+	}
+
+	private void await(Condition condition, boolean full, long nanos) throws InterruptedException {
+		waitLock.lockInterruptibly();
+		try {
+			// re-check under lock: signaling thread acquires lock after changing queue state
+			if (full ? remainingCapacity() == 0 : isEmpty()) {
+				condition.awaitNanos(nanos);
+			}
+		} finally {
+			waitLock.unlock();
+		}
+	}
+
+	private void signal(Condition condition) {
+		waitLock.lock();
+		try {
+			condition.signalAll();
+		} finally {
+			waitLock.unlock();
+		}
+	}
+
+	/**
+	 * {@inheritDoc}
+	 * <p>
+	 * Slots marked as removed but not yet released are not treated as free.
+	 */
+	@Override
+	public int remainingCapacity() {
+		return capacity - occupiedSlots();
+	}
+
+	/**
+	 * {@inheritDoc}
+	 * <p>
+	 * Slots marked as removed are not counted.
+	 */
+	@Override
+	public int size() {
+		while (true) {
+			long h = head.get();
+			long t = tail.get();
+			int r = removed.get();
+			if (head.get() == h) {
+				return (int) Math.max(0, Math.min(capacity, t - h - r));
+			}
+		}
+	}
+
+	private int occupiedSlots() {
+		while (true) {
+			long h = head.get();
+			long t = tail.get();
+			if (head.get() == h) {
+				return (int) Math.max(0, Math.min(capacity, t - h));
+			}
+		}
+	}
+
+	@Override
+	public boolean isEmpty() {
+		return peek() == null;
+	}
+
+	@Override
+	public int drainTo(Collection<? super E> c) {
+		return drainTo(c, Integer.MAX_VALUE);
+	}
+
+	@Override
+	public int drainTo(Collection<? super E> c, int maxElements) {
+		Objects.requireNonNull(c);
+		if (c == this) {
+			throw new IllegalArgumentException();
+		}
+		int n = 0;
+		E e;
+		while (n < maxElements && (e = poll()) != null) {
+			c.add(e);
+			n++;
+		}
+		return n;
+	}
+
+	@Override
+	public void clear() {
+		Object e;
+		while ((e = pollSlot()) != null) {
+			if (e == REMOVED) {
+				removed.decrementAndGet();
+			}
+		}
+	}
+
+	/**
+	 * {@inheritDoc}
+	 * <p>
+	 * Matching queue slot is marked as removed and gets skipped by consumers.
+	 */
+	@Override
+	public boolean remove(Object o) {
+		if (o == null) {
+			return false;
+		}
+		long t = tail.get();
+		for (long pos = head.get(); pos < t; pos++) {
+			int idx = (int) (pos % capacity);
+			if (sequences.get(idx) == pos + 1) {
+				Object e = buffer.get(idx);
+				if (e != REMOVED && o.equals(e)) {
+					// counted in advance, so concurrently consumed removed slot never makes counter negative
+					removed.incrementAndGet();
+					if (buffer.compareAndSet(idx, e, REMOVED)) {
+						return true;
+					}
+					removed.decrementAndGet();
+				}
+			}
+		}
+		return false;
+	}
+
+	@Override
+	public Iterator<E> iterator() {
+		return Collections.unmodifiableList(snapshot()).iterator();
+	}
+
+	@SuppressWarnings("unchecked")
+	private List<E> snapshot() {
+		List<E> items = new ArrayList<>();
+		long t = tail.get();
+		for (long pos = head.get(); pos < t; pos++) {
+			int idx = (int) (pos % capacity);
+			if (sequences.get(idx) == pos + 1) {
+				Object e = buffer.get(idx);
+				if (e != null && e != REMOVED) {
+					items.add((E) e);
+				}
+			}
+		}
+		return items;
+	}
+}
@@ -0,0 +1,313 @@
+/*
+ * Copyright 2014-2023 JKOOL, LLC.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.jkoolcloud.tnt4j.streams.utils;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+
+/**
+ * Disk backed FIFO journal of binary records. Records are appended into memory-mapped fixed size segment files and
+ * read back in same order. Fully read segment files are deleted. Read position is kept in memory-mapped index file, so
+ * journal contents survive process restarts: reopened journal continues reading from last not consumed record.
+ * <p>
+ * Journal disk usage is capped by {@code maxSize}: when all allowed segments are filled, {@link #append(byte[])}
+ * returns {@code false} until some segments gets consumed.
+ * <p>
+ * Record is stored as 4 bytes length prefix followed by record bytes. Length prefix is written after record bytes, so
+ * partially written record is never visible to reader. Zero length prefix marks end of written data, negative -
+ * segment end.
+ * <p>
+ * Journal methods are synchronized, so journal can be shared by multiple writer threads and single reader thread.
+ *
+ * @version $Revision: 1 $
+ */
+public class SpillJournal implements Closeable {
+	private static final String SEGMENT_PREFIX = "spill-"; // NON-NLS
+	private static final String SEGMENT_SUFFIX = ".dat"; // NON-NLS
+	private static final String INDEX_FILE = "spill.idx"; // NON-NLS
+
+	private static final int LENGTH_SIZE = Integer.BYTES;
+	private static final int END_OF_SEGMENT = -1;
+	private static final int INDEX_SIZE = Long.BYTES + Integer.BYTES;
+
+	private final Path dir;
+	private final long maxSize;
+	private final int segmentSize;
+
+	private final Deque<Segment> segments = new ArrayDeque<>();
+	private FileChannel indexChannel;
+	private MappedByteBuffer index;
+
+	private int writePos;
+	private int readPos;
+	private volatile long count;
+
+	/**
+	 * Constructs a new SpillJournal. Opens journal files existing in {@code dir} directory, or creates new ones.
+	 *
+	 * @param dir
+	 *            journal files directory
+	 * @param maxSize
+	 *            maximal journal segment files size in bytes
+	 * @param segmentSize
+	 *            single segment file size in bytes
+	 *
+	 * @throws IOException
+	 *             if journal files can't be opened or created
+	 */
+	public SpillJournal(Path dir, long maxSize, int segmentSize) throws IOException {
+		if (segmentSize <= LENGTH_SIZE * 2 || maxSize < segmentSize) {
+			throw new IllegalArgumentException(StreamsResources.getStringFormatted(
+					StreamsResources.RESOURCE_BUNDLE_NAME, "SpillJournal.illegal.size", maxSize, segmentSize));
+		}
+		this.dir = dir;
+		this.maxSize = maxSize;
+		this.segmentSize = segmentSize;
+
+		open();
+	}
+
+	private void open() throws IOException {
+		Files.createDirectories(dir);
+
+		indexChannel = FileChannel.open(dir.resolve(INDEX_FILE), StandardOpenOption.CREATE, StandardOpenOption.READ,
+				StandardOpenOption.WRITE);
+		index = indexChannel.map(FileChannel.MapMode.READ_WRITE, 0, INDEX_SIZE);
+		long readSeq = index.getLong(0);
+		readPos = index.getInt(Long.BYTES);
+
+		List<Long> seqs = new ArrayList<>();
+		try (DirectoryStream<Path> ds = Files.newDirectoryStream(dir, SEGMENT_PREFIX + "*" + SEGMENT_SUFFIX)) { // NON-NLS
+			for (Path sf : ds) {
+				String fName = sf.getFileName().toString();
+				try {
+					seqs.add(Long.parseLong(
+							fName.substring(SEGMENT_PREFIX.length(), fName.length() - SEGMENT_SUFFIX.length())));
+				} catch (NumberFormatException exc) {
+				}
+			}
+		}
+		seqs.sort(null);
+
+		for (Long seq : seqs) {
+			if (seq < readSeq) {
+				Files.deleteIfExists(segmentPath(seq));
+			} else {
+				segments.addLast(new Segment(seq));
+			}
+		}
+
+		if (segments.isEmpty()) {
+			segments.addLast(new Segment(readSeq));
+			readPos = 0;
+		} else if (segments.peekFirst().seq != readSeq) {
+			readPos = 0;
+		}
+		storeReadPosition();
+
+		// recover record count and write position
+		count = 0;
+		for (Segment segment : segments) {
+			int pos = segment == segments.peekFirst() ? readPos : 0;
+			while (pos + LENGTH_SIZE <= segmentSize) {
+				int len = segment.map.getInt(pos);
+				if (len <= 0 || pos + LENGTH_SIZE + len > segmentSize) {
+					break;
+				}
+				pos += LENGTH_SIZE + len;
+				count++;
+			}
+			writePos = pos;
+		}
+	}
+
+	/**
+	 * Appends record to the end of journal.
+	 *
+	 * @param record
+	 *            record bytes to append
+	 * @return {@code true} if record has been appended, {@code false} if journal has reached max size limit
+	 *
+	 * @throws IOException
+	 *             if record is larger than journal segment, or new segment file can't be created
+	 */
+	public synchronized boolean append(byte[] record) throws IOException {
+		int recordSize = LENGTH_SIZE + record.length;
+		if (recordSize + LENGTH_SIZE > segmentSize) {
+			throw new IOException(StreamsResources.getStringFormatted(StreamsResources.RESOURCE_BUNDLE_NAME,
+					"SpillJournal.record.too.large", record.length, segmentSize));
+		}
+
+		Segment segment = segments.peekLast();
+		if (writePos + recordSize + LENGTH_SIZE > segmentSize) {
+			if ((long) (segments.size() + 1) * segmentSize > maxSize) {
+				return false;
+			}
+			segment.map.putInt(writePos, END_OF_SEGMENT);
+			segment = new Segment(segment.seq + 1);
+			segments.addLast(segment);
+			writePos = 0;
+		}
+
+		MappedByteBuffer map = segment.map;
+		map.position(writePos + LENGTH_SIZE);
+		map.put(record);
+		map.putInt(writePos, record.length);
+		writePos += recordSize;
+		count++;
+
+		return true;
+	}
+
+	/**
+	 * Returns first not consumed journal record without consuming it.
+	 *
+	 * @return first not consumed record bytes, or {@code null} if journal is empty
+	 *
+	 * @throws IOException
+	 *             if consumed segment file can't be deleted
+	 *
+	 * @see #advance()
+	 */
+	public synchronized byte[] peek() throws IOException {
+		while (count > 0) {
+			Segment segment = segments.peekFirst();
+			int len = readPos + LENGTH_SIZE <= segmentSize ? segment.map.getInt(readPos) : END_OF_SEGMENT;
+			if (len > 0) {
+				byte[] record = new byte[len];
+				segment.map.position(readPos + LENGTH_SIZE);
+				segment.map.get(record);
+				return record;
+			}
+			if (segments.size() == 1) {
+				break;
+			}
+			nextReadSegment();
+		}
+
+		return null;
+	}
+
+	/**
+	 * Consumes first not consumed journal record, previously returned by {@link #peek()}.
+	 */
+	public synchronized void advance() {
+		if (count > 0) {
+			Segment segment = segments.peekFirst();
+			readPos += LENGTH_SIZE + segment.map.getInt(readPos);
+			count--;
+			storeReadPosition();
+		}
+	}
+
+	private void nextReadSegment() throws IOException {
+		Segment consumed = segments.pollFirst();
+		consumed.close();
+		Files.deleteIfExists(segmentPath(consumed.seq));
+
+		readPos = 0;
+		storeReadPosition();
+	}
+
+	private void storeReadPosition() {
+		index.putLong(0, segments.peekFirst().seq);
+		index.putInt(Long.BYTES, readPos);
+	}
+
+	/**
+	 * Checks whether journal has no records to consume.
+	 *
+	 * @return {@code true} if journal has no records to consume, {@code false} - otherwise
+	 */
+	public boolean isEmpty() {
+		return count == 0;
+	}
+
+	/**
+	 * Returns number of journal records left to consume.
+	 *
+	 * @return number of journal records left to consume
+	 */
+	public long size() {
+		return count;
+	}
+
+	/**
+	 * Returns journal segment files disk space usage in bytes.
+	 *
+	 * @return journal segment files size in bytes
+	 */
+	public synchronized long diskSize() {
+		return (long) segments.size() * segmentSize;
+	}
+
+	/**
+	 * Returns journal files directory.
+	 *
+	 * @return journal files directory
+	 */
+	public Path getDir() {
+		return dir;
+	}
+
+	/**
+	 * Flushes journal data to disk and closes journal files. Journal contents are kept on disk.
+	 */
+	@Override
+	public synchronized void close() {
+		for (Segment segment : segments) {
+			segment.close();
+		}
+		segments.clear();
+		if (index != null) {
+			index.force();
+		}
+		Utils.close(indexChannel);
+	}
+
+	private Path segmentPath(long seq) {
+		return dir.resolve(String.format("%s%020d%s", SEGMENT_PREFIX, seq, SEGMENT_SUFFIX)); // NON-NLS
+	}
+
+	private class Segment {
+		private final long seq;
+		private final FileChannel channel;
+		private final MappedByteBuffer map;
+
+		private Segment(long seq) throws IOException {
+			this.seq = seq;
+			this.channel = FileChannel.open(segmentPath(seq), StandardOpenOption.CREATE, StandardOpenOption.READ,
+					StandardOpenOption.WRITE);
+			this.map = channel.map(FileChannel.MapMode.READ_WRITE, 0, segmentSize);
+		}
+
+		private void close() {
+			map.force();
+			Utils.close(channel);
+		}
+	}
+}
@@ -44,6 +44,7 @@ import com.jkoolcloud.tnt4j.core.UsecTimestamp;
 import com.jkoolcloud.tnt4j.sink.EventSink;
 import com.jkoolcloud.tnt4j.streams.configure.CacheProperties;
 import com.jkoolcloud.tnt4j.streams.fields.ActivityInfo;
+import com.jkoolcloud.tnt4j.streams.fields.FieldRef;
 
 /**
  * Utility class to support TNT4J-Streams streamed data values caching.
@@ -65,7 +66,7 @@ import com.jkoolcloud.tnt4j.streams.fields.ActivityInfo;
  * value - {@code 0}. (Optional)</li>
  * </ul>
  *
- * @version $Revision: 3 $
+ * @version $Revision: 4 $
  */
 public final class StreamsCache {
 	private static final EventSink LOGGER = LoggerUtils.getLoggerSink(StreamsCache.class);
@@ -169,8 +170,9 @@ public final class StreamsCache {
 		}
 
 		for (CacheEntry cacheEntry : cacheEntries.values()) {
-			String resolvedFieldKey = fillInKeyPattern(cacheEntry.getKey(), ai, parserName);
-			Object resolvedFieldValue = fillInValuePattern(cacheEntry.getValue(), ai, parserName);
+			String resolvedFieldKey = fillInPattern(cacheEntry.getKey(), cacheEntry.keyRefs, ai, parserName);
+			Object resolvedFieldValue = fillInValuePattern(cacheEntry.getValue(), cacheEntry.valueRefs, ai,
+					parserName);
 
 			if (resolvedFieldKey != null && resolvedFieldValue != null) {
 				valuesCache.put(resolvedFieldKey, new CacheValue(resolvedFieldValue, cacheEntry.isTransient()));
@@ -190,28 +192,26 @@ public final class StreamsCache {
 	 * @return pattern string filled in with data values
 	 */
 	public static String fillInKeyPattern(String pattern, ActivityInfo ai, String parserName) {
-		List<String> vars = new ArrayList<>();
-		Utils.resolveCfgVariables(vars, pattern);
-
-		return fillInPattern(pattern, vars, ai, parserName);
+		return fillInPattern(pattern, compileVariables(pattern), ai, parserName);
 	}
 
-	private static Object fillInValuePattern(String pattern, ActivityInfo ai, String parserName) {
-		List<String> vars = new ArrayList<>();
-		Utils.resolveCfgVariables(vars, pattern);
-
-		return vars.size() == 1 ? ai.getFieldValue(vars.get(0)) : fillInPattern(pattern, vars, ai, parserName);
+	private static Object fillInValuePattern(String pattern, Map<String, FieldRef> varRefs, ActivityInfo ai,
+			String parserName) {
+		return varRefs.size() == 1 ? ai.getFieldValue(varRefs.values().iterator().next())
+				: fillInPattern(pattern, varRefs, ai, parserName);
 	}
 
-	private static String fillInPattern(String pattern, List<String> vars, ActivityInfo ai, String parserName) {
+	private static String fillInPattern(String pattern, Map<String, FieldRef> varRefs, ActivityInfo ai,
+			String parserName) {
 		String filledInValue = pattern;
 
-		for (String var : vars) {
+		for (Map.Entry<String, FieldRef> varRef : varRefs.entrySet()) {
+			String var = varRef.getKey();
 			Object fieldValue;
 			if (var.equals(PARSER_NAME_VAR)) {
 				fieldValue = parserName;
 			} else {
-				fieldValue = ai.getFieldValue(var);
+				fieldValue = ai.getFieldValue(varRef.getValue());
 			}
 
 			if (fieldValue != null) {
@@ -222,6 +222,24 @@ public final class StreamsCache {
 		return filledInValue;
 	}
 
+	/**
+	 * Resolves pattern contained variables and compiles field reference handles for them.
+	 *
+	 * @param pattern
+	 *            pattern string to resolve variables
+	 * @return map of pattern variables and compiled field reference handles
+	 */
+	private static Map<String, FieldRef> compileVariables(String pattern) {
+		List<String> vars = new ArrayList<>();
+		Utils.resolveCfgVariables(vars, pattern);
+
+		Map<String, FieldRef> varRefs = new LinkedHashMap<>(vars.size());
+		for (String var : vars) {
+			varRefs.computeIfAbsent(var, FieldRef::of);
+		}
+		return varRefs;
+	}
+
 	/**
 	 * Resolves cache stored value identified by cache entry id.
 	 *
@@ -237,7 +255,7 @@ public final class StreamsCache {
 	public static Object getValue(ActivityInfo ai, String entryIdStr, String parserName) {
 		CacheEntry cacheEntry = cacheEntries.get(entryIdStr);
 		if (cacheEntry != null) {
-			String cacheKey = fillInKeyPattern(cacheEntry.getKey(), ai, parserName);
+			String cacheKey = fillInPattern(cacheEntry.getKey(), cacheEntry.keyRefs, ai, parserName);
 			if (cacheKey != null) {
 				CacheValue value = valuesCache == null ? null : valuesCache.getIfPresent(cacheKey);
 				return value == null ? evaluateValue(cacheEntry.getDefaultValue()) : value.value();
@@ -538,6 +556,9 @@ public final class StreamsCache {
 		private Object defaultValue;
 		private boolean transientEntry = false;
 
+		private final Map<String, FieldRef> keyRefs;
+		private final Map<String, FieldRef> valueRefs;
+
 		/**
 		 * Constructs new CacheEntry.
 		 *
@@ -574,6 +595,8 @@ public final class StreamsCache {
 			this.value = value;
 			this.defaultValue = defaultValue;
 			this.transientEntry = transientEntry;
+			this.keyRefs = compileVariables(key);
+			this.valueRefs = compileVariables(value);
 		}
 
 		/**
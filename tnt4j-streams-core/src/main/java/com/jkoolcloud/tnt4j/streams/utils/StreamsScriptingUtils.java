@@ -17,6 +17,8 @@
 package com.jkoolcloud.tnt4j.streams.utils;
 
 import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -29,14 +31,16 @@ import org.codehaus.groovy.control.customizers.CompilationCustomizer;
 import org.codehaus.groovy.control.customizers.ImportCustomizer;
 import org.codehaus.groovy.jsr223.GroovyScriptEngineImpl;
 
+import com.google.common.cache.CacheBuilder;
 import com.jkoolcloud.tnt4j.streams.fields.AbstractFieldEntity;
+import com.jkoolcloud.tnt4j.streams.inputs.TNTInputStream;
 
 import groovy.lang.GroovyClassLoader;
 
 /**
  * General scripting utility methods used by TNT4J-Streams.
  * 
- * @version $Revision: 2 $
+ * @version $Revision: 3 $
  */
 public final class StreamsScriptingUtils {
 	/**
@@ -106,8 +110,35 @@ public final class StreamsScriptingUtils {
 	private static final Set<String> DEFAULT_IMPORT_PACKAGES = new HashSet<>();
 	private static final Set<String> DEFAULT_IMPORT_CLASSES = new HashSet<>();
 
-	private static ScriptEngine GROOVY_SCRIPT_ENGINE;
-	private static ScriptEngine JS_SCRIPT_ENGINE;
+	/**
+	 * System property name defining number of threads used to compile scripts in parallel ({@value}). Default value
+	 * is number of available processors.
+	 */
+	public static final String COMPILE_THREADS_PROP = "com.jkoolcloud.tnt4j.streams.script.compile.threads"; // NON-NLS
+	/**
+	 * System property name defining max. number of compiled scripts kept in compiled scripts cache ({@value}). Default
+	 * value is {@value #DEFAULT_COMPILED_SCRIPTS_CACHE_SIZE}.
+	 */
+	public static final String COMPILED_SCRIPTS_CACHE_SIZE_PROP = "com.jkoolcloud.tnt4j.streams.script.cache.size"; // NON-NLS
+	/**
+	 * Default max. number of compiled scripts kept in compiled scripts cache.
+	 */
+	public static final int DEFAULT_COMPILED_SCRIPTS_CACHE_SIZE = 5000;
+
+	// NOTE: script engine context (script file name attribute) is not thread safe, so every thread uses own engine
+	private static final ThreadLocal<ScriptEngine> GROOVY_SCRIPT_ENGINE = ThreadLocal
+			.withInitial(StreamsScriptingUtils::initGroovyScriptEngine);
+	private static final ThreadLocal<ScriptEngine> JS_SCRIPT_ENGINE = ThreadLocal
+			.withInitial(StreamsScriptingUtils::initJSScriptEngine);
+
+	private static final ConcurrentMap<String, CompletableFuture<CompiledScript>> COMPILED_SCRIPTS = CacheBuilder
+			.newBuilder()
+			.maximumSize(Math.max(0,
+					Integer.getInteger(COMPILED_SCRIPTS_CACHE_SIZE_PROP, DEFAULT_COMPILED_SCRIPTS_CACHE_SIZE)))
+			.<String, CompletableFuture<CompiledScript>> build().asMap();
+	private static final LongAdder compiledScriptsCount = new LongAdder();
+	private static final LongAdder reusedScriptsCount = new LongAdder();
+	private static ExecutorService compileExecutor;
 
 	static {
 		initDefaultImportPackages();
@@ -377,12 +408,13 @@ public final class StreamsScriptingUtils {
 	 * @see javax.script.Compilable#compile(String)
 	 */
 	public static CompiledScript compileGroovyScript(String name, String scriptCode) throws ScriptException {
-		if (GROOVY_SCRIPT_ENGINE == null) {
-			GROOVY_SCRIPT_ENGINE = initGroovyScriptEngine();
-		}
+		return awaitCompiled(compile(GROOVY_LANG, name, scriptCode, false));
+	}
 
-		GROOVY_SCRIPT_ENGINE.getContext().setAttribute(ScriptEngine.FILENAME, name, ScriptContext.ENGINE_SCOPE);
-		return ((Compilable) GROOVY_SCRIPT_ENGINE).compile(scriptCode);
+	private static CompiledScript doCompileGroovyScript(String name, String scriptCode) throws ScriptException {
+		ScriptEngine engine = GROOVY_SCRIPT_ENGINE.get();
+		engine.getContext().setAttribute(ScriptEngine.FILENAME, name, ScriptContext.ENGINE_SCOPE);
+		return ((Compilable) engine).compile(scriptCode);
 	}
 
 	private static ScriptEngine initGroovyScriptEngine() {
@@ -410,12 +442,13 @@ public final class StreamsScriptingUtils {
 	 * @see javax.script.Compilable#compile(String)
 	 */
 	public static CompiledScript compileJSScript(String name, String scriptCode) throws ScriptException {
-		if (JS_SCRIPT_ENGINE == null) {
-			JS_SCRIPT_ENGINE = initJSScriptEngine();
-		}
+		return awaitCompiled(compile(JAVA_SCRIPT_LANG, name, scriptCode, false));
+	}
 
-		JS_SCRIPT_ENGINE.getContext().setAttribute(ScriptEngine.FILENAME, name, ScriptContext.ENGINE_SCOPE);
-		return ((Compilable) JS_SCRIPT_ENGINE).compile(addDefaultJSScriptImports(scriptCode));
+	private static CompiledScript doCompileJSScript(String name, String scriptCode) throws ScriptException {
+		ScriptEngine engine = JS_SCRIPT_ENGINE.get();
+		engine.getContext().setAttribute(ScriptEngine.FILENAME, name, ScriptContext.ENGINE_SCOPE);
+		return ((Compilable) engine).compile(addDefaultJSScriptImports(scriptCode));
 	}
 
 	private static ScriptEngine initJSScriptEngine() {
@@ -443,16 +476,133 @@ public final class StreamsScriptingUtils {
 	 * @see #compileJSScript(String, String)
 	 */
 	public static CompiledScript compileScript(String lang, String name, String scriptCode) throws ScriptException {
+		return awaitCompiled(compile(lang, name, scriptCode, false));
+	}
+
+	/**
+	 * Compiles provided script code asynchronously, using scripts compilation thread pool. Number of pool threads is
+	 * defined by system property {@value #COMPILE_THREADS_PROP}.
+	 * <p>
+	 * Compiled scripts are cached by script language and code, so same script code is compiled only once, and script
+	 * name of first compilation is used by all script instances. Cache size is limited by system property
+	 * {@value #COMPILED_SCRIPTS_CACHE_SIZE_PROP}, least recently used scripts are evicted from cache. Failed
+	 * compilations are not cached.
+	 *
+	 * @param lang
+	 *            script code language
+	 * @param name
+	 *            script name
+	 * @param scriptCode
+	 *            script code string to compile
+	 * @return future of compiled script code instance
+	 *
+	 * @see #awaitCompiled(java.util.concurrent.Future)
+	 */
+	public static Future<CompiledScript> compileScriptAsync(String lang, String name, String scriptCode) {
+		return compile(lang, name, scriptCode, true);
+	}
+
+	private static CompletableFuture<CompiledScript> compile(String lang, String name, String scriptCode,
+			boolean async) {
+		String key = lang.toLowerCase() + ':' + scriptCode;
+		CompletableFuture<CompiledScript> csFuture = COMPILED_SCRIPTS.get(key);
+		if (csFuture == null) {
+			CompletableFuture<CompiledScript> newFuture = new CompletableFuture<>();
+			csFuture = COMPILED_SCRIPTS.putIfAbsent(key, newFuture);
+			if (csFuture == null) {
+				Runnable compileTask = () -> {
+					try {
+						newFuture.complete(doCompile(lang, name, scriptCode));
+						compiledScriptsCount.increment();
+					} catch (Throwable exc) {
+						COMPILED_SCRIPTS.remove(key, newFuture);
+						newFuture.completeExceptionally(exc);
+					}
+				};
+				if (async) {
+					getCompileExecutor().execute(compileTask);
+				} else {
+					compileTask.run();
+				}
+				return newFuture;
+			}
+		}
+
+		reusedScriptsCount.increment();
+		return csFuture;
+	}
+
+	private static CompiledScript doCompile(String lang, String name, String scriptCode) throws ScriptException {
 		switch (lang.toLowerCase()) {
 		case GROOVY_LANG:
-			return compileGroovyScript(name, scriptCode);
+			return doCompileGroovyScript(name, scriptCode);
 		case JAVA_SCRIPT_LANG:
-			return compileJSScript(name, scriptCode);
+			return doCompileJSScript(name, scriptCode);
 		default:
 			throw new ScriptException("Unknown script language"); // NON-NLS
 		}
 	}
 
+	private static synchronized ExecutorService getCompileExecutor() {
+		if (compileExecutor == null) {
+			int threads = Math.max(1, Integer.getInteger(COMPILE_THREADS_PROP,
+					Runtime.getRuntime().availableProcessors()));
+			ThreadPoolExecutor executor = new ThreadPoolExecutor(threads, threads, 30, TimeUnit.SECONDS,
+					new LinkedBlockingQueue<>(), new TNTInputStream.StreamsThreadFactory("ScriptCompileThread-")); // NON-NLS
+			executor.allowCoreThreadTimeOut(true);
+			compileExecutor = executor;
+		}
+		return compileExecutor;
+	}
+
+	/**
+	 * Waits for script compilation to complete and returns compiled script.
+	 *
+	 * @param csFuture
+	 *            future of compiled script code instance
+	 * @return compiled instance of script code
+	 *
+	 * @throws ScriptException
+	 *             if compilation fails or script language is not supported
+	 *
+	 * @see #compileScriptAsync(String, String, String)
+	 */
+	public static CompiledScript awaitCompiled(Future<CompiledScript> csFuture) throws ScriptException {
+		try {
+			return csFuture.get();
+		} catch (InterruptedException exc) {
+			Thread.currentThread().interrupt();
+			throw new ScriptException(exc);
+		} catch (ExecutionException exc) {
+			Throwable cause = exc.getCause();
+			if (cause instanceof ScriptException) {
+				throw (ScriptException) cause;
+			}
+			if (cause instanceof Error) {
+				throw (Error) cause;
+			}
+			throw new ScriptException((Exception) cause);
+		}
+	}
+
+	/**
+	 * Returns number of scripts compiled since application start.
+	 *
+	 * @return number of compiled scripts
+	 */
+	public static long getCompiledScriptsCount() {
+		return compiledScriptsCount.sum();
+	}
+
+	/**
+	 * Returns number of script compilations served from compiled scripts cache since application start.
+	 *
+	 * @return number of reused compiled scripts
+	 */
+	public static long getReusedScriptsCount() {
+		return reusedScriptsCount.sum();
+	}
+
 	/**
 	 * Checks if provided script expression string {@code expString} containing value reference placeholders (starting
 	 * {@code '$'} symbol) matches valid script expression pattern:
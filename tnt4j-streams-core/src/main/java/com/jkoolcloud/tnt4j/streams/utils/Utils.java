@@ -343,6 +343,8 @@ public final class Utils extends com.jkoolcloud.tnt4j.utils.Utils {
 				map = gson.fromJson((String) jsonData, map.getClass());
 			} else if (jsonData instanceof byte[]) {
 				map = gson.fromJson(getString((byte[]) jsonData), map.getClass());
+			} else if (jsonData instanceof ByteBuffer) {
+				map = gson.fromJson(getString((ByteBuffer) jsonData), map.getClass());
 			} else if (jsonData instanceof Reader) {
 				map = gson.fromJson((Reader) jsonData, map.getClass());
 			} else if (jsonData instanceof InputStream) {
@@ -379,8 +381,7 @@ public final class Utils extends com.jkoolcloud.tnt4j.utils.Utils {
 			rdr = new BufferedReader(new StringReader(getString((byte[]) data)));
 			autoClose = true;
 		} else if (data instanceof ByteBuffer) {
-			ByteBuffer bb = (ByteBuffer) data;
-			rdr = new BufferedReader(new StringReader(getString(bb.array())));
+			rdr = new BufferedReader(new StringReader(getString((ByteBuffer) data)));
 			autoClose = true;
 		} else if (data instanceof BufferedReader) {
 			rdr = (BufferedReader) data;
@@ -1347,6 +1348,9 @@ public final class Utils extends com.jkoolcloud.tnt4j.utils.Utils {
 			return new String((char[]) value);
 			// return Arrays.toString((char[]) value);
 		}
+		if (value instanceof ByteBuffer) {
+			return getString((ByteBuffer) value);
+		}
 
 		if (value instanceof Document) {
 			try {
@@ -1361,6 +1365,35 @@ public final class Utils extends com.jkoolcloud.tnt4j.utils.Utils {
 		return com.jkoolcloud.tnt4j.utils.Utils.toString(value);
 	}
 
+	/**
+	 * Decodes string from provided byte buffer remaining bytes. Buffer position, limit and array offset are respected,
+	 * so buffer may be a slice of larger (e.g. network fetch) buffer. Buffer position is not changed.
+	 * <p>
+	 * Bytes are copied only when buffer does not expose its complete backing array, e.g. it is direct, read-only or
+	 * sliced buffer.
+	 *
+	 * @param bb
+	 *            byte buffer to decode string from
+	 * @return string decoded from buffer remaining bytes, or {@code null} if {@code bb} is {@code null}
+	 *
+	 * @see #getString(byte[])
+	 */
+	public static String getString(ByteBuffer bb) {
+		if (bb == null) {
+			return null;
+		}
+
+		byte[] bytes;
+		if (bb.hasArray() && bb.arrayOffset() == 0 && bb.position() == 0 && bb.remaining() == bb.array().length) {
+			bytes = bb.array();
+		} else {
+			bytes = new byte[bb.remaining()];
+			bb.duplicate().get(bytes);
+		}
+
+		return getString(bytes);
+	}
+
 	/**
 	 * Returns the appropriate string representation for the specified array.
 	 *
@@ -2081,25 +2114,9 @@ public final class Utils extends com.jkoolcloud.tnt4j.utils.Utils {
 		if (fs == null) {
 			fs = FileSystems.getDefault();
 		}
-		Path f;
-		Path dir;
-		String glob;
-		try {
-			f = fs.getPath(namePattern);
-			dir = f.toAbsolutePath().getParent();
-			glob = "*";
-		} catch (InvalidPathException e) {
-			int wIdx = StringUtils.indexOfAny(namePattern, "*?");
-			String startPath = wIdx == -1 ? namePattern : namePattern.substring(0, wIdx);
-			int lastSeparator = Math.max(startPath.lastIndexOf(fs.getSeparator()), startPath.lastIndexOf("/"));
-			if (lastSeparator != -1) {
-				dir = fs.getPath(namePattern.substring(0, lastSeparator));
-				glob = namePattern.substring(lastSeparator + 1);
-			} else {
-				dir = fs.getPath(".");
-				glob = namePattern;
-			}
-		}
+		Map.Entry<Path, String> searchRoot = resolveSearchRoot(namePattern, fs);
+		Path dir = searchRoot.getKey();
+		String glob = searchRoot.getValue();
 
 		List<Path> files = new ArrayList<>();
 		PathMatcher matcher = fs.getPathMatcher("glob:" + glob);
@@ -2142,6 +2159,41 @@ public final class Utils extends com.jkoolcloud.tnt4j.utils.Utils {
 		return listFilesByName(fileName, FileSystems.getDefault());
 	}
 
+	/**
+	 * Resolves directory to start files search from and file name glob pattern relative to that directory, for
+	 * provided file name pattern with wildcards.
+	 *
+	 * @param namePattern
+	 *            name pattern to find files
+	 * @param fs
+	 *            file system to use
+	 * @return directory and glob pattern pair
+	 *
+	 * @see #searchFiles(String, java.nio.file.FileSystem)
+	 */
+	static Map.Entry<Path, String> resolveSearchRoot(String namePattern, FileSystem fs) {
+		Path dir;
+		String glob;
+		try {
+			Path f = fs.getPath(namePattern);
+			dir = f.toAbsolutePath().getParent();
+			glob = "*";
+		} catch (InvalidPathException e) {
+			int wIdx = StringUtils.indexOfAny(namePattern, "*?");
+			String startPath = wIdx == -1 ? namePattern : namePattern.substring(0, wIdx);
+			int lastSeparator = Math.max(startPath.lastIndexOf(fs.getSeparator()), startPath.lastIndexOf("/"));
+			if (lastSeparator != -1) {
+				dir = fs.getPath(namePattern.substring(0, lastSeparator));
+				glob = namePattern.substring(lastSeparator + 1);
+			} else {
+				dir = fs.getPath(".");
+				glob = namePattern;
+			}
+		}
+
+		return new AbstractMap.SimpleImmutableEntry<>(dir, glob);
+	}
+
 	/**
 	 * Returns list of files matching provided file name. If file name contains wildcard symbols, then
 	 * {@link #searchFiles(String)} is invoked.
@@ -2816,6 +2868,8 @@ public final class Utils extends com.jkoolcloud.tnt4j.utils.Utils {
 	 * terminates at that level.
 	 * <p>
 	 * Value resolution also terminates if path element index {@code i} is {@code i >= path.length}.
+	 * <p>
+	 * Field/method accessors are resolved once per class and path element name and cached for subsequent calls.
 	 *
 	 * @param path
 	 *            strings array as path of objects fields and non-arg methods names
@@ -2842,28 +2896,7 @@ public final class Utils extends com.jkoolcloud.tnt4j.utils.Utils {
 		}
 
 		try {
-			Object fVal = null;
-			IllegalArgumentException fExc = null;
-			try {
-				fVal = FieldUtils.readDeclaredField(dataObj, path[i], true);
-			} catch (IllegalArgumentException nfe) {
-				fExc = nfe;
-			}
-
-			NoSuchMethodException mExc = null;
-			if (fVal == null) {
-				try {
-					Method m = dataObj.getClass().getDeclaredMethod(path[i]);
-					m.setAccessible(true);
-					fVal = m.invoke(dataObj);
-				} catch (NoSuchMethodException nme) {
-					mExc = nme;
-				}
-			}
-
-			if (fExc != null && mExc != null) {
-				throw fExc;
-			}
+			Object fVal = ObjectAccessors.getAccessor(dataObj.getClass(), path[i]).get(dataObj);
 
 			return getFieldValue(path, fVal, i + 1);
 		} catch (Exception exc) {
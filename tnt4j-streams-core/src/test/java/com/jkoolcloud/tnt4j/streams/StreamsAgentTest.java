@@ -16,17 +16,26 @@
 
 package com.jkoolcloud.tnt4j.streams;
 
-import static org.junit.jupiter.api.Assertions.assertTrue;
-import static org.junit.jupiter.api.Assertions.fail;
+import static org.junit.jupiter.api.Assertions.*;
 
 import java.io.*;
 import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
 import java.util.Set;
+import java.util.function.BooleanSupplier;
 
 import org.apache.commons.io.output.WriterOutputStream;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.Test;
 
+import com.jkoolcloud.tnt4j.sink.EventSink;
+import com.jkoolcloud.tnt4j.streams.configure.StreamsConfigLoader;
 import com.jkoolcloud.tnt4j.streams.configure.build.CfgStreamsBuilder;
+import com.jkoolcloud.tnt4j.streams.inputs.StreamThread;
+import com.jkoolcloud.tnt4j.streams.inputs.TNTInputStream;
+import com.jkoolcloud.tnt4j.streams.inputs.TNTParseableInputStream;
+import com.jkoolcloud.tnt4j.streams.reference.ParserReference;
+import com.jkoolcloud.tnt4j.streams.utils.LoggerUtils;
 import com.jkoolcloud.tnt4j.streams.utils.StreamsResources;
 import com.jkoolcloud.tnt4j.streams.utils.Utils;
 
@@ -35,9 +44,15 @@ import com.jkoolcloud.tnt4j.streams.utils.Utils;
  * @version 1.0
  */
 public class StreamsAgentTest {
+	private static final String[] RELOAD_STREAMS = { "ReloadStream1", "ReloadStream2", "ReloadStream3" }; // NON-NLS
 
 	private StringWriter console;
 
+	@AfterEach
+	public void stopReloadStreams() {
+		StreamsAgent.stopStreams(RELOAD_STREAMS);
+	}
+
 	@Test
 	public void testHelpArgument() throws Exception {
 		interceptConsole();
@@ -112,6 +127,155 @@ public class StreamsAgentTest {
 		fail("No streams thread created");
 	}
 
+	@Test
+	public void testReloadStreams() throws Exception {
+		StreamsAgent.runFromAPI(new CfgStreamsBuilder().setConfig(new StringReader(makeReloadConfig("Parser1", // NON-NLS
+				IdleStream.class, IdleStream.class, IdleStream.class))));
+		awaitCondition(() -> StreamsAgent.getRunningStreamNames().containsAll(Arrays.asList(RELOAD_STREAMS)));
+		TNTInputStream<?, ?> stream1 = findRunningStream(RELOAD_STREAMS[0]);
+		TNTInputStream<?, ?> stream2 = findRunningStream(RELOAD_STREAMS[1]);
+		assertEquals("Parser1", getParserName(stream1)); // NON-NLS
+
+		StreamsAgent.reloadStreams(new StringReader(makeReloadConfig("Parser2", // NON-NLS
+				IdleStream.class, OtherIdleStream.class)), RELOAD_STREAMS);
+		awaitCondition(() -> {
+			TNTInputStream<?, ?> s2 = findRunningStream(RELOAD_STREAMS[1]);
+			return s2 != null && s2 != stream2 && !StreamsAgent.getRunningStreamNames().contains(RELOAD_STREAMS[2]);
+		});
+
+		// same type stream parsers are replaced in place
+		assertSame(stream1, findRunningStream(RELOAD_STREAMS[0]));
+		assertFalse(stream1.isHalted());
+		assertEquals("Parser2", getParserName(stream1)); // NON-NLS
+		// changed type stream is restarted
+		assertTrue(stream2.isHalted());
+		assertInstanceOf(OtherIdleStream.class, findRunningStream(RELOAD_STREAMS[1]));
+		// removed stream is stopped
+		assertNull(findRunningStream(RELOAD_STREAMS[2]));
+	}
+
+	@Test
+	public void testReloadStreamsErroneousConfig() throws Exception {
+		StreamsAgent.runFromAPI(new CfgStreamsBuilder()
+				.setConfig(new StringReader(makeReloadConfig("Parser1", IdleStream.class, IdleStream.class)))); // NON-NLS
+		awaitCondition(() -> StreamsAgent.getRunningStreamNames().contains(RELOAD_STREAMS[1]));
+		TNTInputStream<?, ?> stream1 = findRunningStream(RELOAD_STREAMS[0]);
+		TNTInputStream<?, ?> stream2 = findRunningStream(RELOAD_STREAMS[1]);
+		Set<ParserReference> parserRefs = ((TNTParseableInputStream<?>) stream1).getParserReferences();
+
+		String erroneousCfg = makeReloadConfig("Parser2", OtherIdleStream.class); // NON-NLS
+		StreamsAgent.reloadStreams(new StringReader(erroneousCfg.substring(0, erroneousCfg.length() / 2)),
+				RELOAD_STREAMS);
+
+		assertSame(stream1, findRunningStream(RELOAD_STREAMS[0]));
+		assertSame(stream2, findRunningStream(RELOAD_STREAMS[1]));
+		assertFalse(stream1.isHalted());
+		assertFalse(stream2.isHalted());
+		assertSame(parserRefs, ((TNTParseableInputStream<?>) stream1).getParserReferences());
+	}
+
+	@Test
+	public void testReloadStreamsChangedProperties() throws Exception {
+		String cfg = makeReloadConfig("Parser1", IdleStream.class, IdleStream.class); // NON-NLS
+		StreamsAgent.runFromAPI(new CfgStreamsBuilder().setConfig(new StringReader(cfg)));
+		awaitCondition(() -> StreamsAgent.getRunningStreamNames().contains(RELOAD_STREAMS[1]));
+		TNTInputStream<?, ?> stream1 = findRunningStream(RELOAD_STREAMS[0]);
+		TNTInputStream<?, ?> stream2 = findRunningStream(RELOAD_STREAMS[1]);
+
+		StreamsAgent.reloadStreams(new StringReader(addStreamProperty(cfg, RELOAD_STREAMS[1], "HaltIfNoParser", // NON-NLS
+				"false")), RELOAD_STREAMS); // NON-NLS
+		awaitCondition(() -> {
+			TNTInputStream<?, ?> s2 = findRunningStream(RELOAD_STREAMS[1]);
+			return s2 != null && s2 != stream2;
+		});
+
+		// unchanged stream is left running
+		assertSame(stream1, findRunningStream(RELOAD_STREAMS[0]));
+		assertFalse(stream1.isHalted());
+		// stream having changed properties is restarted
+		assertTrue(stream2.isHalted());
+		assertEquals("false", // NON-NLS
+				findRunningStream(RELOAD_STREAMS[1]).getConfiguredProperties().get("HaltIfNoParser")); // NON-NLS
+	}
+
+	@Test
+	public void testStreamConfigChanged() throws Exception {
+		String cfg = makeReloadConfig("Parser1", IdleStream.class); // NON-NLS
+		TNTInputStream<?, ?> stream = loadStream(cfg);
+
+		assertFalse(StreamsAgent.isStreamConfigChanged(stream, loadStream(cfg)));
+		assertTrue(StreamsAgent.isStreamConfigChanged(stream,
+				loadStream(addStreamProperty(cfg, RELOAD_STREAMS[0], "HaltIfNoParser", "false")))); // NON-NLS
+		assertTrue(StreamsAgent.isStreamConfigChanged(stream,
+				loadStream(addTNT4JProperty(cfg, RELOAD_STREAMS[0], "source.factory.APPL", "ReloadApp")))); // NON-NLS
+	}
+
+	private static TNTInputStream<?, ?> loadStream(String cfg) throws Exception {
+		return new StreamsConfigLoader(new StringReader(cfg)).getStreams().iterator().next();
+	}
+
+	private static String addStreamProperty(String cfg, String streamName, String name, String value) {
+		String streamTag = "<stream name=\"" + streamName + "\""; // NON-NLS
+		int idx = cfg.indexOf('>', cfg.indexOf(streamTag)) + 1;
+		return cfg.substring(0, idx) + Utils.NEW_LINE + "        <property name=\"" + name + "\" value=\"" + value // NON-NLS
+				+ "\"/>" + cfg.substring(idx); // NON-NLS
+	}
+
+	private static String addTNT4JProperty(String cfg, String streamName, String name, String value) {
+		String streamTag = "<stream name=\"" + streamName + "\""; // NON-NLS
+		int idx = cfg.indexOf("    </stream>", cfg.indexOf(streamTag)); // NON-NLS
+		return cfg.substring(0, idx) + "        <tnt4j-properties>" + Utils.NEW_LINE // NON-NLS
+				+ "            <property name=\"" + name + "\" value=\"" + value + "\"/>" + Utils.NEW_LINE // NON-NLS
+				+ "        </tnt4j-properties>" + Utils.NEW_LINE + cfg.substring(idx); // NON-NLS
+	}
+
+	private static String makeReloadConfig(String parserName, Class<?>... streamClasses) {
+		StringBuilder sb = new StringBuilder();
+		sb.append("<?xml version=\"1.0\" encoding=\"utf-8\"?>").append(Utils.NEW_LINE); // NON-NLS
+		sb.append("<tnt-data-source>").append(Utils.NEW_LINE); // NON-NLS
+		sb.append("    <parser name=\"").append(parserName) // NON-NLS
+				.append("\" class=\"com.jkoolcloud.tnt4j.streams.parsers.ActivityTokenParser\">") // NON-NLS
+				.append(Utils.NEW_LINE);
+		sb.append("        <field name=\"EventType\" value=\"EVENT\"/>").append(Utils.NEW_LINE); // NON-NLS
+		sb.append("    </parser>").append(Utils.NEW_LINE); // NON-NLS
+		for (int i = 0; i < streamClasses.length; i++) {
+			sb.append("    <stream name=\"").append(RELOAD_STREAMS[i]).append("\" class=\"") // NON-NLS
+					.append(streamClasses[i].getName()).append("\">").append(Utils.NEW_LINE); // NON-NLS
+			sb.append("        <parser-ref name=\"").append(parserName).append("\"/>").append(Utils.NEW_LINE); // NON-NLS
+			sb.append("    </stream>").append(Utils.NEW_LINE); // NON-NLS
+		}
+		sb.append("</tnt-data-source>"); // NON-NLS
+		return sb.toString();
+	}
+
+	private static TNTInputStream<?, ?> findRunningStream(String streamName) {
+		for (Thread thread : Thread.getAllStackTraces().keySet()) {
+			if (thread instanceof StreamThread && thread.isAlive()) {
+				TNTInputStream<?, ?> stream = ((StreamThread) thread).getTarget();
+				if (streamName.equals(stream.getName())) {
+					return stream;
+				}
+			}
+		}
+		return null;
+	}
+
+	private static String getParserName(TNTInputStream<?, ?> stream) {
+		Set<ParserReference> parserRefs = ((TNTParseableInputStream<?>) stream).getParserReferences();
+		assertEquals(1, parserRefs.size());
+		return parserRefs.iterator().next().getParser().getName();
+	}
+
+	private static void awaitCondition(BooleanSupplier condition) throws InterruptedException {
+		long deadline = System.currentTimeMillis() + 10000;
+		while (!condition.getAsBoolean()) {
+			if (System.currentTimeMillis() > deadline) {
+				fail("Condition not met in 10 seconds"); // NON-NLS
+			}
+			Thread.sleep(50);
+		}
+	}
+
 	private void interceptConsole() throws IOException, InterruptedException {
 		console = new StringWriter();
 		OutputStream writerOutputStream = WriterOutputStream.builder().setWriter(console)
@@ -121,4 +285,30 @@ public class StreamsAgentTest {
 		System.setErr(out);
 		Thread.sleep(50);
 	}
+
+	/**
+	 * Stream idling until it gets halted.
+	 */
+	public static class IdleStream extends TNTParseableInputStream<String> {
+		private static final EventSink LOGGER = LoggerUtils.getLoggerSink(IdleStream.class);
+
+		@Override
+		protected EventSink logger() {
+			return LOGGER;
+		}
+
+		@Override
+		public String getNextItem() throws Exception {
+			while (!isHalted()) {
+				Thread.sleep(50);
+			}
+			return null;
+		}
+	}
+
+	/**
+	 * Idling stream of different type.
+	 */
+	public static class OtherIdleStream extends IdleStream {
+	}
 }
\ No newline at end of file
@@ -24,6 +24,8 @@ import java.util.Collection;
 import java.util.Map;
 import java.util.Properties;
 
+import org.junit.Assume;
+
 import com.jkoolcloud.tnt4j.format.DefaultFormatter;
 import com.jkoolcloud.tnt4j.format.EventFormatter;
 import com.jkoolcloud.tnt4j.sink.*;
@@ -37,6 +39,19 @@ import com.jkoolcloud.tnt4j.streams.utils.LoggerUtils;
  */
 public final class TestUtils {
 
+	/**
+	 * System property name to enable performance benchmark tests run.
+	 */
+	public static final String BENCHMARKS_PROP = "tnt4j.streams.benchmarks"; // NON-NLS
+
+	/**
+	 * Skips calling test unless performance benchmarks run is enabled using system property {@value #BENCHMARKS_PROP}
+	 * (e.g. Maven profile {@code run-benchmarks}).
+	 */
+	public static void assumeBenchmarksEnabled() {
+		Assume.assumeTrue("Benchmarks are disabled", Boolean.getBoolean(BENCHMARKS_PROP)); // NON-NLS
+	}
+
 	public static void testPropertyList(TNTInputStream<?, ?> stream,
 			Collection<Map.Entry<String, String>> propertiesToTest) {
 		for (Map.Entry<String, String> property : propertiesToTest) {
@@ -21,12 +21,14 @@ import org.junit.runners.Suite;
 
 import com.jkoolcloud.tnt4j.streams.configure.sax.ConfigParserHandlerTest;
 import com.jkoolcloud.tnt4j.streams.configure.state.FileStreamStateHandlerTest;
+import com.jkoolcloud.tnt4j.streams.configure.zookeeper.ZKWorkCoordinatorTest;
 
 /**
  * @author akausinis
  * @version 1.0
  */
 @RunWith(Suite.class)
-@Suite.SuiteClasses({ ConfigParserHandlerTest.class, StreamsConfigLoaderTest.class, FileStreamStateHandlerTest.class })
+@Suite.SuiteClasses({ ConfigParserHandlerTest.class, StreamsConfigLoaderTest.class, FileStreamStateHandlerTest.class,
+		ZKWorkCoordinatorTest.class })
 public class AllConfigureTests {
 }
@@ -18,15 +18,22 @@ package com.jkoolcloud.tnt4j.streams.configure;
 
 import static org.junit.Assert.*;
 
-import java.io.File;
-import java.io.FileReader;
-import java.io.FileWriter;
-import java.io.IOException;
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
 
+import javax.script.ScriptException;
+
+import org.apache.commons.io.FileUtils;
 import org.junit.AfterClass;
 import org.junit.BeforeClass;
 import org.junit.Test;
+import org.xml.sax.SAXException;
 
+import com.jkoolcloud.tnt4j.streams.TestUtils;
+import com.jkoolcloud.tnt4j.streams.configure.sax.StreamsConfigSAXParser;
+import com.jkoolcloud.tnt4j.streams.utils.StreamsScriptingUtils;
 import com.jkoolcloud.tnt4j.streams.utils.Utils;
 
 /**
@@ -121,4 +128,99 @@ public class StreamsConfigLoaderTest {
 		Utils.close(fileReader);
 	}
 
+	@Test
+	public void testStreamsConfigSnapshotSkipsValidation() throws Exception {
+		byte[] cfgData = FileUtils.readFileToByteArray(new File(TEST_FILE_NAME));
+		Path snapshotDir = Files.createTempDirectory("cfg-snapshot-test"); // NON-NLS
+		try {
+			StreamsConfigSnapshot snapshot = new StreamsConfigSnapshot(snapshotDir);
+			String digest = StreamsConfigSnapshot.digest(cfgData);
+			assertFalse(snapshot.isValidated(digest));
+			snapshot.markValidated(digest);
+			assertTrue(snapshot.isValidated(digest));
+
+			long skipped = StreamsConfigMetrics.getMetrics().counter("xsd validation skipped").getCount(); // NON-NLS
+			StreamsConfigData cfg = StreamsConfigSAXParser.parse(new ByteArrayInputStream(cfgData), true, true,
+					snapshot);
+			assertNotNull(cfg);
+			assertEquals(skipped + 1,
+					StreamsConfigMetrics.getMetrics().counter("xsd validation skipped").getCount()); // NON-NLS
+		} finally {
+			FileUtils.deleteDirectory(snapshotDir.toFile());
+		}
+	}
+
+	@Test(expected = SAXException.class)
+	public void testStreamsConfigInvalidScript() throws Exception {
+		StreamsConfigSAXParser.parse(new ByteArrayInputStream(makeConfig(1, 1, "$fieldValue.(")), false, true); // NON-NLS
+	}
+
+	@Test
+	public void testScriptedConfigLoadReusesCompiledScripts() throws Exception {
+		int parsers = 5;
+		int fields = 10;
+		byte[] cfgData = makeConfig(parsers, fields, "$fieldValue.toString().toUpperCase() + \"_%d\""); // NON-NLS
+
+		StreamsConfigData cfg = StreamsConfigSAXParser.parse(new ByteArrayInputStream(cfgData), false, true);
+		assertEquals(parsers, cfg.getParsers().size());
+		long compiled = StreamsScriptingUtils.getCompiledScriptsCount();
+		long reused = StreamsScriptingUtils.getReusedScriptsCount();
+
+		cfg = StreamsConfigSAXParser.parse(new ByteArrayInputStream(cfgData), false, true);
+		assertEquals(parsers, cfg.getParsers().size());
+		assertEquals(compiled, StreamsScriptingUtils.getCompiledScriptsCount());
+		assertEquals(reused + parsers * fields, StreamsScriptingUtils.getReusedScriptsCount());
+	}
+
+	@Test
+	public void testFailedScriptCompilationNotCached() throws Exception {
+		long reused = StreamsScriptingUtils.getReusedScriptsCount();
+		for (int i = 0; i < 2; i++) {
+			try {
+				StreamsScriptingUtils.compileGroovyScript("FailingScript", "$fieldValue.("); // NON-NLS
+				fail("Script compilation shall fail"); // NON-NLS
+			} catch (ScriptException exc) {
+			}
+		}
+		assertEquals(reused, StreamsScriptingUtils.getReusedScriptsCount());
+	}
+
+	@Test
+	public void benchmarkScriptedConfigLoad() throws Exception {
+		TestUtils.assumeBenchmarksEnabled();
+
+		int parsers = 50;
+		int fields = 40;
+		byte[] cfgData = makeConfig(parsers, fields, "$fieldValue.toString().toUpperCase() + \"_%d\""); // NON-NLS
+
+		for (int i = 0; i < 3; i++) {
+			long start = System.nanoTime();
+			StreamsConfigData cfg = StreamsConfigSAXParser.parse(new ByteArrayInputStream(cfgData), false, true);
+			long elapsed = System.nanoTime() - start;
+			assertEquals(parsers, cfg.getParsers().size());
+			System.out.println(String.format("Config load #%d: %d parsers, %d scripts, %.1f ms", i + 1, parsers, // NON-NLS
+					parsers * fields, elapsed / 1e6));
+		}
+		System.out.println(String.format("Scripts compiled: %d, reused: %d", // NON-NLS
+				StreamsScriptingUtils.getCompiledScriptsCount(), StreamsScriptingUtils.getReusedScriptsCount()));
+	}
+
+	private static byte[] makeConfig(int parsers, int fields, String scriptPattern) {
+		StringBuilder sb = new StringBuilder();
+		sb.append("<?xml version=\"1.0\" encoding=\"utf-8\"?>\n<tnt-data-source>\n"); // NON-NLS
+		for (int p = 0; p < parsers; p++) {
+			sb.append("<parser name=\"TokenParser").append(p) // NON-NLS
+					.append("\" class=\"com.jkoolcloud.tnt4j.streams.parsers.ActivityTokenParser\">\n"); // NON-NLS
+			for (int f = 0; f < fields; f++) {
+				sb.append("<field name=\"Field").append(f).append("\" locator=\"").append(f + 1).append("\">\n"); // NON-NLS
+				sb.append("<field-transform name=\"t").append(f).append("\" lang=\"groovy\"><![CDATA["); // NON-NLS
+				sb.append(String.format(scriptPattern, p * fields + f));
+				sb.append("]]></field-transform>\n</field>\n"); // NON-NLS
+			}
+			sb.append("</parser>\n"); // NON-NLS
+		}
+		sb.append("</tnt-data-source>\n"); // NON-NLS
+
+		return sb.toString().getBytes(StandardCharsets.UTF_8);
+	}
 }
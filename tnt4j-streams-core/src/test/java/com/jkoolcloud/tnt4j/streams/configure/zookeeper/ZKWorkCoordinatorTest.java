@@ -0,0 +1,237 @@
+/*
+ * Copyright 2014-2023 JKOOL, LLC.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.jkoolcloud.tnt4j.streams.configure.zookeeper;
+
+import static org.junit.Assert.*;
+
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+
+import org.apache.curator.test.TestingServer;
+import org.apache.zookeeper.Watcher;
+import org.apache.zookeeper.ZooKeeper;
+import org.junit.Test;
+
+/**
+ * @author akausinis
+ * @version 1.0
+ */
+public class ZKWorkCoordinatorTest {
+	private static final String COORDINATION_PATH = "/tnt4j-streams/coordination"; // NON-NLS
+
+	@Test
+	public void testComputeAssignmentBalanced() {
+		List<String> units = Arrays.asList("u1", "u2", "u3", "u4", "u5", "u6", "u7"); // NON-NLS
+		List<String> members = Arrays.asList("m1", "m2", "m3"); // NON-NLS
+
+		Map<String, String> assignment = ZKWorkCoordinator.computeAssignment(units, members, Collections.emptyMap());
+		assertEquals(units.size(), assignment.size());
+		Map<String, Integer> counts = countByMember(assignment);
+		assertEquals(3, counts.size());
+		assertTrue(Collections.max(counts.values()) - Collections.min(counts.values()) <= 1);
+	}
+
+	@Test
+	public void testComputeAssignmentSticky() {
+		List<String> units = Arrays.asList("u1", "u2", "u3", "u4", "u5", "u6"); // NON-NLS
+		Map<String, String> current = ZKWorkCoordinator.computeAssignment(units, Arrays.asList("m1", "m2"), // NON-NLS
+				Collections.emptyMap());
+
+		// member joins: only units moved to new member change owners
+		List<String> members = Arrays.asList("m1", "m2", "m3"); // NON-NLS
+		Map<String, String> joined = ZKWorkCoordinator.computeAssignment(units, members, current);
+		assertEquals(Integer.valueOf(2), countByMember(joined).get("m3")); // NON-NLS
+		int moved = 0;
+		for (String unit : units) {
+			if (!current.get(unit).equals(joined.get(unit))) {
+				assertEquals("m3", joined.get(unit)); // NON-NLS
+				moved++;
+			}
+		}
+		assertEquals(2, moved);
+
+		// member leaves: only its units change owners
+		members = Arrays.asList("m1", "m3"); // NON-NLS
+		Map<String, String> left = ZKWorkCoordinator.computeAssignment(units, members, joined);
+		for (String unit : units) {
+			if (!"m2".equals(joined.get(unit))) { // NON-NLS
+				assertEquals(joined.get(unit), left.get(unit));
+			}
+		}
+		assertEquals(Integer.valueOf(3), countByMember(left).get("m1")); // NON-NLS
+		assertEquals(Integer.valueOf(3), countByMember(left).get("m3")); // NON-NLS
+	}
+
+	@Test
+	public void testAssignmentsFormat() {
+		Map<String, String> assignment = new TreeMap<>();
+		assignment.put("file%3A%2Fdata%2F*.log", "member-0000000001"); // NON-NLS
+		assignment.put("topic1", "member-0000000002"); // NON-NLS
+		assertEquals(assignment,
+				ZKWorkCoordinator.parseAssignments(ZKWorkCoordinator.formatAssignments(assignment)));
+		assertTrue(ZKWorkCoordinator.parseAssignments(null).isEmpty());
+	}
+
+	@Test(timeout = 60000)
+	public void testRebalanceAndCheckpoints() throws Exception {
+		try (TestingServer server = new TestingServer(true)) {
+			ZKConnection conn1 = new ZKConnection();
+			ZKConnection conn2 = new ZKConnection();
+			conn1.connect(server.getConnectString());
+			conn2.connect(server.getConnectString());
+			ZKWorkCoordinator c1 = new ZKWorkCoordinator(conn1, COORDINATION_PATH, "agent1"); // NON-NLS
+			ZKWorkCoordinator c2 = new ZKWorkCoordinator(conn2, COORDINATION_PATH, "agent2"); // NON-NLS
+			try {
+				Set<String> c1Units = Collections.synchronizedSet(new HashSet<>());
+				c1.addWorkAssignmentListener(new ZKWorkCoordinator.WorkAssignmentListener() {
+					@Override
+					public void unitsAssigned(Set<String> units) {
+						c1Units.addAll(units);
+					}
+
+					@Override
+					public void unitsRevoked(Set<String> units) {
+						c1Units.removeAll(units);
+					}
+				});
+
+				c1.start();
+				List<String> units = Arrays.asList("/data/a*.log", "/data/b*.log", "topic-1", "queue.1"); // NON-NLS
+				for (String unit : units) {
+					c1.registerWorkUnit(unit);
+				}
+				waitFor(() -> c1.isLeader() && c1Units.size() == 4);
+
+				c2.start();
+				waitFor(() -> c1.getOwnedUnits().size() == 2 && c2.getOwnedUnits().size() == 2);
+				assertTrue(c1.isLeader());
+				assertFalse(c2.isLeader());
+				assertEquals(2, c1Units.size());
+
+				String c2Unit = c2.getOwnedUnits().iterator().next();
+				c2.saveCheckpoint(c2Unit, "offset=42".getBytes(StandardCharsets.UTF_8)); // NON-NLS
+				assertNull(c1.loadCheckpoint(c2Unit + "_none")); // NON-NLS
+
+				// leader leaves - remaining agent gets elected and takes over all units
+				c1.close();
+				assertTrue(c1Units.isEmpty());
+				waitFor(() -> c2.isLeader() && c2.getOwnedUnits().size() == 4);
+				assertEquals("offset=42", new String(c2.loadCheckpoint(c2Unit), StandardCharsets.UTF_8)); // NON-NLS
+
+				c2.unregisterWorkUnit(c2Unit);
+				waitFor(() -> c2.getOwnedUnits().size() == 3);
+				assertNull(c2.loadCheckpoint(c2Unit));
+			} finally {
+				c1.close();
+				c2.close();
+				conn1.close();
+				conn2.close();
+			}
+		}
+	}
+
+	@Test(timeout = 60000)
+	public void testRejoinOnSessionExpiration() throws Exception {
+		try (TestingServer server = new TestingServer(true)) {
+			ZKConnection conn = new ZKConnection();
+			conn.connect(server.getConnectString());
+			ZKWorkCoordinator c = new ZKWorkCoordinator(conn, COORDINATION_PATH, "agent1"); // NON-NLS
+			try {
+				AtomicInteger revokedCount = new AtomicInteger();
+				c.addWorkAssignmentListener(new ZKWorkCoordinator.WorkAssignmentListener() {
+					@Override
+					public void unitsAssigned(Set<String> units) {
+					}
+
+					@Override
+					public void unitsRevoked(Set<String> units) {
+						revokedCount.addAndGet(units.size());
+					}
+				});
+
+				c.start();
+				c.registerWorkUnit("topic-1"); // NON-NLS
+				c.registerWorkUnit("topic-2"); // NON-NLS
+				waitFor(() -> c.isLeader() && c.getOwnedUnits().size() == 2);
+
+				ZooKeeper expiredZk = conn.zk();
+				expireSession(server, expiredZk);
+				waitFor(() -> revokedCount.get() == 2);
+				waitFor(() -> conn.zk() != expiredZk && c.isLeader() && c.getOwnedUnits().size() == 2);
+				assertEquals(1, conn.zk().getChildren(COORDINATION_PATH + "/members", false).size()); // NON-NLS
+			} finally {
+				c.close();
+				conn.close();
+			}
+		}
+	}
+
+	@Test(timeout = 60000)
+	public void testAgentStartupCoordination() throws Exception {
+		try (TestingServer server = new TestingServer(true)) {
+			Properties zkProps = new Properties();
+			zkProps.setProperty(ZKConfigConstants.PROP_ZK_CONN, server.getConnectString());
+			try {
+				ZKConfigManager.openConnection(zkProps);
+				assertNull(ZKConfigManager.startWorkCoordinator(zkProps));
+
+				zkProps.setProperty(ZKConfigConstants.PROP_ZK_COORDINATION_PATH, COORDINATION_PATH);
+				zkProps.setProperty(ZKConfigConstants.PROP_ZK_AGENT_ID, "agent1"); // NON-NLS
+				ZKWorkCoordinator c = ZKConfigManager.startWorkCoordinator(zkProps);
+				assertNotNull(c);
+				assertSame(c, ZKConfigManager.getWorkCoordinator());
+				assertEquals("agent1", c.getAgentId()); // NON-NLS
+				waitFor(c::isLeader);
+			} finally {
+				ZKConfigManager.close();
+			}
+			assertNull(ZKConfigManager.getWorkCoordinator());
+		}
+	}
+
+	/**
+	 * Expires ZK session by opening and closing another client connection using same session credentials.
+	 */
+	private static void expireSession(TestingServer server, ZooKeeper zk) throws Exception {
+		CountDownLatch connected = new CountDownLatch(1);
+		ZooKeeper dup = new ZooKeeper(server.getConnectString(), 5000, event -> {
+			if (event.getState() == Watcher.Event.KeeperState.SyncConnected) {
+				connected.countDown();
+			}
+		}, zk.getSessionId(), zk.getSessionPasswd());
+		connected.await();
+		dup.close();
+	}
+
+	private static Map<String, Integer> countByMember(Map<String, String> assignment) {
+		Map<String, Integer> counts = new HashMap<>();
+		for (String member : assignment.values()) {
+			counts.merge(member, 1, Integer::sum);
+		}
+		return counts;
+	}
+
+	private static void waitFor(BooleanSupplier condition) throws InterruptedException {
+		while (!condition.getAsBoolean()) {
+			TimeUnit.MILLISECONDS.sleep(50);
+		}
+	}
+}
@@ -16,20 +16,37 @@
 
 package com.jkoolcloud.tnt4j.streams.custom.dirStream;
 
-import static org.mockito.Mockito.mock;
+import static org.junit.Assert.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.*;
 
+import java.io.ByteArrayInputStream;
 import java.io.File;
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Properties;
 import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
 
+import org.apache.commons.io.FileUtils;
+import org.apache.curator.test.TestingServer;
 import org.junit.Before;
 import org.junit.Test;
 
+import com.jkoolcloud.tnt4j.streams.configure.zookeeper.ZKConnection;
+import com.jkoolcloud.tnt4j.streams.configure.zookeeper.ZKWorkCoordinator;
+
 /**
  * @author akausinis
  * @version 1.0
  */
 public class DirStreamingManagerTest {
+	private static final String COORDINATION_PATH = "/tnt4j-streams/dir-streams"; // NON-NLS
+	private static final String JOB_FILES = "tnt-data-source*.xml"; // NON-NLS
+	private static final String STREAM_NAME = "FileStream"; // NON-NLS
 
 	DirStreamingManager dsm;
 
@@ -64,4 +81,102 @@ public class DirStreamingManagerTest {
 	public void testAddStreamingJobListener() {
 	}
 
+	@Test(timeout = 120000)
+	public void testCoordinatedJobResumesFromCheckpoint() throws Exception {
+		File dir = Files.createTempDirectory("dir-stream").toFile(); // NON-NLS
+		File dataFile = new File(dir, "orders.log"); // NON-NLS
+		appendLines(dataFile, 1, 10);
+		String jobId = UUID.randomUUID().toString();
+		File jobCfgFile = new File(dir, "tnt-data-source_" + jobId + ".xml"); // NON-NLS
+		FileUtils.write(jobCfgFile, makeJobConfig(dataFile), StandardCharsets.UTF_8);
+
+		try (TestingServer server = new TestingServer(true)) {
+			ZKConnection conn1 = new ZKConnection();
+			ZKConnection conn2 = new ZKConnection();
+			conn1.connect(server.getConnectString());
+			conn2.connect(server.getConnectString());
+			ZKWorkCoordinator c1 = new ZKWorkCoordinator(conn1, COORDINATION_PATH, "agent1"); // NON-NLS
+			ZKWorkCoordinator c2 = new ZKWorkCoordinator(conn2, COORDINATION_PATH, "agent2"); // NON-NLS
+			DirStreamingManager dsm1 = new DirStreamingManager(dir.getAbsolutePath(), JOB_FILES);
+			DirStreamingManager dsm2 = new DirStreamingManager(dir.getAbsolutePath(), JOB_FILES);
+			StreamingJobListener listener2 = mock(StreamingJobListener.class);
+			dsm2.addStreamingJobListener(listener2);
+			try {
+				// first owner streams whole file and stores checkpoint
+				c1.start();
+				dsm1.setWorkCoordinator(c1);
+				dsm1.handleJobConfigCreate(jobCfgFile);
+				waitFor(() -> "10".equals(getStreamCheckpoint(c1, jobId))); // NON-NLS
+
+				// second agent joins, but job stays with its current owner
+				appendLines(dataFile, 11, 15);
+				c2.start();
+				dsm2.setWorkCoordinator(c2);
+				dsm2.handleJobConfigCreate(jobCfgFile);
+				waitFor(() -> !c2.isLeader() && c1.isOwned(jobId));
+
+				// first owner leaves - second one takes job over and resumes from checkpoint
+				c1.close();
+				verify(listener2, timeout(60000)).onFinish(any(), any(),
+						argThat(stats -> stats.getCurrentActivity() == 5));
+				waitFor(() -> "15".equals(getStreamCheckpoint(c2, jobId))); // NON-NLS
+				assertEquals("15", getStreamCheckpoint(c2, jobId)); // NON-NLS
+			} finally {
+				dsm1.stop();
+				dsm2.stop();
+				c1.close();
+				c2.close();
+				conn1.close();
+				conn2.close();
+				FileUtils.deleteQuietly(dir);
+			}
+		}
+	}
+
+	private static String getStreamCheckpoint(ZKWorkCoordinator coordinator, String jobId) {
+		try {
+			byte[] data = coordinator.loadCheckpoint(jobId);
+			if (data == null) {
+				return null;
+			}
+			Properties props = new Properties();
+			props.load(new ByteArrayInputStream(data));
+			return props.getProperty(STREAM_NAME);
+		} catch (Exception exc) {
+			return null;
+		}
+	}
+
+	private static void appendLines(File file, int from, int to) throws IOException {
+		StringBuilder sb = new StringBuilder();
+		for (int i = from; i <= to; i++) {
+			sb.append("Order ").append(i).append("|").append(i * 10).append("\n"); // NON-NLS
+		}
+		FileUtils.write(file, sb, StandardCharsets.UTF_8, true);
+	}
+
+	private static String makeJobConfig(File dataFile) {
+		return "<?xml version=\"1.0\" encoding=\"utf-8\"?>\n" // NON-NLS
+				+ "<tnt-data-source>\n" // NON-NLS
+				+ "    <parser name=\"TokenParser\" class=\"com.jkoolcloud.tnt4j.streams.parsers.ActivityTokenParser\">\n" // NON-NLS
+				+ "        <property name=\"FieldDelim\" value=\"|\"/>\n" // NON-NLS
+				+ "        <field name=\"EventType\" value=\"EVENT\"/>\n" // NON-NLS
+				+ "        <field name=\"EventName\" locator=\"1\"/>\n" // NON-NLS
+				+ "        <field name=\"MsgValue\" locator=\"2\"/>\n" // NON-NLS
+				+ "    </parser>\n" // NON-NLS
+				+ "    <stream name=\"" + STREAM_NAME // NON-NLS
+				+ "\" class=\"com.jkoolcloud.tnt4j.streams.inputs.FileLineStream\">\n" // NON-NLS
+				+ "        <property name=\"FileName\" value=\"" + dataFile.getAbsolutePath() + "\"/>\n" // NON-NLS
+				+ "        <property name=\"RestoreState\" value=\"false\"/>\n" // NON-NLS
+				+ "        <parser-ref name=\"TokenParser\"/>\n" // NON-NLS
+				+ "    </stream>\n" // NON-NLS
+				+ "</tnt-data-source>"; // NON-NLS
+	}
+
+	private static void waitFor(BooleanSupplier condition) throws InterruptedException {
+		while (!condition.getAsBoolean()) {
+			TimeUnit.MILLISECONDS.sleep(50);
+		}
+	}
+
 }
@@ -24,6 +24,7 @@ import org.junit.runners.Suite;
  * @version 1.0
  */
 @RunWith(Suite.class)
-@Suite.SuiteClasses({ ActivityInfoTest.class, ActivityFieldLocatorTest.class, StreamFieldTypeTest.class })
+@Suite.SuiteClasses({ ActivityInfoTest.class, ActivityFieldLocatorTest.class, StreamFieldTypeTest.class,
+		FieldRefTest.class, GenericValueClassifierTest.class })
 public class AllFieldsTests {
 }
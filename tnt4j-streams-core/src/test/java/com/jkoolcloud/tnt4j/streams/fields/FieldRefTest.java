@@ -0,0 +1,85 @@
+/*
+ * Copyright 2014-2023 JKOOL, LLC.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.jkoolcloud.tnt4j.streams.fields;
+
+import static org.junit.Assert.*;
+
+import java.util.Map;
+
+import org.junit.Test;
+
+/**
+ * @author akausinis
+ * @version 1.0
+ */
+public class FieldRefTest {
+
+	@Test
+	public void testCompile() {
+		FieldRef ref = FieldRef.of("${EventName}"); // NON-NLS
+		assertSame(ref, FieldRef.of("${EventName}")); // NON-NLS
+		assertEquals("EventName", ref.getFieldName()); // NON-NLS
+		assertEquals(StreamFieldType.EventName, ref.getFieldType());
+
+		assertNull(FieldRef.of("CustomProp").getFieldType()); // NON-NLS
+		assertTrue(FieldRef.of("^.^.EventName").isParentRef()); // NON-NLS
+		assertTrue(FieldRef.of("child[Group.0].EventName").isChildRef()); // NON-NLS
+		assertTrue(FieldRef.of("Event*").isWildcard()); // NON-NLS
+	}
+
+	@Test
+	public void testFieldValues() throws Exception {
+		ActivityInfo parent = makeActivity("Parent", "ParentProp", "PV"); // NON-NLS
+		ActivityInfo child1 = makeActivity("Child1", "ChildProp", "CV1"); // NON-NLS
+		ActivityInfo child2 = makeActivity("Child2", "ChildProp", "CV2"); // NON-NLS
+		parent.addChild("Group", child1); // NON-NLS
+		parent.addChild("Group", child2); // NON-NLS
+
+		assertEquals("Parent", parent.getFieldValue(FieldRef.of("EventName"))); // NON-NLS
+		assertEquals("PV", parent.getFieldValue(FieldRef.of("ParentProp"))); // NON-NLS
+		assertEquals(2, ActivityInfo.getFieldValue(FieldRef.of("$indexOf$"), null, child2)); // NON-NLS
+
+		assertEquals("Parent", ActivityInfo.getFieldValue(FieldRef.of("^.EventName"), null, child1)); // NON-NLS
+		assertEquals("PV", ActivityInfo.getFieldValue("^.ParentProp", (String) null, child1)); // NON-NLS
+		assertNull(ActivityInfo.getFieldValue(FieldRef.of("^.^.EventName"), null, child1)); // NON-NLS
+
+		assertEquals("Child2", // NON-NLS
+				ActivityInfo.getFieldValue(FieldRef.of("child[Group.1].EventName"), null, child1, parent)); // NON-NLS
+		assertEquals("Child1", // NON-NLS
+				ActivityInfo.getFieldValue(FieldRef.of("child[0].EventName"), "Group", child1, parent)); // NON-NLS
+		assertEquals("CV2", ActivityInfo.getFieldValue(FieldRef.of("child[Group.EventName=Child2].ChildProp"), // NON-NLS
+				null, child1, parent));
+		assertEquals("CV1", // NON-NLS
+				ActivityInfo.getFieldValue(FieldRef.of("child[Group].ChildProp"), null, child1, parent)); // NON-NLS
+
+		Map<?, ?> wValues = (Map<?, ?>) parent.getFieldValue(FieldRef.of("ParentP*")); // NON-NLS
+		assertEquals(1, wValues.size());
+		assertEquals("PV", wValues.get("ParentProp")); // NON-NLS
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testInvalidChildRef() {
+		ActivityInfo.getFieldValue(FieldRef.of("child[0].EventName"), null, new ActivityInfo(), new ActivityInfo()); // NON-NLS
+	}
+
+	private static ActivityInfo makeActivity(String eventName, String propName, String propValue) throws Exception {
+		ActivityInfo ai = new ActivityInfo();
+		ai.setFieldValue(new ActivityField(StreamFieldType.EventName.name()), eventName);
+		ai.addActivityProperty(propName, propValue);
+		return ai;
+	}
+}
@@ -0,0 +1,152 @@
+/*
+ * Copyright 2014-2023 JKOOL, LLC.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.jkoolcloud.tnt4j.streams.fields;
+
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.Test;
+
+import com.jkoolcloud.tnt4j.core.UsecTimestamp;
+
+/**
+ * @author akausinis
+ * @version 1.0
+ */
+public class GenericValueClassifierTest {
+
+	@Test
+	public void testClassifyNumbers() {
+		String[] numbers = { "1", "-15", "+1.0", "1.000,01", "123,456.789", "−5896456,7898658", "1 000", ".5",
+				"1e5", "-1.5E-3", "10L", "0x1F", " 25 " };
+		for (String num : numbers) {
+			assertEquals(num, ActivityFieldDataType.Number, GenericValueClassifier.classify(num));
+		}
+	}
+
+	@Test
+	public void testClassifyOther() {
+		assertNull(GenericValueClassifier.classify((Object) null));
+		assertNull(GenericValueClassifier.classify("  ")); // NON-NLS
+		String[] strings = { "abc", "1aaa", "2 - Normal", "10.0.0.1", "1.2.3", "12 34", "1e", "truex", "-" }; // NON-NLS
+		for (String str : strings) {
+			assertEquals(str, ActivityFieldDataType.String, GenericValueClassifier.classify(str));
+		}
+		String[] dates = { "2023-01-05", "2023-01-05T10:00", "2023-01-05 10:00:00.123", "2023-01-05T10:00:00Z", // NON-NLS
+				"2023-01-05T10:00:00+0200", "2023-01-05T10:00:00-05:00" }; // NON-NLS
+		for (String date : dates) {
+			assertEquals(date, ActivityFieldDataType.DateTime, GenericValueClassifier.classify(date));
+		}
+		assertEquals(ActivityFieldDataType.Duration, GenericValueClassifier.classify("10:00:00")); // NON-NLS
+		assertEquals(ActivityFieldDataType.Duration, GenericValueClassifier.classify("125:30:45.5")); // NON-NLS
+		assertEquals(ActivityFieldDataType.Number, GenericValueClassifier.classify(5L));
+		assertEquals(ActivityFieldDataType.Binary, GenericValueClassifier.classify(new byte[] { 1 }));
+		assertEquals(ActivityFieldDataType.AsInput, GenericValueClassifier.classify(Boolean.TRUE));
+	}
+
+	@Test
+	public void testClassifyBooleans() {
+		assertEquals(ActivityFieldDataType.AsInput, GenericValueClassifier.classify("true")); // NON-NLS
+		assertEquals(ActivityFieldDataType.AsInput, GenericValueClassifier.classify(" FALSE ")); // NON-NLS
+		assertEquals(Boolean.TRUE, GenericValueClassifier.getBoolean("True")); // NON-NLS
+		assertEquals(Boolean.FALSE, GenericValueClassifier.getBoolean(" false ")); // NON-NLS
+		assertEquals(Boolean.TRUE, GenericValueClassifier.getBoolean(Boolean.TRUE));
+		assertNull(GenericValueClassifier.getBoolean("yes")); // NON-NLS
+		assertNull(GenericValueClassifier.getBoolean(1));
+	}
+
+	@Test
+	public void testParseDateTime() {
+		UsecTimestamp ts = GenericValueClassifier.parseDateTime("2023-01-05T10:00:00.123+02:00", null); // NON-NLS
+		assertEquals(1672905600123L, ts.getTimeMillis());
+		ts = GenericValueClassifier.parseDateTime("2023-01-05 08:00:00,123+0000", null); // NON-NLS
+		assertEquals(1672905600123L, ts.getTimeMillis());
+		ts = GenericValueClassifier.parseDateTime("2023-01-05T08:00:00.123", "UTC"); // NON-NLS
+		assertEquals(1672905600123L, ts.getTimeMillis());
+		ts = GenericValueClassifier.parseDateTime("2023-01-05", "UTC"); // NON-NLS
+		assertEquals(1672876800000L, ts.getTimeMillis());
+		assertNull(GenericValueClassifier.parseDateTime("2023-13-05", "UTC")); // NON-NLS
+		assertNull(GenericValueClassifier.parseDateTime("abc", "UTC")); // NON-NLS
+	}
+
+	@Test
+	public void testPredictionLearning() {
+		GenericValueClassifier.Prediction prediction = GenericValueClassifier.Prediction.NONE;
+		for (int i = 0; i < GenericValueClassifier.LEARN_SAMPLES - 1; i++) {
+			prediction = prediction.next(ActivityFieldDataType.Number);
+		}
+		assertFalse(prediction.isLearned());
+		prediction = prediction.next(ActivityFieldDataType.String);
+		assertEquals(ActivityFieldDataType.String, prediction.getDataType());
+		for (int i = 0; i < GenericValueClassifier.LEARN_SAMPLES; i++) {
+			prediction = prediction.next(ActivityFieldDataType.Number);
+		}
+		assertTrue(prediction.isLearned());
+		assertSame(prediction, prediction.next(ActivityFieldDataType.String));
+		assertEquals(ActivityFieldDataType.Number, prediction.getDataType());
+	}
+
+	@Test
+	public void testGenericLocatorFormatValue() throws Exception {
+		ActivityFieldLocator locator = new ActivityFieldLocator(ActivityFieldLocatorType.Label, "NONE"); // NON-NLS
+		locator.setDataType(ActivityFieldDataType.Generic);
+		locator.setTimeZone("UTC"); // NON-NLS
+
+		for (int i = 0; i < GenericValueClassifier.LEARN_SAMPLES * 2; i++) {
+			assertEquals((long) i, locator.formatValue(String.valueOf(i)));
+		}
+		assertEquals("abc", locator.formatValue("abc")); // NON-NLS
+		assertEquals(1672876800000L, ((UsecTimestamp) locator.formatValue("2023-01-05")).getTimeMillis()); // NON-NLS
+		assertEquals(ActivityFieldDataType.Generic, locator.getDataType());
+		assertNull(locator.getFormat());
+	}
+
+	@Test(timeout = 60000)
+	public void testGenericLocatorConcurrentFormatValue() throws Exception {
+		ActivityFieldLocator locator = new ActivityFieldLocator(ActivityFieldLocatorType.Label, "NONE"); // NON-NLS
+		locator.setDataType(ActivityFieldDataType.Generic);
+		String[] values = { "15", "text", "2023-01-05T10:00:00Z", "1.5" }; // NON-NLS
+		Class<?>[] types = { Number.class, String.class, UsecTimestamp.class, Number.class };
+
+		ExecutorService executor = Executors.newFixedThreadPool(8);
+		try {
+			List<Future<Boolean>> results = new ArrayList<>();
+			for (int t = 0; t < 8; t++) {
+				int offset = t;
+				results.add(executor.submit(() -> {
+					for (int i = 0; i < 10000; i++) {
+						int idx = (i + offset) % values.length;
+						if (!types[idx].isInstance(locator.formatValue(values[idx]))) {
+							return false;
+						}
+					}
+					return true;
+				}));
+			}
+			for (Future<Boolean> result : results) {
+				assertTrue(result.get());
+			}
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+}
@@ -19,11 +19,15 @@ package com.jkoolcloud.tnt4j.streams.inputs;
 import static org.junit.Assert.*;
 import static org.mockito.Mockito.mock;
 
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.concurrent.TimeUnit;
 
+import org.apache.commons.io.FileUtils;
 import org.junit.Test;
 
 import com.jkoolcloud.tnt4j.sink.EventSink;
+import com.jkoolcloud.tnt4j.streams.configure.StreamProperties;
 
 /**
  * @author akausinis
@@ -76,6 +80,54 @@ public class AbstractBufferedStreamTest {
 		thread.interrupt();
 	}
 
+	@Test(timeout = 10000)
+	public void spillBufferOverflowTest() throws Exception {
+		Path spillDir = Files.createTempDirectory("abs-spill-test"); // NON-NLS
+		AbstractBufferedStream<String> sabs = new AbstractBufferedStreamTestStub();
+		try {
+			sabs.setProperty(StreamProperties.PROP_BUFFER_SIZE, "2");
+			sabs.setProperty(StreamProperties.PROP_FULL_BUFFER_ADD_POLICY, "SPILL"); // NON-NLS
+			sabs.setProperty(StreamProperties.PROP_SPILL_DIR, spillDir.toString());
+			sabs.setProperty(StreamProperties.PROP_SPILL_MAX_SIZE, String.valueOf(1024 * 1024));
+			sabs.startStream();
+			sabs.setOwnerThread(mock(StreamThread.class));
+
+			for (int i = 0; i < 100; i++) {
+				assertTrue(sabs.addInputToBuffer("TEST" + i)); // NON-NLS
+			}
+			for (int i = 0; i < 100; i++) {
+				assertEquals("TEST" + i, sabs.getNextItem()); // NON-NLS
+			}
+			assertTrue(sabs.isBufferEmpty());
+		} finally {
+			sabs.cleanup();
+			FileUtils.deleteDirectory(spillDir.toFile());
+		}
+	}
+
+	@Test
+	public void ringBufferDrainTest() throws Exception {
+		AbstractBufferedStream<String> sabs = new AbstractBufferedStreamTestStub();
+		try {
+			sabs.setProperty(StreamProperties.PROP_BUFFER_SIZE, "64");
+			sabs.setProperty(StreamProperties.PROP_BUFFER_QUEUE_TYPE, "RING"); // NON-NLS
+			sabs.setProperty(StreamProperties.PROP_BUFFER_DRAIN_SIZE, "16");
+			sabs.startStream();
+			sabs.setOwnerThread(mock(StreamThread.class));
+
+			for (int i = 0; i < 50; i++) {
+				assertTrue(sabs.addInputToBuffer("TEST" + i)); // NON-NLS
+			}
+			sabs.offerDieMarker();
+			for (int i = 0; i < 50; i++) {
+				assertEquals("TEST" + i, sabs.getNextItem()); // NON-NLS
+			}
+			assertNull(sabs.getNextItem());
+		} finally {
+			sabs.cleanup();
+		}
+	}
+
 	private class AbstractBufferedStreamTestStub extends AbstractBufferedStream<String> {
 		private EventSink es = mock(EventSink.class);
 
@@ -26,6 +26,7 @@ import org.junit.runners.Suite;
 @RunWith(Suite.class)
 @Suite.SuiteClasses({ AbstractBufferedStreamTest.class, AbstractFileLineStreamTest.class, CharacterStreamTest.class,
 		FileLineStreamTest.class, HttpStreamTest.class, JavaInputStreamTest.class, StreamThreadTest.class,
-		TNTInputStreamTest.class, PipedStreamTest.class, RedirectTNT4JStreamTest.class, ZipLineStreamTest.class })
+		TNTInputStreamTest.class, PipedStreamTest.class, RedirectTNT4JStreamTest.class, ZipLineStreamTest.class,
+		OpenMetricsStatisticsRendererTest.class })
 public class AllInputsTests {
 }
@@ -18,17 +18,28 @@ package com.jkoolcloud.tnt4j.streams.inputs;
 
 import static com.jkoolcloud.tnt4j.streams.TestUtils.testPropertyList;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assume.assumeNotNull;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
 
 import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
+import org.apache.commons.io.FileUtils;
 import org.junit.Before;
 import org.junit.Test;
 
 import com.jkoolcloud.tnt4j.streams.configure.StreamProperties;
+import com.jkoolcloud.tnt4j.streams.inputs.AbstractFileLineStream.FileAccessPolicy;
 import com.jkoolcloud.tnt4j.streams.utils.TestFileList;
 
 /**
@@ -87,4 +98,111 @@ public class FileLineStreamTest {
 		assertEquals("TEST4", fls.getNextItem().toString());
 	}
 
+	@Test
+	public void testFileRotation() throws Exception {
+		Path file = Files.createTempFile("fls-rotation-test", ".log"); // NON-NLS
+		try {
+			FileLineStream.CommonFileWatcher fileWatcher = createRotationWatcher(file,
+					FileAccessPolicy.START_FROM_BEGINNING);
+			Object fileKey = Files.readAttributes(file, BasicFileAttributes.class).fileKey();
+			assumeNotNull(fileKey);
+
+			fileWatcher.checkFileRotation(mockFileAttributes(fileKey, Files.size(file)));
+			assertEquals(5, fileWatcher.lineNumber);
+
+			fileWatcher.checkFileRotation(mockFileAttributes(new Object(), Files.size(file) + 10));
+			assertEquals(0, fileWatcher.lineNumber);
+		} finally {
+			Files.deleteIfExists(file);
+		}
+	}
+
+	@Test
+	public void testFileTruncation() throws Exception {
+		Path file = Files.createTempFile("fls-truncation-test", ".log"); // NON-NLS
+		try {
+			FileLineStream.CommonFileWatcher fileWatcher = createRotationWatcher(file,
+					FileAccessPolicy.CONTINUE_FROM_LAST);
+			fileWatcher.checkFileRotation(mockFileAttributes(null, 0));
+			assertEquals(5, fileWatcher.lineNumber);
+
+			fileWatcher = createRotationWatcher(file, FileAccessPolicy.START_FROM_BEGINNING);
+			fileWatcher.checkFileRotation(mockFileAttributes(null, Files.size(file)));
+			assertEquals(5, fileWatcher.lineNumber);
+
+			fileWatcher.checkFileRotation(mockFileAttributes(null, 0));
+			assertEquals(0, fileWatcher.lineNumber);
+		} finally {
+			Files.deleteIfExists(file);
+		}
+	}
+
+	private FileLineStream.CommonFileWatcher createRotationWatcher(Path file, FileAccessPolicy truncatedFilePolicy)
+			throws Exception {
+		Files.write(file, Arrays.asList("line1", "line2", "line3", "line4", "line5"), StandardCharsets.UTF_8); // NON-NLS
+
+		Map<String, String> props = new HashMap<>(2);
+		props.put(StreamProperties.PROP_FILENAME, file.toString());
+		props.put(StreamProperties.PROP_TRUNCATED_FILE_POLICY, truncatedFilePolicy.name());
+		fls.setProperties(props.entrySet());
+
+		FileLineStream.CommonFileWatcher fileWatcher = (FileLineStream.CommonFileWatcher) fls.createFileWatcher();
+		fileWatcher.setFileToRead(file);
+		fileWatcher.lineNumber = 5;
+
+		return fileWatcher;
+	}
+
+	private static BasicFileAttributes mockFileAttributes(Object fileKey, long size) {
+		BasicFileAttributes attrs = mock(BasicFileAttributes.class);
+		when(attrs.fileKey()).thenReturn(fileKey);
+		when(attrs.size()).thenReturn(size);
+		return attrs;
+	}
+
+	@Test(timeout = 60000)
+	public void testParallelFiles() throws Exception {
+		int filesCount = 8;
+		int linesCount = 500;
+		Path dir = Files.createTempDirectory("fls-parallel-test"); // NON-NLS
+		try {
+			for (int f = 0; f < filesCount; f++) {
+				List<String> lines = new ArrayList<>(linesCount);
+				for (int l = 0; l < linesCount; l++) {
+					lines.add(f + ":" + l); // NON-NLS
+				}
+				Files.write(dir.resolve("parallel" + f + ".log"), lines, StandardCharsets.UTF_8); // NON-NLS
+			}
+
+			Map<String, String> props = new HashMap<>(6);
+			props.put(StreamProperties.PROP_FILENAME, dir + File.separator + "parallel*.log"); // NON-NLS
+			props.put(StreamProperties.PROP_FILE_POLLING, String.valueOf(false));
+			props.put(StreamProperties.PROP_RESTORE_STATE, String.valueOf(false));
+			props.put(StreamProperties.PROP_BUFFER_SIZE, String.valueOf(64));
+			props.put(StreamProperties.PROP_PARALLEL_FILES, String.valueOf(4));
+			props.put(StreamProperties.PROP_PARALLEL_FILES_ORDER, "SMALLEST"); // NON-NLS
+			fls.setProperties(props.entrySet());
+			testPropertyList(fls, props.entrySet());
+			fls.startStream();
+
+			int[] lastLines = new int[filesCount];
+			Arrays.fill(lastLines, -1);
+			for (int i = 0; i < filesCount * linesCount; i++) {
+				AbstractFileLineStream.Line line = fls.getNextItem();
+				assertNotNull(line);
+				String[] tokens = line.getData().split(":");
+				int f = Integer.parseInt(tokens[0]);
+				int l = Integer.parseInt(tokens[1]);
+				assertEquals("Lines order within file must be preserved", lastLines[f] + 1, l);
+				assertEquals(l + 1, line.getLineNumber());
+				lastLines[f] = l;
+			}
+			for (int lastLine : lastLines) {
+				assertEquals(linesCount - 1, lastLine);
+			}
+		} finally {
+			fls.cleanup();
+			FileUtils.deleteDirectory(dir.toFile());
+		}
+	}
 }
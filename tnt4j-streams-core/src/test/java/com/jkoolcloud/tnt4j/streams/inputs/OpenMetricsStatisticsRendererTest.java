@@ -0,0 +1,98 @@
+/*
+ * Copyright 2014-2023 JKOOL, LLC.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.jkoolcloud.tnt4j.streams.inputs;
+
+import static org.junit.Assert.*;
+
+import java.io.InputStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.commons.io.IOUtils;
+import org.junit.Test;
+
+import com.codahale.metrics.Gauge;
+import com.codahale.metrics.MetricRegistry;
+import com.codahale.metrics.Timer;
+import com.jkoolcloud.tnt4j.streams.management.MetricsHttpEndpoint;
+
+/**
+ * @author akausinis
+ * @version 1.0
+ */
+public class OpenMetricsStatisticsRendererTest {
+
+	@Test
+	public void testRender() {
+		MetricRegistry registry = new MetricRegistry();
+		registry.counter("TestStream:processed entities").inc(5); // NON-NLS
+		registry.counter("TestStream:parser matched:Parser\"1").inc(3); // NON-NLS
+		registry.counter("TestStream:parser failed:Parser\"1").inc(); // NON-NLS
+		registry.register("TestStream:buffer:size", (Gauge<Integer>) () -> 7); // NON-NLS
+		registry.register("TestStream:buffer:load", (Gauge<String>) () -> "7/10"); // NON-NLS
+		Timer timer = registry.timer("TestStream:stage:parse"); // NON-NLS
+		timer.update(2, TimeUnit.MILLISECONDS);
+
+		String text = OpenMetricsStatisticsRenderer.render(Collections.singleton(registry));
+
+		assertTrue(text.contains("# TYPE tnt4j_streams_processed_entities counter\n" // NON-NLS
+				+ "tnt4j_streams_processed_entities_total{stream=\"TestStream\"} 5\n")); // NON-NLS
+		String parserLabels = "{stream=\"TestStream\",parser=\"Parser\\\"1\"}"; // NON-NLS
+		assertTrue(text.contains("# TYPE tnt4j_streams_parser_matched counter\n" // NON-NLS
+				+ "tnt4j_streams_parser_matched_total" + parserLabels + " 3\n")); // NON-NLS
+		assertTrue(text.contains("tnt4j_streams_parser_failed_total" + parserLabels + " 1\n")); // NON-NLS
+		assertTrue(text.contains("# TYPE tnt4j_streams_buffer_size gauge\n" // NON-NLS
+				+ "tnt4j_streams_buffer_size{stream=\"TestStream\"} 7\n")); // NON-NLS
+		assertFalse(text.contains("buffer_load")); // NON-NLS
+		assertTrue(text.contains("# TYPE tnt4j_streams_stage_seconds summary\n")); // NON-NLS
+		String stageLabels = "stream=\"TestStream\",stage=\"parse\""; // NON-NLS
+		String quantileLabels = stageLabels + ",quantile=\"0.99\""; // NON-NLS
+		assertTrue(text.contains("tnt4j_streams_stage_seconds{" + quantileLabels + "} 0.002\n")); // NON-NLS
+		assertTrue(text.contains("tnt4j_streams_stage_seconds_count{" + stageLabels + "} 1\n")); // NON-NLS
+		assertTrue(text.endsWith("# EOF\n")); // NON-NLS
+	}
+
+	@Test
+	public void testSanitize() {
+		assertEquals("output_timer", OpenMetricsStatisticsRenderer.sanitize("output:timer")); // NON-NLS
+		assertEquals("read_wait_timer", OpenMetricsStatisticsRenderer.sanitize("Read  wait-timer")); // NON-NLS
+	}
+
+	@Test(timeout = 20000)
+	public void testEndpointScrape() throws Exception {
+		MetricsHttpEndpoint endpoint = new MetricsHttpEndpoint(0, 1);
+		try {
+			endpoint.start();
+			URL url = new URL("http://localhost:" + endpoint.getPort() + MetricsHttpEndpoint.METRICS_PATH); // NON-NLS
+			HttpURLConnection conn = (HttpURLConnection) url.openConnection();
+			try (InputStream is = conn.getInputStream()) {
+				assertEquals(200, conn.getResponseCode());
+				assertEquals(MetricsHttpEndpoint.CONTENT_TYPE, conn.getContentType());
+				String text = IOUtils.toString(is, StandardCharsets.UTF_8);
+				assertTrue(text.contains("tnt4j_streams_processed_entities_total{stream=\"Agent\"}")); // NON-NLS
+				assertTrue(text.endsWith("# EOF\n")); // NON-NLS
+			} finally {
+				conn.disconnect();
+			}
+		} finally {
+			endpoint.stop();
+		}
+	}
+}
@@ -172,6 +172,33 @@ public class TNTInputStreamTest {
 		verify(parser, times(2)).parse(any(TNTInputStream.class), any());
 	}
 
+	@Test
+	public void testReplaceParsers() throws Exception {
+		ActivityParser oldParser = mock(ActivityParser.class);
+		ActivityParser newParser = mock(ActivityParser.class);
+		ActivityInfo newAi = new ActivityInfo();
+		when(oldParser.isDataClassSupported(any())).thenReturn(true);
+		when(newParser.isDataClassSupported(any())).thenReturn(true);
+		when(oldParser.parse(any(TNTInputStream.class), any())).thenReturn(new ActivityInfo());
+		when(newParser.parse(any(TNTInputStream.class), any())).thenReturn(newAi);
+
+		ts.addParser(oldParser);
+		Set<ParserReference> oldRefs = ts.getParserReferences();
+		assertNotNull(ts.applyParsers("TEST")); // NON-NLS
+
+		ts.replaceParsers(Collections.singletonList(new ParserReference(newParser)));
+		assertEquals(1, oldRefs.size());
+		assertEquals(1, ts.getParserReferences().size());
+		assertSame(newAi, ts.applyParsers("TEST")); // NON-NLS
+		verify(oldParser, times(1)).parse(any(TNTInputStream.class), any());
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testReplaceParsersEmpty() {
+		ts.addParser(parser);
+		ts.replaceParsers(Collections.emptyList());
+	}
+
 	@Test
 	public void testInputListeners() {
 		InputStreamListener inputStreamListenerMock = mock(InputStreamListener.class);
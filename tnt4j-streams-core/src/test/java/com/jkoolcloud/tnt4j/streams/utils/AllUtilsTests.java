@@ -26,6 +26,8 @@ import org.junit.runners.Suite;
 @RunWith(Suite.class)
 @Suite.SuiteClasses({ UtilsTest.class, NumericFormatterTest.class, TimestampFormatterTest.class,
 		StreamsThreadTest.class, StreamsResourcesTest.class, StreamsCacheTest.class, SecurityUtilsTest.class,
-		ListMapTest.class, DurationTest.class })
+		ListMapTest.class, DurationTest.class, SpillJournalTest.class,
+		RingBufferBlockingQueueTest.class, HostResolverTest.class, CompactMapTest.class,
+		HdrHistogramReservoirTest.class, ObjectAccessorsTest.class, FileChangeSourceTest.class })
 public class AllUtilsTests {
 }
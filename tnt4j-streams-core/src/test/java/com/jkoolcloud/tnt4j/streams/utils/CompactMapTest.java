@@ -0,0 +1,127 @@
+/*
+ * Copyright 2014-2023 JKOOL, LLC.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.jkoolcloud.tnt4j.streams.utils;
+
+import static org.junit.Assert.*;
+
+import java.lang.management.ManagementFactory;
+import java.util.*;
+import java.util.function.Supplier;
+
+import org.junit.Test;
+
+import com.jkoolcloud.tnt4j.streams.TestUtils;
+
+/**
+ * @author akausinis
+ * @version 1.0
+ */
+public class CompactMapTest {
+
+	@Test
+	public void testSchemaSlots() {
+		KeySchema<String> schema = KeySchema.of(Arrays.asList("a", "b", "a", null)); // NON-NLS
+		assertEquals(2, schema.size());
+		assertEquals(0, schema.slotOf("a")); // NON-NLS
+		assertEquals(1, schema.slotOf("b")); // NON-NLS
+		assertEquals(-1, schema.slotOf("c")); // NON-NLS
+		assertEquals("b", schema.keyAt(1)); // NON-NLS
+
+		CompactMap<String, String> map = new CompactMap<>(schema);
+		assertNull(map.put("a", "1")); // NON-NLS
+		assertNull(map.put("c", "3")); // NON-NLS
+		assertEquals("1", map.put("a", "11")); // NON-NLS
+		assertEquals(2, map.size());
+		assertEquals("11", map.get("a")); // NON-NLS
+		assertNull(map.get("b")); // NON-NLS
+		assertFalse(map.containsKey("b")); // NON-NLS
+		assertEquals("3", map.remove("c")); // NON-NLS
+		assertEquals(Collections.singletonMap("a", "11"), new HashMap<>(map)); // NON-NLS
+	}
+
+	@Test
+	public void testRandomOperations() {
+		Random rnd = new Random(42);
+		KeySchema<String> schema = KeySchema.of(Arrays.asList("k1", "k5", "k9")); // NON-NLS
+		for (int round = 0; round < 50; round++) {
+			CompactMap<String, Integer> cMap = new CompactMap<>(round % 2 == 0 ? schema : null);
+			Map<String, Integer> hMap = new HashMap<>();
+			for (int i = 0; i < 5000; i++) {
+				String key = "k" + rnd.nextInt(60); // NON-NLS
+				if (rnd.nextInt(3) < 2) {
+					Integer value = rnd.nextInt();
+					assertEquals(hMap.put(key, value), cMap.put(key, value));
+				} else {
+					assertEquals(hMap.remove(key), cMap.remove(key));
+				}
+				assertEquals(hMap.size(), cMap.size());
+				String qKey = "k" + rnd.nextInt(60); // NON-NLS
+				assertEquals(hMap.get(qKey), cMap.get(qKey));
+			}
+			assertEquals(hMap, new HashMap<>(cMap));
+		}
+	}
+
+	@Test
+	public void benchmarkAllocations() {
+		TestUtils.assumeBenchmarksEnabled();
+
+		List<String> keys = new ArrayList<>();
+		for (int i = 0; i < 20; i++) {
+			keys.add("property" + i); // NON-NLS
+		}
+		KeySchema<String> schema = KeySchema.of(keys);
+
+		long listMapBytes = measureAllocations(ListMap::new, keys);
+		long compactMapBytes = measureAllocations(() -> new CompactMap<>(schema), keys);
+		long compactMapNoSchemaBytes = measureAllocations(CompactMap::new, keys);
+
+		assertTrue("CompactMap allocates more than ListMap: " + compactMapBytes + " >= " + listMapBytes, // NON-NLS
+				compactMapBytes < listMapBytes);
+		assertTrue("CompactMap without schema allocates more than ListMap: " + compactMapNoSchemaBytes + " >= " // NON-NLS
+				+ listMapBytes, compactMapNoSchemaBytes < listMapBytes);
+		assertTrue("Schema does not reduce CompactMap allocations: " + compactMapBytes + " >= " // NON-NLS
+				+ compactMapNoSchemaBytes, compactMapBytes < compactMapNoSchemaBytes);
+	}
+
+	private static long measureAllocations(Supplier<Map<String, Object>> mapSupplier, List<String> keys) {
+		com.sun.management.ThreadMXBean tmx = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+		int iterations = 100000;
+		Object value = Boolean.TRUE;
+		long checksum = 0;
+		// warm up
+		for (int i = 0; i < iterations; i++) {
+			checksum += fillMap(mapSupplier.get(), keys, value).size();
+		}
+		long tId = Thread.currentThread().getId();
+		long start = tmx.getThreadAllocatedBytes(tId);
+		for (int i = 0; i < iterations; i++) {
+			checksum += fillMap(mapSupplier.get(), keys, value).size();
+		}
+		long allocated = tmx.getThreadAllocatedBytes(tId) - start;
+		assertEquals(2L * iterations * keys.size(), checksum);
+
+		return allocated / iterations;
+	}
+
+	private static Map<String, Object> fillMap(Map<String, Object> map, List<String> keys, Object value) {
+		for (String key : keys) {
+			map.put(key, value);
+		}
+		return map;
+	}
+}
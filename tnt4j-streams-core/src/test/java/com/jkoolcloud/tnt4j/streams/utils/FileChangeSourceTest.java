@@ -0,0 +1,78 @@
+/*
+ * Copyright 2014-2023 JKOOL, LLC.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.jkoolcloud.tnt4j.streams.utils;
+
+import static org.junit.Assert.*;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.commons.io.FileUtils;
+import org.junit.Test;
+
+/**
+ * @author akausinis
+ * @version 1.0
+ */
+public class FileChangeSourceTest {
+
+	@Test
+	public void testAdaptivePollingDelay() throws Exception {
+		long maxDelay = TimeUnit.SECONDS.toMillis(15);
+		try (FileChangeSource source = new FileChangeSource(maxDelay)) {
+			assertFalse(source.isNative());
+			assertEquals(FileChangeSource.DEFAULT_MIN_DELAY, source.nextDelay(true));
+			assertEquals(FileChangeSource.DEFAULT_MIN_DELAY * 2, source.nextDelay(false));
+			assertEquals(FileChangeSource.DEFAULT_MIN_DELAY * 4, source.nextDelay(false));
+			assertEquals(FileChangeSource.DEFAULT_MIN_DELAY * 8, source.nextDelay(false));
+			assertEquals(maxDelay, source.nextDelay(false));
+			assertEquals(maxDelay, source.nextDelay(false));
+			assertEquals(FileChangeSource.DEFAULT_MIN_DELAY, source.nextDelay(true));
+		}
+	}
+
+	@Test(timeout = 20000)
+	public void testNativeNotification() throws Exception {
+		Path dir = Files.createTempDirectory("file-change-source-test"); // NON-NLS
+		Path file = dir.resolve("test.log"); // NON-NLS
+		try (FileChangeSource source = FileChangeSource.forFiles(dir.resolve("*.log").toString(), null, // NON-NLS
+				TimeUnit.SECONDS.toMillis(10))) {
+			if (!source.isNative()) {
+				return;
+			}
+			source.nextDelay(false);
+			Thread writer = new Thread(() -> {
+				try {
+					TimeUnit.MILLISECONDS.sleep(300);
+					Files.write(file, "line".getBytes(StandardCharsets.UTF_8)); // NON-NLS
+				} catch (Exception exc) {
+				}
+			});
+			writer.start();
+
+			long start = System.currentTimeMillis();
+			assertTrue(source.awaitChanges());
+			long elapsed = System.currentTimeMillis() - start;
+			assertTrue("Notification took " + elapsed + "ms", elapsed < TimeUnit.SECONDS.toMillis(8)); // NON-NLS
+			writer.join();
+		} finally {
+			FileUtils.deleteDirectory(dir.toFile());
+		}
+	}
+}
@@ -0,0 +1,153 @@
+/*
+ * Copyright 2014-2023 JKOOL, LLC.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.jkoolcloud.tnt4j.streams.utils;
+
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+
+import com.codahale.metrics.Snapshot;
+import com.codahale.metrics.Timer;
+import com.jkoolcloud.tnt4j.streams.TestUtils;
+
+/**
+ * @author akausinis
+ * @version 1.0
+ */
+public class HdrHistogramReservoirTest {
+
+	@Test
+	public void testPercentiles() {
+		HdrHistogramReservoir reservoir = new HdrHistogramReservoir();
+		for (int i = 1; i <= 10000; i++) {
+			reservoir.update(i);
+		}
+
+		Snapshot snapshot = reservoir.getSnapshot();
+		assertEquals(10000, snapshot.size());
+		assertEquals(1, snapshot.getMin());
+		assertEquals(10000, snapshot.getMax(), 10);
+		assertEquals(5000, snapshot.getMedian(), 5);
+		assertEquals(9900, snapshot.get99thPercentile(), 10);
+		assertEquals(9990, snapshot.get999thPercentile(), 10);
+		assertEquals(5000.5, snapshot.getMean(), 5);
+		assertEquals(1024, snapshot.getValues().length);
+
+		// snapshot taking does not lose already recorded values
+		assertEquals(10000, reservoir.getSnapshot().size());
+	}
+
+	@Test
+	public void testWindowExpiry() throws Exception {
+		HdrHistogramReservoir reservoir = new HdrHistogramReservoir(100, TimeUnit.MILLISECONDS);
+		reservoir.update(42);
+		assertEquals(1, reservoir.size());
+
+		TimeUnit.MILLISECONDS.sleep(250);
+		reservoir.update(24);
+		Snapshot snapshot = reservoir.getSnapshot();
+		assertEquals(1, snapshot.size());
+		assertEquals(24, snapshot.getMax());
+	}
+
+	@Test(timeout = 60000)
+	public void testConcurrentUpdates() throws Exception {
+		HdrHistogramReservoir reservoir = new HdrHistogramReservoir();
+		List<Thread> threads = new ArrayList<>();
+		for (int t = 0; t < 8; t++) {
+			Thread thread = new Thread(() -> {
+				for (int i = 0; i < 100000; i++) {
+					reservoir.update(i % 1000);
+					if (i % 10000 == 0) {
+						reservoir.getSnapshot();
+					}
+				}
+			});
+			threads.add(thread);
+			thread.start();
+		}
+		for (Thread thread : threads) {
+			thread.join();
+		}
+		assertEquals(8 * 100000, reservoir.size());
+	}
+
+	@Test(timeout = 300000)
+	public void benchmarkStageTimingOverhead() {
+		TestUtils.assumeBenchmarksEnabled();
+		Timer[] stageTimers = new Timer[6];
+		for (int i = 0; i < stageTimers.length; i++) {
+			stageTimers[i] = new Timer(new HdrHistogramReservoir());
+		}
+		int items = 20000;
+
+		// warm up
+		runItems(items, null);
+		runItems(items, stageTimers);
+
+		long plain = Long.MAX_VALUE;
+		long timed = Long.MAX_VALUE;
+		for (int r = 0; r < 5; r++) {
+			plain = Math.min(plain, runItems(items, null));
+			timed = Math.min(timed, runItems(items, stageTimers));
+		}
+		double overhead = (timed - plain) * 100.0 / plain;
+		System.out.println(String.format("Stage timing: plain=%,dns/item, timed=%,dns/item, overhead=%.2f%%", // NON-NLS
+				plain / items, timed / items, overhead));
+		assertEquals(6L * 6 * items, countAll(stageTimers));
+		assertTrue("Stage timing overhead exceeds 1%: " + overhead, overhead < 1.0); // NON-NLS
+	}
+
+	private static long countAll(Timer[] timers) {
+		long count = 0;
+		for (Timer timer : timers) {
+			count += timer.getCount();
+		}
+		return count;
+	}
+
+	private static long sink;
+
+	/**
+	 * Simulates activity item processing: every item passes 6 stages, where every stage performs some string
+	 * processing, taking few microseconds as real parsing and formatting stages do.
+	 */
+	private static long runItems(int items, Timer[] stageTimers) {
+		long start = System.nanoTime();
+		String data = "2024-01-01 12:00:00,000 INFO [main] com.jkoolcloud.Sample - sample log entry message"; // NON-NLS
+		for (int i = 0; i < items; i++) {
+			for (int s = 0; s < 6; s++) {
+				long stageStart = stageTimers == null ? 0 : System.nanoTime();
+				int h = 0;
+				for (int j = 0; j < 20; j++) {
+					for (String token : data.split(" ")) { // NON-NLS
+						h = 31 * h + token.hashCode();
+					}
+				}
+				sink += h;
+				if (stageTimers != null) {
+					stageTimers[s].update(System.nanoTime() - stageStart, TimeUnit.NANOSECONDS);
+				}
+			}
+		}
+		return System.nanoTime() - start;
+	}
+}
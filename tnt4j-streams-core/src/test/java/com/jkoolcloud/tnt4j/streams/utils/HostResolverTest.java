@@ -0,0 +1,74 @@
+/*
+ * Copyright 2014-2023 JKOOL, LLC.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.jkoolcloud.tnt4j.streams.utils;
+
+import static org.junit.Assert.*;
+
+import java.util.Map;
+
+import org.junit.Test;
+
+import com.codahale.metrics.Counter;
+import com.codahale.metrics.Metric;
+
+/**
+ * @author akausinis
+ * @version 1.0
+ */
+public class HostResolverTest {
+
+	@Test
+	public void testResolveCached() {
+		Map<String, Metric> metrics = HostResolver.getMetrics().getMetrics();
+		Counter hits = (Counter) metrics.get("cache hits"); // NON-NLS
+		Counter misses = (Counter) metrics.get("cache misses"); // NON-NLS
+
+		long missCount = misses.getCount();
+		String hostName = HostResolver.resolveAddressToHostName("127.0.0.1", 10000); // NON-NLS
+		assertNotNull(hostName);
+		assertEquals(missCount + 1, misses.getCount());
+
+		long hitCount = hits.getCount();
+		assertEquals(hostName, HostResolver.resolveAddressToHostName("127.0.0.1", 0)); // NON-NLS
+		assertEquals("127.0.0.1", HostResolver.resolveHostNameToAddress(hostName, 0)); // NON-NLS
+		assertEquals(hitCount + 2, hits.getCount());
+	}
+
+	@Test
+	public void testResolveUnresolvable() {
+		Map<String, Metric> metrics = HostResolver.getMetrics().getMetrics();
+		Counter negativeHits = (Counter) metrics.get("negative cache hits"); // NON-NLS
+
+		String hostName = "host.unresolvable.invalid"; // NON-NLS
+		assertNull(HostResolver.resolveHostNameToAddress(hostName, 10000));
+
+		long hitCount = negativeHits.getCount();
+		assertNull(HostResolver.resolveHostNameToAddress(hostName, 10000));
+		assertEquals(hitCount + 1, negativeHits.getCount());
+	}
+
+	@Test
+	public void testResolveNoWait() throws Exception {
+		String hostName = "localhost"; // NON-NLS
+		String address = HostResolver.resolveHostNameToAddress(hostName, 0);
+		for (int i = 0; address == null && i < 100; i++) {
+			Thread.sleep(100);
+			address = HostResolver.resolveHostNameToAddress(hostName, 0);
+		}
+		assertNotNull(address);
+	}
+}
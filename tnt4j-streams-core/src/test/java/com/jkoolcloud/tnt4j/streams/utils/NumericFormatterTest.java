@@ -21,10 +21,16 @@ import static org.junit.Assert.*;
 import java.math.BigDecimal;
 import java.math.BigInteger;
 import java.text.ParseException;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Locale;
+import java.util.concurrent.*;
 
+import org.apache.commons.lang3.math.NumberUtils;
 import org.junit.Test;
 
+import com.jkoolcloud.tnt4j.streams.TestUtils;
+
 /**
  * @author akausinis
  * @version 1.0
@@ -105,6 +111,119 @@ public class NumericFormatterTest {
 		assertEquals(90000L, formatter.parse("0x15f90"));
 	}
 
+	@Test
+	public void testPlainIntegerParse() {
+		assertEquals(0, NumericFormatter.strToNumber("-0")); // NON-NLS
+		assertEquals(5, NumericFormatter.strToNumber("+5")); // NON-NLS
+		assertEquals(Integer.MIN_VALUE, NumericFormatter.strToNumber("-2147483648")); // NON-NLS
+		assertEquals(2147483648L, NumericFormatter.strToNumber("2147483648")); // NON-NLS
+		assertEquals(Long.MIN_VALUE, NumericFormatter.strToNumber("-9223372036854775808")); // NON-NLS
+		assertEquals(new BigInteger("9223372036854775808"), NumericFormatter.strToNumber("9223372036854775808")); // NON-NLS
+		assertEquals(-2147483648L, NumericFormatter.strToNumber("-0x80000000")); // NON-NLS
+		assertEquals(-255, NumericFormatter.strToNumber("-#ff")); // NON-NLS
+		assertEquals(8, NumericFormatter.strToNumber("010")); // NON-NLS
+		assertEquals(12L, NumericFormatter.strToNumber("12L")); // NON-NLS
+		assertEquals(12L, NumericFormatter.strToNumber("12", 10, "long")); // NON-NLS
+		assertEquals(1.5f, NumericFormatter.strToNumber("1.5")); // NON-NLS
+
+		assertEquals(255, NumericFormatter.strToNumber("ff", 16, null)); // NON-NLS
+		assertEquals(0xFFFFFFFFL, NumericFormatter.strToNumber("ffffffff", 16, null)); // NON-NLS
+		String bigHex = "ffffffffffffffffff"; // NON-NLS
+		assertEquals(new BigInteger(bigHex, 16), NumericFormatter.strToNumber(bigHex, 16, null));
+		assertEquals(-5, NumericFormatter.strToNumber("-101", 2, null)); // NON-NLS
+
+		assertNull(NumericFormatter.parsePlainInteger("0xG")); // NON-NLS
+		assertNull(NumericFormatter.parsePlainInteger("-")); // NON-NLS
+		assertNull(NumericFormatter.parsePlainInteger("1e5")); // NON-NLS
+	}
+
+	@Test(expected = NumberFormatException.class)
+	public void testPlainIntegerParseFail() {
+		NumericFormatter.strToNumber("2147483648", 10, "int"); // NON-NLS
+	}
+
+	@Test(timeout = 60000)
+	public void testConcurrentPatternParse() throws Exception {
+		NumericFormatter formatter = NumericFormatter.getInstance("#,##0.###", Locale.US.toString()); // NON-NLS
+		assertSame(formatter, NumericFormatter.getInstance("#,##0.###", Locale.US.toString())); // NON-NLS
+
+		ExecutorService executor = Executors.newFixedThreadPool(8);
+		try {
+			List<Future<?>> futures = new ArrayList<>();
+			for (int t = 0; t < 8; t++) {
+				int tn = t;
+				futures.add(executor.submit(() -> {
+					for (int i = 0; i < 20000; i++) {
+						long v = tn * 1000000L + i;
+						assertEquals(v, formatter.parse(String.format(Locale.US, "%,d", v)).longValue()); // NON-NLS
+					}
+					return null;
+				}));
+			}
+			for (Future<?> f : futures) {
+				f.get();
+			}
+		} finally {
+			executor.shutdown();
+		}
+	}
+
+	@Test(timeout = 300000)
+	public void benchmarkMetricPayloadParse() throws Exception {
+		TestUtils.assumeBenchmarksEnabled();
+		String[] payload = new String[1024];
+		for (int i = 0; i < payload.length; i++) {
+			payload[i] = String.valueOf(i % 3 == 0 ? i * 7919L : System.currentTimeMillis() + i);
+		}
+		int rounds = 2000;
+
+		runBenchmark("NumberUtils", payload, rounds, NumberUtils::createNumber); // NON-NLS
+		runBenchmark("strToNumber", payload, rounds, NumericFormatter::strToNumber); // NON-NLS
+		NumericFormatter formatter = NumericFormatter.getInstance();
+		runBenchmark("parse", payload, rounds, formatter::parse); // NON-NLS
+		NumericFormatter radixFormatter = NumericFormatter.getInstance(10);
+		runBenchmark("parse radix", payload, rounds, radixFormatter::parse); // NON-NLS
+		NumericFormatter patternFormatter = NumericFormatter.getInstance("#", null); // NON-NLS
+		runBenchmark("parse pattern", payload, rounds, patternFormatter::parse); // NON-NLS
+	}
+
+	private static void runBenchmark(String name, String[] payload, int rounds, ParseFunction parser)
+			throws Exception {
+		StringBuilder sb = new StringBuilder(name).append(':');
+		for (int threads = 1; threads <= 8; threads *= 2) {
+			ExecutorService executor = Executors.newFixedThreadPool(threads);
+			try {
+				List<Callable<Long>> tasks = new ArrayList<>(threads);
+				for (int t = 0; t < threads; t++) {
+					tasks.add(() -> {
+						long sum = 0;
+						for (int r = 0; r < rounds; r++) {
+							for (String str : payload) {
+								sum += parser.parse(str).longValue();
+							}
+						}
+						return sum;
+					});
+				}
+				long start = System.nanoTime();
+				for (Future<Long> f : executor.invokeAll(tasks)) {
+					assertNotEquals(0L, f.get().longValue());
+				}
+				long elapsed = System.nanoTime() - start;
+				long ops = (long) threads * rounds * payload.length;
+				sb.append(String.format(" %d threads=%,.0f ops/s;", threads, ops * 1e9 / elapsed)); // NON-NLS
+			} finally {
+				executor.shutdown();
+			}
+		}
+		System.out.println(sb);
+	}
+
+	@FunctionalInterface
+	private interface ParseFunction {
+		Number parse(String str) throws Exception;
+	}
+
 	@Test(expected = ParseException.class)
 	public void testGenericFail() throws Exception {
 		NumericFormatter formatter = NumericFormatter.getInstance(null, "lt-LT"); // NON-NLS
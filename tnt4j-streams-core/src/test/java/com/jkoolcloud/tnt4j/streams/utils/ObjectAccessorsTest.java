@@ -0,0 +1,102 @@
+/*
+ * Copyright 2014-2023 JKOOL, LLC.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.jkoolcloud.tnt4j.streams.utils;
+
+import static org.junit.Assert.*;
+
+import org.junit.Test;
+
+import com.jkoolcloud.tnt4j.streams.TestUtils;
+
+/**
+ * @author akausinis
+ * @version 1.0
+ */
+public class ObjectAccessorsTest {
+
+	@Test
+	public void testFieldPath() {
+		Outer outer = new Outer();
+		assertEquals("Test Name", Utils.getFieldValue(new String[] { "name" }, outer, 0)); // NON-NLS
+		assertEquals(123456789, Utils.getFieldValue(new String[] { "inner", "number" }, outer, 0)); // NON-NLS
+		assertEquals(Boolean.TRUE, Utils.getFieldValue(new String[] { "inner", "active" }, outer, 0)); // NON-NLS
+		assertEquals("static", Utils.getFieldValue(new String[] { "STATIC_FIELD" }, outer, 0)); // NON-NLS
+	}
+
+	@Test
+	public void testMethodPath() {
+		Outer outer = new Outer();
+		assertEquals("computed", Utils.getFieldValue(new String[] { "computed" }, outer, 0)); // NON-NLS
+		assertEquals(9, Utils.getFieldValue(new String[] { "name", "length" }, new Outer(), 0)); // NON-NLS
+		// null field value falls back to same name method
+		assertEquals("method", Utils.getFieldValue(new String[] { "nullField" }, outer, 0)); // NON-NLS
+		// null field value without same name method
+		assertNull(Utils.getFieldValue(new String[] { "empty", "length" }, outer, 0)); // NON-NLS
+	}
+
+	@Test
+	public void testAccessorCache() throws Exception {
+		ObjectAccessors.Accessor accessor = ObjectAccessors.getAccessor(Outer.class, "name"); // NON-NLS
+		assertSame(accessor, ObjectAccessors.getAccessor(Outer.class, "name")); // NON-NLS
+		assertNotSame(accessor, ObjectAccessors.getAccessor(Inner.class, "name")); // NON-NLS
+		assertTrue(accessor.isResolvable());
+		assertFalse(ObjectAccessors.getAccessor(Inner.class, "name").isResolvable()); // NON-NLS
+	}
+
+	@Test(expected = RuntimeException.class)
+	public void testMissingField() {
+		Utils.getFieldValue(new String[] { "inner", "missing" }, new Outer(), 0); // NON-NLS
+	}
+
+	@Test(timeout = 300000)
+	public void benchmarkPathResolve() {
+		TestUtils.assumeBenchmarksEnabled();
+		String[] path = { "inner", "number" }; // NON-NLS
+		Outer outer = new Outer();
+		int count = 2000000;
+		long sum = 0;
+		long start = System.nanoTime();
+		for (int i = 0; i < count; i++) {
+			sum += (Integer) Utils.getFieldValue(path, outer, 0);
+		}
+		long elapsed = System.nanoTime() - start;
+		assertEquals(123456789L * count, sum);
+		System.out.println(String.format("Path resolve: %,.0f ops/s", count * 1e9 / elapsed)); // NON-NLS
+	}
+
+	private static class Outer {
+		private static final String STATIC_FIELD = "static"; // NON-NLS
+
+		private String name = "Test Name"; // NON-NLS
+		private String nullField = null;
+		private String empty = null;
+		private Inner inner = new Inner();
+
+		private String computed() {
+			return "computed"; // NON-NLS
+		}
+
+		private String nullField() {
+			return "method"; // NON-NLS
+		}
+	}
+
+	private static class Inner {
+		private int number = 123456789;
+		private boolean active = true;
+	}
+}
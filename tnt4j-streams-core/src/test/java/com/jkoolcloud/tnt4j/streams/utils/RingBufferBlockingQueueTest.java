@@ -0,0 +1,201 @@
+/*
+ * Copyright 2014-2023 JKOOL, LLC.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.jkoolcloud.tnt4j.streams.utils;
+
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import org.junit.Test;
+
+import com.jkoolcloud.tnt4j.streams.TestUtils;
+
+/**
+ * @author akausinis
+ * @version 1.0
+ */
+public class RingBufferBlockingQueueTest {
+	private static final Object DIE_MARKER = new Object();
+
+	@Test
+	public void testOfferPoll() {
+		RingBufferBlockingQueue<Integer> queue = new RingBufferBlockingQueue<>(3);
+		assertTrue(queue.isEmpty());
+		assertNull(queue.poll());
+
+		assertTrue(queue.offer(1));
+		assertTrue(queue.offer(2));
+		assertTrue(queue.offer(3));
+		assertFalse(queue.offer(4));
+		assertEquals(3, queue.size());
+		assertEquals(0, queue.remainingCapacity());
+		assertEquals(Integer.valueOf(1), queue.peek());
+
+		assertEquals(Integer.valueOf(1), queue.poll());
+		assertTrue(queue.offer(4));
+		List<Integer> drained = new ArrayList<>();
+		assertEquals(2, queue.drainTo(drained, 2));
+		assertEquals(List.of(2, 3), drained);
+		assertEquals(Integer.valueOf(4), queue.poll());
+		assertTrue(queue.isEmpty());
+	}
+
+	@Test
+	public void testRemove() {
+		RingBufferBlockingQueue<String> queue = new RingBufferBlockingQueue<>(4);
+		queue.offer("a"); // NON-NLS
+		queue.offer("b"); // NON-NLS
+		queue.offer("c"); // NON-NLS
+
+		assertTrue(queue.remove("b")); // NON-NLS
+		assertFalse(queue.remove("x")); // NON-NLS
+		assertFalse(queue.contains("b")); // NON-NLS
+		assertEquals(2, queue.size());
+		assertEquals("a", queue.poll()); // NON-NLS
+		assertEquals("c", queue.poll()); // NON-NLS
+		assertNull(queue.poll());
+		assertEquals(0, queue.size());
+		assertTrue(queue.isEmpty());
+	}
+
+	@Test
+	public void testRemovedHeadReleasedOnFullQueue() {
+		RingBufferBlockingQueue<String> queue = new RingBufferBlockingQueue<>(2);
+		queue.offer("a"); // NON-NLS
+		queue.offer("b"); // NON-NLS
+
+		assertTrue(queue.remove("a")); // NON-NLS
+		assertEquals(1, queue.size());
+		assertEquals(0, queue.remainingCapacity());
+		assertTrue(queue.offer("c")); // NON-NLS
+		assertEquals(2, queue.size());
+
+		assertTrue(queue.remove("c")); // NON-NLS
+		assertEquals(1, queue.size());
+		assertEquals("b", queue.poll()); // NON-NLS
+		assertTrue(queue.isEmpty());
+		assertEquals(0, queue.size());
+		assertEquals(1, queue.remainingCapacity());
+		assertNull(queue.poll());
+		assertEquals(2, queue.remainingCapacity());
+	}
+
+	@Test(timeout = 5000)
+	public void testBlockingPollTimeout() throws Exception {
+		RingBufferBlockingQueue<String> queue = new RingBufferBlockingQueue<>(2);
+		assertNull(queue.poll(100, TimeUnit.MILLISECONDS));
+
+		Thread producer = new Thread(() -> {
+			try {
+				TimeUnit.MILLISECONDS.sleep(200);
+				queue.put("TEST"); // NON-NLS
+			} catch (InterruptedException exc) {
+			}
+		});
+		producer.start();
+		assertEquals("TEST", queue.poll(5, TimeUnit.SECONDS)); // NON-NLS
+		producer.join();
+	}
+
+	@Test(timeout = 60000)
+	public void testMultiProducerNoLoss() throws Exception {
+		RingBufferBlockingQueue<Object> queue = new RingBufferBlockingQueue<>(64);
+		assertEquals(8 * 50000, runProducersConsumer(queue, 8, 50000, 1));
+	}
+
+	@Test(timeout = 300000)
+	public void benchmarkContention() throws Exception {
+		TestUtils.assumeBenchmarksEnabled();
+		int itemsTotal = 400000;
+		int capacity = 1024;
+		int drainSize = 64;
+		runBenchmark("FAIR", () -> new ArrayBlockingQueue<>(capacity, true), itemsTotal, 1); // NON-NLS
+		runBenchmark("UNFAIR", () -> new ArrayBlockingQueue<>(capacity, false), itemsTotal, 1); // NON-NLS
+		runBenchmark("UNFAIR+DRAIN", () -> new ArrayBlockingQueue<>(capacity, false), itemsTotal, drainSize); // NON-NLS
+		runBenchmark("RING", () -> new RingBufferBlockingQueue<>(capacity), itemsTotal, 1); // NON-NLS
+		runBenchmark("RING+DRAIN", () -> new RingBufferBlockingQueue<>(capacity), itemsTotal, drainSize); // NON-NLS
+	}
+
+	private static void runBenchmark(String name, Supplier<BlockingQueue<Object>> queueSupplier, int itemsTotal,
+			int drainSize) throws Exception {
+		StringBuilder sb = new StringBuilder(name).append(':');
+		for (int producers = 1; producers <= 16; producers *= 2) {
+			int perProducer = itemsTotal / producers;
+			long start = System.nanoTime();
+			long consumed = runProducersConsumer(queueSupplier.get(), producers, perProducer, drainSize);
+			long elapsed = System.nanoTime() - start;
+			assertEquals((long) perProducer * producers, consumed);
+			sb.append(String.format(" %d producers=%,.0f ops/s;", producers, consumed * 1e9 / elapsed)); // NON-NLS
+		}
+		System.out.println(sb);
+	}
+
+	private static long runProducersConsumer(BlockingQueue<Object> queue, int producers, int perProducer,
+			int drainSize) throws Exception {
+		List<Thread> threads = new ArrayList<>(producers);
+		for (int p = 0; p < producers; p++) {
+			Thread t = new Thread(() -> {
+				try {
+					for (int i = 0; i < perProducer; i++) {
+						queue.put(i);
+					}
+				} catch (InterruptedException exc) {
+				}
+			});
+			threads.add(t);
+			t.start();
+		}
+		Thread terminator = new Thread(() -> {
+			try {
+				for (Thread t : threads) {
+					t.join();
+				}
+				queue.put(DIE_MARKER);
+			} catch (InterruptedException exc) {
+			}
+		});
+		terminator.start();
+
+		long consumed = 0;
+		List<Object> batch = new ArrayList<>(drainSize);
+		while (true) {
+			Object item = queue.poll(20, TimeUnit.SECONDS);
+			if (item == null || item == DIE_MARKER) {
+				break;
+			}
+			consumed++;
+			if (drainSize > 1) {
+				batch.clear();
+				queue.drainTo(batch, drainSize - 1);
+				for (Object bItem : batch) {
+					if (bItem == DIE_MARKER) {
+						terminator.join();
+						return consumed;
+					}
+					consumed++;
+				}
+			}
+		}
+		terminator.join();
+		return consumed;
+	}
+}
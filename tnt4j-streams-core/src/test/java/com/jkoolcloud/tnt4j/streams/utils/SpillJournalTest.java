@@ -0,0 +1,104 @@
+/*
+ * Copyright 2014-2023 JKOOL, LLC.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.jkoolcloud.tnt4j.streams.utils;
+
+import static org.junit.Assert.*;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.apache.commons.io.FileUtils;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * @author akausinis
+ * @version 1.0
+ */
+public class SpillJournalTest {
+	private Path dir;
+
+	@Before
+	public void setUp() throws IOException {
+		dir = Files.createTempDirectory("spill-journal-test"); // NON-NLS
+	}
+
+	@After
+	public void tearDown() throws IOException {
+		FileUtils.deleteDirectory(dir.toFile());
+	}
+
+	@Test
+	public void testFifoOrderAndSizeCap() throws Exception {
+		SpillJournal journal = new SpillJournal(dir, 4096, 1024);
+		int appended = 0;
+		while (journal.append(("record-" + appended).getBytes(StandardCharsets.UTF_8))) { // NON-NLS
+			appended++;
+		}
+		assertTrue(appended > 0);
+		assertEquals(appended, journal.size());
+		assertEquals(4096, journal.diskSize());
+
+		for (int i = 0; i < appended; i++) {
+			assertEquals("record-" + i, new String(journal.peek(), StandardCharsets.UTF_8)); // NON-NLS
+			journal.advance();
+		}
+		assertTrue(journal.isEmpty());
+		assertNull(journal.peek());
+		journal.close();
+	}
+
+	@Test
+	public void testReopen() throws Exception {
+		SpillJournal journal = new SpillJournal(dir, 64 * 1024, 1024);
+		for (int i = 0; i < 200; i++) {
+			assertTrue(journal.append(("record-" + i).getBytes(StandardCharsets.UTF_8))); // NON-NLS
+		}
+		for (int i = 0; i < 50; i++) {
+			journal.peek();
+			journal.advance();
+		}
+		journal.close();
+
+		journal = new SpillJournal(dir, 64 * 1024, 1024);
+		assertEquals(150, journal.size());
+		assertEquals("record-50", new String(journal.peek(), StandardCharsets.UTF_8)); // NON-NLS
+		assertTrue(journal.append("record-200".getBytes(StandardCharsets.UTF_8))); // NON-NLS
+
+		String last = null;
+		byte[] record;
+		while ((record = journal.peek()) != null) {
+			last = new String(record, StandardCharsets.UTF_8);
+			journal.advance();
+		}
+		assertEquals("record-200", last); // NON-NLS
+		journal.close();
+	}
+
+	@Test(expected = IOException.class)
+	public void testRecordTooLarge() throws Exception {
+		SpillJournal journal = new SpillJournal(dir, 4096, 1024);
+		try {
+			journal.append(new byte[2048]);
+		} finally {
+			journal.close();
+		}
+	}
+}
@@ -23,7 +23,9 @@ import java.util.Map;
 import org.junit.Assert;
 import org.junit.Test;
 
+import com.jkoolcloud.tnt4j.streams.fields.ActivityField;
 import com.jkoolcloud.tnt4j.streams.fields.ActivityInfo;
+import com.jkoolcloud.tnt4j.streams.fields.StreamFieldType;
 
 /**
  * @author akausinis
@@ -62,4 +64,25 @@ public class StreamsCacheTest {
 		Assert.assertArrayEquals((byte[]) StreamsCache.getValue("byteArray"), new byte[] { 2, 2, 2, 2, 2 });
 		Assert.assertTrue(date.compareTo((Date) StreamsCache.getValue("date")) == 0);
 	}
+
+	@Test
+	public void cachePatternsTest() throws Exception {
+		StreamsCache.initialize();
+		StreamsCache.addEntry("eventValue", "${EventName}:${ParserName}", "${Prop}", "none"); // NON-NLS
+
+		ActivityInfo ai = new ActivityInfo();
+		ai.setFieldValue(new ActivityField(StreamFieldType.EventName.name()), "Event1"); // NON-NLS
+		ai.addActivityProperty("Prop", "value1"); // NON-NLS
+		StreamsCache.cacheValues(ai, "Parser1"); // NON-NLS
+
+		ActivityInfo other = new ActivityInfo();
+		other.setFieldValue(new ActivityField(StreamFieldType.EventName.name()), "Event2"); // NON-NLS
+		try {
+			Assert.assertEquals("value1", StreamsCache.getValue(ai, "eventValue", "Parser1")); // NON-NLS
+			Assert.assertEquals("value1", StreamsCache.getValue("Event1:Parser1")); // NON-NLS
+			Assert.assertEquals("none", StreamsCache.getValue(other, "eventValue", "Parser1")); // NON-NLS
+		} finally {
+			StreamsCache.cleanup();
+		}
+	}
 }
\ No newline at end of file
@@ -19,6 +19,8 @@ package com.jkoolcloud.tnt4j.streams.utils;
 import static org.junit.Assert.*;
 
 import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.LinkOption;
 import java.nio.file.NoSuchFileException;
@@ -414,4 +416,20 @@ public class UtilsTest {
 		}
 	}
 
+	@Test
+	public void testGetStringByteBuffer() {
+		byte[] bytes = "headerTEST_PAYLOADtrailer".getBytes(StandardCharsets.UTF_8); // NON-NLS
+		ByteBuffer slice = ByteBuffer.wrap(bytes, 6, 12).slice();
+		assertEquals("TEST_PAYLOAD", Utils.getString(slice)); // NON-NLS
+		assertEquals(0, slice.position());
+
+		ByteBuffer direct = ByteBuffer.allocateDirect(bytes.length);
+		direct.put(bytes).flip().position(6);
+		assertEquals("TEST_PAYLOADtrailer", Utils.toString(direct)); // NON-NLS
+		assertEquals(6, direct.position());
+
+		ByteBuffer json = ByteBuffer.wrap("{\"p\":\"TEST_PAYLOAD\"}".getBytes(StandardCharsets.UTF_8)); // NON-NLS
+		assertEquals("TEST_PAYLOAD", Utils.fromJsonToMap(json, false).get("p")); // NON-NLS
+	}
+
 }
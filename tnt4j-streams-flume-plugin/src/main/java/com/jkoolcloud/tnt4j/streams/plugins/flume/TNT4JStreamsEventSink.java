@@ -16,9 +16,15 @@
 
 package com.jkoolcloud.tnt4j.streams.plugins.flume;
 
+import java.io.BufferedOutputStream;
 import java.io.IOException;
-import java.io.PrintWriter;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
 import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
 
 import org.apache.commons.lang3.StringUtils;
 import org.apache.flume.*;
@@ -26,6 +32,7 @@ import org.apache.flume.conf.Configurable;
 import org.apache.flume.sink.AbstractSink;
 
 import com.google.gson.Gson;
+import com.google.gson.JsonIOException;
 import com.jkoolcloud.tnt4j.core.OpLevel;
 import com.jkoolcloud.tnt4j.sink.EventSink;
 import com.jkoolcloud.tnt4j.streams.StreamsAgent;
@@ -38,6 +45,11 @@ import com.jkoolcloud.tnt4j.streams.utils.Utils;
 
 /**
  * Extends Apache Flume {@link AbstractSink} to deliver output events to jKoolCloud.
+ * <p>
+ * Events are taken from channel in batches: single channel transaction takes up to {@value #PROP_BATCH_SIZE} events,
+ * or as many events as channel has available within {@value #PROP_BATCH_TIMEOUT} milliseconds. Batch events are
+ * serialized as JSON lines directly into buffered socket output stream, flushed once per batch. If batch can't be
+ * written, socket is reopened and batch is resent once, before rolling back channel transaction.
  *
  * @version $Revision: 1 $
  */
@@ -59,49 +71,70 @@ public class TNT4JStreamsEventSink extends AbstractSink implements Configurable
 	 */
 	public static final String PROP_STREAM_CONFIG = "streamConfig"; // NON-NLS
 
+	/**
+	 * Constant for name of built-in sink {@value} property.
+	 */
+	public static final String PROP_BATCH_SIZE = "batchSize"; // NON-NLS
+
+	/**
+	 * Constant for name of built-in sink {@value} property.
+	 */
+	public static final String PROP_BATCH_TIMEOUT = "batchTimeout"; // NON-NLS
+
 	private static final String DEFAULT_HOST = "localhost"; // NON-NLS
 	private static final int DEFAULT_PORT = 9595;
 	private static final String DEFAULT_CONFIG_FILE_NAME = StreamsConfigLoader.DFLT_CFG_FILE_NAME;
+	private static final int DEFAULT_BATCH_SIZE = 100;
+	private static final long DEFAULT_BATCH_TIMEOUT = 1000;
+
+	private static final Gson GSON = new Gson();
 
 	private String hostname;
 	private String streamConfig;
 	private int port;
+	private int batchSize = DEFAULT_BATCH_SIZE;
+	private long batchTimeout = DEFAULT_BATCH_TIMEOUT;
 	private Socket socket;
-	private PrintWriter out;
+	private Writer out;
+
+	private final List<StreamsEvent> batch = new ArrayList<>();
 
 	/**
+	 * Takes batch of events from channel and sends them to TNT4J-Streams over socket.
 	 *
-	 * @return status of event delivery
+	 * @return status of event delivery: {@link org.apache.flume.Sink.Status#BACKOFF} if channel had no events,
+	 *         {@link org.apache.flume.Sink.Status#READY} - otherwise
 	 *
 	 * @throws EventDeliveryException
-	 *             when event can't be delivered
+	 *             when events can't be delivered
 	 */
 	@Override
 	public Status process() throws EventDeliveryException {
 		Status result = Status.READY;
 		Channel channel = getChannel();
 		Transaction transaction = null;
-		Event event;
 
 		try {
-
 			transaction = channel.getTransaction();
 			transaction.begin();
-			event = channel.take();
 
-			if (event != null) {
-				StreamsEvent eventE = new StreamsEvent(event, getName(), channel.getName());
-				Gson gson = new Gson();
-				String jsonEvent = gson.toJson(eventE);
-
-				if (out == null || socket == null || socket.isClosed()) {
-					openSocket();
+			batch.clear();
+			long batchEnd = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(batchTimeout);
+			while (batch.size() < batchSize) {
+				Event event = channel.take();
+				if (event == null) {
+					break;
 				}
+				batch.add(new StreamsEvent(event, getName(), channel.getName()));
+				if (System.nanoTime() - batchEnd >= 0) {
+					break;
+				}
+			}
 
-				out.println(jsonEvent);
-
-				LOGGER.log(OpLevel.DEBUG, StreamsResources.getBundle(FlumeConstants.RESOURCE_BUNDLE_NAME),
-						"TNT4JStreamsEventSink.sending.json", hostname, port, jsonEvent);
+			if (batch.isEmpty()) {
+				result = Status.BACKOFF;
+			} else {
+				sendBatch();
 			}
 			transaction.commit();
 		} catch (Exception ex) {
@@ -120,6 +153,7 @@ public class TNT4JStreamsEventSink extends AbstractSink implements Configurable
 			}
 			throw new EventDeliveryException(errorMsg, ex);
 		} finally {
+			batch.clear();
 			if (transaction != null) {
 				transaction.close();
 			}
@@ -128,12 +162,45 @@ public class TNT4JStreamsEventSink extends AbstractSink implements Configurable
 		return result;
 	}
 
+	private void sendBatch() throws IOException {
+		if (out == null || socket == null || socket.isClosed()) {
+			openSocket();
+		}
+
+		try {
+			writeBatch();
+		} catch (IOException exc) {
+			Utils.logThrowable(LOGGER, OpLevel.WARNING, StreamsResources.getBundle(FlumeConstants.RESOURCE_BUNDLE_NAME),
+					"TNT4JStreamsEventSink.resending.batch", exc);
+			openSocket();
+			writeBatch();
+		}
+
+		if (LOGGER.isSet(OpLevel.DEBUG)) {
+			LOGGER.log(OpLevel.DEBUG, StreamsResources.getBundle(FlumeConstants.RESOURCE_BUNDLE_NAME),
+					"TNT4JStreamsEventSink.sent.batch", batch.size(), hostname, port);
+		}
+	}
+
+	private void writeBatch() throws IOException {
+		try {
+			for (StreamsEvent event : batch) {
+				GSON.toJson(event, out);
+				out.write('\n');
+			}
+			out.flush();
+		} catch (JsonIOException exc) {
+			throw exc.getCause() instanceof IOException ? (IOException) exc.getCause() : new IOException(exc);
+		}
+	}
+
 	private void openSocket() throws IOException {
 		Utils.close(out);
 		Utils.close(socket);
+		out = null;
 
 		socket = new Socket(hostname, port);
-		out = new PrintWriter(socket.getOutputStream(), true);
+		out = new OutputStreamWriter(new BufferedOutputStream(socket.getOutputStream()), StandardCharsets.UTF_8);
 	}
 
 	/**
@@ -188,6 +255,8 @@ public class TNT4JStreamsEventSink extends AbstractSink implements Configurable
 	public void configure(Context context) {
 		hostname = context.getString(PROP_HOST);
 		String portStr = context.getString(PROP_PORT);
+		batchSize = context.getInteger(PROP_BATCH_SIZE, DEFAULT_BATCH_SIZE);
+		batchTimeout = context.getLong(PROP_BATCH_TIMEOUT, DEFAULT_BATCH_TIMEOUT);
 		streamConfig = context.getString(PROP_STREAM_CONFIG);
 
 		if (hostname == null) {
@@ -210,6 +279,12 @@ public class TNT4JStreamsEventSink extends AbstractSink implements Configurable
 			}
 		}
 
+		if (batchSize < 1) {
+			LOGGER.log(OpLevel.WARNING, StreamsResources.getBundle(FlumeConstants.RESOURCE_BUNDLE_NAME),
+					"TNT4JStreamsEventSink.invalid.batch.size", batchSize, DEFAULT_BATCH_SIZE);
+			batchSize = DEFAULT_BATCH_SIZE;
+		}
+
 		if (streamConfig == null) {
 			LOGGER.log(OpLevel.WARNING, StreamsResources.getBundle(FlumeConstants.RESOURCE_BUNDLE_NAME),
 					"TNT4JStreamsEventSink.no.tnt4j.config", DEFAULT_CONFIG_FILE_NAME);
@@ -16,17 +16,21 @@
 
 package com.jkoolcloud.tnt4j.streams.plugins.flume;
 
-import static org.junit.Assert.assertEquals;
-import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.*;
 import static org.mockito.Mockito.*;
 
+import java.io.BufferedReader;
 import java.io.IOException;
+import java.io.InputStreamReader;
 import java.net.ServerSocket;
-
-import org.apache.flume.Channel;
-import org.apache.flume.Context;
-import org.apache.flume.Event;
-import org.apache.flume.Transaction;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.apache.flume.*;
+import org.apache.flume.channel.MemoryChannel;
+import org.apache.flume.conf.Configurables;
+import org.apache.flume.event.EventBuilder;
 import org.junit.Test;
 
 import com.jkoolcloud.tnt4j.streams.utils.FlumeConstants;
@@ -100,6 +104,7 @@ public class TNT4JStreamsEventSinkTest {
 				put(TNT4JStreamsEventSink.PROP_HOST, "localhost"); // NON-NLS
 				put(TNT4JStreamsEventSink.PROP_PORT, String.valueOf(PORT));
 				put(TNT4JStreamsEventSink.PROP_STREAM_CONFIG, "config.xml"); // NON-NLS
+				put(TNT4JStreamsEventSink.PROP_BATCH_SIZE, "1"); // NON-NLS
 			}
 		};
 		flumeSink.configure(context);
@@ -129,6 +134,76 @@ public class TNT4JStreamsEventSinkTest {
 		verify(channelMock).take();
 	}
 
+	@Test(timeout = 30000)
+	public void testProcessBatches() throws Exception {
+		int eventsCount = 2000;
+		int batchSize = 500;
+
+		MemoryChannel channel = new MemoryChannel();
+		channel.setName("memoryChannel"); // NON-NLS
+		Context channelContext = new Context();
+		channelContext.put("capacity", String.valueOf(eventsCount)); // NON-NLS
+		channelContext.put("transactionCapacity", String.valueOf(batchSize)); // NON-NLS
+		Configurables.configure(channel, channelContext);
+		channel.start();
+
+		byte[] body = "127.0.0.1 - - [10/Oct/2023:13:55:36 -0700] \"GET /index.html HTTP/1.1\" 200 2326" // NON-NLS
+				.getBytes(StandardCharsets.UTF_8);
+		for (int i = 0; i < eventsCount; i += batchSize) {
+			Transaction tx = channel.getTransaction();
+			tx.begin();
+			for (int j = 0; j < batchSize; j++) {
+				channel.put(EventBuilder.withBody(body));
+			}
+			tx.commit();
+			tx.close();
+		}
+
+		AtomicLong received = new AtomicLong();
+		try (ServerSocket server = new ServerSocket(0)) {
+			Thread receiverThread = new Thread(() -> {
+				try (Socket s = server.accept();
+						BufferedReader reader = new BufferedReader(
+								new InputStreamReader(s.getInputStream(), StandardCharsets.UTF_8))) {
+					while (reader.readLine() != null) {
+						received.incrementAndGet();
+					}
+				} catch (IOException e) {
+				}
+			});
+			receiverThread.start();
+
+			TNT4JStreamsEventSink flumeSink = new TNT4JStreamsEventSink();
+			Context context = new Context();
+			context.put(TNT4JStreamsEventSink.PROP_HOST, "127.0.0.1"); // NON-NLS
+			context.put(TNT4JStreamsEventSink.PROP_PORT, String.valueOf(server.getLocalPort()));
+			context.put(TNT4JStreamsEventSink.PROP_BATCH_SIZE, String.valueOf(batchSize));
+			context.put(TNT4JStreamsEventSink.PROP_BATCH_TIMEOUT, "1000"); // NON-NLS
+			flumeSink.configure(context);
+			flumeSink.setChannel(channel);
+			flumeSink.start();
+
+			int batches = 0;
+			while (flumeSink.process() == Sink.Status.READY) {
+				batches++;
+			}
+			flumeSink.stop();
+			receiverThread.join();
+
+			assertEquals(eventsCount / batchSize, batches);
+			assertEquals(eventsCount, received.get());
+
+			// all batches are committed, so channel has no more events
+			Transaction tx = channel.getTransaction();
+			tx.begin();
+			assertNull(channel.take());
+			tx.commit();
+			tx.close();
+		} finally {
+			channel.stop();
+		}
+	}
+
 	@Test
 	public void testRB() {
 		String keyModule = "TNT4JStreamsEventSink.streams.starting"; // NON-NLS
@@ -32,4 +32,14 @@ public interface KafkaStreamProperties extends StreamProperties {
 	 * Constant for name of built-in {@value} property.
 	 */
 	String PROP_TOPIC_PATTERN = "TopicPattern"; // NON-NLS
+
+	/**
+	 * Constant for name of built-in {@value} property.
+	 */
+	String PROP_BATCH_RECORDS = "BatchRecords"; // NON-NLS
+
+	/**
+	 * Constant for name of built-in {@value} property.
+	 */
+	String PROP_CONSUMER_THREADS = "ConsumerThreads"; // NON-NLS
 }
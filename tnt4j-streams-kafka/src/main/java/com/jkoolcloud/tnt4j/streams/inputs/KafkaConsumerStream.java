@@ -19,6 +19,7 @@ package com.jkoolcloud.tnt4j.streams.inputs;
 import java.io.IOException;
 import java.time.Duration;
 import java.util.*;
+import java.util.concurrent.TimeUnit;
 import java.util.regex.Pattern;
 
 import org.apache.commons.collections4.CollectionUtils;
@@ -50,6 +51,13 @@ import com.jkoolcloud.tnt4j.streams.utils.*;
  * <li>Offset - defines list of topic offsets (delimited using '|' character) to start consuming messages. Single value
  * applies to all topics. Default value - {@code -1 (from latest)}. (Optional)</li>
  * <li>FileName - Kafka Consumer configuration file ({@code "consumer.properties"}) path. (Optional)</li>
+ * <li>BatchRecords - flag indicating whether to put all records returned by single consumer poll (or single partition
+ * records, when offsets are committed manually) into stream input buffer as one item. Records of such batch are handed
+ * to parsers one by one, but buffer synchronization is performed once per batch. Default value - {@code false}.
+ * (Optional)</li>
+ * <li>ConsumerThreads - number of Kafka consumer threads (each running own consumer instance within same consumer
+ * group) to run within this stream. Kafka group coordinator assigns every consumer own group of topic partitions.
+ * Default value - {@code 1}. (Optional)</li>
  * <li>List of Kafka Consumer configuration properties. See
  * <a href="https://kafka.apache.org/documentation/#consumerconfigs">Kafka Consumer configuration reference</a>.</li>
  * </ul>
@@ -57,13 +65,18 @@ import com.jkoolcloud.tnt4j.streams.utils.*;
  * NOTE: those file defined Kafka consumer properties gets merged with ones defined in stream configuration - user
  * defined properties. So you can take some basic consumer configuration form file and customize it using stream
  * configuration defined properties.
+ * <p>
+ * To avoid record value copying and decoding when consuming, set Kafka Consumer property {@code value.deserializer} to
+ * {@code org.apache.kafka.common.serialization.ByteBufferDeserializer}: it passes record value as
+ * {@link java.nio.ByteBuffer} referring fetched data, and value gets decoded to string/JSON only when parser locators
+ * or stacked parsers need it.
  *
- * @version $Revision: 1 $
+ * @version $Revision: 2 $
  *
  * @see com.jkoolcloud.tnt4j.streams.parsers.ActivityParser#isDataClassSupported(Object)
  * @see com.jkoolcloud.tnt4j.streams.parsers.KafkaConsumerRecordParser
  */
-public class KafkaConsumerStream extends AbstractBufferedStream<ConsumerRecord<?, ?>> {
+public class KafkaConsumerStream extends AbstractBufferedStream<Object> {
 	private static final EventSink LOGGER = LoggerUtils.getLoggerSink(KafkaConsumerStream.class);
 
 	/**
@@ -81,10 +94,12 @@ public class KafkaConsumerStream extends AbstractBufferedStream<ConsumerRecord<?
 	private String offset;
 	private List<Integer> offsets;
 	private String cfgFileName;
+	private boolean batchRecords = false;
+	private int consumerThreads = 1;
 
 	private Map<String, Properties> userKafkaProps = new HashMap<>(3);
 
-	private KafkaDataReceiver kafkaDataReceiver;
+	private List<KafkaDataReceiver> kafkaDataReceivers;
 
 	/**
 	 * Constructs a new KafkaConsumerStream.
@@ -136,6 +151,10 @@ public class KafkaConsumerStream extends AbstractBufferedStream<ConsumerRecord<?
 					offsets.add(tOffst.isEmpty() ? -1 : Integer.parseInt(tOffst));
 				}
 			}
+		} else if (KafkaStreamProperties.PROP_BATCH_RECORDS.equalsIgnoreCase(name)) {
+			batchRecords = Utils.toBoolean(value);
+		} else if (KafkaStreamProperties.PROP_CONSUMER_THREADS.equalsIgnoreCase(name)) {
+			consumerThreads = Integer.parseInt(value);
 		} else if (!StreamsConstants.isStreamCfgProperty(name, KafkaStreamProperties.class)) {
 			addUserKafkaProperty(name, decPassword(value));
 		}
@@ -155,6 +174,12 @@ public class KafkaConsumerStream extends AbstractBufferedStream<ConsumerRecord<?
 		if (StreamProperties.PROP_FILENAME.equalsIgnoreCase(name)) {
 			return cfgFileName;
 		}
+		if (KafkaStreamProperties.PROP_BATCH_RECORDS.equalsIgnoreCase(name)) {
+			return batchRecords;
+		}
+		if (KafkaStreamProperties.PROP_CONSUMER_THREADS.equalsIgnoreCase(name)) {
+			return consumerThreads;
+		}
 
 		Object prop = super.getProperty(name);
 		if (prop == null) {
@@ -292,6 +317,12 @@ public class KafkaConsumerStream extends AbstractBufferedStream<ConsumerRecord<?
 						"KafkaConsumerStream.consumer.cfgFile.load.failed", cfgFileName, exc);
 			}
 		}
+
+		if (consumerThreads < 1) {
+			throw new IllegalArgumentException(StreamsResources.getStringFormatted(
+					StreamsResources.RESOURCE_BUNDLE_NAME, "TNTInputStream.property.illegal",
+					KafkaStreamProperties.PROP_CONSUMER_THREADS, consumerThreads));
+		}
 	}
 
 	@Override
@@ -301,34 +332,109 @@ public class KafkaConsumerStream extends AbstractBufferedStream<ConsumerRecord<?
 		logger().log(OpLevel.DEBUG, StreamsResources.getBundle(KafkaStreamConstants.RESOURCE_BUNDLE_NAME),
 				"KafkaConsumerStream.consumer.starting");
 
-		kafkaDataReceiver = new KafkaDataReceiver();
-		kafkaDataReceiver.initialize(getScopeProps(PROP_SCOPE_CONSUMER), topicNames, topicPattern, offsets);
+		Properties cProperties = getScopeProps(PROP_SCOPE_CONSUMER);
+		String clientId = cProperties.getProperty(ConsumerConfig.CLIENT_ID_CONFIG);
+
+		kafkaDataReceivers = new ArrayList<>(consumerThreads);
+		for (int i = 0; i < consumerThreads; i++) {
+			Properties rProperties = cProperties;
+			if (consumerThreads > 1 && StringUtils.isNotEmpty(clientId)) {
+				// client ids must be unique within JVM to register consumer metrics
+				rProperties = new Properties();
+				rProperties.putAll(cProperties);
+				rProperties.setProperty(ConsumerConfig.CLIENT_ID_CONFIG, clientId + "-" + i); // NON-NLS
+			}
+
+			KafkaDataReceiver kafkaDataReceiver = new KafkaDataReceiver(consumerThreads > 1 ? i : -1);
+			kafkaDataReceiver.initialize(rProperties, topicNames, topicPattern, offsets);
+			kafkaDataReceivers.add(kafkaDataReceiver);
+		}
+	}
+
+	/**
+	 * Creates Kafka consumer instance used by stream data receiver.
+	 *
+	 * @param cProperties
+	 *            Kafka consumer configuration properties
+	 * @return Kafka consumer instance
+	 */
+	protected Consumer<?, ?> createConsumer(Properties cProperties) {
+		return new KafkaConsumer<>(cProperties);
 	}
 
 	@Override
 	protected void start() throws Exception {
 		super.start();
 
-		kafkaDataReceiver.start();
+		for (KafkaDataReceiver kafkaDataReceiver : kafkaDataReceivers) {
+			kafkaDataReceiver.start();
+		}
 
 		logger().log(OpLevel.DEBUG, StreamsResources.getBundle(StreamsResources.RESOURCE_BUNDLE_NAME),
 				"TNTInputStream.stream.start", getClass().getSimpleName(), getName());
 	}
 
+	/**
+	 * {@inheritDoc}
+	 * <p>
+	 * If input buffer item is records batch, next record of that batch is returned.
+	 */
+	@Override
+	public Object getNextItem() throws Exception {
+		Object item = super.getNextItem();
+
+		return item instanceof RecordsBatch ? ((RecordsBatch) item).next() : item;
+	}
+
+	@Override
+	protected boolean isItemConsumed(Object item) {
+		return !(item instanceof RecordsBatch) || !((RecordsBatch) item).hasNext();
+	}
+
+	/**
+	 * {@inheritDoc}
+	 * <p>
+	 * Not yet consumed records of current records batch are treated as buffered input.
+	 */
+	@Override
+	protected boolean isBufferEmpty() {
+		return super.isBufferEmpty() && isItemConsumed(getCurrentItem());
+	}
+
 	@Override
-	protected long getActivityItemByteSize(ConsumerRecord<?, ?> activityItem) {
-		return Math.max(activityItem.serializedKeySize(), 0) + Math.max(activityItem.serializedValueSize(), 0);
+	protected boolean initItemForParsing(Object item) {
+		return !(item instanceof RecordsBatch) || ((RecordsBatch) item).hasNext();
+	}
+
+	@Override
+	protected long getActivityItemByteSize(Object activityItem) {
+		if (activityItem instanceof RecordsBatch) {
+			return ((RecordsBatch) activityItem).byteSize;
+		}
+
+		return getRecordByteSize((ConsumerRecord<?, ?>) activityItem);
+	}
+
+	private static long getRecordByteSize(ConsumerRecord<?, ?> record) {
+		return Math.max(record.serializedKeySize(), 0) + Math.max(record.serializedValueSize(), 0);
 	}
 
 	@Override
 	public boolean isInputEnded() {
-		return kafkaDataReceiver.isInputEnded();
+		for (KafkaDataReceiver kafkaDataReceiver : kafkaDataReceivers) {
+			if (!kafkaDataReceiver.isInputEnded()) {
+				return false;
+			}
+		}
+		return true;
 	}
 
 	@Override
 	protected void cleanup() {
-		if (kafkaDataReceiver != null) {
-			kafkaDataReceiver.shutdown();
+		if (kafkaDataReceivers != null) {
+			for (KafkaDataReceiver kafkaDataReceiver : kafkaDataReceivers) {
+				kafkaDataReceiver.shutdown();
+			}
 		}
 
 		userKafkaProps.clear();
@@ -345,9 +451,10 @@ public class KafkaConsumerStream extends AbstractBufferedStream<ConsumerRecord<?
 		private boolean autoCommit = true;
 
 		private final Object closeLock = new Object();
+		private boolean closed = false;
 
-		private KafkaDataReceiver() {
-			super("KafkaConsumerStream.KafkaDataReceiver"); // NON-NLS
+		private KafkaDataReceiver(int index) {
+			super("KafkaConsumerStream.KafkaDataReceiver" + (index < 0 ? "" : "-" + index)); // NON-NLS
 		}
 
 		/**
@@ -368,7 +475,7 @@ public class KafkaConsumerStream extends AbstractBufferedStream<ConsumerRecord<?
 			topicOffsets = (List<Integer>) params[3];
 
 			autoCommit = Utils.getBoolean(ConsumerConfig.ENABLE_AUTO_COMMIT_CONFIG, cProperties, true);
-			consumer = new KafkaConsumer<>(cProperties);
+			consumer = createConsumer(cProperties);
 		}
 
 		/**
@@ -403,6 +510,9 @@ public class KafkaConsumerStream extends AbstractBufferedStream<ConsumerRecord<?
 
 					while (!isHalted()) {
 						ConsumerRecords<?, ?> records = consumer.poll(Duration.ofMillis(Long.MAX_VALUE));
+						if (records.isEmpty()) {
+							continue;
+						}
 						if (autoCommit) {
 							addRecordsToBuffer(records);
 						} else {
@@ -422,6 +532,7 @@ public class KafkaConsumerStream extends AbstractBufferedStream<ConsumerRecord<?
 				} finally {
 					consumer.close();
 					synchronized (closeLock) {
+						closed = true;
 						closeLock.notifyAll();
 					}
 				}
@@ -429,20 +540,29 @@ public class KafkaConsumerStream extends AbstractBufferedStream<ConsumerRecord<?
 		}
 
 		/**
-		 * Adds consumer records from provided {@code records} collection to stream input buffer.
+		 * Adds consumer records from provided {@code records} collection to stream input buffer. If stream property
+		 * {@code 'BatchRecords'} is set to {@code true}, whole collection is added as single buffer item.
 		 *
 		 * @param records
 		 *            records collection to add to stream input buffer
 		 *
-		 * @see #addInputToBuffer(ConsumerRecord)
+		 * @see #addInputToBuffer(Object)
 		 */
 		protected void addRecordsToBuffer(Iterable<? extends ConsumerRecord<?, ?>> records) {
-			for (ConsumerRecord<?, ?> record : records) {
-				String msgData = Utils.toString(record.value());
-				logger().log(OpLevel.DEBUG, StreamsResources.getBundle(KafkaStreamConstants.RESOURCE_BUNDLE_NAME),
-						"KafkaConsumerStream.next.message", msgData);
+			boolean debug = logger().isSet(OpLevel.DEBUG);
+			if (debug) {
+				for (ConsumerRecord<?, ?> record : records) {
+					logger().log(OpLevel.DEBUG, StreamsResources.getBundle(KafkaStreamConstants.RESOURCE_BUNDLE_NAME),
+							"KafkaConsumerStream.next.message", Utils.toString(record.value()));
+				}
+			}
 
-				addInputToBuffer(record);
+			if (batchRecords) {
+				addInputToBuffer(new RecordsBatch(records));
+			} else {
+				for (ConsumerRecord<?, ?> record : records) {
+					addInputToBuffer(record);
+				}
 			}
 		}
 
@@ -455,11 +575,39 @@ public class KafkaConsumerStream extends AbstractBufferedStream<ConsumerRecord<?
 				consumer.wakeup();
 				synchronized (closeLock) {
 					try {
-						closeLock.wait();
+						while (!closed && isAlive()) {
+							closeLock.wait(TimeUnit.SECONDS.toMillis(1));
+						}
 					} catch (InterruptedException e) {
 					}
 				}
 			}
 		}
 	}
+
+	/**
+	 * Batch of Kafka consumer records added into stream input buffer as single item. Batch records are handed to
+	 * parsers one by one, by the same stream thread that has taken batch from the buffer.
+	 */
+	private static class RecordsBatch {
+		private final Iterator<? extends ConsumerRecord<?, ?>> records;
+		private final long byteSize;
+
+		private RecordsBatch(Iterable<? extends ConsumerRecord<?, ?>> records) {
+			long size = 0;
+			for (ConsumerRecord<?, ?> record : records) {
+				size += getRecordByteSize(record);
+			}
+			this.byteSize = size;
+			this.records = records.iterator();
+		}
+
+		private boolean hasNext() {
+			return records.hasNext();
+		}
+
+		private ConsumerRecord<?, ?> next() {
+			return records.next();
+		}
+	}
 }
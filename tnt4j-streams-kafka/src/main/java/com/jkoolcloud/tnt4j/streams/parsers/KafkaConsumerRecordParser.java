@@ -16,6 +16,7 @@
 
 package com.jkoolcloud.tnt4j.streams.parsers;
 
+import java.nio.ByteBuffer;
 import java.text.ParseException;
 import java.util.EnumSet;
 import java.util.concurrent.atomic.AtomicBoolean;
@@ -55,6 +56,12 @@ import com.jkoolcloud.tnt4j.streams.utils.*;
  * locator path string. Locator path string may be used resolving particular {@code headers} collection contained value:
  * path element should define header key or index.
  * <p>
+ * If {@code key} or {@code value} is binary data ({@link java.nio.ByteBuffer} or {@code byte[]}, e.g. produced by
+ * {@code org.apache.kafka.common.serialization.ByteBufferDeserializer}), it is passed as is when locator path has no
+ * more elements, so decoding is left for field value formatting or stacked parser. When locator path has more elements,
+ * binary data is decoded as JSON document once per parsed record, and path elements define JSON map keys or list
+ * indices.
+ * <p>
  * This activity parser supports configuration properties from {@link GenericActivityParser} (and higher hierarchy
  * parsers).
  * <p>
@@ -75,6 +82,9 @@ import com.jkoolcloud.tnt4j.streams.utils.*;
 public class KafkaConsumerRecordParser extends GenericActivityParser<ConsumerRecord<Object, Object>> {
 	private static final EventSink LOGGER = LoggerUtils.getLoggerSink(KafkaConsumerRecordParser.class);
 
+	private static final String CTX_DECODED_KEY = "CTX_KAFKA_DECODED_KEY"; // NON-NLS
+	private static final String CTX_DECODED_VALUE = "CTX_KAFKA_DECODED_VALUE"; // NON-NLS
+
 	/**
 	 * Constructs a new KafkaConsumerRecordParser.
 	 */
@@ -130,7 +140,7 @@ public class KafkaConsumerRecordParser extends GenericActivityParser<ConsumerRec
 		String[] valPath = (String[]) getPreparedLocator(locStr,
 				k -> Utils.getNodePath(k, StreamsConstants.DEFAULT_PATH_DELIM));
 		try {
-			val = getRecordValue(valPath, cData.getData(), 0);
+			val = getRecordValue(valPath, cData.getData(), 0, cData);
 		} catch (Exception exc) {
 			Utils.logThrowable(LOGGER, OpLevel.WARNING,
 					StreamsResources.getBundle(KafkaStreamConstants.RESOURCE_BUNDLE_NAME),
@@ -161,6 +171,32 @@ public class KafkaConsumerRecordParser extends GenericActivityParser<ConsumerRec
 	 * @see Utils#getFieldValue(String[], Object, int)
 	 */
 	protected Object getRecordValue(String[] path, ConsumerRecord<?, ?> cRecord, int i) throws RuntimeException {
+		return getRecordValue(path, cRecord, i, null);
+	}
+
+	/**
+	 * Resolves {@link org.apache.kafka.clients.consumer.ConsumerRecord} instance field value defined by {@code cRecord}
+	 * fields names {@code path} array.
+	 * <p>
+	 * Binary {@code key} and {@code value} data decoded to JSON map is cached in provided activity context, so it is
+	 * decoded once for all record field locators.
+	 *
+	 * @param path
+	 *            fields path as array of consumer record field names
+	 * @param cRecord
+	 *            consumer record instance to resolve value
+	 * @param i
+	 *            processed locator path element index
+	 * @param cData
+	 *            parsing context data package to cache decoded record data, can be {@code null}
+	 * @return resolved consumer record value, or {@code null} if value is not resolved
+	 * @throws java.lang.RuntimeException
+	 *             if field can't be found or accessed
+	 *
+	 * @see #getPayloadValue(String[], Object, int, ActivityContext, String)
+	 */
+	protected Object getRecordValue(String[] path, ConsumerRecord<?, ?> cRecord, int i, ActivityContext cData)
+			throws RuntimeException {
 		if (ArrayUtils.isEmpty(path) || cRecord == null) {
 			return null;
 		}
@@ -185,9 +221,9 @@ public class KafkaConsumerRecordParser extends GenericActivityParser<ConsumerRec
 		} else if ("headers".equalsIgnoreCase(propStr)) { // NON-NLS
 			val = KafkaUtils.getHeaders(path, cRecord.headers(), i);
 		} else if ("key".equalsIgnoreCase(propStr)) { // NON-NLS
-			val = Utils.getFieldValue(path, cRecord.key(), i + 1);
+			val = getPayloadValue(path, cRecord.key(), i + 1, cData, CTX_DECODED_KEY);
 		} else if ("value".equalsIgnoreCase(propStr)) { // NON-NLS
-			val = Utils.getFieldValue(path, cRecord.value(), i + 1);
+			val = getPayloadValue(path, cRecord.value(), i + 1, cData, CTX_DECODED_VALUE);
 		} else if ("leaderEpoch".equalsIgnoreCase(propStr)) { // NON-NLS
 			val = Utils.getFieldValue(path, cRecord.leaderEpoch().orElse(null), i + 1);
 		}
@@ -195,6 +231,48 @@ public class KafkaConsumerRecordParser extends GenericActivityParser<ConsumerRec
 		return val;
 	}
 
+	/**
+	 * Resolves consumer record {@code key} or {@code value} contained value defined by {@code path} array.
+	 * <p>
+	 * Binary payload ({@link java.nio.ByteBuffer} or {@code byte[]}) is returned as is if {@code path} has no more
+	 * elements. Otherwise, it is decoded as JSON document into map and value is resolved by map keys path.
+	 * <p>
+	 * Other payload types are treated as Java objects (POJO) and path elements define class field names.
+	 *
+	 * @param path
+	 *            fields path as array of consumer record field names
+	 * @param payload
+	 *            consumer record key or value
+	 * @param i
+	 *            processed locator path element index
+	 * @param cData
+	 *            parsing context data package to cache decoded payload, can be {@code null}
+	 * @param ctxKey
+	 *            context key to cache decoded payload
+	 * @return resolved payload value, or {@code null} if value is not resolved
+	 * @throws java.lang.RuntimeException
+	 *             if field can't be found or accessed, or payload is not valid JSON document
+	 *
+	 * @see Utils#fromJsonToMap(Object, boolean)
+	 * @see Utils#getMapValueByPath(String[], Object, int, java.util.Set)
+	 * @see Utils#getFieldValue(String[], Object, int)
+	 */
+	protected Object getPayloadValue(String[] path, Object payload, int i, ActivityContext cData, String ctxKey)
+			throws RuntimeException {
+		if (i < path.length && (payload instanceof ByteBuffer || payload instanceof byte[])) {
+			Object decoded = cData == null ? null : cData.get(ctxKey);
+			if (decoded == null) {
+				decoded = Utils.fromJsonToMap(payload, false);
+				if (cData != null) {
+					cData.put(ctxKey, decoded);
+				}
+			}
+			return Utils.getMapValueByPath(path, decoded, i, null);
+		}
+
+		return Utils.getFieldValue(path, payload, i);
+	}
+
 	@SuppressWarnings("deprecation")
 	private static final EnumSet<ActivityFieldLocatorType> UNSUPPORTED_LOCATOR_TYPES = EnumSet
 			.of(ActivityFieldLocatorType.Index, ActivityFieldLocatorType.Range, ActivityFieldLocatorType.REMatchId);
@@ -22,12 +22,14 @@ import org.junit.runners.Suite;
 import com.jkoolcloud.tnt4j.streams.configure.sax.ConfigParserHandlerTest;
 import com.jkoolcloud.tnt4j.streams.custom.interceptors.kafka.AllKafkaInterceptorsTests;
 import com.jkoolcloud.tnt4j.streams.inputs.AllInputsTests;
+import com.jkoolcloud.tnt4j.streams.parsers.KafkaConsumerRecordParserTest;
 
 /**
  * @author akausinis
  * @version 1.0
  */
 @RunWith(Suite.class)
-@Suite.SuiteClasses({ ConfigParserHandlerTest.class, AllInputsTests.class, AllKafkaInterceptorsTests.class })
+@Suite.SuiteClasses({ ConfigParserHandlerTest.class, AllInputsTests.class, AllKafkaInterceptorsTests.class,
+		KafkaConsumerRecordParserTest.class })
 public class AllKafkaStreamTests {
 }
@@ -17,21 +17,20 @@
 package com.jkoolcloud.tnt4j.streams.inputs;
 
 import static com.jkoolcloud.tnt4j.streams.TestUtils.testPropertyList;
-import static org.junit.Assert.assertEquals;
-import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.*;
 
 import java.time.Duration;
 import java.util.*;
 
-import org.apache.kafka.clients.consumer.ConsumerRecord;
-import org.apache.kafka.clients.consumer.ConsumerRecords;
-import org.apache.kafka.clients.consumer.KafkaConsumer;
+import org.apache.kafka.clients.consumer.*;
 import org.apache.kafka.clients.producer.KafkaProducer;
 import org.apache.kafka.clients.producer.ProducerConfig;
 import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.common.TopicPartition;
 import org.junit.Ignore;
 import org.junit.Test;
 
+import com.jkoolcloud.tnt4j.streams.configure.KafkaStreamProperties;
 import com.jkoolcloud.tnt4j.streams.configure.StreamProperties;
 import com.jkoolcloud.tnt4j.streams.utils.KafkaStreamConstants;
 import com.jkoolcloud.tnt4j.streams.utils.StreamsResources;
@@ -57,6 +56,55 @@ public class KafkaConsumerStreamTest {
 		testPropertyList(input, props.entrySet());
 	}
 
+	@Test
+	public void testBatchProperties() {
+		input = new KafkaConsumerStream();
+
+		Map<String, String> props = new HashMap<>(4);
+		props.put(StreamProperties.PROP_TOPIC_NAME, DEFAULT_TEST_TOPIC);
+		props.put(KafkaStreamProperties.PROP_BATCH_RECORDS, "true"); // NON-NLS
+		props.put(KafkaStreamProperties.PROP_CONSUMER_THREADS, "3"); // NON-NLS
+		props.put("value.deserializer", "org.apache.kafka.common.serialization.ByteBufferDeserializer"); // NON-NLS
+		input.setProperties(props.entrySet());
+		testPropertyList(input, props.entrySet());
+	}
+
+	@Test
+	public void testBatchRecordsIteration() throws Exception {
+		MockConsumer<String, String> consumer = new MockConsumer<>(OffsetResetStrategy.EARLIEST);
+		TopicPartition tp = new TopicPartition(DEFAULT_TEST_TOPIC, 0);
+		consumer.updateBeginningOffsets(Collections.singletonMap(tp, 0L));
+		consumer.schedulePollTask(() -> {
+			consumer.rebalance(Collections.singletonList(tp));
+			for (int i = 0; i < 3; i++) {
+				consumer.addRecord(new ConsumerRecord<>(DEFAULT_TEST_TOPIC, 0, i, "key" + i, "value" + i)); // NON-NLS
+			}
+		});
+
+		TestKafkaConsumerStream stream = new TestKafkaConsumerStream(consumer);
+		Map<String, String> props = new HashMap<>(2);
+		props.put(StreamProperties.PROP_TOPIC_NAME, DEFAULT_TEST_TOPIC);
+		props.put(KafkaStreamProperties.PROP_BATCH_RECORDS, "true"); // NON-NLS
+		stream.setProperties(props.entrySet());
+		try {
+			stream.startStream();
+
+			ConsumerRecord<?, ?> record = (ConsumerRecord<?, ?>) stream.getNextItem();
+			assertEquals("value0", record.value()); // NON-NLS
+
+			// whole batch is taken from buffer, but its remainder must be returned even when input has ended
+			stream.inputEnded = true;
+			record = (ConsumerRecord<?, ?>) stream.getNextItem();
+			assertEquals("value1", record.value()); // NON-NLS
+			assertEquals(1, record.offset());
+			record = (ConsumerRecord<?, ?>) stream.getNextItem();
+			assertEquals("value2", record.value()); // NON-NLS
+			assertNull(stream.getNextItem());
+		} finally {
+			stream.cleanup();
+		}
+	}
+
 	@Test(expected = Exception.class)
 	public void testInitialize() throws Exception {
 		testProperties();
@@ -134,4 +182,24 @@ public class KafkaConsumerStreamTest {
 		consumer.wakeup();
 		consumer.close();
 	}
+
+	private static class TestKafkaConsumerStream extends KafkaConsumerStream {
+		private final Consumer<?, ?> consumer;
+		private volatile boolean inputEnded = false;
+
+		TestKafkaConsumerStream(Consumer<?, ?> consumer) {
+			this.consumer = consumer;
+			setName("KafkaConsumerStreamTest"); // NON-NLS
+		}
+
+		@Override
+		protected Consumer<?, ?> createConsumer(Properties cProperties) {
+			return consumer;
+		}
+
+		@Override
+		public boolean isInputEnded() {
+			return inputEnded;
+		}
+	}
 }
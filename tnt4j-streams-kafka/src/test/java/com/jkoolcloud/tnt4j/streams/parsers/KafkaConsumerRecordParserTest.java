@@ -0,0 +1,91 @@
+/*
+ * Copyright 2014-2023 JKOOL, LLC.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.jkoolcloud.tnt4j.streams.parsers;
+
+import static org.junit.Assert.*;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.junit.Test;
+
+/**
+ * @author akausinis
+ * @version 1.0
+ */
+public class KafkaConsumerRecordParserTest {
+
+	private static final String JSON_VALUE = "{\"user\":{\"name\":\"John\",\"age\":33},\"status\":\"OK\"}"; // NON-NLS
+
+	@Test
+	public void testByteBufferValueReturnedAsIs() {
+		KafkaConsumerRecordParser parser = new KafkaConsumerRecordParser();
+		ByteBuffer value = toBuffer(JSON_VALUE);
+		ConsumerRecord<Object, Object> record = makeRecord(value);
+
+		assertSame(value, parser.getRecordValue(new String[] { "value" }, record, 0, null)); // NON-NLS
+		assertEquals("TestTopic", parser.getRecordValue(new String[] { "topic" }, record, 0, null)); // NON-NLS
+	}
+
+	@Test
+	public void testByteBufferValueJsonPath() {
+		KafkaConsumerRecordParser parser = new KafkaConsumerRecordParser();
+		ByteBuffer value = toBuffer(JSON_VALUE);
+		ConsumerRecord<Object, Object> record = makeRecord(value);
+
+		assertEquals("John", parser.getRecordValue(new String[] { "value", "user", "name" }, record, 0, null)); // NON-NLS
+		assertEquals("OK", parser.getRecordValue(new String[] { "value", "status" }, record, 0, null)); // NON-NLS
+		// decoding does not consume buffer
+		assertEquals(JSON_VALUE.length(), value.remaining());
+
+		record = new ConsumerRecord<>("TestTopic", 0, 0, JSON_VALUE.getBytes(StandardCharsets.UTF_8), null); // NON-NLS
+		assertEquals("OK", parser.getRecordValue(new String[] { "key", "status" }, record, 0, null)); // NON-NLS
+	}
+
+	@Test
+	public void testDecodedPayloadCachedInContext() {
+		KafkaConsumerRecordParser parser = new KafkaConsumerRecordParser();
+		ConsumerRecord<Object, Object> record = makeRecord(toBuffer(JSON_VALUE));
+		GenericActivityParser<ConsumerRecord<Object, Object>>.ActivityContext cData = parser.new ActivityContext(null,
+				null, record);
+
+		assertEquals("John", parser.getRecordValue(new String[] { "value", "user", "name" }, record, 0, cData)); // NON-NLS
+		int ctxSize = cData.size();
+		Map<?, ?> decoded = null;
+		for (Object ctxValue : cData.values()) {
+			if (ctxValue instanceof Map) {
+				decoded = (Map<?, ?>) ctxValue;
+			}
+		}
+		assertNotNull(decoded);
+
+		// next locators of same record reuse decoded payload
+		assertEquals("OK", parser.getRecordValue(new String[] { "value", "status" }, record, 0, cData)); // NON-NLS
+		assertEquals(ctxSize, cData.size());
+		assertTrue(cData.containsValue(decoded));
+	}
+
+	private static ConsumerRecord<Object, Object> makeRecord(Object value) {
+		return new ConsumerRecord<>("TestTopic", 0, 0, null, value); // NON-NLS
+	}
+
+	private static ByteBuffer toBuffer(String str) {
+		return ByteBuffer.wrap(str.getBytes(StandardCharsets.UTF_8));
+	}
+}
@@ -17,14 +17,16 @@
 package com.jkoolcloud.tnt4j.streams.inputs;
 
 import java.io.InputStream;
+import java.io.Serializable;
 import java.nio.file.Files;
 import java.nio.file.Paths;
 import java.security.KeyStore;
 import java.security.SecureRandom;
-import java.util.HashMap;
-import java.util.Map;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 import javax.net.ssl.SSLContext;
+import javax.net.ssl.SSLSocketFactory;
 import javax.net.ssl.TrustManagerFactory;
 
 import org.apache.commons.lang3.ArrayUtils;
@@ -34,6 +36,7 @@ import org.eclipse.paho.client.mqttv3.persist.MemoryPersistence;
 
 import com.jkoolcloud.tnt4j.core.OpLevel;
 import com.jkoolcloud.tnt4j.sink.EventSink;
+import com.jkoolcloud.tnt4j.streams.configure.MqttStreamProperties;
 import com.jkoolcloud.tnt4j.streams.configure.StreamProperties;
 import com.jkoolcloud.tnt4j.streams.parsers.ActivityMapParser;
 import com.jkoolcloud.tnt4j.streams.parsers.ActivityParser;
@@ -45,7 +48,7 @@ import com.jkoolcloud.tnt4j.streams.utils.*;
  * configuration.
  * <p>
  * This activity stream requires parsers that can support {@link Map} data. On message reception message data is packed
- * into {@link Map} filling these entries:
+ * into immutable {@link Map} having these entries:
  * <ul>
  * <li>ActivityTopic - topic name message with activity data was received.</li>
  * <li>ActivityData - raw activity data as {@code byte[]} retrieved from message.</li>
@@ -56,6 +59,15 @@ import com.jkoolcloud.tnt4j.streams.utils.*;
  * <li>Retained - message is retained flag value.</li>
  * </ul>
  * <p>
+ * Stream can run multiple MQTT clients in parallel. When more than one client is used, topic is subscribed as shared
+ * subscription {@code $share/<ShareGroup>/<TopicString>}, so broker distributes messages among stream clients.
+ * <p>
+ * When manual acknowledgements are enabled, received QoS 1 and 2 messages are acknowledged to broker only after
+ * stream completes processing of message activity item. Messages left unprocessed in stream input buffer on stream
+ * stop are not acknowledged, so broker redelivers them for persistent sessions. Messages spilled into spill journal
+ * (when {@code FullBufferAddPolicy} is {@code SPILL}) are acknowledged once written to journal, since journal takes
+ * over their delivery.
+ * <p>
  * This activity stream supports the following configuration properties (in addition to those supported by
  * {@link AbstractBufferedStream}):
  * <ul>
@@ -66,9 +78,16 @@ import com.jkoolcloud.tnt4j.streams.utils.*;
  * <li>UseSSL - flag indicating to use SSL. (Optional)</li>
  * <li>Keystore - keystore path. (Optional)</li>
  * <li>KeystorePass - keystore password. (Optional)</li>
+ * <li>ClientCount - number of MQTT clients subscribing topic in parallel. Default value - {@code 1}. (Optional)</li>
+ * <li>ShareGroup - shared subscription group name. Default value - stream name, when {@code ClientCount} is greater
+ * than {@code 1}. (Optional)</li>
+ * <li>Qos - topic subscription maximal Quality of Service: {@code 0}, {@code 1} or {@code 2}. Default value -
+ * {@code 1}. (Optional)</li>
+ * <li>ManualAcks - flag indicating to acknowledge received messages only after stream processes them. Default value -
+ * {@code false}. (Optional)</li>
  * </ul>
  *
- * @version $Revision: 1 $
+ * @version $Revision: 3 $
  *
  * @see ActivityParser#isDataClassSupported(Object)
  * @see ActivityMapParser
@@ -80,6 +99,7 @@ public class MqttStream extends AbstractBufferedStream<Map<String, ?>> {
 
 	private static final String SSL_PROTOCOL = "TLS"; // NON-NLS
 	private static final String KEYSTORE_TYPE = KeyStore.getDefaultType();
+	private static final String SHARE_PREFIX = "$share/"; // NON-NLS
 
 	// Stream properties
 	private String serverURI = null;
@@ -89,6 +109,10 @@ public class MqttStream extends AbstractBufferedStream<Map<String, ?>> {
 	private boolean useSSL = false;
 	private String keystore = null;
 	private String keystorePass = null;
+	private int clientCount = 1;
+	private String shareGroup = null;
+	private int qos = 1;
+	private boolean manualAcks = false;
 
 	private MqttDataReceiver mqttDataReceiver;
 
@@ -122,6 +146,14 @@ public class MqttStream extends AbstractBufferedStream<Map<String, ?>> {
 			keystore = value;
 		} else if (StreamProperties.PROP_KEYSTORE_PASS.equalsIgnoreCase(name)) {
 			keystorePass = decPassword(value);
+		} else if (MqttStreamProperties.PROP_CLIENT_COUNT.equalsIgnoreCase(name)) {
+			clientCount = Math.max(1, Integer.parseInt(value));
+		} else if (MqttStreamProperties.PROP_SHARE_GROUP.equalsIgnoreCase(name)) {
+			shareGroup = value;
+		} else if (MqttStreamProperties.PROP_QOS.equalsIgnoreCase(name)) {
+			qos = Integer.parseInt(value);
+		} else if (MqttStreamProperties.PROP_MANUAL_ACKS.equalsIgnoreCase(name)) {
+			manualAcks = Utils.toBoolean(value);
 		}
 	}
 
@@ -148,6 +180,18 @@ public class MqttStream extends AbstractBufferedStream<Map<String, ?>> {
 		if (StreamProperties.PROP_KEYSTORE_PASS.equalsIgnoreCase(name)) {
 			return encPassword(keystorePass);
 		}
+		if (MqttStreamProperties.PROP_CLIENT_COUNT.equalsIgnoreCase(name)) {
+			return clientCount;
+		}
+		if (MqttStreamProperties.PROP_SHARE_GROUP.equalsIgnoreCase(name)) {
+			return shareGroup;
+		}
+		if (MqttStreamProperties.PROP_QOS.equalsIgnoreCase(name)) {
+			return qos;
+		}
+		if (MqttStreamProperties.PROP_MANUAL_ACKS.equalsIgnoreCase(name)) {
+			return manualAcks;
+		}
 
 		return super.getProperty(name);
 	}
@@ -168,6 +212,25 @@ public class MqttStream extends AbstractBufferedStream<Map<String, ?>> {
 			// naming.
 			topic = topic.replaceAll("^/+", "").replaceAll("/+$", ""); // NON-NLS
 		}
+		if (qos < 0 || qos > 2) {
+			throw new IllegalStateException(StreamsResources.getStringFormatted(MqttStreamConstants.RESOURCE_BUNDLE_NAME,
+					"MqttStream.invalid.qos", qos));
+		}
+	}
+
+	/**
+	 * Returns topic filter used to subscribe stream clients. When stream runs more than one client or share group is
+	 * defined, shared subscription topic filter {@code $share/<group>/<topic>} is returned.
+	 *
+	 * @return topic filter to subscribe
+	 */
+	protected String getSubscriptionTopic() {
+		if (topic.startsWith(SHARE_PREFIX)) {
+			return topic;
+		}
+		String group = StringUtils.isEmpty(shareGroup) && clientCount > 1 ? getName() : shareGroup;
+
+		return StringUtils.isEmpty(group) ? topic : SHARE_PREFIX + group + "/" + topic; // NON-NLS
 	}
 
 	@Override
@@ -204,38 +267,66 @@ public class MqttStream extends AbstractBufferedStream<Map<String, ?>> {
 
 	@Override
 	protected long getActivityItemByteSize(Map<String, ?> itemMap) {
+		if (itemMap instanceof MqttMessageRecord) {
+			return ((MqttMessageRecord) itemMap).payload.length;
+		}
 		byte[] payload = (byte[]) itemMap.get(StreamsConstants.ACTIVITY_DATA_KEY);
 
 		return payload == null ? 0 : payload.length;
 	}
 
 	/**
-	 * Mqtt messages receiver thread. It implements {@link MqttCallback} interface and initiates Mqtt client to receive
-	 * and handle Mqtt messages data.
+	 * {@inheritDoc}
+	 * <p>
+	 * If manual acknowledgements are enabled, acknowledges message to broker after item processing completes.
+	 */
+	@Override
+	protected void processActivityItem(Map<String, ?> item, AtomicBoolean failureFlag) throws Exception {
+		try {
+			super.processActivityItem(item, failureFlag);
+		} finally {
+			if (manualAcks && item instanceof MqttMessageRecord) {
+				((MqttMessageRecord) item).acknowledge();
+			}
+		}
+	}
+
+	/**
+	 * {@inheritDoc}
+	 * <p>
+	 * If manual acknowledgements are enabled, acknowledges spilled message to broker.
+	 */
+	@Override
+	protected void itemSpilled(Map<String, ?> item) {
+		if (manualAcks && item instanceof MqttMessageRecord) {
+			((MqttMessageRecord) item).acknowledge();
+		}
+	}
+
+	/**
+	 * Mqtt messages receiver thread. It initiates configured number of Mqtt clients to receive and handle Mqtt messages
+	 * data.
 	 */
-	private class MqttDataReceiver extends InputProcessor implements MqttCallback {
+	private class MqttDataReceiver extends InputProcessor {
 
 		private MqttConnectOptions options;
-		private MqttClient client;
+		private final List<MqttClientHandler> handlers = new ArrayList<>();
 
 		private MqttDataReceiver() {
 			super("MqttStream.MqttDataReceiver"); // NON-NLS
 		}
 
 		/**
-		 * Input data receiver initialization - Mqtt client configuration.
+		 * Input data receiver initialization - Mqtt clients configuration.
 		 *
 		 * @param params
 		 *            initialization parameters array
 		 *
 		 * @throws Exception
-		 *             if fails to initialize Mqtt data receiver and configure Mqtt client
+		 *             if fails to initialize Mqtt data receiver and configure Mqtt clients
 		 */
 		@Override
 		protected void initialize(Object... params) throws Exception {
-			client = new MqttClient(serverURI, MqttClient.generateClientId(), new MemoryPersistence());
-			client.setCallback(this);
-
 			options = new MqttConnectOptions();
 			if (StringUtils.isNotEmpty(userName)) {
 				options.setUserName(userName);
@@ -243,121 +334,282 @@ public class MqttStream extends AbstractBufferedStream<Map<String, ?>> {
 			}
 
 			if (useSSL) {
-				SSLContext sslContext = SSLContext.getInstance(SSL_PROTOCOL);
-				KeyStore keyStore = KeyStore.getInstance(KEYSTORE_TYPE);
+				options.setSocketFactory(createSocketFactory());
+			}
 
-				try (InputStream fis = Files.newInputStream(Paths.get(keystore))) {
-					keyStore.load(fis, keystorePass.toCharArray());
-				}
+			for (int i = 0; i < clientCount; i++) {
+				MqttClientHandler handler = new MqttClientHandler();
+				handler.createClient();
+				handlers.add(handler);
+			}
+		}
 
-				TrustManagerFactory trustManagerFactory = TrustManagerFactory
-						.getInstance(TrustManagerFactory.getDefaultAlgorithm());
-				trustManagerFactory.init(keyStore);
-				sslContext.init(null, trustManagerFactory.getTrustManagers(), new SecureRandom());
+		private SSLSocketFactory createSocketFactory() throws Exception {
+			SSLContext sslContext = SSLContext.getInstance(SSL_PROTOCOL);
+			KeyStore keyStore = KeyStore.getInstance(KEYSTORE_TYPE);
 
-				options.setSocketFactory(sslContext.getSocketFactory());
+			try (InputStream fis = Files.newInputStream(Paths.get(keystore))) {
+				keyStore.load(fis, keystorePass.toCharArray());
 			}
+
+			TrustManagerFactory trustManagerFactory = TrustManagerFactory
+					.getInstance(TrustManagerFactory.getDefaultAlgorithm());
+			trustManagerFactory.init(keyStore);
+			sslContext.init(null, trustManagerFactory.getTrustManagers(), new SecureRandom());
+
+			return sslContext.getSocketFactory();
 		}
 
 		/**
-		 * Connects client to Mqtt server and subscribes defined topic. Shuts down this data receiver if exception
+		 * Connects clients to Mqtt server and subscribes defined topic. Shuts down this data receiver if exception
 		 * occurs.
 		 */
 		@Override
 		public void run() {
-			if (client != null) {
-				try {
-					client.connect(options == null ? new MqttConnectOptions() : options);
-					client.subscribe(topic);
-				} catch (MqttException exc) {
-					Utils.logThrowable(logger(), OpLevel.ERROR,
-							StreamsResources.getBundle(StreamsResources.RESOURCE_BUNDLE_NAME),
-							"AbstractBufferedStream.input.start.failed", exc);
-					shutdown();
+			try {
+				for (MqttClientHandler handler : handlers) {
+					handler.connect();
 				}
+			} catch (MqttException exc) {
+				Utils.logThrowable(logger(), OpLevel.ERROR,
+						StreamsResources.getBundle(StreamsResources.RESOURCE_BUNDLE_NAME),
+						"AbstractBufferedStream.input.start.failed", exc);
+				shutdown();
 			}
 		}
 
 		/**
-		 * Closes opened Mqtt client.
+		 * Closes opened Mqtt clients.
 		 *
 		 * @throws MqttException
 		 *             if Mqtt fails to disconnect client due to internal error
 		 */
 		@Override
 		void closeInternals() throws MqttException {
-			if (client.isConnected()) {
-				client.unsubscribe(topic);
-				client.disconnect();
+			MqttException closeExc = null;
+			for (MqttClientHandler handler : handlers) {
+				try {
+					handler.close();
+				} catch (MqttException exc) {
+					closeExc = exc;
+				}
+			}
+			if (closeExc != null) {
+				throw closeExc;
 			}
-			client.close();
 		}
 
-		@Override
-		public void connectionLost(Throwable cause) {
-			Utils.logThrowable(logger(), OpLevel.ERROR,
-					StreamsResources.getBundle(MqttStreamConstants.RESOURCE_BUNDLE_NAME), "MqttStream.connection.lost",
-					cause);
+		/**
+		 * Single Mqtt client subscribing stream topic. It implements {@link MqttCallback} interface to handle received
+		 * Mqtt messages data.
+		 */
+		private class MqttClientHandler implements MqttCallback {
+			private MqttClient client;
 
-			try {
-				closeInternals();
-			} catch (MqttException exc) {
-				Utils.logThrowable(logger(), OpLevel.WARNING,
-						StreamsResources.getBundle(MqttStreamConstants.RESOURCE_BUNDLE_NAME),
-						"MqttStream.error.closing.receiver", exc);
+			private void createClient() throws MqttException {
+				client = new MqttClient(serverURI, MqttClient.generateClientId(), new MemoryPersistence());
+				client.setCallback(this);
+				client.setManualAcks(manualAcks);
 			}
 
-			try {
-				initialize();
-			} catch (Exception exc) {
-				Utils.logThrowable(logger(), OpLevel.WARNING,
-						StreamsResources.getBundle(MqttStreamConstants.RESOURCE_BUNDLE_NAME),
-						"MqttStream.error.reconnecting.receiver", exc);
+			private void connect() throws MqttException {
+				client.connect(options);
+				client.subscribe(getSubscriptionTopic(), qos);
 			}
-		}
 
-		/**
-		 * {@inheritDoc}
-		 * <p>
-		 * This method buffers a map structured content of next raw activity data item received over Mqtt callback.
-		 * Buffered {@link Map} contains:
-		 * <ul>
-		 * <li>{@value com.jkoolcloud.tnt4j.streams.utils.StreamsConstants#TOPIC_KEY}</li>
-		 * <li>{@value com.jkoolcloud.tnt4j.streams.utils.StreamsConstants#ACTIVITY_DATA_KEY}</li>
-		 * <li>{@value com.jkoolcloud.tnt4j.streams.utils.StreamsConstants#TRANSPORT_KEY}</li>
-		 * </ul>
-		 */
-		@Override
-		public void messageArrived(String topic, MqttMessage message) throws Exception {
-			if (message == null) {
-				return;
+			private void close() throws MqttException {
+				if (client.isConnected()) {
+					client.unsubscribe(getSubscriptionTopic());
+					client.disconnect();
+				}
+				client.close();
 			}
 
-			String msgData = Utils.getString(message.getPayload());
+			@Override
+			public void connectionLost(Throwable cause) {
+				Utils.logThrowable(logger(), OpLevel.ERROR,
+						StreamsResources.getBundle(MqttStreamConstants.RESOURCE_BUNDLE_NAME),
+						"MqttStream.connection.lost", cause);
 
-			logger().log(OpLevel.DEBUG, StreamsResources.getBundle(MqttStreamConstants.RESOURCE_BUNDLE_NAME),
-					"MqttStream.message.received", msgData);
+				try {
+					close();
+				} catch (MqttException exc) {
+					Utils.logThrowable(logger(), OpLevel.WARNING,
+							StreamsResources.getBundle(MqttStreamConstants.RESOURCE_BUNDLE_NAME),
+							"MqttStream.error.closing.receiver", exc);
+				}
 
-			Map<String, Object> msgDataMap = new HashMap<>();
+				if (isHalted() || isInputEnded()) {
+					return;
+				}
 
-			if (ArrayUtils.isNotEmpty(message.getPayload())) {
-				msgDataMap.put(StreamsConstants.TOPIC_KEY, topic);
-				msgDataMap.put(StreamsConstants.ACTIVITY_DATA_KEY, message.getPayload());
-				msgDataMap.put(StreamsConstants.TRANSPORT_KEY, MqttStreamConstants.TRANSPORT_MQTT);
-				msgDataMap.put("MessageId", message.getId()); // NON-NLS
-				msgDataMap.put("Qos", message.getQos()); // NON-NLS
-				msgDataMap.put("Duplicate", message.isDuplicate()); // NON-NLS
-				msgDataMap.put("Retained", message.isRetained()); // NON-NLS
+				try {
+					createClient();
+					connect();
+				} catch (Exception exc) {
+					Utils.logThrowable(logger(), OpLevel.WARNING,
+							StreamsResources.getBundle(MqttStreamConstants.RESOURCE_BUNDLE_NAME),
+							"MqttStream.error.reconnecting.receiver", exc);
+				}
+			}
+
+			/**
+			 * {@inheritDoc}
+			 * <p>
+			 * This method buffers immutable map structured content of next raw activity data item received over Mqtt
+			 * callback.
+			 *
+			 * @see com.jkoolcloud.tnt4j.streams.inputs.MqttStream.MqttMessageRecord
+			 */
+			@Override
+			public void messageArrived(String topic, MqttMessage message) throws Exception {
+				if (message == null) {
+					return;
+				}
+
+				if (logger().isSet(OpLevel.DEBUG)) {
+					logger().log(OpLevel.DEBUG, StreamsResources.getBundle(MqttStreamConstants.RESOURCE_BUNDLE_NAME),
+							"MqttStream.message.received", Utils.getString(message.getPayload()));
+				}
+
+				if (ArrayUtils.isNotEmpty(message.getPayload())) {
+					MqttMessageRecord msgRecord = new MqttMessageRecord(topic, message, client);
+					if (!addInputToBuffer(msgRecord) && manualAcks) {
+						// dropped messages are acknowledged to not get them redelivered
+						msgRecord.acknowledge();
+					}
+				} else if (manualAcks) {
+					client.messageArrivedComplete(message.getId(), message.getQos());
+				}
 			}
 
-			if (!msgDataMap.isEmpty()) {
-				addInputToBuffer(msgDataMap);
+			@Override
+			public void deliveryComplete(IMqttDeliveryToken token) {
 			}
 		}
+	}
+
+	/**
+	 * Compact immutable {@link Map} view of received Mqtt message. Map entries are resolved from message fields on
+	 * access, so no per-message map structure is built.
+	 * <p>
+	 * Record is {@link java.io.Serializable} to be spilled into stream spill journal. Mqtt client handle is not
+	 * serialized, so deserialized record can't be acknowledged.
+	 */
+	protected static final class MqttMessageRecord extends AbstractMap<String, Object> implements Serializable {
+		private static final long serialVersionUID = -3946247615620524817L;
+
+		private static final String MESSAGE_ID_KEY = "MessageId"; // NON-NLS
+		private static final String QOS_KEY = "Qos"; // NON-NLS
+		private static final String DUPLICATE_KEY = "Duplicate"; // NON-NLS
+		private static final String RETAINED_KEY = "Retained"; // NON-NLS
+
+		private static final String[] KEYS = { StreamsConstants.TOPIC_KEY, StreamsConstants.ACTIVITY_DATA_KEY,
+				StreamsConstants.TRANSPORT_KEY, MESSAGE_ID_KEY, QOS_KEY, DUPLICATE_KEY, RETAINED_KEY };
+
+		private final String topic;
+		private final byte[] payload;
+		private final int messageId;
+		private final int qos;
+		private final boolean duplicate;
+		private final boolean retained;
+		private final transient MqttClient client;
+
+		private transient Set<Entry<String, Object>> entrySet;
+
+		MqttMessageRecord(String topic, MqttMessage message, MqttClient client) {
+			this.topic = topic;
+			this.payload = message.getPayload();
+			this.messageId = message.getId();
+			this.qos = message.getQos();
+			this.duplicate = message.isDuplicate();
+			this.retained = message.isRetained();
+			this.client = client;
+		}
 
 		@Override
-		public void deliveryComplete(IMqttDeliveryToken token) {
+		public Object get(Object key) {
+			if (!(key instanceof String)) {
+				return null;
+			}
+			switch ((String) key) {
+			case StreamsConstants.TOPIC_KEY:
+				return topic;
+			case StreamsConstants.ACTIVITY_DATA_KEY:
+				return payload;
+			case StreamsConstants.TRANSPORT_KEY:
+				return MqttStreamConstants.TRANSPORT_MQTT;
+			case MESSAGE_ID_KEY:
+				return messageId;
+			case QOS_KEY:
+				return qos;
+			case DUPLICATE_KEY:
+				return duplicate;
+			case RETAINED_KEY:
+				return retained;
+			default:
+				return null;
+			}
+		}
+
+		@Override
+		public boolean containsKey(Object key) {
+			return ArrayUtils.contains(KEYS, key);
+		}
+
+		@Override
+		public int size() {
+			return KEYS.length;
+		}
+
+		@Override
+		public Set<Entry<String, Object>> entrySet() {
+			if (entrySet == null) {
+				entrySet = new AbstractSet<Entry<String, Object>>() {
+					@Override
+					public Iterator<Entry<String, Object>> iterator() {
+						return new Iterator<Entry<String, Object>>() {
+							private int idx = 0;
+
+							@Override
+							public boolean hasNext() {
+								return idx < KEYS.length;
+							}
+
+							@Override
+							public Entry<String, Object> next() {
+								if (!hasNext()) {
+									throw new NoSuchElementException();
+								}
+								String key = KEYS[idx++];
+								return new SimpleImmutableEntry<>(key, get(key));
+							}
+						};
+					}
+
+					@Override
+					public int size() {
+						return KEYS.length;
+					}
+				};
+			}
+			return entrySet;
 		}
-	}
 
+		/**
+		 * Acknowledges message to broker. Only QoS 1 and 2 messages are acknowledged.
+		 */
+		void acknowledge() {
+			if (qos == 0 || client == null) {
+				return;
+			}
+			try {
+				client.messageArrivedComplete(messageId, qos);
+			} catch (MqttException exc) {
+				Utils.logThrowable(LOGGER, OpLevel.WARNING,
+						StreamsResources.getBundle(MqttStreamConstants.RESOURCE_BUNDLE_NAME),
+						"MqttStream.ack.failed", messageId, exc);
+			}
+		}
+	}
 }
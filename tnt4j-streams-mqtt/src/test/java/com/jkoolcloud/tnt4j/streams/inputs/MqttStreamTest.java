@@ -17,17 +17,30 @@ package com.jkoolcloud.tnt4j.streams.inputs;
 
 import static com.jkoolcloud.tnt4j.streams.TestUtils.testPropertyList;
 import static org.junit.Assert.*;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.*;
 
-import java.util.HashMap;
-import java.util.Map;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
 
+import org.apache.commons.lang3.SerializationUtils;
+import org.eclipse.paho.client.mqttv3.*;
+import org.eclipse.paho.client.mqttv3.persist.MemoryPersistence;
 import org.junit.Test;
 
+import com.jkoolcloud.tnt4j.streams.TestUtils;
+import com.jkoolcloud.tnt4j.streams.configure.MqttStreamProperties;
 import com.jkoolcloud.tnt4j.streams.configure.StreamProperties;
 import com.jkoolcloud.tnt4j.streams.utils.MqttStreamConstants;
+import com.jkoolcloud.tnt4j.streams.utils.StreamsConstants;
 import com.jkoolcloud.tnt4j.streams.utils.StreamsResources;
 
+import io.moquette.broker.Server;
+import io.moquette.broker.config.MemoryConfig;
+
 /**
  * @author akausinis
  * @version 1.0
@@ -74,6 +87,153 @@ public class MqttStreamTest {
 		input.startStream();
 	}
 
+	@Test
+	public void testSharedSubscriptionProperties() throws Exception {
+		input = new MqttStream();
+		input.setName("MQTTSharedTestStream"); // NON-NLS
+		Map<String, String> props = new HashMap<>(6);
+		props.put(StreamProperties.PROP_SERVER_URI, "tcp://localhost:1883"); // NON-NLS
+		props.put(StreamProperties.PROP_TOPIC_STRING, "/TEST/#"); // NON-NLS
+		props.put(MqttStreamProperties.PROP_CLIENT_COUNT, "4"); // NON-NLS
+		props.put(MqttStreamProperties.PROP_QOS, "1"); // NON-NLS
+		props.put(MqttStreamProperties.PROP_MANUAL_ACKS, String.valueOf(true));
+		input.setProperties(props.entrySet());
+		testPropertyList(input, props.entrySet());
+
+		input.applyProperties();
+		assertEquals("$share/MQTTSharedTestStream/TEST/#", input.getSubscriptionTopic()); // NON-NLS
+
+		input.setProperty(MqttStreamProperties.PROP_SHARE_GROUP, "group1"); // NON-NLS
+		assertEquals("$share/group1/TEST/#", input.getSubscriptionTopic()); // NON-NLS
+	}
+
+	@Test
+	public void testMessageRecord() {
+		MqttMessage message = new MqttMessage("TEST".getBytes(StandardCharsets.UTF_8)); // NON-NLS
+		message.setId(12);
+		message.setQos(1);
+		message.setRetained(true);
+		MqttStream.MqttMessageRecord msgRecord = new MqttStream.MqttMessageRecord("topic/a", message, null); // NON-NLS
+
+		assertEquals(7, msgRecord.size());
+		assertEquals("topic/a", msgRecord.get(StreamsConstants.TOPIC_KEY)); // NON-NLS
+		assertArrayEquals(message.getPayload(), (byte[]) msgRecord.get(StreamsConstants.ACTIVITY_DATA_KEY));
+		assertEquals(MqttStreamConstants.TRANSPORT_MQTT, msgRecord.get(StreamsConstants.TRANSPORT_KEY));
+		assertEquals(12, msgRecord.get("MessageId")); // NON-NLS
+		assertEquals(1, msgRecord.get("Qos")); // NON-NLS
+		assertEquals(false, msgRecord.get("Duplicate")); // NON-NLS
+		assertEquals(true, msgRecord.get("Retained")); // NON-NLS
+		assertNull(msgRecord.get("Other")); // NON-NLS
+
+		Map<String, Object> copy = new HashMap<>(msgRecord);
+		assertEquals(copy, msgRecord);
+	}
+
+	@Test
+	public void testMessageRecordSerialization() throws Exception {
+		MqttMessage message = new MqttMessage("TEST".getBytes(StandardCharsets.UTF_8)); // NON-NLS
+		message.setId(7);
+		message.setQos(1);
+		MqttClient client = mock(MqttClient.class);
+		MqttStream.MqttMessageRecord msgRecord = new MqttStream.MqttMessageRecord("topic/b", message, client); // NON-NLS
+
+		MqttStream.MqttMessageRecord restored = SerializationUtils.roundtrip(msgRecord);
+		assertEquals(new HashMap<>(msgRecord), new HashMap<>(restored));
+		assertArrayEquals(message.getPayload(), (byte[]) restored.get(StreamsConstants.ACTIVITY_DATA_KEY));
+		restored.acknowledge();
+		verify(client, never()).messageArrivedComplete(anyInt(), anyInt());
+	}
+
+	@Test
+	public void testSpilledMessageAcknowledged() throws Exception {
+		MqttStream stream = new MqttStream();
+		stream.setProperty(MqttStreamProperties.PROP_MANUAL_ACKS, String.valueOf(true));
+		MqttMessage message = new MqttMessage("TEST".getBytes(StandardCharsets.UTF_8)); // NON-NLS
+		message.setId(9);
+		message.setQos(2);
+		MqttClient client = mock(MqttClient.class);
+
+		stream.itemSpilled(new MqttStream.MqttMessageRecord("topic/c", message, client)); // NON-NLS
+		verify(client).messageArrivedComplete(9, 2);
+	}
+
+	@Test
+	public void benchmarkQos1Throughput() throws Exception {
+		TestUtils.assumeBenchmarksEnabled();
+		int port = 11883;
+		int messagesCount = 20000;
+		String topic = "tnt4j/load"; // NON-NLS
+
+		Properties brokerProps = new Properties();
+		brokerProps.setProperty("host", "localhost"); // NON-NLS
+		brokerProps.setProperty("port", String.valueOf(port)); // NON-NLS
+		brokerProps.setProperty("allow_anonymous", "true"); // NON-NLS
+		brokerProps.setProperty("persistence_enabled", "false"); // NON-NLS
+		Server broker = new Server();
+		broker.startServer(new MemoryConfig(brokerProps));
+
+		AtomicLong processed = new AtomicLong();
+		MqttStream stream = new MqttStream() {
+			@Override
+			protected void processActivityItem(Map<String, ?> item, AtomicBoolean failureFlag) throws Exception {
+				processed.incrementAndGet();
+				super.processActivityItem(item, failureFlag);
+			}
+		};
+		try {
+			stream.setName("MQTTLoadTestStream"); // NON-NLS
+			Map<String, String> props = new HashMap<>(7);
+			props.put(StreamProperties.PROP_HALT_ON_PARSER, String.valueOf(false));
+			props.put(StreamProperties.PROP_SERVER_URI, "tcp://localhost:" + port); // NON-NLS
+			props.put(StreamProperties.PROP_TOPIC_STRING, topic);
+			props.put(MqttStreamProperties.PROP_CLIENT_COUNT, "2"); // NON-NLS
+			props.put(MqttStreamProperties.PROP_QOS, "1"); // NON-NLS
+			props.put(MqttStreamProperties.PROP_MANUAL_ACKS, String.valueOf(true));
+			stream.setProperties(props.entrySet());
+			StreamThread thread = new StreamThread(stream);
+			thread.start();
+			TimeUnit.SECONDS.sleep(2);
+
+			MqttConnectOptions options = new MqttConnectOptions();
+			options.setMaxInflight(1000);
+			MqttAsyncClient publisher = new MqttAsyncClient("tcp://localhost:" + port, // NON-NLS
+					MqttAsyncClient.generateClientId(), new MemoryPersistence());
+			publisher.connect(options).waitForCompletion();
+
+			byte[] payload = "{\"level\":\"INFO\",\"msg\":\"MQTT load test message\"}" // NON-NLS
+					.getBytes(StandardCharsets.UTF_8);
+			long start = System.nanoTime();
+			List<IMqttDeliveryToken> tokens = new ArrayList<>(1000);
+			for (int i = 0; i < messagesCount; i++) {
+				tokens.add(publisher.publish(topic, payload, 1, false));
+				if (tokens.size() == 1000) {
+					for (IMqttDeliveryToken token : tokens) {
+						token.waitForCompletion();
+					}
+					tokens.clear();
+				}
+			}
+			for (IMqttDeliveryToken token : tokens) {
+				token.waitForCompletion();
+			}
+
+			long deadline = System.currentTimeMillis() + TimeUnit.SECONDS.toMillis(60);
+			while (processed.get() < messagesCount && System.currentTimeMillis() < deadline) {
+				TimeUnit.MILLISECONDS.sleep(10);
+			}
+			long elapsed = System.nanoTime() - start;
+			publisher.disconnect().waitForCompletion();
+			publisher.close();
+
+			assertTrue("Not all messages processed: " + processed.get(), processed.get() >= messagesCount); // NON-NLS
+			System.out.printf("MQTT QoS 1 load: messages=%d, clients=%d, time=%.3fs, msgs/sec=%.0f%n", // NON-NLS
+					processed.get(), 2, elapsed / 1_000_000_000.0, processed.get() * 1_000_000_000.0 / elapsed);
+		} finally {
+			stream.cleanup();
+			broker.stopServer();
+		}
+	}
+
 	@Test
 	public void testRB() {
 		String keyModule = "MqttStream.error.closing.receiver";
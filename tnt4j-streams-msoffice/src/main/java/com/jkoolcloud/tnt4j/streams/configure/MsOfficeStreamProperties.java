@@ -31,4 +31,8 @@ public interface MsOfficeStreamProperties extends StreamProperties {
 	 * Constant for name of built-in stream {@value} property.
 	 */
 	String PROP_WORKBOOK_PASS = "WorkbookPassword"; // NON-NLS
+	/**
+	 * Constant for name of built-in stream {@value} property.
+	 */
+	String PROP_PARALLEL_SHEETS = "ParallelSheets"; // NON-NLS
 }
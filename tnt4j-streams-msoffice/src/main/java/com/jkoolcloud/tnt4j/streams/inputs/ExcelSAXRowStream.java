@@ -0,0 +1,581 @@
+/*
+ * Copyright 2014-2023 JKOOL, LLC.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.jkoolcloud.tnt4j.streams.inputs;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Pattern;
+
+import javax.xml.parsers.ParserConfigurationException;
+
+import org.apache.commons.lang3.StringUtils;
+import org.apache.poi.openxml4j.exceptions.OpenXML4JException;
+import org.apache.poi.openxml4j.opc.OPCPackage;
+import org.apache.poi.openxml4j.opc.PackageAccess;
+import org.apache.poi.poifs.filesystem.FileMagic;
+import org.apache.poi.ss.usermodel.DateUtil;
+import org.apache.poi.util.XMLHelper;
+import org.apache.poi.xssf.eventusermodel.ReadOnlySharedStringsTable;
+import org.apache.poi.xssf.eventusermodel.XSSFReader;
+import org.apache.poi.xssf.model.SharedStrings;
+import org.apache.poi.xssf.model.StylesTable;
+import org.apache.poi.xssf.usermodel.XSSFCellStyle;
+import org.xml.sax.Attributes;
+import org.xml.sax.InputSource;
+import org.xml.sax.SAXException;
+import org.xml.sax.XMLReader;
+import org.xml.sax.helpers.DefaultHandler;
+
+import com.jkoolcloud.tnt4j.core.OpLevel;
+import com.jkoolcloud.tnt4j.sink.EventSink;
+import com.jkoolcloud.tnt4j.streams.configure.MsOfficeStreamProperties;
+import com.jkoolcloud.tnt4j.streams.configure.StreamProperties;
+import com.jkoolcloud.tnt4j.streams.parsers.ActivityExcelRowValuesParser;
+import com.jkoolcloud.tnt4j.streams.parsers.ActivityParser;
+import com.jkoolcloud.tnt4j.streams.reference.ParserReference;
+import com.jkoolcloud.tnt4j.streams.utils.*;
+
+/**
+ * Implements a MS Excel XSSF (XLSX) workbook stored activity stream, where each workbook sheet row is assumed to
+ * represent a single activity or event which should be recorded.
+ * <p>
+ * Workbook sheets are read using event driven SAX parsing of sheet XML data (Apache POI {@link XSSFReader}), without
+ * building any Apache POI workbook, sheet, row or cell objects. Every row is emitted as lightweight
+ * {@link ExcelRowValues} row values array, so memory consumption does not depend on workbook size. Shared strings
+ * table and cell styles date formatting flags are loaded once per workbook and are shared by all sheet readers. If all
+ * stream bound parsers are {@link ActivityExcelRowValuesParser}s, cells of columns no parser field locator refers to
+ * are skipped without resolving their values.
+ * <p>
+ * Cell values are resolved as: {@link String} for text, inline text and formula text cells, {@link Double} for numeric
+ * and numeric formula cells, {@link Date} for date formatted numeric cells, {@link Boolean} for boolean cells and
+ * {@link String} error code (e.g., {@code "#DIV/0!"}) for error cells.
+ * <p>
+ * NOTE: only XSSF (XLSX) format files are supported. Use {@link ExcelSXSSFRowStream} to stream HSSF (XLS) or password
+ * protected workbooks.
+ * <p>
+ * This activity stream requires parsers that can support {@link ExcelRowValues} data.
+ * <p>
+ * This activity stream supports the following configuration properties (in addition to those supported by
+ * {@link AbstractBufferedStream}):
+ * <ul>
+ * <li>FileName - the system-dependent file name of MS Excel document. (Required)</li>
+ * <li>SheetsToProcess - defines workbook sheets name filter mask (wildcard or RegEx) to process only sheets which names
+ * matches this mask. (Optional)</li>
+ * <li>RangeToStream - defines streamed data rows index range. Default value - {@code 1:}. (Optional)</li>
+ * <li>ParallelSheets - number of workbook sheets to read concurrently. Rows order within sheet is preserved, while rows
+ * of different sheets get interleaved in stream buffer. Default value - {@code 1}. (Optional)</li>
+ * </ul>
+ *
+ * @version $Revision: 1 $
+ *
+ * @see com.jkoolcloud.tnt4j.streams.parsers.ActivityParser#isDataClassSupported(Object)
+ */
+public class ExcelSAXRowStream extends AbstractBufferedStream<ExcelRowValues> {
+	private static final EventSink LOGGER = LoggerUtils.getLoggerSink(ExcelSAXRowStream.class);
+
+	/**
+	 * Stream attribute defining file name.
+	 */
+	private String fileName = null;
+
+	private String sheetName = null;
+	private Pattern sheetNameMatcher = null;
+
+	private String rangeValue = "1:"; // NON-NLS
+	private IntRange rowRange;
+
+	private int parallelSheets = 1;
+
+	private final AtomicInteger totalRows = new AtomicInteger();
+	private long totalBytes = 0;
+
+	private volatile boolean ended = false;
+
+	/**
+	 * Constructs a new ExcelSAXRowStream. Requires configuration settings to set input stream source.
+	 */
+	public ExcelSAXRowStream() {
+		super();
+	}
+
+	@Override
+	protected EventSink logger() {
+		return LOGGER;
+	}
+
+	@Override
+	public void setProperty(String name, String value) {
+		super.setProperty(name, value);
+
+		if (StreamProperties.PROP_FILENAME.equalsIgnoreCase(name)) {
+			fileName = value;
+		} else if (MsOfficeStreamProperties.PROP_SHEETS.equalsIgnoreCase(name)) {
+			sheetName = value;
+
+			if (StringUtils.isNotEmpty(sheetName)) {
+				sheetNameMatcher = Pattern.compile(Utils.wildcardToRegex2(sheetName));
+			}
+		} else if (StreamProperties.PROP_RANGE_TO_STREAM.equalsIgnoreCase(name)) {
+			if (StringUtils.isNotEmpty(value)) {
+				rangeValue = value;
+			}
+		} else if (MsOfficeStreamProperties.PROP_PARALLEL_SHEETS.equalsIgnoreCase(name)) {
+			parallelSheets = Integer.parseInt(value);
+		}
+	}
+
+	@Override
+	public Object getProperty(String name) {
+		if (StreamProperties.PROP_FILENAME.equalsIgnoreCase(name)) {
+			return fileName;
+		}
+		if (MsOfficeStreamProperties.PROP_SHEETS.equalsIgnoreCase(name)) {
+			return sheetName;
+		}
+		if (StreamProperties.PROP_RANGE_TO_STREAM.equalsIgnoreCase(name)) {
+			return rangeValue;
+		}
+		if (MsOfficeStreamProperties.PROP_PARALLEL_SHEETS.equalsIgnoreCase(name)) {
+			return parallelSheets;
+		}
+
+		return super.getProperty(name);
+	}
+
+	@Override
+	protected long getActivityItemByteSize(ExcelRowValues activityItem) {
+		return activityItem == null ? 0 : activityItem.getByteSize();
+	}
+
+	@Override
+	public int getTotalActivities() {
+		return totalRows.get();
+	}
+
+	@Override
+	public long getTotalBytes() {
+		return totalBytes;
+	}
+
+	@Override
+	protected boolean isInputEnded() {
+		return ended;
+	}
+
+	@Override
+	protected void applyProperties() throws Exception {
+		super.applyProperties();
+
+		if (StringUtils.isEmpty(fileName)) {
+			throw new IllegalStateException(StreamsResources.getStringFormatted(StreamsResources.RESOURCE_BUNDLE_NAME,
+					"TNTInputStream.property.undefined", StreamProperties.PROP_FILENAME));
+		}
+
+		rowRange = IntRange.getRange(rangeValue);
+	}
+
+	@Override
+	protected void initialize() throws Exception {
+		super.initialize();
+
+		Thread excelFileReader = new Thread(() -> {
+			try {
+				readXLSX(new File(fileName));
+			} catch (Exception e) {
+				Utils.logThrowable(LOGGER, OpLevel.ERROR,
+						StreamsResources.getBundle(MsOfficeStreamConstants.RESOURCE_BUNDLE_NAME),
+						"ExcelSXSSFRowStream.file.read.failed", fileName, e);
+			}
+			ended = true;
+			offerDieMarker();
+		}, getName() + "FileReaderThread");
+		excelFileReader.start();
+	}
+
+	/**
+	 * Checks if row is within stream defined range and adds it to stream input buffer.
+	 *
+	 * @param row
+	 *            row values instance to add to buffer
+	 * @return {@code true} if row was added to input buffer, {@code false} = otherwise
+	 *
+	 * @throws IllegalStateException
+	 *             if buffer queue is not initialized
+	 */
+	protected boolean checkAndAddToInputToBuffer(ExcelRowValues row) throws IllegalStateException {
+		if (isRowInRange(row.getRowNum())) {
+			return addInputToBuffer(row);
+		} else {
+			skipFilteredActivities();
+		}
+
+		return false;
+	}
+
+	private boolean isRowInRange(int rowNum) {
+		// NOTE: adding 1, since rowNum is 0 based while for user convenience range starts from 1.
+		return IntRange.inRange(rowRange, rowNum + 1);
+	}
+
+	private boolean isRowAfterRange(int rowNum) {
+		return rowRange != null && rowNum + 1 > rowRange.getTo();
+	}
+
+	/**
+	 * Reads XSSF (XLSX) format excel file sheets using Apache POI event API and SAX parser.
+	 *
+	 * @param xlsxFile
+	 *            excel XSSF format file to read
+	 *
+	 * @throws IOException
+	 *             if excel file or workbook can't be read
+	 * @throws SAXException
+	 *             if file contained XML reading fails
+	 * @throws OpenXML4JException
+	 *             if file contained XML reading fails
+	 */
+	protected void readXLSX(File xlsxFile) throws IOException, SAXException, OpenXML4JException {
+		totalBytes = xlsxFile.length();
+		if (FileMagic.valueOf(xlsxFile) != FileMagic.OOXML) {
+			throw new IOException(StreamsResources.getStringFormatted(MsOfficeStreamConstants.RESOURCE_BUNDLE_NAME,
+					"ExcelSAXRowStream.unsupported.format", xlsxFile));
+		}
+
+		try (OPCPackage xlsxPackage = OPCPackage.open(xlsxFile, PackageAccess.READ)) {
+			ReadOnlySharedStringsTable strings = new ReadOnlySharedStringsTable(xlsxPackage, false);
+			XSSFReader xssfReader = new XSSFReader(xlsxPackage);
+			boolean[] dateStyles = getDateStyles(xssfReader.getStylesTable());
+			BitSet columns = getReferencedColumns();
+
+			LOGGER.log(OpLevel.DEBUG, StreamsResources.getBundle(MsOfficeStreamConstants.RESOURCE_BUNDLE_NAME),
+					"ExcelSAXRowStream.reading.workbook", xlsxFile, strings.getUniqueCount(),
+					columns == null ? "*" : columns, parallelSheets); // NON-NLS
+
+			List<Callable<Void>> sheetTasks = new ArrayList<>();
+			XSSFReader.SheetIterator sIter = (XSSFReader.SheetIterator) xssfReader.getSheetsData();
+			while (sIter.hasNext()) {
+				InputStream sStream = sIter.next();
+				String sName = sIter.getSheetName();
+				boolean match = sheetNameMatcher == null || sheetNameMatcher.matcher(sName).matches();
+				if (!match) {
+					Utils.close(sStream);
+					continue;
+				}
+
+				SheetRowsHandler handler = new SheetRowsHandler(this, sName, strings, dateStyles, columns);
+				if (parallelSheets > 1) {
+					sheetTasks.add(() -> {
+						processSheet(handler, sStream);
+						return null;
+					});
+				} else {
+					processSheet(handler, sStream);
+				}
+			}
+
+			if (!sheetTasks.isEmpty()) {
+				processSheetsInParallel(sheetTasks);
+			}
+		}
+	}
+
+	private void processSheetsInParallel(List<Callable<Void>> sheetTasks) throws IOException, SAXException {
+		ExecutorService sheetReaders = Executors.newFixedThreadPool(Math.min(parallelSheets, sheetTasks.size()),
+				new TNTInputStream.StreamsThreadFactory(getName() + "SheetReaderThread-")); // NON-NLS
+		try {
+			for (Future<Void> f : sheetReaders.invokeAll(sheetTasks)) {
+				try {
+					f.get();
+				} catch (ExecutionException exc) {
+					Throwable cause = exc.getCause();
+					if (cause instanceof IOException) {
+						throw (IOException) cause;
+					}
+					if (cause instanceof SAXException) {
+						throw (SAXException) cause;
+					}
+					throw new RuntimeException(cause);
+				}
+			}
+		} catch (InterruptedException exc) {
+			Thread.currentThread().interrupt();
+		} finally {
+			sheetReaders.shutdownNow();
+		}
+	}
+
+	/**
+	 * Collects columns referenced by stream bound parsers fields locators.
+	 *
+	 * @return set of referenced columns indexes, or {@code null} if all columns shall be read
+	 */
+	protected BitSet getReferencedColumns() {
+		Set<ParserReference> parserRefs = getParserReferences();
+		if (parserRefs.isEmpty()) {
+			return null;
+		}
+
+		BitSet columns = new BitSet();
+		for (ParserReference parserRef : parserRefs) {
+			ActivityParser parser = parserRef.getParser();
+			BitSet pColumns = parser instanceof ActivityExcelRowValuesParser
+					? ((ActivityExcelRowValuesParser) parser).getReferencedColumns() : null;
+			if (pColumns == null) {
+				return null;
+			}
+			columns.or(pColumns);
+		}
+
+		return columns;
+	}
+
+	private static boolean[] getDateStyles(StylesTable styles) {
+		if (styles == null) {
+			return new boolean[0];
+		}
+
+		boolean[] dateStyles = new boolean[styles.getNumCellStyles()];
+		for (int i = 0; i < dateStyles.length; i++) {
+			XSSFCellStyle style = styles.getStyleAt(i);
+			String formatString = style == null ? null : style.getDataFormatString();
+			dateStyles[i] = formatString != null && DateUtil.isADateFormat(style.getDataFormat(), formatString);
+		}
+
+		return dateStyles;
+	}
+
+	private void processSheet(SheetRowsHandler handler, InputStream sheetInputStream) throws IOException, SAXException {
+		LOGGER.log(OpLevel.DEBUG, StreamsResources.getBundle(MsOfficeStreamConstants.RESOURCE_BUNDLE_NAME),
+				"ExcelSAXRowStream.reading.sheet", handler.sheetName);
+		try (InputStream sis = sheetInputStream) {
+			XMLReader sheetParser = XMLHelper.newXMLReader();
+			sheetParser.setContentHandler(handler);
+			sheetParser.parse(new InputSource(sis));
+		} catch (ParserConfigurationException exc) {
+			throw new RuntimeException(StreamsResources.getStringFormatted(MsOfficeStreamConstants.RESOURCE_BUNDLE_NAME,
+					"ExcelSXSSFRowStream.sax.cfg.error", Utils.getExceptionMessages(exc)));
+		} catch (SheetEndException exc) {
+			LOGGER.log(OpLevel.DEBUG, StreamsResources.getBundle(MsOfficeStreamConstants.RESOURCE_BUNDLE_NAME),
+					"ExcelSAXRowStream.sheet.range.end", handler.sheetName, rangeValue);
+		}
+	}
+
+	/**
+	 * Signals sheet rows reading can be stopped, since stream defined rows range end has been reached.
+	 */
+	private static class SheetEndException extends SAXException {
+		private static final long serialVersionUID = -1427946437052376390L;
+
+		SheetEndException() {
+			super();
+		}
+	}
+
+	/**
+	 * SAX handler of XSSF sheet XML data, collecting row cells values into {@link ExcelRowValues} arrays.
+	 */
+	private static class SheetRowsHandler extends DefaultHandler {
+		private final ExcelSAXRowStream stream;
+		private final String sheetName;
+		private final SharedStrings strings;
+		private final boolean[] dateStyles;
+		private final BitSet columns;
+
+		private Object[] rowValues = new Object[16];
+		private int rowNum = -1;
+		private int lastColumn = -1;
+		private boolean rowSkipped = false;
+
+		private int column = -1;
+		private String cellType;
+		private int cellStyle;
+		private boolean cellNeeded = false;
+		private boolean inValue = false;
+		private boolean inPhoneticRun = false;
+		private final StringBuilder value = new StringBuilder(64);
+
+		/**
+		 * Constructs a new SheetRowsHandler.
+		 *
+		 * @param stream
+		 *            referenced stream instance
+		 * @param sheetName
+		 *            name of processed sheet
+		 * @param strings
+		 *            workbook shared strings table
+		 * @param dateStyles
+		 *            workbook cell styles date formatting flags
+		 * @param columns
+		 *            set of columns to extract cells values, or {@code null} to extract all
+		 */
+		SheetRowsHandler(ExcelSAXRowStream stream, String sheetName, SharedStrings strings, boolean[] dateStyles,
+				BitSet columns) {
+			this.stream = stream;
+			this.sheetName = sheetName;
+			this.strings = strings;
+			this.dateStyles = dateStyles;
+			this.columns = columns;
+		}
+
+		@Override
+		public void startElement(String uri, String localName, String qName, Attributes attributes)
+				throws SAXException {
+			switch (localName) {
+			case "dimension": // NON-NLS
+				stream.totalRows.addAndGet(getDimensionRows(attributes.getValue("ref"))); // NON-NLS
+				break;
+			case "row": // NON-NLS
+				String r = attributes.getValue("r"); // NON-NLS
+				rowNum = r == null ? rowNum + 1 : Integer.parseInt(r) - 1;
+				if (stream.isRowAfterRange(rowNum) || stream.isHalted()) {
+					throw new SheetEndException();
+				}
+				rowSkipped = !stream.isRowInRange(rowNum);
+				column = -1;
+				break;
+			case "c": // NON-NLS
+				String ref = attributes.getValue("r"); // NON-NLS
+				column = ref == null ? column + 1 : getColumnIndex(ref);
+				cellNeeded = !rowSkipped && (columns == null || columns.get(column));
+				if (cellNeeded) {
+					cellType = attributes.getValue("t"); // NON-NLS
+					String s = attributes.getValue("s"); // NON-NLS
+					cellStyle = s == null ? 0 : Integer.parseInt(s);
+					value.setLength(0);
+				}
+				break;
+			case "v": // NON-NLS
+			case "t": // NON-NLS
+				inValue = cellNeeded;
+				break;
+			case "rPh": // NON-NLS
+				inPhoneticRun = true;
+				break;
+			default:
+				break;
+			}
+		}
+
+		@Override
+		public void characters(char[] ch, int start, int length) {
+			if (inValue && !inPhoneticRun) {
+				value.append(ch, start, length);
+			}
+		}
+
+		@Override
+		public void endElement(String uri, String localName, String qName) {
+			switch (localName) {
+			case "v": // NON-NLS
+			case "t": // NON-NLS
+				inValue = false;
+				break;
+			case "rPh": // NON-NLS
+				inPhoneticRun = false;
+				break;
+			case "c": // NON-NLS
+				if (cellNeeded) {
+					setValue(column, resolveValue());
+					cellNeeded = false;
+				}
+				break;
+			case "row": // NON-NLS
+				if (rowSkipped) {
+					stream.skipFilteredActivities();
+				} else {
+					stream.checkAndAddToInputToBuffer(
+							new ExcelRowValues(sheetName, rowNum, Arrays.copyOf(rowValues, lastColumn + 1)));
+					Arrays.fill(rowValues, 0, lastColumn + 1, null);
+				}
+				lastColumn = -1;
+				break;
+			default:
+				break;
+			}
+		}
+
+		private void setValue(int col, Object val) {
+			if (val == null) {
+				return;
+			}
+			if (col >= rowValues.length) {
+				rowValues = Arrays.copyOf(rowValues, Math.max(col + 1, rowValues.length * 2));
+			}
+			rowValues[col] = val;
+			lastColumn = Math.max(lastColumn, col);
+		}
+
+		private Object resolveValue() {
+			String v = value.toString();
+			if (cellType == null || "n".equals(cellType)) { // NON-NLS
+				if (v.isEmpty()) {
+					return null;
+				}
+				double d = Double.parseDouble(v);
+				if (cellStyle < dateStyles.length && dateStyles[cellStyle] && DateUtil.isValidExcelDate(d)) {
+					return DateUtil.getJavaDate(d);
+				}
+				return d;
+			}
+			switch (cellType) {
+			case "s": // NON-NLS
+				return v.isEmpty() ? null : strings.getItemAt(Integer.parseInt(v)).getString();
+			case "b": // NON-NLS
+				return "1".equals(v); // NON-NLS
+			case "inlineStr": // NON-NLS
+			case "str": // NON-NLS
+			case "e": // NON-NLS
+			default:
+				return v;
+			}
+		}
+
+		/**
+		 * Resolves 0-based column index from cell reference, e.g. {@code "AB12"} resolves to {@code 27}.
+		 *
+		 * @param cellRef
+		 *            cell reference
+		 * @return column index
+		 */
+		static int getColumnIndex(String cellRef) {
+			int col = 0;
+			for (int i = 0; i < cellRef.length(); i++) {
+				char ch = cellRef.charAt(i);
+				if (ch < 'A' || ch > 'Z') {
+					break;
+				}
+				col = col * 26 + (ch - 'A' + 1);
+			}
+			return col - 1;
+		}
+
+		private static int getDimensionRows(String ref) {
+			if (ref == null) {
+				return 0;
+			}
+			int rIdx = ref.lastIndexOf(':') + 1;
+			while (rIdx < ref.length() && !Character.isDigit(ref.charAt(rIdx))) {
+				rIdx++;
+			}
+			return rIdx < ref.length() ? Integer.parseInt(ref.substring(rIdx)) : 0;
+		}
+	}
+}
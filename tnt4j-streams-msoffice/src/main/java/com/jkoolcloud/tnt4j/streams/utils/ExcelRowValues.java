@@ -0,0 +1,117 @@
+/*
+ * Copyright 2014-2023 JKOOL, LLC.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.jkoolcloud.tnt4j.streams.utils;
+
+import java.io.Serializable;
+import java.util.Arrays;
+import java.util.Date;
+
+/**
+ * Lightweight MS Excel sheet row data holder: sheet name, row index and array of row cells values indexed by column
+ * index. Cells values are plain Java objects: {@link String}, {@link Double}, {@link Boolean} or {@link Date} (for
+ * date formatted numeric cells). Missing, blank or not extracted cells have {@code null} value.
+ * <p>
+ * Row values are serializable, so stream buffer can spill them to disk.
+ *
+ * @version $Revision: 2 $
+ */
+public class ExcelRowValues implements Serializable {
+	private static final long serialVersionUID = -3163209327475185322L;
+
+	private final String sheetName;
+	private final int rowNum;
+	private final Object[] values;
+
+	/**
+	 * Constructs a new ExcelRowValues.
+	 *
+	 * @param sheetName
+	 *            name of sheet the row belongs to
+	 * @param rowNum
+	 *            0-based row index within sheet
+	 * @param values
+	 *            row cells values array indexed by column index
+	 */
+	public ExcelRowValues(String sheetName, int rowNum, Object[] values) {
+		this.sheetName = sheetName;
+		this.rowNum = rowNum;
+		this.values = values;
+	}
+
+	/**
+	 * Returns name of sheet the row belongs to.
+	 *
+	 * @return sheet name
+	 */
+	public String getSheetName() {
+		return sheetName;
+	}
+
+	/**
+	 * Returns 0-based row index within sheet.
+	 *
+	 * @return row index
+	 */
+	public int getRowNum() {
+		return rowNum;
+	}
+
+	/**
+	 * Returns number of columns having values array slots, i.e. index of last extracted cell column plus one.
+	 *
+	 * @return row columns count
+	 */
+	public int getColumnsCount() {
+		return values.length;
+	}
+
+	/**
+	 * Returns cell value for provided column index.
+	 *
+	 * @param colIndex
+	 *            0-based column index
+	 * @return cell value, or {@code null} if cell is missing or has not been extracted
+	 */
+	public Object getValue(int colIndex) {
+		return colIndex >= 0 && colIndex < values.length ? values[colIndex] : null;
+	}
+
+	/**
+	 * Estimates row values size in bytes.
+	 *
+	 * @return estimated row values size in bytes
+	 */
+	public long getByteSize() {
+		long bCount = 0;
+		for (Object value : values) {
+			if (value instanceof String) {
+				bCount += ((String) value).length();
+			} else if (value instanceof Boolean) {
+				bCount += 1;
+			} else if (value != null) {
+				bCount += 8; // double, date
+			}
+		}
+
+		return bCount;
+	}
+
+	@Override
+	public String toString() {
+		return sheetName + "!" + (rowNum + 1) + Arrays.toString(values); // NON-NLS
+	}
+}
@@ -21,12 +21,13 @@ import org.junit.runners.Suite;
 
 import com.jkoolcloud.tnt4j.streams.configure.sax.ConfigParserHandlerTest;
 import com.jkoolcloud.tnt4j.streams.inputs.AllInputsTests;
+import com.jkoolcloud.tnt4j.streams.parsers.ActivityExcelRowValuesParserTest;
 
 /**
  * @author akausinis
  * @version 1.0
  */
 @RunWith(Suite.class)
-@Suite.SuiteClasses({ ConfigParserHandlerTest.class, AllInputsTests.class })
+@Suite.SuiteClasses({ ConfigParserHandlerTest.class, AllInputsTests.class, ActivityExcelRowValuesParserTest.class })
 public class AllMsOfficeStreamTests {
 }
@@ -24,6 +24,6 @@ import org.junit.runners.Suite;
  * @version 1.0
  */
 @RunWith(Suite.class)
-@Suite.SuiteClasses({ ExcelStreamTest.class, ExcelSXSSFRowStreamTest.class })
+@Suite.SuiteClasses({ ExcelStreamTest.class, ExcelSXSSFRowStreamTest.class, ExcelSAXRowStreamTest.class })
 public class AllInputsTests {
 }
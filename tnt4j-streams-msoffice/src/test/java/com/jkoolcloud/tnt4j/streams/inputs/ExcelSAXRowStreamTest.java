@@ -0,0 +1,135 @@
+/*
+ * Copyright 2014-2023 JKOOL, LLC.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.jkoolcloud.tnt4j.streams.inputs;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+import java.io.File;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.commons.lang3.SerializationUtils;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+
+import com.jkoolcloud.tnt4j.streams.configure.MsOfficeStreamProperties;
+import com.jkoolcloud.tnt4j.streams.configure.StreamProperties;
+import com.jkoolcloud.tnt4j.streams.fields.ActivityField;
+import com.jkoolcloud.tnt4j.streams.fields.ActivityFieldLocator;
+import com.jkoolcloud.tnt4j.streams.fields.ActivityFieldLocatorType;
+import com.jkoolcloud.tnt4j.streams.parsers.ActivityExcelRowValuesParser;
+import com.jkoolcloud.tnt4j.streams.utils.ExcelRowValues;
+
+/**
+ * @author akausinis
+ * @version 1.0
+ */
+public class ExcelSAXRowStreamTest {
+	private static final String SAMPLE_FILE = "./samples/xlsx-rows/sample.xlsx"; // NON-NLS
+
+	@Test
+	public void testAllSheets() throws Exception {
+		ExcelSAXRowStream stream = makeStream("Sheet*", null, null); // NON-NLS
+
+		stream.readXLSX(new File(SAMPLE_FILE));
+		verify(stream, times(30)).addInputToBuffer(any(ExcelRowValues.class));
+		assertEquals(30, stream.getTotalActivities());
+	}
+
+	@Test
+	public void testParallelSheetsRange() throws Exception {
+		ExcelSAXRowStream stream = makeStream("Sheet*", "2:5", "3"); // NON-NLS
+
+		stream.readXLSX(new File(SAMPLE_FILE));
+		verify(stream, times(12)).addInputToBuffer(any(ExcelRowValues.class));
+	}
+
+	@Test
+	public void testReferencedColumnsOnly() throws Exception {
+		ExcelSAXRowStream stream = makeStream("Sheet1", "1:2", null); // NON-NLS
+		stream.addParser(makeParser("A", "C")); // NON-NLS
+
+		ExcelRowValues row = readSecondRow(stream);
+		assertEquals("Sheet1", row.getSheetName()); // NON-NLS
+		assertEquals(1, row.getRowNum());
+		assertEquals(3, row.getColumnsCount());
+		assertEquals("12 Jul 2010 12:44:23", row.getValue(0)); // NON-NLS
+		assertNull(row.getValue(1));
+		assertEquals(10983.0, row.getValue(2));
+		assertNull(row.getValue(7));
+
+		ExcelRowValues spilledRow = SerializationUtils.roundtrip(row);
+		assertEquals(row.toString(), spilledRow.toString());
+	}
+
+	@Test
+	public void testCompleteDataLocatorReadsAllColumns() throws Exception {
+		ExcelSAXRowStream stream = makeStream("Sheet1", "1:2", null); // NON-NLS
+		stream.addParser(makeParser("A", "$DATA$")); // NON-NLS
+
+		ExcelRowValues row = readSecondRow(stream);
+		assertEquals(8, row.getColumnsCount());
+		assertEquals("12 Jul 2010 12:44:23", row.getValue(0)); // NON-NLS
+		assertEquals("111.222.123.210", row.getValue(1)); // NON-NLS
+		assertEquals(10983.0, row.getValue(2));
+	}
+
+	private static ExcelRowValues readSecondRow(ExcelSAXRowStream stream) throws Exception {
+		stream.readXLSX(new File(SAMPLE_FILE));
+		ArgumentCaptor<ExcelRowValues> rows = ArgumentCaptor.forClass(ExcelRowValues.class);
+		verify(stream, times(2)).addInputToBuffer(rows.capture());
+
+		List<ExcelRowValues> rowValues = rows.getAllValues();
+		return rowValues.get(1);
+	}
+
+	private static ActivityExcelRowValuesParser makeParser(String... locators) {
+		ActivityExcelRowValuesParser parser = new ActivityExcelRowValuesParser();
+		for (int i = 0; i < locators.length; i++) {
+			ActivityField field = new ActivityField("Field" + i); // NON-NLS
+			field.addLocator(new ActivityFieldLocator(ActivityFieldLocatorType.Label, locators[i]));
+			parser.addField(field);
+		}
+		return parser;
+	}
+
+	private static ExcelSAXRowStream makeStream(String sheets, String range, String parallelSheets)
+			throws Exception {
+		ExcelSAXRowStream stream = spy(new ExcelSAXRowStream());
+
+		Map<String, String> props = new HashMap<>(4);
+		props.put(StreamProperties.PROP_FILENAME, SAMPLE_FILE);
+		props.put(MsOfficeStreamProperties.PROP_SHEETS, sheets);
+		if (range != null) {
+			props.put(StreamProperties.PROP_RANGE_TO_STREAM, range);
+		}
+		if (parallelSheets != null) {
+			props.put(MsOfficeStreamProperties.PROP_PARALLEL_SHEETS, parallelSheets);
+		}
+
+		stream.setProperties(props.entrySet());
+		stream.applyProperties();
+
+		doReturn(true).when(stream).addInputToBuffer(any(ExcelRowValues.class));
+
+		return stream;
+	}
+}
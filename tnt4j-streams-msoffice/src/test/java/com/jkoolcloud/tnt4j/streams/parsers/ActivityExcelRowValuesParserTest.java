@@ -0,0 +1,122 @@
+/*
+ * Copyright 2014-2023 JKOOL, LLC.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.jkoolcloud.tnt4j.streams.parsers;
+
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.mock;
+
+import java.text.ParseException;
+import java.util.BitSet;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import com.jkoolcloud.tnt4j.streams.fields.ActivityField;
+import com.jkoolcloud.tnt4j.streams.fields.ActivityFieldLocator;
+import com.jkoolcloud.tnt4j.streams.fields.ActivityFieldLocatorType;
+import com.jkoolcloud.tnt4j.streams.inputs.TNTInputStream;
+import com.jkoolcloud.tnt4j.streams.utils.ExcelRowValues;
+
+/**
+ * @author akausinis
+ * @version 1.0
+ */
+public class ActivityExcelRowValuesParserTest {
+
+	private ActivityExcelRowValuesParser parser;
+
+	@Before
+	public void prepare() {
+		parser = new ActivityExcelRowValuesParser();
+	}
+
+	@Test
+	public void testReferencedColumns() {
+		addField("Name", ActivityFieldLocatorType.Label, "A"); // NON-NLS
+		addField("Value", ActivityFieldLocatorType.Label, "C"); // NON-NLS
+		addField("Comment", ActivityFieldLocatorType.Label, "AB"); // NON-NLS
+		addField("Source", ActivityFieldLocatorType.StreamProp, "D"); // NON-NLS
+
+		BitSet columns = parser.getReferencedColumns();
+		assertNotNull(columns);
+		assertEquals(3, columns.cardinality());
+		assertTrue(columns.get(0));
+		assertTrue(columns.get(2));
+		assertTrue(columns.get(27));
+	}
+
+	@Test
+	public void testReferencedColumnsDynamicLocator() {
+		addField("Name", ActivityFieldLocatorType.Label, "A"); // NON-NLS
+		addField("Value", ActivityFieldLocatorType.Label, "${ValueColumn}"); // NON-NLS
+
+		assertNull(parser.getReferencedColumns());
+	}
+
+	@Test
+	public void testReferencedColumnsCompleteData() {
+		addField("Name", ActivityFieldLocatorType.Label, "A"); // NON-NLS
+		addField("Row", ActivityFieldLocatorType.Label, "$DATA$"); // NON-NLS
+
+		assertNull(parser.getReferencedColumns());
+	}
+
+	@Test
+	public void testReferencedColumnsNonLabelLocator() {
+		addField("Name", ActivityFieldLocatorType.Label, "A"); // NON-NLS
+		addField("Value", ActivityFieldLocatorType.Index, "3"); // NON-NLS
+
+		assertNull(parser.getReferencedColumns());
+	}
+
+	@Test
+	public void testResolveLocatorValue() throws Exception {
+		ExcelRowValues row = new ExcelRowValues("Sheet1", 3, new Object[] { "TEST", 10983.0, null, true }); // NON-NLS
+		GenericActivityParser<ExcelRowValues>.ActivityContext cData = parser.new ActivityContext(
+				mock(TNTInputStream.class), null, row);
+		AtomicBoolean formattingNeeded = new AtomicBoolean(true);
+
+		assertEquals("TEST", resolveValue("A", cData, formattingNeeded)); // NON-NLS
+		assertEquals(10983.0, resolveValue("B", cData, formattingNeeded)); // NON-NLS
+		assertNull(resolveValue("C", cData, formattingNeeded)); // NON-NLS
+		assertEquals(true, resolveValue("D", cData, formattingNeeded)); // NON-NLS
+		assertNull(resolveValue("Z", cData, formattingNeeded)); // NON-NLS
+		assertNull(resolveValue("", cData, formattingNeeded));
+	}
+
+	@Test(expected = ParseException.class)
+	public void testResolveLocatorValueInvalidReference() throws Exception {
+		ExcelRowValues row = new ExcelRowValues("Sheet1", 3, new Object[] { "TEST" }); // NON-NLS
+		GenericActivityParser<ExcelRowValues>.ActivityContext cData = parser.new ActivityContext(
+				mock(TNTInputStream.class), null, row);
+
+		resolveValue("@", cData, new AtomicBoolean(true)); // NON-NLS
+	}
+
+	private void addField(String name, ActivityFieldLocatorType locatorType, String locator) {
+		ActivityField field = new ActivityField(name);
+		field.addLocator(new ActivityFieldLocator(locatorType, locator));
+		parser.addField(field);
+	}
+
+	private Object resolveValue(String locator, GenericActivityParser<ExcelRowValues>.ActivityContext cData,
+			AtomicBoolean formattingNeeded) throws ParseException {
+		return parser.resolveLocatorValue(new ActivityFieldLocator(ActivityFieldLocatorType.Label, locator), cData,
+				formattingNeeded);
+	}
+}
@@ -0,0 +1,362 @@
+/*
+ * Copyright 2014-2023 JKOOL, LLC.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.jkoolcloud.tnt4j.streams.inputs;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.apache.hc.core5.http.*;
+import org.apache.hc.core5.http.io.entity.EntityUtils;
+import org.apache.hc.core5.http.protocol.HttpContext;
+
+import com.jkoolcloud.tnt4j.core.OpLevel;
+import com.jkoolcloud.tnt4j.sink.EventSink;
+import com.jkoolcloud.tnt4j.streams.configure.PrometheusStreamProperties;
+import com.jkoolcloud.tnt4j.streams.utils.*;
+
+import prometheus.Remote;
+import prometheus.Types;
+
+/**
+ * Implements Prometheus Remote-Write protocol receiving activity stream. Stream runs Http server accepting snappy
+ * (block format) compressed protobuf {@link prometheus.Remote.WriteRequest} request bodies.
+ * <p>
+ * Request body is read into pooled heap buffer, decompressed into pooled direct buffer and
+ * {@link prometheus.Remote.WriteRequest} is parsed straight from that buffer, so no intermediate byte arrays are
+ * produced. When stream input buffer is saturated, request is rejected with HTTP status {@code 429 Too Many Requests}
+ * before decoding, so Prometheus backs off and retries it later.
+ * <p>
+ * This activity stream requires parsers that can support {@link Map} data. On message reception message data is packed
+ * into {@link Map} filling these entries:
+ * <ul>
+ * <li>ActivityData - parsed {@link prometheus.Remote.WriteRequest} instance.</li>
+ * <li>ActivityTransport - activity transport definition: {@value StreamsConstants#TRANSPORT_HTTP}.</li>
+ * <li>Headers - HTTP request headers map.</li>
+ * <li>Line - HTTP request metadata values map.</li>
+ * <li>Entity - HTTP request entity metadata values map.</li>
+ * </ul>
+ * Use {@link com.jkoolcloud.tnt4j.streams.preparsers.PrometheusRWToMapPreParser} or
+ * {@link com.jkoolcloud.tnt4j.streams.preparsers.PrometheusRWToSamplesPreParser} to convert
+ * {@link prometheus.Remote.WriteRequest} to string keyed map.
+ * <p>
+ * This activity stream supports the following configuration properties (in addition to those supported by
+ * {@link HttpStream}):
+ * <ul>
+ * <li>MaxRequestSize - maximal compressed and uncompressed request body size in bytes. Larger requests are rejected
+ * with HTTP status {@code 413 Content Too Large}. Default value - {@code 33554432} (32MB). (Optional)</li>
+ * <li>DecodeBuffersPoolSize - maximal number of pooled request decoding buffers. Default value - {@code 16}.
+ * (Optional)</li>
+ * <li>RetryAfter - value of {@code Retry-After} header (in seconds) set for rejected {@code 429} responses. Default
+ * value - {@code 5}. (Optional)</li>
+ * </ul>
+ *
+ * @version $Revision: 2 $
+ *
+ * @see com.jkoolcloud.tnt4j.streams.utils.SnappyBlockDecoder
+ */
+public class PrometheusRemoteWriteStream extends HttpStream {
+	private static final EventSink LOGGER = LoggerUtils.getLoggerSink(PrometheusRemoteWriteStream.class);
+
+	private static final int DEFAULT_MAX_REQUEST_SIZE = 32 * 1024 * 1024;
+	private static final int DEFAULT_POOL_SIZE = 16;
+
+	private int maxRequestSize = DEFAULT_MAX_REQUEST_SIZE;
+	private int decodeBuffersPoolSize = DEFAULT_POOL_SIZE;
+	private int retryAfter = 5;
+
+	private RequestDecoder decoder;
+
+	/**
+	 * Constructs an empty PrometheusRemoteWriteStream. Requires configuration settings to set input stream source.
+	 */
+	public PrometheusRemoteWriteStream() {
+		super();
+	}
+
+	@Override
+	protected EventSink logger() {
+		return LOGGER;
+	}
+
+	@Override
+	public void setProperty(String name, String value) {
+		super.setProperty(name, value);
+
+		if (PrometheusStreamProperties.PROP_MAX_REQUEST_SIZE.equalsIgnoreCase(name)) {
+			maxRequestSize = Integer.parseInt(value);
+		} else if (PrometheusStreamProperties.PROP_DECODE_BUFFERS_POOL_SIZE.equalsIgnoreCase(name)) {
+			decodeBuffersPoolSize = Integer.parseInt(value);
+		} else if (PrometheusStreamProperties.PROP_RETRY_AFTER.equalsIgnoreCase(name)) {
+			retryAfter = Integer.parseInt(value);
+		}
+	}
+
+	@Override
+	public Object getProperty(String name) {
+		if (PrometheusStreamProperties.PROP_MAX_REQUEST_SIZE.equalsIgnoreCase(name)) {
+			return maxRequestSize;
+		}
+		if (PrometheusStreamProperties.PROP_DECODE_BUFFERS_POOL_SIZE.equalsIgnoreCase(name)) {
+			return decodeBuffersPoolSize;
+		}
+		if (PrometheusStreamProperties.PROP_RETRY_AFTER.equalsIgnoreCase(name)) {
+			return retryAfter;
+		}
+
+		return super.getProperty(name);
+	}
+
+	@Override
+	protected void initialize() throws Exception {
+		decoder = new RequestDecoder(decodeBuffersPoolSize, maxRequestSize);
+
+		super.initialize();
+	}
+
+	@Override
+	protected HttpStreamRequestHandler createHandler() throws Exception {
+		return new RemoteWriteRequestHandler();
+	}
+
+	@Override
+	protected long getActivityItemByteSize(Map<String, ?> itemMap) {
+		Object payload = itemMap.get(StreamsConstants.ACTIVITY_DATA_KEY);
+
+		if (payload instanceof Remote.WriteRequest) {
+			return ((Remote.WriteRequest) payload).getSerializedSize();
+		}
+
+		return super.getActivityItemByteSize(itemMap);
+	}
+
+	/**
+	 * Checks whether stream input buffer has no free space left.
+	 *
+	 * @return {@code true} if input buffer is full, {@code false} - otherwise
+	 */
+	protected boolean isBufferSaturated() {
+		return inputBuffer != null && inputBuffer.remainingCapacity() == 0;
+	}
+
+	/**
+	 * Handles Prometheus Remote-Write requests received by stream run Http server.
+	 */
+	protected class RemoteWriteRequestHandler extends HttpStreamRequestHandler {
+
+		@Override
+		public void handle(ClassicHttpRequest request, ClassicHttpResponse response, HttpContext context)
+				throws HttpException, IOException {
+			HttpEntity reqEntity = request.getEntity();
+			if (reqEntity == null) {
+				respond(response, HttpStatus.SC_NO_CONTENT, OpLevel.DEBUG,
+						StreamsResources.getString(StreamsResources.RESOURCE_BUNDLE_NAME, "HttpStream.no.activity"));
+				return;
+			}
+
+			try {
+				if (isBufferSaturated()) {
+					response.setHeader(HttpHeaders.RETRY_AFTER, retryAfter);
+					respond(response, HttpStatus.SC_TOO_MANY_REQUESTS, OpLevel.WARNING,
+							StreamsResources.getString(PrometheusStreamConstants.RESOURCE_BUNDLE_NAME,
+									"PrometheusRemoteWriteStream.buffer.saturated"));
+					return;
+				}
+
+				Remote.WriteRequest writeRequest;
+				try (InputStream is = reqEntity.getContent()) {
+					writeRequest = decoder.decode(is, reqEntity.getContentLength());
+				} catch (RequestTooLargeException exc) {
+					respond(response, HttpStatus.SC_REQUEST_TOO_LONG, OpLevel.WARNING, exc.getMessage());
+					return;
+				} catch (IOException exc) {
+					respond(response, HttpStatus.SC_BAD_REQUEST, OpLevel.ERROR,
+							StreamsResources.getStringFormatted(PrometheusStreamConstants.RESOURCE_BUNDLE_NAME,
+									"PrometheusRemoteWriteStream.decode.failed", exc.getLocalizedMessage()));
+					return;
+				}
+
+				Map<String, Object> reqMap = new HashMap<>();
+				reqMap.put(StreamsConstants.ACTIVITY_DATA_KEY, writeRequest);
+				collectRequestMetadata(request, reqEntity, reqMap);
+				reqMap.put(StreamsConstants.TRANSPORT_KEY, StreamsConstants.TRANSPORT_HTTP);
+
+				if (addInputToBuffer(reqMap)) {
+					logger().log(OpLevel.DEBUG,
+							StreamsResources.getBundle(PrometheusStreamConstants.RESOURCE_BUNDLE_NAME),
+							"PrometheusRemoteWriteStream.received", writeRequest.getTimeseriesCount(),
+							countSamples(writeRequest));
+					response.setCode(HttpStatus.SC_NO_CONTENT);
+				} else {
+					response.setHeader(HttpHeaders.RETRY_AFTER, retryAfter);
+					respond(response, HttpStatus.SC_TOO_MANY_REQUESTS, OpLevel.WARNING,
+							StreamsResources.getString(StreamsResources.RESOURCE_BUNDLE_NAME,
+									"HttpStream.activities.buffer.size.limit"));
+				}
+			} finally {
+				EntityUtils.consumeQuietly(reqEntity);
+				reqEntity.close();
+			}
+		}
+
+		private void respond(ClassicHttpResponse response, int code, OpLevel level, String msg) {
+			response.setCode(code);
+			response.setEntity(createHtmlStringEntity(msg));
+			logger().log(level, msg);
+		}
+	}
+
+	private static int countSamples(Remote.WriteRequest writeRequest) {
+		int count = 0;
+		for (Types.TimeSeries ts : writeRequest.getTimeseriesList()) {
+			count += ts.getSamplesCount();
+		}
+		return count;
+	}
+
+	/**
+	 * Decodes snappy compressed Prometheus Remote-Write request bodies using pooled buffers.
+	 */
+	public static class RequestDecoder {
+		private static final int DEFAULT_READ_SIZE = 64 * 1024;
+
+		private final ByteBufferPool inputBuffers;
+		private final ByteBufferPool decodeBuffers;
+		private final int maxRequestSize;
+
+		/**
+		 * Constructs a new RequestDecoder.
+		 *
+		 * @param poolSize
+		 *            maximal number of pooled buffers of each kind
+		 * @param maxRequestSize
+		 *            maximal compressed and uncompressed request body size in bytes
+		 */
+		public RequestDecoder(int poolSize, int maxRequestSize) {
+			this.inputBuffers = new ByteBufferPool(poolSize, false);
+			this.decodeBuffers = new ByteBufferPool(poolSize, true);
+			this.maxRequestSize = maxRequestSize;
+		}
+
+		/**
+		 * Returns pool of buffers used to read compressed request bodies.
+		 *
+		 * @return compressed input buffers pool
+		 */
+		ByteBufferPool getInputBuffers() {
+			return inputBuffers;
+		}
+
+		/**
+		 * Reads snappy compressed request body from provided input stream, decompresses it and parses
+		 * {@link prometheus.Remote.WriteRequest}.
+		 *
+		 * @param is
+		 *            request body input stream
+		 * @param contentLength
+		 *            request body length, or negative value if unknown
+		 * @return parsed remote-write request
+		 *
+		 * @throws RequestTooLargeException
+		 *             if compressed or uncompressed request size exceeds configured limit
+		 * @throws IOException
+		 *             if request body can't be read, decompressed or parsed
+		 */
+		public Remote.WriteRequest decode(InputStream is, long contentLength) throws IOException {
+			checkSize(contentLength);
+
+			ByteBuffer compressed = readFully(is,
+					inputBuffers.acquire(contentLength < 0 ? DEFAULT_READ_SIZE : (int) contentLength));
+			ByteBuffer uncompressed = null;
+			try {
+				compressed.flip();
+
+				int uncompressedLength = SnappyBlockDecoder.readUncompressedLength(compressed);
+				checkSize(uncompressedLength);
+				uncompressed = decodeBuffers.acquire(uncompressedLength);
+				SnappyBlockDecoder.decompress(compressed, uncompressed, uncompressedLength);
+				uncompressed.flip();
+
+				return Remote.WriteRequest.parseFrom(uncompressed);
+			} finally {
+				inputBuffers.release(compressed);
+				decodeBuffers.release(uncompressed);
+			}
+		}
+
+		/**
+		 * Reads input stream into provided buffer, growing it if needed. Buffer returned may differ from provided one,
+		 * since provided buffer gets released to pool when it is grown. If reading fails, current buffer is released
+		 * to pool too.
+		 */
+		private ByteBuffer readFully(InputStream is, ByteBuffer buffer) throws IOException {
+			try {
+				while (true) {
+					if (!buffer.hasRemaining()) {
+						int next = is.read();
+						if (next < 0) {
+							return buffer;
+						}
+						checkSize(buffer.capacity() + 1L);
+						ByteBuffer grown = inputBuffers
+								.acquire((int) Math.min(buffer.capacity() * 2L, maxRequestSize));
+						buffer.flip();
+						grown.put(buffer);
+						grown.put((byte) next);
+						inputBuffers.release(buffer);
+						buffer = grown;
+					}
+					int read = is.read(buffer.array(), buffer.arrayOffset() + buffer.position(), buffer.remaining());
+					if (read < 0) {
+						return buffer;
+					}
+					buffer.position(buffer.position() + read);
+				}
+			} catch (IOException | RuntimeException exc) {
+				inputBuffers.release(buffer);
+				throw exc;
+			}
+		}
+
+		private void checkSize(long size) throws RequestTooLargeException {
+			if (size > maxRequestSize) {
+				throw new RequestTooLargeException(StreamsResources.getStringFormatted(
+						PrometheusStreamConstants.RESOURCE_BUNDLE_NAME,
+						"PrometheusRemoteWriteStream.request.too.large", size, maxRequestSize));
+			}
+		}
+	}
+
+	/**
+	 * Signals that remote-write request size exceeds configured limit.
+	 */
+	public static class RequestTooLargeException extends IOException {
+		private static final long serialVersionUID = -3126371590283746719L;
+
+		/**
+		 * Constructs a new RequestTooLargeException.
+		 *
+		 * @param message
+		 *            exception message
+		 */
+		public RequestTooLargeException(String message) {
+			super(message);
+		}
+	}
+}
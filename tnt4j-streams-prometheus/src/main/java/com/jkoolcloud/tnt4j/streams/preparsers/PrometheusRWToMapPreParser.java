@@ -23,18 +23,18 @@ import org.apache.commons.lang3.StringUtils;
 
 import com.google.common.cache.Cache;
 import com.google.common.cache.CacheBuilder;
-import com.jkoolcloud.tnt4j.streams.utils.Utils;
 
 import prometheus.Remote;
 import prometheus.Types;
 
 /**
  * RAW activity data pre-parser capable to deserialize incoming activity data from binary data {@code byte[]} of
- * Prometheus Remote-Write protobuf message to string keyed map.
+ * Prometheus Remote-Write protobuf message, or already parsed {@link prometheus.Remote.WriteRequest} message, to string
+ * keyed map.
  *
- * @version $Revision: 1 $
+ * @version $Revision: 2 $
  */
-public class PrometheusRWToMapPreParser extends AbstractPreParser<byte[], Map<String, ?>> {
+public class PrometheusRWToMapPreParser extends AbstractPreParser<Object, Map<String, ?>> {
 
 	private final Cache<String, Object> metaDataCache = CacheBuilder.newBuilder().maximumSize(10000)
 			.expireAfterAccess(60, TimeUnit.MINUTES).build();
@@ -45,31 +45,20 @@ public class PrometheusRWToMapPreParser extends AbstractPreParser<byte[], Map<St
 	 * This pre-parser supports the following class types (and all classes extending/implementing any of these):
 	 * <ul>
 	 * <li>{@code byte[]}</li>
+	 * <li>{@link prometheus.Remote.WriteRequest}</li>
 	 * </ul>
 	 */
 	@Override
 	public boolean isDataClassSupported(Object data) {
-		return data instanceof byte[];
+		return data instanceof byte[] || data instanceof Remote.WriteRequest;
 	}
 
 	@Override
 	@SuppressWarnings("unchecked")
-	public Map<String, Object> preParse(byte[] data) throws Exception {
-		Remote.WriteRequest writeRequest = Remote.WriteRequest.parseFrom(data);
+	public Map<String, Object> preParse(Object data) throws Exception {
+		Remote.WriteRequest writeRequest = toWriteRequest(data);
 
-		if (writeRequest.getMetadataCount() > 0) {
-			List<Types.MetricMetadata> metadataList = writeRequest.getMetadataList();
-			for (Types.MetricMetadata md : metadataList) {
-				Map<String, Object> mdMap = new LinkedHashMap<>(5);
-				metaDataCache.put(md.getMetricFamilyName(), mdMap); // NON-NLS
-
-				mdMap.put("help", md.getHelp()); // NON-NLS
-				mdMap.put("unit", md.getUnit()); // NON-NLS
-				mdMap.put("family", md.getMetricFamilyName()); // NON-NLS
-				mdMap.put("type", md.getType().name()); // NON-NLS
-				mdMap.put("typeNumber", md.getType().getNumber()); // NON-NLS
-			}
-		}
+		cacheMetadata(writeRequest);
 
 		Map<String, Object> reqMap = null;
 
@@ -99,12 +88,7 @@ public class PrometheusRWToMapPreParser extends AbstractPreParser<byte[], Map<St
 
 					List<Types.Exemplar> exemplarsList = ts.getExemplarsList();
 					for (Types.Exemplar e : exemplarsList) {
-						Map<String, Object> exemplarMap = new LinkedHashMap<>();
-						if (e.getLabelsCount() > 0) {
-							labelsToMap(e.getLabelsList(), exemplarMap);
-						}
-						exemplarMap.put("timestamp", e.getTimestamp()); // NON-NLS
-						exemplarMap.put("value", e.getValue()); // NON-NLS
+						Map<String, Object> exemplarMap = exemplarToMap(e);
 
 						tsExemplarsMap.put(String.valueOf(e.getTimestamp()), exemplarMap);
 					}
@@ -116,53 +100,7 @@ public class PrometheusRWToMapPreParser extends AbstractPreParser<byte[], Map<St
 
 					List<Types.Histogram> histogramsList = ts.getHistogramsList();
 					for (Types.Histogram h : histogramsList) {
-						Map<String, Object> histogramMap = new LinkedHashMap<>();
-
-						histogramMap.put("countCase", h.getCountCase().name()); // NON-NLS
-						histogramMap.put("countCaseNumber", h.getCountCase().getNumber()); // NON-NLS
-						if (h.hasCountFloat()) {
-							histogramMap.put("count", h.getCountFloat()); // NON-NLS
-						}
-						if (h.hasCountInt()) {
-							histogramMap.put("count", h.getCountInt()); // NON-NLS
-						}
-						if (h.getNegativeCountsCount() > 0) {
-							histogramMap.put("negativeCounts", h.getNegativeCountsList().toArray(new Double[0])); // NON-NLS
-						}
-						if (h.getNegativeDeltasCount() > 0) {
-							histogramMap.put("negativeDeltas", h.getNegativeDeltasList().toArray(new Long[0])); // NON-NLS
-						}
-						if (h.getNegativeSpansCount() > 0) {
-							Map<String, Object> spansMap = new LinkedHashMap<>();
-							tsMap.put("negativeSpans", spansMap); // NON-NLS
-
-							spansToMap(h.getNegativeSpansList(), spansMap);
-						}
-						if (h.getPositiveCountsCount() > 0) {
-							histogramMap.put("positiveCounts", h.getPositiveCountsList().toArray(new Double[0])); // NON-NLS
-						}
-						if (h.getPositiveDeltasCount() > 0) {
-							histogramMap.put("positiveDeltas", h.getPositiveDeltasList().toArray(new Long[0])); // NON-NLS
-						}
-						if (h.getPositiveSpansCount() > 0) {
-							Map<String, Object> spansMap = new LinkedHashMap<>();
-							tsMap.put("positiveSpans", spansMap); // NON-NLS
-
-							spansToMap(h.getPositiveSpansList(), spansMap);
-						}
-						histogramMap.put("resetHint", h.getResetHint().name()); // NON-NLS
-						histogramMap.put("resetHintValue", h.getResetHintValue()); // NON-NLS
-						histogramMap.put("schema", h.getSchema()); // NON-NLS
-						histogramMap.put("sum", h.getSum()); // NON-NLS
-						histogramMap.put("timestamp", h.getTimestamp()); // NON-NLS
-						histogramMap.put("zeroCountCase", h.getZeroCountCase().name()); // NON-NLS
-						if (h.hasZeroCountFloat()) {
-							histogramMap.put("zeroCount", h.getZeroCountFloat()); // NON-NLS
-						}
-						if (h.hasZeroCountInt()) {
-							histogramMap.put("zeroCount", h.getZeroCountInt()); // NON-NLS
-						}
-						histogramMap.put("zeroThreshold", h.getZeroThreshold()); // NON-NLS
+						Map<String, Object> histogramMap = histogramToMap(h);
 
 						tsHistogramsMap.put(String.valueOf(h.getTimestamp()), histogramMap);
 					}
@@ -171,7 +109,7 @@ public class PrometheusRWToMapPreParser extends AbstractPreParser<byte[], Map<St
 				Map<String, Object> eMap = (Map<String, Object>) tsMap.get("labels"); // NON-NLS
 				String tsName = eMap == null ? null : (String) eMap.get("__name__"); // NON-NLS
 
-				eMap = StringUtils.isEmpty(tsName) ? null : (Map<String, Object>) metaDataCache.getIfPresent(tsName);
+				eMap = getMetadata(tsName);
 				if (eMap != null) {
 					tsMap.put("metadata", eMap); // NON-NLS
 				}
@@ -188,7 +126,7 @@ public class PrometheusRWToMapPreParser extends AbstractPreParser<byte[], Map<St
 				Map<String, ?> histogramsMap = (Map<String, ?>) tsMap.get("histograms"); // NON-NLS
 				if (samplesMap != null) {
 					for (Map.Entry<String, ?> se : samplesMap.entrySet()) {
-						Map<String, Object> tscMap = samplesMap.size() > 1 ? Utils.copyMap(tsMap) : tsMap;
+						Map<String, Object> tscMap = samplesMap.size() > 1 ? new LinkedHashMap<>(tsMap) : tsMap;
 						tscMap.put("samples", se.getValue()); // NON-NLS
 
 						if (exemplarsMap != null) {
@@ -215,7 +153,144 @@ public class PrometheusRWToMapPreParser extends AbstractPreParser<byte[], Map<St
 		return reqMap;
 	}
 
-	private static void labelsToMap(List<Types.Label> labels, Map<String, Object> map) {
+	/**
+	 * Converts provided data to Remote-Write request: binary data is parsed, request instance is returned as is.
+	 *
+	 * @param data
+	 *            binary data or Remote-Write request instance
+	 * @return Remote-Write request
+	 *
+	 * @throws Exception
+	 *             if binary data can't be parsed as Remote-Write request
+	 */
+	protected static Remote.WriteRequest toWriteRequest(Object data) throws Exception {
+		if (data instanceof Remote.WriteRequest) {
+			return (Remote.WriteRequest) data;
+		}
+
+		return Remote.WriteRequest.parseFrom((byte[]) data);
+	}
+
+	/**
+	 * Puts Remote-Write request provided metrics metadata into metadata cache.
+	 *
+	 * @param writeRequest
+	 *            Remote-Write request
+	 */
+	protected void cacheMetadata(Remote.WriteRequest writeRequest) {
+		if (writeRequest.getMetadataCount() > 0) {
+			List<Types.MetricMetadata> metadataList = writeRequest.getMetadataList();
+			for (Types.MetricMetadata md : metadataList) {
+				Map<String, Object> mdMap = new LinkedHashMap<>(5);
+				metaDataCache.put(md.getMetricFamilyName(), mdMap); // NON-NLS
+
+				mdMap.put("help", md.getHelp()); // NON-NLS
+				mdMap.put("unit", md.getUnit()); // NON-NLS
+				mdMap.put("family", md.getMetricFamilyName()); // NON-NLS
+				mdMap.put("type", md.getType().name()); // NON-NLS
+				mdMap.put("typeNumber", md.getType().getNumber()); // NON-NLS
+			}
+		}
+	}
+
+	/**
+	 * Returns cached metrics metadata map for provided metric family name.
+	 *
+	 * @param metricName
+	 *            metric family name
+	 * @return metrics metadata map, or {@code null} if metadata for that metric is not cached
+	 */
+	@SuppressWarnings("unchecked")
+	protected Map<String, Object> getMetadata(String metricName) {
+		return StringUtils.isEmpty(metricName) ? null : (Map<String, Object>) metaDataCache.getIfPresent(metricName);
+	}
+
+	/**
+	 * Converts exemplar to string keyed map.
+	 *
+	 * @param e
+	 *            exemplar to convert
+	 * @return exemplar values map
+	 */
+	protected static Map<String, Object> exemplarToMap(Types.Exemplar e) {
+		Map<String, Object> exemplarMap = new LinkedHashMap<>();
+		if (e.getLabelsCount() > 0) {
+			labelsToMap(e.getLabelsList(), exemplarMap);
+		}
+		exemplarMap.put("timestamp", e.getTimestamp()); // NON-NLS
+		exemplarMap.put("value", e.getValue()); // NON-NLS
+
+		return exemplarMap;
+	}
+
+	/**
+	 * Converts histogram to string keyed map.
+	 *
+	 * @param h
+	 *            histogram to convert
+	 * @return histogram values map
+	 */
+	protected static Map<String, Object> histogramToMap(Types.Histogram h) {
+		Map<String, Object> histogramMap = new LinkedHashMap<>();
+
+		histogramMap.put("countCase", h.getCountCase().name()); // NON-NLS
+		histogramMap.put("countCaseNumber", h.getCountCase().getNumber()); // NON-NLS
+		if (h.hasCountFloat()) {
+			histogramMap.put("count", h.getCountFloat()); // NON-NLS
+		}
+		if (h.hasCountInt()) {
+			histogramMap.put("count", h.getCountInt()); // NON-NLS
+		}
+		if (h.getNegativeCountsCount() > 0) {
+			histogramMap.put("negativeCounts", h.getNegativeCountsList().toArray(new Double[0])); // NON-NLS
+		}
+		if (h.getNegativeDeltasCount() > 0) {
+			histogramMap.put("negativeDeltas", h.getNegativeDeltasList().toArray(new Long[0])); // NON-NLS
+		}
+		if (h.getNegativeSpansCount() > 0) {
+			Map<String, Object> spansMap = new LinkedHashMap<>();
+			histogramMap.put("negativeSpans", spansMap); // NON-NLS
+
+			spansToMap(h.getNegativeSpansList(), spansMap);
+		}
+		if (h.getPositiveCountsCount() > 0) {
+			histogramMap.put("positiveCounts", h.getPositiveCountsList().toArray(new Double[0])); // NON-NLS
+		}
+		if (h.getPositiveDeltasCount() > 0) {
+			histogramMap.put("positiveDeltas", h.getPositiveDeltasList().toArray(new Long[0])); // NON-NLS
+		}
+		if (h.getPositiveSpansCount() > 0) {
+			Map<String, Object> spansMap = new LinkedHashMap<>();
+			histogramMap.put("positiveSpans", spansMap); // NON-NLS
+
+			spansToMap(h.getPositiveSpansList(), spansMap);
+		}
+		histogramMap.put("resetHint", h.getResetHint().name()); // NON-NLS
+		histogramMap.put("resetHintValue", h.getResetHintValue()); // NON-NLS
+		histogramMap.put("schema", h.getSchema()); // NON-NLS
+		histogramMap.put("sum", h.getSum()); // NON-NLS
+		histogramMap.put("timestamp", h.getTimestamp()); // NON-NLS
+		histogramMap.put("zeroCountCase", h.getZeroCountCase().name()); // NON-NLS
+		if (h.hasZeroCountFloat()) {
+			histogramMap.put("zeroCount", h.getZeroCountFloat()); // NON-NLS
+		}
+		if (h.hasZeroCountInt()) {
+			histogramMap.put("zeroCount", h.getZeroCountInt()); // NON-NLS
+		}
+		histogramMap.put("zeroThreshold", h.getZeroThreshold()); // NON-NLS
+
+		return histogramMap;
+	}
+
+	/**
+	 * Puts labels into provided map.
+	 *
+	 * @param labels
+	 *            labels list
+	 * @param map
+	 *            map to put labels into
+	 */
+	protected static void labelsToMap(List<Types.Label> labels, Map<String, Object> map) {
 		for (Types.Label l : labels) {
 			map.put(l.getName(), l.getValue());
 		}
@@ -0,0 +1,122 @@
+/*
+ * Copyright 2014-2023 JKOOL, LLC.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.jkoolcloud.tnt4j.streams.preparsers;
+
+import java.util.*;
+
+import prometheus.Remote;
+import prometheus.Types;
+
+/**
+ * RAW activity data pre-parser capable to deserialize incoming activity data from binary data {@code byte[]} of
+ * Prometheus Remote-Write protobuf message, or already parsed {@link prometheus.Remote.WriteRequest} message, to flat
+ * per-sample view map.
+ * <p>
+ * Produced map has single entry {@value #SAMPLES_KEY} containing list of sample maps. Every sample map contains
+ * entries:
+ * <ul>
+ * <li>{@code name} - time series metric name (label {@code __name__} value)</li>
+ * <li>{@code labels} - time series labels map, shared by all samples of same time series</li>
+ * <li>{@code timestamp} - sample timestamp</li>
+ * <li>{@code value} - sample value</li>
+ * <li>{@code metadata} - metric metadata map, if metric metadata was received</li>
+ * <li>{@code exemplars} - exemplar map having same timestamp as sample, if any</li>
+ * <li>{@code histograms} - histogram map having same timestamp as sample, if any</li>
+ * </ul>
+ * <p>
+ * Time series are iterated directly from Remote-Write request, so no intermediate time series, samples or exemplars
+ * maps are built.
+ *
+ * @version $Revision: 1 $
+ */
+public class PrometheusRWToSamplesPreParser extends PrometheusRWToMapPreParser {
+	/**
+	 * Constant for produced map entry key {@value} containing samples list.
+	 */
+	public static final String SAMPLES_KEY = "samples"; // NON-NLS
+
+	private static final String NAME_LABEL = "__name__"; // NON-NLS
+
+	@Override
+	public Map<String, Object> preParse(Object data) throws Exception {
+		Remote.WriteRequest writeRequest = toWriteRequest(data);
+
+		cacheMetadata(writeRequest);
+
+		if (writeRequest.getTimeseriesCount() == 0) {
+			return null;
+		}
+
+		int samplesCount = 0;
+		for (int i = 0; i < writeRequest.getTimeseriesCount(); i++) {
+			samplesCount += writeRequest.getTimeseries(i).getSamplesCount();
+		}
+
+		List<Map<String, Object>> samples = new ArrayList<>(samplesCount);
+		for (int i = 0; i < writeRequest.getTimeseriesCount(); i++) {
+			Types.TimeSeries ts = writeRequest.getTimeseries(i);
+			if (ts.getSamplesCount() == 0) {
+				continue;
+			}
+
+			Map<String, Object> labels = new LinkedHashMap<>(ts.getLabelsCount() * 2);
+			String tsName = null;
+			for (int li = 0; li < ts.getLabelsCount(); li++) {
+				Types.Label l = ts.getLabels(li);
+				labels.put(l.getName(), l.getValue());
+				if (NAME_LABEL.equals(l.getName())) {
+					tsName = l.getValue();
+				}
+			}
+			Map<String, Object> metadata = getMetadata(tsName);
+
+			for (int si = 0; si < ts.getSamplesCount(); si++) {
+				Types.Sample s = ts.getSamples(si);
+				Map<String, Object> sampleMap = new LinkedHashMap<>(16);
+				sampleMap.put("name", tsName); // NON-NLS
+				sampleMap.put("labels", labels); // NON-NLS
+				sampleMap.put("timestamp", s.getTimestamp()); // NON-NLS
+				sampleMap.put("value", s.getValue()); // NON-NLS
+				if (metadata != null) {
+					sampleMap.put("metadata", metadata); // NON-NLS
+				}
+
+				for (int ei = 0; ei < ts.getExemplarsCount(); ei++) {
+					Types.Exemplar e = ts.getExemplars(ei);
+					if (e.getTimestamp() == s.getTimestamp()) {
+						sampleMap.put("exemplars", exemplarToMap(e)); // NON-NLS
+						break;
+					}
+				}
+				for (int hi = 0; hi < ts.getHistogramsCount(); hi++) {
+					Types.Histogram h = ts.getHistograms(hi);
+					if (h.getTimestamp() == s.getTimestamp()) {
+						sampleMap.put("histograms", histogramToMap(h)); // NON-NLS
+						break;
+					}
+				}
+
+				samples.add(sampleMap);
+			}
+		}
+
+		Map<String, Object> reqMap = new HashMap<>(2);
+		reqMap.put(SAMPLES_KEY, samples);
+
+		return reqMap;
+	}
+}
@@ -0,0 +1,131 @@
+/*
+ * Copyright 2014-2023 JKOOL, LLC.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.jkoolcloud.tnt4j.streams.utils;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Iterator;
+
+/**
+ * Bounded pool of reusable {@link java.nio.ByteBuffer}s. Acquired buffer capacity is at least of requested size:
+ * smallest pooled buffer large enough is reused, otherwise new buffer is allocated and pooled buffers are left for
+ * later requests. Released buffers are pooled while pool is not full, otherwise released buffer replaces smallest
+ * pooled buffer if it is larger, so pool keeps buffers of largest seen capacities. Buffer already pooled is not pooled
+ * second time, so it can't be acquired by two users at once.
+ *
+ * @version $Revision: 3 $
+ */
+public class ByteBufferPool {
+	private static final int MIN_BUFFER_SIZE = 8 * 1024;
+
+	private final Deque<ByteBuffer> pool;
+	private final int maxPooled;
+	private final boolean direct;
+
+	/**
+	 * Constructs a new ByteBufferPool.
+	 *
+	 * @param maxPooled
+	 *            maximal number of buffers kept in pool
+	 * @param direct
+	 *            flag indicating whether to allocate direct buffers
+	 */
+	public ByteBufferPool(int maxPooled, boolean direct) {
+		this.maxPooled = Math.max(1, maxPooled);
+		this.pool = new ArrayDeque<>(this.maxPooled);
+		this.direct = direct;
+	}
+
+	/**
+	 * Acquires buffer having capacity of at least {@code minCapacity} bytes. Returned buffer is cleared.
+	 *
+	 * @param minCapacity
+	 *            minimal buffer capacity
+	 * @return buffer instance
+	 */
+	public ByteBuffer acquire(int minCapacity) {
+		ByteBuffer buffer = pollFitting(minCapacity);
+		if (buffer == null) {
+			int capacity = Math.max(minCapacity, MIN_BUFFER_SIZE);
+			buffer = direct ? ByteBuffer.allocateDirect(capacity) : ByteBuffer.allocate(capacity);
+		}
+		buffer.clear();
+		return buffer;
+	}
+
+	private synchronized ByteBuffer pollFitting(int minCapacity) {
+		ByteBuffer fitting = null;
+		for (ByteBuffer buffer : pool) {
+			if (buffer.capacity() >= minCapacity && (fitting == null || buffer.capacity() < fitting.capacity())) {
+				fitting = buffer;
+			}
+		}
+		if (fitting != null) {
+			removePooled(fitting);
+		}
+		return fitting;
+	}
+
+	/**
+	 * Returns buffer back to pool.
+	 *
+	 * @param buffer
+	 *            buffer to return, {@code null} is ignored
+	 */
+	public synchronized void release(ByteBuffer buffer) {
+		if (buffer == null || buffer.isDirect() != direct) {
+			return;
+		}
+
+		ByteBuffer smallest = null;
+		for (ByteBuffer pooled : pool) {
+			if (pooled == buffer) {
+				return;
+			}
+			if (smallest == null || pooled.capacity() < smallest.capacity()) {
+				smallest = pooled;
+			}
+		}
+
+		if (pool.size() < maxPooled) {
+			pool.addLast(buffer);
+		} else if (smallest != null && smallest.capacity() < buffer.capacity()) {
+			removePooled(smallest);
+			pool.addLast(buffer);
+		}
+	}
+
+	private void removePooled(ByteBuffer buffer) {
+		// buffers equality is content based, so pooled buffer is matched by identity
+		for (Iterator<ByteBuffer> it = pool.iterator(); it.hasNext();) {
+			if (it.next() == buffer) {
+				it.remove();
+				return;
+			}
+		}
+	}
+
+	/**
+	 * Returns number of currently pooled buffers.
+	 *
+	 * @return number of pooled buffers
+	 */
+	public synchronized int size() {
+		return pool.size();
+	}
+}
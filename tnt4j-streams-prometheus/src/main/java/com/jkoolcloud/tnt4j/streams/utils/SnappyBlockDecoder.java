@@ -0,0 +1,160 @@
+/*
+ * Copyright 2014-2023 JKOOL, LLC.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.jkoolcloud.tnt4j.streams.utils;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+/**
+ * Decoder of <a href="https://github.com/google/snappy/blob/main/format_description.txt">Snappy block format</a>
+ * (also known as "raw" snappy) compressed data, used by Prometheus Remote-Write protocol. Decoding is performed
+ * between {@link java.nio.ByteBuffer}s, so decompressed data can be written directly into (pooled) direct buffers
+ * without intermediate copies.
+ *
+ * @version $Revision: 1 $
+ */
+public final class SnappyBlockDecoder {
+
+	private SnappyBlockDecoder() {
+	}
+
+	/**
+	 * Reads uncompressed data length from snappy block preamble. Source buffer position is advanced past preamble.
+	 *
+	 * @param src
+	 *            snappy compressed block buffer
+	 * @return uncompressed data length
+	 *
+	 * @throws IOException
+	 *             if preamble is malformed
+	 */
+	public static int readUncompressedLength(ByteBuffer src) throws IOException {
+		int result = 0;
+		for (int shift = 0; shift < 32; shift += 7) {
+			if (!src.hasRemaining()) {
+				throw corrupted("SnappyBlockDecoder.truncated.input"); // NON-NLS
+			}
+			int b = src.get() & 0xFF;
+			result |= (b & 0x7F) << shift;
+			if ((b & 0x80) == 0) {
+				if (result < 0) {
+					throw corrupted("SnappyBlockDecoder.invalid.length"); // NON-NLS
+				}
+				return result;
+			}
+		}
+		throw corrupted("SnappyBlockDecoder.invalid.length"); // NON-NLS
+	}
+
+	/**
+	 * Decompresses snappy block elements from {@code src} buffer into {@code dst} buffer. Source buffer position shall
+	 * be set past block preamble, see {@link #readUncompressedLength(java.nio.ByteBuffer)}. Destination buffer position
+	 * is advanced by number of decompressed bytes.
+	 *
+	 * @param src
+	 *            snappy compressed block buffer
+	 * @param dst
+	 *            buffer to write decompressed data
+	 * @param uncompressedLength
+	 *            uncompressed data length defined by block preamble
+	 *
+	 * @throws IOException
+	 *             if compressed data is malformed or does not fit into destination buffer
+	 */
+	public static void decompress(ByteBuffer src, ByteBuffer dst, int uncompressedLength) throws IOException {
+		if (dst.remaining() < uncompressedLength) {
+			throw corrupted("SnappyBlockDecoder.output.overflow"); // NON-NLS
+		}
+		int outStart = dst.position();
+		int outEnd = outStart + uncompressedLength;
+
+		while (src.hasRemaining()) {
+			int tag = src.get() & 0xFF;
+			int length;
+			int offset;
+			switch (tag & 0x03) {
+			case 0x00: // literal
+				length = tag >>> 2;
+				if (length >= 60) {
+					length = readLittleEndian(src, length - 59);
+				}
+				length++;
+				if (length <= 0 || src.remaining() < length) {
+					throw corrupted("SnappyBlockDecoder.truncated.input"); // NON-NLS
+				}
+				if (dst.position() + length > outEnd) {
+					throw corrupted("SnappyBlockDecoder.output.overflow"); // NON-NLS
+				}
+				ByteBuffer literal = src.duplicate();
+				literal.limit(literal.position() + length);
+				dst.put(literal);
+				src.position(src.position() + length);
+				continue;
+			case 0x01: // copy with 1-byte offset
+				length = 4 + ((tag >>> 2) & 0x07);
+				offset = ((tag >>> 5) << 8) | readLittleEndian(src, 1);
+				break;
+			case 0x02: // copy with 2-byte offset
+				length = 1 + (tag >>> 2);
+				offset = readLittleEndian(src, 2);
+				break;
+			default: // copy with 4-byte offset
+				length = 1 + (tag >>> 2);
+				offset = readLittleEndian(src, 4);
+				break;
+			}
+
+			int pos = dst.position();
+			if (offset <= 0 || offset > pos - outStart) {
+				throw corrupted("SnappyBlockDecoder.invalid.offset"); // NON-NLS
+			}
+			if (pos + length > outEnd) {
+				throw corrupted("SnappyBlockDecoder.output.overflow"); // NON-NLS
+			}
+			int from = pos - offset;
+			if (offset >= length) {
+				ByteBuffer copy = dst.duplicate();
+				copy.limit(from + length).position(from);
+				dst.put(copy);
+			} else {
+				// overlapping copy repeats last offset bytes
+				for (int i = 0; i < length; i++) {
+					dst.put(dst.get(from + i));
+				}
+			}
+		}
+
+		if (dst.position() != outEnd) {
+			throw corrupted("SnappyBlockDecoder.truncated.input"); // NON-NLS
+		}
+	}
+
+	private static int readLittleEndian(ByteBuffer src, int bytes) throws IOException {
+		if (src.remaining() < bytes) {
+			throw corrupted("SnappyBlockDecoder.truncated.input"); // NON-NLS
+		}
+		int value = 0;
+		for (int i = 0; i < bytes; i++) {
+			value |= (src.get() & 0xFF) << (8 * i);
+		}
+		return value;
+	}
+
+	private static IOException corrupted(String reasonKey) {
+		return new IOException(StreamsResources.getString(PrometheusStreamConstants.RESOURCE_BUNDLE_NAME, reasonKey));
+	}
+}
@@ -20,12 +20,15 @@ import org.junit.runner.RunWith;
 import org.junit.runners.Suite;
 
 import com.jkoolcloud.tnt4j.streams.configure.sax.ConfigParserHandlerTest;
+import com.jkoolcloud.tnt4j.streams.inputs.PrometheusRemoteWriteStreamTest;
+import com.jkoolcloud.tnt4j.streams.preparsers.PrometheusRWToSamplesPreParserTest;
 
 /**
  * @author slb
  * @version 1.0
  */
 @RunWith(Suite.class)
-@Suite.SuiteClasses({ ConfigParserHandlerTest.class })
+@Suite.SuiteClasses({ ConfigParserHandlerTest.class, PrometheusRemoteWriteStreamTest.class,
+		PrometheusRWToSamplesPreParserTest.class })
 public class AllPrometheusStreamTests {
 }
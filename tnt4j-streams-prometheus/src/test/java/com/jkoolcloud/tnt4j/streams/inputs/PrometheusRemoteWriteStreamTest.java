@@ -0,0 +1,290 @@
+/*
+ * Copyright 2014-2023 JKOOL, LLC.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.jkoolcloud.tnt4j.streams.inputs;
+
+import static com.jkoolcloud.tnt4j.streams.TestUtils.testPropertyList;
+import static org.junit.Assert.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.ByteBuffer;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.commons.compress.compressors.snappy.SnappyCompressorOutputStream;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import com.jkoolcloud.tnt4j.streams.TestUtils;
+import com.jkoolcloud.tnt4j.streams.configure.PrometheusStreamProperties;
+import com.jkoolcloud.tnt4j.streams.configure.StreamProperties;
+import com.jkoolcloud.tnt4j.streams.utils.ByteBufferPool;
+
+import prometheus.Remote;
+import prometheus.Types;
+
+/**
+ * @author akausinis
+ * @version 1.0
+ */
+public class PrometheusRemoteWriteStreamTest {
+
+	private static PrometheusRemoteWriteStream rwStream;
+
+	@BeforeClass
+	public static void setUpBeforeClass() throws Exception {
+		rwStream = new PrometheusRemoteWriteStream();
+		Map<String, String> props = new HashMap<>(4);
+		props.put(StreamProperties.PROP_HALT_ON_PARSER, String.valueOf(false));
+		props.put(StreamProperties.PROP_PORT, "0");
+		props.put(StreamProperties.PROP_BUFFER_SIZE, "64");
+		props.put(StreamProperties.PROP_FULL_BUFFER_ADD_POLICY, "DROP");
+		rwStream.setProperties(props.entrySet());
+		StreamThread thread = new StreamThread(rwStream);
+		thread.start();
+
+		waitForServer(rwStream);
+	}
+
+	@AfterClass
+	public static void tearDown() throws InterruptedException {
+		rwStream.cleanup();
+	}
+
+	@Test
+	public void decodeRoundTripTest() throws Exception {
+		PrometheusRemoteWriteStream.RequestDecoder decoder = new PrometheusRemoteWriteStream.RequestDecoder(2,
+				1024 * 1024);
+		Remote.WriteRequest wr = makeRequest(20, 5);
+		byte[] compressed = compress(wr.toByteArray());
+
+		assertEquals(wr, decoder.decode(new ByteArrayInputStream(compressed), compressed.length));
+		assertEquals(wr, decoder.decode(new ByteArrayInputStream(compressed), -1));
+	}
+
+	@Test(expected = PrometheusRemoteWriteStream.RequestTooLargeException.class)
+	public void requestTooLargeTest() throws Exception {
+		PrometheusRemoteWriteStream.RequestDecoder decoder = new PrometheusRemoteWriteStream.RequestDecoder(2, 128);
+		byte[] compressed = compress(makeRequest(20, 5).toByteArray());
+
+		decoder.decode(new ByteArrayInputStream(compressed), -1);
+	}
+
+	@Test(expected = IOException.class)
+	public void corruptedRequestTest() throws Exception {
+		PrometheusRemoteWriteStream.RequestDecoder decoder = new PrometheusRemoteWriteStream.RequestDecoder(2,
+				1024 * 1024);
+		byte[] corrupted = { 0x20, 0x05, 0x02, 0x7F, 0x00 };
+
+		decoder.decode(new ByteArrayInputStream(corrupted), corrupted.length);
+	}
+
+	@Test
+	public void grownBufferReleasedOnceTest() throws Exception {
+		PrometheusRemoteWriteStream.RequestDecoder decoder = new PrometheusRemoteWriteStream.RequestDecoder(2,
+				100 * 1024);
+		byte[] body = new byte[200 * 1024];
+		new Random(1).nextBytes(body);
+
+		try {
+			decoder.decode(new ByteArrayInputStream(body), -1);
+			fail("Request too large exception expected"); // NON-NLS
+		} catch (PrometheusRemoteWriteStream.RequestTooLargeException exc) {
+		}
+
+		ByteBufferPool pool = decoder.getInputBuffers();
+		assertEquals(2, pool.size());
+		assertNotSame(pool.acquire(1024), pool.acquire(1024));
+	}
+
+	@Test
+	public void remoteWriteRequestTest() throws Exception {
+		byte[] body = compress(makeRequest(10, 2).toByteArray());
+
+		HttpClient client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+		HttpResponse<Void> resp = client.send(makeHttpRequest(rwStream, body), HttpResponse.BodyHandlers.discarding());
+		assertEquals(204, resp.statusCode());
+	}
+
+	@Test
+	public void bufferSaturatedTest() throws Exception {
+		PrometheusRemoteWriteStream stream = new PrometheusRemoteWriteStream() {
+			@Override
+			protected boolean isBufferSaturated() {
+				return true;
+			}
+		};
+		Map<String, String> props = new HashMap<>(2);
+		props.put(StreamProperties.PROP_PORT, "0");
+		props.put(PrometheusStreamProperties.PROP_RETRY_AFTER, "7");
+		stream.setProperties(props.entrySet());
+		StreamThread thread = new StreamThread(stream);
+		thread.start();
+		try {
+			waitForServer(stream);
+			byte[] body = compress(makeRequest(10, 2).toByteArray());
+
+			HttpClient client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+			HttpResponse<Void> resp = client.send(makeHttpRequest(stream, body),
+					HttpResponse.BodyHandlers.discarding());
+			assertEquals(429, resp.statusCode());
+			assertEquals("7", resp.headers().firstValue("Retry-After").orElse(null)); // NON-NLS
+		} finally {
+			stream.cleanup();
+		}
+	}
+
+	@Test
+	public void benchmarkRemoteWriteLoad() throws Exception {
+		TestUtils.assumeBenchmarksEnabled();
+
+		int threads = 4;
+		int requestsPerThread = 250;
+		int seriesPerRequest = 100;
+		int samplesPerSeries = 2;
+		byte[] body = compress(makeRequest(seriesPerRequest, samplesPerSeries).toByteArray());
+		HttpRequest request = makeHttpRequest(rwStream, body);
+		HttpClient client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+
+		AtomicInteger accepted = new AtomicInteger();
+		AtomicInteger rejected = new AtomicInteger();
+		List<Integer> unexpected = new CopyOnWriteArrayList<>();
+		ExecutorService executor = Executors.newFixedThreadPool(threads);
+		List<Future<?>> futures = new ArrayList<>(threads);
+
+		long start = System.nanoTime();
+		for (int t = 0; t < threads; t++) {
+			futures.add(executor.submit(() -> {
+				for (int i = 0; i < requestsPerThread; i++) {
+					HttpResponse<Void> resp = client.send(request, HttpResponse.BodyHandlers.discarding());
+					if (resp.statusCode() == 204) {
+						accepted.incrementAndGet();
+					} else if (resp.statusCode() == 429) {
+						assertTrue(resp.headers().firstValue("Retry-After").isPresent()); // NON-NLS
+						rejected.incrementAndGet();
+					} else {
+						unexpected.add(resp.statusCode());
+					}
+				}
+				return null;
+			}));
+		}
+		for (Future<?> f : futures) {
+			f.get(2, TimeUnit.MINUTES);
+		}
+		long elapsed = System.nanoTime() - start;
+		executor.shutdown();
+
+		assertTrue("Unexpected response codes: " + unexpected, unexpected.isEmpty()); // NON-NLS
+		assertEquals(threads * requestsPerThread, accepted.get() + rejected.get());
+		assertTrue(accepted.get() > 0);
+		double seconds = elapsed / 1_000_000_000.0;
+		long samples = (long) accepted.get() * seriesPerRequest * samplesPerSeries;
+		System.out.printf("Remote-write load: accepted=%d, rejected=%d, samples=%d, time=%.3fs, samples/sec=%.0f%n", // NON-NLS
+				accepted.get(), rejected.get(), samples, seconds, samples / seconds);
+	}
+
+	@Test
+	public void bufferPoolReuseTest() {
+		ByteBufferPool pool = new ByteBufferPool(2, false);
+		ByteBuffer small = pool.acquire(16 * 1024);
+		ByteBuffer large = pool.acquire(64 * 1024);
+		pool.release(small);
+		pool.release(large);
+		assertEquals(2, pool.size());
+
+		// too small pooled buffer stays in pool
+		ByteBuffer reused = pool.acquire(32 * 1024);
+		assertSame(large, reused);
+		assertEquals(1, pool.size());
+		assertSame(small, pool.acquire(1024));
+		assertEquals(0, pool.size());
+
+		// full pool keeps largest buffers
+		pool.release(small);
+		pool.release(ByteBuffer.allocate(8 * 1024));
+		pool.release(reused);
+		assertEquals(2, pool.size());
+		assertSame(reused, pool.acquire(64 * 1024));
+		assertSame(small, pool.acquire(1024));
+
+		// already pooled buffer is not pooled twice
+		pool.release(small);
+		pool.release(small);
+		assertEquals(1, pool.size());
+		assertSame(small, pool.acquire(1024));
+		assertEquals(0, pool.size());
+	}
+
+	@Test
+	public void propertiesTest() {
+		Map<String, String> props = new HashMap<>(3);
+		props.put(PrometheusStreamProperties.PROP_MAX_REQUEST_SIZE, "1048576");
+		props.put(PrometheusStreamProperties.PROP_DECODE_BUFFERS_POOL_SIZE, "4");
+		props.put(PrometheusStreamProperties.PROP_RETRY_AFTER, "10");
+		PrometheusRemoteWriteStream stream = new PrometheusRemoteWriteStream();
+		stream.setProperties(props.entrySet());
+		testPropertyList(stream, props.entrySet());
+	}
+
+	private static void waitForServer(PrometheusRemoteWriteStream stream) throws InterruptedException {
+		long deadline = System.currentTimeMillis() + TimeUnit.SECONDS.toMillis(10);
+		while (stream.getLocalPort() <= 0 && System.currentTimeMillis() < deadline) {
+			Thread.sleep(50);
+		}
+		assertTrue("Remote-write server has not started", stream.getLocalPort() > 0); // NON-NLS
+	}
+
+	private static HttpRequest makeHttpRequest(PrometheusRemoteWriteStream stream, byte[] body) {
+		return HttpRequest.newBuilder(URI.create("http://localhost:" + stream.getLocalPort() + "/api/v1/write")) // NON-NLS
+				.header("Content-Encoding", "snappy") // NON-NLS
+				.header("Content-Type", "application/x-protobuf") // NON-NLS
+				.header("X-Prometheus-Remote-Write-Version", "0.1.0") // NON-NLS
+				.POST(HttpRequest.BodyPublishers.ofByteArray(body)).build();
+	}
+
+	private static Remote.WriteRequest makeRequest(int series, int samples) {
+		Remote.WriteRequest.Builder wrb = Remote.WriteRequest.newBuilder();
+		long now = System.currentTimeMillis();
+		for (int s = 0; s < series; s++) {
+			Types.TimeSeries.Builder tsb = Types.TimeSeries.newBuilder()
+					.addLabels(Types.Label.newBuilder().setName("__name__").setValue("test_metric_" + (s % 10))) // NON-NLS
+					.addLabels(Types.Label.newBuilder().setName("instance").setValue("host-" + s)) // NON-NLS
+					.addLabels(Types.Label.newBuilder().setName("job").setValue("load-test")); // NON-NLS
+			for (int i = 0; i < samples; i++) {
+				tsb.addSamples(Types.Sample.newBuilder().setTimestamp(now + i * 1000L).setValue(s * 1.5 + i));
+			}
+			wrb.addTimeseries(tsb);
+		}
+		return wrb.build();
+	}
+
+	private static byte[] compress(byte[] data) throws IOException {
+		ByteArrayOutputStream bos = new ByteArrayOutputStream();
+		try (SnappyCompressorOutputStream sos = new SnappyCompressorOutputStream(bos, data.length)) {
+			sos.write(data);
+		}
+		return bos.toByteArray();
+	}
+}
@@ -0,0 +1,111 @@
+/*
+ * Copyright 2014-2023 JKOOL, LLC.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.jkoolcloud.tnt4j.streams.preparsers;
+
+import static org.junit.Assert.*;
+
+import java.util.List;
+import java.util.Map;
+
+import org.junit.Test;
+
+import prometheus.Remote;
+import prometheus.Types;
+
+/**
+ * @author akausinis
+ * @version 1.0
+ */
+public class PrometheusRWToSamplesPreParserTest {
+
+	@Test
+	@SuppressWarnings("unchecked")
+	public void testSamplesView() throws Exception {
+		Remote.WriteRequest wr = Remote.WriteRequest.newBuilder()
+				.addMetadata(Types.MetricMetadata.newBuilder().setMetricFamilyName("http_requests_total") // NON-NLS
+						.setType(Types.MetricMetadata.MetricType.COUNTER).setHelp("Requests count")) // NON-NLS
+				.addTimeseries(Types.TimeSeries.newBuilder()
+						.addLabels(label("__name__", "http_requests_total")) // NON-NLS
+						.addLabels(label("job", "api")) // NON-NLS
+						.addSamples(Types.Sample.newBuilder().setValue(10.0).setTimestamp(1000))
+						.addSamples(Types.Sample.newBuilder().setValue(20.0).setTimestamp(2000))
+						.addExemplars(Types.Exemplar.newBuilder().setValue(0.5).setTimestamp(2000)
+								.addLabels(label("trace_id", "abc")))) // NON-NLS
+				.addTimeseries(Types.TimeSeries.newBuilder()
+						.addLabels(label("__name__", "up"))) // NON-NLS
+				.addTimeseries(Types.TimeSeries.newBuilder()
+						.addLabels(label("__name__", "cpu_usage")) // NON-NLS
+						.addSamples(Types.Sample.newBuilder().setValue(0.75).setTimestamp(3000)))
+				.build();
+
+		PrometheusRWToSamplesPreParser preParser = new PrometheusRWToSamplesPreParser();
+		Map<String, Object> reqMap = preParser.preParse(wr.toByteArray());
+		assertEquals(1, reqMap.size());
+
+		List<Map<String, Object>> samples = (List<Map<String, Object>>) reqMap
+				.get(PrometheusRWToSamplesPreParser.SAMPLES_KEY);
+		assertEquals(3, samples.size());
+
+		Map<String, Object> sample = samples.get(0);
+		assertEquals("http_requests_total", sample.get("name")); // NON-NLS
+		assertEquals(1000L, sample.get("timestamp")); // NON-NLS
+		assertEquals(10.0, sample.get("value")); // NON-NLS
+		assertEquals("api", ((Map<String, Object>) sample.get("labels")).get("job")); // NON-NLS
+		assertEquals("COUNTER", ((Map<String, Object>) sample.get("metadata")).get("type")); // NON-NLS
+		assertFalse(sample.containsKey("exemplars")); // NON-NLS
+
+		sample = samples.get(1);
+		assertEquals(20.0, sample.get("value")); // NON-NLS
+		assertSame(samples.get(0).get("labels"), sample.get("labels")); // NON-NLS
+		Map<String, Object> exemplar = (Map<String, Object>) sample.get("exemplars"); // NON-NLS
+		assertEquals(0.5, exemplar.get("value")); // NON-NLS
+		assertEquals("abc", exemplar.get("trace_id")); // NON-NLS
+
+		sample = samples.get(2);
+		assertEquals("cpu_usage", sample.get("name")); // NON-NLS
+		assertEquals(0.75, sample.get("value")); // NON-NLS
+		assertFalse(sample.containsKey("metadata")); // NON-NLS
+	}
+
+	@Test
+	public void testMetadataCachedBetweenRequests() throws Exception {
+		PrometheusRWToSamplesPreParser preParser = new PrometheusRWToSamplesPreParser();
+		assertNull(preParser.preParse(Remote.WriteRequest.newBuilder()
+				.addMetadata(Types.MetricMetadata.newBuilder().setMetricFamilyName("up") // NON-NLS
+						.setType(Types.MetricMetadata.MetricType.GAUGE))
+				.build()));
+
+		Map<String, Object> reqMap = preParser.preParse(Remote.WriteRequest.newBuilder()
+				.addTimeseries(Types.TimeSeries.newBuilder()
+						.addLabels(label("__name__", "up")) // NON-NLS
+						.addSamples(Types.Sample.newBuilder().setValue(1.0).setTimestamp(1000)))
+				.build());
+
+		@SuppressWarnings("unchecked")
+		List<Map<String, Object>> samples = (List<Map<String, Object>>) reqMap
+				.get(PrometheusRWToSamplesPreParser.SAMPLES_KEY);
+		assertEquals(1, samples.size());
+		@SuppressWarnings("unchecked")
+		Map<String, Object> metadata = (Map<String, Object>) samples.get(0).get("metadata"); // NON-NLS
+		assertEquals("GAUGE", metadata.get("type")); // NON-NLS
+		assertEquals("up", metadata.get("family")); // NON-NLS
+	}
+
+	private static Types.Label label(String name, String value) {
+		return Types.Label.newBuilder().setName(name).setValue(value).build();
+	}
+}
@@ -16,10 +16,10 @@
 
 package com.jkoolcloud.tnt4j.streams.preparsers;
 
-import java.util.ArrayList;
-import java.util.LinkedHashMap;
-import java.util.List;
-import java.util.Map;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.apache.commons.lang3.StringUtils;
 
 import com.google.protobuf.ByteString;
 import com.google.protobuf.Descriptors;
@@ -28,11 +28,43 @@ import com.google.protobuf.Message;
 /**
  * RAW activity data pre-parser capable to deserialize incoming activity data from protobuf message
  * {@link com.google.protobuf.Message} to string keyed map.
+ * <p>
+ * Set of message fields to convert is resolved once per message type (and fields projection path) from message
+ * descriptor and cached, so message conversion does not need to collect all message fields for every message
+ * instance.
+ * <p>
+ * Optional constructor parameter {@code fields} defines fields projection - comma separated list of message fields
+ * paths, e.g. {@code "resourceMetrics.resource,resourceMetrics.scopeMetrics.metrics.name"}. Path tokens are message
+ * field names delimited by {@code '.'}, repeated fields are traversed transparently. When path ends on message type
+ * field, all fields of that message are converted. Fields not referenced by projection paths are not put into result
+ * map. When projection is not defined, all set message fields are converted.
  * 
- * @version $Revision: 2 $
+ * @version $Revision: 3 $
  */
 public class ProtoMessageToMapPreParser extends AbstractPreParser<Message, Map<String, ?>> {
 
+	private final FieldsPath projection;
+	private final FieldsPath allFields = new FieldsPath(null);
+	private final Map<Descriptors.FieldDescriptor, FieldsPath> fieldProjections = new ConcurrentHashMap<>();
+
+	/**
+	 * Constructs a new ProtoMessageToMapPreParser converting all set message fields.
+	 */
+	public ProtoMessageToMapPreParser() {
+		this(null);
+	}
+
+	/**
+	 * Constructs a new ProtoMessageToMapPreParser.
+	 *
+	 * @param fields
+	 *            comma separated list of message fields paths to convert, {@code null} or empty to convert all set
+	 *            message fields
+	 */
+	public ProtoMessageToMapPreParser(String fields) {
+		projection = StringUtils.isBlank(fields) ? allFields : FieldsPath.parse(fields);
+	}
+
 	/**
 	 * {@inheritDoc}
 	 * <p>
@@ -48,52 +80,74 @@ public class ProtoMessageToMapPreParser extends AbstractPreParser<Message, Map<S
 
 	@Override
 	public Map<String, ?> preParse(Message data) throws Exception {
-		Map<Descriptors.FieldDescriptor, Object> allFields = data.getAllFields();
-		Map<String, Object> msgMap = new LinkedHashMap<>();
-		for (Map.Entry<Descriptors.FieldDescriptor, Object> field : allFields.entrySet()) {
-			Descriptors.FieldDescriptor fieldDescriptor = field.getKey();
-			Object fieldValue = field.getValue();
-			Object simpleFieldValue = simplifyValue(data, fieldDescriptor, fieldValue);
-			if (simpleFieldValue != null) {
-				String fieldName = fieldDescriptor.getName();
-				msgMap.put(fieldName, simpleFieldValue);
-			}
-		}
-		return msgMap;
+		return toMap(data, projection);
 	}
 
 	/**
-	 * Converts complex field value type to more simple (atomic) type. In case field value is some protobuf message, map
-	 * containing fields for that message is returned. If field value is repeating, list of values is returned.
-	 * 
+	 * Converts protobuf message to string keyed map, containing only fields selected by provided fields projection
+	 * path.
+	 *
 	 * @param message
-	 *            protobuf message to use for value simplification
-	 * @param fieldDescriptor
-	 *            field descriptor
-	 * @param fieldValue
-	 *            field value
-	 * @return field value converted to simple type value, map if field value is some protobuf message or list of values
-	 *         if field is repeating
-	 * 
+	 *            protobuf message to convert
+	 * @param path
+	 *            fields projection path to apply
+	 * @return map containing message fields values
+	 *
 	 * @throws Exception
-	 *             if field value is some protobuf message and failure occurs while parsing it
-	 * 
-	 * @see #convertAtomicVal(com.google.protobuf.Descriptors.FieldDescriptor, Object)
-	 * @see #convertList(com.google.protobuf.Descriptors.FieldDescriptor, java.util.List)
+	 *             if failure occurs while converting message field value
 	 */
-	protected Object simplifyValue(Message message, Descriptors.FieldDescriptor fieldDescriptor, Object fieldValue)
-			throws Exception {
-		Object result = null;
-		if (fieldValue != null) {
+	protected Map<String, ?> toMap(Message message, FieldsPath path) throws Exception {
+		Descriptors.FieldDescriptor[] fields = compile(message.getDescriptorForType(), path);
+		Map<String, Object> msgMap = new LinkedHashMap<>(fields.length * 2);
+		for (Descriptors.FieldDescriptor fieldDescriptor : fields) {
+			Object simpleFieldValue;
 			if (fieldDescriptor.isRepeated()) {
-				if (message.getRepeatedFieldCount(fieldDescriptor) > 0) {
-					result = convertList(fieldDescriptor, (List<?>) fieldValue);
+				if (message.getRepeatedFieldCount(fieldDescriptor) == 0) {
+					continue;
 				}
+				simpleFieldValue = convertList(fieldDescriptor, (List<?>) message.getField(fieldDescriptor));
 			} else {
-				result = convertAtomicVal(fieldDescriptor, fieldValue);
+				if (!message.hasField(fieldDescriptor)) {
+					continue;
+				}
+				simpleFieldValue = convertAtomicVal(fieldDescriptor, message.getField(fieldDescriptor));
+			}
+			if (simpleFieldValue != null) {
+				msgMap.put(fieldDescriptor.getName(), simpleFieldValue);
 			}
 		}
-		return result;
+		return msgMap;
+	}
+
+	/**
+	 * Resolves set of message type fields selected by fields projection path. Resolved fields set is cached within
+	 * projection path, so message type descriptor is inspected only once per path.
+	 *
+	 * @param descriptor
+	 *            message type descriptor
+	 * @param path
+	 *            fields projection path
+	 * @return array of message fields to convert
+	 */
+	protected Descriptors.FieldDescriptor[] compile(Descriptors.Descriptor descriptor, FieldsPath path) {
+		Descriptors.FieldDescriptor[] fields = path.compiledFields.get(descriptor);
+		if (fields == null) {
+			List<Descriptors.FieldDescriptor> fieldsList = new ArrayList<>();
+			for (Descriptors.FieldDescriptor fd : descriptor.getFields()) {
+				FieldsPath fieldPath = path.isAll() ? allFields : path.children.get(fd.getName());
+				if (fieldPath == null) {
+					continue;
+				}
+				fieldsList.add(fd);
+				if (fd.getJavaType() == Descriptors.FieldDescriptor.JavaType.MESSAGE) {
+					// same field reached by different paths (recursive types) falls back to all fields conversion
+					fieldProjections.merge(fd, fieldPath, (p1, p2) -> p1 == p2 ? p1 : allFields);
+				}
+			}
+			fields = fieldsList.toArray(new Descriptors.FieldDescriptor[0]);
+			path.compiledFields.put(descriptor, fields);
+		}
+		return fields;
 	}
 
 	/**
@@ -166,7 +220,7 @@ public class ProtoMessageToMapPreParser extends AbstractPreParser<Message, Map<S
 			result = fieldValue.toString();
 			break;
 		case MESSAGE:
-			result = preParse((Message) fieldValue);
+			result = toMap((Message) fieldValue, fieldProjections.getOrDefault(fieldDescriptor, allFields));
 			break;
 		}
 
@@ -177,4 +231,46 @@ public class ProtoMessageToMapPreParser extends AbstractPreParser<Message, Map<S
 	public String dataTypeReturned() {
 		return "MAP"; // NON-NLS
 	}
+
+	/**
+	 * Message fields projection path node. Node having no child nodes selects all message fields.
+	 */
+	protected static class FieldsPath {
+		private final Map<String, FieldsPath> children;
+		private final Map<Descriptors.Descriptor, Descriptors.FieldDescriptor[]> compiledFields = new ConcurrentHashMap<>();
+
+		private FieldsPath(Map<String, FieldsPath> children) {
+			this.children = children;
+		}
+
+		/**
+		 * Checks whether this path node selects all message fields.
+		 *
+		 * @return {@code true} if all message fields are selected, {@code false} - otherwise
+		 */
+		public boolean isAll() {
+			return children == null || children.isEmpty();
+		}
+
+		/**
+		 * Builds fields projection path tree from comma separated list of message fields paths.
+		 *
+		 * @param fields
+		 *            comma separated list of message fields paths
+		 * @return fields projection path tree root node
+		 */
+		static FieldsPath parse(String fields) {
+			FieldsPath root = new FieldsPath(new HashMap<>());
+			for (String field : fields.split(",")) { // NON-NLS
+				FieldsPath node = root;
+				for (String token : field.trim().split("\\.")) { // NON-NLS
+					if (token.isEmpty()) {
+						continue;
+					}
+					node = node.children.computeIfAbsent(token, t -> new FieldsPath(new HashMap<>()));
+				}
+			}
+			return root;
+		}
+	}
 }
@@ -0,0 +1,120 @@
+/*
+ * Copyright 2014-2023 JKOOL, LLC.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.jkoolcloud.tnt4j.streams.preparsers;
+
+import static org.junit.Assert.*;
+
+import java.util.List;
+import java.util.Map;
+
+import org.junit.Test;
+
+import com.google.protobuf.ByteString;
+import com.google.protobuf.Descriptors;
+
+import prometheus.Types;
+
+/**
+ * @author akausinis
+ * @version 1.0
+ */
+public class ProtoMessageToMapPreParserTest {
+
+	@Test
+	public void testAllFields() throws Exception {
+		ProtoMessageToMapPreParser preParser = new ProtoMessageToMapPreParser();
+		Map<String, ?> tsMap = preParser.preParse(makeTimeSeries());
+
+		assertEquals(2, tsMap.size());
+		assertFalse(tsMap.containsKey("exemplars")); // NON-NLS
+
+		List<?> labels = (List<?>) tsMap.get("labels"); // NON-NLS
+		assertEquals(2, labels.size());
+		Map<?, ?> label = (Map<?, ?>) labels.get(0);
+		assertEquals("__name__", label.get("name")); // NON-NLS
+		assertEquals("http_requests_total", label.get("value")); // NON-NLS
+
+		List<?> samples = (List<?>) tsMap.get("samples"); // NON-NLS
+		assertEquals(2, samples.size());
+		Map<?, ?> sample = (Map<?, ?>) samples.get(1);
+		assertEquals(20.0, sample.get("value")); // NON-NLS
+		assertEquals(2000L, sample.get("timestamp")); // NON-NLS
+	}
+
+	@Test
+	public void testFieldsProjection() throws Exception {
+		ProtoMessageToMapPreParser preParser = new ProtoMessageToMapPreParser("labels.name, samples"); // NON-NLS
+		Types.TimeSeries ts = makeTimeSeries().toBuilder()
+				.addExemplars(Types.Exemplar.newBuilder().setValue(1.5).setTimestamp(1000)).build();
+		Map<String, ?> tsMap = preParser.preParse(ts);
+
+		assertEquals(2, tsMap.size());
+		assertFalse(tsMap.containsKey("exemplars")); // NON-NLS
+
+		Map<?, ?> label = (Map<?, ?>) ((List<?>) tsMap.get("labels")).get(1); // NON-NLS
+		assertEquals(1, label.size());
+		assertEquals("job", label.get("name")); // NON-NLS
+
+		Map<?, ?> sample = (Map<?, ?>) ((List<?>) tsMap.get("samples")).get(0); // NON-NLS
+		assertEquals(2, sample.size());
+		assertEquals(10.0, sample.get("value")); // NON-NLS
+	}
+
+	@Test
+	public void testEnumAndBytesValues() throws Exception {
+		ProtoMessageToMapPreParser preParser = new ProtoMessageToMapPreParser();
+		Types.Chunk chunk = Types.Chunk.newBuilder().setMinTimeMs(1000).setType(Types.Chunk.Encoding.XOR)
+				.setData(ByteString.copyFrom(new byte[] { 1, 2, 3 })).build();
+		Map<String, ?> chunkMap = preParser.preParse(chunk);
+
+		assertEquals(3, chunkMap.size());
+		assertFalse(chunkMap.containsKey("max_time_ms")); // NON-NLS
+		assertEquals(1000L, chunkMap.get("min_time_ms")); // NON-NLS
+		assertEquals("XOR", chunkMap.get("type")); // NON-NLS
+		assertArrayEquals(new byte[] { 1, 2, 3 }, (byte[]) chunkMap.get("data")); // NON-NLS
+	}
+
+	@Test
+	public void testCompiledFieldsCached() throws Exception {
+		ProtoMessageToMapPreParser preParser = new ProtoMessageToMapPreParser();
+		ProtoMessageToMapPreParser.FieldsPath path = ProtoMessageToMapPreParser.FieldsPath
+				.parse("labels,exemplars"); // NON-NLS
+
+		Descriptors.FieldDescriptor[] fields = preParser.compile(Types.TimeSeries.getDescriptor(), path);
+		assertEquals(2, fields.length);
+		assertEquals("labels", fields[0].getName()); // NON-NLS
+		assertEquals("exemplars", fields[1].getName()); // NON-NLS
+		assertSame(fields, preParser.compile(Types.TimeSeries.getDescriptor(), path));
+
+		// same path node compiled for different message type gets own fields plan
+		Descriptors.FieldDescriptor[] eFields = preParser.compile(Types.Exemplar.getDescriptor(), path);
+		assertEquals(1, eFields.length);
+		assertEquals("labels", eFields[0].getName()); // NON-NLS
+	}
+
+	private static Types.TimeSeries makeTimeSeries() {
+		return Types.TimeSeries.newBuilder()
+				.addLabels(label("__name__", "http_requests_total")) // NON-NLS
+				.addLabels(label("job", "api")) // NON-NLS
+				.addSamples(Types.Sample.newBuilder().setValue(10.0).setTimestamp(1000))
+				.addSamples(Types.Sample.newBuilder().setValue(20.0).setTimestamp(2000)).build();
+	}
+
+	private static Types.Label label(String name, String value) {
+		return Types.Label.newBuilder().setName(name).setValue(value).build();
+	}
+}
@@ -58,4 +58,40 @@ public interface WsStreamProperties extends StreamProperties {
 	 * Constant for name of built-in stream {@value} property.
 	 */
 	public static final String PROP_QUERY_MAX_ROWS = "QueryMaxRows"; // NON-NLS
+	/**
+	 * Constant for name of built-in stream {@value} property.
+	 */
+	public static final String PROP_MATERIALIZE_ROWS = "MaterializeRows"; // NON-NLS
+	/**
+	 * Constant for name of built-in stream {@value} property.
+	 */
+	public static final String PROP_WATERMARK_COLUMN = "WatermarkColumn"; // NON-NLS
+	/**
+	 * Constant for name of built-in stream {@value} property.
+	 */
+	public static final String PROP_WATERMARK_INITIAL_VALUE = "WatermarkInitialValue"; // NON-NLS
+	/**
+	 * Constant for name of built-in stream {@value} property.
+	 */
+	public static final String PROP_WATERMARK_FILE = "WatermarkFile"; // NON-NLS
+	/**
+	 * Constant for name of built-in stream {@value} property.
+	 */
+	public static final String PROP_PARTITION_COUNT = "PartitionCount"; // NON-NLS
+	/**
+	 * Constant for name of built-in stream {@value} property.
+	 */
+	public static final String PROP_PARTITION_KEY_MIN = "PartitionKeyMin"; // NON-NLS
+	/**
+	 * Constant for name of built-in stream {@value} property.
+	 */
+	public static final String PROP_PARTITION_KEY_MAX = "PartitionKeyMax"; // NON-NLS
+	/**
+	 * Constant for name of built-in stream {@value} property.
+	 */
+	public static final String PROP_RESPONSE_SPLIT_MODE = "ResponseSplitMode"; // NON-NLS
+	/**
+	 * Constant for name of built-in stream {@value} property.
+	 */
+	public static final String PROP_ASYNC_REQUESTS = "AsyncRequests"; // NON-NLS
 }
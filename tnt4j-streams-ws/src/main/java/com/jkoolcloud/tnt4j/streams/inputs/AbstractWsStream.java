@@ -367,13 +367,21 @@ public abstract class AbstractWsStream<RQ, RS> extends AbstractBufferedStream<Ws
 		}
 
 		if (dropRecurrentRequests) {
-			WsResponse<RQ, RS> recurringItem = getRecurrentResponse(item, inputBuffer);
+			WsResponse<RQ, RS> recurringItem = getRecurrentResponse(item, getDrainedItems());
+			if (recurringItem == null) {
+				recurringItem = getRecurrentResponse(item, inputBuffer);
+			}
 
 			if (recurringItem != null) {
 				logger().log(OpLevel.WARNING, StreamsResources.getBundle(WsStreamConstants.RESOURCE_BUNDLE_NAME),
 						"AbstractWsStream.response.consumption.drop", item.getOriginalRequest().fqn());
-				inputBuffer.remove(recurringItem);
+				if (!getDrainedItems().remove(recurringItem)) {
+					inputBuffer.remove(recurringItem);
+				}
 				cleanupItem(recurringItem);
+				if (recurringItem.getParts() != null) {
+					postParse(recurringItem);
+				}
 			}
 		}
 
@@ -546,12 +554,21 @@ public abstract class AbstractWsStream<RQ, RS> extends AbstractBufferedStream<Ws
 	/**
 	 * Performs post parsing actions for provided activity data item.
 	 * <p>
-	 * Generic post parsing case is to release all acquired requests synchronization semaphores.
+	 * Generic post parsing case is to release all acquired requests synchronization semaphores. If item is part of
+	 * responses set produced by single request execution, semaphores are released only when last part of that set gets
+	 * consumed.
 	 *
 	 * @param item
 	 *            processed activity data item
+	 *
+	 * @see #addResponsePart(com.jkoolcloud.tnt4j.streams.scenario.WsResponse,
+	 *      com.jkoolcloud.tnt4j.streams.scenario.WsResponseParts)
 	 */
 	protected void postParse(WsResponse<RQ, RS> item) {
+		if (item != null && item.getParts() != null && !item.getParts().partConsumed()) {
+			return;
+		}
+
 		if (item != null) {
 			if (semaphore != null) {
 				releaseSemaphore(semaphore, getName(), item.getOriginalRequest());
@@ -569,6 +586,62 @@ public abstract class AbstractWsStream<RQ, RS> extends AbstractBufferedStream<Ws
 		}
 	}
 
+	/**
+	 * Adds provided response as part of responses set produced by single request execution into stream input buffer.
+	 * Requests synchronization semaphores are released when producer completes the set and all parts of the set are
+	 * consumed.
+	 *
+	 * @param response
+	 *            response part to add
+	 * @param parts
+	 *            responses set response belongs to
+	 * @return {@code true} if response has been added to input buffer, {@code false} - otherwise
+	 *
+	 * @see #completeResponseParts(com.jkoolcloud.tnt4j.streams.scenario.WsResponseParts,
+	 *      com.jkoolcloud.tnt4j.streams.scenario.WsRequest)
+	 */
+	protected boolean addResponsePart(WsResponse<RQ, RS> response, WsResponseParts parts) {
+		parts.partAdded();
+		response.setParts(parts);
+		if (addInputToBuffer(response)) {
+			return true;
+		}
+		parts.partDropped();
+		return false;
+	}
+
+	/**
+	 * Marks producer has completed producing responses set parts for provided request. If all parts of the set are
+	 * already consumed, releases request acquired synchronization semaphores.
+	 * <p>
+	 * If set has no parts produced, semaphores are left untouched and shall be released by the caller.
+	 *
+	 * @param parts
+	 *            responses set to complete
+	 * @param request
+	 *            request produced responses set
+	 * @return {@code true} if set has any parts produced, {@code false} - otherwise
+	 */
+	protected boolean completeResponseParts(WsResponseParts parts, WsRequest<RQ> request) {
+		if (parts.getCount() == 0) {
+			return false;
+		}
+
+		if (parts.complete()) {
+			if (semaphore != null) {
+				releaseSemaphore(semaphore, getName(), request);
+			}
+
+			WsScenarioStep step = request.getScenarioStep();
+			Semaphore reqSemaphore = step == null ? null : step.getSemaphore();
+			if (reqSemaphore != null) {
+				releaseSemaphore(reqSemaphore, step.getName(), request);
+			}
+		}
+
+		return true;
+	}
+
 	/**
 	 * Fills-in request/query/command string having variable expressions with values stored in stream configuration
 	 * properties maps and streams cache {@link com.jkoolcloud.tnt4j.streams.utils.StreamsCache}.
@@ -1154,7 +1227,6 @@ public abstract class AbstractWsStream<RQ, RS> extends AbstractBufferedStream<Ws
 	 * @return {@code true} if request has any response currently processed or pending on input buffer, {@code false} -
 	 *         otherwise
 	 */
-	@SuppressWarnings("unchecked")
 	protected boolean isRequestOngoing(WsRequest<RQ> req) {
 		String reqName = req.fqn();
 
@@ -1168,7 +1240,12 @@ public abstract class AbstractWsStream<RQ, RS> extends AbstractBufferedStream<Ws
 			}
 		}
 
-		for (Object item : inputBuffer) {
+		return isRequestPending(reqName, getDrainedItems()) || isRequestPending(reqName, inputBuffer);
+	}
+
+	@SuppressWarnings("unchecked")
+	private boolean isRequestPending(String reqName, Queue<?> buffer) {
+		for (Object item : buffer) {
 			if (item instanceof WsResponse) {
 				WsResponse<RQ, RS> respItem = (WsResponse<RQ, RS>) item;
 
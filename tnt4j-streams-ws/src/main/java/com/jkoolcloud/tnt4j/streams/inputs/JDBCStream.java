@@ -16,12 +16,12 @@
 
 package com.jkoolcloud.tnt4j.streams.inputs;
 
-import java.io.Closeable;
+import java.io.*;
 import java.sql.*;
-import java.util.HashMap;
-import java.util.Map;
-import java.util.Properties;
-import java.util.concurrent.Semaphore;
+import java.sql.Date;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicLong;
 
 import javax.sql.DataSource;
 
@@ -34,8 +34,10 @@ import com.jkoolcloud.tnt4j.core.OpLevel;
 import com.jkoolcloud.tnt4j.sink.EventSink;
 import com.jkoolcloud.tnt4j.streams.configure.StreamProperties;
 import com.jkoolcloud.tnt4j.streams.configure.WsStreamProperties;
+import com.jkoolcloud.tnt4j.streams.parsers.data.ResultSetRow;
 import com.jkoolcloud.tnt4j.streams.scenario.WsRequest;
 import com.jkoolcloud.tnt4j.streams.scenario.WsResponse;
+import com.jkoolcloud.tnt4j.streams.scenario.WsResponseParts;
 import com.jkoolcloud.tnt4j.streams.scenario.WsScenarioStep;
 import com.jkoolcloud.tnt4j.streams.utils.*;
 import com.zaxxer.hikari.HikariConfig;
@@ -49,7 +51,9 @@ import com.zaxxer.hikari.HikariDataSource;
  * {@link java.sql.PreparedStatement#executeQuery()}.
  * <p>
  * This activity stream requires parsers that can support {@link java.sql.ResultSet} data to parse
- * {@link com.jkoolcloud.tnt4j.streams.scenario.WsResponse#getData()} provided result set.
+ * {@link com.jkoolcloud.tnt4j.streams.scenario.WsResponse#getData()} provided result set. When stream is configured to
+ * materialize result set rows, provided result set is a view of single detached
+ * {@link com.jkoolcloud.tnt4j.streams.parsers.data.ResultSetRow} row.
  * <p>
  * This activity stream supports the following configuration properties (in addition to those supported by
  * {@link AbstractWsStream}):
@@ -60,17 +64,36 @@ import com.zaxxer.hikari.HikariDataSource;
  * <li>QueryMaxRows - limit for the maximum number of rows that query returned {@link java.sql.ResultSet} can contain.
  * Value {@code 0} implies to use default JDBC setting. See {@link java.sql.Statement#setMaxRows(int)} for details.
  * Default value - {@code 0}. (Optional)</li>
+ * <li>MaterializeRows - flag indicating whether to read every query returned {@link java.sql.ResultSet} row into
+ * detached {@link com.jkoolcloud.tnt4j.streams.parsers.data.ResultSetRow} instance put into stream input buffer as
+ * separate item. Result set, statement and connection are closed right after all rows are fetched, and rows can be
+ * parsed in parallel with cursor fetch. Request is treated as complete when all its rows are consumed. Default value -
+ * {@code false}. (Optional)</li>
+ * <li>WatermarkColumn - label of query returned result set column, which value of last consumed row is stored per
+ * request and is bound to query as request parameter having value {@code "${Watermark}"} on next query run. Default
+ * value - {@code null}. (Optional)</li>
+ * <li>WatermarkInitialValue - watermark value to use when request has no stored watermark yet. Default value -
+ * {@code "null"}. (Optional)</li>
+ * <li>WatermarkFile - path of file to persist request watermarks, so stream can resume after restart. Default value -
+ * {@code "[java.io.tmpdir]/[streamName].TNT4JWatermarks.properties"}. (Optional)</li>
+ * <li>PartitionCount - number of partitions to split every request query into. Partition queries are run concurrently
+ * using separate pooled connections. Partition bound values are available for request parameters as variables
+ * {@code "${PartitionIndex}"} (starting from {@code 0}), {@code "${PartitionCount}"} and, when key range properties
+ * are defined, {@code "${PartitionLow}"} (inclusive) and {@code "${PartitionHigh}"} (exclusive). Default value -
+ * {@code 1}. (Optional)</li>
+ * <li>PartitionKeyMin - minimal (inclusive) value of partitioned numeric key range. (Optional)</li>
+ * <li>PartitionKeyMax - maximal (exclusive) value of partitioned numeric key range. (Optional)</li>
  * <li>set of <a href="https://github.com/brettwooldridge/HikariCP#configuration-knobs-baby">HikariCP supported
  * properties</a> used to configure JDBC data source. (Optional)</li>
  * <li>set of JDBC or driver vendor specified {@link javax.sql.DataSource} configuration properties prefixed by
  * {@value #DS_PROP_PREFIX}. (Optional)</li>
  * <li>when {@value com.jkoolcloud.tnt4j.streams.configure.StreamProperties#PROP_USE_EXECUTOR_SERVICE} is set to
  * {@code true} and {@value com.jkoolcloud.tnt4j.streams.configure.StreamProperties#PROP_EXECUTOR_THREADS_QTY} is
- * greater than {@code 1}, value for that property is reset to {@code 1} since {@link java.sql.ResultSet} can't be
- * accessed in multi-thread manner.</li>
+ * greater than {@code 1} and {@code MaterializeRows} is {@code false}, value for that property is reset to {@code 1}
+ * since {@link java.sql.ResultSet} can't be accessed in multi-thread manner.</li>
  * </ul>
  *
- * @version $Revision: 5 $
+ * @version $Revision: 6 $
  *
  * @see com.jkoolcloud.tnt4j.streams.parsers.ActivityParser#isDataClassSupported(Object)
  * @see java.sql.DriverManager#getConnection(String, java.util.Properties)
@@ -81,6 +104,26 @@ public class JDBCStream extends AbstractWsStream<String, ResultSet> {
 	private static final EventSink LOGGER = LoggerUtils.getLoggerSink(JDBCStream.class);
 
 	private static final String ROW_PROP = ".Rs.Row."; // NON-NLS
+	private static final String EXEC_ID_PROP = ".Exec.Id."; // NON-NLS
+
+	/**
+	 * Constant for name of request parameter variable {@value} resolving request stored watermark value.
+	 */
+	public static final String WATERMARK_VAR = "Watermark"; // NON-NLS
+	/**
+	 * Constant for name of request parameter variable {@value} resolving partition index.
+	 */
+	public static final String PARTITION_INDEX_VAR = "PartitionIndex"; // NON-NLS
+	/**
+	 * Constant for name of request parameter variable {@value} resolving partition key range lower bound.
+	 */
+	public static final String PARTITION_LOW_VAR = "PartitionLow"; // NON-NLS
+	/**
+	 * Constant for name of request parameter variable {@value} resolving partition key range upper bound.
+	 */
+	public static final String PARTITION_HIGH_VAR = "PartitionHigh"; // NON-NLS
+
+	private static final String WATERMARK_FILE_SUFFIX = ".TNT4JWatermarks.properties"; // NON-NLS
 	/**
 	 * Name prefix for JDBC or driver vendor specified {@link javax.sql.DataSource} configuration properties.
 	 */
@@ -101,8 +144,18 @@ public class JDBCStream extends AbstractWsStream<String, ResultSet> {
 
 	private int fetchSize = 0;
 	private int maxRows = 0;
-
-	private Map<String, DataSource> dbDataSources = new HashMap<>(3);
+	private boolean materializeRows = false;
+	private String watermarkColumn;
+	private String watermarkInitialValue = "null"; // NON-NLS
+	private String watermarkFile;
+	private int partitionCount = 1;
+	private Long partitionKeyMin;
+	private Long partitionKeyMax;
+
+	private Map<String, DataSource> dbDataSources = new ConcurrentHashMap<>(3);
+	private final Map<String, Object> watermarks = new ConcurrentHashMap<>();
+	private final AtomicLong execCounter = new AtomicLong();
+	private ExecutorService partitionsExecutor;
 
 	/**
 	 * Constructs an empty JDBCStream. Requires configuration settings to set input stream source.
@@ -124,6 +177,20 @@ public class JDBCStream extends AbstractWsStream<String, ResultSet> {
 			fetchSize = Integer.parseInt(value);
 		} else if (WsStreamProperties.PROP_QUERY_MAX_ROWS.equalsIgnoreCase(name)) {
 			maxRows = Integer.parseInt(value);
+		} else if (WsStreamProperties.PROP_MATERIALIZE_ROWS.equalsIgnoreCase(name)) {
+			materializeRows = Utils.toBoolean(value);
+		} else if (WsStreamProperties.PROP_WATERMARK_COLUMN.equalsIgnoreCase(name)) {
+			watermarkColumn = value;
+		} else if (WsStreamProperties.PROP_WATERMARK_INITIAL_VALUE.equalsIgnoreCase(name)) {
+			watermarkInitialValue = value;
+		} else if (WsStreamProperties.PROP_WATERMARK_FILE.equalsIgnoreCase(name)) {
+			watermarkFile = value;
+		} else if (WsStreamProperties.PROP_PARTITION_COUNT.equalsIgnoreCase(name)) {
+			partitionCount = Integer.parseInt(value);
+		} else if (WsStreamProperties.PROP_PARTITION_KEY_MIN.equalsIgnoreCase(name)) {
+			partitionKeyMin = Long.parseLong(value);
+		} else if (WsStreamProperties.PROP_PARTITION_KEY_MAX.equalsIgnoreCase(name)) {
+			partitionKeyMax = Long.parseLong(value);
 		} else if (!StreamsConstants.isStreamCfgProperty(name, WsStreamProperties.class)) {
 			if (CustomProperties.isPrefixedPropertyName(name, DS_PROP_PREFIX)) {
 				dsProperties.put(name, decPassword(value));
@@ -141,6 +208,27 @@ public class JDBCStream extends AbstractWsStream<String, ResultSet> {
 		if (WsStreamProperties.PROP_QUERY_MAX_ROWS.equalsIgnoreCase(name)) {
 			return maxRows;
 		}
+		if (WsStreamProperties.PROP_MATERIALIZE_ROWS.equalsIgnoreCase(name)) {
+			return materializeRows;
+		}
+		if (WsStreamProperties.PROP_WATERMARK_COLUMN.equalsIgnoreCase(name)) {
+			return watermarkColumn;
+		}
+		if (WsStreamProperties.PROP_WATERMARK_INITIAL_VALUE.equalsIgnoreCase(name)) {
+			return watermarkInitialValue;
+		}
+		if (WsStreamProperties.PROP_WATERMARK_FILE.equalsIgnoreCase(name)) {
+			return watermarkFile;
+		}
+		if (WsStreamProperties.PROP_PARTITION_COUNT.equalsIgnoreCase(name)) {
+			return partitionCount;
+		}
+		if (WsStreamProperties.PROP_PARTITION_KEY_MIN.equalsIgnoreCase(name)) {
+			return partitionKeyMin;
+		}
+		if (WsStreamProperties.PROP_PARTITION_KEY_MAX.equalsIgnoreCase(name)) {
+			return partitionKeyMax;
+		}
 
 		Object pValue = super.getProperty(name);
 		if (pValue != null) {
@@ -164,12 +252,25 @@ public class JDBCStream extends AbstractWsStream<String, ResultSet> {
 	protected void initialize() throws Exception {
 		boolean useExecService = (boolean) getProperty(StreamProperties.PROP_USE_EXECUTOR_SERVICE);
 		int threadCount = (int) getProperty(StreamProperties.PROP_EXECUTOR_THREADS_QTY);
-		if (useExecService && threadCount > 1) {
+		if (useExecService && threadCount > 1 && !materializeRows) {
 			logger().log(OpLevel.WARNING, StreamsResources.getBundle(WsStreamConstants.RESOURCE_BUNDLE_NAME),
 					"JDBCStream.resetting.thread.count.property", threadCount);
 			setProperty(StreamProperties.PROP_EXECUTOR_THREADS_QTY, "1");
 		}
 
+		if (StringUtils.isNotEmpty(watermarkColumn)) {
+			if (StringUtils.isEmpty(watermarkFile)) {
+				watermarkFile = new File(System.getProperty("java.io.tmpdir"), getName() + WATERMARK_FILE_SUFFIX)
+						.getPath();
+			}
+			loadWatermarks();
+		}
+
+		if (partitionCount > 1) {
+			partitionsExecutor = Executors.newFixedThreadPool(partitionCount,
+					new StreamsThreadFactory(getName() + "PartitionThread-")); // NON-NLS
+		}
+
 		super.initialize();
 	}
 
@@ -177,6 +278,13 @@ public class JDBCStream extends AbstractWsStream<String, ResultSet> {
 	protected void cleanup() {
 		super.cleanup();
 
+		if (partitionsExecutor != null) {
+			partitionsExecutor.shutdownNow();
+			partitionsExecutor = null;
+		}
+
+		persistWatermarks();
+
 		for (DataSource dbDataSource : dbDataSources.values()) {
 			if (dbDataSource instanceof Closeable) {
 				Utils.close((Closeable) dbDataSource);
@@ -199,7 +307,18 @@ public class JDBCStream extends AbstractWsStream<String, ResultSet> {
 	@Override
 	protected boolean isResponseConsumed(WsResponse<String, ResultSet> item) {
 		ResultSet rs = item.getData();
+		ResultSetRow row = ResultSetRow.from(rs);
+		if (row != null) {
+			updateWatermark(item.getOriginalRequest(), row);
+			return true;
+		}
+
 		try {
+			WsRequest.Parameter param = item.getParameter(ROW_PROP);
+			if (param != null && !rs.isClosed()) {
+				updateWatermark(item.getOriginalRequest(), rs);
+			}
+
 			if (rs.isClosed() || !rs.next()) {
 				logger().log(OpLevel.INFO, StreamsResources.getBundle(WsStreamConstants.RESOURCE_BUNDLE_NAME),
 						"JDBCStream.rs.consumption.done", item.getOriginalRequest().getId(),
@@ -209,7 +328,6 @@ public class JDBCStream extends AbstractWsStream<String, ResultSet> {
 				return true;
 			}
 
-			WsRequest.Parameter param = item.getParameter(ROW_PROP);
 			if (param == null) {
 				param = new WsRequest.Parameter(ROW_PROP, 0, true);
 				item.addParameter(param);
@@ -232,6 +350,12 @@ public class JDBCStream extends AbstractWsStream<String, ResultSet> {
 
 	@Override
 	protected void closeResponse(ResultSet rs) {
+		if (ResultSetRow.from(rs) == null) {
+			closeResultSet(rs);
+		}
+	}
+
+	private static void closeResultSet(ResultSet rs) {
 		try (Statement st = rs.getStatement(); Connection conn = st == null ? null : st.getConnection()) {
 			if (conn != null && !conn.getAutoCommit()) {
 				conn.commit();
@@ -244,9 +368,247 @@ public class JDBCStream extends AbstractWsStream<String, ResultSet> {
 
 	@Override
 	protected boolean initItemForParsing(WsResponse<String, ResultSet> item) {
+		if (ResultSetRow.from(item.getData()) != null) {
+			return true;
+		}
+
 		return !isItemConsumed(item);
 	}
 
+	/**
+	 * {@inheritDoc}
+	 * <p>
+	 * Responses produced by same request execution (partitions and materialized rows) are not treated as recurrent.
+	 */
+	@Override
+	protected WsResponse<String, ResultSet> getRecurrentResponse(WsResponse<String, ResultSet> cItem, Queue<?> buffer) {
+		Object cExecId = cItem.getOriginalRequest().getParameterValue(EXEC_ID_PROP);
+		for (Object item : buffer) {
+			if (item instanceof WsResponse) {
+				@SuppressWarnings("unchecked")
+				WsResponse<String, ResultSet> respItem = (WsResponse<String, ResultSet>) item;
+
+				if (respItem.getOriginalRequest().fqn().equals(cItem.getOriginalRequest().fqn())
+						&& !Objects.equals(cExecId, respItem.getOriginalRequest().getParameterValue(EXEC_ID_PROP))) {
+					return respItem;
+				}
+			}
+		}
+
+		return null;
+	}
+
+	/**
+	 * Executes JDBC call for provided request. When stream defines more than one partition, request query is executed
+	 * for every partition concurrently and this method waits for all partition calls to complete.
+	 * <p>
+	 * All responses produced by request execution (partition result sets or materialized rows) are bound to same
+	 * {@link com.jkoolcloud.tnt4j.streams.scenario.WsResponseParts} set, so request synchronization semaphores are
+	 * released only when last of them gets consumed.
+	 *
+	 * @param scenarioStep
+	 *            scenario step request belongs to
+	 * @param request
+	 *            request to execute
+	 * @return {@code true} if any of request calls produced data into input buffer, {@code false} - otherwise
+	 */
+	protected boolean executeRequest(WsScenarioStep scenarioStep, WsRequest<String> request) {
+		String execId = String.valueOf(execCounter.incrementAndGet());
+		WsResponseParts parts = new WsResponseParts();
+		if (partitionsExecutor == null) {
+			executePartition(scenarioStep, request, execId, -1, parts);
+			return completeResponseParts(parts, request);
+		}
+
+		List<Future<?>> pFutures = new ArrayList<>(partitionCount);
+		for (int i = 0; i < partitionCount; i++) {
+			int pIdx = i;
+			pFutures.add(partitionsExecutor.submit(() -> executePartition(scenarioStep, request, execId, pIdx, parts)));
+		}
+
+		for (Future<?> pFuture : pFutures) {
+			try {
+				pFuture.get();
+			} catch (InterruptedException exc) {
+				Thread.currentThread().interrupt();
+				for (Future<?> f : pFutures) {
+					f.cancel(true);
+				}
+				break;
+			} catch (ExecutionException exc) {
+				Utils.logThrowable(logger(), OpLevel.ERROR,
+						StreamsResources.getBundle(WsStreamConstants.RESOURCE_BUNDLE_NAME),
+						"JDBCStream.execute.exception", getName(), request.getId(), exc.getCause());
+			}
+		}
+
+		return completeResponseParts(parts, request);
+	}
+
+	private void executePartition(WsScenarioStep scenarioStep, WsRequest<String> request, String execId, int pIdx,
+			WsResponseParts parts) {
+		ResultSet respRs = null;
+		WsRequest<String> processedRequest = null;
+		try {
+			processedRequest = fillInRequest(request);
+			processedRequest.addParameter(EXEC_ID_PROP, execId, true);
+			if (pIdx >= 0) {
+				addPartitionParameters(processedRequest, pIdx);
+			}
+			if (StringUtils.isNotEmpty(watermarkColumn)) {
+				processedRequest.addParameter(new WsRequest.Parameter(WATERMARK_VAR,
+						watermarks.getOrDefault(request.fqn(), watermarkInitialValue), true));
+			}
+			respRs = executeJdbcCall(scenarioStep.getUrlStr(), scenarioStep.getUsername(),
+					decPassword(scenarioStep.getPassword()), processedRequest);
+		} catch (VoidRequestException exc) {
+			logger().log(OpLevel.INFO, StreamsResources.getBundle(WsStreamConstants.RESOURCE_BUNDLE_NAME),
+					"AbstractWsStream.void.request", request.getId(), exc.getMessage());
+		} catch (Throwable exc) {
+			Utils.logThrowable(logger(), OpLevel.ERROR,
+					StreamsResources.getBundle(WsStreamConstants.RESOURCE_BUNDLE_NAME), "JDBCStream.execute.exception",
+					getName(), processedRequest == null ? request.getId() : processedRequest.getId(), exc);
+		}
+
+		if (respRs == null) {
+			return;
+		}
+
+		if (materializeRows) {
+			bufferRows(respRs, processedRequest, parts);
+		} else {
+			addResponsePart(new WsResponse<>(respRs, processedRequest), parts);
+		}
+	}
+
+	private void addPartitionParameters(WsRequest<String> request, int pIdx) {
+		request.addParameter(new WsRequest.Parameter(PARTITION_INDEX_VAR, pIdx, true));
+
+		if (partitionKeyMin != null && partitionKeyMax != null) {
+			long range = partitionKeyMax - partitionKeyMin;
+			long low = partitionKeyMin + range * pIdx / partitionCount;
+			long high = pIdx == partitionCount - 1 ? partitionKeyMax
+					: partitionKeyMin + range * (pIdx + 1) / partitionCount;
+
+			request.addParameter(new WsRequest.Parameter(PARTITION_LOW_VAR, low, true));
+			request.addParameter(new WsRequest.Parameter(PARTITION_HIGH_VAR, high, true));
+		}
+	}
+
+	/**
+	 * Reads all provided result set rows into detached {@link ResultSetRow} instances and puts them into stream input
+	 * buffer as {@link java.sql.ResultSet} views of those rows. Result set, statement and connection are closed when
+	 * all rows are read.
+	 *
+	 * @param rs
+	 *            result set to read rows from
+	 * @param request
+	 *            request produced result set
+	 * @param parts
+	 *            responses set of request execution, rows are bound to
+	 * @return number of rows put into input buffer
+	 *
+	 * @see ResultSetRow#asResultSet()
+	 */
+	protected int bufferRows(ResultSet rs, WsRequest<String> request, WsResponseParts parts) {
+		int rowsCount = 0;
+		try {
+			ResultSetRow.Columns columns = new ResultSetRow.Columns(rs.getMetaData());
+			while (!isShotDown() && rs.next()) {
+				ResultSetRow row = new ResultSetRow(rs, columns, rowsCount + 1);
+				if (addResponsePart(new WsResponse<>(row.asResultSet(), request), parts)) {
+					rowsCount++;
+				}
+			}
+			logger().log(OpLevel.INFO, StreamsResources.getBundle(WsStreamConstants.RESOURCE_BUNDLE_NAME),
+					"JDBCStream.rs.materialized", request.getId(), rowsCount);
+		} catch (SQLException exc) {
+			Utils.logThrowable(logger(), OpLevel.WARNING,
+					StreamsResources.getBundle(WsStreamConstants.RESOURCE_BUNDLE_NAME),
+					"JDBCStream.rs.consumption.exception", request.getId(), exc);
+		} finally {
+			closeResultSet(rs);
+		}
+
+		return rowsCount;
+	}
+
+	private void updateWatermark(WsRequest<String> request, ResultSet rs) throws SQLException {
+		if (StringUtils.isNotEmpty(watermarkColumn)) {
+			updateWatermark(request.fqn(), rs.getObject(watermarkColumn));
+		}
+	}
+
+	private void updateWatermark(WsRequest<String> request, ResultSetRow row) {
+		if (StringUtils.isNotEmpty(watermarkColumn)) {
+			try {
+				updateWatermark(request.fqn(), row.getValue(watermarkColumn));
+			} catch (SQLException exc) {
+				Utils.logThrowable(logger(), OpLevel.WARNING,
+						StreamsResources.getBundle(WsStreamConstants.RESOURCE_BUNDLE_NAME),
+						"JDBCStream.watermark.update.failed", request.getId(), exc);
+			}
+		}
+	}
+
+	@SuppressWarnings({ "unchecked", "rawtypes" })
+	private void updateWatermark(String reqName, Object value) {
+		if (value == null) {
+			return;
+		}
+
+		watermarks.merge(reqName, value, (oldValue, newValue) -> {
+			if (oldValue.getClass() == newValue.getClass() && newValue instanceof Comparable) {
+				return ((Comparable) newValue).compareTo(oldValue) > 0 ? newValue : oldValue;
+			}
+			return newValue;
+		});
+	}
+
+	private void loadWatermarks() {
+		File wmFile = new File(watermarkFile);
+		if (!wmFile.exists()) {
+			return;
+		}
+
+		Properties wmProps = new Properties();
+		try (Reader rdr = new FileReader(wmFile)) {
+			wmProps.load(rdr);
+			for (String reqName : wmProps.stringPropertyNames()) {
+				watermarks.put(reqName, wmProps.getProperty(reqName));
+			}
+			logger().log(OpLevel.INFO, StreamsResources.getBundle(WsStreamConstants.RESOURCE_BUNDLE_NAME),
+					"JDBCStream.watermarks.loaded", watermarks.size(), wmFile.getAbsolutePath());
+		} catch (IOException exc) {
+			Utils.logThrowable(logger(), OpLevel.WARNING,
+					StreamsResources.getBundle(WsStreamConstants.RESOURCE_BUNDLE_NAME),
+					"JDBCStream.watermarks.load.failed", wmFile.getAbsolutePath(), exc);
+		}
+	}
+
+	/**
+	 * Persists requests watermark values to file defined by stream property {@code 'WatermarkFile'}.
+	 */
+	protected void persistWatermarks() {
+		if (StringUtils.isEmpty(watermarkColumn) || watermarks.isEmpty()) {
+			return;
+		}
+
+		Properties wmProps = new Properties();
+		for (Map.Entry<String, Object> wme : watermarks.entrySet()) {
+			wmProps.setProperty(wme.getKey(), String.valueOf(wme.getValue()));
+		}
+
+		File wmFile = new File(watermarkFile);
+		try (Writer wrt = new FileWriter(wmFile)) {
+			wmProps.store(wrt, getName());
+		} catch (IOException exc) {
+			Utils.logThrowable(logger(), OpLevel.WARNING,
+					StreamsResources.getBundle(WsStreamConstants.RESOURCE_BUNDLE_NAME),
+					"JDBCStream.watermarks.persist.failed", wmFile.getAbsolutePath(), exc);
+		}
+	}
+
 	/**
 	 * Performs JDBC query call.
 	 *
@@ -382,6 +744,9 @@ public class JDBCStream extends AbstractWsStream<String, ResultSet> {
 		Map<String, WsRequest.Parameter> params = dbRequest.getParameters();
 		if (params != null) {
 			for (Map.Entry<String, WsRequest.Parameter> param : params.entrySet()) {
+				if (param.getValue().isTransient() && !StringUtils.isNumeric(param.getValue().getId())) {
+					continue;
+				}
 				try {
 					int pIdx = Integer.parseInt(param.getValue().getId());
 					String type = param.getValue().getAttribute(WsRequest.Parameter.ATTR_TYPE);
@@ -395,7 +760,7 @@ public class JDBCStream extends AbstractWsStream<String, ResultSet> {
 
 					switch (type.toUpperCase()) {
 					case "INTEGER": // NON-NLS
-						value = fillInRequestData(value, format);
+						value = fillInParameterValue(dbRequest, value, format, null);
 						if (!param.getValue().isTransient()) {
 							if (isNullValue(value)) {
 								setNullParameter(statement, dbRequest.getId(), pIdx, Types.INTEGER, type.toUpperCase());
@@ -410,7 +775,7 @@ public class JDBCStream extends AbstractWsStream<String, ResultSet> {
 						}
 						break;
 					case "BIGINT": // NON-NLS
-						value = fillInRequestData(value, format);
+						value = fillInParameterValue(dbRequest, value, format, null);
 						if (!param.getValue().isTransient()) {
 							if (isNullValue(value)) {
 								setNullParameter(statement, dbRequest.getId(), pIdx, Types.BIGINT, type.toUpperCase());
@@ -425,7 +790,7 @@ public class JDBCStream extends AbstractWsStream<String, ResultSet> {
 						}
 						break;
 					case "FLOAT": // NON-NLS
-						value = fillInRequestData(value, format);
+						value = fillInParameterValue(dbRequest, value, format, null);
 						if (!param.getValue().isTransient()) {
 							if (isNullValue(value)) {
 								setNullParameter(statement, dbRequest.getId(), pIdx, Types.FLOAT, type.toUpperCase());
@@ -442,7 +807,7 @@ public class JDBCStream extends AbstractWsStream<String, ResultSet> {
 					case "DOUBLE": // NON-NLS
 					case "REAL": // NON-NLS
 					case "DECIMAL": // NON-NLS
-						value = fillInRequestData(value, format);
+						value = fillInParameterValue(dbRequest, value, format, null);
 						if (!param.getValue().isTransient()) {
 							if (isNullValue(value)) {
 								setNullParameter(statement, dbRequest.getId(), pIdx, Types.DOUBLE, "DOUBLE"); // NON-NLS
@@ -456,8 +821,8 @@ public class JDBCStream extends AbstractWsStream<String, ResultSet> {
 						}
 						break;
 					case "DATE": // NON-NLS
-						value = fillInRequestData(value, StringUtils.isEmpty(format) ? DEFAULT_DATE_PATTERN : format,
-								timeZone);
+						value = fillInParameterValue(dbRequest, value,
+								StringUtils.isEmpty(format) ? DEFAULT_DATE_PATTERN : format, timeZone);
 						if (!param.getValue().isTransient()) {
 							if (isNullValue(value)) {
 								setNullParameter(statement, dbRequest.getId(), pIdx, Types.DATE, type.toUpperCase());
@@ -472,8 +837,8 @@ public class JDBCStream extends AbstractWsStream<String, ResultSet> {
 						}
 						break;
 					case "TIME": // NON-NLS
-						value = fillInRequestData(value, StringUtils.isEmpty(format) ? DEFAULT_TIME_PATTERN : format,
-								timeZone);
+						value = fillInParameterValue(dbRequest, value,
+								StringUtils.isEmpty(format) ? DEFAULT_TIME_PATTERN : format, timeZone);
 						if (!param.getValue().isTransient()) {
 							if (isNullValue(value)) {
 								setNullParameter(statement, dbRequest.getId(), pIdx, Types.TIME, type.toUpperCase());
@@ -489,7 +854,7 @@ public class JDBCStream extends AbstractWsStream<String, ResultSet> {
 						break;
 					case "TIMESTAMP": // NON-NLS
 					case "DATETIME": // NON-NLS
-						value = fillInRequestData(value,
+						value = fillInParameterValue(dbRequest, value,
 								StringUtils.isEmpty(format) ? DEFAULT_TIMESTAMP_PATTERN : format, timeZone);
 						if (!param.getValue().isTransient()) {
 							if (isNullValue(value)) {
@@ -506,7 +871,7 @@ public class JDBCStream extends AbstractWsStream<String, ResultSet> {
 						}
 						break;
 					case "BOOLEAN": // NON-NLS
-						value = fillInRequestData(value, format);
+						value = fillInParameterValue(dbRequest, value, format, null);
 						if (!param.getValue().isTransient()) {
 							if (isNullValue(value)) {
 								setNullParameter(statement, dbRequest.getId(), pIdx, Types.BOOLEAN, type.toUpperCase());
@@ -521,7 +886,7 @@ public class JDBCStream extends AbstractWsStream<String, ResultSet> {
 						}
 						break;
 					case "BINARY": // NON-NLS
-						value = fillInRequestData(value, format);
+						value = fillInParameterValue(dbRequest, value, format, null);
 						if (!param.getValue().isTransient()) {
 							if (isNullValue(value)) {
 								setNullParameter(statement, dbRequest.getId(), pIdx, Types.BINARY, type.toUpperCase());
@@ -537,7 +902,7 @@ public class JDBCStream extends AbstractWsStream<String, ResultSet> {
 						break;
 					case "VARCHAR": // NON-NLS
 					default:
-						value = fillInRequestData(value, format);
+						value = fillInParameterValue(dbRequest, value, format, null);
 						if (!param.getValue().isTransient()) {
 							if (isNullValue(value)) {
 								setNullParameter(statement, dbRequest.getId(), pIdx, Types.VARCHAR, "VARCHAR"); // NON-NLS
@@ -566,6 +931,28 @@ public class JDBCStream extends AbstractWsStream<String, ResultSet> {
 		}
 	}
 
+	/**
+	 * Fills-in request parameter value having variable expressions. Variables are resolved using request bound
+	 * context, so request defined parameters (e.g. {@value #WATERMARK_VAR}, {@value #PARTITION_INDEX_VAR}) are
+	 * available for expressions.
+	 *
+	 * @param dbRequest
+	 *            DB request parameter belongs to
+	 * @param value
+	 *            parameter value string
+	 * @param format
+	 *            format of value to fill
+	 * @param tz
+	 *            date-time value format timezone
+	 * @return variable values filled-in parameter value string
+	 */
+	protected String fillInParameterValue(WsRequest<String> dbRequest, String value, String format, String tz) {
+		DataFillContext ctx = makeDataContext(value, format, tz, null);
+		ctx.setRequest(dbRequest);
+
+		return Utils.toString(fillInRequestData(ctx));
+	}
+
 	private static boolean isNullValue(String value) {
 		return "null".equalsIgnoreCase(value); // NON-NLS
 	}
@@ -599,9 +986,10 @@ public class JDBCStream extends AbstractWsStream<String, ResultSet> {
 			WsScenarioStep scenarioStep = (WsScenarioStep) dataMap.get(JOB_PROP_SCENARIO_STEP_KEY);
 
 			if (!scenarioStep.isEmpty()) {
-				ResultSet respRs;
+				stream.persistWatermarks();
+
+				boolean produced;
 				Semaphore acquiredSemaphore;
-				WsRequest<String> processedRequest;
 				for (WsRequest<String> request : scenarioStep.requestsArray()) {
 					if (stream.isShotDown()) {
 						return;
@@ -611,27 +999,16 @@ public class JDBCStream extends AbstractWsStream<String, ResultSet> {
 						continue;
 					}
 
-					respRs = null;
+					produced = false;
 					acquiredSemaphore = null;
-					processedRequest = null;
 					try {
 						acquiredSemaphore = stream.acquireSemaphore(request);
-						processedRequest = stream.fillInRequest(request);
-						respRs = stream.executeJdbcCall(scenarioStep.getUrlStr(), scenarioStep.getUsername(),
-								decPassword(scenarioStep.getPassword()), processedRequest);
-					} catch (VoidRequestException exc) {
-						stream.logger().log(OpLevel.INFO,
-								StreamsResources.getBundle(WsStreamConstants.RESOURCE_BUNDLE_NAME),
-								"AbstractWsStream.void.request", request.getId(), exc.getMessage());
-					} catch (Throwable exc) {
-						Utils.logThrowable(stream.logger(), OpLevel.ERROR,
-								StreamsResources.getBundle(WsStreamConstants.RESOURCE_BUNDLE_NAME),
-								"JDBCStream.execute.exception", stream.getName(), processedRequest.getId(), exc);
+						produced = stream.executeRequest(scenarioStep, request);
+					} catch (InterruptedException exc) {
+						Thread.currentThread().interrupt();
 					} finally {
-						if (respRs != null) {
-							stream.addInputToBuffer(new WsResponse<>(respRs, processedRequest));
-						} else {
-							stream.requestFailed(processedRequest);
+						if (!produced) {
+							stream.requestFailed(request);
 							stream.releaseSemaphore(acquiredSemaphore, scenarioStep.getName(), request);
 						}
 					}
@@ -16,26 +16,48 @@
 
 package com.jkoolcloud.tnt4j.streams.inputs;
 
-import java.io.IOException;
+import java.io.*;
 import java.net.URISyntaxException;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.Queue;
 import java.util.concurrent.Semaphore;
+import java.util.function.Consumer;
 
+import org.apache.commons.io.IOUtils;
 import org.apache.commons.lang3.StringUtils;
+import org.apache.hc.client5.http.HttpResponseException;
+import org.apache.hc.client5.http.async.methods.SimpleHttpRequest;
+import org.apache.hc.client5.http.async.methods.SimpleHttpResponse;
+import org.apache.hc.client5.http.async.methods.SimpleRequestBuilder;
+import org.apache.hc.client5.http.async.methods.SimpleRequestProducer;
+import org.apache.hc.client5.http.async.methods.SimpleResponseConsumer;
 import org.apache.hc.client5.http.classic.methods.HttpGet;
 import org.apache.hc.client5.http.classic.methods.HttpPost;
 import org.apache.hc.client5.http.classic.methods.HttpUriRequest;
+import org.apache.hc.client5.http.impl.async.CloseableHttpAsyncClient;
+import org.apache.hc.client5.http.impl.async.HttpAsyncClients;
+import org.apache.hc.client5.http.impl.classic.AbstractHttpClientResponseHandler;
 import org.apache.hc.client5.http.impl.classic.BasicHttpClientResponseHandler;
 import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
 import org.apache.hc.client5.http.impl.classic.CloseableHttpResponse;
 import org.apache.hc.client5.http.impl.classic.HttpClients;
 import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.impl.nio.PoolingAsyncClientConnectionManager;
+import org.apache.hc.client5.http.impl.nio.PoolingAsyncClientConnectionManagerBuilder;
 import org.apache.hc.client5.http.protocol.HttpClientContext;
+import org.apache.hc.core5.concurrent.FutureCallback;
+import org.apache.hc.core5.http.ClassicHttpResponse;
 import org.apache.hc.core5.http.ContentType;
+import org.apache.hc.core5.http.HttpEntity;
 import org.apache.hc.core5.http.HttpHeaders;
+import org.apache.hc.core5.http.HttpRequest;
+import org.apache.hc.core5.http.HttpStatus;
 import org.apache.hc.core5.http.NameValuePair;
+import org.apache.hc.core5.http.io.HttpClientResponseHandler;
 import org.apache.hc.core5.http.io.entity.StringEntity;
 import org.apache.hc.core5.http.message.BasicNameValuePair;
 import org.apache.hc.core5.http.protocol.HttpContext;
@@ -44,11 +66,17 @@ import org.quartz.JobBuilder;
 import org.quartz.JobDataMap;
 import org.quartz.JobDetail;
 
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+
 import com.jkoolcloud.tnt4j.core.OpLevel;
 import com.jkoolcloud.tnt4j.sink.EventSink;
 import com.jkoolcloud.tnt4j.streams.configure.WsStreamProperties;
 import com.jkoolcloud.tnt4j.streams.scenario.WsRequest;
 import com.jkoolcloud.tnt4j.streams.scenario.WsResponse;
+import com.jkoolcloud.tnt4j.streams.scenario.WsResponseParts;
 import com.jkoolcloud.tnt4j.streams.scenario.WsScenarioStep;
 import com.jkoolcloud.tnt4j.streams.utils.LoggerUtils;
 import com.jkoolcloud.tnt4j.streams.utils.StreamsResources;
@@ -75,9 +103,15 @@ import com.jkoolcloud.tnt4j.streams.utils.WsStreamConstants;
  * Default value - {@code 5}. (Optional)</li>
  * <li>DefaultMaxPerRouteConnections - defines the maximum number of concurrent connections per HTTP route. Default
  * value - {@code 2}. (Optional)</li>
+ * <li>ResponseSplitMode - defines how response entity content is split into activity data items while it is read from
+ * connection: {@code 'NONE'} - whole response is read into single string item, {@code 'LINES'} - every non-empty line
+ * (e.g. NDJSON) is produced as separate item, {@code 'JSON_ARRAY'} - every element of root level JSON array (or every
+ * root level JSON value) is produced as separate item. Default value - {@code 'NONE'}. (Optional)</li>
+ * <li>AsyncRequests - flag indicating whether to execute requests using non-blocking HTTP client, so scheduler worker
+ * threads are released right after request is submitted. Default value - {@code false}. (Optional)</li>
  * </ul>
  *
- * @version $Revision: 3 $
+ * @version $Revision: 4 $
  *
  * @see com.jkoolcloud.tnt4j.streams.parsers.ActivityParser#isDataClassSupported(Object)
  * @see org.apache.hc.client5.http.classic.HttpClient#execute(org.apache.hc.core5.http.ClassicHttpRequest,
@@ -93,11 +127,18 @@ public class RestStream extends AbstractHttpStream {
 
 	private int maxTotalPoolConnections = 5;
 	private int defaultMaxPerRouteConnections = 2;
+	private ResponseSplitMode responseSplitMode = ResponseSplitMode.NONE;
+	private boolean asyncRequests = false;
 
 	/**
 	 * HTTP client instance used to execute JAX-RS calls.
 	 */
 	protected CloseableHttpClient client;
+	/**
+	 * Non-blocking HTTP client instance used to execute JAX-RS calls, when stream is configured to run asynchronous
+	 * requests.
+	 */
+	protected CloseableHttpAsyncClient asyncClient;
 
 	/**
 	 * Constructs an empty RestStream. Requires configuration settings to set input stream source.
@@ -119,6 +160,10 @@ public class RestStream extends AbstractHttpStream {
 			maxTotalPoolConnections = Integer.parseInt(value);
 		} else if (WsStreamProperties.PROP_DEFAULT_MAX_PER_ROUTE_CONNECTIONS.equalsIgnoreCase(name)) {
 			defaultMaxPerRouteConnections = Integer.parseInt(value);
+		} else if (WsStreamProperties.PROP_RESPONSE_SPLIT_MODE.equalsIgnoreCase(name)) {
+			responseSplitMode = ResponseSplitMode.valueOf(value.toUpperCase());
+		} else if (WsStreamProperties.PROP_ASYNC_REQUESTS.equalsIgnoreCase(name)) {
+			asyncRequests = Utils.toBoolean(value);
 		}
 	}
 
@@ -131,6 +176,12 @@ public class RestStream extends AbstractHttpStream {
 		if (WsStreamProperties.PROP_DEFAULT_MAX_PER_ROUTE_CONNECTIONS.equalsIgnoreCase(name)) {
 			return defaultMaxPerRouteConnections;
 		}
+		if (WsStreamProperties.PROP_RESPONSE_SPLIT_MODE.equalsIgnoreCase(name)) {
+			return responseSplitMode;
+		}
+		if (WsStreamProperties.PROP_ASYNC_REQUESTS.equalsIgnoreCase(name)) {
+			return asyncRequests;
+		}
 
 		return super.getProperty(name);
 	}
@@ -148,6 +199,14 @@ public class RestStream extends AbstractHttpStream {
 		// cm.setValidateAfterInactivity((int) TimeUnit.SECONDS.toMillis(4 * 60));
 		client = HttpClients.custom().setConnectionManager(cm).build();
 
+		if (asyncRequests) {
+			PoolingAsyncClientConnectionManager acm = PoolingAsyncClientConnectionManagerBuilder.create()
+					.setMaxConnTotal(maxTotalPoolConnections).setMaxConnPerRoute(defaultMaxPerRouteConnections)
+					.build();
+			asyncClient = HttpAsyncClients.custom().setConnectionManager(acm).build();
+			asyncClient.start();
+		}
+
 		super.initialize();
 	}
 
@@ -156,6 +215,7 @@ public class RestStream extends AbstractHttpStream {
 		super.cleanup();
 
 		Utils.close(client);
+		Utils.close(asyncClient);
 	}
 
 	/**
@@ -271,6 +331,12 @@ public class RestStream extends AbstractHttpStream {
 
 	private static String executeRequest(CloseableHttpClient client, HttpUriRequest req,
 			Map<String, WsRequest.Parameter> reqParams) throws Exception {
+		return executeRequest(client, req, reqParams, respHandler);
+	}
+
+	private static <R> R executeRequest(CloseableHttpClient client, HttpUriRequest req,
+			Map<String, WsRequest.Parameter> reqParams, HttpClientResponseHandler<? extends R> handler)
+			throws Exception {
 		if (client == null) {
 			throw new IllegalArgumentException(
 					StreamsResources.getString(WsStreamConstants.RESOURCE_BUNDLE_NAME, "RestStream.client.null"));
@@ -279,26 +345,247 @@ public class RestStream extends AbstractHttpStream {
 		CloseableHttpResponse response = null;
 		try {
 			HttpContext ctx = HttpClientContext.create();
+			addHeaders(req, reqParams);
 
-			if (reqParams != null) {
-				int idx = 0;
-				for (Map.Entry<String, WsRequest.Parameter> pe : reqParams.entrySet()) {
-					if (pe.getKey().startsWith(REQ_HEAD_PARAM_PREFIX) && !pe.getValue().isTransient()) {
-						String pName = pe.getKey().substring(REQ_HEAD_PARAM_PREFIX.length());
-						if (StringUtils.isEmpty(pName)) {
-							throw new IllegalArgumentException(StreamsResources.getStringFormatted(
-									WsStreamConstants.RESOURCE_BUNDLE_NAME, "RestStream.header.param.null", idx));
-						}
-						req.addHeader(pName, pe.getValue().getStringValue());
+			return client.execute(req, ctx, handler);
+		} finally {
+			Utils.close(response);
+		}
+	}
+
+	private static void addHeaders(HttpRequest req, Map<String, WsRequest.Parameter> reqParams) {
+		if (reqParams != null) {
+			int idx = 0;
+			for (Map.Entry<String, WsRequest.Parameter> pe : reqParams.entrySet()) {
+				if (pe.getKey().startsWith(REQ_HEAD_PARAM_PREFIX) && !pe.getValue().isTransient()) {
+					String pName = pe.getKey().substring(REQ_HEAD_PARAM_PREFIX.length());
+					if (StringUtils.isEmpty(pName)) {
+						throw new IllegalArgumentException(StreamsResources.getStringFormatted(
+								WsStreamConstants.RESOURCE_BUNDLE_NAME, "RestStream.header.param.null", idx));
 					}
-					idx++;
+					req.addHeader(pName, pe.getValue().getStringValue());
 				}
+				idx++;
 			}
+		}
+	}
 
-			return client.execute(req, ctx, respHandler);
-		} finally {
-			Utils.close(response);
+	/**
+	 * Builds HTTP request for provided request method and stream request data. For POST requests having no payload
+	 * data, HTTP GET request is built for URL defined by request parameter {@value #REQ_URL_PARAM}.
+	 *
+	 * @param method
+	 *            request method
+	 * @param req
+	 *            request instance
+	 * @return HTTP request instance, or {@code null} if request URI is not defined
+	 */
+	protected static HttpUriRequest makeHttpRequest(ReqMethod method, WsRequest<String> req) {
+		if (method == ReqMethod.POST) {
+			String uriStr = req.getParameterStringValue(REQ_URL_PARAM);
+			if (StringUtils.isEmpty(uriStr)) {
+				LOGGER.log(OpLevel.DEBUG, StreamsResources.getBundle(WsStreamConstants.RESOURCE_BUNDLE_NAME),
+						"RestStream.cant.execute.post.request", uriStr);
+				return null;
+			}
+			if (StringUtils.isNotEmpty(req.getData())) {
+				LOGGER.log(OpLevel.INFO, StreamsResources.getBundle(WsStreamConstants.RESOURCE_BUNDLE_NAME),
+						"RestStream.invoking.post.request", uriStr, req.getData());
+				HttpPost post = new HttpPost(uriStr);
+				post.setEntity(new StringEntity(req.getData(), ContentType.APPLICATION_JSON));
+				return post;
+			}
+
+			return makeGetRequest(uriStr);
 		}
+
+		return makeGetRequest(req.getData());
+	}
+
+	private static HttpUriRequest makeGetRequest(String uriStr) {
+		if (StringUtils.isEmpty(uriStr)) {
+			LOGGER.log(OpLevel.DEBUG, StreamsResources.getBundle(WsStreamConstants.RESOURCE_BUNDLE_NAME),
+					"RestStream.cant.execute.get.request", uriStr);
+			return null;
+		}
+
+		LOGGER.log(OpLevel.INFO, StreamsResources.getBundle(WsStreamConstants.RESOURCE_BUNDLE_NAME),
+				"RestStream.invoking.get.request", uriStr);
+
+		return new HttpGet(uriStr);
+	}
+
+	/**
+	 * Invokes JAX-RS service call for provided request and puts response data into stream input buffer.
+	 * <p>
+	 * Depending on stream configuration, request is executed:
+	 * <ul>
+	 * <li>asynchronously using non-blocking HTTP client, if stream property {@code 'AsyncRequests'} is set to
+	 * {@code true}. In this case acquired semaphore is released by response callback when request fails.</li>
+	 * <li>synchronously reading whole response entity into a string, if stream property {@code 'ResponseSplitMode'}
+	 * is {@code 'NONE'}</li>
+	 * <li>synchronously splitting response entity content stream into activity data items as content bytes
+	 * arrive</li>
+	 * </ul>
+	 *
+	 * @param method
+	 *            request method
+	 * @param req
+	 *            request instance
+	 * @param acquiredSemaphore
+	 *            semaphore acquired for this request, or {@code null} if no semaphore was acquired
+	 * @return {@code true} if request produced data into input buffer or was submitted for asynchronous execution,
+	 *         {@code false} - otherwise
+	 *
+	 * @throws Exception
+	 *             if exception occurs while performing JAX-RS service call
+	 */
+	protected boolean invokeRequest(ReqMethod method, WsRequest<String> req, Semaphore acquiredSemaphore)
+			throws Exception {
+		if (asyncClient != null) {
+			return executeAsync(method, req, acquiredSemaphore);
+		}
+
+		if (responseSplitMode == ResponseSplitMode.NONE) {
+			String respStr = method == ReqMethod.POST ? executePOST(client, req) : executeGET(client, req);
+			if (StringUtils.isNotEmpty(respStr)) {
+				addInputToBuffer(new WsResponse<>(respStr, req));
+				return true;
+			}
+			return false;
+		}
+
+		HttpUriRequest httpReq = makeHttpRequest(method, req);
+		if (httpReq == null) {
+			return false;
+		}
+
+		WsResponseParts parts = new WsResponseParts();
+		try {
+			executeRequest(client, httpReq, req.getParameters(), new SplittingResponseHandler(responseSplitMode,
+					chunk -> addResponsePart(new WsResponse<>(chunk, req), parts)));
+		} catch (Exception exc) {
+			if (parts.getCount() == 0) {
+				throw exc;
+			}
+			Utils.logThrowable(logger(), OpLevel.ERROR,
+					StreamsResources.getBundle(WsStreamConstants.RESOURCE_BUNDLE_NAME), "RestStream.execute.exception",
+					getName(), req.getId(), exc);
+		}
+
+		LOGGER.log(OpLevel.DEBUG, StreamsResources.getBundle(WsStreamConstants.RESOURCE_BUNDLE_NAME),
+				"RestStream.received.response.split", httpReq.getRequestUri(), parts.getCount(), responseSplitMode);
+
+		return completeResponseParts(parts, req);
+	}
+
+	private boolean executeAsync(ReqMethod method, WsRequest<String> req, Semaphore acquiredSemaphore)
+			throws Exception {
+		HttpUriRequest httpReq = makeHttpRequest(method, req);
+		if (httpReq == null) {
+			return false;
+		}
+
+		SimpleRequestBuilder reqBuilder = SimpleRequestBuilder.create(httpReq.getMethod()).setUri(httpReq.getUri());
+		if (httpReq.getEntity() != null) {
+			reqBuilder.setBody(req.getData(), ContentType.APPLICATION_JSON);
+		}
+		SimpleHttpRequest aReq = reqBuilder.build();
+		addHeaders(aReq, req.getParameters());
+
+		startProcessingTask();
+		asyncClient.execute(SimpleRequestProducer.create(aReq), SimpleResponseConsumer.create(),
+				HttpClientContext.create(), new FutureCallback<SimpleHttpResponse>() {
+					@Override
+					public void completed(SimpleHttpResponse response) {
+						try {
+							if (!handleAsyncResponse(aReq, response, req)) {
+								asyncRequestFailed(req, acquiredSemaphore);
+							}
+						} catch (Throwable exc) {
+							handleFailure(exc);
+						} finally {
+							endProcessingTask();
+						}
+					}
+
+					@Override
+					public void failed(Exception exc) {
+						try {
+							Utils.logThrowable(logger(), OpLevel.WARNING,
+									StreamsResources.getBundle(WsStreamConstants.RESOURCE_BUNDLE_NAME),
+									"RestStream.execute.exception", getName(), req.getId(), exc);
+							asyncRequestFailed(req, acquiredSemaphore);
+						} finally {
+							endProcessingTask();
+						}
+					}
+
+					@Override
+					public void cancelled() {
+						try {
+							asyncRequestFailed(req, acquiredSemaphore);
+						} finally {
+							endProcessingTask();
+						}
+					}
+
+					private void handleFailure(Throwable exc) {
+						Utils.logThrowable(logger(), OpLevel.ERROR,
+								StreamsResources.getBundle(WsStreamConstants.RESOURCE_BUNDLE_NAME),
+								"RestStream.execute.exception", getName(), req.getId(), exc);
+						asyncRequestFailed(req, acquiredSemaphore);
+					}
+				});
+
+		return true;
+	}
+
+	private boolean handleAsyncResponse(SimpleHttpRequest aReq, SimpleHttpResponse response, WsRequest<String> req)
+			throws IOException {
+		if (response.getCode() >= HttpStatus.SC_REDIRECTION) {
+			throw new HttpResponseException(response.getCode(), response.getReasonPhrase());
+		}
+
+		byte[] body = response.getBodyBytes();
+		if (body == null || body.length == 0) {
+			return false;
+		}
+
+		Charset charset = getCharset(response.getContentType());
+		if (responseSplitMode == ResponseSplitMode.NONE) {
+			String respStr = new String(body, charset);
+			LOGGER.log(OpLevel.INFO, StreamsResources.getBundle(WsStreamConstants.RESOURCE_BUNDLE_NAME),
+					"RestStream.received.response", aReq.getRequestUri(), respStr);
+			return addInputToBuffer(new WsResponse<>(respStr, req));
+		}
+
+		WsResponseParts parts = new WsResponseParts();
+		try {
+			responseSplitMode.split(new ByteArrayInputStream(body), charset,
+					chunk -> addResponsePart(new WsResponse<>(chunk, req), parts));
+		} catch (IOException exc) {
+			if (parts.getCount() == 0) {
+				throw exc;
+			}
+			Utils.logThrowable(logger(), OpLevel.ERROR,
+					StreamsResources.getBundle(WsStreamConstants.RESOURCE_BUNDLE_NAME), "RestStream.execute.exception",
+					getName(), req.getId(), exc);
+		}
+		LOGGER.log(OpLevel.DEBUG, StreamsResources.getBundle(WsStreamConstants.RESOURCE_BUNDLE_NAME),
+				"RestStream.received.response.split", aReq.getRequestUri(), parts.getCount(), responseSplitMode);
+
+		return completeResponseParts(parts, req);
+	}
+
+	private void asyncRequestFailed(WsRequest<String> req, Semaphore acquiredSemaphore) {
+		requestFailed(req);
+		releaseSemaphore(acquiredSemaphore, req.getScenarioStep().getName(), req);
+	}
+
+	private static Charset getCharset(ContentType contentType) {
+		Charset charset = contentType == null ? null : contentType.getCharset();
+		return charset == null ? StandardCharsets.UTF_8 : charset;
 	}
 
 	/**
@@ -390,7 +677,7 @@ public class RestStream extends AbstractHttpStream {
 		 */
 		protected void runPOST(WsScenarioStep scenarioStep, RestStream stream) {
 			if (!scenarioStep.isEmpty()) {
-				String respStr;
+				boolean invoked;
 				Semaphore acquiredSemaphore;
 				WsRequest<String> processedRequest;
 				for (WsRequest<String> request : scenarioStep.requestsArray()) {
@@ -402,14 +689,14 @@ public class RestStream extends AbstractHttpStream {
 						continue;
 					}
 
-					respStr = null;
+					invoked = false;
 					acquiredSemaphore = null;
 					processedRequest = null;
 					try {
 						acquiredSemaphore = stream.acquireSemaphore(request);
 						request.addParameter(REQ_URL_PARAM, scenarioStep.getUrlStr(), true);
 						processedRequest = stream.fillInRequest(request);
-						respStr = stream.executePOST(stream.client, processedRequest);
+						invoked = stream.invokeRequest(ReqMethod.POST, processedRequest, acquiredSemaphore);
 					} catch (VoidRequestException exc) {
 						stream.logger().log(OpLevel.INFO,
 								StreamsResources.getBundle(WsStreamConstants.RESOURCE_BUNDLE_NAME),
@@ -425,9 +712,7 @@ public class RestStream extends AbstractHttpStream {
 								"RestStream.execute.exception", stream.getName(), processedRequest.getId(), exc);
 					}
 
-					if (StringUtils.isNotEmpty(respStr)) {
-						stream.addInputToBuffer(new WsResponse<>(respStr, processedRequest));
-					} else {
+					if (!invoked) {
 						stream.requestFailed(processedRequest);
 						stream.releaseSemaphore(acquiredSemaphore, scenarioStep.getName(), request);
 					}
@@ -448,7 +733,7 @@ public class RestStream extends AbstractHttpStream {
 				scenarioStep.addRequest(null, scenarioStep.getUrlStr());
 			}
 
-			String respStr;
+			boolean invoked;
 			Semaphore acquiredSemaphore;
 			WsRequest<String> processedRequest;
 			for (WsRequest<String> request : scenarioStep.requestsArray()) {
@@ -460,13 +745,13 @@ public class RestStream extends AbstractHttpStream {
 					continue;
 				}
 
-				respStr = null;
+				invoked = false;
 				acquiredSemaphore = null;
 				processedRequest = null;
 				try {
 					acquiredSemaphore = stream.acquireSemaphore(request);
 					processedRequest = stream.fillInRequest(request, scenarioStep.getUrlStr());
-					respStr = stream.executeGET(stream.client, processedRequest);
+					invoked = stream.invokeRequest(ReqMethod.GET, processedRequest, acquiredSemaphore);
 				} catch (VoidRequestException exc) {
 					stream.logger().log(OpLevel.INFO,
 							StreamsResources.getBundle(WsStreamConstants.RESOURCE_BUNDLE_NAME),
@@ -482,9 +767,7 @@ public class RestStream extends AbstractHttpStream {
 							"RestStream.execute.exception", stream.getName(), processedRequest.getId(), exc);
 				}
 
-				if (StringUtils.isNotEmpty(respStr)) {
-					stream.addInputToBuffer(new WsResponse<>(respStr, processedRequest));
-				} else {
+				if (!invoked) {
 					stream.requestFailed(processedRequest);
 					stream.releaseSemaphore(acquiredSemaphore, scenarioStep.getName(), request);
 				}
@@ -566,6 +849,154 @@ public class RestStream extends AbstractHttpStream {
 		return new BasicNameValuePair(param.getKey(), param.getValue().getStringValue());
 	}
 
+	/**
+	 * {@inheritDoc}
+	 * <p>
+	 * Items split from same response entity share same original request instance, thus are not treated as recurrent
+	 * responses.
+	 */
+	@Override
+	protected WsResponse<String, String> getRecurrentResponse(WsResponse<String, String> cItem, Queue<?> buffer) {
+		for (Object item : buffer) {
+			if (item instanceof WsResponse) {
+				@SuppressWarnings("unchecked")
+				WsResponse<String, String> respItem = (WsResponse<String, String>) item;
+
+				if (respItem.getOriginalRequest() != cItem.getOriginalRequest()
+						&& respItem.getOriginalRequest().fqn().equals(cItem.getOriginalRequest().fqn())) {
+					return respItem;
+				}
+			}
+		}
+
+		return null;
+	}
+
+	/**
+	 * HTTP response handler splitting response entity content stream into activity data items using defined
+	 * {@link ResponseSplitMode}. Response entity content is never read into memory as whole.
+	 */
+	protected static class SplittingResponseHandler extends AbstractHttpClientResponseHandler<Integer> {
+		private final ResponseSplitMode splitMode;
+		private final Consumer<String> itemConsumer;
+
+		/**
+		 * Constructs a new SplittingResponseHandler.
+		 *
+		 * @param splitMode
+		 *            response entity split mode
+		 * @param itemConsumer
+		 *            split items consumer
+		 */
+		public SplittingResponseHandler(ResponseSplitMode splitMode, Consumer<String> itemConsumer) {
+			this.splitMode = splitMode;
+			this.itemConsumer = itemConsumer;
+		}
+
+		@Override
+		public Integer handleEntity(HttpEntity entity) throws IOException {
+			Charset charset = getCharset(ContentType.parseLenient(entity.getContentType()));
+			try (InputStream is = entity.getContent()) {
+				return splitMode.split(is, charset, itemConsumer);
+			}
+		}
+
+		@Override
+		public Integer handleResponse(ClassicHttpResponse response) throws IOException {
+			Integer count = super.handleResponse(response);
+			return count == null ? 0 : count;
+		}
+	}
+
+	/**
+	 * Response entity content split modes enumeration.
+	 */
+	public enum ResponseSplitMode {
+		/**
+		 * Whole response content is produced as single item.
+		 */
+		NONE {
+			@Override
+			public int split(InputStream is, Charset charset, Consumer<String> itemConsumer) throws IOException {
+				String content = IOUtils.toString(is, charset);
+				if (StringUtils.isEmpty(content)) {
+					return 0;
+				}
+				itemConsumer.accept(content);
+				return 1;
+			}
+		},
+		/**
+		 * Every non-empty content line is produced as separate item.
+		 */
+		LINES {
+			@Override
+			public int split(InputStream is, Charset charset, Consumer<String> itemConsumer) throws IOException {
+				int count = 0;
+				BufferedReader reader = new BufferedReader(new InputStreamReader(is, charset));
+				String line;
+				while ((line = reader.readLine()) != null) {
+					if (StringUtils.isNotBlank(line)) {
+						itemConsumer.accept(line);
+						count++;
+					}
+				}
+				return count;
+			}
+		},
+		/**
+		 * Every element of root level JSON array is produced as separate item. Root level JSON values other than
+		 * arrays (e.g. objects of NDJSON content) are produced as separate items too.
+		 */
+		JSON_ARRAY {
+			@Override
+			public int split(InputStream is, Charset charset, Consumer<String> itemConsumer) throws IOException {
+				int count = 0;
+				try (JsonParser parser = JSON_FACTORY.createParser(new InputStreamReader(is, charset))) {
+					JsonToken token;
+					while ((token = parser.nextToken()) != null) {
+						if (token == JsonToken.START_ARRAY) {
+							while (parser.nextToken() != JsonToken.END_ARRAY) {
+								itemConsumer.accept(copyValue(parser));
+								count++;
+							}
+						} else {
+							itemConsumer.accept(copyValue(parser));
+							count++;
+						}
+					}
+				}
+				return count;
+			}
+		};
+
+		private static final JsonFactory JSON_FACTORY = new JsonFactory();
+
+		/**
+		 * Splits provided input stream content into activity data items.
+		 *
+		 * @param is
+		 *            input stream to read content from
+		 * @param charset
+		 *            content charset
+		 * @param itemConsumer
+		 *            split items consumer
+		 * @return number of items produced
+		 *
+		 * @throws IOException
+		 *             if I/O exception occurs while reading content
+		 */
+		public abstract int split(InputStream is, Charset charset, Consumer<String> itemConsumer) throws IOException;
+
+		private static String copyValue(JsonParser parser) throws IOException {
+			StringWriter sw = new StringWriter();
+			try (JsonGenerator gen = JSON_FACTORY.createGenerator(sw)) {
+				gen.copyCurrentStructure(parser);
+			}
+			return sw.toString();
+		}
+	}
+
 	/**
 	 * Request method types enumeration.
 	 */
@@ -30,6 +30,7 @@ import com.jkoolcloud.tnt4j.streams.configure.WsParserProperties;
 import com.jkoolcloud.tnt4j.streams.fields.ActivityFieldDataType;
 import com.jkoolcloud.tnt4j.streams.fields.ActivityFieldLocator;
 import com.jkoolcloud.tnt4j.streams.fields.ActivityFieldLocatorType;
+import com.jkoolcloud.tnt4j.streams.parsers.data.ResultSetRow;
 import com.jkoolcloud.tnt4j.streams.utils.*;
 
 /**
@@ -37,6 +38,10 @@ import com.jkoolcloud.tnt4j.streams.utils.*;
  * each field is represented by row column and the column name/index is used to map each column into its corresponding
  * activity field.
  * <p>
+ * Parser also accepts {@link com.jkoolcloud.tnt4j.streams.parsers.data.ResultSetRow#asResultSet()} detached row views.
+ * In this case parser property {@code SQLJavaMapping} is not applied, since row values are already read from result
+ * set.
+ * <p>
  * This parser supports the following configuration properties (in addition to those supported by
  * {@link GenericActivityParser}):
  * <ul>
@@ -61,7 +66,7 @@ import com.jkoolcloud.tnt4j.streams.utils.*;
  * <li>{@link com.jkoolcloud.tnt4j.streams.fields.ActivityFieldLocatorType#EnvVariable}</li>
  * </ul>
  *
- * @version $Revision: 1 $
+ * @version $Revision: 2 $
  */
 public class ActivityJDBCResultSetParser extends GenericActivityParser<ResultSet> {
 	private static final EventSink LOGGER = LoggerUtils.getLoggerSink(ActivityJDBCResultSetParser.class);
@@ -133,9 +138,14 @@ public class ActivityJDBCResultSetParser extends GenericActivityParser<ResultSet
 	@Override
 	protected Object resolveLocatorValue(ActivityFieldLocator locator, ActivityContext cData,
 			AtomicBoolean formattingNeeded) throws ParseException {
+		ResultSet resultSet = cData.getData();
+		ResultSetRow rowView = ResultSetRow.from(resultSet);
+		if (rowView != null) {
+			return resolveRowValue(locator, rowView);
+		}
+
 		Object val = null;
 		String locStr = locator.getLocator();
-		ResultSet resultSet = cData.getData();
 		Map<String, Class<?>> connTypes = null;
 		try {
 			Statement st = resultSet.getStatement();
@@ -179,6 +189,45 @@ public class ActivityJDBCResultSetParser extends GenericActivityParser<ResultSet
 		return val;
 	}
 
+	private static Object resolveRowValue(ActivityFieldLocator locator, ResultSetRow row) throws ParseException {
+		String locStr = locator.getLocator();
+		if (StringUtils.isEmpty(locStr)) {
+			return null;
+		}
+
+		Object val;
+		try {
+			ActivityFieldLocatorType locType = locator.getBuiltInType();
+
+			if (locType != null && locType.getDataType() == Integer.class) {
+				val = row.getValue(Integer.parseInt(locStr));
+			} else if (locType != null && locType.getDataType() == String.class) {
+				val = row.getValue(locStr);
+			} else {
+				try {
+					val = row.getValue(Integer.parseInt(locStr));
+				} catch (NumberFormatException exc) {
+					val = row.getValue(locStr);
+				}
+			}
+		} catch (Throwable exc) {
+			ParseException pe = new ParseException(
+					StreamsResources.getStringFormatted(WsStreamConstants.RESOURCE_BUNDLE_NAME,
+							"ActivityJDBCResultSetParser.sql.exception", row.getRow(), locStr),
+					row.getRow());
+			pe.initCause(exc);
+			throw pe;
+		}
+
+		String tz = locator.getTimeZone();
+		if (val instanceof Timestamp && StringUtils.isNotEmpty(tz)) {
+			val = Timestamp.from(((Timestamp) val).toLocalDateTime().atZone(TimeZone.getTimeZone(tz).toZoneId())
+					.toInstant());
+		}
+
+		return val;
+	}
+
 	private Object getByIndex(String locStr, ResultSet resultSet, Map<String, Class<?>> driverTypes,
 			ActivityFieldDataType dataType, String tz) throws SQLException {
 		int index = Integer.parseInt(locStr);
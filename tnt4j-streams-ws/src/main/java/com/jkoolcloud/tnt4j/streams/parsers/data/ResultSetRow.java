@@ -0,0 +1,283 @@
+/*
+ * Copyright 2014-2023 JKOOL, LLC.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.jkoolcloud.tnt4j.streams.parsers.data;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.*;
+import java.util.HashMap;
+import java.util.Map;
+
+import com.jkoolcloud.tnt4j.streams.utils.StreamsResources;
+import com.jkoolcloud.tnt4j.streams.utils.WsStreamConstants;
+
+/**
+ * Lightweight, detached copy of single {@link java.sql.ResultSet} row. Row values are read from result set cursor
+ * position at construction time, so instance can be parsed after result set, statement and connection gets closed, and
+ * multiple rows can be parsed in parallel.
+ * <p>
+ * {@link java.sql.Blob} and {@link java.sql.Clob} column values are materialized as {@code byte[]} and {@link String}
+ * respectively.
+ * <p>
+ * Row can be passed where {@link java.sql.ResultSet} is expected using {@link #asResultSet()} view. That view supports
+ * only row values access ({@code getObject}, {@code findColumn}, {@code getRow}) and
+ * {@link java.sql.Wrapper#unwrap(Class)} to get row instance back.
+ *
+ * @version $Revision: 2 $
+ */
+public class ResultSetRow {
+	private final Columns columns;
+	private final Object[] values;
+	private final int rowNumber;
+
+	/**
+	 * Constructs a new ResultSetRow. Reads column values of result set current row.
+	 *
+	 * @param rs
+	 *            result set positioned at row to copy
+	 * @param columns
+	 *            result set columns descriptor
+	 * @param rowNumber
+	 *            row number within result set
+	 *
+	 * @throws SQLException
+	 *             if exception occurs while reading row column values
+	 */
+	public ResultSetRow(ResultSet rs, Columns columns, int rowNumber) throws SQLException {
+		this.columns = columns;
+		this.rowNumber = rowNumber;
+		this.values = new Object[columns.getCount()];
+
+		for (int i = 0; i < values.length; i++) {
+			values[i] = materialize(rs.getObject(i + 1));
+		}
+	}
+
+	private static Object materialize(Object sqlObjVal) throws SQLException {
+		if (sqlObjVal instanceof Blob) {
+			Blob blob = (Blob) sqlObjVal;
+			try {
+				return blob.getBytes(1, (int) blob.length());
+			} finally {
+				blob.free();
+			}
+		} else if (sqlObjVal instanceof Clob) {
+			Clob clob = (Clob) sqlObjVal;
+			try {
+				return clob.getSubString(1, (int) clob.length());
+			} finally {
+				clob.free();
+			}
+		}
+		return sqlObjVal;
+	}
+
+	/**
+	 * Returns row column value by column index.
+	 *
+	 * @param index
+	 *            column index, starting from {@code 1} like in {@link java.sql.ResultSet#getObject(int)}
+	 * @return column value
+	 *
+	 * @throws SQLException
+	 *             if column index is not valid
+	 */
+	public Object getValue(int index) throws SQLException {
+		if (index < 1 || index > values.length) {
+			throw new SQLException(StreamsResources.getStringFormatted(WsStreamConstants.RESOURCE_BUNDLE_NAME,
+					"ResultSetRow.invalid.column.index", index, values.length));
+		}
+		return values[index - 1];
+	}
+
+	/**
+	 * Returns row column value by column label.
+	 *
+	 * @param label
+	 *            column label, case-insensitive
+	 * @return column value
+	 *
+	 * @throws SQLException
+	 *             if column label is not valid
+	 */
+	public Object getValue(String label) throws SQLException {
+		return getValue(columns.indexOf(label));
+	}
+
+	/**
+	 * Returns row number within result set.
+	 *
+	 * @return row number within result set
+	 */
+	public int getRow() {
+		return rowNumber;
+	}
+
+	/**
+	 * Returns row columns descriptor.
+	 *
+	 * @return row columns descriptor
+	 */
+	public Columns getColumns() {
+		return columns;
+	}
+
+	/**
+	 * Returns {@link java.sql.ResultSet} view of this row. View is positioned at this row and supports only row values
+	 * access methods: {@code getObject}, {@code findColumn}, {@code getRow}, {@code unwrap} and
+	 * {@code isWrapperFor}. Other view methods throw {@link java.sql.SQLFeatureNotSupportedException}.
+	 *
+	 * @return result set view of this row
+	 *
+	 * @see #from(java.sql.ResultSet)
+	 */
+	public ResultSet asResultSet() {
+		return (ResultSet) Proxy.newProxyInstance(ResultSetRow.class.getClassLoader(),
+				new Class<?>[] { ResultSet.class }, new RowHandler(this));
+	}
+
+	/**
+	 * Returns row instance of provided result set, if it is a view made by {@link #asResultSet()}.
+	 *
+	 * @param rs
+	 *            result set to check
+	 * @return row instance, or {@code null} if result set is not a view of detached row
+	 */
+	public static ResultSetRow from(ResultSet rs) {
+		if (rs != null && Proxy.isProxyClass(rs.getClass())) {
+			InvocationHandler handler = Proxy.getInvocationHandler(rs);
+			if (handler instanceof RowHandler) {
+				return ((RowHandler) handler).row;
+			}
+		}
+		return null;
+	}
+
+	@Override
+	public String toString() {
+		StringBuilder sb = new StringBuilder("ResultSetRow{"); // NON-NLS
+		sb.append("row=").append(rowNumber); // NON-NLS
+		for (int i = 0; i < values.length; i++) {
+			sb.append(", ").append(columns.labels[i]).append('=').append(values[i]); // NON-NLS
+		}
+		sb.append('}');
+		return sb.toString();
+	}
+
+	/**
+	 * Result set columns descriptor shared by all rows of same result set.
+	 */
+	public static class Columns {
+		private final String[] labels;
+		private final Map<String, Integer> indexes;
+
+		/**
+		 * Constructs a new Columns descriptor from result set metadata.
+		 *
+		 * @param md
+		 *            result set metadata
+		 *
+		 * @throws SQLException
+		 *             if exception occurs while reading result set metadata
+		 */
+		public Columns(ResultSetMetaData md) throws SQLException {
+			int count = md.getColumnCount();
+			labels = new String[count];
+			indexes = new HashMap<>(count * 2);
+			for (int i = 0; i < count; i++) {
+				labels[i] = md.getColumnLabel(i + 1);
+				indexes.putIfAbsent(labels[i].toUpperCase(), i + 1);
+			}
+		}
+
+		/**
+		 * Returns columns count.
+		 *
+		 * @return columns count
+		 */
+		public int getCount() {
+			return labels.length;
+		}
+
+		/**
+		 * Returns column index for provided column label.
+		 *
+		 * @param label
+		 *            column label, case-insensitive
+		 * @return column index starting from {@code 1}
+		 *
+		 * @throws SQLException
+		 *             if there is no column having provided label
+		 */
+		public int indexOf(String label) throws SQLException {
+			Integer idx = label == null ? null : indexes.get(label.toUpperCase());
+			if (idx == null) {
+				throw new SQLException(StreamsResources.getStringFormatted(WsStreamConstants.RESOURCE_BUNDLE_NAME,
+						"ResultSetRow.invalid.column.label", label));
+			}
+			return idx;
+		}
+	}
+
+	private static class RowHandler implements InvocationHandler {
+		private final ResultSetRow row;
+
+		private RowHandler(ResultSetRow row) {
+			this.row = row;
+		}
+
+		@Override
+		public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+			switch (method.getName()) {
+			case "getObject": // NON-NLS
+				Object value = args[0] instanceof Integer ? row.getValue((Integer) args[0])
+						: row.getValue((String) args[0]);
+				if (args.length > 1 && args[1] instanceof Class) {
+					return ((Class<?>) args[1]).cast(value);
+				}
+				return value;
+			case "findColumn": // NON-NLS
+				return row.getColumns().indexOf((String) args[0]);
+			case "getRow": // NON-NLS
+				return row.getRow();
+			case "unwrap": // NON-NLS
+				if (((Class<?>) args[0]).isInstance(row)) {
+					return row;
+				}
+				throw new SQLException(StreamsResources.getStringFormatted(WsStreamConstants.RESOURCE_BUNDLE_NAME,
+						"ResultSetRow.not.wrapper", args[0]));
+			case "isWrapperFor": // NON-NLS
+				return ((Class<?>) args[0]).isInstance(row);
+			case "isClosed": // NON-NLS
+				return false;
+			case "close": // NON-NLS
+			case "getStatement": // NON-NLS
+				return null;
+			case "toString": // NON-NLS
+				return row.toString();
+			case "hashCode": // NON-NLS
+				return System.identityHashCode(proxy);
+			case "equals": // NON-NLS
+				return proxy == args[0];
+			default:
+				throw new SQLFeatureNotSupportedException(StreamsResources.getStringFormatted(
+						WsStreamConstants.RESOURCE_BUNDLE_NAME, "ResultSetRow.unsupported.method", method.getName()));
+			}
+		}
+	}
+}
@@ -26,11 +26,12 @@ import java.util.concurrent.Semaphore;
  * @param <RS>
  *            type of response data
  *
- * @version $Revision: 2 $
+ * @version $Revision: 3 $
  */
 public class WsResponse<RQ, RS> extends WsRequest<RS> {
 
 	private WsRequest<RQ> originalRequest;
+	private WsResponseParts parts;
 
 	/**
 	 * Constructs a new WsResponse. Defines response data and tag.
@@ -99,4 +100,23 @@ public class WsResponse<RQ, RS> extends WsRequest<RS> {
 
 		return step == null ? null : step.getSemaphore();
 	}
+
+	/**
+	 * Returns set of responses this response is part of.
+	 *
+	 * @return set of responses this response is part of, or {@code null} if response is not part of any set
+	 */
+	public WsResponseParts getParts() {
+		return parts;
+	}
+
+	/**
+	 * Sets set of responses this response is part of.
+	 *
+	 * @param parts
+	 *            set of responses this response is part of
+	 */
+	public void setParts(WsResponseParts parts) {
+		this.parts = parts;
+	}
 }
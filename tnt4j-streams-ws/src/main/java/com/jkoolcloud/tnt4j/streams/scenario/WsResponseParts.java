@@ -0,0 +1,83 @@
+/*
+ * Copyright 2014-2023 JKOOL, LLC.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.jkoolcloud.tnt4j.streams.scenario;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * This class defines set of TNT4J-Streams-WS responses (parts) produced by single request execution, e.g. chunks of
+ * split response entity or rows of materialized result set.
+ * <p>
+ * Producer holds one pending part mark until {@link #complete()} is invoked, so set gets completed only when producer
+ * has finished producing parts and all produced parts are consumed.
+ *
+ * @version $Revision: 1 $
+ */
+public class WsResponseParts {
+	private final AtomicInteger pending = new AtomicInteger(1);
+	private final AtomicInteger count = new AtomicInteger();
+
+	/**
+	 * Constructs a new WsResponseParts.
+	 */
+	public WsResponseParts() {
+	}
+
+	/**
+	 * Marks new part as produced.
+	 */
+	public void partAdded() {
+		pending.incrementAndGet();
+		count.incrementAndGet();
+	}
+
+	/**
+	 * Marks produced part as dropped, e.g. when it could not be put into stream input buffer.
+	 */
+	public void partDropped() {
+		pending.decrementAndGet();
+		count.decrementAndGet();
+	}
+
+	/**
+	 * Marks produced part as consumed.
+	 *
+	 * @return {@code true} if it was last pending part and producer has completed producing parts, {@code false} -
+	 *         otherwise
+	 */
+	public boolean partConsumed() {
+		return pending.decrementAndGet() == 0;
+	}
+
+	/**
+	 * Marks producer has completed producing parts.
+	 *
+	 * @return {@code true} if all produced parts are already consumed, {@code false} - otherwise
+	 */
+	public boolean complete() {
+		return pending.decrementAndGet() == 0;
+	}
+
+	/**
+	 * Returns number of produced parts.
+	 *
+	 * @return number of produced parts
+	 */
+	public int getCount() {
+		return count.get();
+	}
+}
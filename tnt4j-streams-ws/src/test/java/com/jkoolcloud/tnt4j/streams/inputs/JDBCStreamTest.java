@@ -0,0 +1,262 @@
+/*
+ * Copyright 2014-2023 JKOOL, LLC.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.jkoolcloud.tnt4j.streams.inputs;
+
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.*;
+
+import java.io.File;
+import java.io.FileReader;
+import java.io.Reader;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.util.*;
+import java.util.concurrent.Semaphore;
+
+import org.junit.Test;
+
+import com.jkoolcloud.tnt4j.streams.configure.WsStreamProperties;
+import com.jkoolcloud.tnt4j.streams.parsers.data.ResultSetRow;
+import com.jkoolcloud.tnt4j.streams.scenario.WsRequest;
+import com.jkoolcloud.tnt4j.streams.scenario.WsResponse;
+import com.jkoolcloud.tnt4j.streams.scenario.WsScenario;
+import com.jkoolcloud.tnt4j.streams.scenario.WsScenarioStep;
+
+/**
+ * @author akausinis
+ * @version 1.0
+ */
+public class JDBCStreamTest {
+
+	@Test
+	public void testMaterializeRows() throws Exception {
+		WsScenarioStep step = makeStep();
+		WsRequest<String> req = step.getRequests().get(0);
+		ResultSet rs = mockResultSet(new Object[][] { { 5, "a" }, { 7, "b" }, { 6, "c" } }); // NON-NLS
+		TestJDBCStream stream = new TestJDBCStream(step, rs);
+		stream.setProperty(WsStreamProperties.PROP_MATERIALIZE_ROWS, "true");
+		try {
+			stream.startStream();
+
+			Semaphore semaphore = stream.acquireSemaphore(req);
+			assertTrue(stream.executeRequest(step, req));
+			verify(rs).close();
+			assertEquals(3, stream.inputBuffer.size());
+
+			List<WsResponse<String, ResultSet>> items = pollItems(stream, 3);
+			ResultSetRow row = ResultSetRow.from(items.get(1).getData());
+			assertNotNull(row);
+			assertEquals(2, row.getRow());
+			assertEquals(7, row.getValue(1));
+			assertEquals("b", row.getValue("name")); // NON-NLS
+			assertEquals("b", items.get(1).getData().getObject("NAME")); // NON-NLS
+
+			for (int i = 0; i < items.size(); i++) {
+				assertEquals(0, semaphore.availablePermits());
+				assertTrue(stream.initItemForParsing(items.get(i)));
+				assertTrue(stream.isItemConsumed(items.get(i)));
+			}
+			assertEquals(1, semaphore.availablePermits());
+		} finally {
+			stream.cleanup();
+		}
+	}
+
+	@Test
+	public void testPartitionedQuery() throws Exception {
+		WsScenarioStep step = makeStep();
+		WsRequest<String> req = step.getRequests().get(0);
+		TestJDBCStream stream = new TestJDBCStream(step, null);
+		stream.setProperty(WsStreamProperties.PROP_PARTITION_COUNT, "3");
+		stream.setProperty(WsStreamProperties.PROP_PARTITION_KEY_MIN, "0");
+		stream.setProperty(WsStreamProperties.PROP_PARTITION_KEY_MAX, "100");
+		try {
+			stream.startStream();
+
+			Semaphore semaphore = stream.acquireSemaphore(req);
+			assertTrue(stream.executeRequest(step, req));
+			assertEquals(3, stream.calls.size());
+
+			Map<Object, long[]> bounds = new HashMap<>();
+			for (WsRequest<String> call : stream.calls) {
+				bounds.put(call.getParameterValue(JDBCStream.PARTITION_INDEX_VAR),
+						new long[] { (long) call.getParameterValue(JDBCStream.PARTITION_LOW_VAR),
+								(long) call.getParameterValue(JDBCStream.PARTITION_HIGH_VAR) });
+			}
+			assertArrayEquals(new long[] { 0, 33 }, bounds.get(0));
+			assertArrayEquals(new long[] { 33, 66 }, bounds.get(1));
+			assertArrayEquals(new long[] { 66, 100 }, bounds.get(2));
+
+			List<WsResponse<String, ResultSet>> items = pollItems(stream, 3);
+			for (WsResponse<String, ResultSet> item : items) {
+				assertEquals(0, semaphore.availablePermits());
+				// partition result set has no more rows
+				assertTrue(stream.isItemConsumed(item));
+			}
+			assertEquals(1, semaphore.availablePermits());
+		} finally {
+			stream.cleanup();
+		}
+	}
+
+	@Test
+	public void testWatermarkPolling() throws Exception {
+		File wmFile = File.createTempFile("jdbc-watermarks", ".properties"); // NON-NLS
+		wmFile.delete();
+		WsScenarioStep step = makeStep();
+		WsRequest<String> req = step.getRequests().get(0);
+		TestJDBCStream stream = new TestJDBCStream(step, null);
+		stream.setProperty(WsStreamProperties.PROP_MATERIALIZE_ROWS, "true");
+		stream.setProperty(WsStreamProperties.PROP_WATERMARK_COLUMN, "ID"); // NON-NLS
+		stream.setProperty(WsStreamProperties.PROP_WATERMARK_INITIAL_VALUE, "0");
+		stream.setProperty(WsStreamProperties.PROP_WATERMARK_FILE, wmFile.getAbsolutePath());
+		try {
+			stream.startStream();
+
+			stream.resultSet = mockResultSet(new Object[][] { { 5, "a" }, { 7, "b" }, { 6, "c" } }); // NON-NLS
+			assertTrue(stream.executeRequest(step, req));
+			assertEquals("0", stream.calls.get(0).getParameterValue(JDBCStream.WATERMARK_VAR));
+			for (WsResponse<String, ResultSet> item : pollItems(stream, 3)) {
+				stream.isItemConsumed(item);
+			}
+
+			stream.resultSet = mockResultSet(new Object[0][]);
+			assertFalse(stream.executeRequest(step, req));
+			WsRequest<String> nextCall = stream.calls.get(1);
+			assertEquals(7, nextCall.getParameterValue(JDBCStream.WATERMARK_VAR));
+			assertEquals("7", stream.fillInParameterValue(nextCall, "${Watermark}", null, null)); // NON-NLS
+		} finally {
+			stream.cleanup();
+		}
+
+		try {
+			Properties wmProps = new Properties();
+			try (Reader rdr = new FileReader(wmFile)) {
+				wmProps.load(rdr);
+			}
+			assertEquals("7", wmProps.getProperty(req.fqn()));
+
+			TestJDBCStream restarted = new TestJDBCStream(makeStep(), mockResultSet(new Object[0][]));
+			restarted.setProperty(WsStreamProperties.PROP_WATERMARK_COLUMN, "ID"); // NON-NLS
+			restarted.setProperty(WsStreamProperties.PROP_WATERMARK_FILE, wmFile.getAbsolutePath());
+			try {
+				restarted.startStream();
+				WsScenarioStep rStep = restarted.step;
+				restarted.executeRequest(rStep, rStep.getRequests().get(0));
+				assertEquals("7", restarted.calls.get(0).getParameterValue(JDBCStream.WATERMARK_VAR));
+			} finally {
+				restarted.cleanup();
+			}
+		} finally {
+			wmFile.delete();
+		}
+	}
+
+	@Test
+	public void testResultSetRowView() throws Exception {
+		ResultSet rs = mockResultSet(new Object[][] { { 5, "a" } }); // NON-NLS
+		assertTrue(rs.next());
+		ResultSetRow row = new ResultSetRow(rs, new ResultSetRow.Columns(rs.getMetaData()), 1);
+		ResultSet view = row.asResultSet();
+
+		assertSame(row, ResultSetRow.from(view));
+		assertNull(ResultSetRow.from(rs));
+		assertSame(row, view.unwrap(ResultSetRow.class));
+		assertTrue(view.isWrapperFor(ResultSetRow.class));
+		assertEquals(5, view.getObject(1));
+		assertEquals("a", view.getObject("name")); // NON-NLS
+		assertEquals(2, view.findColumn("NAME")); // NON-NLS
+		assertEquals(1, view.getRow());
+		assertFalse(view.isClosed());
+
+		try {
+			view.getObject(3);
+			fail("Invalid column index shall fail"); // NON-NLS
+		} catch (SQLException exc) {
+		}
+		try {
+			view.getString(1);
+			fail("Unsupported method shall fail"); // NON-NLS
+		} catch (SQLFeatureNotSupportedException exc) {
+		}
+	}
+
+	private static WsScenarioStep makeStep() {
+		WsScenarioStep step = new WsScenarioStep("TestStep"); // NON-NLS
+		step.setProperty(WsStreamProperties.PROP_SYNCHRONIZE_REQUESTS, "true");
+		step.addRequest("TestQuery", "SELECT ID, NAME FROM TEST_TABLE"); // NON-NLS
+		WsScenario scenario = new WsScenario("TestScenario"); // NON-NLS
+		scenario.addStep(step);
+
+		return step;
+	}
+
+	@SuppressWarnings("unchecked")
+	private static List<WsResponse<String, ResultSet>> pollItems(JDBCStream stream, int count) {
+		List<WsResponse<String, ResultSet>> items = new ArrayList<>(count);
+		Object item;
+		while ((item = stream.inputBuffer.poll()) != null) {
+			items.add((WsResponse<String, ResultSet>) item);
+		}
+		assertEquals(count, items.size());
+
+		return items;
+	}
+
+	private static ResultSet mockResultSet(Object[][] rows) throws SQLException {
+		ResultSetMetaData md = mock(ResultSetMetaData.class);
+		when(md.getColumnCount()).thenReturn(2);
+		when(md.getColumnLabel(1)).thenReturn("ID"); // NON-NLS
+		when(md.getColumnLabel(2)).thenReturn("NAME"); // NON-NLS
+
+		ResultSet rs = mock(ResultSet.class);
+		when(rs.getMetaData()).thenReturn(md);
+		int[] cursor = { -1 };
+		when(rs.next()).thenAnswer(inv -> ++cursor[0] < rows.length);
+		when(rs.getRow()).thenAnswer(inv -> cursor[0] + 1);
+		when(rs.getObject(anyInt())).thenAnswer(inv -> rows[cursor[0]][(int) inv.getArgument(0) - 1]);
+		when(rs.getObject("ID")).thenAnswer(inv -> rows[cursor[0]][0]); // NON-NLS
+
+		return rs;
+	}
+
+	private static class TestJDBCStream extends JDBCStream {
+		private final WsScenarioStep step;
+		private final List<WsRequest<String>> calls = Collections.synchronizedList(new ArrayList<>());
+		private ResultSet resultSet;
+
+		TestJDBCStream(WsScenarioStep step, ResultSet resultSet) {
+			this.step = step;
+			this.resultSet = resultSet;
+			setName("JDBCStreamTest"); // NON-NLS
+			addScenario(step.getScenario());
+		}
+
+		@Override
+		protected void scheduleScenarioStep(WsScenarioStep step) {
+		}
+
+		@Override
+		protected ResultSet executeJdbcCall(String url, String user, String pass, WsRequest<String> dbRequest)
+				throws SQLException {
+			calls.add(dbRequest);
+			return resultSet == null ? mockResultSet(new Object[0][]) : resultSet;
+		}
+	}
+}
@@ -0,0 +1,137 @@
+/*
+ * Copyright 2014-2023 JKOOL, LLC.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.jkoolcloud.tnt4j.streams.inputs;
+
+import static org.junit.Assert.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Semaphore;
+
+import org.junit.Test;
+
+import com.jkoolcloud.tnt4j.streams.configure.WsStreamProperties;
+import com.jkoolcloud.tnt4j.streams.scenario.*;
+
+/**
+ * @author akausinis
+ * @version 1.0
+ */
+public class RestStreamTest {
+
+	@Test
+	public void testSplitJsonArray() throws IOException {
+		String content = "[{\"a\":1,\"b\":[1,2]}, {\"a\":2}, \"text\", 3]"; // NON-NLS
+		List<String> items = split(RestStream.ResponseSplitMode.JSON_ARRAY, content);
+
+		assertEquals(4, items.size());
+		assertEquals("{\"a\":1,\"b\":[1,2]}", items.get(0)); // NON-NLS
+		assertEquals("{\"a\":2}", items.get(1)); // NON-NLS
+		assertEquals("\"text\"", items.get(2)); // NON-NLS
+		assertEquals("3", items.get(3)); // NON-NLS
+	}
+
+	@Test
+	public void testSplitJsonRootValues() throws IOException {
+		String content = "{\"a\":1}\n{\"a\":2}\n"; // NON-NLS
+		List<String> items = split(RestStream.ResponseSplitMode.JSON_ARRAY, content);
+
+		assertEquals(2, items.size());
+		assertEquals("{\"a\":2}", items.get(1)); // NON-NLS
+	}
+
+	@Test
+	public void testSplitLines() throws IOException {
+		String content = "{\"a\":1}\r\n\r\n{\"a\":2}\n"; // NON-NLS
+		List<String> items = split(RestStream.ResponseSplitMode.LINES, content);
+
+		assertEquals(2, items.size());
+		assertEquals("{\"a\":1}", items.get(0)); // NON-NLS
+	}
+
+	@Test
+	public void testSplitNone() throws IOException {
+		String content = "[{\"a\":1}, {\"a\":2}]"; // NON-NLS
+		List<String> items = split(RestStream.ResponseSplitMode.NONE, content);
+
+		assertEquals(1, items.size());
+		assertEquals(content, items.get(0));
+		assertEquals(0, split(RestStream.ResponseSplitMode.NONE, "").size());
+	}
+
+	@Test
+	public void testSplitResponseReleasesSemaphoreOnLastPart() throws Exception {
+		WsScenarioStep step = new WsScenarioStep("TestStep"); // NON-NLS
+		step.setProperty(WsStreamProperties.PROP_SYNCHRONIZE_REQUESTS, "true");
+		WsRequest<String> req = step.addRequest("TestReq", "http://localhost/test"); // NON-NLS
+		WsScenario scenario = new WsScenario("TestScenario"); // NON-NLS
+		scenario.addStep(step);
+
+		TestRestStream stream = new TestRestStream();
+		stream.setName("RestStreamPartsTest"); // NON-NLS
+		stream.addScenario(scenario);
+		try {
+			stream.startStream();
+
+			Semaphore semaphore = stream.acquireSemaphore(req);
+			assertSame(step.getSemaphore(), semaphore);
+
+			WsResponseParts parts = new WsResponseParts();
+			List<WsResponse<String, String>> items = new ArrayList<>();
+			String content = "[{\"a\":1}, {\"a\":2}, {\"a\":3}]"; // NON-NLS
+			for (String chunk : split(RestStream.ResponseSplitMode.JSON_ARRAY, content)) {
+				WsResponse<String, String> item = new WsResponse<>(chunk, req);
+				assertTrue(stream.addResponsePart(item, parts));
+				items.add(item);
+			}
+
+			// first part consumed while producer is still splitting response
+			assertTrue(stream.isItemConsumed(items.get(0)));
+			assertEquals(0, semaphore.availablePermits());
+			assertTrue(stream.completeResponseParts(parts, req));
+			assertEquals(0, semaphore.availablePermits());
+
+			stream.isItemConsumed(items.get(1));
+			assertEquals(0, semaphore.availablePermits());
+			stream.isItemConsumed(items.get(2));
+			assertEquals(1, semaphore.availablePermits());
+
+			// no parts produced - semaphore is left for the caller to release
+			assertFalse(stream.completeResponseParts(new WsResponseParts(), req));
+		} finally {
+			stream.cleanup();
+		}
+	}
+
+	private static List<String> split(RestStream.ResponseSplitMode mode, String content) throws IOException {
+		List<String> items = new ArrayList<>();
+		int count = mode.split(new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8)),
+				StandardCharsets.UTF_8, items::add);
+		assertEquals(count, items.size());
+
+		return items;
+	}
+
+	private static class TestRestStream extends RestStream {
+		@Override
+		protected void scheduleScenarioStep(WsScenarioStep step) {
+		}
+	}
+}